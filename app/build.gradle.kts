@@ -1,3 +1,21 @@
+import com.google.gson.JsonObject
+import com.google.gson.JsonParser
+import java.io.ByteArrayOutputStream
+import java.io.DataOutputStream
+import java.sql.DriverManager
+
+buildscript {
+    repositories {
+        mavenCentral()
+    }
+    dependencies {
+        // 构建预置词典数据库使用的 SQLite JDBC 驱动
+        classpath("org.xerial:sqlite-jdbc:3.45.3.0")
+        // 解析试卷 JSON
+        classpath("com.google.code.gson:gson:2.10.1")
+    }
+}
+
 plugins {
     alias(libs.plugins.android.application)
 }
@@ -58,9 +76,21 @@ android {
         doNotStrip("*/*/libbdSpilWakeup.so")
     }
     
-    // 启用 ViewBinding
+    // 试卷包在运行时内存映射，不能压缩
+    androidResources {
+        noCompress += "pack"
+    }
+    
+    // 启用 ViewBinding；BuildConfig.DEBUG 用于区分 debug/release 的网络日志级别
     buildFeatures {
         viewBinding = true
+        buildConfig = true
+    }
+    // 基准测试默认跳过，./gradlew testDebugUnitTest -Pbenchmark 时运行
+    testOptions {
+        unitTests.all {
+            it.systemProperty("benchmark", project.hasProperty("benchmark").toString())
+        }
     }
     externalNativeBuild {
         cmake {
@@ -94,7 +124,7 @@ dependencies {
     // Retrofit 网络请求框架
     implementation("com.squareup.retrofit2:retrofit:2.9.0")
     implementation("com.squareup.retrofit2:converter-gson:2.9.0")
-    implementation("com.squareup.okhttp3:logging-interceptor:4.11.0")
+    implementation("com.squareup.okhttp3:logging-interceptor:4.12.0")
     
     // Glide 图片加载库
     implementation("com.github.bumptech.glide:glide:4.16.0")
@@ -130,7 +160,309 @@ dependencies {
     testImplementation(libs.junit)
     testImplementation("org.mockito:mockito-core:5.8.0")
     testImplementation("org.robolectric:robolectric:4.11.1")
+    testImplementation("com.squareup.okhttp3:mockwebserver:4.12.0")
     testImplementation("androidx.arch.core:core-testing:2.2.0") // LiveData测试支持
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
-}
\ No newline at end of file
+}
+
+// ==================== 预置词典数据库 ====================
+// 在构建时把 assets/dictionary_data 下的 CSV 转换为 SQLite 文件，
+// 首次启动由 PrebuiltDictionaryInstaller 直接拷贝入库，CSV 导入仅作回退。
+// 表结构必须与 AppDatabase.MIGRATION_19_20 中的 dictionary_words / books / book_word_relations 保持一致。
+abstract class BuildPrebuiltDictionaryTask : DefaultTask() {
+
+    @get:InputDirectory
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    abstract val csvDir: DirectoryProperty
+
+    // 与 DictionaryDataImporter.CURRENT_DATA_VERSION 保持一致
+    @get:Input
+    abstract val dataVersion: Property<Int>
+
+    @get:OutputDirectory
+    abstract val outputDir: DirectoryProperty
+
+    @TaskAction
+    fun build() {
+        val outDir = outputDir.get().asFile.resolve("dictionary_data")
+        outDir.mkdirs()
+        val dbFile = outDir.resolve("dictionary.db")
+        dbFile.delete()
+
+        val csv = csvDir.get().asFile
+        DriverManager.getConnection("jdbc:sqlite:" + dbFile.absolutePath).use { conn ->
+            conn.autoCommit = false
+            conn.createStatement().use { st ->
+                st.execute("PRAGMA journal_mode = OFF")
+                st.execute("PRAGMA synchronous = OFF")
+                st.execute("CREATE TABLE dictionary_words (" +
+                    "id TEXT NOT NULL PRIMARY KEY, word TEXT, phoneticUk TEXT, phoneticUs TEXT, " +
+                    "frequency REAL NOT NULL DEFAULT 0, difficulty INTEGER NOT NULL DEFAULT 0, " +
+                    "acknowledgeRate REAL NOT NULL DEFAULT 0, translation TEXT)")
+                st.execute("CREATE UNIQUE INDEX index_dictionary_words_word ON dictionary_words(word)")
+                st.execute("CREATE TABLE books (" +
+                    "id TEXT NOT NULL PRIMARY KEY, parentId TEXT, level INTEGER NOT NULL DEFAULT 0, " +
+                    "bookOrder REAL NOT NULL DEFAULT 0, name TEXT, itemNum INTEGER NOT NULL DEFAULT 0, " +
+                    "directItemNum INTEGER NOT NULL DEFAULT 0, author TEXT, fullName TEXT, comment TEXT, " +
+                    "organization TEXT, publisher TEXT, version TEXT, flag TEXT)")
+                st.execute("CREATE TABLE book_word_relations (" +
+                    "id TEXT NOT NULL PRIMARY KEY, bookId TEXT NOT NULL, wordId TEXT NOT NULL, " +
+                    "flag TEXT, tag TEXT, wordOrder INTEGER NOT NULL DEFAULT 0)")
+                st.execute("CREATE UNIQUE INDEX index_book_word_relations_bookId_wordId " +
+                    "ON book_word_relations(bookId, wordId)")
+            }
+
+            // word_translation.csv: word,translation
+            val translations = HashMap<String, String>()
+            forEachRow(csv.resolve("word_translation.csv"), ",") { f ->
+                val word = f.getOrElse(0) { "" }.lowercase()
+                val translation = f.getOrElse(1) { "" }
+                if (word.isNotEmpty() && translation.isNotEmpty()) translations[word] = translation
+            }
+
+            // word.csv: id>word>phonetic_uk>phonetic_us>frequency>difficulty>acknowledge_rate
+            val wordIds = HashSet<String>()
+            conn.prepareStatement("INSERT OR REPLACE INTO dictionary_words VALUES (?, ?, ?, ?, ?, ?, ?, ?)").use { ps ->
+                forEachRow(csv.resolve("word.csv"), ">") { f ->
+                    if (f.size < 7 || f[0].isEmpty() || f[1].isEmpty()) return@forEachRow
+                    ps.setString(1, f[0])
+                    ps.setString(2, f[1])
+                    ps.setString(3, f[2])
+                    ps.setString(4, f[3])
+                    ps.setFloat(5, f[4].toFloatOrNull() ?: 0f)
+                    ps.setInt(6, f[5].toIntOrNull() ?: 5)
+                    ps.setFloat(7, f[6].toFloatOrNull() ?: 0f)
+                    ps.setString(8, translations[f[1].lowercase()] ?: "")
+                    ps.executeUpdate()
+                    wordIds.add(f[0])
+                }
+            }
+            translations.clear()
+
+            // book.csv: id>parent_id>level>order>name>item_num>direct_item_num>author>full_name>comment>organization>publisher>version>flag
+            val bookIds = HashSet<String>()
+            conn.prepareStatement("INSERT OR REPLACE INTO books VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)").use { ps ->
+                forEachRow(csv.resolve("book.csv"), ">") { f ->
+                    if (f.size < 6 || f[0].isEmpty()) return@forEachRow
+                    fun field(i: Int, def: String) = f.getOrNull(i)?.takeIf { it.isNotEmpty() } ?: def
+                    ps.setString(1, f[0])
+                    ps.setString(2, field(1, "0"))
+                    ps.setInt(3, field(2, "1").toIntOrNull() ?: 1)
+                    ps.setFloat(4, field(3, "0").toFloatOrNull() ?: 0f)
+                    for (i in 4..13) {
+                        if (i == 5 || i == 6) {
+                            ps.setInt(i + 1, field(i, "0").toIntOrNull() ?: 0)
+                        } else {
+                            ps.setString(i + 1, field(i, ""))
+                        }
+                    }
+                    ps.executeUpdate()
+                    bookIds.add(f[0])
+                }
+            }
+
+            // relation_book_word.csv: id>book_id>word_id>flag>tag>order，跳过外键不存在的记录
+            var skipped = 0
+            conn.prepareStatement("INSERT OR REPLACE INTO book_word_relations VALUES (?, ?, ?, ?, ?, ?)").use { ps ->
+                forEachRow(csv.resolve("relation_book_word.csv"), ">") { f ->
+                    if (f.size < 3 || f[0].isEmpty() || f[1].isEmpty() || f[2].isEmpty()) return@forEachRow
+                    if (f[1] !in bookIds || f[2] !in wordIds) {
+                        skipped++
+                        return@forEachRow
+                    }
+                    ps.setString(1, f[0])
+                    ps.setString(2, f[1])
+                    ps.setString(3, f[2])
+                    ps.setString(4, f.getOrElse(3) { "" })
+                    ps.setString(5, f.getOrElse(4) { "" })
+                    ps.setInt(6, f.getOrElse(5) { "" }.toIntOrNull() ?: 0)
+                    ps.executeUpdate()
+                }
+            }
+            conn.commit()
+
+            conn.autoCommit = true
+            conn.createStatement().use { st ->
+                st.execute("PRAGMA user_version = " + dataVersion.get())
+                st.execute("VACUUM")
+            }
+            logger.lifecycle("预置词典数据库生成完成: 单词 ${wordIds.size}, 词书 ${bookIds.size}, 跳过关联 $skipped")
+        }
+    }
+
+    // 与 CsvParser.splitLine 相同的规则：支持引号包裹与 "" 转义，字段去除首尾空白
+    private fun forEachRow(file: java.io.File, delimiter: String, action: (List<String>) -> Unit) {
+        file.bufferedReader(Charsets.UTF_8).useLines { lines ->
+            lines.filter { it.isNotBlank() }.forEach { line ->
+                val fields = ArrayList<String>()
+                val current = StringBuilder()
+                var inQuotes = false
+                var i = 0
+                while (i < line.length) {
+                    val c = line[i]
+                    if (c == '"') {
+                        if (inQuotes && i + 1 < line.length && line[i + 1] == '"') {
+                            current.append('"')
+                            i++
+                        } else {
+                            inQuotes = !inQuotes
+                        }
+                    } else if (!inQuotes && line.startsWith(delimiter, i)) {
+                        fields.add(current.toString().trim())
+                        current.setLength(0)
+                        i += delimiter.length - 1
+                    } else {
+                        current.append(c)
+                    }
+                    i++
+                }
+                fields.add(current.toString().trim())
+                action(fields)
+            }
+        }
+    }
+}
+
+val buildPrebuiltDictionary = tasks.register<BuildPrebuiltDictionaryTask>("buildPrebuiltDictionary") {
+    group = "build"
+    description = "把词典 CSV 转换为随 APK 发布的预置 SQLite 数据库"
+    csvDir.set(layout.projectDirectory.dir("src/main/assets/dictionary_data"))
+    dataVersion.set(1)
+    outputDir.set(layout.buildDirectory.dir("generated/prebuiltDictionary"))
+}
+
+// ==================== 试卷包 ====================
+// 把 src/main/exam_packs 下的 JSON 试卷转换为二进制试卷包 assets/exam_packs/<id>.pack，
+// 运行时由 ExamPackYSJ 内存映射后按节、按文章懒加载。格式必须与 ExamPackYSJ 的说明保持一致。
+// 新增试卷只需放入 JSON 文件，不需要修改代码
+abstract class BuildExamPacksTask : DefaultTask() {
+
+    @get:InputDirectory
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    abstract val sourceDir: DirectoryProperty
+
+    @get:OutputDirectory
+    abstract val outputDir: DirectoryProperty
+
+    @TaskAction
+    fun build() {
+        val outDir = outputDir.get().asFile.resolve("exam_packs")
+        outDir.deleteRecursively()
+        outDir.mkdirs()
+
+        val sources = sourceDir.get().asFile.listFiles { f -> f.name.endsWith(".json") }?.sortedBy { it.name } ?: emptyList()
+        for (source in sources) {
+            val paper = source.reader(Charsets.UTF_8).use { JsonParser.parseReader(it).asJsonObject }
+            val id = paper.get("id").asString
+            outDir.resolve("$id.pack").writeBytes(encode(paper))
+            logger.lifecycle("试卷包生成完成: $id")
+        }
+    }
+
+    private fun encode(paper: JsonObject): ByteArray {
+        val passages = ArrayList<String>()
+        val passageIndex = HashMap<String, Int>()
+        fun passageOf(text: String?): Int {
+            if (text.isNullOrEmpty()) return -1
+            return passageIndex.getOrPut(text) { passages.add(text); passages.size - 1 }
+        }
+
+        // 每节 (名称, 题型, 首题序号, 题数)，题目按出现顺序编号
+        val sections = ArrayList<List<Any>>()
+        val questions = ArrayList<ByteArray>()
+        for (element in paper.getAsJsonArray("sections")) {
+            val section = element.asJsonObject
+            val sectionPassage = section.string("passage")
+            val items = section.getAsJsonArray("questions")
+            sections.add(listOf(section.string("name") ?: "", section.string("type") ?: "", questions.size, items.size()))
+            for (item in items) {
+                val q = item.asJsonObject
+                val bytes = ByteArrayOutputStream()
+                DataOutputStream(bytes).use { out ->
+                    out.writeStr(q.string("title"))
+                    out.writeInt(passageOf(q.string("passage") ?: sectionPassage))
+                    out.writeStr(q.string("question"))
+                    val options = q.getAsJsonArray("options")
+                    out.writeInt(options?.size() ?: -1)
+                    options?.forEach { out.writeStr(it.asString) }
+                    out.writeInt(q.get("answer")?.asInt ?: -1)
+                    out.writeStr(q.string("explanation"))
+                    out.writeStr(q.string("reference"))
+                    out.writeStr(q.string("writingType"))
+                }
+                questions.add(bytes.toByteArray())
+            }
+        }
+
+        val passageBytes = passages.map { it.toByteArray(Charsets.UTF_8) }
+        val bytes = ByteArrayOutputStream()
+        DataOutputStream(bytes).use { out ->
+            out.writeInt(0x4558504B) // "EXPK"
+            out.writeInt(1)
+            out.writeInt(paper.get("version")?.asInt ?: 1)
+            out.writeStr(paper.string("id"))
+            out.writeStr(paper.string("title"))
+            out.writeStr(paper.string("year"))
+            out.writeStr(paper.string("examType"))
+            out.writeInt(paper.get("durationMinutes")?.asInt ?: 0)
+            out.writeInt(sections.size)
+            for (section in sections) {
+                out.writeStr(section[0] as String)
+                out.writeStr(section[1] as String)
+                out.writeInt(section[2] as Int)
+                out.writeInt(section[3] as Int)
+            }
+            // 数据区先放文章，再放题目
+            var offset = 0
+            out.writeInt(passageBytes.size)
+            for (passage in passageBytes) {
+                out.writeInt(offset)
+                out.writeInt(passage.size)
+                offset += passage.size
+            }
+            out.writeInt(questions.size)
+            for (question in questions) {
+                out.writeInt(offset)
+                out.writeInt(question.size)
+                offset += question.size
+            }
+            passageBytes.forEach { out.write(it) }
+            questions.forEach { out.write(it) }
+        }
+        return bytes.toByteArray()
+    }
+
+    private fun JsonObject.string(name: String): String? =
+        get(name)?.takeIf { !it.isJsonNull }?.asString
+
+    private fun DataOutputStream.writeStr(value: String?) {
+        if (value == null) {
+            writeInt(-1)
+        } else {
+            val bytes = value.toByteArray(Charsets.UTF_8)
+            writeInt(bytes.size)
+            write(bytes)
+        }
+    }
+}
+
+val buildExamPacks = tasks.register<BuildExamPacksTask>("buildExamPacks") {
+    group = "build"
+    description = "把 JSON 试卷转换为随 APK 发布的二进制试卷包"
+    sourceDir.set(layout.projectDirectory.dir("src/main/exam_packs"))
+    outputDir.set(layout.buildDirectory.dir("generated/examPacks"))
+}
+
+androidComponents {
+    onVariants { variant ->
+        variant.sources.assets?.addGeneratedSourceDirectory(
+            buildPrebuiltDictionary,
+            BuildPrebuiltDictionaryTask::outputDir
+        )
+        variant.sources.assets?.addGeneratedSourceDirectory(
+            buildExamPacks,
+            BuildExamPacksTask::outputDir
+        )
+    }
+}
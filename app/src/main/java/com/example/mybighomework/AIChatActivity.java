@@ -29,11 +29,15 @@ import android.widget.Toast;
 
 import com.example.mybighomework.adapter.ChatMessageAdapter;
 import com.example.mybighomework.api.ZhipuAIService;
+import com.example.mybighomework.database.entity.ChatMessageEntity;
+import com.example.mybighomework.database.entity.ChatSessionEntity;
 import com.example.mybighomework.database.entity.DailyTaskEntity;
 import com.example.mybighomework.dialog.PlanSelectionDialog;
 import com.example.mybighomework.model.ChatMessage;
+import com.example.mybighomework.repository.ChatSessionRepository;
 import com.example.mybighomework.repository.StudyPlanRepository;
 import com.example.mybighomework.service.TaskGenerationService;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 import com.example.mybighomework.utils.StudyPlanExtractor;
 
 import java.text.SimpleDateFormat;
@@ -41,6 +45,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * AI 学习助手聊天界面
@@ -59,6 +64,17 @@ public class AIChatActivity extends AppCompatActivity {
     // 智谱AI API Key（glm-4-flash免费模型）
     private static final String ZHIPU_API_KEY = "e1b0c0c6ee7942908b11119e8fca3efa.w86kmtMVZLXo1vjE";
     
+    // 系统提示（定义 AI 角色）
+    private static final String SYSTEM_PROMPT = "你是一个专业的英语学习助手，擅长帮助学生提高英语水平。" +
+            "你可以进行翻译、语法纠错、作文批改、词汇解释等。" +
+            "请用简洁、友好的方式回答问题。";
+    
+    // 生成会话摘要的超时（毫秒）
+    private static final long SUMMARY_TIMEOUT = 30000;
+    
+    // 距顶部还剩几条消息时加载更早的一页
+    private static final int LOAD_MORE_THRESHOLD = 3;
+    
     // UI 组件
     private RecyclerView rvMessages;
     private EditText etInput;
@@ -82,11 +98,18 @@ public class AIChatActivity extends AppCompatActivity {
     
     // 当前 AI 回复的消息（用于流式更新）
     private ChatMessage currentAiMessage;
-    private StringBuilder currentMessageBuilder;  // 使用StringBuilder优化字符串拼接
     private long lastUpdateTime = 0;  // 上次更新时间，用于节流
     private static final long UPDATE_INTERVAL = 100;  // 更新间隔（毫秒）
     private Runnable updateRunnable;  // 延迟更新的Runnable
     
+    // 会话持久化相关
+    private ChatSessionRepository chatSessionRepository;
+    private long currentSessionId = -1;           // 首次发送时才创建会话
+    private long oldestLoadedMessageId = Long.MAX_VALUE;  // 已加载的最早一条消息，向上翻页的游标
+    private boolean hasMoreHistory = false;
+    private boolean isLoadingHistory = false;
+    private final AtomicBoolean foldingSummary = new AtomicBoolean(false);
+    
     // 学习计划相关
     private StudyPlanRepository studyPlanRepository;
     private StudyPlanExtractor planExtractor;
@@ -110,8 +133,8 @@ public class AIChatActivity extends AppCompatActivity {
         initData();
         setupListeners();
         
-        // 显示欢迎消息
-        showWelcomeMessage();
+        // 恢复最近的会话，没有历史时显示欢迎消息
+        loadLatestSession();
     }
     
     /**
@@ -147,6 +170,16 @@ public class AIChatActivity extends AppCompatActivity {
                 }
             }
         });
+        
+        // 滚动到顶部附近时加载更早的消息
+        rvMessages.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                if (dy < 0 && layoutManager.findFirstVisibleItemPosition() < LOAD_MORE_THRESHOLD) {
+                    loadOlderMessages();
+                }
+            }
+        });
     }
     
     /**
@@ -163,6 +196,7 @@ public class AIChatActivity extends AppCompatActivity {
         
         // 初始化学习计划仓库
         AppDatabase database = AppDatabase.getInstance(this);
+        chatSessionRepository = new ChatSessionRepository(database.chatSessionDao());
         studyPlanRepository = new StudyPlanRepository(
             this.getApplication(),
             database.studyPlanDao(),
@@ -285,7 +319,88 @@ public class AIChatActivity extends AppCompatActivity {
     }
     
     /**
-     * 显示欢迎消息
+     * 恢复最近的会话，只加载最新的一页消息
+     */
+    private void loadLatestSession() {
+        // 加载完成前禁用输入，避免先发送的消息被归入另一个会话
+        showLoading(true);
+        isLoadingHistory = true;
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
+            ChatSessionEntity session = chatSessionRepository.getLatestSession();
+            List<ChatMessageEntity> page = session != null
+                    ? chatSessionRepository.loadLatestPage(session.getId())
+                    : new ArrayList<>();
+            mainHandler.post(() -> {
+                isLoadingHistory = false;
+                if (isFinishing() || isDestroyed()) {
+                    return;
+                }
+                showLoading(false);
+                if (page.isEmpty()) {
+                    showWelcomeMessage();
+                    return;
+                }
+                currentSessionId = session.getId();
+                oldestLoadedMessageId = page.get(0).getId();
+                hasMoreHistory = page.size() >= ChatSessionRepository.PAGE_SIZE;
+                messageList.addAll(0, toChatMessages(page));
+                adapter.notifyItemRangeInserted(0, page.size());
+                rvMessages.scrollToPosition(messageList.size() - 1);
+                updateEmptyView();
+            });
+        });
+    }
+    
+    /**
+     * 向上翻页，加载已加载的最早一条消息之前的一页
+     */
+    private void loadOlderMessages() {
+        if (isLoadingHistory || !hasMoreHistory || currentSessionId < 0) {
+            return;
+        }
+        isLoadingHistory = true;
+        final long sessionId = currentSessionId;
+        final long beforeId = oldestLoadedMessageId;
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
+            List<ChatMessageEntity> page = chatSessionRepository.loadPageBefore(sessionId, beforeId);
+            mainHandler.post(() -> {
+                isLoadingHistory = false;
+                if (isFinishing() || isDestroyed()) {
+                    return;
+                }
+                hasMoreHistory = page.size() >= ChatSessionRepository.PAGE_SIZE;
+                if (page.isEmpty()) {
+                    return;
+                }
+                oldestLoadedMessageId = page.get(0).getId();
+                messageList.addAll(0, toChatMessages(page));
+                adapter.notifyItemRangeInserted(0, page.size());
+            });
+        });
+    }
+    
+    /**
+     * 数据库消息转换为界面消息
+     */
+    private List<ChatMessage> toChatMessages(List<ChatMessageEntity> entities) {
+        List<ChatMessage> messages = new ArrayList<>(entities.size());
+        for (ChatMessageEntity entity : entities) {
+            boolean isUser = ChatMessageEntity.ROLE_USER.equals(entity.getRole());
+            ChatMessage message = new ChatMessage(
+                    isUser ? ChatMessage.TYPE_SENT : ChatMessage.TYPE_RECEIVED,
+                    entity.getContent(),
+                    entity.getTimestamp()
+            );
+            if (!isUser && isStudyAdviceMessage(entity.getContent())) {
+                message.setShowGeneratePlanButton(true);
+            }
+            messages.add(message);
+        }
+        return messages;
+    }
+    
+    /**
+     * 显示欢迎消息（仅在界面显示，不保存也不作为上下文发送）
      */
     private void showWelcomeMessage() {
         String welcomeText = "👋 你好！我是你的英语学习 AI 助手。\n\n" +
@@ -342,18 +457,31 @@ public class AIChatActivity extends AppCompatActivity {
         // 显示加载状态
         showLoading(true);
         
-        // 构建消息历史
-        List<ZhipuAIService.ChatMessage> apiMessages = buildApiMessages();
-        
-        // 发送请求（使用流式输出）
+        // 先保存用户消息，再从数据库构建上下文（摘要 + 最近消息）
+        final long existingSessionId = currentSessionId;
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
+            long sessionId = existingSessionId >= 0
+                    ? existingSessionId
+                    : chatSessionRepository.createSession(input);
+            chatSessionRepository.addMessage(sessionId, ChatMessageEntity.ROLE_USER,
+                    input, userMessage.getTimestamp());
+            List<ZhipuAIService.ChatMessage> apiMessages =
+                    chatSessionRepository.buildContext(sessionId, SYSTEM_PROMPT);
+            mainHandler.post(() -> currentSessionId = sessionId);
+            requestReply(sessionId, apiMessages);
+        });
+    }
+    
+    /**
+     * 请求 AI 回复（流式输出），完成后保存回复并按需折叠摘要
+     */
+    private void requestReply(long sessionId, List<ZhipuAIService.ChatMessage> apiMessages) {
         apiService.chatStream(apiMessages, new ZhipuAIService.StreamCallback() {
             @Override
             public void onChunk(String chunk) {
                 mainHandler.post(() -> {
                     if (currentAiMessage == null) {
                         // 创建新的 AI 消息
-                        currentMessageBuilder = new StringBuilder();
-                        currentMessageBuilder.append(chunk);
                         currentAiMessage = new ChatMessage(
                                 ChatMessage.TYPE_RECEIVED,
                                 chunk,
@@ -365,15 +493,14 @@ public class AIChatActivity extends AppCompatActivity {
                         rvMessages.scrollToPosition(messageList.size() - 1);
                         updateEmptyView();
                     } else {
-                        // 追加内容到StringBuilder
-                        currentMessageBuilder.append(chunk);
+                        // 追加到消息模型，界面刷新时只追加新增部分
+                        currentAiMessage.appendContent(chunk);
                         
                         // 节流更新UI，避免频繁刷新
                         long currentTime = System.currentTimeMillis();
                         if (currentTime - lastUpdateTime >= UPDATE_INTERVAL) {
                             // 立即更新
-                            currentAiMessage.setContent(currentMessageBuilder.toString());
-                            adapter.notifyItemChanged(messageList.size() - 1, "payload");
+                            adapter.notifyItemChanged(messageList.size() - 1, ChatMessageAdapter.PAYLOAD_APPEND);
                             lastUpdateTime = currentTime;
                             
                             // 只在用户已经滚动到底部时才自动滚动
@@ -388,9 +515,8 @@ public class AIChatActivity extends AppCompatActivity {
                             
                             // 设置延迟更新，确保最后的内容也能显示
                             updateRunnable = () -> {
-                                if (currentAiMessage != null && currentMessageBuilder != null) {
-                                    currentAiMessage.setContent(currentMessageBuilder.toString());
-                                    adapter.notifyItemChanged(messageList.size() - 1, "payload");
+                                if (currentAiMessage != null) {
+                                    adapter.notifyItemChanged(messageList.size() - 1, ChatMessageAdapter.PAYLOAD_APPEND);
                                     lastUpdateTime = System.currentTimeMillis();
                                 }
                             };
@@ -406,8 +532,8 @@ public class AIChatActivity extends AppCompatActivity {
                     showLoading(false);
                     
                     // 确保最后的内容更新
-                    if (currentAiMessage != null && currentMessageBuilder != null) {
-                        currentAiMessage.setContent(currentMessageBuilder.toString());
+                    if (currentAiMessage != null) {
+                        currentAiMessage.finishStreaming();
                         adapter.notifyItemChanged(messageList.size() - 1);
                         
                         // 智能检测：如果AI回复包含学习建议，自动显示生成按钮
@@ -415,11 +541,12 @@ public class AIChatActivity extends AppCompatActivity {
                             currentAiMessage.setShowGeneratePlanButton(true);
                             adapter.notifyItemChanged(messageList.size() - 1);
                         }
+                        
+                        saveReply(sessionId, currentAiMessage.getContent(), currentAiMessage.getTimestamp());
                     }
                     
                     // 清理资源
                     currentAiMessage = null;
-                    currentMessageBuilder = null;
                     lastUpdateTime = 0;
                     if (updateRunnable != null) {
                         mainHandler.removeCallbacks(updateRunnable);
@@ -435,7 +562,6 @@ public class AIChatActivity extends AppCompatActivity {
                     
                     // 清理资源
                     currentAiMessage = null;
-                    currentMessageBuilder = null;
                     lastUpdateTime = 0;
                     if (updateRunnable != null) {
                         mainHandler.removeCallbacks(updateRunnable);
@@ -450,26 +576,33 @@ public class AIChatActivity extends AppCompatActivity {
     }
     
     /**
-     * 构建 API 消息列表
+     * 保存 AI 回复，之后在后台检查是否需要把较早的消息折叠进摘要
      */
-    private List<ZhipuAIService.ChatMessage> buildApiMessages() {
-        List<ZhipuAIService.ChatMessage> apiMessages = new ArrayList<>();
-        
-        // 添加系统提示（定义 AI 角色）
-        String systemPrompt = "你是一个专业的英语学习助手，擅长帮助学生提高英语水平。" +
-                "你可以进行翻译、语法纠错、作文批改、词汇解释等。" +
-                "请用简洁、友好的方式回答问题。";
-        apiMessages.add(new ZhipuAIService.ChatMessage("system", systemPrompt));
-        
-        // 添加历史消息（最近10条）
-        int startIndex = Math.max(0, messageList.size() - 10);
-        for (int i = startIndex; i < messageList.size(); i++) {
-            ChatMessage msg = messageList.get(i);
-            String role = msg.getType() == ChatMessage.TYPE_SENT ? "user" : "assistant";
-            apiMessages.add(new ZhipuAIService.ChatMessage(role, msg.getContent()));
+    private void saveReply(long sessionId, String content, long timestamp) {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
+            chatSessionRepository.addMessage(sessionId, ChatMessageEntity.ROLE_ASSISTANT, content, timestamp);
+            foldSummaryIfNeeded(sessionId);
+        });
+    }
+    
+    /**
+     * 折叠会话摘要，同一时间只有一个摘要请求
+     */
+    private void foldSummaryIfNeeded(long sessionId) {
+        if (!foldingSummary.compareAndSet(false, true)) {
+            return;
         }
-        
-        return apiMessages;
+        AppExecutorsYSJ.getInstance().networkIO().execute(() -> {
+            try {
+                chatSessionRepository.foldIfNeeded(sessionId,
+                        request -> apiService.chatBlocking(request, SUMMARY_TIMEOUT));
+            } catch (Exception e) {
+                // 摘要失败不影响对话，下次回复后再试
+                Log.w(TAG, "会话摘要生成失败", e);
+            } finally {
+                foldingSummary.set(false);
+            }
+        });
     }
     
     /**
@@ -14,11 +14,11 @@ import com.example.mybighomework.adapter.BookCategoryAdapterYSJ;
 import com.example.mybighomework.database.AppDatabase;
 import com.example.mybighomework.database.entity.BookEntity;
 import com.example.mybighomework.database.repository.BookRepository;
+import com.example.mybighomework.utils.TaskScopeYSJ;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 
 /**
  * 词书分类导航界面
@@ -32,7 +32,7 @@ public class BookCategoryActivityYSJ extends AppCompatActivity {
     private BookCategoryAdapterYSJ adapter;
     
     private BookRepository repository;
-    private ExecutorService executor;
+    private Executor executor;
     private List<BookEntity> categoryList = new ArrayList<>();
     
     @Override
@@ -61,7 +61,7 @@ public class BookCategoryActivityYSJ extends AppCompatActivity {
     private void initData() {
         AppDatabase database = AppDatabase.getInstance(this);
         repository = new BookRepository(database);
-        executor = Executors.newSingleThreadExecutor();
+        executor = TaskScopeYSJ.bind(this).diskIO();
     }
     
     private void setupClickListeners() {
@@ -103,12 +103,4 @@ public class BookCategoryActivityYSJ extends AppCompatActivity {
         intent.putExtra("category_name", category.getName());
         startActivity(intent);
     }
-    
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        if (executor != null && !executor.isShutdown()) {
-            executor.shutdown();
-        }
-    }
 }
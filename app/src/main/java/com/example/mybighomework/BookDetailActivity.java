@@ -20,10 +20,10 @@ import com.example.mybighomework.database.AppDatabase;
 import com.example.mybighomework.database.entity.BookEntity;
 import com.example.mybighomework.database.entity.DictionaryWordEntity;
 import com.example.mybighomework.database.repository.BookRepository;
+import com.example.mybighomework.utils.TaskScopeYSJ;
 
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 
 /**
  * 词书详情页面
@@ -47,7 +47,7 @@ public class BookDetailActivity extends AppCompatActivity {
     private String bookName;
     private int wordCount;
     private BookRepository repository;
-    private ExecutorService executor;
+    private Executor executor;
     private WordPreviewAdapter adapter;
 
     @Override
@@ -97,7 +97,7 @@ public class BookDetailActivity extends AppCompatActivity {
     private void initData() {
         AppDatabase database = AppDatabase.getInstance(this);
         repository = new BookRepository(database);
-        executor = Executors.newSingleThreadExecutor();
+        executor = TaskScopeYSJ.bind(this).diskIO();
         
         adapter = new WordPreviewAdapter();
         rvWordPreview.setLayoutManager(new LinearLayoutManager(this));
@@ -234,12 +234,4 @@ public class BookDetailActivity extends AppCompatActivity {
         layoutLoading.setVisibility(View.GONE);
         layoutContent.setVisibility(View.VISIBLE);
     }
-
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        if (executor != null && !executor.isShutdown()) {
-            executor.shutdown();
-        }
-    }
 }
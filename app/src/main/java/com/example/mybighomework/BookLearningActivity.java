@@ -1,6 +1,5 @@
 package com.example.mybighomework;
 
-import android.media.MediaPlayer;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.Button;
@@ -18,16 +17,21 @@ import com.example.mybighomework.database.AppDatabase;
 import com.example.mybighomework.database.entity.DictionaryWordEntity;
 import com.example.mybighomework.database.entity.WordLearningProgressEntity;
 import com.example.mybighomework.database.repository.BookRepository;
-import com.example.mybighomework.database.repository.LearningProgressRepository;
+import com.example.mybighomework.database.repository.DictionaryWordRepository;
+import com.example.mybighomework.service.StudyWriteJournal;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 import com.example.mybighomework.utils.TaskProgressTracker;
+import com.example.mybighomework.utils.AudioPlayerYSJ;
+import com.example.mybighomework.utils.DistractorIndexYSJ;
+import com.example.mybighomework.utils.PronunciationServiceYSJ;
+import com.example.mybighomework.utils.ReviewEngineYSJ;
+import com.example.mybighomework.utils.WordSelectorYSJ;
 
-import java.net.URLEncoder;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * 词书学习Activity
@@ -52,6 +56,8 @@ public class BookLearningActivity extends AppCompatActivity {
     private String bookName;
     private String mode; // "learn" 或 "review"
     private List<DictionaryWordEntity> wordList = new ArrayList<>();
+    // 整本词书的干扰项索引（按词书缓存）
+    private DistractorIndexYSJ distractorIndex;
     private List<QuestionItem> questionList = new ArrayList<>();
     private int currentIndex = 0;
     private int score = 0;
@@ -63,10 +69,14 @@ public class BookLearningActivity extends AppCompatActivity {
 
     // 数据库
     private BookRepository bookRepository;
-    private LearningProgressRepository progressRepository;
+    private DictionaryWordRepository wordRepository;
+    private WordSelectorYSJ wordSelector;
+    private StudyWriteJournal studyJournal;
     private ExecutorService executor;
-    private MediaPlayer mediaPlayer;
-    private boolean isPlaying = false;
+    private PronunciationServiceYSJ pronunciationService;
+
+    // 预取发音的单词数（当前题之后）
+    private static final int PRONUNCIATION_PREFETCH_AHEAD = 3;
 
     // 题目数据类
     private static class QuestionItem {
@@ -133,8 +143,12 @@ public class BookLearningActivity extends AppCompatActivity {
     private void initData() {
         AppDatabase database = AppDatabase.getInstance(this);
         bookRepository = new BookRepository(database);
-        progressRepository = new LearningProgressRepository(database);
-        executor = Executors.newSingleThreadExecutor();
+        wordRepository = new DictionaryWordRepository(database);
+        wordSelector = new WordSelectorYSJ(database.wordLearningProgressDao(), database.bookWordRelationDao(),
+                ReviewEngineYSJ.getInstance(database));
+        studyJournal = StudyWriteJournal.getInstance(this);
+        executor = AppExecutorsYSJ.getInstance().diskIO();
+        pronunciationService = PronunciationServiceYSJ.getInstance(this);
         startTime = System.currentTimeMillis();
     }
 
@@ -154,7 +168,11 @@ public class BookLearningActivity extends AppCompatActivity {
         showLoading();
         executor.execute(() -> {
             try {
-                List<DictionaryWordEntity> words = bookRepository.getWordsForBookSync(bookId);
+                // 只加载本轮的目标单词；干扰项来自按词书缓存的索引，每本词书只构建一次
+                List<String> bookWordIds = bookRepository.getWordIdsForBookSync(bookId);
+                List<String> sampledIds = wordSelector.sampleWordIds(bookWordIds, totalQuestions);
+                List<DictionaryWordEntity> words = wordRepository.getWordsByIdsSync(sampledIds);
+                distractorIndex = bookRepository.getDistractorIndexSync(bookId);
                 
                 if (words == null || words.isEmpty()) {
                     runOnUiThread(() -> {
@@ -205,30 +223,12 @@ public class BookLearningActivity extends AppCompatActivity {
                 options[correctAnswer] = "暂无释义";
             }
 
-            // 生成干扰选项
-            List<String> usedTranslations = new ArrayList<>();
-            usedTranslations.add(options[correctAnswer]);
-
+            // 生成干扰选项：从词书索引中抽取3个难度和词频相近、不重复的释义
+            List<String> distractors = distractorIndex.sample(word, 3, DistractorIndexYSJ.Mode.CONFUSABLE, random);
+            int next = 0;
             for (int j = 0; j < 4; j++) {
                 if (j == correctAnswer) continue;
-
-                // 随机选择其他单词的翻译作为干扰项
-                String distractor = null;
-                int attempts = 0;
-                while (distractor == null && attempts < 50) {
-                    int randomIndex = random.nextInt(wordList.size());
-                    String trans = wordList.get(randomIndex).getTranslation();
-                    if (trans != null && !trans.isEmpty() && !usedTranslations.contains(trans)) {
-                        distractor = trans;
-                        usedTranslations.add(trans);
-                    }
-                    attempts++;
-                }
-
-                if (distractor == null) {
-                    distractor = "选项" + (j + 1);
-                }
-                options[j] = distractor;
+                options[j] = next < distractors.size() ? distractors.get(next++) : "选项" + (j + 1);
             }
 
             questionList.add(new QuestionItem(word, options, correctAnswer));
@@ -271,6 +271,20 @@ public class BookLearningActivity extends AppCompatActivity {
         layoutOptions.setVisibility(View.VISIBLE);
         layoutResult.setVisibility(View.GONE);
         isAnswered = false;
+
+        prefetchUpcomingPronunciations();
+    }
+
+    /**
+     * 预取当前题及之后几题的发音
+     */
+    private void prefetchUpcomingPronunciations() {
+        List<String> upcoming = new ArrayList<>();
+        int end = Math.min(questionList.size(), currentIndex + 1 + PRONUNCIATION_PREFETCH_AHEAD);
+        for (int i = currentIndex; i < end; i++) {
+            upcoming.add(questionList.get(i).word.getWord());
+        }
+        pronunciationService.prefetch(upcoming, PronunciationServiceYSJ.ACCENT_US);
     }
 
 
@@ -371,68 +385,32 @@ public class BookLearningActivity extends AppCompatActivity {
     }
 
     private void saveProgress(DictionaryWordEntity word, boolean isCorrect) {
-        executor.execute(() -> {
-            try {
-                String userId = "default_user";
-                progressRepository.updateProgress(userId, word.getId(), bookId, isCorrect);
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        });
+        // 只在内存中累积，按批写入数据库
+        studyJournal.recordWordProgress("default_user", word.getId(), bookId, isCorrect);
     }
 
     private void playPronunciation() {
-        if (isPlaying) {
-            Toast.makeText(this, "正在播放中", Toast.LENGTH_SHORT).show();
-            return;
-        }
-
         String word = tvWord.getText().toString().trim();
         if (word.isEmpty()) return;
 
-        try {
-            releaseMediaPlayer();
-            mediaPlayer = new MediaPlayer();
-            String encodedWord = URLEncoder.encode(word, "UTF-8");
-            String url = "https://dict.youdao.com/dictvoice?audio=" + encodedWord + "&type=1";
-            
-            mediaPlayer.setDataSource(url);
-            mediaPlayer.setOnPreparedListener(mp -> {
-                isPlaying = true;
-                btnPlay.setEnabled(false);
+        // 已缓存时直接本地播放；正在播放时点击会重新播放
+        pronunciationService.play(word, PronunciationServiceYSJ.ACCENT_US, new AudioPlayerYSJ.AudioCallback() {
+            @Override
+            public void onStart() {
                 btnPlay.setAlpha(0.5f);
-                mp.start();
-            });
-            mediaPlayer.setOnCompletionListener(mp -> {
-                isPlaying = false;
-                btnPlay.setEnabled(true);
-                btnPlay.setAlpha(1.0f);
-                releaseMediaPlayer();
-            });
-            mediaPlayer.setOnErrorListener((mp, what, extra) -> {
-                isPlaying = false;
-                btnPlay.setEnabled(true);
+            }
+
+            @Override
+            public void onComplete() {
                 btnPlay.setAlpha(1.0f);
-                Toast.makeText(this, "播放失败", Toast.LENGTH_SHORT).show();
-                releaseMediaPlayer();
-                return true;
-            });
-            mediaPlayer.prepareAsync();
-        } catch (Exception e) {
-            Toast.makeText(this, "播放出错", Toast.LENGTH_SHORT).show();
-        }
-    }
+            }
 
-    private void releaseMediaPlayer() {
-        if (mediaPlayer != null) {
-            try {
-                if (mediaPlayer.isPlaying()) mediaPlayer.stop();
-                mediaPlayer.release();
-            } catch (Exception e) {
-                e.printStackTrace();
+            @Override
+            public void onError(String message) {
+                btnPlay.setAlpha(1.0f);
+                Toast.makeText(BookLearningActivity.this, message, Toast.LENGTH_SHORT).show();
             }
-            mediaPlayer = null;
-        }
+        });
     }
 
     private void showExitConfirmDialog() {
@@ -462,11 +440,13 @@ public class BookLearningActivity extends AppCompatActivity {
     }
 
     @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        releaseMediaPlayer();
-        if (executor != null && !executor.isShutdown()) {
-            executor.shutdown();
+    protected void onPause() {
+        super.onPause();
+        // 离开页面时写入累积的学习进度
+        studyJournal.flush();
+        // 在下一个页面开始播放之前停止本页的发音；播放器由各页面共用，不在这里释放
+        if (pronunciationService != null) {
+            pronunciationService.stop();
         }
     }
 }
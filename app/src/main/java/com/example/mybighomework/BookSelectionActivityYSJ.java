@@ -16,11 +16,11 @@ import com.example.mybighomework.adapter.BookSelectionAdapterYSJ;
 import com.example.mybighomework.database.AppDatabase;
 import com.example.mybighomework.database.entity.BookEntity;
 import com.example.mybighomework.database.repository.BookRepository;
+import com.example.mybighomework.utils.TaskScopeYSJ;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 
 /**
  * 词书选择界面
@@ -38,7 +38,7 @@ public class BookSelectionActivityYSJ extends AppCompatActivity {
     private BookSelectionAdapterYSJ adapter;
     
     private BookRepository repository;
-    private ExecutorService executor;
+    private Executor executor;
     private List<BookEntity> bookList = new ArrayList<>();
     private String categoryId;
     private String categoryName;
@@ -76,7 +76,7 @@ public class BookSelectionActivityYSJ extends AppCompatActivity {
     private void initData() {
         AppDatabase database = AppDatabase.getInstance(this);
         repository = new BookRepository(database);
-        executor = Executors.newSingleThreadExecutor();
+        executor = TaskScopeYSJ.bind(this).diskIO();
     }
     
     private void setupClickListeners() {
@@ -145,12 +145,4 @@ public class BookSelectionActivityYSJ extends AppCompatActivity {
         SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, MODE_PRIVATE);
         return prefs.getString(KEY_LAST_BOOK_NAME, null);
     }
-    
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        if (executor != null && !executor.isShutdown()) {
-            executor.shutdown();
-        }
-    }
 }
@@ -3,6 +3,8 @@ package com.example.mybighomework;
 import androidx.camera.core.ExperimentalGetImage;
 
 import com.example.mybighomework.TranslationOverlayView;
+import com.example.mybighomework.translation.TranslationCache;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 
 import android.Manifest;
 import android.content.Intent;
@@ -62,8 +64,6 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 
 public class CameraTranslationActivity extends AppCompatActivity {
@@ -91,7 +91,6 @@ public class CameraTranslationActivity extends AppCompatActivity {
     // CameraX 组件
     private ImageCapture imageCapture;
     private Camera camera;
-    private ExecutorService cameraExecutor;
 
     // ML Kit 组件已移除，仅使用有道API
 
@@ -118,9 +117,6 @@ public class CameraTranslationActivity extends AppCompatActivity {
             return insets;
         });
 
-        // 初始化相机执行器
-        cameraExecutor = Executors.newSingleThreadExecutor();
-
         // 初始化视图
         initViews();
 
@@ -390,7 +386,8 @@ public class CameraTranslationActivity extends AppCompatActivity {
                 tvProcessing.setText("正在使用有道翻译...");
             }
             
-            YoudaoApiTranslator.translateImage(bitmap, sourceLanguage, targetLanguage, 
+            YoudaoApiTranslator.translateImage(bitmap, sourceLanguage, targetLanguage,
+                TranslationCache.getInstance(CameraTranslationActivity.this),
                 new YoudaoApiTranslator.TranslateCallback() {
                     @Override
                     public void onSuccess(String originalText, String translatedText, String renderedImage) {
@@ -574,21 +571,13 @@ public class CameraTranslationActivity extends AppCompatActivity {
                 tvProcessing.setText("正在识别文字...");
             }
 
-            // 异步处理图片（延迟一点，让用户看到完整的图片）
-            cameraExecutor.execute(() -> {
-                try {
-                    Thread.sleep(300); // 给用户300ms的时间欣赏图片
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
+            // 异步处理图片（延迟300ms，让用户看到完整的图片）
+            AppExecutorsYSJ.getInstance().executeDelayed(() -> runOnUiThread(() -> {
+                if (tvProcessing != null) {
+                    tvProcessing.setText("正在识别文字...");
                 }
-
-                runOnUiThread(() -> {
-                    if (tvProcessing != null) {
-                        tvProcessing.setText("正在识别文字...");
-                    }
-                    processCapturedImageFile(imageFile);
-                });
-            });
+                processCapturedImageFile(imageFile);
+            }), 300);
 
         } catch (Exception e) {
             Log.e(TAG, "显示拍照结果失败", e);
@@ -630,6 +619,7 @@ public class CameraTranslationActivity extends AppCompatActivity {
 
                 // 相册图片使用有道API翻译
                 YoudaoApiTranslator.translateImage(bitmap, sourceLanguage, targetLanguage,
+                    TranslationCache.getInstance(CameraTranslationActivity.this),
                     new YoudaoApiTranslator.TranslateCallback() {
                         @Override
                         public void onSuccess(String originalText, String translatedText, String renderedImage) {
@@ -828,7 +818,7 @@ public class CameraTranslationActivity extends AppCompatActivity {
      * 将翻译记录保存为一个简单的学习记录
      */
     private void saveToVocabulary(String original, String translation) {
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
             try {
                 // 获取数据库实例
                 com.example.mybighomework.database.AppDatabase database = 
@@ -853,7 +843,7 @@ public class CameraTranslationActivity extends AppCompatActivity {
                     Toast.makeText(this, "保存失败: " + e.getMessage(), Toast.LENGTH_SHORT).show();
                 });
             }
-        }).start();
+        });
     }
 
     private void selectImageFromGallery() {
@@ -917,9 +907,6 @@ public class CameraTranslationActivity extends AppCompatActivity {
     protected void onDestroy() {
         Log.d(TAG, "onDestroy called");
         super.onDestroy();
-        if (cameraExecutor != null) {
-            cameraExecutor.shutdown();
-        }
         // ML Kit组件已移除
 
 
@@ -22,6 +22,7 @@ import com.bumptech.glide.load.engine.DiskCacheStrategy;
 import com.bumptech.glide.request.RequestOptions;
 import com.example.mybighomework.database.entity.DailySentenceEntity;
 import com.example.mybighomework.repository.DailySentenceRepository;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 import com.example.mybighomework.utils.AudioPlayerManager;
 import com.example.mybighomework.utils.ShareUtils;
 import com.example.mybighomework.utils.TaskCompletionManager;
@@ -392,7 +393,7 @@ public class DailySentenceActivity extends AppCompatActivity {
         progressDialog.show();
         
         // 下载图片并分享
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().media().execute(() -> {
             try {
                 // 使用Glide下载图片
                 Glide.with(this)
@@ -417,7 +418,7 @@ public class DailySentenceActivity extends AppCompatActivity {
                     Toast.makeText(this, "图片加载失败", Toast.LENGTH_SHORT).show();
                 });
             }
-        }).start();
+        });
     }
     
     /**
@@ -431,7 +432,7 @@ public class DailySentenceActivity extends AppCompatActivity {
         progressDialog.show();
         
         // 在后台生成卡片
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().media().execute(() -> {
             try {
                 // 获取日期
                 SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy年MM月dd日", Locale.CHINESE);
@@ -467,7 +468,7 @@ public class DailySentenceActivity extends AppCompatActivity {
                     Toast.makeText(this, "生成卡片失败：" + e.getMessage(), Toast.LENGTH_SHORT).show();
                 });
             }
-        }).start();
+        });
     }
 
     /**
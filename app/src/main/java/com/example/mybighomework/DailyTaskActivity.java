@@ -21,6 +21,8 @@ import com.example.mybighomework.database.dao.DailyTaskDao;
 import com.example.mybighomework.database.entity.DailyTaskEntity;
 import com.example.mybighomework.database.entity.StudyPlanEntity;
 import com.example.mybighomework.utils.ActionTypeInferrer;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
+import com.example.mybighomework.utils.TaskScopeYSJ;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -46,6 +48,9 @@ public class DailyTaskActivity extends AppCompatActivity {
     private DailyTaskDao dailyTaskDao;
     private boolean useDatabase = true;
 
+    // 页面查询任务，页面销毁时取消尚未开始的查询
+    private final TaskScopeYSJ tasks = TaskScopeYSJ.bind(this);
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -212,7 +217,7 @@ public class DailyTaskActivity extends AppCompatActivity {
     private void saveTaskStatus(DailyTask task) {
         if (useDatabase && task.getTaskId() > 0) {
             // 保存到数据库
-            new Thread(() -> {
+            AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
                 try {
                     DailyTaskEntity entity = dailyTaskDao.getTaskById(task.getTaskId());
                     if (entity != null) {
@@ -227,7 +232,7 @@ public class DailyTaskActivity extends AppCompatActivity {
                 } catch (Exception e) {
                     Log.e("DailyTaskActivity", "保存任务状态到数据库失败", e);
                 }
-            }).start();
+            });
         } else {
             // 保存到SharedPreferences
             SharedPreferences.Editor editor = sharedPreferences.edit();
@@ -240,7 +245,7 @@ public class DailyTaskActivity extends AppCompatActivity {
     private void loadTasksFromDatabase() {
         String today = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault()).format(new Date());
 
-        new Thread(() -> {
+        tasks.diskIO().execute(() -> {
             try {
                 // 获取所有活跃计划的今日任务
                 // 首先查询所有活跃的学习计划
@@ -320,7 +325,7 @@ public class DailyTaskActivity extends AppCompatActivity {
                     updateProgress();
                 });
             }
-        }).start();
+        });
     }
 
     private void loadDefaultTasks() {
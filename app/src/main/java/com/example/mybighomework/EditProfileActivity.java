@@ -17,6 +17,8 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.example.mybighomework.database.entity.UserEntity;
 import com.example.mybighomework.repository.UserRepository;
 import com.example.mybighomework.repository.UserSettingsRepository;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
+import com.example.mybighomework.utils.TaskScopeYSJ;
 
 /**
  * 编辑个人信息Activity
@@ -35,6 +37,9 @@ public class EditProfileActivity extends AppCompatActivity {
     private UserSettingsRepository userSettingsRepository;
     private UserEntity currentUser;
     
+    // 页面查询任务，页面销毁时取消尚未开始的查询
+    private final TaskScopeYSJ tasks = TaskScopeYSJ.bind(this);
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -99,7 +104,7 @@ public class EditProfileActivity extends AppCompatActivity {
      * 加载用户数据
      */
     private void loadUserData() {
-        new Thread(new Runnable() {
+        tasks.diskIO().execute(new Runnable() {
             @Override
             public void run() {
                 currentUser = userRepository.getLoggedInUser();
@@ -121,7 +126,7 @@ public class EditProfileActivity extends AppCompatActivity {
                     }
                 });
             }
-        }).start();
+        });
     }
     
     /**
@@ -156,7 +161,7 @@ public class EditProfileActivity extends AppCompatActivity {
         }
         
         // 在后台线程中保存
-        new Thread(new Runnable() {
+        AppExecutorsYSJ.getInstance().diskIO().execute(new Runnable() {
             @Override
             public void run() {
                 try {
@@ -183,7 +188,7 @@ public class EditProfileActivity extends AppCompatActivity {
                     });
                 }
             }
-        }).start();
+        });
     }
     
     /**
@@ -244,7 +249,7 @@ public class EditProfileActivity extends AppCompatActivity {
         }
         
         // 在后台线程中修改密码
-        new Thread(new Runnable() {
+        AppExecutorsYSJ.getInstance().diskIO().execute(new Runnable() {
             @Override
             public void run() {
                 try {
@@ -269,7 +274,7 @@ public class EditProfileActivity extends AppCompatActivity {
                     });
                 }
             }
-        }).start();
+        });
     }
     
     /**
@@ -271,45 +271,42 @@ public class ExamAnalysisActivity extends AppCompatActivity {
      * 将错题添加到错题本
      */
     private void addWrongQuestionsToBook() {
-        new Thread(() -> {
-            int addedCount = 0;
-            
-            for (AnalysisItem item : analysisList) {
-                // 只添加答错的题目
-                if (!item.isCorrect && !item.userAnswer.equals("未答")) {
-                    WrongQuestionEntity wrongQuestion = new WrongQuestionEntity();
-                    
-                    // 设置题目内容
-                    wrongQuestion.setQuestionText("第" + item.questionNumber + "题 - " + item.sectionName);
-                    
-                    // 设置选项（模拟数据，实际应从题目数据中获取）
-                    String[] options = {"Option A", "Option B", "Option C", "Option D"};
-                    wrongQuestion.setOptions(options);
-                    
-                    // 设置答案索引
-                    wrongQuestion.setUserAnswerIndex(item.userAnswer.charAt(0) - 'A');
-                    wrongQuestion.setCorrectAnswerIndex(item.correctAnswer.charAt(0) - 'A');
-                    
-                    // 设置解析和分类
-                    wrongQuestion.setExplanation(item.explanation);
-                    wrongQuestion.setCategory("真题练习");
-                    wrongQuestion.setSource(examType != null ? examType : "考研英语");
-                    
-                    // 设置时间和计数
-                    wrongQuestion.setWrongTime(new Date());
-                    wrongQuestion.setWrongCount(1);
-                    wrongQuestion.setMastered(false);
-                    
-                    // 保存到数据库
-                    wrongQuestionRepository.addWrongQuestionSync(wrongQuestion);
-                    addedCount++;
-                }
+        List<WrongQuestionEntity> wrongQuestions = new ArrayList<>();
+        for (AnalysisItem item : analysisList) {
+            // 只添加答错的题目
+            if (!item.isCorrect && !item.userAnswer.equals("未答")) {
+                WrongQuestionEntity wrongQuestion = new WrongQuestionEntity();
+                
+                // 设置题目内容
+                wrongQuestion.setQuestionText("第" + item.questionNumber + "题 - " + item.sectionName);
+                
+                // 设置选项（模拟数据，实际应从题目数据中获取）
+                String[] options = {"Option A", "Option B", "Option C", "Option D"};
+                wrongQuestion.setOptions(options);
+                
+                // 设置答案索引
+                wrongQuestion.setUserAnswerIndex(item.userAnswer.charAt(0) - 'A');
+                wrongQuestion.setCorrectAnswerIndex(item.correctAnswer.charAt(0) - 'A');
+                
+                // 设置解析和分类
+                wrongQuestion.setExplanation(item.explanation);
+                wrongQuestion.setCategory("真题练习");
+                wrongQuestion.setSource(examType != null ? examType : "考研英语");
+                
+                // 设置时间和计数
+                wrongQuestion.setWrongTime(new Date());
+                wrongQuestion.setWrongCount(1);
+                wrongQuestion.setMastered(false);
+                
+                wrongQuestions.add(wrongQuestion);
             }
-            
-            final int finalCount = addedCount;
+        }
+        
+        // 一个事务写入，已在错题本中的题目累加答错次数
+        wrongQuestionRepository.addWrongQuestions(wrongQuestions, addedCount -> {
             runOnUiThread(() -> {
-                if (finalCount > 0) {
-                    Toast.makeText(this, "已添加 " + finalCount + " 道错题到错题本", 
+                if (addedCount > 0) {
+                    Toast.makeText(this, "已添加 " + addedCount + " 道错题到错题本", 
                                  Toast.LENGTH_SHORT).show();
                     btnAddToWrongBook.setEnabled(false);
                     btnAddToWrongBook.setText("已加入错题本");
@@ -317,7 +314,7 @@ public class ExamAnalysisActivity extends AppCompatActivity {
                     Toast.makeText(this, "没有错题需要添加", Toast.LENGTH_SHORT).show();
                 }
             });
-        }).start();
+        });
     }
 
     /**
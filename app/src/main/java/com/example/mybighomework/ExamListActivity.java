@@ -10,7 +10,13 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.content.ContextCompat;
 
+import com.example.mybighomework.exam.ExamContentRepositoryYSJ;
+import com.example.mybighomework.exam.ExamPackYSJ;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ExamListActivity extends AppCompatActivity {
 
@@ -21,6 +27,10 @@ public class ExamListActivity extends AppCompatActivity {
     private LinearLayout navHome, navReport, navProfile, navMore;
 
     private boolean isCet4Selected = true; // 默认选择四级
+    // 试卷包追加到列表时的默认难度
+    private static final double DEFAULT_DIFFICULTY = 4.0;
+    // 当前类别下尚未放入列表的试卷包，按标题索引
+    private final Map<String, ExamPackYSJ> packsByTitle = new LinkedHashMap<>();
 
     // 模拟考试数据
     private static class ExamPaperItem {
@@ -137,6 +147,15 @@ public class ExamListActivity extends AppCompatActivity {
     private void loadExamPapers() {
         examListContainer.removeAllViews();
 
+        // 有内容的试卷来自试卷包，同名的列表项打开对应试卷，其余试卷包追加在后面
+        String examType = isCet4Selected ? "考研英语二" : "考研英语一";
+        packsByTitle.clear();
+        for (ExamPackYSJ pack : ExamContentRepositoryYSJ.getInstance(this).listPacks()) {
+            if (examType.equals(pack.getExamType())) {
+                packsByTitle.put(pack.getTitle(), pack);
+            }
+        }
+
         // 模拟考试数据 - 实际项目中应该从数据库或服务器获取
         if (isCet4Selected) {
             addExamPaper("2025年考研英语（二）试题（网友回忆版）", "2025", "考研英语二", 4.9, "未完成");
@@ -153,9 +172,13 @@ public class ExamListActivity extends AppCompatActivity {
             addExamPaper("2021年考研英语（一）试题", "2021", "考研英语一", 4.6, "");
             addExamPaper("2020年考研英语（一）试题", "2020", "考研英语一", 5.0, "");
         }
+        for (ExamPackYSJ pack : new ArrayList<>(packsByTitle.values())) {
+            addExamPaper(pack.getTitle(), pack.getYear(), pack.getExamType(), DEFAULT_DIFFICULTY, "");
+        }
     }
 
     private void addExamPaper(String title, String year, String type, double difficulty, String status) {
+        ExamPackYSJ pack = packsByTitle.remove(title);
         View itemView = getLayoutInflater().inflate(R.layout.item_exam_paper, examListContainer, false);
 
         TextView tvPaperName = itemView.findViewById(R.id.tv_paper_name);
@@ -179,6 +202,9 @@ public class ExamListActivity extends AppCompatActivity {
             intent.putExtra("exam_year", year);
             intent.putExtra("exam_type", type);
             intent.putExtra("difficulty", difficulty);
+            if (pack != null) {
+                intent.putExtra(ExamAnswerActivity.EXTRA_EXAM_PACK_ID, pack.getId());
+            }
 
             try {
                 startActivity(intent);
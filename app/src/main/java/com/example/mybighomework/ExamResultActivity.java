@@ -14,12 +14,15 @@ import com.example.mybighomework.database.entity.ExamResultEntity;
 import com.example.mybighomework.database.entity.WrongQuestionEntity;
 import com.example.mybighomework.database.repository.ExamResultRepository;
 import com.example.mybighomework.repository.WrongQuestionRepository;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
 
 /**
@@ -202,7 +205,7 @@ public class ExamResultActivity extends AppCompatActivity {
         // 显示加载提示
         Toast.makeText(this, "正在添加错题到错题本...", Toast.LENGTH_SHORT).show();
         
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
             try {
                 String answerDetails = examResult.getAnswerDetails();
                 if (answerDetails == null || answerDetails.isEmpty()) {
@@ -211,7 +214,7 @@ public class ExamResultActivity extends AppCompatActivity {
                 }
                 
                 JSONArray detailsArray = new JSONArray(answerDetails);
-                int addedCount = 0;
+                List<WrongQuestionEntity> wrongQuestions = new ArrayList<>();
                 
                 for (int i = 0; i < detailsArray.length(); i++) {
                     JSONObject questionDetail = detailsArray.getJSONObject(i);
@@ -241,13 +244,12 @@ public class ExamResultActivity extends AppCompatActivity {
                         wrongQuestion.setWrongCount(1);
                         wrongQuestion.setMastered(false);
                         
-                        // 添加到错题本
-                        wrongQuestionRepository.addWrongQuestion(wrongQuestion);
-                        addedCount++;
+                        wrongQuestions.add(wrongQuestion);
                     }
                 }
                 
-                final int finalAddedCount = addedCount;
+                // 一个事务写入错题本，已有的题目累加答错次数
+                final int finalAddedCount = wrongQuestionRepository.addWrongQuestionsSync(wrongQuestions);
                 runOnUiThread(() -> {
                     if (finalAddedCount > 0) {
                         Toast.makeText(this, "已添加 " + finalAddedCount + " 道错题到错题本", Toast.LENGTH_SHORT).show();
@@ -260,7 +262,7 @@ public class ExamResultActivity extends AppCompatActivity {
                 android.util.Log.e("ExamResultActivity", "添加错题失败", e);
                 runOnUiThread(() -> Toast.makeText(this, "添加错题失败: " + e.getMessage(), Toast.LENGTH_SHORT).show());
             }
-        }).start();
+        });
     }
 }
 
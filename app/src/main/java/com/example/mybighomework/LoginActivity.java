@@ -16,6 +16,7 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.mybighomework.database.entity.UserEntity;
 import com.example.mybighomework.repository.UserRepository;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 
 /**
  * 登录Activity
@@ -161,7 +162,7 @@ public class LoginActivity extends AppCompatActivity {
         btnLogin.setEnabled(false);
         btnLogin.setText("登录中...");
         
-        new Thread(new Runnable() {
+        AppExecutorsYSJ.getInstance().diskIO().execute(new Runnable() {
             @Override
             public void run() {
                 try {
@@ -198,7 +199,7 @@ public class LoginActivity extends AppCompatActivity {
                     });
                 }
             }
-        }).start();
+        });
     }
     
     /**
@@ -21,6 +21,7 @@ import com.example.mybighomework.database.entity.UserSettingsEntity;
 import com.example.mybighomework.repository.UserSettingsRepository;
 import com.example.mybighomework.repository.ExamRecordRepository;
 import com.example.mybighomework.repository.VocabularyRecordRepository;
+import com.example.mybighomework.utils.TaskScopeYSJ;
 import com.example.mybighomework.viewmodel.MainViewModel;
 import com.example.mybighomework.utils.QuestionDataInitializer;
 
@@ -57,6 +58,9 @@ public class MainActivity extends AppCompatActivity {
     private VocabularyRecordRepository vocabularyRecordRepository;
     private ExamRecordRepository examRecordRepository;
 
+    // 页面查询任务，页面销毁时取消尚未开始的查询
+    private final TaskScopeYSJ tasks = TaskScopeYSJ.bind(this);
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -279,7 +283,7 @@ public class MainActivity extends AppCompatActivity {
     
     private void updateTaskProgress() {
         // 在后台线程中从数据库查询任务完成状态
-        new Thread(() -> {
+        tasks.diskIO().execute(() -> {
             try {
                 java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("yyyy-MM-dd", java.util.Locale.getDefault());
                 String today = sdf.format(new java.util.Date());
@@ -328,12 +332,12 @@ public class MainActivity extends AppCompatActivity {
                     tvTaskProgress.setText("0/0");
                 });
             }
-        }).start();
+        });
     }
     
     private void loadStudyProgressData() {
         // 在后台线程中加载数据
-        new Thread(() -> {
+        tasks.diskIO().execute(() -> {
             try {
                 // 获取用户设置数据
                 UserSettingsEntity userSettings = null;
@@ -408,7 +412,7 @@ public class MainActivity extends AppCompatActivity {
                     }
                 });
             }
-        }).start();
+        });
     }
     
     /**
@@ -454,7 +458,7 @@ public class MainActivity extends AppCompatActivity {
      * 异步加载用户设置
      */
     private void loadUserSettingsAsync() {
-        new Thread(() -> {
+        tasks.diskIO().execute(() -> {
             try {
                 UserSettingsEntity settings = userSettingsRepository.getUserSettings();
                 runOnUiThread(() -> {
@@ -468,7 +472,7 @@ public class MainActivity extends AppCompatActivity {
                 e.printStackTrace();
                 runOnUiThread(() -> tvStudyDays.setText("0"));
             }
-        }).start();
+        });
     }
     
     @Override
@@ -490,7 +494,7 @@ public class MainActivity extends AppCompatActivity {
         
         // 由于使用了LiveData，词汇掌握量会自动更新
         // 但为了确保及时性，我们可以手动触发一次查询
-        new Thread(() -> {
+        tasks.diskIO().execute(() -> {
             try {
                 // 强制刷新词汇掌握量
                 int masteredCount = vocabularyRecordRepository.getMasteredVocabularyCount();
@@ -514,6 +518,6 @@ public class MainActivity extends AppCompatActivity {
             } catch (Exception e) {
                 e.printStackTrace();
             }
-        }).start();
+        });
     }
 }
\ No newline at end of file
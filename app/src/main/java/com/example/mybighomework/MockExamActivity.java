@@ -14,6 +14,7 @@ import androidx.activity.OnBackPressedCallback;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.cardview.widget.CardView;
 import androidx.core.content.ContextCompat;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -22,11 +23,15 @@ import com.example.mybighomework.database.AppDatabase;
 import com.example.mybighomework.database.entity.WrongQuestionEntity;
 import com.example.mybighomework.database.entity.ExamRecordEntity;
 import com.example.mybighomework.database.entity.StudyRecordEntity;
-import com.example.mybighomework.repository.WrongQuestionRepository;
+import com.example.mybighomework.exam.ExamContentRepositoryYSJ;
+import com.example.mybighomework.exam.ExamPackQuestion;
+import com.example.mybighomework.exam.ExamPackYSJ;
 import com.example.mybighomework.repository.ExamRecordRepository;
 import com.example.mybighomework.repository.UserSettingsRepository;
 import com.example.mybighomework.repository.StudyRecordRepository;
+import com.example.mybighomework.service.StudyWriteJournal;
 
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 import com.example.mybighomework.utils.ModuleStatisticsManager;
 import com.example.mybighomework.utils.TaskCompletionManager;
 import com.example.mybighomework.utils.TaskProgressTracker;
@@ -46,7 +51,8 @@ public class MockExamActivity extends AppCompatActivity {
     private TextView tvExamType, tvExamTitle;
 
     // 考试数据
-    private List<MockQuestion> mockQuestions;
+    private ExamPackYSJ mockPack;
+    private List<Integer> questionOrder; // 打乱后的题号
     private int currentQuestionIndex = 0;
     private int score = 0;
     private int totalQuestions = 30; // 模拟考试题目数量
@@ -57,7 +63,9 @@ public class MockExamActivity extends AppCompatActivity {
     private boolean isExamFinished = false;
     private long examStartTime = 0; // 考试开始时间
     
-    private WrongQuestionRepository wrongQuestionRepository;
+    private static final String MOCK_EXAM_PACK_ID = "mock_exam_general";
+    
+    private StudyWriteJournal studyJournal; // 错题批量写入
     private ExamRecordRepository examRecordRepository;
     private UserSettingsRepository userSettingsRepository;
     private StudyRecordRepository studyRecordRepository;
@@ -102,7 +110,7 @@ public class MockExamActivity extends AppCompatActivity {
     
     private void initDatabase() {
         AppDatabase database = AppDatabase.getInstance(this);
-        wrongQuestionRepository = new WrongQuestionRepository(database.wrongQuestionDao());
+        studyJournal = StudyWriteJournal.getInstance(this);
         examRecordRepository = new ExamRecordRepository(database.examDao());
         userSettingsRepository = new UserSettingsRepository(this);
         studyRecordRepository = new StudyRecordRepository(database.studyRecordDao());
@@ -177,265 +185,30 @@ public class MockExamActivity extends AppCompatActivity {
     }
 
     private void initMockExamData() {
-        mockQuestions = new ArrayList<>();
-        
-        // 词汇题
-        mockQuestions.add(new MockQuestion(
-            "The company's new policy will have a significant _______ on employee productivity.",
-            new String[]{"impact", "compact", "contact", "contract"},
-            0,
-            "impact意为影响，符合句意：公司的新政策将对员工生产力产生重大影响。",
-            "词汇"
-        ));
-        
-        mockQuestions.add(new MockQuestion(
-            "She was _______ to find that her application had been accepted.",
-            new String[]{"delighted", "delayed", "deleted", "delivered"},
-            0,
-            "delighted意为高兴的，符合句意：她很高兴发现自己的申请被接受了。",
-            "词汇"
-        ));
-
-        // 语法题
-        mockQuestions.add(new MockQuestion(
-            "If I _______ more time, I would have finished the project yesterday.",
-            new String[]{"had had", "have had", "had", "have"},
-            0,
-            "这是虚拟语气的用法，表示与过去事实相反的假设，条件句用过去完成时。",
-            "语法"
-        ));
-        
-        mockQuestions.add(new MockQuestion(
-            "The book _______ by millions of people around the world.",
-            new String[]{"has been read", "has read", "was reading", "reads"},
-            0,
-            "这里需要现在完成时的被动语态，表示书被全世界数百万人阅读。",
-            "语法"
-        ));
-
-        // 阅读理解题
-        mockQuestions.add(new MockQuestion(
-            "According to the passage, what is the main advantage of renewable energy?",
-            new String[]{"It's environmentally friendly", "It's cheaper", "It's more reliable", "It's easier to install"},
-            0,
-            "根据文章内容，可再生能源的主要优势是环保。",
-            "阅读"
-        ));
-
-        // 添加更多四六级词汇题
-        mockQuestions.add(new MockQuestion(
-            "The professor's lecture was so _______ that many students fell asleep.",
-            new String[]{"boring", "interested", "exciting", "fascinating"},
-            0,
-            "boring意为无聊的，符合句意：教授的讲座如此无聊以至于很多学生睡着了。",
-            "词汇"
-        ));
-        
-        mockQuestions.add(new MockQuestion(
-            "The company needs to _______ its marketing strategy to attract younger consumers.",
-            new String[]{"adjust", "object", "reject", "project"},
-            0,
-            "adjust意为调整，符合句意：公司需要调整营销策略以吸引年轻消费者。",
-            "词汇"
-        ));
-        
-        mockQuestions.add(new MockQuestion(
-            "The research team will _______ the experiment next month.",
-            new String[]{"conduct", "confuse", "conclude", "construct"},
-            0,
-            "conduct意为进行、实施，符合句意：研究团队将在下个月进行实验。",
-            "词汇"
-        ));
-        
-        mockQuestions.add(new MockQuestion(
-            "The new law will _______ stricter regulations on environmental protection.",
-            new String[]{"impose", "compose", "suppose", "propose"},
-            0,
-            "impose意为实施、强加，符合句意：新法律将实施更严格的环保法规。",
-            "词汇"
-        ));
-        
-        mockQuestions.add(new MockQuestion(
-            "Students must _______ their essays before the deadline.",
-            new String[]{"submit", "admit", "permit", "commit"},
-            0,
-            "submit意为提交，符合句意：学生必须在截止日期前提交论文。",
-            "词汇"
-        ));
-        
-        mockQuestions.add(new MockQuestion(
-            "The manager decided to _______ the meeting until next week.",
-            new String[]{"postpone", "propose", "suppose", "dispose"},
-            0,
-            "postpone意为推迟，符合句意：经理决定将会议推迟到下周。",
-            "词汇"
-        ));
-        
-        mockQuestions.add(new MockQuestion(
-            "The medicine should help _______ your pain.",
-            new String[]{"relieve", "believe", "achieve", "receive"},
-            0,
-            "relieve意为缓解，符合句意：这种药应该能帮助缓解你的疼痛。",
-            "词汇"
-        ));
-        
-        mockQuestions.add(new MockQuestion(
-            "The company aims to _______ its profits by 20% this year.",
-            new String[]{"increase", "decrease", "cease", "release"},
-            0,
-            "increase意为增加，符合句意：公司的目标是今年利润增长20%。",
-            "词汇"
-        ));
-        
-        mockQuestions.add(new MockQuestion(
-            "The teacher asked students to _______ their opinions during the discussion.",
-            new String[]{"express", "impress", "suppress", "compress"},
-            0,
-            "express意为表达，符合句意：老师要求学生在讨论中表达自己的观点。",
-            "词汇"
-        ));
-        
-        mockQuestions.add(new MockQuestion(
-            "The government will _______ new measures to combat climate change.",
-            new String[]{"implement", "compliment", "supplement", "experiment"},
-            0,
-            "implement意为实施，符合句意：政府将实施新措施来应对气候变化。",
-            "词汇"
-        ));
-        
-        // 语法题
-        mockQuestions.add(new MockQuestion(
-            "By the time you arrive, we _______ waiting for more than an hour.",
-            new String[]{"will have been", "will be", "have been", "had been"},
-            0,
-            "将来完成进行时，表示到将来某时已经进行了一段时间的动作。",
-            "语法"
-        ));
-        
-        mockQuestions.add(new MockQuestion(
-            "_______ carefully, the essay would have received a higher grade.",
-            new String[]{"Had it been written", "If it was written", "Was it written", "It was written"},
-            0,
-            "虚拟语气的倒装形式，表示与过去事实相反的假设。",
-            "语法"
-        ));
-        
-        mockQuestions.add(new MockQuestion(
-            "The news _______ everyone in the office yesterday.",
-            new String[]{"surprised", "was surprised", "surprising", "was surprising"},
-            0,
-            "surprise作及物动词，主动形式表示'使惊讶'，主语是news。",
-            "语法"
-        ));
-        
-        mockQuestions.add(new MockQuestion(
-            "Not until he failed the exam _______ how important study was.",
-            new String[]{"did he realize", "he realized", "he did realize", "realized he"},
-            0,
-            "not until位于句首时，主句需要部分倒装。",
-            "语法"
-        ));
-        
-        mockQuestions.add(new MockQuestion(
-            "The problem is _______ difficult that nobody can solve it.",
-            new String[]{"so", "such", "very", "too"},
-            0,
-            "so...that结构，so修饰形容词difficult。",
-            "语法"
-        ));
-        
-        mockQuestions.add(new MockQuestion(
-            "I would rather you _______ home now.",
-            new String[]{"went", "go", "will go", "have gone"},
-            0,
-            "would rather后接宾语从句时，从句用虚拟语气，表示现在或将来用过去时。",
-            "语法"
-        ));
-        
-        mockQuestions.add(new MockQuestion(
-            "It is high time that we _______ action to protect the environment.",
-            new String[]{"took", "take", "will take", "have taken"},
-            0,
-            "It is high time that结构中，从句用虚拟语气，动词用过去时。",
-            "语法"
-        ));
-        
-        mockQuestions.add(new MockQuestion(
-            "_______ the bad weather, the flight was cancelled.",
-            new String[]{"Because of", "Because", "Although", "Despite"},
-            0,
-            "because of后接名词或名词短语，because后接句子。",
-            "语法"
-        ));
-        
-        mockQuestions.add(new MockQuestion(
-            "The house _______ last year is now for sale.",
-            new String[]{"built", "building", "to build", "builds"},
-            0,
-            "过去分词作后置定语，表示被动和完成。",
-            "语法"
-        ));
-        
-        mockQuestions.add(new MockQuestion(
-            "_______ more attention, the trees could have grown better.",
-            new String[]{"Given", "Giving", "To give", "Give"},
-            0,
-            "过去分词作条件状语，表示被动关系。",
-            "语法"
-        ));
-        
-        // 阅读理解题
-        mockQuestions.add(new MockQuestion(
-            "What is the main idea of the passage about environmental protection?",
-            new String[]{"Individual actions are important", "Government policies are useless", "Technology solves all problems", "Money is the only solution"},
-            0,
-            "文章主旨是强调个人行动对环境保护的重要性。",
-            "阅读"
-        ));
-        
-        mockQuestions.add(new MockQuestion(
-            "According to the passage, what is the best way to learn a foreign language?",
-            new String[]{"Practice speaking regularly", "Only read textbooks", "Avoid making mistakes", "Study grammar rules only"},
-            0,
-            "文章指出学习外语的最佳方法是定期练习口语。",
-            "阅读"
-        ));
-        
-        mockQuestions.add(new MockQuestion(
-            "The author's attitude toward social media can be described as _______.",
-            new String[]{"cautiously optimistic", "completely negative", "extremely positive", "totally indifferent"},
-            0,
-            "作者对社交媒体持谨慎乐观的态度。",
-            "阅读"
-        ));
-        
-        mockQuestions.add(new MockQuestion(
-            "Which of the following is NOT mentioned as a benefit of exercise?",
-            new String[]{"Improving intelligence instantly", "Reducing stress", "Improving sleep quality", "Strengthening immune system"},
-            0,
-            "立即提高智力不是文中提到的运动益处。",
-            "阅读"
-        ));
-        
-        mockQuestions.add(new MockQuestion(
-            "What can be inferred about the future of renewable energy?",
-            new String[]{"It will become more affordable", "It will disappear soon", "It's too expensive to develop", "Nobody is interested in it"},
-            0,
-            "可以推断出可再生能源的未来会变得更加经济实惠。",
-            "阅读"
-        ));
+        try {
+            mockPack = ExamContentRepositoryYSJ.getInstance(this).open(MOCK_EXAM_PACK_ID);
+        } catch (IOException e) {
+            Toast.makeText(this, "题目数据加载失败: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+            questionOrder = new ArrayList<>();
+            return;
+        }
         
-        mockQuestions.add(new MockQuestion(
-            "The word 'substantial' in paragraph 3 is closest in meaning to _______.",
-            new String[]{"significant", "small", "trivial", "temporary"},
-            0,
-            "substantial意为'大量的、重要的'，与significant意思最接近。",
-            "阅读"
-        ));
-
-        // 打乱顺序
-        Collections.shuffle(mockQuestions);
-        totalQuestions = Math.min(mockQuestions.size(), 30);
+        // 只打乱题号，题目在显示到时才从试卷包解码
+        questionOrder = new ArrayList<>(mockPack.getQuestionCount());
+        for (int i = 0; i < mockPack.getQuestionCount(); i++) {
+            questionOrder.add(i);
+        }
+        Collections.shuffle(questionOrder);
+        totalQuestions = Math.min(questionOrder.size(), 30);
+    }
+    
+    /**
+     * 打乱后第 position 道题，题型取试卷包中所在节的名称（词汇、语法、阅读等）
+     */
+    private MockQuestion getMockQuestion(int position) {
+        ExamPackQuestion item = mockPack.getQuestion(questionOrder.get(position));
+        return new MockQuestion(item.getQuestion(), item.getOptions(), item.getAnswer(),
+                item.getExplanation(), item.getSectionName());
     }
 
     private void setupClickListeners() {
@@ -534,18 +307,18 @@ public class MockExamActivity extends AppCompatActivity {
     }
 
     private void showCurrentQuestion() {
-        if (mockQuestions == null || mockQuestions.isEmpty()) {
+        if (questionOrder == null || questionOrder.isEmpty()) {
             Toast.makeText(this, "题目数据加载失败", Toast.LENGTH_SHORT).show();
             finish();
             return;
         }
         
-        if (currentQuestionIndex >= totalQuestions || currentQuestionIndex >= mockQuestions.size()) {
+        if (currentQuestionIndex >= totalQuestions || currentQuestionIndex >= questionOrder.size()) {
             showFinalResult();
             return;
         }
 
-        MockQuestion currentQuestion = mockQuestions.get(currentQuestionIndex);
+        MockQuestion currentQuestion = getMockQuestion(currentQuestionIndex);
         
         if (currentQuestion == null || currentQuestion.question == null || currentQuestion.options == null) {
             Toast.makeText(this, "题目数据异常", Toast.LENGTH_SHORT).show();
@@ -588,13 +361,13 @@ public class MockExamActivity extends AppCompatActivity {
     private void selectOption(int selectedOption) {
         if (isAnswered || isExamFinished) return;
         
-        if (mockQuestions == null || currentQuestionIndex >= mockQuestions.size()) {
+        if (questionOrder == null || currentQuestionIndex >= questionOrder.size()) {
             Toast.makeText(this, "数据异常", Toast.LENGTH_SHORT).show();
             return;
         }
 
         isAnswered = true;
-        MockQuestion currentQuestion = mockQuestions.get(currentQuestionIndex);
+        MockQuestion currentQuestion = getMockQuestion(currentQuestionIndex);
         
         if (currentQuestion == null || currentQuestion.options == null) {
             Toast.makeText(this, "题目数据异常", Toast.LENGTH_SHORT).show();
@@ -653,7 +426,8 @@ public class MockExamActivity extends AppCompatActivity {
         wrongQuestion.setCategory("模拟考试");
         wrongQuestion.setSource("MockExamActivity");
         wrongQuestion.setWrongTime(new Date());
-        wrongQuestionRepository.addWrongQuestion(wrongQuestion);
+        // 攒成一批后在一个事务中写入错题本
+        studyJournal.recordWrongQuestion(wrongQuestion);
     }
 
     private void highlightAnswers(int selectedOption, int correctOption) {
@@ -712,8 +486,8 @@ public class MockExamActivity extends AppCompatActivity {
             examTimer.cancel();
         }
         
-        if (mockQuestions != null && !mockQuestions.isEmpty()) {
-            Collections.shuffle(mockQuestions);
+        if (questionOrder != null && !questionOrder.isEmpty()) {
+            Collections.shuffle(questionOrder);
         }
         
         startExamTimer();
@@ -754,7 +528,7 @@ public class MockExamActivity extends AppCompatActivity {
      * 保存考试记录到数据库
      */
     private void saveExamRecord() {
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
             try {
                 ExamRecordEntity examRecord = new ExamRecordEntity();
                 examRecord.setExamType("四级"); // 默认为四级
@@ -802,14 +576,14 @@ public class MockExamActivity extends AppCompatActivity {
                     Toast.makeText(MockExamActivity.this, "保存成绩失败: " + e.getMessage(), Toast.LENGTH_SHORT).show();
                 });
             }
-        }).start();
+        });
     }
     
     /**
      * 保存考试记录到数据库并在完成后关闭页面
      */
     private void saveExamRecordAndFinish() {
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
             try {
                 ExamRecordEntity examRecord = new ExamRecordEntity();
                 examRecord.setExamType("四级"); // 默认为四级
@@ -861,7 +635,7 @@ public class MockExamActivity extends AppCompatActivity {
                     finish();
                 });
             }
-        }).start();
+        });
     }
     
     /**
@@ -869,13 +643,20 @@ public class MockExamActivity extends AppCompatActivity {
      * 注意：现在学习连续天数已经在recordStudyTime中自动更新，这个方法保留用于兼容性
      */
     private void updateStudyStreak() {
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
             try {
                 userSettingsRepository.updateStudyStreak();
             } catch (Exception e) {
                 e.printStackTrace();
             }
-        }).start();
+        });
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        // 离开页面时写入累积的错题
+        studyJournal.flush();
     }
 
     @Override
@@ -13,6 +13,8 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
+import com.example.mybighomework.utils.AppExecutorsYSJ;
+
 public class MoreActivity extends AppCompatActivity {
 
     // 顶部导航
@@ -285,17 +287,11 @@ public class MoreActivity extends AppCompatActivity {
     private void exportStudyData() {
         Toast.makeText(this, "正在导出学习数据...", Toast.LENGTH_SHORT).show();
         // 这里可以实现导出所有学习数据的功能
-        new Thread(() -> {
-            try {
-                Thread.sleep(1000); // 模拟导出过程
-                runOnUiThread(() -> {
-                    String exportPath = getExternalFilesDir(null) + "/StudyData";
-                    Toast.makeText(this, "学习数据导出成功！\n位置: " + exportPath, Toast.LENGTH_LONG).show();
-                });
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        }).start();
+        // 模拟导出过程，1秒后提示
+        AppExecutorsYSJ.getInstance().executeDelayed(() -> runOnUiThread(() -> {
+            String exportPath = getExternalFilesDir(null) + "/StudyData";
+            Toast.makeText(this, "学习数据导出成功！\n位置: " + exportPath, Toast.LENGTH_LONG).show();
+        }), 1000);
     }
     
     /**
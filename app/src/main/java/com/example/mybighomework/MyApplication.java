@@ -1,10 +1,12 @@
 package com.example.mybighomework;
 
 import android.app.Application;
+import android.content.ComponentCallbacks2;
 import android.util.Log;
 
 import com.example.mybighomework.di.ServiceLocatorYSJ;
 import com.example.mybighomework.utils.DictionaryDataImporter;
+import com.example.mybighomework.utils.PronunciationServiceYSJ;
 
 /**
  * 应用程序入口类
@@ -31,6 +33,15 @@ public class MyApplication extends Application {
         // 其他初始化...
     }
     
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        // 界面全部隐藏后释放各页面共用的发音播放器
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+            PronunciationServiceYSJ.releaseIfCreated();
+        }
+    }
+    
     /**
      * 初始化词典数据
      * 首次启动时从assets导入数据到数据库
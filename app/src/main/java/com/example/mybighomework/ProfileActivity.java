@@ -22,8 +22,9 @@ import androidx.core.view.WindowInsetsCompat;
 import com.example.mybighomework.database.AppDatabase;
 import com.example.mybighomework.database.entity.UserSettingsEntity;
 import com.example.mybighomework.repository.UserSettingsRepository;
-import com.example.mybighomework.repository.ExamRecordRepository;
-import com.example.mybighomework.repository.VocabularyRecordRepository;
+import com.example.mybighomework.repository.StudyStatisticsRepository;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
+import com.example.mybighomework.utils.TaskScopeYSJ;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -55,13 +56,15 @@ public class ProfileActivity extends AppCompatActivity {
     
     // Repository实例
     private UserSettingsRepository userSettingsRepository;
-    private ExamRecordRepository examRecordRepository;
-    private VocabularyRecordRepository vocabularyRecordRepository;
+    private StudyStatisticsRepository statisticsRepository;
     
     // 图片选择器
     private ActivityResultLauncher<Intent> imagePickerLauncher;
     private Uri selectedImageUri;
 
+    // 页面查询任务，页面销毁时取消尚未开始的查询
+    private final TaskScopeYSJ tasks = TaskScopeYSJ.bind(this);
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -77,8 +80,7 @@ public class ProfileActivity extends AppCompatActivity {
         // 初始化Repository
         AppDatabase database = AppDatabase.getInstance(this);
         userSettingsRepository = new UserSettingsRepository(this);
-        examRecordRepository = new ExamRecordRepository(database.examDao());
-        vocabularyRecordRepository = new VocabularyRecordRepository(database.vocabularyDao());
+        statisticsRepository = new StudyStatisticsRepository(database.studyStatsDao());
         
         // 初始化图片选择器
         initImagePicker();
@@ -248,7 +250,7 @@ public class ProfileActivity extends AppCompatActivity {
      * 保存头像路径到数据库
      */
     private void saveAvatarPath(String avatarPath) {
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
             try {
                 UserSettingsEntity userSettings = userSettingsRepository.getUserSettings();
                 if (userSettings != null) {
@@ -261,21 +263,21 @@ public class ProfileActivity extends AppCompatActivity {
                     Toast.makeText(this, "保存头像失败", Toast.LENGTH_SHORT).show()
                 );
             }
-        }).start();
+        });
     }
     
     private void loadUserData() {
         // 在后台线程中加载数据
-        new Thread(() -> {
+        tasks.diskIO().execute(() -> {
             try {
                 // 获取用户设置数据
                 UserSettingsEntity userSettings = userSettingsRepository.getUserSettings();
                 
                 // 获取词汇掌握数量
-                int masteredVocabularyCount = vocabularyRecordRepository.getMasteredVocabularyCount();
+                int masteredVocabularyCount = statisticsRepository.getMasteredVocabularyCount();
                 
                 // 获取总考试次数
-                int totalExamCount = examRecordRepository.getTotalExamCount();
+                int totalExamCount = statisticsRepository.getTotalExamCount();
                 
                 // 【修复】在后台线程中获取学习时长数据，避免在主线程访问数据库
                 double totalHours = userSettingsRepository.getTotalStudyTimeHours();
@@ -358,7 +360,7 @@ public class ProfileActivity extends AppCompatActivity {
                     tvStudyHours.setText("0.0");
                 });
             }
-        }).start();
+        });
     }
     
     // 根据学习连续天数确定用户等级
@@ -13,6 +13,7 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.mybighomework.repository.UserRepository;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 
 /**
  * 注册Activity
@@ -141,7 +142,7 @@ public class RegisterActivity extends AppCompatActivity {
         btnRegister.setEnabled(false);
         btnRegister.setText("注册中...");
         
-        new Thread(new Runnable() {
+        AppExecutorsYSJ.getInstance().diskIO().execute(new Runnable() {
             @Override
             public void run() {
                 try {
@@ -187,7 +188,7 @@ public class RegisterActivity extends AppCompatActivity {
                     });
                 }
             }
-        }).start();
+        });
     }
     
     /**
@@ -16,16 +16,14 @@ import androidx.core.view.WindowInsetsCompat;
 import com.example.mybighomework.database.AppDatabase;
 import com.example.mybighomework.database.entity.UserSettingsEntity;
 import com.example.mybighomework.repository.UserSettingsRepository;
-import com.example.mybighomework.repository.ExamRecordRepository;
-import com.example.mybighomework.repository.VocabularyRecordRepository;
-import com.example.mybighomework.repository.StudyRecordRepository;
+import com.example.mybighomework.repository.StudyStatisticsRepository;
 import com.example.mybighomework.database.dao.QuestionDao;
 import com.example.mybighomework.database.dao.StudyRecordDao;
 import com.example.mybighomework.database.dao.WrongQuestionDao;
+import com.example.mybighomework.utils.TaskScopeYSJ;
 import com.example.mybighomework.view.StudyChartView;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -53,13 +51,11 @@ public class ReportActivity extends AppCompatActivity {
     
     // Repository实例
     private UserSettingsRepository userSettingsRepository;
-    private ExamRecordRepository examRecordRepository;
-    private VocabularyRecordRepository vocabularyRecordRepository;
-    private StudyRecordRepository studyRecordRepository;
+    private StudyStatisticsRepository statisticsRepository;
     private QuestionDao questionDao;
     private WrongQuestionDao wrongQuestionDao;
     
-    private ExecutorService executorService;
+    private Executor executor;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -75,11 +71,9 @@ public class ReportActivity extends AppCompatActivity {
         
         // 初始化Repository
         AppDatabase database = AppDatabase.getInstance(this);
-        executorService = Executors.newFixedThreadPool(3);
+        executor = TaskScopeYSJ.bind(this).diskIO();
         userSettingsRepository = new UserSettingsRepository(this);
-        examRecordRepository = new ExamRecordRepository(database.examDao());
-        vocabularyRecordRepository = new VocabularyRecordRepository(database.vocabularyDao());
-        studyRecordRepository = new StudyRecordRepository(database.studyRecordDao());
+        statisticsRepository = new StudyStatisticsRepository(database.studyStatsDao());
         questionDao = database.questionDao();
         wrongQuestionDao = database.wrongQuestionDao();
         
@@ -153,15 +147,15 @@ public class ReportActivity extends AppCompatActivity {
     
     
     private void loadReportData() {
-        executorService.execute(() -> {
+        executor.execute(() -> {
             try {
                 // 获取用户设置数据
                 UserSettingsEntity userSettings = userSettingsRepository.getUserSettings();
                 
-                // 获取学习统计数据
+                // 获取学习统计数据（读取统计汇总表）
                 int studyStreak = userSettings != null ? userSettings.getStudyStreak() : 0;
-                int masteredVocabularyCount = vocabularyRecordRepository.getMasteredVocabularyCount();
-                double averageScore = examRecordRepository.getAverageScore();
+                int masteredVocabularyCount = statisticsRepository.getMasteredVocabularyCount();
+                double averageScore = statisticsRepository.getAverageExamScore();
                 
                 // 获取各模块的真实统计数据（使用ModuleStatisticsManager获取答对次数）
                 com.example.mybighomework.utils.ModuleStatisticsManager statsManager = 
@@ -170,7 +164,7 @@ public class ReportActivity extends AppCompatActivity {
                 int totalExamCount = statsManager.getExamPracticeCorrectCount(); // 真题练习答对次数
                 int mockExamCount = statsManager.getMockExamCorrectCount(); // 模拟考试答对次数
                 // 【修复】使用WrongQuestionDao统计错题数量，与主页面错题本数据一致
-                int errorQuestionCount = wrongQuestionDao.getAllWrongQuestions().size();
+                int errorQuestionCount = wrongQuestionDao.getWrongQuestionCount();
                 
                 // 调试日志
                 android.util.Log.d("ReportActivity", "词汇训练答对: " + totalVocabularyCount + 
@@ -188,7 +182,7 @@ public class ReportActivity extends AppCompatActivity {
                 final double finalTotalHours = totalHours;
                 
                 // 获取最近7天的学习时长数据
-                List<StudyRecordDao.DailyStudyTime> dailyStudyTimeList = studyRecordRepository.getDailyStudyTime(7);
+                List<StudyRecordDao.DailyStudyTime> dailyStudyTimeList = statisticsRepository.getDailyStudyTime(7);
                 
                 // 转换为Map格式
                 Map<String, Float> chartData = new HashMap<>();
@@ -241,12 +235,4 @@ public class ReportActivity extends AppCompatActivity {
         // 当从其他Activity返回时，重新加载报告数据
         loadReportData();
     }
-    
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
-        }
-    }
 }
\ No newline at end of file
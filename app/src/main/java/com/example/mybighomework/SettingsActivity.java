@@ -19,6 +19,8 @@ import com.example.mybighomework.database.entity.UserEntity;
 import com.example.mybighomework.database.entity.UserSettingsEntity;
 import com.example.mybighomework.repository.UserRepository;
 import com.example.mybighomework.repository.UserSettingsRepository;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
+import com.example.mybighomework.utils.TaskScopeYSJ;
 
 public class SettingsActivity extends AppCompatActivity {
 
@@ -43,6 +45,9 @@ public class SettingsActivity extends AppCompatActivity {
     private ActivityResultLauncher<Intent> loginLauncher;
     private ActivityResultLauncher<Intent> editProfileLauncher;
 
+    // 页面查询任务，页面销毁时取消尚未开始的查询
+    private final TaskScopeYSJ tasks = TaskScopeYSJ.bind(this);
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -106,7 +111,7 @@ public class SettingsActivity extends AppCompatActivity {
     }
 
     private void loadCurrentSettings() {
-        new Thread(new Runnable() {
+        tasks.diskIO().execute(new Runnable() {
             @Override
             public void run() {
                 currentSettings = userSettingsRepository.getUserSettings();
@@ -132,7 +137,7 @@ public class SettingsActivity extends AppCompatActivity {
                     }
                 });
             }
-        }).start();
+        });
     }
 
     private void setupClickListeners() {
@@ -296,7 +301,7 @@ public class SettingsActivity extends AppCompatActivity {
      * 退出登录
      */
     private void logout() {
-        new Thread(new Runnable() {
+        AppExecutorsYSJ.getInstance().diskIO().execute(new Runnable() {
             @Override
             public void run() {
                 userRepository.logout();
@@ -310,7 +315,7 @@ public class SettingsActivity extends AppCompatActivity {
                     }
                 });
             }
-        }).start();
+        });
     }
 
 }
\ No newline at end of file
@@ -18,6 +18,7 @@ import com.example.mybighomework.database.dao.DailyTaskDao;
 import com.example.mybighomework.database.dao.StudyPhaseDao;
 import com.example.mybighomework.database.entity.StudyPhaseEntity;
 import com.example.mybighomework.repository.StudyPlanRepository;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -27,7 +28,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -55,7 +55,7 @@ public class StudyPlanAdapter extends RecyclerView.Adapter<StudyPlanAdapter.View
         this.context = context;
         this.studyPlanList = studyPlanList;
         this.studyPlanRepository = repository;
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.executorService = AppExecutorsYSJ.getInstance().diskIO();
     }
     
     /**
@@ -483,9 +483,7 @@ public class StudyPlanAdapter extends RecyclerView.Adapter<StudyPlanAdapter.View
      * 释放资源
      */
     public void release() {
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
-        }
+        // 使用应用级共享线程池，不在这里关闭
     }
 
     static class ViewHolder extends RecyclerView.ViewHolder {
@@ -39,8 +39,11 @@ import com.example.mybighomework.database.entity.TranslationHistoryEntity;
 import com.example.mybighomework.dialog.HistoryDetailDialog;
 import com.example.mybighomework.fragment.HistoryBottomSheetFragment;
 import com.example.mybighomework.repository.TranslationHistoryRepository;
+import com.example.mybighomework.translation.TranslationCache;
 import com.example.mybighomework.translation.ZhipuTranslationService;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 import com.example.mybighomework.utils.TaskProgressTracker;
+import com.example.mybighomework.utils.TaskScopeYSJ;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 
 import java.util.List;
@@ -88,6 +91,9 @@ public class TextTranslationActivity extends AppCompatActivity {
     private boolean isListening = false;
     private static final int VOICE_RECOGNITION_REQUEST_CODE = 1001;
 
+    // 页面查询任务，页面销毁时取消尚未开始的查询
+    private final TaskScopeYSJ tasks = TaskScopeYSJ.bind(this);
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -141,7 +147,7 @@ public class TextTranslationActivity extends AppCompatActivity {
 
     private void initTranslationService() {
         ZhipuAIService aiService = new ZhipuAIService(ZHIPU_API_KEY);
-        translationService = new ZhipuTranslationService(aiService);
+        translationService = new ZhipuTranslationService(aiService, TranslationCache.getInstance(this));
     }
 
     private void setupClickListeners() {
@@ -210,16 +216,31 @@ public class TextTranslationActivity extends AppCompatActivity {
 
         showProgress(true);
 
-        translationService.translate(processedText, sourceLanguage, targetLanguage, 
-                new ZhipuTranslationService.TranslationCallback() {
+        // 长文本分块并发翻译，每完成一段就显示出来
+        translationService.translateChunked(processedText, sourceLanguage, targetLanguage,
+                new ZhipuTranslationService.ChunkedTranslationCallback() {
+                    @Override
+                    public void onProgress(String partialText, int completed, int total) {
+                        if (completed == total || partialText.isEmpty()) {
+                            return;
+                        }
+                        runOnUiThread(() -> displayTranslationResult(partialText));
+                    }
+
                     @Override
-                    public void onSuccess(String translatedText) {
+                    public void onComplete(String translatedText, int failedChunks) {
                         runOnUiThread(() -> {
                             showProgress(false);
                             // 格式化翻译结果
                             String formattedTranslation = TranslationTextProcessor.formatTranslationResult(translatedText);
                             displayTranslationResult(formattedTranslation);
-                            saveToHistory(processedText, formattedTranslation);
+                            if (failedChunks == 0) {
+                                saveToHistory(processedText, formattedTranslation);
+                            } else {
+                                // 失败的部分保留了原文，重新翻译时已完成的部分直接命中缓存
+                                Toast.makeText(TextTranslationActivity.this,
+                                        "部分内容翻译失败，已保留原文，可重新翻译", Toast.LENGTH_SHORT).show();
+                            }
                         });
                     }
 
@@ -241,7 +262,7 @@ public class TextTranslationActivity extends AppCompatActivity {
     }
 
     private void saveToHistory(String sourceText, String translatedText) {
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
             try {
                 TranslationHistoryEntity history = new TranslationHistoryEntity(
                         sourceText, translatedText, sourceLanguage, targetLanguage);
@@ -255,11 +276,11 @@ public class TextTranslationActivity extends AppCompatActivity {
             } catch (Exception e) {
                 Log.e(TAG, "保存历史记录失败", e);
             }
-        }).start();
+        });
     }
 
     private void loadHistory() {
-        new Thread(() -> {
+        tasks.diskIO().execute(() -> {
             try {
                 // 主页面只显示最近的几条记录
                 List<TranslationHistoryEntity> historyList = historyRepository.getRecentHistory(MAIN_PAGE_HISTORY_LIMIT);
@@ -275,7 +296,7 @@ public class TextTranslationActivity extends AppCompatActivity {
             } catch (Exception e) {
                 Log.e(TAG, "加载历史记录失败", e);
             }
-        }).start();
+        });
     }
     
     /**
@@ -331,7 +352,7 @@ public class TextTranslationActivity extends AppCompatActivity {
      * @param historyId 历史记录ID
      */
     private void deleteHistoryById(int historyId) {
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
             try {
                 historyRepository.deleteHistory(historyId);
                 runOnUiThread(() -> {
@@ -346,7 +367,7 @@ public class TextTranslationActivity extends AppCompatActivity {
                             "删除失败", Toast.LENGTH_SHORT).show();
                 });
             }
-        }).start();
+        });
     }
 
     private void copyTranslationResult() {
@@ -369,7 +390,7 @@ public class TextTranslationActivity extends AppCompatActivity {
     }
 
     private void clearHistory() {
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
             try {
                 historyRepository.deleteAllHistory();
                 runOnUiThread(() -> {
@@ -380,7 +401,7 @@ public class TextTranslationActivity extends AppCompatActivity {
             } catch (Exception e) {
                 Log.e(TAG, "清空历史记录失败", e);
             }
-        }).start();
+        });
     }
 
     private void requestVoiceInput() {
@@ -1,7 +1,6 @@
 package com.example.mybighomework;
 
 import android.content.Intent;
-import android.media.MediaPlayer;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.Button;
@@ -13,28 +12,30 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.content.ContextCompat;
 import java.io.IOException;
-import java.net.URLEncoder;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import com.example.mybighomework.database.AppDatabase;
-import com.example.mybighomework.database.entity.VocabularyRecordEntity;
 import com.example.mybighomework.database.entity.StudyRecordEntity;
 import com.example.mybighomework.database.entity.WrongQuestionEntity;
 import com.example.mybighomework.database.entity.DictionaryWordEntity;
-import com.example.mybighomework.repository.VocabularyRecordRepository;
 import com.example.mybighomework.repository.StudyRecordRepository;
-import com.example.mybighomework.repository.WrongQuestionRepository;
 import com.example.mybighomework.repository.UserSettingsRepository;
 import com.example.mybighomework.database.repository.BookRepository;
+import com.example.mybighomework.database.repository.DictionaryWordRepository;
+import com.example.mybighomework.service.StudyWriteJournal;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
+import com.example.mybighomework.utils.DistractorIndexYSJ;
 import com.example.mybighomework.utils.ModuleStatisticsManager;
 import com.example.mybighomework.utils.TaskCompletionManager;
 import com.example.mybighomework.utils.TaskCompletionHelper;
 import com.example.mybighomework.utils.TaskProgressTracker;
+import com.example.mybighomework.utils.ReviewEngineYSJ;
 import com.example.mybighomework.utils.WordSelectorYSJ;
+import com.example.mybighomework.utils.AudioPlayerYSJ;
+import com.example.mybighomework.utils.PronunciationServiceYSJ;
 import com.example.mybighomework.utils.QuestionGeneratorYSJ;
 import java.util.Date;
 
@@ -73,11 +74,11 @@ public class VocabularyActivity extends AppCompatActivity {
     private boolean isAnswered = false;
     
     // 数据库相关
-    private VocabularyRecordRepository vocabularyRecordRepository;
+    private StudyWriteJournal studyJournal;
     private StudyRecordRepository studyRecordRepository;
-    private WrongQuestionRepository wrongQuestionRepository;
     private UserSettingsRepository userSettingsRepository;
     private BookRepository bookRepository;
+    private DictionaryWordRepository wordRepository;
     private ExecutorService executorService;
     
     // 工具类
@@ -91,8 +92,9 @@ public class VocabularyActivity extends AppCompatActivity {
     private long trainingStartTime;
     
     // 音频播放相关
-    private MediaPlayer mediaPlayer;
-    private boolean isPlaying = false;
+    private PronunciationServiceYSJ pronunciationService;
+    // 预取发音的单词数（当前题之后）
+    private static final int PRONUNCIATION_PREFETCH_AHEAD = 3;
 
     // 词汇数据类
     private static class VocabularyItem {
@@ -137,15 +139,30 @@ public class VocabularyActivity extends AppCompatActivity {
     
     private void initDatabase() {
         AppDatabase database = AppDatabase.getInstance(this);
-        vocabularyRecordRepository = new VocabularyRecordRepository(database.vocabularyDao());
+        studyJournal = StudyWriteJournal.getInstance(this);
         studyRecordRepository = new StudyRecordRepository(database.studyRecordDao());
-        wrongQuestionRepository = new WrongQuestionRepository(database.wrongQuestionDao());
         userSettingsRepository = new UserSettingsRepository(this);
         bookRepository = new BookRepository(database);
-        executorService = Executors.newSingleThreadExecutor();
+        wordRepository = new DictionaryWordRepository(database);
+        executorService = AppExecutorsYSJ.getInstance().diskIO();
         
-        wordSelector = new WordSelectorYSJ(database.wordLearningProgressDao(), database.bookWordRelationDao());
+        wordSelector = new WordSelectorYSJ(database.wordLearningProgressDao(), database.bookWordRelationDao(),
+                ReviewEngineYSJ.getInstance(database));
         questionGenerator = new QuestionGeneratorYSJ();
+        // 干扰项优先选择难度和词频相近的单词
+        questionGenerator.setDistractorMode(DistractorIndexYSJ.Mode.CONFUSABLE);
+        pronunciationService = PronunciationServiceYSJ.getInstance(this);
+    }
+    
+    @Override
+    protected void onPause() {
+        super.onPause();
+        // 离开页面时写入累积的答题记录
+        studyJournal.flush();
+        // 在下一个页面开始播放之前停止本页的发音；播放器由各页面共用，不在这里释放
+        if (pronunciationService != null) {
+            pronunciationService.stop();
+        }
     }
     
     @Override
@@ -154,13 +171,6 @@ public class VocabularyActivity extends AppCompatActivity {
         
         // 注意：任务完成现在由TaskProgressTracker在每次答题时自动追踪
         // 不再需要在onDestroy中手动标记任务完成
-        
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
-        }
-        
-        // 释放MediaPlayer资源
-        releaseMediaPlayer();
     }
     
     /**
@@ -272,7 +282,6 @@ public class VocabularyActivity extends AppCompatActivity {
     private void loadWordsFromBook() {
         executorService.execute(() -> {
             try {
-                AppDatabase db = AppDatabase.getInstance(this);
                 List<String> wordIds = wordSelector.selectWords(bookId, "default", mode, 20);
                 
                 if (wordIds.isEmpty()) {
@@ -283,19 +292,16 @@ public class VocabularyActivity extends AppCompatActivity {
                     return;
                 }
                 
-                List<DictionaryWordEntity> words = new ArrayList<>();
+                // 目标单词一次 IN 查询加载；干扰项来自按词书缓存的索引，每本词书只构建一次
+                List<DictionaryWordEntity> words = wordRepository.getWordsByIdsSync(wordIds);
                 wordIdMap.clear();
-                for (String wordId : wordIds) {
-                    DictionaryWordEntity word = db.dictionaryWordDao().getWordByIdSync(wordId);
-                    if (word != null) {
-                        words.add(word);
-                        wordIdMap.put(word.getWord(), wordId);
-                    }
+                for (DictionaryWordEntity word : words) {
+                    wordIdMap.put(word.getWord(), word.getId());
                 }
+                DistractorIndexYSJ distractorIndex = bookRepository.getDistractorIndexSync(bookId);
                 
-                List<DictionaryWordEntity> allWords = bookRepository.getWordsForBookSync(bookId);
                 List<QuestionGeneratorYSJ.VocabularyQuestion> questions = 
-                    questionGenerator.generateQuestions(words, allWords);
+                    questionGenerator.generateQuestions(words, distractorIndex);
                 
                 vocabularyList = new ArrayList<>();
                 for (QuestionGeneratorYSJ.VocabularyQuestion q : questions) {
@@ -382,88 +388,45 @@ public class VocabularyActivity extends AppCompatActivity {
     }
 
     /**
-     * 播放单词发音 - 使用Google免费TTS
+     * 播放单词发音
+     * 发音已预取到本地时直接播放；正在播放时点击会重新播放
      */
     private void playWordPronunciation() {
-        if (isPlaying) {
-            Toast.makeText(this, "正在播放中，请稍候", Toast.LENGTH_SHORT).show();
-            return;
-        }
-        
         String word = tvWord.getText().toString().trim();
         if (word.isEmpty()) {
             Toast.makeText(this, "没有可播放的单词", Toast.LENGTH_SHORT).show();
             return;
         }
         
-        try {
-            // 释放之前的MediaPlayer
-            releaseMediaPlayer();
-            
-            // 创建新的MediaPlayer
-            mediaPlayer = new MediaPlayer();
-            
-            // 有道词典发音API（国内可用，免费）
-            String encodedWord = URLEncoder.encode(word, "UTF-8");
-            // type: 0=英式发音, 1=美式发音, 2=英式发音
-            String url = "https://dict.youdao.com/dictvoice?audio=" + encodedWord + "&type=1";
-            
-            mediaPlayer.setDataSource(url);
-            
-            // 设置准备监听
-            mediaPlayer.setOnPreparedListener(mp -> {
-                isPlaying = true;
-                btnPlay.setEnabled(false);
+        pronunciationService.play(word, PronunciationServiceYSJ.ACCENT_US, new AudioPlayerYSJ.AudioCallback() {
+            @Override
+            public void onStart() {
                 btnPlay.setAlpha(0.5f);
-                mp.start();
-            });
+            }
             
-            // 设置播放完成监听
-            mediaPlayer.setOnCompletionListener(mp -> {
-                isPlaying = false;
-                btnPlay.setEnabled(true);
+            @Override
+            public void onComplete() {
                 btnPlay.setAlpha(1.0f);
-                releaseMediaPlayer();
-            });
+            }
             
-            // 设置错误监听
-            mediaPlayer.setOnErrorListener((mp, what, extra) -> {
-                isPlaying = false;
-                btnPlay.setEnabled(true);
+            @Override
+            public void onError(String message) {
                 btnPlay.setAlpha(1.0f);
-                Toast.makeText(VocabularyActivity.this, "播放失败，请检查网络", Toast.LENGTH_SHORT).show();
-                releaseMediaPlayer();
-                return true;
-            });
-            
-            // 异步准备
-            mediaPlayer.prepareAsync();
-            
-        } catch (Exception e) {
-            isPlaying = false;
-            btnPlay.setEnabled(true);
-            btnPlay.setAlpha(1.0f);
-            Toast.makeText(this, "播放出错: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-            e.printStackTrace();
-        }
+                Toast.makeText(VocabularyActivity.this, message, Toast.LENGTH_SHORT).show();
+            }
+        });
     }
     
     /**
-     * 释放MediaPlayer资源
+     * 预取当前题及之后几题的发音
      */
-    private void releaseMediaPlayer() {
-        if (mediaPlayer != null) {
-            try {
-                if (mediaPlayer.isPlaying()) {
-                    mediaPlayer.stop();
-                }
-                mediaPlayer.release();
-            } catch (Exception e) {
-                e.printStackTrace();
-            } finally {
-                mediaPlayer = null;
-            }
+    private void prefetchUpcomingPronunciations() {
+        List<String> upcoming = new ArrayList<>();
+        int end = Math.min(vocabularyList.size(), currentQuestionIndex + 1 + PRONUNCIATION_PREFETCH_AHEAD);
+        for (int i = currentQuestionIndex; i < end; i++) {
+            upcoming.add(vocabularyList.get(i).word);
         }
+        pronunciationService.prefetch(upcoming, PronunciationServiceYSJ.ACCENT_US);
     }
     
     private void showCurrentQuestion() {
@@ -498,6 +461,8 @@ public class VocabularyActivity extends AppCompatActivity {
         layoutResult.setVisibility(View.GONE);
         
         isAnswered = false;
+        
+        prefetchUpcomingPronunciations();
     }
 
     private void selectOption(int selectedOption) {
@@ -558,7 +523,8 @@ public class VocabularyActivity extends AppCompatActivity {
         wrongQuestion.setCategory("词汇训练");
         wrongQuestion.setSource("VocabularyActivity");
         wrongQuestion.setWrongTime(new Date());
-        wrongQuestionRepository.addWrongQuestion(wrongQuestion);
+        // 与答题记录一起批量写入错题本
+        studyJournal.recordWrongQuestion(wrongQuestion);
     }
 
     private void highlightAnswers(int selectedOption, int correctOption) {
@@ -626,51 +592,13 @@ public class VocabularyActivity extends AppCompatActivity {
     }
     
     private void saveVocabularyRecord(VocabularyItem item, boolean isCorrect) {
-        executorService.execute(() -> {
-            try {
-                // 查找是否已存在该词汇记录
-                VocabularyRecordEntity existingRecord = vocabularyRecordRepository.getVocabularyByWord(item.word);
-                
-                if (existingRecord != null) {
-                    // 更新现有记录
-                    if (isCorrect) {
-                        existingRecord.setCorrectCount(existingRecord.getCorrectCount() + 1);
-                    } else {
-                        existingRecord.setWrongCount(existingRecord.getWrongCount() + 1);
-                    }
-                    existingRecord.setLastStudyTime(System.currentTimeMillis());
-                    
-                    // 判断是否掌握（正确率超过80%）
-                    int totalAttempts = existingRecord.getCorrectCount() + existingRecord.getWrongCount();
-                    if (totalAttempts >= 3) {
-                        double accuracy = (double) existingRecord.getCorrectCount() / totalAttempts;
-                        existingRecord.setMastered(accuracy >= 0.8);
-                    }
-                    
-                    vocabularyRecordRepository.updateVocabularyRecord(existingRecord);
-                    android.util.Log.d("VocabularyActivity", "更新词汇记录: " + item.word + ", 正确:" + existingRecord.getCorrectCount() + ", 错误:" + existingRecord.getWrongCount());
-                } else {
-                    // 创建新记录
-                    VocabularyRecordEntity newRecord = new VocabularyRecordEntity();
-                    newRecord.setWord(item.word);
-                    newRecord.setPronunciation(item.phonetic);
-                    newRecord.setMeaning(item.meaning);
-                    newRecord.setCorrectCount(isCorrect ? 1 : 0);
-                    newRecord.setWrongCount(isCorrect ? 0 : 1);
-                    newRecord.setMastered(false);
-                    newRecord.setCreatedTime(System.currentTimeMillis());
-                    newRecord.setLastStudyTime(System.currentTimeMillis());
-                    
-                    vocabularyRecordRepository.addVocabularyRecord(newRecord);
-                    android.util.Log.d("VocabularyActivity", "新增词汇记录: " + item.word);
-                }
-            } catch (Exception e) {
-                android.util.Log.e("VocabularyActivity", "保存词汇记录失败: " + item.word, e);
-            }
-        });
+        // 只在内存中累积，按批写入数据库
+        studyJournal.recordVocabularyAnswer(item.word, item.phonetic, item.meaning, isCorrect);
     }
     
     private void saveTrainingRecord() {
+        // 先写入本轮累积的答题记录
+        studyJournal.flush();
         executorService.execute(() -> {
             try {
                 long trainingEndTime = System.currentTimeMillis();
@@ -709,6 +637,8 @@ public class VocabularyActivity extends AppCompatActivity {
      * 保存训练记录并在完成后关闭页面
      */
     private void saveTrainingRecordAndFinish() {
+        // 先写入本轮累积的答题记录
+        studyJournal.flush();
         executorService.execute(() -> {
             try {
                 long trainingEndTime = System.currentTimeMillis();
@@ -65,8 +65,8 @@ public class WordDetailActivityYSJ extends AppCompatActivity implements TextToSp
         observeData();
         
         // 加载单词详情
-        if (currentWord != null && !currentWord.isEmpty()) {
-            viewModel.getWordDetail(currentWord);
+        if ((wordId != null && !wordId.isEmpty()) || (currentWord != null && !currentWord.isEmpty())) {
+            viewModel.getWordDetail(wordId, currentWord);
         }
     }
 
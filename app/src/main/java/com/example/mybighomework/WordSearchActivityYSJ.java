@@ -126,11 +126,8 @@ public class WordSearchActivityYSJ extends AppCompatActivity implements TextToSp
 
             @Override
             public void afterTextChanged(Editable s) {
-                // 实时搜索（防抖）
-                etSearch.removeCallbacks(searchRunnable);
-                if (s.length() > 0) {
-                    etSearch.postDelayed(searchRunnable, 300);
-                }
+                // 实时搜索（ViewModel 中防抖，清空时作废进行中的搜索）
+                viewModel.searchWords(s.toString());
             }
         });
         
@@ -171,12 +168,10 @@ public class WordSearchActivityYSJ extends AppCompatActivity implements TextToSp
         }
     }
 
-    private final Runnable searchRunnable = () -> performSearch();
-
     private void performSearch() {
         String keyword = etSearch.getText().toString().trim();
         if (!keyword.isEmpty()) {
-            viewModel.searchWords(keyword);
+            viewModel.searchNow(keyword);
         }
     }
 
@@ -26,6 +26,7 @@ import java.util.Locale;
 import com.example.mybighomework.database.AppDatabase;
 import com.example.mybighomework.database.entity.WrongQuestionEntity;
 import com.example.mybighomework.repository.WrongQuestionRepository;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 
 public class WrongQuestionActivity extends AppCompatActivity {
 
@@ -395,7 +396,7 @@ public class WrongQuestionActivity extends AppCompatActivity {
      * 导出错题到文本文件
      */
     private void exportToTextFile() {
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
             try {
                 // 创建导出目录
                 File exportDir = new File(getExternalFilesDir(null), "WrongQuestions");
@@ -461,7 +462,7 @@ public class WrongQuestionActivity extends AppCompatActivity {
                     Toast.makeText(this, "导出失败: " + e.getMessage(), Toast.LENGTH_SHORT).show();
                 });
             }
-        }).start();
+        });
     }
     
     /**
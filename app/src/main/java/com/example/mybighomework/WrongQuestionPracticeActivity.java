@@ -20,21 +20,23 @@ import com.example.mybighomework.database.entity.WrongQuestionEntity;
 import com.example.mybighomework.repository.WrongQuestionRepository;
 import com.example.mybighomework.database.AppDatabase;
 import com.example.mybighomework.utils.TaskProgressTracker;
+import com.example.mybighomework.utils.WrongQuestionQueueYSJ;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 /**
  * 错题练习Activity
  * 功能：
- * - 支持顺序练习、随机练习
+ * - 支持顺序练习、随机练习（随机练习按错误次数、最近程度和分类薄弱程度加权抽题）
  * - 实时反馈答题结果
  * - 统计练习数据
  * - 自动更新错题掌握状态
  */
 public class WrongQuestionPracticeActivity extends AppCompatActivity {
 
+    private static final int PRACTICE_SET_SIZE = 20; // 随机练习每组题数
+
     // UI组件
     private ImageView btnBack;
     private TextView tvProgress, tvScore, tvPracticeMode, tvTimer;
@@ -48,6 +50,8 @@ public class WrongQuestionPracticeActivity extends AppCompatActivity {
 
     // 数据相关
     private List<WrongQuestionEntity> practiceQuestions;
+    private WrongQuestionQueueYSJ practiceQueue; // 随机练习时逐题抽取，顺序练习时为空
+    private int practiceTotal;
     private int currentQuestionIndex = 0;
     private int correctCount = 0;
     private int wrongCount = 0;
@@ -190,17 +194,21 @@ public class WrongQuestionPracticeActivity extends AppCompatActivity {
             practiceQuestions = unmasteredQuestions;
         }
         
-        // 随机模式下打乱题目顺序
-        if ("random".equals(practiceMode)) {
-            Collections.shuffle(practiceQuestions);
-        }
-        
         if (practiceQuestions.isEmpty()) {
             Toast.makeText(this, "暂无错题可练习", Toast.LENGTH_SHORT).show();
             finish();
             return;
         }
         
+        // 随机模式下按权重逐题抽取，作答结果会影响后面抽到的题
+        if ("random".equals(practiceMode)) {
+            practiceQueue = new WrongQuestionQueueYSJ(practiceQuestions);
+            practiceTotal = Math.min(PRACTICE_SET_SIZE, practiceQuestions.size());
+            practiceQuestions = new ArrayList<>(practiceTotal);
+        } else {
+            practiceTotal = practiceQuestions.size();
+        }
+        
         // 开始计时
         startTime = System.currentTimeMillis();
         startTimer();
@@ -227,16 +235,25 @@ public class WrongQuestionPracticeActivity extends AppCompatActivity {
     }
 
     private void showCurrentQuestion() {
-        if (currentQuestionIndex >= practiceQuestions.size()) {
+        if (currentQuestionIndex >= practiceTotal) {
             showPracticeResult();
             return;
         }
+        if (currentQuestionIndex == practiceQuestions.size()) {
+            WrongQuestionEntity next = practiceQueue.next();
+            if (next == null) {
+                practiceTotal = currentQuestionIndex;
+                showPracticeResult();
+                return;
+            }
+            practiceQuestions.add(next);
+        }
 
         WrongQuestionEntity currentQuestion = practiceQuestions.get(currentQuestionIndex);
         
         // 更新进度
-        tvProgress.setText((currentQuestionIndex + 1) + "/" + practiceQuestions.size());
-        progressBar.setProgress((currentQuestionIndex + 1) * 100 / practiceQuestions.size());
+        tvProgress.setText((currentQuestionIndex + 1) + "/" + practiceTotal);
+        progressBar.setProgress((currentQuestionIndex + 1) * 100 / practiceTotal);
         tvScore.setText("正确: " + correctCount + " | 错误: " + wrongCount);
 
         // 显示题目
@@ -298,6 +315,9 @@ public class WrongQuestionPracticeActivity extends AppCompatActivity {
             currentQuestion.setWrongCount(currentQuestion.getWrongCount() + 1);
             wrongQuestionRepository.updateWrongQuestion(currentQuestion);
         }
+        if (practiceQueue != null) {
+            practiceQueue.onAnswered(currentQuestion, selectedOption == correctAnswer);
+        }
         
         // 更新分数显示
         tvScore.setText("正确: " + correctCount + " | 错误: " + wrongCount);
@@ -397,7 +417,7 @@ public class WrongQuestionPracticeActivity extends AppCompatActivity {
         
         // 跳转到结果页面
         Intent intent = new Intent(this, PracticeResultActivity.class);
-        intent.putExtra("total_questions", practiceQuestions.size());
+        intent.putExtra("total_questions", practiceTotal);
         intent.putExtra("correct_count", correctCount);
         intent.putExtra("wrong_count", wrongCount);
         intent.putExtra("elapsed_time", elapsedTime);
@@ -7,21 +7,24 @@ import android.os.Looper;
 import android.util.Base64;
 import android.util.Log;
 
+import com.example.mybighomework.network.HttpClientProvider;
+import com.example.mybighomework.translation.TranslationCache;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
+
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.net.URLEncoder;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
+
+import okhttp3.FormBody;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
 
 /**
  * 有道图片翻译API调用类
@@ -30,9 +33,14 @@ import java.util.concurrent.Executors;
 public class YoudaoApiTranslator {
     
     private static final String TAG = "YoudaoApiTranslator";
-    private static final ExecutorService executor = Executors.newSingleThreadExecutor();
+    // 用户正在等待拍照翻译结果
+    private static final Executor executor =
+            AppExecutorsYSJ.getInstance().networkIO(AppExecutorsYSJ.Priority.IMMEDIATE);
     private static final Handler mainHandler = new Handler(Looper.getMainLooper());
     
+    // 图片翻译接口路径
+    private static final String OCR_TRANS_PATH = "ocrtransapi";
+    
     /**
      * OCR识别区域
      */
@@ -79,6 +87,16 @@ public class YoudaoApiTranslator {
      * @param callback 回调接口
      */
     public static void translateImage(Bitmap bitmap, String from, String to, TranslateCallback callback) {
+        translateImage(bitmap, from, to, null, callback);
+    }
+    
+    /**
+     * 图片翻译（带结果缓存）
+     * 以压缩后的图片内容和语言方向为键，同一张图片再次翻译时直接返回缓存的识别结果和渲染图
+     * @param cache 翻译结果缓存，为 null 时不缓存
+     */
+    public static void translateImage(Bitmap bitmap, String from, String to,
+                                      TranslationCache cache, TranslateCallback callback) {
         if (!YoudaoTranslateConfig.isConfigValid()) {
             callback.onError("-1", "有道API配置无效");
             return;
@@ -93,6 +111,19 @@ public class YoudaoApiTranslator {
                     return;
                 }
                 
+                // 缓存命中时不再请求接口
+                TranslateCallback resultCallback = callback;
+                if (cache != null) {
+                    String cacheKey = TranslationCache.imageKey(base64Image, from, to);
+                    TranslationCache.Entry cached = cache.get(cacheKey);
+                    if (cached != null) {
+                        Log.d(TAG, "图片翻译命中缓存");
+                        postSuccess(callback, cached.originalText, cached.translatedText, cached.renderedImage);
+                        return;
+                    }
+                    resultCallback = cachingCallback(cache, cacheKey, callback);
+                }
+                
                 // 2. 生成签名参数
                 String salt = UUID.randomUUID().toString().replace("-", "").toUpperCase();
                 String curtime = String.valueOf(System.currentTimeMillis() / 1000);
@@ -104,13 +135,13 @@ public class YoudaoApiTranslator {
                 String sign = generateSign(input, salt, curtime);
                 
                 // 5. 构建请求参数
-                String params = buildParams(base64Image, from, to, salt, curtime, sign);
+                FormBody params = buildParams(base64Image, from, to, salt, curtime, sign);
                 
                 // 6. 发送HTTP请求
                 String response = sendHttpRequest(params);
                 
                 // 7. 解析响应
-                parseResponse(response, callback);
+                parseResponse(response, resultCallback);
                 
             } catch (Exception e) {
                 Log.e(TAG, "翻译失败", e);
@@ -119,6 +150,25 @@ public class YoudaoApiTranslator {
         });
     }
     
+    /**
+     * 翻译成功时先写入缓存再转交原回调
+     */
+    private static TranslateCallback cachingCallback(TranslationCache cache, String cacheKey,
+                                                     TranslateCallback callback) {
+        return new TranslateCallback() {
+            @Override
+            public void onSuccess(String originalText, String translatedText, String renderedImage) {
+                cache.put(cacheKey, new TranslationCache.Entry(originalText, translatedText, renderedImage));
+                callback.onSuccess(originalText, translatedText, renderedImage);
+            }
+            
+            @Override
+            public void onError(String errorCode, String errorMessage) {
+                callback.onError(errorCode, errorMessage);
+            }
+        };
+    }
+    
     /**
      * 将Bitmap转换为Base64
      */
@@ -198,70 +248,40 @@ public class YoudaoApiTranslator {
     /**
      * 构建请求参数
      */
-    private static String buildParams(String q, String from, String to, 
-                                     String salt, String curtime, String sign) {
-        try {
-            StringBuilder params = new StringBuilder();
-            params.append("type=").append(URLEncoder.encode(YoudaoTranslateConfig.IMG_TYPE, "UTF-8"));
-            params.append("&q=").append(URLEncoder.encode(q, "UTF-8"));
-            params.append("&from=").append(URLEncoder.encode(from, "UTF-8"));
-            params.append("&to=").append(URLEncoder.encode(to, "UTF-8"));
-            params.append("&appKey=").append(URLEncoder.encode(YoudaoTranslateConfig.APP_KEY, "UTF-8"));
-            params.append("&salt=").append(URLEncoder.encode(salt, "UTF-8"));
-            params.append("&sign=").append(URLEncoder.encode(sign, "UTF-8"));
-            params.append("&signType=").append(URLEncoder.encode(YoudaoTranslateConfig.SIGN_TYPE, "UTF-8"));
-            params.append("&curtime=").append(URLEncoder.encode(curtime, "UTF-8"));
-            params.append("&docType=").append(URLEncoder.encode(YoudaoTranslateConfig.DOC_TYPE, "UTF-8"));
-            params.append("&render=").append(URLEncoder.encode(YoudaoTranslateConfig.SERVER_RENDER, "UTF-8"));
-            params.append("&translateOptions=").append(URLEncoder.encode(YoudaoTranslateConfig.TRANSLATE_MODE, "UTF-8"));
-            
-            return params.toString();
-        } catch (Exception e) {
-            Log.e(TAG, "构建参数失败", e);
-            return "";
-        }
+    private static FormBody buildParams(String q, String from, String to, 
+                                        String salt, String curtime, String sign) {
+        return new FormBody.Builder(StandardCharsets.UTF_8)
+                .add("type", YoudaoTranslateConfig.IMG_TYPE)
+                .add("q", q)
+                .add("from", from)
+                .add("to", to)
+                .add("appKey", YoudaoTranslateConfig.APP_KEY)
+                .add("salt", salt)
+                .add("sign", sign)
+                .add("signType", YoudaoTranslateConfig.SIGN_TYPE)
+                .add("curtime", curtime)
+                .add("docType", YoudaoTranslateConfig.DOC_TYPE)
+                .add("render", YoudaoTranslateConfig.SERVER_RENDER)
+                .add("translateOptions", YoudaoTranslateConfig.TRANSLATE_MODE)
+                .build();
     }
     
     /**
      * 发送HTTP POST请求
+     * 请求体是图片的Base64，响应可能带渲染后的图片，不记录请求体和响应体
      */
-    private static String sendHttpRequest(String params) throws Exception {
-        URL url = new URL(YoudaoTranslateConfig.API_URL);
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        
-        connection.setRequestMethod("POST");
-        connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
-        connection.setConnectTimeout(YoudaoTranslateConfig.DEFAULT_TIMEOUT);
-        connection.setReadTimeout(YoudaoTranslateConfig.DEFAULT_TIMEOUT);
-        connection.setDoOutput(true);
-        connection.setDoInput(true);
+    private static String sendHttpRequest(FormBody params) throws IOException {
+        Request.Builder builder = new Request.Builder()
+                .url(HttpClientProvider.resolve(HttpClientProvider.Endpoint.YOUDAO, OCR_TRANS_PATH))
+                .post(params);
+        Request request = HttpClientProvider.skipBodyLogging(builder).build();
         
-        // 发送请求
-        try (OutputStream os = connection.getOutputStream()) {
-            byte[] input = params.getBytes(StandardCharsets.UTF_8);
-            os.write(input, 0, input.length);
+        try (Response response = HttpClientProvider.getClient(HttpClientProvider.Endpoint.YOUDAO)
+                .newCall(request).execute()) {
+            Log.d(TAG, "Response Code: " + response.code());
+            ResponseBody body = response.body();
+            return body != null ? body.string() : "";
         }
-        
-        // 读取响应
-        int responseCode = connection.getResponseCode();
-        Log.d(TAG, "Response Code: " + responseCode);
-        
-        BufferedReader reader;
-        if (responseCode == HttpURLConnection.HTTP_OK) {
-            reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
-        } else {
-            reader = new BufferedReader(new InputStreamReader(connection.getErrorStream(), StandardCharsets.UTF_8));
-        }
-        
-        StringBuilder response = new StringBuilder();
-        String line;
-        while ((line = reader.readLine()) != null) {
-            response.append(line);
-        }
-        reader.close();
-        connection.disconnect();
-        
-        return response.toString();
     }
     
     /**
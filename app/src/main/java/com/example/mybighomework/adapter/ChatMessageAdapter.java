@@ -1,6 +1,7 @@
 package com.example.mybighomework.adapter;
 
 import android.content.Context;
+import android.text.Editable;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -23,6 +24,11 @@ import java.util.Locale;
  */
 public class ChatMessageAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
     
+    // 局部刷新：重新设置消息内容
+    public static final String PAYLOAD_CONTENT = "payload";
+    // 局部刷新：流式输出中只追加新增的内容
+    public static final String PAYLOAD_APPEND = "append";
+    
     private Context context;
     private List<ChatMessage> messageList;
     private SimpleDateFormat timeFormat;
@@ -72,7 +78,11 @@ public class ChatMessageAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
     @Override
     public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position, 
                                 @NonNull List<Object> payloads) {
-        if (!payloads.isEmpty() && payloads.contains("payload")) {
+        if (!payloads.isEmpty() && payloads.contains(PAYLOAD_APPEND)
+                && holder instanceof ReceivedMessageViewHolder) {
+            // 多次追加可能合并成一次刷新，按已显示的长度补齐即可
+            ((ReceivedMessageViewHolder) holder).appendContent(messageList.get(position));
+        } else if (!payloads.isEmpty() && payloads.contains(PAYLOAD_CONTENT)) {
             // 仅更新消息内容，不重新绑定整个ViewHolder
             ChatMessage message = messageList.get(position);
             if (holder instanceof ReceivedMessageViewHolder) {
@@ -119,6 +129,7 @@ public class ChatMessageAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
     class ReceivedMessageViewHolder extends RecyclerView.ViewHolder {
         TextView tvMessage, tvTime;
         Button btnGeneratePlan;
+        ChatMessage boundMessage;   // 当前显示的消息，追加前用于确认没有被复用到别的位置
         
         public ReceivedMessageViewHolder(@NonNull View itemView) {
             super(itemView);
@@ -128,6 +139,7 @@ public class ChatMessageAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
         }
         
         public void bind(ChatMessage message) {
+            boundMessage = message;
             tvMessage.setText(message.getContent());
             tvTime.setText(timeFormat.format(new Date(message.getTimestamp())));
             
@@ -147,6 +159,25 @@ public class ChatMessageAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
         public void updateContent(String content) {
             tvMessage.setText(content);
         }
+        
+        /**
+         * 只把新增的内容追加到已显示的文本后面
+         * 每次刷新的开销与新增长度成正比，不随回答变长而增加
+         */
+        public void appendContent(ChatMessage message) {
+            CharSequence shown = tvMessage.getText();
+            int shownLength = shown.length();
+            if (boundMessage == message && shown instanceof Editable
+                    && shownLength <= message.getContentLength()) {
+                if (shownLength < message.getContentLength()) {
+                    ((Editable) shown).append(message.getContentFrom(shownLength));
+                }
+                return;
+            }
+            // 首次追加时换成可编辑文本，之后原地追加
+            boundMessage = message;
+            tvMessage.setText(message.getContentFrom(0), TextView.BufferType.EDITABLE);
+        }
     }
     
     /**
@@ -2,22 +2,20 @@ package com.example.mybighomework.api;
 
 import android.util.Log;
 
+import com.example.mybighomework.network.SseChatStreamReader;
+import com.example.mybighomework.network.ZhipuChatClient;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
+import com.example.mybighomework.utils.TaskScopeYSJ;
+
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-
 import java.util.List;
 
+import okhttp3.Response;
+
 /**
  * 智谱AI API 服务类
  * 用于AI对话、批改翻译和写作
@@ -27,9 +25,6 @@ public class ZhipuAIService {
     
     private static final String TAG = "ZhipuAIService";
     
-    // 智谱AI API 端点
-    private static final String API_ENDPOINT = "https://open.bigmodel.cn/api/paas/v4/chat/completions";
-    
     // 默认模型（使用免费的glm-4-flash）
     private static final String DEFAULT_MODEL = "glm-4-flash";
     
@@ -37,19 +32,26 @@ public class ZhipuAIService {
     private static final int DEFAULT_MAX_RETRIES = 2;
     private static final long RETRY_DELAY_MS = 2000; // 2秒
     
-    // API Key
-    private String apiKey;
+    // 基于共享连接池的接口客户端
+    private final ZhipuChatClient chatClient;
     
-    // 线程池
-    private final ExecutorService executorService;
+    // 本实例提交的网络任务，shutdown() 时取消尚未开始的请求
+    private final TaskScopeYSJ tasks = new TaskScopeYSJ();
     
     /**
      * 构造函数
      * @param apiKey 智谱AI API Key
      */
     public ZhipuAIService(String apiKey) {
-        this.apiKey = apiKey;
-        this.executorService = Executors.newCachedThreadPool();
+        this(new ZhipuChatClient(apiKey));
+    }
+    
+    /**
+     * 构造函数
+     * @param chatClient 接口客户端（测试时可指向本地服务器）
+     */
+    public ZhipuAIService(ZhipuChatClient chatClient) {
+        this.chatClient = chatClient;
     }
     
     /**
@@ -62,20 +64,7 @@ public class ZhipuAIService {
      */
     public void gradeTranslationWithReference(String userTranslation, String referenceTranslation, 
             String originalText, float maxScore, GradeCallback callback) {
-        String prompt = "你是一位专业的考研英语阅卷老师，请批改以下翻译答案。\n\n" +
-                "【英文原文】\n" + originalText + "\n\n" +
-                "【参考译文】\n" + referenceTranslation + "\n\n" +
-                "【学生译文】\n" + userTranslation + "\n\n" +
-                "请从以下几个维度评分（满分" + (int)maxScore + "分）：\n" +
-                "1. 准确性（" + String.format("%.1f", maxScore/3) + "分）：译文是否准确表达原文意思，关键词是否翻译正确\n" +
-                "2. 流畅性（" + String.format("%.1f", maxScore/3) + "分）：译文是否通顺自然，符合中文表达习惯\n" +
-                "3. 用词（" + String.format("%.1f", maxScore/3) + "分）：用词是否恰当、地道\n\n" +
-                "请严格按照以下JSON格式输出：\n" +
-                "{\n" +
-                "  \"score\": 分数（0-" + (int)maxScore + "之间的数字，可以有小数），\n" +
-                "  \"comment\": \"评语（80字以内，指出优点和需要改进的地方）\"\n" +
-                "}\n\n" +
-                "注意：只输出JSON，不要包含其他文字。";
+        String prompt = buildTranslationPrompt(userTranslation, referenceTranslation, originalText, maxScore);
         
         chatWithRetry(prompt, maxScore, callback);
     }
@@ -94,7 +83,90 @@ public class ZhipuAIService {
      * @param callback 回调接口
      */
     public void gradeWritingPartA(String essay, String topic, GradeCallback callback) {
-        String prompt = "你是一位专业的考研英语阅卷老师，请批改以下应用文写作（Part A）。\n\n" +
+        String prompt = buildWritingPartAPrompt(essay, topic);
+        
+        chatWithRetry(prompt, 10f, callback);
+    }
+    
+    /**
+     * 批改写作 Part B（图表作文/议论文，满分15分）
+     * @param essay 用户的作文
+     * @param topic 作文题目
+     * @param callback 回调接口
+     */
+    public void gradeWritingPartB(String essay, String topic, GradeCallback callback) {
+        String prompt = buildWritingPartBPrompt(essay, topic);
+        
+        chatWithRetry(prompt, 15f, callback);
+    }
+    
+    /**
+     * 批改写作（旧方法，保持兼容）
+     */
+    public void gradeWriting(String essay, String topic, GradeCallback callback) {
+        gradeWritingPartB(essay, topic, callback);
+    }
+    
+    // ==================== 同步批改（由调用方控制线程、超时和重试） ====================
+    
+    /**
+     * 同步批改翻译，只请求一次
+     * @param timeoutMillis 单次请求的超时
+     */
+    public GradeResult gradeTranslationBlocking(String userTranslation, String referenceTranslation,
+            String originalText, float maxScore, long timeoutMillis) throws IOException, JSONException {
+        String prompt = buildTranslationPrompt(userTranslation, referenceTranslation, originalText, maxScore);
+        return gradeBlocking(prompt, maxScore, timeoutMillis);
+    }
+    
+    /**
+     * 同步批改写作 Part A（满分10分），只请求一次
+     */
+    public GradeResult gradeWritingPartABlocking(String essay, String topic, long timeoutMillis)
+            throws IOException, JSONException {
+        return gradeBlocking(buildWritingPartAPrompt(essay, topic), 10f, timeoutMillis);
+    }
+    
+    /**
+     * 同步批改写作 Part B（满分15分），只请求一次
+     */
+    public GradeResult gradeWritingPartBBlocking(String essay, String topic, long timeoutMillis)
+            throws IOException, JSONException {
+        return gradeBlocking(buildWritingPartBPrompt(essay, topic), 15f, timeoutMillis);
+    }
+    
+    private GradeResult gradeBlocking(String prompt, float maxScore, long timeoutMillis)
+            throws IOException, JSONException {
+        String response = chatClient.complete(buildRequestBody(prompt).toString(), timeoutMillis);
+        return parseGradeResult(parseResponse(response), maxScore);
+    }
+    
+    /**
+     * 翻译批改提示词
+     */
+    private String buildTranslationPrompt(String userTranslation, String referenceTranslation,
+            String originalText, float maxScore) {
+        return "你是一位专业的考研英语阅卷老师，请批改以下翻译答案。\n\n" +
+                "【英文原文】\n" + originalText + "\n\n" +
+                "【参考译文】\n" + referenceTranslation + "\n\n" +
+                "【学生译文】\n" + userTranslation + "\n\n" +
+                "请从以下几个维度评分（满分" + (int)maxScore + "分）：\n" +
+                "1. 准确性（" + String.format("%.1f", maxScore/3) + "分）：译文是否准确表达原文意思，关键词是否翻译正确\n" +
+                "2. 流畅性（" + String.format("%.1f", maxScore/3) + "分）：译文是否通顺自然，符合中文表达习惯\n" +
+                "3. 用词（" + String.format("%.1f", maxScore/3) + "分）：用词是否恰当、地道\n\n" +
+                "请严格按照以下JSON格式输出：\n" +
+                "{\n" +
+                "  \"score\": 分数（0-" + (int)maxScore + "之间的数字，可以有小数），\n" +
+                "  \"comment\": \"评语（80字以内，指出优点和需要改进的地方）\"\n" +
+                "}\n\n" +
+                "注意：只输出JSON，不要包含其他文字。";
+    }
+    
+    /**
+     * 写作 Part A 批改提示词
+     */
+    private String buildWritingPartAPrompt(String essay, String topic) {
+        return "你是一位专业的考研英语阅卷老师，请批改以下应用文写作（Part A）。\n\n" +
                 "【作文题目】\n" + topic + "\n\n" +
                 "【学生作文】\n" + essay + "\n\n" +
                 "请从以下几个维度评分（满分10分）：\n" +
@@ -107,18 +179,13 @@ public class ZhipuAIService {
                 "  \"comment\": \"评语（100字以内，包含各维度的具体评价和改进建议）\"\n" +
                 "}\n\n" +
                 "注意：只输出JSON，不要包含其他文字。";
-        
-        chatWithRetry(prompt, 10f, callback);
     }
     
     /**
-     * 批改写作 Part B（图表作文/议论文，满分15分）
-     * @param essay 用户的作文
-     * @param topic 作文题目
-     * @param callback 回调接口
+     * 写作 Part B 批改提示词
      */
-    public void gradeWritingPartB(String essay, String topic, GradeCallback callback) {
-        String prompt = "你是一位专业的考研英语阅卷老师，请批改以下大作文（Part B）。\n\n" +
+    private String buildWritingPartBPrompt(String essay, String topic) {
+        return "你是一位专业的考研英语阅卷老师，请批改以下大作文（Part B）。\n\n" +
                 "【作文题目】\n" + topic + "\n\n" +
                 "【学生作文】\n" + essay + "\n\n" +
                 "请从以下几个维度评分（满分15分）：\n" +
@@ -132,15 +199,6 @@ public class ZhipuAIService {
                 "  \"comment\": \"评语（120字以内，包含各维度的具体评价和改进建议）\"\n" +
                 "}\n\n" +
                 "注意：只输出JSON，不要包含其他文字。";
-        
-        chatWithRetry(prompt, 15f, callback);
-    }
-    
-    /**
-     * 批改写作（旧方法，保持兼容）
-     */
-    public void gradeWriting(String essay, String topic, GradeCallback callback) {
-        gradeWritingPartB(essay, topic, callback);
     }
     
     /**
@@ -150,7 +208,7 @@ public class ZhipuAIService {
      * @param callback 回调接口
      */
     private void chatWithRetry(String prompt, float maxScore, GradeCallback callback) {
-        executorService.execute(() -> {
+        tasks.networkIO().execute(() -> {
             Exception lastException = null;
             
             for (int attempt = 0; attempt <= DEFAULT_MAX_RETRIES; attempt++) {
@@ -221,55 +279,7 @@ public class ZhipuAIService {
      * 发送 HTTP 请求
      */
     private String sendRequest(String requestBody) throws IOException {
-        URL url = new URL(API_ENDPOINT);
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        
-        try {
-            // 设置请求方法和头部
-            connection.setRequestMethod("POST");
-            connection.setRequestProperty("Content-Type", "application/json");
-            connection.setRequestProperty("Authorization", "Bearer " + apiKey);
-            connection.setDoOutput(true);
-            connection.setConnectTimeout(30000);
-            connection.setReadTimeout(60000);  // 批改可能需要更长时间
-            
-            // 发送请求体
-            try (OutputStream os = connection.getOutputStream()) {
-                byte[] input = requestBody.getBytes(StandardCharsets.UTF_8);
-                os.write(input, 0, input.length);
-            }
-            
-            // 读取响应
-            int responseCode = connection.getResponseCode();
-            if (responseCode == HttpURLConnection.HTTP_OK) {
-                BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
-                StringBuilder response = new StringBuilder();
-                String line;
-                
-                while ((line = reader.readLine()) != null) {
-                    response.append(line);
-                }
-                reader.close();
-                
-                return response.toString();
-            } else {
-                // 读取错误信息
-                BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(connection.getErrorStream(), StandardCharsets.UTF_8));
-                StringBuilder errorResponse = new StringBuilder();
-                String line;
-                
-                while ((line = reader.readLine()) != null) {
-                    errorResponse.append(line);
-                }
-                reader.close();
-                
-                throw new IOException("HTTP " + responseCode + ": " + errorResponse.toString());
-            }
-        } finally {
-            connection.disconnect();
-        }
+        return chatClient.complete(requestBody);
     }
     
     /**
@@ -340,16 +350,14 @@ public class ZhipuAIService {
      * 设置 API Key
      */
     public void setApiKey(String apiKey) {
-        this.apiKey = apiKey;
+        chatClient.setApiKey(apiKey);
     }
     
     /**
      * 关闭服务
      */
     public void shutdown() {
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
-        }
+        tasks.cancel();
     }
     
     // ==================== 通用聊天功能 ====================
@@ -370,7 +378,7 @@ public class ZhipuAIService {
      * @param callback 回调接口
      */
     public void chat(List<ChatMessage> messages, String model, ChatCallback callback) {
-        executorService.execute(() -> {
+        tasks.networkIO().execute(() -> {
             try {
                 // 构建请求体
                 JSONObject requestBody = buildChatRequestBody(messages, model);
@@ -395,6 +403,16 @@ public class ZhipuAIService {
         });
     }
     
+    /**
+     * 同步聊天请求，只请求一次（由调用方控制线程）
+     * @param timeoutMillis 单次请求的超时
+     * @return 回复内容
+     */
+    public String chatBlocking(List<ChatMessage> messages, long timeoutMillis) throws IOException, JSONException {
+        JSONObject requestBody = buildChatRequestBody(messages, DEFAULT_MODEL);
+        return parseResponse(chatClient.complete(requestBody.toString(), timeoutMillis));
+    }
+
     /**
      * 发送流式聊天请求
      * @param messages 消息列表
@@ -411,92 +429,22 @@ public class ZhipuAIService {
      * @param callback 流式回调接口
      */
     public void chatStream(List<ChatMessage> messages, String model, StreamCallback callback) {
-        executorService.execute(() -> {
-            BufferedReader reader = null;
-            HttpURLConnection connection = null;
-            
+        tasks.networkIO(AppExecutorsYSJ.Priority.IMMEDIATE).execute(() -> {
             try {
                 // 构建请求体（开启流式）
                 JSONObject requestBody = buildChatRequestBody(messages, model);
                 requestBody.put("stream", true);
                 
-                // 创建连接
-                URL url = new URL(API_ENDPOINT);
-                connection = (HttpURLConnection) url.openConnection();
-                connection.setRequestMethod("POST");
-                connection.setRequestProperty("Content-Type", "application/json");
-                connection.setRequestProperty("Authorization", "Bearer " + apiKey);
-                connection.setDoOutput(true);
-                connection.setConnectTimeout(30000);
-                connection.setReadTimeout(60000);
-                
-                // 发送请求体
-                try (OutputStream os = connection.getOutputStream()) {
-                    byte[] input = requestBody.toString().getBytes(StandardCharsets.UTF_8);
-                    os.write(input, 0, input.length);
-                }
-                
-                // 读取流式响应
-                int responseCode = connection.getResponseCode();
-                if (responseCode == HttpURLConnection.HTTP_OK) {
-                    reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
-                    String line;
-                    
-                    while ((line = reader.readLine()) != null) {
-                        if (line.startsWith("data: ")) {
-                            String data = line.substring(6);
-                            
-                            // 检查是否结束
-                            if ("[DONE]".equals(data)) {
-                                if (callback != null) {
-                                    callback.onComplete();
-                                }
-                                break;
-                            }
-                            
-                            // 解析流式数据
-                            try {
-                                JSONObject jsonData = new JSONObject(data);
-                                JSONArray choices = jsonData.getJSONArray("choices");
-                                if (choices.length() > 0) {
-                                    JSONObject choice = choices.getJSONObject(0);
-                                    JSONObject delta = choice.getJSONObject("delta");
-                                    
-                                    if (delta.has("content")) {
-                                        String content = delta.getString("content");
-                                        if (callback != null) {
-                                            callback.onChunk(content);
-                                        }
-                                    }
-                                    
-                                    // 检查是否是最后一个chunk
-                                    String finishReason = choice.optString("finish_reason", null);
-                                    if ("stop".equals(finishReason)) {
-                                        if (callback != null) {
-                                            callback.onComplete();
-                                        }
-                                        break;
-                                    }
-                                }
-                            } catch (JSONException e) {
-                                Log.e(TAG, "Failed to parse stream data: " + data, e);
-                            }
+                // 读取流式响应，逐个事件扫描出增量内容
+                try (Response response = chatClient.openStream(requestBody.toString())) {
+                    SseChatStreamReader.read(response.body().source(), content -> {
+                        if (callback != null) {
+                            callback.onChunk(content);
                         }
-                    }
-                } else {
-                    // 读取错误信息
-                    BufferedReader errorReader = new BufferedReader(
-                        new InputStreamReader(connection.getErrorStream(), StandardCharsets.UTF_8));
-                    StringBuilder errorResponse = new StringBuilder();
-                    String errorLine;
-                    while ((errorLine = errorReader.readLine()) != null) {
-                        errorResponse.append(errorLine);
-                    }
-                    errorReader.close();
-                    
-                    if (callback != null) {
-                        callback.onError("HTTP " + responseCode + ": " + errorResponse.toString());
-                    }
+                    });
+                }
+                if (callback != null) {
+                    callback.onComplete();
                 }
                 
             } catch (Exception e) {
@@ -504,13 +452,6 @@ public class ZhipuAIService {
                 if (callback != null) {
                     callback.onError(e.getMessage());
                 }
-            } finally {
-                try {
-                    if (reader != null) reader.close();
-                    if (connection != null) connection.disconnect();
-                } catch (IOException e) {
-                    Log.e(TAG, "Failed to close resources", e);
-                }
             }
         });
     }
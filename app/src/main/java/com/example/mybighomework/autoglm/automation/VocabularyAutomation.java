@@ -8,6 +8,7 @@ import android.util.Log;
 import com.example.mybighomework.database.AppDatabase;
 import com.example.mybighomework.database.dao.VocabularyDao;
 import com.example.mybighomework.database.entity.VocabularyRecordEntity;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 
 import java.util.List;
 import java.util.Random;
@@ -29,7 +30,8 @@ public class VocabularyAutomation implements AutomationTask {
     
     @Override
     public void execute(AutomationCallback callback) {
-        new Thread(() -> {
+        // 流程大部分时间在等待动画，不占用数据库单线程
+        AppExecutorsYSJ.getInstance().networkIO().execute(() -> {
             long startTime = System.currentTimeMillis();
             
             try {
@@ -110,7 +112,7 @@ public class VocabularyAutomation implements AutomationTask {
                 Log.e(TAG, "自动化任务执行失败", e);
                 mainHandler.post(() -> callback.onError(e));
             }
-        }).start();
+        });
     }
     
     @Override
@@ -10,14 +10,13 @@ import com.example.mybighomework.autoglm.model.ChatRequest;
 import com.example.mybighomework.autoglm.model.ChatResponse;
 import com.example.mybighomework.autoglm.service.AuthInterceptor;
 import com.example.mybighomework.autoglm.service.AutoGLMService;
+import com.example.mybighomework.network.HttpClientProvider;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 
 import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -91,15 +90,10 @@ public class AutoGLMManager {
     }
     
     private void initializeService() {
-        HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor();
-        loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
-        
-        OkHttpClient client = new OkHttpClient.Builder()
+        // 在智谱端点客户端上追加鉴权，共享连接池和日志拦截器
+        OkHttpClient client = HttpClientProvider.getClient(HttpClientProvider.Endpoint.ZHIPU)
+                .newBuilder()
                 .addInterceptor(new AuthInterceptor(apiKey))
-                .addInterceptor(loggingInterceptor)
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(60, TimeUnit.SECONDS)
-                .writeTimeout(60, TimeUnit.SECONDS)
                 .build();
         
         Retrofit retrofit = new Retrofit.Builder()
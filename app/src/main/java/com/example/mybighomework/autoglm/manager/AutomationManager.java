@@ -19,11 +19,12 @@ import com.example.mybighomework.autoglm.model.ActionParser;
 import com.example.mybighomework.autoglm.network.MultimodalModelClient;
 import com.example.mybighomework.autoglm.ui.FloatingWindowManager;
 import com.example.mybighomework.autoglm.util.PermissionHelper;
+import com.example.mybighomework.autoglm.util.ScreenChangeDetector;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 
 import java.io.IOException;
 import java.net.SocketTimeoutException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -49,6 +50,13 @@ public class AutomationManager {
     // API调用重试延迟（毫秒）
     private static final long API_RETRY_DELAY_MS = 2000;
     
+    // 屏幕无变化时重新截屏的等待时间（毫秒），每次翻倍
+    private static final long UNCHANGED_SCREEN_INITIAL_WAIT_MS = 500;
+    private static final long UNCHANGED_SCREEN_MAX_WAIT_MS = 2000;
+    
+    // 屏幕无变化时最多重新截屏的次数，超过后仍发送给AI，让AI调整策略
+    private static final int MAX_UNCHANGED_RECAPTURES = 3;
+    
     // 单例实例
     private static volatile AutomationManager instance;
     private static final Object LOCK = new Object();
@@ -77,6 +85,14 @@ public class AutomationManager {
     // 上一次动作执行失败的反馈消息（用于通知AI）
     private String lastActionFailureFeedback = null;
     
+    // 屏幕变化检测：上一次发送给AI的截图签名
+    private ScreenChangeDetector screenChangeDetector = new ScreenChangeDetector();
+    private ScreenChangeDetector.Signature lastSentSignature;
+    
+    // 步骤统计：模型调用次数、因屏幕无变化而跳过的调用次数
+    private final AtomicInteger modelCallCount = new AtomicInteger(0);
+    private final AtomicInteger skippedModelCallCount = new AtomicInteger(0);
+    
     // 线程池
     private ExecutorService executorService;
     
@@ -124,7 +140,8 @@ public class AutomationManager {
      * 私有构造函数（单例模式）
      */
     private AutomationManager() {
-        executorService = Executors.newSingleThreadExecutor();
+        // 自动化循环大部分时间在等待模型响应和界面变化，放在网络线程池
+        executorService = AppExecutorsYSJ.getInstance().networkIO();
     }
     
     /**
@@ -270,6 +287,9 @@ public class AutomationManager {
         screenshotRetryCount.set(0);
         actionRetryCount.set(0);
         lastActionFailureFeedback = null;
+        lastSentSignature = null;
+        modelCallCount.set(0);
+        skippedModelCallCount.set(0);
         
         // 清空模型客户端历史
         modelClient.clearHistory();
@@ -394,9 +414,16 @@ public class AutomationManager {
                     return;
                 }
                 
+                // 屏幕与上次发送时相同（等待中、点击未生效等）则等待后重新截屏，不调用AI
+                screenshot = awaitScreenChange(screenshot, step);
+                if (screenshot == null) {
+                    return;
+                }
+                
                 // 步骤2: 发送AI请求
                 // 需求: 10.2 - API调用失败时停止任务并显示错误原因
                 updateFloatingWindowStatus("思考中...", "正在分析屏幕内容...");
+                modelCallCount.incrementAndGet();
                 String aiResponse = sendToAIWithRetry(screenshot);
                 if (aiResponse == null) {
                     // API错误已在 sendToAIWithRetry 中处理
@@ -586,6 +613,72 @@ public class AutomationManager {
     }
 
     
+    /**
+     * 等待屏幕发生变化
+     * 与上次发送给AI的截图相比无有效变化时，按递增间隔重新截屏；
+     * 超过最大次数或上一步动作失败需要反馈时，直接使用当前截图
+     * 
+     * @return 用于本步骤的截图，截屏失败或任务停止时返回null
+     */
+    private Bitmap awaitScreenChange(Bitmap screenshot, int step) throws InterruptedException {
+        ScreenChangeDetector.Signature signature = screenChangeDetector.compute(screenshot);
+        long waitMs = UNCHANGED_SCREEN_INITIAL_WAIT_MS;
+        int recaptures = 0;
+        
+        while (lastSentSignature != null && lastActionFailureFeedback == null
+                && recaptures < MAX_UNCHANGED_RECAPTURES) {
+            ScreenChangeDetector.Diff diff = screenChangeDetector.compare(lastSentSignature, signature);
+            if (diff.changed) {
+                break;
+            }
+            
+            skippedModelCallCount.incrementAndGet();
+            Log.d(TAG, "步骤 " + step + " 屏幕无变化 " + diff + "，" + waitMs + "ms 后重新截屏");
+            updateFloatingWindowStatus("等待中...", "页面暂无变化，等待加载...");
+            
+            Thread.sleep(waitMs);
+            waitMs = Math.min(waitMs * 2, UNCHANGED_SCREEN_MAX_WAIT_MS);
+            if (stopRequested.get()) {
+                return null;
+            }
+            
+            Bitmap next = captureScreenWithRetry();
+            if (next == null) {
+                return null;
+            }
+            screenshot.recycle();
+            screenshot = next;
+            signature = screenChangeDetector.compute(screenshot);
+            recaptures++;
+        }
+        
+        lastSentSignature = signature;
+        Log.d(TAG, "步骤 " + step + " 统计: 模型调用 " + (modelCallCount.get() + 1)
+                + " 次, 跳过 " + skippedModelCallCount.get() + " 次");
+        return screenshot;
+    }
+    
+    /**
+     * 设置屏幕变化检测配置
+     */
+    public void setScreenChangeConfig(ScreenChangeDetector.Config config) {
+        this.screenChangeDetector = new ScreenChangeDetector(config);
+    }
+    
+    /**
+     * 获取本次任务因屏幕无变化而跳过的模型调用次数
+     */
+    public int getSkippedModelCallCount() {
+        return skippedModelCallCount.get();
+    }
+    
+    /**
+     * 获取本次任务的模型调用次数
+     */
+    public int getModelCallCount() {
+        return modelCallCount.get();
+    }
+    
     /**
      * 发送请求到AI
      * 需求: 3.1-3.7
@@ -809,7 +902,8 @@ public class AutomationManager {
      * 需求: 6.6
      */
     private void handleTaskFinish(Action.Finish finish) {
-        Log.i(TAG, "任务完成: " + finish.message);
+        Log.i(TAG, "任务完成: " + finish.message + "（模型调用 " + modelCallCount.get()
+                + " 次，屏幕无变化跳过 " + skippedModelCallCount.get() + " 次）");
         isRunning.set(false);
         
         if (floatingWindowManager != null) {
@@ -925,9 +1019,7 @@ public class AutomationManager {
         stopTask();
         hideFloatingWindow();
         
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
-        }
+        // 使用应用级共享线程池，不在这里关闭
         
         instance = null;
         Log.d(TAG, "AutomationManager 资源已释放");
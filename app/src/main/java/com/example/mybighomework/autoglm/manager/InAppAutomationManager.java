@@ -14,11 +14,11 @@ import com.example.mybighomework.StudyPlanActivity;
 import com.example.mybighomework.VocabularyActivity;
 import com.example.mybighomework.WrongQuestionActivity;
 import com.example.mybighomework.api.ZhipuAIService;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * 应用内自动化管理器
@@ -108,7 +108,7 @@ public class InAppAutomationManager {
     }
     
     private InAppAutomationManager() {
-        executorService = Executors.newSingleThreadExecutor();
+        executorService = AppExecutorsYSJ.getInstance().networkIO();
         mainHandler = new Handler(Looper.getMainLooper());
     }
     
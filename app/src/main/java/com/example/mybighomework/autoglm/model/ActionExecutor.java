@@ -8,6 +8,7 @@ import android.util.Log;
 import com.example.mybighomework.autoglm.automation.AutomationAccessibilityService;
 import com.example.mybighomework.autoglm.error.AutomationErrorHandler;
 import com.example.mybighomework.autoglm.ui.GestureAnimationManager;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 
 /**
  * 动作执行器 - 执行解析后的Action
@@ -396,7 +397,7 @@ public class ActionExecutor {
      * @param callback 执行结果回调
      */
     public void executeAsync(Action action, ExecutionCallback callback) {
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().networkIO().execute(() -> {
             boolean success = execute(action);
             
             mainHandler.post(() -> {
@@ -406,7 +407,7 @@ public class ActionExecutor {
                     callback.onFailure("动作执行失败: " + action.getDescription());
                 }
             });
-        }).start();
+        });
     }
     
     /**
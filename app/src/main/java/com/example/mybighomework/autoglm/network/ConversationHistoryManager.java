@@ -0,0 +1,209 @@
+package com.example.mybighomework.autoglm.network;
+
+import android.util.Log;
+
+import com.example.mybighomework.autoglm.network.MultimodalModelClient.ContentItem;
+import com.example.mybighomework.autoglm.network.MultimodalModelClient.Message;
+import com.google.gson.Gson;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * 对话历史管理器
+ *
+ * 1. 只为最近 K 轮用户消息保留截图，更早的截图替换为简短的文字说明并归还缓冲区
+ * 2. 历史的文本总长度超过预算时，从最早的轮次开始丢弃（始终保留第一条任务指令）
+ * 3. 缓存每条消息序列化后的 JSON 片段，未变化的消息在后续请求中直接复用
+ */
+class ConversationHistoryManager {
+
+    private static final String TAG = "ConversationHistory";
+
+    // 截图被移除后替换的说明文字
+    private static final String IMAGE_OMITTED_NOTE = "[此前的屏幕截图已省略]";
+
+    /**
+     * 历史预算配置
+     */
+    static class Budget {
+        // 保留截图的最近用户轮数
+        int maxImageTurns = 2;
+        // 历史消息 JSON 的字符数上限（不含截图），约对应模型的上下文 token 预算
+        int maxHistoryChars = 48 * 1024;
+    }
+
+    /**
+     * 缓存的 JSON 片段，content 对象变化时失效
+     */
+    private static class Fragment {
+        final Object content;
+        final String json;
+
+        Fragment(Object content, String json) {
+            this.content = content;
+            this.json = json;
+        }
+    }
+
+    private final Gson gson;
+    private final Budget budget;
+    private final List<Message> messages = new ArrayList<>();
+    // Message 未重写 equals/hashCode，WeakHashMap 按对象身份缓存
+    private final Map<Message, Fragment> fragments = new WeakHashMap<>();
+    private int droppedTurns;
+
+    ConversationHistoryManager(Gson gson, Budget budget) {
+        this.gson = gson;
+        this.budget = budget;
+    }
+
+    void add(Message message) {
+        messages.add(message);
+    }
+
+    /**
+     * 用外部历史替换当前历史，相同的消息对象仍可复用已缓存的片段
+     */
+    void replaceAll(List<Message> history) {
+        messages.clear();
+        messages.addAll(history);
+    }
+
+    Message getLast() {
+        return messages.isEmpty() ? null : messages.get(messages.size() - 1);
+    }
+
+    void removeLast() {
+        if (!messages.isEmpty()) {
+            messages.remove(messages.size() - 1);
+        }
+    }
+
+    List<Message> snapshot() {
+        return new ArrayList<>(messages);
+    }
+
+    int size() {
+        return messages.size();
+    }
+
+    int getDroppedTurns() {
+        return droppedTurns;
+    }
+
+    /**
+     * 清空历史并归还所有截图缓冲区
+     */
+    void clear() {
+        for (Message message : messages) {
+            releaseImages(message);
+        }
+        messages.clear();
+        fragments.clear();
+        droppedTurns = 0;
+    }
+
+    /**
+     * 发送前执行预算：先裁剪旧截图，再按文本预算丢弃最早的轮次
+     */
+    void enforceBudget() {
+        pruneImages();
+        dropOldTurns();
+    }
+
+    /**
+     * 把历史拼接为 JSON 数组元素（不含方括号），并收集仍带图片的占位符
+     */
+    String toJsonElements(Map<String, ScreenshotEncoder.EncodedImage> images) {
+        StringBuilder sb = new StringBuilder();
+        for (Message message : messages) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(fragmentOf(message));
+            collectImages(message, images);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 从后往前数，只为最近 maxImageTurns 条带图消息保留截图
+     */
+    private void pruneImages() {
+        int imageTurns = 0;
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            Message message = messages.get(i);
+            if (!message.hasImage()) {
+                continue;
+            }
+            imageTurns++;
+            if (imageTurns > budget.maxImageTurns) {
+                String text = message.getTextContent();
+                releaseImages(message);
+                message.content = text.isEmpty() ? IMAGE_OMITTED_NOTE : text + "\n" + IMAGE_OMITTED_NOTE;
+                Log.d(TAG, "Replaced old screenshot with summary at index " + i);
+            }
+        }
+    }
+
+    /**
+     * 文本超出预算时成对丢弃第一条消息之后最早的 (assistant, user) 消息，保持角色交替
+     */
+    private void dropOldTurns() {
+        int total = 0;
+        for (Message message : messages) {
+            total += fragmentOf(message).length();
+        }
+
+        while (total > budget.maxHistoryChars && messages.size() > 3) {
+            Message first = messages.get(1);
+            Message second = messages.get(2);
+            total -= fragmentOf(first).length() + fragmentOf(second).length();
+            releaseImages(first);
+            releaseImages(second);
+            messages.remove(2);
+            messages.remove(1);
+            droppedTurns++;
+        }
+        if (droppedTurns > 0) {
+            Log.d(TAG, "History within budget: " + total + " chars, dropped turns " + droppedTurns);
+        }
+    }
+
+    String fragmentOf(Message message) {
+        Fragment fragment = fragments.get(message);
+        if (fragment == null || fragment.content != message.content) {
+            fragment = new Fragment(message.content, gson.toJson(message));
+            fragments.put(message, fragment);
+        }
+        return fragment.json;
+    }
+
+    private void collectImages(Message message, Map<String, ScreenshotEncoder.EncodedImage> images) {
+        if (message.content instanceof List) {
+            @SuppressWarnings("unchecked")
+            List<ContentItem> items = (List<ContentItem>) message.content;
+            for (ContentItem item : items) {
+                if (item.imageUrl != null && item.imageUrl.image != null) {
+                    images.put(item.imageUrl.url, item.imageUrl.image);
+                }
+            }
+        }
+    }
+
+    private void releaseImages(Message message) {
+        if (message.content instanceof List) {
+            @SuppressWarnings("unchecked")
+            List<ContentItem> items = (List<ContentItem>) message.content;
+            for (ContentItem item : items) {
+                if (item.imageUrl != null && item.imageUrl.image != null) {
+                    item.imageUrl.image.release();
+                    item.imageUrl.image = null;
+                }
+            }
+        }
+    }
+}
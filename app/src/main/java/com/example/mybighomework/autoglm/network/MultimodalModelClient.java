@@ -4,6 +4,7 @@ import android.graphics.Bitmap;
 import android.util.Base64;
 import android.util.Log;
 
+import com.example.mybighomework.network.HttpClientProvider;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.annotations.SerializedName;
@@ -11,13 +12,14 @@ import com.google.gson.annotations.SerializedName;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import okhttp3.MediaType;
+import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
-import okhttp3.RequestBody;
 import okhttp3.Response;
 
 /**
@@ -31,34 +33,59 @@ public class MultimodalModelClient {
     private static final String TAG = "MultimodalModelClient";
     
     // API配置
-    private static final String API_ENDPOINT = "https://open.bigmodel.cn/api/paas/v4/chat/completions";
+    private static final String CHAT_PATH = "chat/completions";
     private static final String MODEL_NAME = "autoglm-phone";
-    private static final int TIMEOUT_SECONDS = 60;
     private static final int MAX_TOKENS = 3000;
     
     // 历史消息中保留图片的最大数量（超过后清理旧图片）
     private static final int MAX_HISTORY_IMAGES = 2;
     
+    // 历史消息文本（不含截图）的字符预算
+    private static final int MAX_HISTORY_CHARS = 48 * 1024;
+    
     private final String apiKey;
     private final OkHttpClient httpClient;
+    private final HttpUrl chatUrl;
     private final Gson gson;
-    private final List<Message> conversationHistory;
+    private final ConversationHistoryManager conversationHistory;
+    private final ScreenshotEncoder screenshotEncoder;
+    
+    // 请求中不随历史变化的部分，只序列化一次
+    private final String requestHeaderJson;
+    private final String systemMessageJson;
+    
+    // 请求 JSON 中图片占位符的序号
+    private final AtomicInteger imageSequence = new AtomicInteger();
+    private static final String IMAGE_PLACEHOLDER_PREFIX = "__screenshot_";
+    private static final String IMAGE_PLACEHOLDER_SUFFIX = "__";
     
     /**
      * 构造函数
      * @param apiKey 智谱AI API密钥
      */
     public MultimodalModelClient(String apiKey) {
+        this(apiKey, ScreenshotEncoder.Config.defaults());
+    }
+    
+    /**
+     * 构造函数
+     * @param apiKey 智谱AI API密钥
+     * @param encoderConfig 截图编码配置（目标分辨率、格式、质量）
+     */
+    public MultimodalModelClient(String apiKey, ScreenshotEncoder.Config encoderConfig) {
         this.apiKey = apiKey;
-        this.conversationHistory = new ArrayList<>();
         this.gson = new GsonBuilder().create();
+        ConversationHistoryManager.Budget budget = new ConversationHistoryManager.Budget();
+        budget.maxImageTurns = MAX_HISTORY_IMAGES;
+        budget.maxHistoryChars = MAX_HISTORY_CHARS;
+        this.conversationHistory = new ConversationHistoryManager(gson, budget);
+        this.screenshotEncoder = new ScreenshotEncoder(encoderConfig);
+        this.requestHeaderJson = gson.toJson(buildRequestParams());
+        this.systemMessageJson = gson.toJson(new Message("system", SYSTEM_PROMPT));
         
-        // 配置HTTP客户端
-        this.httpClient = new OkHttpClient.Builder()
-                .connectTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
-                .readTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
-                .writeTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
-                .build();
+        // 共享连接池的多模态端点客户端（与文本对话复用同一主机的连接）
+        this.httpClient = HttpClientProvider.getClient(HttpClientProvider.Endpoint.AUTOGLM);
+        this.chatUrl = HttpClientProvider.resolve(HttpClientProvider.Endpoint.AUTOGLM, CHAT_PATH);
     }
     
     /**
@@ -73,46 +100,11 @@ public class MultimodalModelClient {
         Message userMessage = createUserMessage(userText, screenshot);
         conversationHistory.add(userMessage);
         
-        // 清理历史消息中的旧图片
-        cleanupHistoryImages();
-        
-        // 构建请求体
-        ChatRequestBody requestBody = buildRequestBody();
-        String jsonBody = gson.toJson(requestBody);
+        // 清理旧图片并控制历史长度
+        conversationHistory.enforceBudget();
         
         Log.d(TAG, "Sending request to API...");
-        
-        // 发送HTTP请求
-        Request request = new Request.Builder()
-                .url(API_ENDPOINT)
-                .addHeader("Authorization", "Bearer " + apiKey)
-                .addHeader("Content-Type", "application/json")
-                .post(RequestBody.create(jsonBody, MediaType.parse("application/json")))
-                .build();
-        
-        try (Response response = httpClient.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
-                String errorBody = response.body() != null ? response.body().string() : "Unknown error";
-                Log.e(TAG, "API Error: " + response.code() + " - " + errorBody);
-                throw new IOException("API调用失败: " + response.code() + " - " + errorBody);
-            }
-            
-            String responseBody = response.body() != null ? response.body().string() : "";
-            ChatResponseBody chatResponse = gson.fromJson(responseBody, ChatResponseBody.class);
-            
-            if (chatResponse != null && chatResponse.choices != null && !chatResponse.choices.isEmpty()) {
-                String assistantContent = chatResponse.choices.get(0).message.content;
-                
-                // 将助手响应添加到历史
-                Message assistantMessage = new Message("assistant", assistantContent);
-                conversationHistory.add(assistantMessage);
-                
-                Log.d(TAG, "Received response: " + assistantContent.substring(0, Math.min(100, assistantContent.length())) + "...");
-                return assistantContent;
-            } else {
-                throw new IOException("API响应格式错误");
-            }
-        }
+        return executeRequest();
     }
 
     
@@ -124,37 +116,41 @@ public class MultimodalModelClient {
      * @throws IOException 网络请求失败时抛出
      */
     public String sendRequestWithHistory(List<Message> history, Bitmap screenshot) throws IOException {
-        // 清空当前历史，使用传入的历史
-        conversationHistory.clear();
-        conversationHistory.addAll(history);
+        // 使用传入的历史替换当前历史（相同的消息对象会复用已序列化的片段）
+        conversationHistory.replaceAll(history);
         
         // 如果最后一条是用户消息且有截图，添加图片
-        if (!conversationHistory.isEmpty() && screenshot != null) {
-            Message lastMessage = conversationHistory.get(conversationHistory.size() - 1);
+        Message lastMessage = conversationHistory.getLast();
+        if (lastMessage != null && screenshot != null) {
             if ("user".equals(lastMessage.role) && lastMessage.content instanceof String) {
                 // 将最后一条用户消息转换为多模态消息
-                conversationHistory.remove(conversationHistory.size() - 1);
+                conversationHistory.removeLast();
                 Message multimodalMessage = createUserMessage((String) lastMessage.content, screenshot);
                 conversationHistory.add(multimodalMessage);
             }
         }
         
-        // 清理历史消息中的旧图片
-        cleanupHistoryImages();
-        
-        // 构建请求体
-        ChatRequestBody requestBody = buildRequestBody();
-        String jsonBody = gson.toJson(requestBody);
+        // 清理旧图片并控制历史长度
+        conversationHistory.enforceBudget();
         
         Log.d(TAG, "Sending request with history to API...");
+        return executeRequest();
+    }
+    
+    /**
+     * 发送当前历史并把助手响应加入历史
+     * 图片不进入 JSON 字符串，由请求体在写出时流式编码
+     */
+    private String executeRequest() throws IOException {
+        Map<String, ScreenshotEncoder.EncodedImage> images = new HashMap<>();
+        String jsonBody = buildRequestJson(images);
         
-        // 发送HTTP请求
-        Request request = new Request.Builder()
-                .url(API_ENDPOINT)
+        Request.Builder builder = new Request.Builder()
+                .url(chatUrl)
                 .addHeader("Authorization", "Bearer " + apiKey)
-                .addHeader("Content-Type", "application/json")
-                .post(RequestBody.create(jsonBody, MediaType.parse("application/json")))
-                .build();
+                .post(new MultimodalRequestBody(jsonBody, images));
+        // 请求体带截图，不记录请求体
+        Request request = HttpClientProvider.skipBodyLogging(builder).build();
         
         try (Response response = httpClient.newCall(request).execute()) {
             if (!response.isSuccessful()) {
@@ -173,6 +169,7 @@ public class MultimodalModelClient {
                 Message assistantMessage = new Message("assistant", assistantContent);
                 conversationHistory.add(assistantMessage);
                 
+                Log.d(TAG, "Received response: " + assistantContent.substring(0, Math.min(100, assistantContent.length())) + "...");
                 return assistantContent;
             } else {
                 throw new IOException("API响应格式错误");
@@ -183,7 +180,7 @@ public class MultimodalModelClient {
     /**
      * 创建用户消息（支持文本和图片）
      */
-    private Message createUserMessage(String text, Bitmap screenshot) {
+    private Message createUserMessage(String text, Bitmap screenshot) throws IOException {
         if (screenshot == null) {
             // 纯文本消息
             return new Message("user", text);
@@ -200,7 +197,9 @@ public class MultimodalModelClient {
             // 添加图片内容
             ContentItem imageItem = new ContentItem();
             imageItem.type = "image_url";
-            imageItem.imageUrl = new ImageUrl("data:image/png;base64," + bitmapToBase64(screenshot));
+            ScreenshotEncoder.EncodedImage encoded = screenshotEncoder.encode(screenshot);
+            String placeholder = IMAGE_PLACEHOLDER_PREFIX + imageSequence.incrementAndGet() + IMAGE_PLACEHOLDER_SUFFIX;
+            imageItem.imageUrl = new ImageUrl(placeholder, encoded);
             contentItems.add(imageItem);
             
             return new Message("user", contentItems);
@@ -208,83 +207,55 @@ public class MultimodalModelClient {
     }
     
     /**
-     * 构建API请求体
+     * 构建请求参数（不含消息）
      */
-    private ChatRequestBody buildRequestBody() {
+    private ChatRequestBody buildRequestParams() {
         ChatRequestBody body = new ChatRequestBody();
         body.model = MODEL_NAME;
-        body.messages = new ArrayList<>();
-        
-        // 添加系统提示词
-        body.messages.add(new Message("system", SYSTEM_PROMPT));
-        
-        // 添加对话历史
-        body.messages.addAll(conversationHistory);
-        
         body.maxTokens = MAX_TOKENS;
         body.temperature = 0.0;
         body.topP = 0.85;
         body.frequencyPenalty = 0.2;
         body.stream = false;
-        
         return body;
     }
     
     /**
-     * 清理历史消息中的旧图片，只保留最近的几张
-     * 需求: 3.5
+     * 构建API请求JSON
+     * 参数和系统提示词的JSON在构造时生成，历史消息使用缓存的片段拼接
+     * @param images 输出参数，收集历史中仍带图片的占位符
      */
-    private void cleanupHistoryImages() {
-        int imageCount = 0;
-        
-        // 从后往前遍历，保留最近的图片
-        for (int i = conversationHistory.size() - 1; i >= 0; i--) {
-            Message message = conversationHistory.get(i);
-            
-            if (message.content instanceof List) {
-                @SuppressWarnings("unchecked")
-                List<ContentItem> contentItems = (List<ContentItem>) message.content;
-                
-                boolean hasImage = false;
-                for (ContentItem item : contentItems) {
-                    if ("image_url".equals(item.type)) {
-                        hasImage = true;
-                        break;
-                    }
-                }
-                
-                if (hasImage) {
-                    imageCount++;
-                    
-                    // 如果超过最大图片数量，移除图片只保留文本
-                    if (imageCount > MAX_HISTORY_IMAGES) {
-                        String textContent = extractTextFromContent(contentItems);
-                        message.content = textContent;
-                        Log.d(TAG, "Cleaned up old image from history message at index " + i);
-                    }
-                }
-            }
+    private String buildRequestJson(Map<String, ScreenshotEncoder.EncodedImage> images) {
+        String historyJson = conversationHistory.toJsonElements(images);
+        StringBuilder sb = new StringBuilder(requestHeaderJson.length() + systemMessageJson.length()
+                + historyJson.length() + 16);
+        // requestHeaderJson 形如 {"model":...}，去掉末尾的 } 后追加 messages 字段
+        sb.append(requestHeaderJson, 0, requestHeaderJson.length() - 1)
+                .append(",\"messages\":[")
+                .append(systemMessageJson);
+        if (!historyJson.isEmpty()) {
+            sb.append(',').append(historyJson);
         }
+        return sb.append("]}").toString();
     }
     
     /**
-     * 从多模态内容中提取文本
+     * 获取最近一次截图编码的指标
      */
-    private String extractTextFromContent(List<ContentItem> contentItems) {
-        StringBuilder sb = new StringBuilder();
-        for (ContentItem item : contentItems) {
-            if ("text".equals(item.type) && item.text != null) {
-                if (sb.length() > 0) {
-                    sb.append("\n");
-                }
-                sb.append(item.text);
-            }
-        }
-        return sb.toString();
+    public ScreenshotEncoder.EncodeMetrics getLastEncodeMetrics() {
+        return screenshotEncoder.getLastMetrics();
+    }
+    
+    /**
+     * 设置截图编码指标监听器
+     */
+    public void setEncodeMetricsListener(ScreenshotEncoder.MetricsListener listener) {
+        screenshotEncoder.setMetricsListener(listener);
     }
     
     /**
      * 将Bitmap图像转换为Base64编码字符串
+     * 请求路径已改用 ScreenshotEncoder，此方法保留原始 PNG 编码
      * 需求: 3.3
      * @param bitmap 要转换的图像
      * @return Base64编码的字符串
@@ -315,7 +286,7 @@ public class MultimodalModelClient {
      * 获取当前对话历史
      */
     public List<Message> getConversationHistory() {
-        return new ArrayList<>(conversationHistory);
+        return conversationHistory.snapshot();
     }
     
     /**
@@ -406,13 +377,28 @@ public class MultimodalModelClient {
      * 图片URL包装类
      */
     public static class ImageUrl {
+        // 由客户端编码的截图，url 为占位符，实际数据在发送时写入
         public String url;
+        transient ScreenshotEncoder.EncodedImage image;
         
         public ImageUrl() {}
         
         public ImageUrl(String url) {
             this.url = url;
         }
+        
+        ImageUrl(String placeholder, ScreenshotEncoder.EncodedImage image) {
+            this.url = placeholder;
+            this.image = image;
+        }
+        
+        /**
+         * 获取完整的图片地址（截图会生成 data URL 字符串）
+         */
+        public String toUrlString() {
+            ScreenshotEncoder.EncodedImage current = image;
+            return current != null ? current.toDataUrl() : url;
+        }
     }
     
     /**
@@ -0,0 +1,79 @@
+package com.example.mybighomework.autoglm.network;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+/**
+ * 多模态请求体
+ * JSON 中的图片以占位符序列化，写出时在占位符位置直接把图片的 Base64 写入网络流，
+ * 请求体本身只持有不含图片的 JSON 片段
+ */
+class MultimodalRequestBody extends RequestBody {
+
+    private static final MediaType JSON = MediaType.parse("application/json");
+
+    private final List<byte[]> textSegments = new ArrayList<>();
+    private final List<ScreenshotEncoder.EncodedImage> images = new ArrayList<>();
+    private final long contentLength;
+
+    /**
+     * @param json 序列化后的请求 JSON，图片位置为占位符
+     * @param placeholders 占位符 -> 图片
+     */
+    MultimodalRequestBody(String json, Map<String, ScreenshotEncoder.EncodedImage> placeholders) {
+        long length = 0;
+        int from = 0;
+        while (true) {
+            int next = -1;
+            String matched = null;
+            for (String placeholder : placeholders.keySet()) {
+                int index = json.indexOf(placeholder, from);
+                if (index >= 0 && (next < 0 || index < next)) {
+                    next = index;
+                    matched = placeholder;
+                }
+            }
+            if (matched == null) {
+                break;
+            }
+
+            byte[] segment = (json.substring(from, next) + placeholders.get(matched).getDataUrlPrefix())
+                    .getBytes(StandardCharsets.UTF_8);
+            textSegments.add(segment);
+            images.add(placeholders.get(matched));
+            length += segment.length + placeholders.get(matched).getBase64Length();
+            from = next + matched.length();
+        }
+        byte[] tail = json.substring(from).getBytes(StandardCharsets.UTF_8);
+        textSegments.add(tail);
+        contentLength = length + tail.length;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return JSON;
+    }
+
+    @Override
+    public long contentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public void writeTo(@NonNull BufferedSink sink) throws IOException {
+        for (int i = 0; i < images.size(); i++) {
+            sink.write(textSegments.get(i));
+            images.get(i).writeBase64To(sink.outputStream());
+        }
+        sink.write(textSegments.get(images.size()));
+    }
+}
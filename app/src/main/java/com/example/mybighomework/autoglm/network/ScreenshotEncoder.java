@@ -0,0 +1,366 @@
+package com.example.mybighomework.autoglm.network;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.os.Build;
+import android.os.SystemClock;
+import android.util.Base64;
+import android.util.Base64OutputStream;
+import android.util.Log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+
+/**
+ * 截图编码器
+ * 把截图缩放到目标长边后压缩为 WebP/JPEG，压缩结果放在可复用的缓冲区中，
+ * 发送时由请求体直接把 Base64 写入网络流，不再生成完整的 Base64 字符串
+ *
+ * 模型使用 0~999 的归一化坐标，缩小截图不影响动作定位
+ */
+public class ScreenshotEncoder {
+
+    private static final String TAG = "ScreenshotEncoder";
+
+    // 缓冲区池大小：历史中保留的图片 + 当前请求
+    private static final int MAX_POOLED_BUFFERS = 4;
+    private static final int INITIAL_BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * 图片格式
+     */
+    public enum Format {
+        WEBP("image/webp"),
+        JPEG("image/jpeg"),
+        PNG("image/png");
+
+        final String mimeType;
+
+        Format(String mimeType) {
+            this.mimeType = mimeType;
+        }
+
+        @SuppressWarnings("deprecation")
+        Bitmap.CompressFormat toCompressFormat() {
+            switch (this) {
+                case WEBP:
+                    return Build.VERSION.SDK_INT >= Build.VERSION_CODES.R
+                            ? Bitmap.CompressFormat.WEBP_LOSSY : Bitmap.CompressFormat.WEBP;
+                case JPEG:
+                    return Bitmap.CompressFormat.JPEG;
+                default:
+                    return Bitmap.CompressFormat.PNG;
+            }
+        }
+    }
+
+    /**
+     * 编码配置
+     */
+    public static class Config {
+        // 缩放后的最长边像素，<= 0 表示不缩放
+        public int maxLongEdge = 1280;
+        public Format format = Format.WEBP;
+        public int quality = 80;
+
+        public static Config defaults() {
+            return new Config();
+        }
+
+        public Config setMaxLongEdge(int maxLongEdge) {
+            this.maxLongEdge = maxLongEdge;
+            return this;
+        }
+
+        public Config setFormat(Format format) {
+            this.format = format;
+            return this;
+        }
+
+        public Config setQuality(int quality) {
+            this.quality = quality;
+            return this;
+        }
+    }
+
+    /**
+     * 单次编码的指标
+     */
+    public static class EncodeMetrics {
+        public int sourceWidth;
+        public int sourceHeight;
+        public int targetWidth;
+        public int targetHeight;
+        // 各阶段的字节数：原始像素 -> 缩放后像素 -> 压缩后 -> Base64 后
+        public long sourceBytes;
+        public long scaledBytes;
+        public long encodedBytes;
+        public long base64Bytes;
+        public long scaleMs;
+        public long compressMs;
+
+        @Override
+        public String toString() {
+            return "EncodeMetrics{" +
+                    sourceWidth + "x" + sourceHeight + " -> " + targetWidth + "x" + targetHeight +
+                    ", sourceBytes=" + sourceBytes +
+                    ", scaledBytes=" + scaledBytes +
+                    ", encodedBytes=" + encodedBytes +
+                    ", base64Bytes=" + base64Bytes +
+                    ", scaleMs=" + scaleMs +
+                    ", compressMs=" + compressMs +
+                    '}';
+        }
+    }
+
+    /**
+     * 编码指标监听器
+     */
+    public interface MetricsListener {
+        void onEncoded(EncodeMetrics metrics);
+    }
+
+    /**
+     * 编码后的图片
+     * 数据保存在池化缓冲区中，不再使用时调用 release() 归还
+     */
+    public static class EncodedImage {
+        private final ScreenshotEncoder owner;
+        private PooledBuffer buffer;
+        private final String mimeType;
+        private final int width;
+        private final int height;
+
+        EncodedImage(ScreenshotEncoder owner, PooledBuffer buffer, String mimeType, int width, int height) {
+            this.owner = owner;
+            this.buffer = buffer;
+            this.mimeType = mimeType;
+            this.width = width;
+            this.height = height;
+        }
+
+        public String getMimeType() {
+            return mimeType;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public synchronized int getEncodedLength() {
+            return buffer != null ? buffer.size() : 0;
+        }
+
+        /**
+         * data URL 的前缀，例如 data:image/webp;base64,
+         */
+        public String getDataUrlPrefix() {
+            return "data:" + mimeType + ";base64,";
+        }
+
+        /**
+         * Base64（NO_WRAP）编码后的长度
+         */
+        public long getBase64Length() {
+            return base64Length(getEncodedLength());
+        }
+
+        /**
+         * 把 Base64 编码直接写入输出流，不关闭 out
+         */
+        public synchronized void writeBase64To(OutputStream out) throws IOException {
+            if (buffer == null) {
+                throw new IOException("图片缓冲区已释放");
+            }
+            Base64OutputStream base64 = new Base64OutputStream(new NonClosingOutputStream(out), Base64.NO_WRAP);
+            base64.write(buffer.array(), 0, buffer.size());
+            // close 才会写出末尾的补位字符，底层流不会被关闭
+            base64.close();
+        }
+
+        /**
+         * 生成完整的 data URL 字符串（仅用于调试或不支持流式写入的场景）
+         */
+        public synchronized String toDataUrl() {
+            if (buffer == null) {
+                return "";
+            }
+            return getDataUrlPrefix() + Base64.encodeToString(buffer.array(), 0, buffer.size(), Base64.NO_WRAP);
+        }
+
+        /**
+         * 归还缓冲区，可重复调用
+         */
+        public synchronized void release() {
+            if (buffer != null) {
+                owner.recycle(buffer);
+                buffer = null;
+            }
+        }
+    }
+
+    private final Config config;
+    private final ArrayDeque<PooledBuffer> bufferPool = new ArrayDeque<>();
+    private final Paint scalePaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+    // 复用的缩放目标位图，尺寸不变时无需重新分配
+    private Bitmap scaledBitmap;
+    private MetricsListener metricsListener;
+    private volatile EncodeMetrics lastMetrics;
+
+    public ScreenshotEncoder() {
+        this(Config.defaults());
+    }
+
+    public ScreenshotEncoder(Config config) {
+        this.config = config;
+    }
+
+    public void setMetricsListener(MetricsListener listener) {
+        this.metricsListener = listener;
+    }
+
+    public EncodeMetrics getLastMetrics() {
+        return lastMetrics;
+    }
+
+    /**
+     * 编码截图
+     */
+    public synchronized EncodedImage encode(Bitmap source) throws IOException {
+        EncodeMetrics metrics = new EncodeMetrics();
+        metrics.sourceWidth = source.getWidth();
+        metrics.sourceHeight = source.getHeight();
+        metrics.sourceBytes = source.getByteCount();
+
+        long start = SystemClock.elapsedRealtime();
+        Bitmap target = scale(source);
+        metrics.targetWidth = target.getWidth();
+        metrics.targetHeight = target.getHeight();
+        metrics.scaledBytes = target.getByteCount();
+        metrics.scaleMs = SystemClock.elapsedRealtime() - start;
+
+        start = SystemClock.elapsedRealtime();
+        PooledBuffer buffer = obtainBuffer();
+        if (!target.compress(config.format.toCompressFormat(), config.quality, buffer)) {
+            recycle(buffer);
+            throw new IOException("截图压缩失败");
+        }
+        metrics.compressMs = SystemClock.elapsedRealtime() - start;
+        metrics.encodedBytes = buffer.size();
+        metrics.base64Bytes = base64Length(buffer.size());
+
+        lastMetrics = metrics;
+        Log.d(TAG, metrics.toString());
+        if (metricsListener != null) {
+            metricsListener.onEncoded(metrics);
+        }
+        return new EncodedImage(this, buffer, config.format.mimeType, metrics.targetWidth, metrics.targetHeight);
+    }
+
+    /**
+     * 释放复用的位图和缓冲区
+     */
+    public synchronized void clear() {
+        if (scaledBitmap != null) {
+            scaledBitmap.recycle();
+            scaledBitmap = null;
+        }
+        synchronized (bufferPool) {
+            bufferPool.clear();
+        }
+    }
+
+    private Bitmap scale(Bitmap source) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        int longEdge = Math.max(width, height);
+        if (config.maxLongEdge <= 0 || longEdge <= config.maxLongEdge) {
+            return source;
+        }
+
+        float ratio = (float) config.maxLongEdge / longEdge;
+        int targetWidth = Math.max(1, Math.round(width * ratio));
+        int targetHeight = Math.max(1, Math.round(height * ratio));
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O
+                && source.getConfig() == Bitmap.Config.HARDWARE) {
+            // 硬件位图不能绘制到软件 Canvas
+            return Bitmap.createScaledBitmap(source, targetWidth, targetHeight, true);
+        }
+
+        if (scaledBitmap == null || scaledBitmap.isRecycled()
+                || scaledBitmap.getWidth() != targetWidth || scaledBitmap.getHeight() != targetHeight) {
+            if (scaledBitmap != null) {
+                scaledBitmap.recycle();
+            }
+            scaledBitmap = Bitmap.createBitmap(targetWidth, targetHeight, Bitmap.Config.ARGB_8888);
+        }
+        Canvas canvas = new Canvas(scaledBitmap);
+        canvas.drawBitmap(source, null, new Rect(0, 0, targetWidth, targetHeight), scalePaint);
+        return scaledBitmap;
+    }
+
+    private PooledBuffer obtainBuffer() {
+        synchronized (bufferPool) {
+            PooledBuffer buffer = bufferPool.pollFirst();
+            if (buffer != null) {
+                buffer.reset();
+                return buffer;
+            }
+        }
+        return new PooledBuffer(INITIAL_BUFFER_SIZE);
+    }
+
+    void recycle(PooledBuffer buffer) {
+        synchronized (bufferPool) {
+            if (bufferPool.size() < MAX_POOLED_BUFFERS) {
+                bufferPool.addLast(buffer);
+            }
+        }
+    }
+
+    static long base64Length(long length) {
+        return (length + 2) / 3 * 4;
+    }
+
+    /**
+     * 可直接访问内部数组的输出流，避免 toByteArray() 复制
+     */
+    static class PooledBuffer extends ByteArrayOutputStream {
+        PooledBuffer(int size) {
+            super(size);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
+
+    /**
+     * close() 只刷新、不关闭底层流
+     */
+    private static class NonClosingOutputStream extends FilterOutputStream {
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
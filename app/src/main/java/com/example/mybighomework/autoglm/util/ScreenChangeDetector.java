@@ -0,0 +1,180 @@
+package com.example.mybighomework.autoglm.util;
+
+import android.graphics.Bitmap;
+
+/**
+ * 屏幕变化检测器
+ * 把截图划分为网格，对每个网格采样计算平均亮度作为签名，
+ * 比较相邻两次截图的签名判断屏幕是否发生了有效变化
+ *
+ * 只采样少量像素（默认 64x128 个点），单次计算在毫秒级
+ */
+public class ScreenChangeDetector {
+
+    /**
+     * 检测配置
+     */
+    public static class Config {
+        // 网格列数和行数
+        public int tileColumns = 16;
+        public int tileRows = 32;
+        // 每个网格每个方向的采样点数
+        public int samplesPerTile = 4;
+        // 单个网格亮度差超过该值（0~255）视为该网格变化
+        public int tileDiffThreshold = 10;
+        // 变化网格数达到该值才认为屏幕变化，用于忽略加载动画等小区域变化
+        public int minChangedTiles = 2;
+        // 忽略顶部区域的比例（状态栏时间、电量会不断变化）
+        public float ignoreTopRatio = 0.04f;
+
+        public static Config defaults() {
+            return new Config();
+        }
+    }
+
+    /**
+     * 截图签名：每个网格的平均亮度
+     */
+    public static class Signature {
+        final int columns;
+        final int rows;
+        final int[] luma;
+
+        Signature(int columns, int rows, int[] luma) {
+            this.columns = columns;
+            this.rows = rows;
+            this.luma = luma;
+        }
+    }
+
+    /**
+     * 比较结果
+     */
+    public static class Diff {
+        public final int changedTiles;
+        public final int totalTiles;
+        public final int maxDelta;
+        public final boolean changed;
+
+        Diff(int changedTiles, int totalTiles, int maxDelta, boolean changed) {
+            this.changedTiles = changedTiles;
+            this.totalTiles = totalTiles;
+            this.maxDelta = maxDelta;
+            this.changed = changed;
+        }
+
+        @Override
+        public String toString() {
+            return "Diff{changedTiles=" + changedTiles + "/" + totalTiles +
+                    ", maxDelta=" + maxDelta + ", changed=" + changed + '}';
+        }
+    }
+
+    /**
+     * 按行读取像素
+     */
+    private interface RowReader {
+        void readRow(int y, int[] row);
+    }
+
+    private final Config config;
+
+    public ScreenChangeDetector() {
+        this(Config.defaults());
+    }
+
+    public ScreenChangeDetector(Config config) {
+        this.config = config;
+    }
+
+    public Config getConfig() {
+        return config;
+    }
+
+    /**
+     * 计算截图签名
+     */
+    public Signature compute(Bitmap bitmap) {
+        int width = bitmap.getWidth();
+        return compute(width, bitmap.getHeight(),
+                (y, row) -> bitmap.getPixels(row, 0, width, 0, y, width, 1));
+    }
+
+    /**
+     * 计算 ARGB 像素数组的签名
+     */
+    public Signature compute(int[] pixels, int width, int height) {
+        return compute(width, height, (y, row) -> System.arraycopy(pixels, y * width, row, 0, width));
+    }
+
+    /**
+     * 比较两个签名
+     */
+    public Diff compare(Signature previous, Signature current) {
+        if (previous == null || current == null
+                || previous.columns != current.columns || previous.rows != current.rows) {
+            int total = current != null ? current.luma.length : 0;
+            return new Diff(total, total, 255, true);
+        }
+
+        int changedTiles = 0;
+        int maxDelta = 0;
+        for (int i = 0; i < current.luma.length; i++) {
+            int delta = Math.abs(current.luma[i] - previous.luma[i]);
+            maxDelta = Math.max(maxDelta, delta);
+            if (delta > config.tileDiffThreshold) {
+                changedTiles++;
+            }
+        }
+        return new Diff(changedTiles, current.luma.length, maxDelta, changedTiles >= config.minChangedTiles);
+    }
+
+    /**
+     * 屏幕是否发生了有效变化
+     */
+    public boolean isChanged(Signature previous, Signature current) {
+        return compare(previous, current).changed;
+    }
+
+    private Signature compute(int width, int height, RowReader reader) {
+        int columns = config.tileColumns;
+        int rows = config.tileRows;
+        int sampleColumns = columns * config.samplesPerTile;
+        int sampleRows = rows * config.samplesPerTile;
+
+        int top = Math.min(height - 1, Math.round(height * config.ignoreTopRatio));
+        int usableHeight = height - top;
+
+        long[] sums = new long[columns * rows];
+        int[] counts = new int[columns * rows];
+        int[] row = new int[width];
+
+        for (int r = 0; r < sampleRows; r++) {
+            int y = top + (int) ((r + 0.5f) * usableHeight / sampleRows);
+            reader.readRow(Math.min(y, height - 1), row);
+            int tileRow = r * rows / sampleRows;
+            for (int c = 0; c < sampleColumns; c++) {
+                int x = Math.min(width - 1, (int) ((c + 0.5f) * width / sampleColumns));
+                int tile = tileRow * columns + c * columns / sampleColumns;
+                sums[tile] += luma(row[x]);
+                counts[tile]++;
+            }
+        }
+
+        int[] luma = new int[sums.length];
+        for (int i = 0; i < sums.length; i++) {
+            luma[i] = counts[i] > 0 ? (int) (sums[i] / counts[i]) : 0;
+        }
+        return new Signature(columns, rows, luma);
+    }
+
+    /**
+     * ITU-R BT.601 亮度的整数近似
+     */
+    private static int luma(int argb) {
+        int r = (argb >> 16) & 0xFF;
+        int g = (argb >> 8) & 0xFF;
+        int b = argb & 0xFF;
+        return (r * 77 + g * 150 + b * 29) >> 8;
+    }
+}
@@ -12,6 +12,7 @@ import androidx.sqlite.db.SupportSQLiteDatabase;
 import com.example.mybighomework.database.converter.DateConverter;
 import com.example.mybighomework.database.converter.StringArrayConverter;
 import com.example.mybighomework.database.dao.BookDao;
+import com.example.mybighomework.database.dao.ChatSessionDao;
 import com.example.mybighomework.database.dao.BookWordRelationDao;
 import com.example.mybighomework.database.dao.DailySentenceDao;
 import com.example.mybighomework.database.dao.DailyTaskDao;
@@ -22,9 +23,12 @@ import com.example.mybighomework.database.dao.ExamProgressDao;
 import com.example.mybighomework.database.dao.ExamResultDao;
 import com.example.mybighomework.database.dao.QuestionDao;
 import com.example.mybighomework.database.dao.QuestionNoteDao;
+import com.example.mybighomework.database.dao.ReviewParamsDao;
 import com.example.mybighomework.database.dao.StudyPhaseDao;
 import com.example.mybighomework.database.dao.StudyPlanDao;
 import com.example.mybighomework.database.dao.StudyRecordDao;
+import com.example.mybighomework.database.dao.StudyStatsDao;
+import com.example.mybighomework.database.dao.TranslationCacheDao;
 import com.example.mybighomework.database.dao.TranslationHistoryDao;
 import com.example.mybighomework.database.dao.UserDao;
 import com.example.mybighomework.database.dao.UserSettingsDao;
@@ -32,10 +36,15 @@ import com.example.mybighomework.database.dao.VocabularyDao;
 import com.example.mybighomework.database.dao.WordLearningProgressDao;
 import com.example.mybighomework.database.dao.WrongQuestionDao;
 import com.example.mybighomework.database.entity.BookEntity;
+import com.example.mybighomework.database.entity.BookMasteryStatsEntity;
+import com.example.mybighomework.database.entity.ChatMessageEntity;
+import com.example.mybighomework.database.entity.ChatSessionEntity;
 import com.example.mybighomework.database.entity.BookWordRelationEntity;
 import com.example.mybighomework.database.entity.DailySentenceEntity;
+import com.example.mybighomework.database.entity.DailyStudyStatsEntity;
 import com.example.mybighomework.database.entity.DailyTaskEntity;
 import com.example.mybighomework.database.entity.DictionaryWordEntity;
+import com.example.mybighomework.database.entity.DictionaryWordFtsEntity;
 
 import java.util.List;
 import com.example.mybighomework.database.entity.DailyTaskEntity;
@@ -45,9 +54,12 @@ import com.example.mybighomework.database.entity.ExamRecordEntity;
 import com.example.mybighomework.database.entity.ExamResultEntity;
 import com.example.mybighomework.database.entity.QuestionEntity;
 import com.example.mybighomework.database.entity.QuestionNoteEntity;
+import com.example.mybighomework.database.entity.ReviewParamsEntity;
 import com.example.mybighomework.database.entity.StudyPhaseEntity;
 import com.example.mybighomework.database.entity.StudyPlanEntity;
 import com.example.mybighomework.database.entity.StudyRecordEntity;
+import com.example.mybighomework.database.entity.StudySummaryEntity;
+import com.example.mybighomework.database.entity.TranslationCacheEntity;
 import com.example.mybighomework.database.entity.TranslationHistoryEntity;
 import com.example.mybighomework.database.entity.UserEntity;
 import com.example.mybighomework.database.entity.UserSettingsEntity;
@@ -60,6 +72,7 @@ import com.example.mybighomework.database.entity.SearchHistoryEntity;
 import com.example.mybighomework.database.dao.ExampleSentenceDao;
 import com.example.mybighomework.database.dao.UserWordCollectionDao;
 import com.example.mybighomework.database.dao.SearchHistoryDao;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 
 @Database(
     entities = {
@@ -87,9 +100,22 @@ import com.example.mybighomework.database.dao.SearchHistoryDao;
         // 单词搜索功能相关实体
         ExampleSentenceEntity.class,
         UserWordCollectionEntity.class,
-        SearchHistoryEntity.class
+        SearchHistoryEntity.class,
+        // 翻译结果缓存
+        TranslationCacheEntity.class,
+        // AI对话会话
+        ChatSessionEntity.class,
+        ChatMessageEntity.class,
+        // 学习统计汇总表
+        DailyStudyStatsEntity.class,
+        BookMasteryStatsEntity.class,
+        StudySummaryEntity.class,
+        // 复习调度参数
+        ReviewParamsEntity.class,
+        // 词典全文索引
+        DictionaryWordFtsEntity.class
     },
-    version = 21,
+    version = 28,
     exportSchema = false
 )
 @TypeConverters({DateConverter.class, StringArrayConverter.class})
@@ -98,6 +124,9 @@ public abstract class AppDatabase extends RoomDatabase {
     private static volatile AppDatabase INSTANCE;
     private static final String DATABASE_NAME = "english_learning_db";
 
+    private volatile RandomSamplerYSJ randomSampler;
+    private final Object randomSamplerLock = new Object();
+
     // 数据库迁移：版本8到9，添加 totalStudyTime
     static final Migration MIGRATION_8_9 = new Migration(8, 9) {
         @Override
@@ -441,6 +470,110 @@ public abstract class AppDatabase extends RoomDatabase {
             database.execSQL("CREATE INDEX IF NOT EXISTS index_search_history_userId ON search_history(userId)");
         }
     };
+
+    // 版本21到22：添加翻译结果缓存表
+    static final Migration MIGRATION_21_22 = new Migration(21, 22) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS translation_cache (" +
+                "cacheKey TEXT NOT NULL PRIMARY KEY, " +
+                "originalText TEXT, " +
+                "translatedText TEXT, " +
+                "payloadPath TEXT, " +
+                "sizeBytes INTEGER NOT NULL DEFAULT 0, " +
+                "createdTime INTEGER NOT NULL DEFAULT 0, " +
+                "lastAccessTime INTEGER NOT NULL DEFAULT 0)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS index_translation_cache_lastAccessTime ON translation_cache(lastAccessTime)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS index_translation_cache_createdTime ON translation_cache(createdTime)");
+        }
+    };
+
+    // 版本22到23：添加AI对话会话表和消息表
+    static final Migration MIGRATION_22_23 = new Migration(22, 23) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS chat_sessions (" +
+                "id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                "title TEXT, " +
+                "createdTime INTEGER NOT NULL DEFAULT 0, " +
+                "updatedTime INTEGER NOT NULL DEFAULT 0, " +
+                "summary TEXT, " +
+                "summaryUpToMessageId INTEGER NOT NULL DEFAULT 0)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS index_chat_sessions_updatedTime ON chat_sessions(updatedTime)");
+
+            database.execSQL("CREATE TABLE IF NOT EXISTS chat_messages (" +
+                "id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                "sessionId INTEGER NOT NULL, " +
+                "role TEXT, " +
+                "content TEXT, " +
+                "timestamp INTEGER NOT NULL DEFAULT 0, " +
+                "FOREIGN KEY(sessionId) REFERENCES chat_sessions(id) ON DELETE CASCADE)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS index_chat_messages_sessionId_id ON chat_messages(sessionId, id)");
+        }
+    };
+
+    // 数据库迁移：版本23到24，添加学习统计汇总表（触发器增量维护），并从已有记录回填
+    static final Migration MIGRATION_23_24 = new Migration(23, 24) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            StudyStatsSchema.createTables(database);
+            StudyStatsSchema.install(database);
+            StudyStatsSchema.backfill(database);
+        }
+    };
+
+    // 数据库迁移：版本24到25，单词进度添加调度算法的记忆状态，添加复习调度参数表
+    static final Migration MIGRATION_24_25 = new Migration(24, 25) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE word_learning_progress ADD COLUMN stability REAL NOT NULL DEFAULT 0");
+            database.execSQL("ALTER TABLE word_learning_progress ADD COLUMN difficulty REAL NOT NULL DEFAULT 0");
+            database.execSQL("CREATE TABLE IF NOT EXISTS review_params (" +
+                "userId TEXT NOT NULL, " +
+                "algorithm TEXT, " +
+                "requestRetention REAL NOT NULL DEFAULT 0.9, " +
+                "maximumIntervalDays INTEGER NOT NULL DEFAULT 365, " +
+                "relearnMinutes INTEGER NOT NULL DEFAULT 10, " +
+                "fsrsWeights TEXT, " +
+                "PRIMARY KEY(userId))");
+        }
+    };
+
+    // 数据库迁移：版本25到26，添加词典全文索引，并为已导入的词典建立索引
+    static final Migration MIGRATION_25_26 = new Migration(25, 26) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            DictionarySearchSchema.createTable(database);
+            DictionarySearchSchema.rebuild(database);
+        }
+    };
+
+    // 数据库迁移：版本26到27，考试进度添加试卷标识和答题日志快照
+    static final Migration MIGRATION_26_27 = new Migration(26, 27) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE exam_progress ADD COLUMN examKey TEXT");
+            database.execSQL("ALTER TABLE exam_progress ADD COLUMN answerSnapshot BLOB");
+        }
+    };
+
+    // 数据库迁移：版本27到28，错题添加自然键（来源 + 题目内容的哈希）并合并重复的错题
+    static final Migration MIGRATION_27_28 = new Migration(27, 28) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            WrongQuestionSchema.migrate(database);
+        }
+    };
+
+    /**
+     * 新建数据库时创建统计触发器（升级的数据库在 MIGRATION_23_24 中创建）
+     */
+    public static final RoomDatabase.Callback STUDY_STATS_CALLBACK = new RoomDatabase.Callback() {
+        @Override
+        public void onCreate(SupportSQLiteDatabase db) {
+            StudyStatsSchema.install(db);
+        }
+    };
     
 
     /**
@@ -448,7 +581,7 @@ public abstract class AppDatabase extends RoomDatabase {
      * 对于actionType为空的任务，根据任务内容智能推断
      */
     public static void fixOldTasksActionType(Context context) {
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO(AppExecutorsYSJ.Priority.BACKGROUND).execute(() -> {
             try {
                 android.util.Log.d("AppDatabase", "========== 开始修复旧任务 ==========");
                 AppDatabase db = getInstance(context);
@@ -502,7 +635,7 @@ public abstract class AppDatabase extends RoomDatabase {
             } catch (Exception e) {
                 android.util.Log.e("AppDatabase", "修复旧任务失败", e);
             }
-        }).start();
+        });
     }
 
     public abstract StudyPlanDao studyPlanDao();
@@ -531,6 +664,28 @@ public abstract class AppDatabase extends RoomDatabase {
     public abstract ExampleSentenceDao exampleSentenceDao();
     public abstract UserWordCollectionDao userWordCollectionDao();
     public abstract SearchHistoryDao searchHistoryDao();
+    // 翻译结果缓存DAO
+    public abstract TranslationCacheDao translationCacheDao();
+    // AI对话会话DAO
+    public abstract ChatSessionDao chatSessionDao();
+    // 学习统计汇总DAO
+    public abstract StudyStatsDao studyStatsDao();
+    // 复习调度参数DAO
+    public abstract ReviewParamsDao reviewParamsDao();
+
+    /**
+     * 本数据库的随机抽样服务（替代 ORDER BY RANDOM()），第一次调用时创建，需在后台线程调用
+     */
+    public RandomSamplerYSJ randomSampler() {
+        if (randomSampler == null) {
+            synchronized (randomSamplerLock) {
+                if (randomSampler == null) {
+                    randomSampler = new RandomSamplerYSJ(this);
+                }
+            }
+        }
+        return randomSampler;
+    }
 
     public static AppDatabase getInstance(Context context) {
         if (INSTANCE == null) {
@@ -554,8 +709,16 @@ public abstract class AppDatabase extends RoomDatabase {
                         MIGRATION_17_18,
                         MIGRATION_18_19,
                         MIGRATION_19_20,
-                        MIGRATION_20_21
+                        MIGRATION_20_21,
+                        MIGRATION_21_22,
+                        MIGRATION_22_23,
+                        MIGRATION_23_24,
+                        MIGRATION_24_25,
+                        MIGRATION_25_26,
+                        MIGRATION_26_27,
+                        MIGRATION_27_28
                     )
+                    .addCallback(STUDY_STATS_CALLBACK)
                     .build();
 
                     initializeDefaultSettingsAsync(INSTANCE);
@@ -566,7 +729,7 @@ public abstract class AppDatabase extends RoomDatabase {
     }
 
     private static void initializeDefaultSettingsAsync(AppDatabase database) {
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
             try {
                 UserSettingsEntity settings = database.userSettingsDao().getUserSettings();
                 if (settings == null) {
@@ -576,7 +739,7 @@ public abstract class AppDatabase extends RoomDatabase {
             } catch (Exception e) {
                 e.printStackTrace();
             }
-        }).start();
+        });
     }
 
     public static void destroyInstance() {
@@ -0,0 +1,47 @@
+package com.example.mybighomework.database;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+/**
+ * 词典全文索引的建表和维护
+ *
+ * dictionary_words_fts 是 dictionary_words 的 FTS4 外部内容索引，由 Room 生成的触发器随增删改同步。
+ * 注意 REPLACE 删除旧行时不触发 DELETE 触发器（未开启 recursive_triggers），旧行的词条会残留在索引中，
+ * 所以 DictionaryWordDao 的插入使用 @Upsert
+ */
+public final class DictionarySearchSchema {
+
+    private static final String FTS_TABLE = "dictionary_words_fts";
+
+    private DictionarySearchSchema() {
+    }
+
+    /**
+     * 创建全文索引表和 Room 的同步触发器（仅迁移时使用，新安装由 Room 建表），SQL 与 Room 生成的一致
+     */
+    static void createTable(SupportSQLiteDatabase db) {
+        db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `" + FTS_TABLE + "` USING FTS4(" +
+            "`word` TEXT, `translation` TEXT, tokenize=unicode61, content=`dictionary_words`)");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_" + FTS_TABLE + "_BEFORE_UPDATE " +
+            "BEFORE UPDATE ON `dictionary_words` BEGIN " +
+            "DELETE FROM `" + FTS_TABLE + "` WHERE `docid`=OLD.`rowid`; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_" + FTS_TABLE + "_BEFORE_DELETE " +
+            "BEFORE DELETE ON `dictionary_words` BEGIN " +
+            "DELETE FROM `" + FTS_TABLE + "` WHERE `docid`=OLD.`rowid`; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_" + FTS_TABLE + "_AFTER_UPDATE " +
+            "AFTER UPDATE ON `dictionary_words` BEGIN " +
+            "INSERT INTO `" + FTS_TABLE + "`(`docid`, `word`, `translation`) " +
+            "VALUES (NEW.`rowid`, NEW.`word`, NEW.`translation`); END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_" + FTS_TABLE + "_AFTER_INSERT " +
+            "AFTER INSERT ON `dictionary_words` BEGIN " +
+            "INSERT INTO `" + FTS_TABLE + "`(`docid`, `word`, `translation`) " +
+            "VALUES (NEW.`rowid`, NEW.`word`, NEW.`translation`); END");
+    }
+
+    /**
+     * 按 dictionary_words 的当前内容重建索引（升级时为已导入的词典建立索引）
+     */
+    static void rebuild(SupportSQLiteDatabase db) {
+        db.execSQL("INSERT INTO " + FTS_TABLE + "(" + FTS_TABLE + ") VALUES('rebuild')");
+    }
+}
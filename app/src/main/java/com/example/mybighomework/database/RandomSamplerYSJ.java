@@ -0,0 +1,244 @@
+package com.example.mybighomework.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.InvalidationTracker;
+
+import com.example.mybighomework.database.dao.DictionaryWordDao;
+import com.example.mybighomework.database.dao.QuestionDao;
+import com.example.mybighomework.database.entity.DictionaryWordEntity;
+import com.example.mybighomework.database.entity.QuestionEntity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 随机抽样服务，替代 ORDER BY RANDOM() LIMIT k
+ * ORDER BY RANDOM() 每次都要扫描全部符合条件的行并排序，题库和词典越大越慢。这里改为：
+ * 1. 每种过滤条件第一次抽样时只查询符合条件的 id，缓存在内存中
+ * 2. 在 id 列表上用 Floyd 算法抽取 k 个不同下标，O(k)
+ * 3. 用一条 WHERE id IN (...) 按主键取出这 k 行，并按过滤条件复核
+ * 通过 Room 的 InvalidationTracker 监听 questions / dictionary_words 表，任何写入都会丢弃该表的缓存；
+ * 失效通知送达之前取到的行如果已被删除或不再符合条件，会丢弃缓存重新抽样一次。
+ * 每个数据库实例一个，通过 {@link AppDatabase#randomSampler()} 获取。所有方法需在后台线程调用
+ */
+public class RandomSamplerYSJ {
+
+    private static final String TABLE_QUESTIONS = "questions";
+    private static final String TABLE_DICTIONARY_WORDS = "dictionary_words";
+
+    // 单次抽样数量上限，保证 IN 查询不超过 SQLite 变量上限（999）
+    static final int MAX_SAMPLE_SIZE = 500;
+
+    private final QuestionDao questionDao;
+    private final DictionaryWordDao wordDao;
+    private final Random random;
+
+    private final Object lock = new Object();
+    // 表名 → (过滤条件 → 符合条件的 id 列表)
+    private final Map<String, Map<String, List<?>>> pools = new HashMap<>();
+    // 每次失效加一，避免把失效前开始加载的 id 列表放进缓存
+    private long generation;
+
+    RandomSamplerYSJ(AppDatabase database) {
+        this(database, new Random());
+    }
+
+    RandomSamplerYSJ(AppDatabase database, Random random) {
+        this.questionDao = database.questionDao();
+        this.wordDao = database.dictionaryWordDao();
+        this.random = random;
+        database.getInvalidationTracker().addObserver(
+                new InvalidationTracker.Observer(TABLE_QUESTIONS, TABLE_DICTIONARY_WORDS) {
+                    @Override
+                    public void onInvalidated(@NonNull Set<String> tables) {
+                        for (String table : tables) {
+                            invalidate(table);
+                        }
+                    }
+                });
+    }
+
+    // ==================== 题目 ====================
+
+    public List<QuestionEntity> randomQuestionsByCategoryAndType(String category, String examType, int limit) {
+        return sample(TABLE_QUESTIONS, "category_type\u0000" + category + "\u0000" + examType,
+                () -> questionDao.getQuestionIdsByCategoryAndType(category, examType),
+                questionDao::getQuestionsByIds, QuestionEntity::getId,
+                q -> q.isActive() && equal(category, q.getCategory()) && equal(examType, q.getExamType()),
+                null, limit);
+    }
+
+    public List<QuestionEntity> randomQuestionsByCategoryAndDifficulty(String category, String difficulty, int limit) {
+        return sample(TABLE_QUESTIONS, "category_difficulty\u0000" + category + "\u0000" + difficulty,
+                () -> questionDao.getQuestionIdsByCategoryAndDifficulty(category, difficulty),
+                questionDao::getQuestionsByIds, QuestionEntity::getId,
+                q -> q.isActive() && equal(category, q.getCategory()) && equal(difficulty, q.getDifficulty()),
+                null, limit);
+    }
+
+    public List<QuestionEntity> randomQuestionsByExamType(String examType, int limit) {
+        return sample(TABLE_QUESTIONS, "type\u0000" + examType,
+                () -> questionDao.getQuestionIdsByExamType(examType),
+                questionDao::getQuestionsByIds, QuestionEntity::getId,
+                q -> q.isActive() && equal(examType, q.getExamType()),
+                null, limit);
+    }
+
+    /**
+     * 随机抽取还没有练习过的题目
+     */
+    public List<QuestionEntity> unpracticedQuestions(int limit) {
+        return sample(TABLE_QUESTIONS, "unpracticed",
+                questionDao::getUnpracticedQuestionIds,
+                questionDao::getQuestionsByIds, QuestionEntity::getId,
+                q -> q.isActive() && q.getTotalAttempts() == 0,
+                null, limit);
+    }
+
+    /**
+     * 随机抽取正确率在 [minRate, maxRate] 之间、至少作答 minAttempts 次的题目
+     */
+    public List<QuestionEntity> questionsByAccuracyRange(double minRate, double maxRate, int minAttempts, int limit) {
+        return sample(TABLE_QUESTIONS, "accuracy\u0000" + minRate + "\u0000" + maxRate + "\u0000" + minAttempts,
+                () -> questionDao.getQuestionIdsByAccuracyRange(minRate, maxRate, minAttempts),
+                questionDao::getQuestionsByIds, QuestionEntity::getId,
+                q -> q.isActive() && q.getAccuracyRate() >= minRate && q.getAccuracyRate() <= maxRate
+                        && q.getTotalAttempts() >= minAttempts,
+                null, limit);
+    }
+
+    // ==================== 词典 ====================
+
+    public List<DictionaryWordEntity> randomWords(int limit) {
+        return randomWordsExcluding(null, limit);
+    }
+
+    /**
+     * 随机抽取单词，excludeWordId 为空时不排除
+     */
+    public List<DictionaryWordEntity> randomWordsExcluding(String excludeWordId, int limit) {
+        return sample(TABLE_DICTIONARY_WORDS, "all",
+                wordDao::getAllWordIds,
+                wordDao::getWordsByIdsSync, DictionaryWordEntity::getId,
+                word -> true,
+                excludeWordId, limit);
+    }
+
+    // ==================== 缓存 ====================
+
+    /**
+     * 丢弃一张表的全部 id 缓存
+     */
+    public void invalidate(String table) {
+        synchronized (lock) {
+            pools.remove(table);
+            generation++;
+        }
+    }
+
+    /**
+     * 当前缓存的过滤条件数，供测试使用
+     */
+    int cachedPoolCount(String table) {
+        synchronized (lock) {
+            Map<String, List<?>> tablePools = pools.get(table);
+            return tablePools != null ? tablePools.size() : 0;
+        }
+    }
+
+    private <K, E> List<E> sample(String table, String filter, Supplier<List<K>> idLoader,
+                                  Function<List<K>, List<E>> fetcher, Function<E, K> keyOf,
+                                  Predicate<E> matches, K excluded, int limit) {
+        limit = Math.min(limit, MAX_SAMPLE_SIZE);
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        for (int attempt = 0; ; attempt++) {
+            List<K> picked = pick(pool(table, filter, idLoader), limit, excluded, random);
+            if (picked.isEmpty()) {
+                return new ArrayList<>();
+            }
+            Map<K, E> byKey = new HashMap<>();
+            for (E row : fetcher.apply(picked)) {
+                if (matches.test(row)) {
+                    byKey.put(keyOf.apply(row), row);
+                }
+            }
+            if (byKey.size() < picked.size() && attempt == 0) {
+                // 缓存的 id 已被删除或修改（失效通知还没送达），丢弃缓存重新抽样
+                invalidate(table);
+                continue;
+            }
+            // 按抽样顺序排列，IN 查询的结果按主键排序
+            List<E> result = new ArrayList<>(byKey.size());
+            for (K key : picked) {
+                E row = byKey.get(key);
+                if (row != null) {
+                    result.add(row);
+                }
+            }
+            return result;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <K> List<K> pool(String table, String filter, Supplier<List<K>> idLoader) {
+        long loadGeneration;
+        synchronized (lock) {
+            Map<String, List<?>> tablePools = pools.get(table);
+            List<?> cached = tablePools != null ? tablePools.get(filter) : null;
+            if (cached != null) {
+                return (List<K>) cached;
+            }
+            loadGeneration = generation;
+        }
+        List<K> ids = idLoader.get();
+        synchronized (lock) {
+            if (generation == loadGeneration) {
+                Map<String, List<?>> tablePools = pools.get(table);
+                if (tablePools == null) {
+                    tablePools = new HashMap<>();
+                    pools.put(table, tablePools);
+                }
+                tablePools.put(filter, ids);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Floyd 算法从 pool 中抽取 count 个不同元素（跳过 excluded），结果顺序随机
+     */
+    static <K> List<K> pick(List<K> pool, int count, K excluded, Random random) {
+        int n = pool.size();
+        int draw = Math.min(n, excluded != null ? count + 1 : count);
+        Set<Integer> chosen = new HashSet<>(draw * 2);
+        List<K> picked = new ArrayList<>(draw);
+        for (int j = n - draw; j < n; j++) {
+            int index = random.nextInt(j + 1);
+            if (!chosen.add(index)) {
+                index = j;
+                chosen.add(j);
+            }
+            K key = pool.get(index);
+            if (excluded == null || !excluded.equals(key)) {
+                picked.add(key);
+            }
+        }
+        Collections.shuffle(picked, random);
+        return picked.size() > count ? new ArrayList<>(picked.subList(0, count)) : picked;
+    }
+
+    private static boolean equal(String expected, String actual) {
+        return expected != null && expected.equals(actual);
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.mybighomework.database;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+/**
+ * 学习统计汇总表的触发器和数据回填
+ *
+ * daily_study_stats、book_mastery_stats、study_summary 三张表由 SQLite 触发器维护：
+ * 写入 study_records、word_learning_progress、vocabulary_records、exam_records 时，
+ * 在同一事务内增量更新对应计数。所有写入入口（仓库、Activity、StudyWriteJournal）都不需要额外调用，
+ * 统计页面只读汇总表，查询开销与历史记录数量无关
+ *
+ * 学习天数和连续天数只随新日期增加，清理旧答题记录不会减少
+ */
+public final class StudyStatsSchema {
+
+    private static final String RECORD_DAY_NEW =
+        "strftime('%Y-%m-%d', NEW.studyDate / 1000, 'unixepoch', 'localtime')";
+    private static final String RECORD_DAY_OLD =
+        "strftime('%Y-%m-%d', OLD.studyDate / 1000, 'unixepoch', 'localtime')";
+
+    // 触发器内的语句会继承外层语句的冲突策略（REPLACE 插入时 INSERT OR IGNORE 会变成覆盖），
+    // 所以汇总行不存在时用 NOT EXISTS 判断后再插入
+    private static final String ENSURE_BOOK_ROW =
+        "INSERT INTO book_mastery_stats (userId, bookId, learnedCount, masteredCount) " +
+        "SELECT COALESCE(NEW.userId, ''), COALESCE(NEW.bookId, ''), 0, 0 " +
+        "WHERE NOT EXISTS (SELECT 1 FROM book_mastery_stats " +
+        "WHERE userId = COALESCE(NEW.userId, '') AND bookId = COALESCE(NEW.bookId, '')); ";
+
+    private StudyStatsSchema() {
+    }
+
+    /**
+     * 创建汇总表（仅迁移时使用，新安装由 Room 建表）
+     */
+    static void createTables(SupportSQLiteDatabase db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS daily_study_stats (" +
+            "day TEXT NOT NULL, " +
+            "module TEXT NOT NULL, " +
+            "answerCount INTEGER NOT NULL DEFAULT 0, " +
+            "correctCount INTEGER NOT NULL DEFAULT 0, " +
+            "totalResponseTime INTEGER NOT NULL DEFAULT 0, " +
+            "PRIMARY KEY(day, module))");
+        db.execSQL("CREATE TABLE IF NOT EXISTS book_mastery_stats (" +
+            "userId TEXT NOT NULL, " +
+            "bookId TEXT NOT NULL, " +
+            "learnedCount INTEGER NOT NULL DEFAULT 0, " +
+            "masteredCount INTEGER NOT NULL DEFAULT 0, " +
+            "PRIMARY KEY(userId, bookId))");
+        db.execSQL("CREATE TABLE IF NOT EXISTS study_summary (" +
+            "id INTEGER NOT NULL, " +
+            "totalAnswers INTEGER NOT NULL DEFAULT 0, " +
+            "correctAnswers INTEGER NOT NULL DEFAULT 0, " +
+            "totalResponseTime INTEGER NOT NULL DEFAULT 0, " +
+            "studyDays INTEGER NOT NULL DEFAULT 0, " +
+            "currentStreak INTEGER NOT NULL DEFAULT 0, " +
+            "longestStreak INTEGER NOT NULL DEFAULT 0, " +
+            "lastStudyDay TEXT, " +
+            "vocabularyCount INTEGER NOT NULL DEFAULT 0, " +
+            "masteredVocabularyCount INTEGER NOT NULL DEFAULT 0, " +
+            "examCount INTEGER NOT NULL DEFAULT 0, " +
+            "examScoreSum INTEGER NOT NULL DEFAULT 0, " +
+            "PRIMARY KEY(id))");
+    }
+
+    /**
+     * 写入汇总行并创建触发器，可重复调用
+     */
+    public static void install(SupportSQLiteDatabase db) {
+        db.execSQL("INSERT OR IGNORE INTO study_summary (id, totalAnswers, correctAnswers, totalResponseTime, " +
+            "studyDays, currentStreak, longestStreak, lastStudyDay, vocabularyCount, masteredVocabularyCount, " +
+            "examCount, examScoreSum) VALUES (1, 0, 0, 0, 0, 0, 0, NULL, 0, 0, 0, 0)");
+
+        createDailyTriggers(db);
+        createBookTriggers(db);
+        createVocabularyTriggers(db);
+        createExamTriggers(db);
+    }
+
+    /**
+     * 从已有数据计算汇总表（迁移时调用一次，需先 install）
+     */
+    static void backfill(SupportSQLiteDatabase db) {
+        // 按日期顺序插入，由“新的一天”触发器依次累计学习天数和连续天数
+        db.execSQL("INSERT OR IGNORE INTO daily_study_stats (day, module, answerCount, correctCount, totalResponseTime) " +
+            "SELECT strftime('%Y-%m-%d', studyDate / 1000, 'unixepoch', 'localtime') AS d, " +
+            "COALESCE(studyType, 'other') AS m, COUNT(*), SUM(isCorrect), SUM(responseTime) " +
+            "FROM study_records WHERE studyDate IS NOT NULL " +
+            "GROUP BY d, m ORDER BY d ASC");
+
+        db.execSQL("UPDATE study_summary SET " +
+            "totalAnswers = (SELECT COUNT(*) FROM study_records), " +
+            "correctAnswers = (SELECT COUNT(*) FROM study_records WHERE isCorrect = 1), " +
+            "totalResponseTime = (SELECT COALESCE(SUM(responseTime), 0) FROM study_records), " +
+            "vocabularyCount = (SELECT COUNT(*) FROM vocabulary_records), " +
+            "masteredVocabularyCount = (SELECT COUNT(*) FROM vocabulary_records WHERE isMastered = 1), " +
+            "examCount = (SELECT COUNT(*) FROM exam_records), " +
+            "examScoreSum = (SELECT COALESCE(SUM(score), 0) FROM exam_records) " +
+            "WHERE id = 1");
+
+        db.execSQL("INSERT OR IGNORE INTO book_mastery_stats (userId, bookId, learnedCount, masteredCount) " +
+            "SELECT COALESCE(userId, ''), COALESCE(bookId, ''), COUNT(*), SUM(isMastered) " +
+            "FROM word_learning_progress GROUP BY COALESCE(userId, ''), COALESCE(bookId, '')");
+    }
+
+    private static void createDailyTriggers(SupportSQLiteDatabase db) {
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS trg_study_records_stats_insert " +
+            "AFTER INSERT ON study_records BEGIN " +
+            "UPDATE study_summary SET totalAnswers = totalAnswers + 1, " +
+            "correctAnswers = correctAnswers + NEW.isCorrect, " +
+            "totalResponseTime = totalResponseTime + NEW.responseTime WHERE id = 1; " +
+            "INSERT INTO daily_study_stats (day, module, answerCount, correctCount, totalResponseTime) " +
+            "SELECT " + RECORD_DAY_NEW + ", COALESCE(NEW.studyType, 'other'), 0, 0, 0 " +
+            "WHERE NEW.studyDate IS NOT NULL AND NOT EXISTS (SELECT 1 FROM daily_study_stats " +
+            "WHERE day = " + RECORD_DAY_NEW + " AND module = COALESCE(NEW.studyType, 'other')); " +
+            "UPDATE daily_study_stats SET answerCount = answerCount + 1, " +
+            "correctCount = correctCount + NEW.isCorrect, " +
+            "totalResponseTime = totalResponseTime + NEW.responseTime " +
+            "WHERE day = " + RECORD_DAY_NEW + " AND module = COALESCE(NEW.studyType, 'other'); " +
+            "END");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS trg_study_records_stats_delete " +
+            "AFTER DELETE ON study_records BEGIN " +
+            "UPDATE study_summary SET totalAnswers = totalAnswers - 1, " +
+            "correctAnswers = correctAnswers - OLD.isCorrect, " +
+            "totalResponseTime = totalResponseTime - OLD.responseTime WHERE id = 1; " +
+            "UPDATE daily_study_stats SET answerCount = answerCount - 1, " +
+            "correctCount = correctCount - OLD.isCorrect, " +
+            "totalResponseTime = totalResponseTime - OLD.responseTime " +
+            "WHERE day = " + RECORD_DAY_OLD + " AND module = COALESCE(OLD.studyType, 'other'); " +
+            "END");
+
+        // 某天的第一行统计：学习天数 + 1；紧接上一个学习日时连续天数 + 1，否则从 1 重新开始
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS trg_daily_study_stats_new_day " +
+            "AFTER INSERT ON daily_study_stats " +
+            "WHEN (SELECT COUNT(*) FROM daily_study_stats WHERE day = NEW.day) = 1 BEGIN " +
+            "UPDATE study_summary SET studyDays = studyDays + 1, " +
+            "currentStreak = CASE " +
+            "WHEN lastStudyDay IS NULL OR NEW.day > lastStudyDay THEN " +
+            "(CASE WHEN lastStudyDay = date(NEW.day, '-1 day') THEN currentStreak + 1 ELSE 1 END) " +
+            "ELSE currentStreak END, " +
+            "lastStudyDay = CASE WHEN lastStudyDay IS NULL OR NEW.day > lastStudyDay " +
+            "THEN NEW.day ELSE lastStudyDay END " +
+            "WHERE id = 1; " +
+            "UPDATE study_summary SET longestStreak = currentStreak " +
+            "WHERE id = 1 AND currentStreak > longestStreak; " +
+            "END");
+    }
+
+    private static void createBookTriggers(SupportSQLiteDatabase db) {
+        // 进度表按 REPLACE 插入，被替换的旧行不会触发 DELETE 触发器，插入前先扣除旧行的计数
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS trg_word_progress_stats_replace " +
+            "BEFORE INSERT ON word_learning_progress BEGIN " +
+            "UPDATE book_mastery_stats SET " +
+            "learnedCount = learnedCount - (SELECT COUNT(*) FROM word_learning_progress p " +
+            "WHERE (p.id = NEW.id OR (p.userId = NEW.userId AND p.wordId = NEW.wordId)) " +
+            "AND COALESCE(p.userId, '') = book_mastery_stats.userId AND COALESCE(p.bookId, '') = book_mastery_stats.bookId), " +
+            "masteredCount = masteredCount - (SELECT COALESCE(SUM(p.isMastered), 0) FROM word_learning_progress p " +
+            "WHERE (p.id = NEW.id OR (p.userId = NEW.userId AND p.wordId = NEW.wordId)) " +
+            "AND COALESCE(p.userId, '') = book_mastery_stats.userId AND COALESCE(p.bookId, '') = book_mastery_stats.bookId) " +
+            "WHERE EXISTS (SELECT 1 FROM word_learning_progress p " +
+            "WHERE (p.id = NEW.id OR (p.userId = NEW.userId AND p.wordId = NEW.wordId)) " +
+            "AND COALESCE(p.userId, '') = book_mastery_stats.userId AND COALESCE(p.bookId, '') = book_mastery_stats.bookId); " +
+            "END");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS trg_word_progress_stats_insert " +
+            "AFTER INSERT ON word_learning_progress BEGIN " +
+            ENSURE_BOOK_ROW +
+            "UPDATE book_mastery_stats SET learnedCount = learnedCount + 1, " +
+            "masteredCount = masteredCount + NEW.isMastered " +
+            "WHERE userId = COALESCE(NEW.userId, '') AND bookId = COALESCE(NEW.bookId, ''); " +
+            "END");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS trg_word_progress_stats_update " +
+            "AFTER UPDATE OF isMastered, userId, bookId ON word_learning_progress " +
+            "WHEN OLD.isMastered != NEW.isMastered OR OLD.userId IS NOT NEW.userId OR OLD.bookId IS NOT NEW.bookId BEGIN " +
+            "UPDATE book_mastery_stats SET learnedCount = learnedCount - 1, " +
+            "masteredCount = masteredCount - OLD.isMastered " +
+            "WHERE userId = COALESCE(OLD.userId, '') AND bookId = COALESCE(OLD.bookId, ''); " +
+            ENSURE_BOOK_ROW +
+            "UPDATE book_mastery_stats SET learnedCount = learnedCount + 1, " +
+            "masteredCount = masteredCount + NEW.isMastered " +
+            "WHERE userId = COALESCE(NEW.userId, '') AND bookId = COALESCE(NEW.bookId, ''); " +
+            "END");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS trg_word_progress_stats_delete " +
+            "AFTER DELETE ON word_learning_progress BEGIN " +
+            "UPDATE book_mastery_stats SET learnedCount = learnedCount - 1, " +
+            "masteredCount = masteredCount - OLD.isMastered " +
+            "WHERE userId = COALESCE(OLD.userId, '') AND bookId = COALESCE(OLD.bookId, ''); " +
+            "END");
+    }
+
+    private static void createVocabularyTriggers(SupportSQLiteDatabase db) {
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS trg_vocabulary_stats_insert " +
+            "AFTER INSERT ON vocabulary_records BEGIN " +
+            "UPDATE study_summary SET vocabularyCount = vocabularyCount + 1, " +
+            "masteredVocabularyCount = masteredVocabularyCount + NEW.isMastered WHERE id = 1; " +
+            "END");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS trg_vocabulary_stats_update " +
+            "AFTER UPDATE OF isMastered ON vocabulary_records " +
+            "WHEN OLD.isMastered != NEW.isMastered BEGIN " +
+            "UPDATE study_summary SET masteredVocabularyCount = " +
+            "masteredVocabularyCount + NEW.isMastered - OLD.isMastered WHERE id = 1; " +
+            "END");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS trg_vocabulary_stats_delete " +
+            "AFTER DELETE ON vocabulary_records BEGIN " +
+            "UPDATE study_summary SET vocabularyCount = vocabularyCount - 1, " +
+            "masteredVocabularyCount = masteredVocabularyCount - OLD.isMastered WHERE id = 1; " +
+            "END");
+    }
+
+    private static void createExamTriggers(SupportSQLiteDatabase db) {
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS trg_exam_stats_insert " +
+            "AFTER INSERT ON exam_records BEGIN " +
+            "UPDATE study_summary SET examCount = examCount + 1, " +
+            "examScoreSum = examScoreSum + NEW.score WHERE id = 1; " +
+            "END");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS trg_exam_stats_update " +
+            "AFTER UPDATE OF score ON exam_records " +
+            "WHEN OLD.score != NEW.score BEGIN " +
+            "UPDATE study_summary SET examScoreSum = examScoreSum + NEW.score - OLD.score WHERE id = 1; " +
+            "END");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS trg_exam_stats_delete " +
+            "AFTER DELETE ON exam_records BEGIN " +
+            "UPDATE study_summary SET examCount = examCount - 1, " +
+            "examScoreSum = examScoreSum - OLD.score WHERE id = 1; " +
+            "END");
+    }
+}
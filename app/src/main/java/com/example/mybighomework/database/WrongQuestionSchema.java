@@ -0,0 +1,57 @@
+package com.example.mybighomework.database;
+
+import android.database.Cursor;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.example.mybighomework.database.entity.WrongQuestionEntity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 错题表的自然键迁移
+ *
+ * 为已有错题计算 questionKey（来源 + 题目内容的哈希，SQLite 中无法计算，只能逐行回填），
+ * 同一键的重复行合并到最近答错的一行（答错次数相加），之后建立唯一索引
+ */
+public final class WrongQuestionSchema {
+
+    private WrongQuestionSchema() {
+    }
+
+    static void migrate(SupportSQLiteDatabase db) {
+        db.execSQL("ALTER TABLE wrong_questions ADD COLUMN questionKey TEXT");
+
+        // 最近答错的行排在前面，作为保留的一行
+        Map<String, long[]> kept = new HashMap<>(); // 键 -> {id, 答错次数}
+        List<Long> duplicates = new ArrayList<>();
+        try (Cursor cursor = db.query("SELECT id, source, questionText, wrongCount FROM wrong_questions " +
+                "ORDER BY wrongTime DESC, id DESC")) {
+            while (cursor.moveToNext()) {
+                long id = cursor.getLong(0);
+                String key = WrongQuestionEntity.naturalKey(cursor.getString(1), cursor.getString(2));
+                long[] row = kept.get(key);
+                if (row == null) {
+                    kept.put(key, new long[] {id, cursor.getInt(3)});
+                } else {
+                    row[1] += cursor.getInt(3);
+                    duplicates.add(id);
+                }
+            }
+        }
+        for (Map.Entry<String, long[]> entry : kept.entrySet()) {
+            db.execSQL("UPDATE wrong_questions SET questionKey = ?, wrongCount = ? WHERE id = ?",
+                new Object[] {entry.getKey(), entry.getValue()[1], entry.getValue()[0]});
+        }
+        for (long id : duplicates) {
+            db.execSQL("DELETE FROM wrong_questions WHERE id = ?", new Object[] {id});
+        }
+
+        db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS index_wrong_questions_questionKey ON wrong_questions(questionKey)");
+        db.execSQL("CREATE INDEX IF NOT EXISTS index_wrong_questions_category_wrongTime ON wrong_questions(category, wrongTime)");
+        db.execSQL("CREATE INDEX IF NOT EXISTS index_wrong_questions_wrongTime ON wrong_questions(wrongTime)");
+    }
+}
@@ -39,6 +39,12 @@ public interface BookDao {
     @Query("SELECT * FROM books WHERE id = :bookId")
     BookEntity getBookByIdSync(String bookId);
     
+    /**
+     * 获取所有词书ID（用于批量导入时校验外键）
+     */
+    @Query("SELECT id FROM books")
+    List<String> getAllBookIds();
+    
     /**
      * 获取顶级分类（level=1 或 parentId='0'）
      */
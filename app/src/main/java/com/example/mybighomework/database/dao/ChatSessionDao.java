@@ -0,0 +1,80 @@
+package com.example.mybighomework.database.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.Query;
+import androidx.room.Update;
+
+import com.example.mybighomework.database.entity.ChatMessageEntity;
+import com.example.mybighomework.database.entity.ChatSessionEntity;
+
+import java.util.List;
+
+/**
+ * AI对话会话和消息数据访问对象
+ * 消息分页使用ID游标（WHERE id < ?），翻页开销与会话长度无关
+ */
+@Dao
+public interface ChatSessionDao {
+
+    // ==================== 会话 ====================
+
+    @Insert
+    long insertSession(ChatSessionEntity session);
+
+    @Update
+    void updateSession(ChatSessionEntity session);
+
+    @Query("SELECT * FROM chat_sessions WHERE id = :sessionId")
+    ChatSessionEntity getSession(long sessionId);
+
+    @Query("SELECT * FROM chat_sessions ORDER BY updatedTime DESC LIMIT 1")
+    ChatSessionEntity getLatestSession();
+
+    @Query("UPDATE chat_sessions SET updatedTime = :time WHERE id = :sessionId")
+    void touchSession(long sessionId, long time);
+
+    @Query("UPDATE chat_sessions SET summary = :summary, summaryUpToMessageId = :upToMessageId WHERE id = :sessionId")
+    void updateSummary(long sessionId, String summary, long upToMessageId);
+
+    @Query("DELETE FROM chat_sessions WHERE id = :sessionId")
+    void deleteSession(long sessionId);
+
+    // ==================== 消息 ====================
+
+    @Insert
+    long insertMessage(ChatMessageEntity message);
+
+    /**
+     * 最新的一页消息（按ID倒序）
+     */
+    @Query("SELECT * FROM chat_messages WHERE sessionId = :sessionId ORDER BY id DESC LIMIT :limit")
+    List<ChatMessageEntity> getLatestMessages(long sessionId, int limit);
+
+    /**
+     * 指定消息之前的一页消息（按ID倒序）
+     */
+    @Query("SELECT * FROM chat_messages WHERE sessionId = :sessionId AND id < :beforeId " +
+           "ORDER BY id DESC LIMIT :limit")
+    List<ChatMessageEntity> getMessagesBefore(long sessionId, long beforeId, int limit);
+
+    /**
+     * 指定消息之后最早的若干条消息（按ID正序），用于折叠摘要
+     */
+    @Query("SELECT * FROM chat_messages WHERE sessionId = :sessionId AND id > :afterId " +
+           "ORDER BY id ASC LIMIT :limit")
+    List<ChatMessageEntity> getMessagesAfter(long sessionId, long afterId, int limit);
+
+    /**
+     * 指定消息之后最新的若干条消息（按ID倒序），用于构建上下文
+     */
+    @Query("SELECT * FROM chat_messages WHERE sessionId = :sessionId AND id > :afterId " +
+           "ORDER BY id DESC LIMIT :limit")
+    List<ChatMessageEntity> getLatestMessagesAfter(long sessionId, long afterId, int limit);
+
+    @Query("SELECT COUNT(*) FROM chat_messages WHERE sessionId = :sessionId AND id > :afterId")
+    int countMessagesAfter(long sessionId, long afterId);
+
+    @Query("SELECT COUNT(*) FROM chat_messages WHERE sessionId = :sessionId")
+    int getMessageCount(long sessionId);
+}
@@ -2,10 +2,9 @@ package com.example.mybighomework.database.dao;
 
 import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
-import androidx.room.Insert;
-import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
 import androidx.room.Update;
+import androidx.room.Upsert;
 
 import com.example.mybighomework.database.entity.DictionaryWordEntity;
 
@@ -19,10 +18,11 @@ public interface DictionaryWordDao {
     
     // ==================== 插入操作 ====================
     
-    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    // 已存在的单词按 UPDATE 覆盖而不是 REPLACE：REPLACE 删除旧行时不触发全文索引的同步触发器，会留下旧词条
+    @Upsert
     void insert(DictionaryWordEntity word);
     
-    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    @Upsert
     void insertAll(List<DictionaryWordEntity> words);
     
     // ==================== 查询操作 ====================
@@ -39,6 +39,13 @@ public interface DictionaryWordDao {
     @Query("SELECT * FROM dictionary_words WHERE id = :wordId")
     DictionaryWordEntity getWordByIdSync(String wordId);
     
+    /**
+     * 根据ID列表批量获取单词（结果顺序不保证，由调用方重排）
+     * 调用方需保证 ids 数量不超过 SQLite 变量上限（999）
+     */
+    @Query("SELECT * FROM dictionary_words WHERE id IN (:ids)")
+    List<DictionaryWordEntity> getWordsByIdsSync(List<String> ids);
+    
     /**
      * 根据单词文本获取单词
      */
@@ -73,6 +80,38 @@ public interface DictionaryWordDao {
     @Query("SELECT * FROM dictionary_words WHERE word LIKE :keyword || '%' LIMIT 50")
     List<DictionaryWordEntity> searchWordsSync(String keyword);
     
+    /**
+     * 全文检索单词和释义，完全匹配的单词排在最前，其余按词频降序
+     * @param match FTS MATCH 表达式，如 word:"appl*" 或 translation:"苹果*"
+     * @param exact 小写的原始关键词，用于完全匹配置顶
+     */
+    @Query("SELECT dw.* FROM dictionary_words dw " +
+           "JOIN dictionary_words_fts ON dw.rowid = dictionary_words_fts.rowid " +
+           "WHERE dictionary_words_fts MATCH :match " +
+           "ORDER BY (LOWER(dw.word) = :exact) DESC, dw.frequency DESC " +
+           "LIMIT :limit")
+    List<DictionaryWordEntity> searchFts(String match, String exact, int limit);
+    
+    /**
+     * 释义包含关键词（全文索引按词切分，词中间的字查不到时的回退，会扫描全表）
+     */
+    @Query("SELECT * FROM dictionary_words WHERE translation LIKE '%' || :keyword || '%' " +
+           "ORDER BY frequency DESC LIMIT :limit")
+    List<DictionaryWordEntity> searchTranslationContaining(String keyword, int limit);
+    
+    /**
+     * 全部单词的ID、单词和词频，用于构建拼写纠错索引、联想前缀树和导入翻译时的小写索引
+     */
+    @Query("SELECT id, word, frequency FROM dictionary_words")
+    List<WordFrequency> getAllWordFrequencies();
+    
+    // 单词ID、单词和词频
+    class WordFrequency {
+        public String id;
+        public String word;
+        public float frequency;
+    }
+    
     /**
      * 按难度筛选单词
      */
@@ -86,16 +125,10 @@ public interface DictionaryWordDao {
     LiveData<List<DictionaryWordEntity>> getWordsByFrequency(float minFrequency, float maxFrequency);
     
     /**
-     * 获取随机单词（用于生成干扰选项）
-     */
-    @Query("SELECT * FROM dictionary_words ORDER BY RANDOM() LIMIT :limit")
-    List<DictionaryWordEntity> getRandomWords(int limit);
-    
-    /**
-     * 获取随机单词（排除指定单词）
+     * 获取全部单词ID（随机抽样的候选，由 RandomSamplerYSJ 缓存）
      */
-    @Query("SELECT * FROM dictionary_words WHERE id != :excludeWordId ORDER BY RANDOM() LIMIT :limit")
-    List<DictionaryWordEntity> getRandomWordsExcluding(String excludeWordId, int limit);
+    @Query("SELECT id FROM dictionary_words")
+    List<String> getAllWordIds();
     
     // ==================== 统计操作 ====================
     
@@ -111,6 +144,13 @@ public interface DictionaryWordDao {
     @Query("SELECT COUNT(*) FROM dictionary_words WHERE id = :wordId")
     int wordExists(String wordId);
     
+    /**
+     * 批量检查单词是否存在，返回其中已存在的ID
+     * 调用方需保证 ids 数量不超过 SQLite 变量上限（999）
+     */
+    @Query("SELECT id FROM dictionary_words WHERE id IN (:ids)")
+    List<String> getExistingIds(List<String> ids);
+    
     // ==================== 更新操作 ====================
     
     @Update
@@ -118,9 +158,17 @@ public interface DictionaryWordDao {
     
     /**
      * 更新单词翻译
+     * @return 受影响的行数
      */
     @Query("UPDATE dictionary_words SET translation = :translation WHERE word = :word")
-    void updateTranslation(String word, String translation);
+    int updateTranslation(String word, String translation);
+    
+    /**
+     * 按ID更新单词翻译
+     * @return 受影响的行数
+     */
+    @Query("UPDATE dictionary_words SET translation = :translation WHERE id = :id")
+    int updateTranslationById(String id, String translation);
     
     // ==================== 删除操作 ====================
     
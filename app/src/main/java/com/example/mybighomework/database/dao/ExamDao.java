@@ -85,6 +85,9 @@ public interface ExamDao {
     @Query("SELECT * FROM exam_records ORDER BY examTime DESC LIMIT :limit")
     LiveData<List<ExamRecordEntity>> getRecentExamRecordsLive(int limit);
     
+    @Query("SELECT * FROM exam_records ORDER BY examTime DESC LIMIT :limit")
+    List<ExamRecordEntity> getRecentExamRecords(int limit);
+    
     @Query("SELECT COUNT(*) FROM exam_records")
     LiveData<Integer> getTotalExamCountLive();
     
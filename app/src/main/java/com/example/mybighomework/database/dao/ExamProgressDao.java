@@ -32,6 +32,12 @@ public interface ExamProgressDao {
     @Query("SELECT * FROM exam_progress WHERE examType = :examType AND isCompleted = 0 ORDER BY lastUpdateTime DESC LIMIT 1")
     ExamProgressEntity getUncompletedProgress(String examType);
     
+    /**
+     * 根据试卷标识获取未完成的考试进度
+     */
+    @Query("SELECT * FROM exam_progress WHERE examKey = :examKey AND isCompleted = 0 ORDER BY lastUpdateTime DESC LIMIT 1")
+    ExamProgressEntity getUncompletedProgressByKey(String examKey);
+    
     /**
      * 根据ID获取考试进度
      */
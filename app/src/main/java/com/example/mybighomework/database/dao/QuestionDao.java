@@ -32,6 +32,10 @@ public interface QuestionDao {
     @Query("SELECT * FROM questions WHERE id = :id")
     QuestionEntity getQuestionById(int id);
     
+    // 结果按主键排序，调用方需保证 ids 数量不超过 SQLite 变量上限（999）
+    @Query("SELECT * FROM questions WHERE id IN (:ids)")
+    List<QuestionEntity> getQuestionsByIds(List<Integer> ids);
+    
     @Query("SELECT * FROM questions WHERE isActive = 1 ORDER BY createdTime DESC")
     List<QuestionEntity> getAllActiveQuestions();
     
@@ -50,15 +54,15 @@ public interface QuestionDao {
     @Query("SELECT * FROM questions WHERE year = :year AND isActive = 1 ORDER BY createdTime DESC")
     List<QuestionEntity> getQuestionsByYear(int year);
     
-    // 复合查询
-    @Query("SELECT * FROM questions WHERE category = :category AND examType = :examType AND isActive = 1 ORDER BY RANDOM() LIMIT :limit")
-    List<QuestionEntity> getRandomQuestionsByCategoryAndType(String category, String examType, int limit);
+    // 随机抽题的候选 id（由 RandomSamplerYSJ 缓存并抽样，再用 getQuestionsByIds 取整行）
+    @Query("SELECT id FROM questions WHERE category = :category AND examType = :examType AND isActive = 1")
+    List<Integer> getQuestionIdsByCategoryAndType(String category, String examType);
     
-    @Query("SELECT * FROM questions WHERE category = :category AND difficulty = :difficulty AND isActive = 1 ORDER BY RANDOM() LIMIT :limit")
-    List<QuestionEntity> getRandomQuestionsByCategoryAndDifficulty(String category, String difficulty, int limit);
+    @Query("SELECT id FROM questions WHERE category = :category AND difficulty = :difficulty AND isActive = 1")
+    List<Integer> getQuestionIdsByCategoryAndDifficulty(String category, String difficulty);
     
-    @Query("SELECT * FROM questions WHERE examType = :examType AND isActive = 1 ORDER BY RANDOM() LIMIT :limit")
-    List<QuestionEntity> getRandomQuestionsByExamType(String examType, int limit);
+    @Query("SELECT id FROM questions WHERE examType = :examType AND isActive = 1")
+    List<Integer> getQuestionIdsByExamType(String examType);
     
     // 搜索功能
     @Query("SELECT * FROM questions WHERE (questionText LIKE '%' || :keyword || '%' OR explanation LIKE '%' || :keyword || '%' OR tags LIKE '%' || :keyword || '%') AND isActive = 1 ORDER BY createdTime DESC")
@@ -91,12 +95,12 @@ public interface QuestionDao {
     @Query("SELECT * FROM questions WHERE accuracyRate >= :threshold AND totalAttempts >= :minAttempts AND isActive = 1 ORDER BY accuracyRate DESC")
     List<QuestionEntity> getMasteredQuestions(double threshold, int minAttempts);
     
-    // 练习推荐
-    @Query("SELECT * FROM questions WHERE totalAttempts = 0 AND isActive = 1 ORDER BY RANDOM() LIMIT :limit")
-    List<QuestionEntity> getUnpracticedQuestions(int limit);
+    // 练习推荐的候选 id（随机抽样见 RandomSamplerYSJ）
+    @Query("SELECT id FROM questions WHERE totalAttempts = 0 AND isActive = 1")
+    List<Integer> getUnpracticedQuestionIds();
     
-    @Query("SELECT * FROM questions WHERE accuracyRate BETWEEN :minRate AND :maxRate AND totalAttempts >= :minAttempts AND isActive = 1 ORDER BY RANDOM() LIMIT :limit")
-    List<QuestionEntity> getQuestionsByAccuracyRange(double minRate, double maxRate, int minAttempts, int limit);
+    @Query("SELECT id FROM questions WHERE accuracyRate BETWEEN :minRate AND :maxRate AND totalAttempts >= :minAttempts AND isActive = 1")
+    List<Integer> getQuestionIdsByAccuracyRange(double minRate, double maxRate, int minAttempts);
     
     // 词汇关联查询
     @Query("SELECT * FROM questions WHERE relatedVocabularyId = :vocabularyId AND isActive = 1")
@@ -0,0 +1,21 @@
+package com.example.mybighomework.database.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import com.example.mybighomework.database.entity.ReviewParamsEntity;
+
+/**
+ * 复习调度参数数据访问对象
+ */
+@Dao
+public interface ReviewParamsDao {
+
+    @Query("SELECT * FROM review_params WHERE userId = :userId")
+    ReviewParamsEntity getParams(String userId);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void saveParams(ReviewParamsEntity params);
+}
@@ -25,6 +25,10 @@ public interface SearchHistoryDao {
     @Query("SELECT DISTINCT keyword FROM search_history WHERE userId = :userId AND keyword LIKE :keyword || '%' ORDER BY searchTime DESC LIMIT :limit")
     List<String> searchKeywords(String userId, String keyword, int limit);
     
+    // 不重复的搜索词，按最近一次搜索时间降序
+    @Query("SELECT keyword FROM search_history WHERE userId = :userId GROUP BY keyword ORDER BY MAX(searchTime) DESC LIMIT :limit")
+    List<String> getRecentKeywords(String userId, int limit);
+    
     @Query("DELETE FROM search_history WHERE userId = :userId")
     void deleteAllByUser(String userId);
     
@@ -0,0 +1,43 @@
+package com.example.mybighomework.database.dao;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+
+import com.example.mybighomework.database.entity.BookMasteryStatsEntity;
+import com.example.mybighomework.database.entity.DailyStudyStatsEntity;
+import com.example.mybighomework.database.entity.StudySummaryEntity;
+
+import java.util.List;
+
+/**
+ * 学习统计汇总表的只读访问
+ * 汇总表由触发器维护（见 StudyStatsSchema），这里只有查询；按天查询最多扫描“天数 × 模块数”行，与答题记录总量无关
+ */
+@Dao
+public interface StudyStatsDao {
+
+    @Query("SELECT * FROM study_summary WHERE id = 1")
+    StudySummaryEntity getSummary();
+
+    @Query("SELECT * FROM daily_study_stats WHERE day >= :startDay ORDER BY day ASC")
+    List<DailyStudyStatsEntity> getDailyStatsSince(String startDay);
+
+    @Query("SELECT day AS date, SUM(totalResponseTime) / 1000.0 AS totalSeconds " +
+           "FROM daily_study_stats " +
+           "WHERE day >= :startDay " +
+           "GROUP BY day " +
+           "ORDER BY day ASC")
+    List<StudyRecordDao.DailyStudyTime> getDailyStudyTime(String startDay);
+
+    @Query("SELECT COALESCE(SUM(totalResponseTime), 0) FROM daily_study_stats WHERE day = :day")
+    long getStudyTimeOfDay(String day);
+
+    @Query("SELECT COUNT(DISTINCT day) FROM daily_study_stats WHERE day >= :startDay")
+    int getStudyDayCountSince(String startDay);
+
+    @Query("SELECT * FROM book_mastery_stats WHERE userId = :userId AND bookId = :bookId")
+    BookMasteryStatsEntity getBookStats(String userId, String bookId);
+
+    @Query("SELECT * FROM book_mastery_stats WHERE userId = :userId")
+    List<BookMasteryStatsEntity> getBookStatsForUser(String userId);
+}
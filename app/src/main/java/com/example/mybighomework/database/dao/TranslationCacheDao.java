@@ -0,0 +1,53 @@
+package com.example.mybighomework.database.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import com.example.mybighomework.database.entity.TranslationCacheEntity;
+
+import java.util.List;
+
+/**
+ * 翻译结果缓存数据访问对象
+ */
+@Dao
+public interface TranslationCacheDao {
+
+    @Query("SELECT * FROM translation_cache WHERE cacheKey = :cacheKey")
+    TranslationCacheEntity get(String cacheKey);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void upsert(TranslationCacheEntity entity);
+
+    @Query("UPDATE translation_cache SET lastAccessTime = :time WHERE cacheKey = :cacheKey")
+    void touch(String cacheKey, long time);
+
+    /**
+     * 缓存总占用空间
+     */
+    @Query("SELECT COALESCE(SUM(sizeBytes), 0) FROM translation_cache")
+    long getTotalSize();
+
+    /**
+     * 最久未命中的记录，用于按容量淘汰
+     */
+    @Query("SELECT * FROM translation_cache ORDER BY lastAccessTime ASC LIMIT :limit")
+    List<TranslationCacheEntity> getLeastRecentlyUsed(int limit);
+
+    /**
+     * 写入时间早于指定时间的记录，用于按有效期淘汰
+     */
+    @Query("SELECT * FROM translation_cache WHERE createdTime < :time")
+    List<TranslationCacheEntity> getCreatedBefore(long time);
+
+    @Query("DELETE FROM translation_cache WHERE cacheKey IN (:cacheKeys)")
+    void deleteByKeys(List<String> cacheKeys);
+
+    @Query("SELECT COUNT(*) FROM translation_cache")
+    int getCount();
+
+    @Query("DELETE FROM translation_cache")
+    void deleteAll();
+}
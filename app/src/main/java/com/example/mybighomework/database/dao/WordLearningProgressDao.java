@@ -33,6 +33,12 @@ public interface WordLearningProgressDao {
     @Query("SELECT * FROM word_learning_progress WHERE userId = :userId AND wordId = :wordId")
     WordLearningProgressEntity getProgress(String userId, String wordId);
     
+    /**
+     * 批量获取一组单词的学习进度
+     */
+    @Query("SELECT * FROM word_learning_progress WHERE userId = :userId AND wordId IN (:wordIds)")
+    List<WordLearningProgressEntity> getProgressForWords(String userId, List<String> wordIds);
+    
     /**
      * 获取用户对某词书的所有学习进度
      */
@@ -100,6 +106,19 @@ public interface WordLearningProgressDao {
            "ORDER BY nextReviewTime LIMIT :limit")
     List<String> getReviewWordIds(String bookId, String userId, long currentTime, int limit);
     
+    /**
+     * 词书中未掌握单词的复习时间，用于构建内存中的复习队列（ReviewDueQueueYSJ）
+     */
+    @Query("SELECT wordId, nextReviewTime FROM word_learning_progress " +
+           "WHERE userId = :userId AND bookId = :bookId AND isMastered = 0")
+    List<ReviewDueTime> getReviewSchedule(String userId, String bookId);
+    
+    // 单词ID和下次复习时间
+    class ReviewDueTime {
+        public String wordId;
+        public long nextReviewTime;
+    }
+    
     /**
      * 根据用户ID、词书ID和单词ID获取学习进度
      */
@@ -3,18 +3,30 @@ package com.example.mybighomework.database.dao;
 import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import androidx.room.Update;
 import com.example.mybighomework.database.entity.WrongQuestionEntity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Dao
 public interface WrongQuestionDao {
     @Insert
     void insert(WrongQuestionEntity wrongQuestion);
 
+    @Insert
+    void insertAll(List<WrongQuestionEntity> wrongQuestions);
+
     @Update
     void update(WrongQuestionEntity wrongQuestion);
 
+    @Update
+    void updateAll(List<WrongQuestionEntity> wrongQuestions);
+
     @Query("DELETE FROM wrong_questions WHERE id = :id")
     void deleteById(int id);
 
@@ -35,4 +47,72 @@ public interface WrongQuestionDao {
 
     @Query("SELECT COUNT(*) FROM wrong_questions WHERE questionText = :questionText AND category = :category")
     int countByQuestionAndCategory(String questionText, String category);
+
+    @Query("SELECT * FROM wrong_questions WHERE questionKey IN (:questionKeys)")
+    List<WrongQuestionEntity> findByKeys(List<String> questionKeys);
+
+    @Query("SELECT COUNT(*) FROM wrong_questions")
+    int getWrongQuestionCount();
+
+    /**
+     * 在一个事务中批量加入错题：按来源 + 题目内容去重，已有的错题累加答错次数并更新为最近一次的作答，
+     * 没有的新建。一批中同一道题出现多次时按出现次数累加
+     * @return 涉及的错题数（去重后）
+     */
+    @Transaction
+    default int upsertAll(List<WrongQuestionEntity> wrongQuestions) {
+        // 按自然键合并，后出现的作答为准
+        Map<String, WrongQuestionEntity> latest = new LinkedHashMap<>();
+        Map<String, Integer> times = new HashMap<>();
+        for (WrongQuestionEntity question : wrongQuestions) {
+            String key = WrongQuestionEntity.naturalKey(question.getSource(), question.getQuestionText());
+            question.setQuestionKey(key);
+            latest.put(key, question);
+            Integer count = times.get(key);
+            times.put(key, count == null ? 1 : count + 1);
+        }
+        if (latest.isEmpty()) {
+            return 0;
+        }
+
+        // IN 查询分段，每段的参数个数低于 SQLite 默认上限 999
+        int chunkSize = 500;
+        List<String> keys = new ArrayList<>(latest.keySet());
+        Map<String, WrongQuestionEntity> existing = new HashMap<>();
+        for (int start = 0; start < keys.size(); start += chunkSize) {
+            List<String> chunk = keys.subList(start, Math.min(keys.size(), start + chunkSize));
+            for (WrongQuestionEntity question : findByKeys(chunk)) {
+                existing.put(question.getQuestionKey(), question);
+            }
+        }
+
+        List<WrongQuestionEntity> inserts = new ArrayList<>();
+        List<WrongQuestionEntity> updates = new ArrayList<>();
+        for (Map.Entry<String, WrongQuestionEntity> entry : latest.entrySet()) {
+            WrongQuestionEntity question = entry.getValue();
+            int count = times.get(entry.getKey());
+            WrongQuestionEntity row = existing.get(entry.getKey());
+            if (row == null) {
+                question.setWrongCount(count);
+                question.setMastered(false);
+                inserts.add(question);
+            } else {
+                row.setWrongCount(row.getWrongCount() + count);
+                row.setWrongTime(question.getWrongTime());
+                row.setUserAnswerIndex(question.getUserAnswerIndex());
+                row.setMastered(false); // 再次答错，重置掌握状态
+                row.setExplanation(question.getExplanation());
+                row.setOptions(question.getOptions());
+                row.setCategory(question.getCategory());
+                updates.add(row);
+            }
+        }
+        if (!inserts.isEmpty()) {
+            insertAll(inserts);
+        }
+        if (!updates.isEmpty()) {
+            updateAll(updates);
+        }
+        return latest.size();
+    }
 }
@@ -0,0 +1,61 @@
+package com.example.mybighomework.database.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+
+/**
+ * 词书掌握度统计（汇总表）
+ * 由 word_learning_progress 上的触发器增量维护，不直接写入，见 StudyStatsSchema
+ */
+@Entity(
+    tableName = "book_mastery_stats",
+    primaryKeys = {"userId", "bookId"}
+)
+public class BookMasteryStatsEntity {
+
+    @NonNull
+    private String userId;
+    @NonNull
+    private String bookId;
+    private int learnedCount;    // 已学习单词数
+    private int masteredCount;   // 已掌握单词数
+
+    public BookMasteryStatsEntity() {
+        this.userId = "";
+        this.bookId = "";
+    }
+
+    @NonNull
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(@NonNull String userId) {
+        this.userId = userId;
+    }
+
+    @NonNull
+    public String getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(@NonNull String bookId) {
+        this.bookId = bookId;
+    }
+
+    public int getLearnedCount() {
+        return learnedCount;
+    }
+
+    public void setLearnedCount(int learnedCount) {
+        this.learnedCount = learnedCount;
+    }
+
+    public int getMasteredCount() {
+        return masteredCount;
+    }
+
+    public void setMasteredCount(int masteredCount) {
+        this.masteredCount = masteredCount;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.mybighomework.database.entity;
+
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Ignore;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * AI对话消息实体
+ * 消息ID自增，同一会话内按ID排序即为对话顺序，也用作分页的游标
+ */
+@Entity(
+    tableName = "chat_messages",
+    indices = {
+        @Index(value = {"sessionId", "id"})
+    },
+    foreignKeys = {
+        @ForeignKey(
+            entity = ChatSessionEntity.class,
+            parentColumns = "id",
+            childColumns = "sessionId",
+            onDelete = ForeignKey.CASCADE
+        )
+    }
+)
+public class ChatMessageEntity {
+
+    public static final String ROLE_USER = "user";
+    public static final String ROLE_ASSISTANT = "assistant";
+
+    @PrimaryKey(autoGenerate = true)
+    private long id;
+
+    private long sessionId;
+    private String role;        // user / assistant
+    private String content;
+    private long timestamp;
+
+    public ChatMessageEntity() {
+    }
+
+    @Ignore
+    public ChatMessageEntity(long sessionId, String role, String content, long timestamp) {
+        this.sessionId = sessionId;
+        this.role = role;
+        this.content = content;
+        this.timestamp = timestamp;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public long getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(long sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+}
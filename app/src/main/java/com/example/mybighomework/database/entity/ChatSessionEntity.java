@@ -0,0 +1,75 @@
+package com.example.mybighomework.database.entity;
+
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * AI对话会话实体
+ * 较早的消息折叠为摘要保存在会话上，summaryUpToMessageId 之前（含）的消息已包含在摘要中
+ */
+@Entity(
+    tableName = "chat_sessions",
+    indices = {
+        @Index("updatedTime")
+    }
+)
+public class ChatSessionEntity {
+
+    @PrimaryKey(autoGenerate = true)
+    private long id;
+
+    private String title;               // 会话标题（第一条提问）
+    private long createdTime;
+    private long updatedTime;           // 最后一条消息的时间
+    private String summary;             // 较早对话的摘要
+    private long summaryUpToMessageId;  // 摘要覆盖到的最后一条消息ID，0 表示还没有摘要
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public long getCreatedTime() {
+        return createdTime;
+    }
+
+    public void setCreatedTime(long createdTime) {
+        this.createdTime = createdTime;
+    }
+
+    public long getUpdatedTime() {
+        return updatedTime;
+    }
+
+    public void setUpdatedTime(long updatedTime) {
+        this.updatedTime = updatedTime;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public void setSummary(String summary) {
+        this.summary = summary;
+    }
+
+    public long getSummaryUpToMessageId() {
+        return summaryUpToMessageId;
+    }
+
+    public void setSummaryUpToMessageId(long summaryUpToMessageId) {
+        this.summaryUpToMessageId = summaryUpToMessageId;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.mybighomework.database.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+
+/**
+ * 每日分模块学习统计（汇总表）
+ * 由 study_records 上的触发器增量维护，不直接写入，见 StudyStatsSchema
+ */
+@Entity(
+    tableName = "daily_study_stats",
+    primaryKeys = {"day", "module"}
+)
+public class DailyStudyStatsEntity {
+
+    @NonNull
+    private String day;              // 日期 yyyy-MM-dd（本地时区）
+    @NonNull
+    private String module;           // 学习类型，对应 study_records.studyType
+    private int answerCount;         // 答题数
+    private int correctCount;        // 答对数
+    private long totalResponseTime;  // 答题总用时（毫秒）
+
+    public DailyStudyStatsEntity() {
+        this.day = "";
+        this.module = "";
+    }
+
+    @NonNull
+    public String getDay() {
+        return day;
+    }
+
+    public void setDay(@NonNull String day) {
+        this.day = day;
+    }
+
+    @NonNull
+    public String getModule() {
+        return module;
+    }
+
+    public void setModule(@NonNull String module) {
+        this.module = module;
+    }
+
+    public int getAnswerCount() {
+        return answerCount;
+    }
+
+    public void setAnswerCount(int answerCount) {
+        this.answerCount = answerCount;
+    }
+
+    public int getCorrectCount() {
+        return correctCount;
+    }
+
+    public void setCorrectCount(int correctCount) {
+        this.correctCount = correctCount;
+    }
+
+    public long getTotalResponseTime() {
+        return totalResponseTime;
+    }
+
+    public void setTotalResponseTime(long totalResponseTime) {
+        this.totalResponseTime = totalResponseTime;
+    }
+}
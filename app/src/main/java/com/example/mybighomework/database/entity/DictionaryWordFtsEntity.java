@@ -0,0 +1,26 @@
+package com.example.mybighomework.database.entity;
+
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+
+/**
+ * 词典全文索引（FTS4 外部内容表）
+ * 只保存 dictionary_words 的单词和释义的倒排索引，数据本身仍在 dictionary_words 中，
+ * 通过 rowid 关联。Room 生成的触发器随 dictionary_words 的增删改同步索引
+ *
+ * unicode61 分词器按 Unicode 标点和空白切分，释义“苹果；苹果树”会被切成“苹果”“苹果树”两个词
+ */
+@Fts4(contentEntity = DictionaryWordEntity.class, tokenizer = FtsOptions.TOKENIZER_UNICODE61)
+@Entity(tableName = "dictionary_words_fts")
+public class DictionaryWordFtsEntity {
+
+    private String word;
+    private String translation;
+
+    public String getWord() { return word; }
+    public void setWord(String word) { this.word = word; }
+
+    public String getTranslation() { return translation; }
+    public void setTranslation(String translation) { this.translation = translation; }
+}
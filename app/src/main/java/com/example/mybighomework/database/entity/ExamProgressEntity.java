@@ -16,7 +16,9 @@ public class ExamProgressEntity {
     private String examType;          // 考试类型(如"考研英语")
     private int currentQuestionIndex; // 当前题目索引
     private long timeLeftInMillis;    // 剩余时间(毫秒)
-    private String userAnswersJson;   // 用户答案JSON字符串
+    private String userAnswersJson;   // 用户答案JSON字符串（旧版本）
+    private String examKey;           // 试卷标识（试卷包 id），答题日志按它查找进度
+    private byte[] answerSnapshot;    // 答题日志压缩后的全部作答，编码见 ExamAnswerJournalYSJ
     private String bookmarkedQuestionsJson; // 标记的题目JSON字符串
     private long startTime;           // 开始时间
     private long lastUpdateTime;      // 最后更新时间
@@ -63,6 +65,22 @@ public class ExamProgressEntity {
         this.userAnswersJson = userAnswersJson;
     }
 
+    public String getExamKey() {
+        return examKey;
+    }
+
+    public void setExamKey(String examKey) {
+        this.examKey = examKey;
+    }
+
+    public byte[] getAnswerSnapshot() {
+        return answerSnapshot;
+    }
+
+    public void setAnswerSnapshot(byte[] answerSnapshot) {
+        this.answerSnapshot = answerSnapshot;
+    }
+
     public String getBookmarkedQuestionsJson() {
         return bookmarkedQuestionsJson;
     }
@@ -0,0 +1,83 @@
+package com.example.mybighomework.database.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * 用户的复习调度参数
+ * 没有记录的用户使用默认参数（FSRS，目标记忆保持率 90%）
+ */
+@Entity(tableName = "review_params")
+public class ReviewParamsEntity {
+
+    public static final String ALGORITHM_FSRS = "fsrs";
+    public static final String ALGORITHM_SM2 = "sm2";
+
+    @PrimaryKey
+    @NonNull
+    private String userId;
+
+    private String algorithm;            // fsrs / sm2
+    private double requestRetention;     // 目标记忆保持率（FSRS），0.7 - 0.97
+    private int maximumIntervalDays;     // 最长复习间隔（天）
+    private int relearnMinutes;          // 答错后多久重新复习（分钟）
+    private String fsrsWeights;          // FSRS 权重，逗号分隔的 17 个数，为空时使用默认权重
+
+    public ReviewParamsEntity() {
+        this.userId = "default";
+        this.algorithm = ALGORITHM_FSRS;
+        this.requestRetention = 0.9;
+        this.maximumIntervalDays = 365;
+        this.relearnMinutes = 10;
+    }
+
+    @NonNull
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(@NonNull String userId) {
+        this.userId = userId;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public double getRequestRetention() {
+        return requestRetention;
+    }
+
+    public void setRequestRetention(double requestRetention) {
+        this.requestRetention = requestRetention;
+    }
+
+    public int getMaximumIntervalDays() {
+        return maximumIntervalDays;
+    }
+
+    public void setMaximumIntervalDays(int maximumIntervalDays) {
+        this.maximumIntervalDays = maximumIntervalDays;
+    }
+
+    public int getRelearnMinutes() {
+        return relearnMinutes;
+    }
+
+    public void setRelearnMinutes(int relearnMinutes) {
+        this.relearnMinutes = relearnMinutes;
+    }
+
+    public String getFsrsWeights() {
+        return fsrsWeights;
+    }
+
+    public void setFsrsWeights(String fsrsWeights) {
+        this.fsrsWeights = fsrsWeights;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.mybighomework.database.entity;
+
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * 学习总体统计（汇总表，只有 id = 1 一行）
+ * 答题、词汇、考试计数和连续学习状态，由触发器增量维护，不直接写入，见 StudyStatsSchema
+ */
+@Entity(tableName = "study_summary")
+public class StudySummaryEntity {
+
+    @PrimaryKey
+    private int id;
+
+    // 答题
+    private int totalAnswers;
+    private int correctAnswers;
+    private long totalResponseTime;       // 毫秒
+
+    // 学习天数（有答题记录的日期数）和连续学习
+    private int studyDays;
+    private int currentStreak;            // 截至 lastStudyDay 的连续天数
+    private int longestStreak;
+    private String lastStudyDay;          // yyyy-MM-dd，没有记录时为 null
+
+    // 词汇
+    private int vocabularyCount;
+    private int masteredVocabularyCount;
+
+    // 考试
+    private int examCount;
+    private long examScoreSum;
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public int getTotalAnswers() {
+        return totalAnswers;
+    }
+
+    public void setTotalAnswers(int totalAnswers) {
+        this.totalAnswers = totalAnswers;
+    }
+
+    public int getCorrectAnswers() {
+        return correctAnswers;
+    }
+
+    public void setCorrectAnswers(int correctAnswers) {
+        this.correctAnswers = correctAnswers;
+    }
+
+    public long getTotalResponseTime() {
+        return totalResponseTime;
+    }
+
+    public void setTotalResponseTime(long totalResponseTime) {
+        this.totalResponseTime = totalResponseTime;
+    }
+
+    public int getStudyDays() {
+        return studyDays;
+    }
+
+    public void setStudyDays(int studyDays) {
+        this.studyDays = studyDays;
+    }
+
+    public int getCurrentStreak() {
+        return currentStreak;
+    }
+
+    public void setCurrentStreak(int currentStreak) {
+        this.currentStreak = currentStreak;
+    }
+
+    public int getLongestStreak() {
+        return longestStreak;
+    }
+
+    public void setLongestStreak(int longestStreak) {
+        this.longestStreak = longestStreak;
+    }
+
+    public String getLastStudyDay() {
+        return lastStudyDay;
+    }
+
+    public void setLastStudyDay(String lastStudyDay) {
+        this.lastStudyDay = lastStudyDay;
+    }
+
+    public int getVocabularyCount() {
+        return vocabularyCount;
+    }
+
+    public void setVocabularyCount(int vocabularyCount) {
+        this.vocabularyCount = vocabularyCount;
+    }
+
+    public int getMasteredVocabularyCount() {
+        return masteredVocabularyCount;
+    }
+
+    public void setMasteredVocabularyCount(int masteredVocabularyCount) {
+        this.masteredVocabularyCount = masteredVocabularyCount;
+    }
+
+    public int getExamCount() {
+        return examCount;
+    }
+
+    public void setExamCount(int examCount) {
+        this.examCount = examCount;
+    }
+
+    public long getExamScoreSum() {
+        return examScoreSum;
+    }
+
+    public void setExamScoreSum(long examScoreSum) {
+        this.examScoreSum = examScoreSum;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.mybighomework.database.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * 翻译结果缓存实体
+ * 以规范化原文（或图片）、语言方向和术语表版本的哈希为键，
+ * 图片翻译的渲染图体积较大，单独存为文件，这里只记录路径
+ */
+@Entity(
+    tableName = "translation_cache",
+    indices = {
+        @Index("lastAccessTime"),
+        @Index("createdTime")
+    }
+)
+public class TranslationCacheEntity {
+
+    @PrimaryKey
+    @NonNull
+    private String cacheKey;
+
+    private String originalText;     // 原文（图片翻译为OCR识别结果）
+    private String translatedText;   // 译文
+    private String payloadPath;      // 渲染图文件路径（文本翻译为空）
+    private long sizeBytes;          // 占用空间（文本 + 渲染图文件）
+    private long createdTime;        // 写入时间，用于过期
+    private long lastAccessTime;     // 最近命中时间，用于淘汰
+
+    public TranslationCacheEntity() {
+        this.cacheKey = "";
+    }
+
+    @NonNull
+    public String getCacheKey() {
+        return cacheKey;
+    }
+
+    public void setCacheKey(@NonNull String cacheKey) {
+        this.cacheKey = cacheKey;
+    }
+
+    public String getOriginalText() {
+        return originalText;
+    }
+
+    public void setOriginalText(String originalText) {
+        this.originalText = originalText;
+    }
+
+    public String getTranslatedText() {
+        return translatedText;
+    }
+
+    public void setTranslatedText(String translatedText) {
+        this.translatedText = translatedText;
+    }
+
+    public String getPayloadPath() {
+        return payloadPath;
+    }
+
+    public void setPayloadPath(String payloadPath) {
+        this.payloadPath = payloadPath;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public long getCreatedTime() {
+        return createdTime;
+    }
+
+    public void setCreatedTime(long createdTime) {
+        this.createdTime = createdTime;
+    }
+
+    public long getLastAccessTime() {
+        return lastAccessTime;
+    }
+
+    public void setLastAccessTime(long lastAccessTime) {
+        this.lastAccessTime = lastAccessTime;
+    }
+}
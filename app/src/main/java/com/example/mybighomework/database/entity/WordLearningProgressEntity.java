@@ -5,11 +5,13 @@ import androidx.room.Ignore;
 import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
+import com.example.mybighomework.utils.ReviewSchedulerYSJ;
+
 /**
  * 单词学习进度实体类
  * 记录用户对每个单词的学习状态和复习计划
  * 
- * 支持艾宾浩斯遗忘曲线的智能复习功能
+ * 复习时间由 ReviewSchedulerYSJ（FSRS / SM-2）计算，stability 和 difficulty 保存调度算法的记忆状态
  */
 @Entity(
     tableName = "word_learning_progress",
@@ -41,21 +43,13 @@ public class WordLearningProgressEntity {
     private long nextReviewTime;    // 下次复习时间
     private int reviewCount;        // 复习次数
     
+    // 调度算法的记忆状态（0 表示尚未由调度算法计算过）
+    private double stability;       // FSRS：记忆稳定性（天）；SM-2：当前间隔（天）
+    private double difficulty;      // FSRS：难度 1-10；SM-2：易度因子
+    
     // 时间戳
     private long createdTime;       // 首次学习时间
     
-    // 艾宾浩斯复习间隔（毫秒）
-    private static final long[] REVIEW_INTERVALS = {
-        5 * 60 * 1000,           // 5分钟
-        30 * 60 * 1000,          // 30分钟
-        12 * 60 * 60 * 1000,     // 12小时
-        24 * 60 * 60 * 1000,     // 1天
-        2 * 24 * 60 * 60 * 1000, // 2天
-        4 * 24 * 60 * 60 * 1000, // 4天
-        7 * 24 * 60 * 60 * 1000, // 7天
-        15 * 24 * 60 * 60 * 1000 // 15天
-    };
-    
     // 默认构造函数（Room需要）
     public WordLearningProgressEntity() {
         this.userId = "default";
@@ -107,54 +101,49 @@ public class WordLearningProgressEntity {
     public int getReviewCount() { return reviewCount; }
     public void setReviewCount(int reviewCount) { this.reviewCount = reviewCount; }
     
+    public double getStability() { return stability; }
+    public void setStability(double stability) { this.stability = stability; }
+    
+    public double getDifficulty() { return difficulty; }
+    public void setDifficulty(double difficulty) { this.difficulty = difficulty; }
+    
     public long getCreatedTime() { return createdTime; }
     public void setCreatedTime(long createdTime) { this.createdTime = createdTime; }
     
     // 业务方法
     
     /**
-     * 记录答题结果
+     * 记录答题结果（默认调度参数）
      * @param isCorrect 是否答对
      */
     public void recordAnswer(boolean isCorrect) {
-        this.lastStudyTime = System.currentTimeMillis();
-        
+        recordAnswer(isCorrect, ReviewSchedulerYSJ.DEFAULT, System.currentTimeMillis());
+    }
+    
+    /**
+     * 记录答题结果
+     * @param isCorrect 是否答对
+     * @param scheduler 用户的复习调度器
+     * @param now 答题时间
+     */
+    public void recordAnswer(boolean isCorrect, ReviewSchedulerYSJ scheduler, long now) {
         if (isCorrect) {
             this.correctCount++;
             // 答对增加记忆强度
             this.memoryStrength = Math.min(10, this.memoryStrength + 1);
-            // 延长复习间隔
-            scheduleNextReview(true);
         } else {
             this.wrongCount++;
             // 答错降低记忆强度
             this.memoryStrength = Math.max(1, this.memoryStrength - 1);
-            // 缩短复习间隔
-            scheduleNextReview(false);
         }
         
-        // 更新掌握状态
-        updateMasteryStatus();
-    }
-    
-    /**
-     * 计算下次复习时间
-     * @param isCorrect 本次是否答对
-     */
-    private void scheduleNextReview(boolean isCorrect) {
+        // 调度器根据上次学习时间计算遗忘程度，需在更新 lastStudyTime 之前调用
+        scheduler.schedule(this, isCorrect, now);
         this.reviewCount++;
+        this.lastStudyTime = now;
         
-        int intervalIndex;
-        if (isCorrect) {
-            // 答对：根据记忆强度选择间隔
-            intervalIndex = Math.min(memoryStrength - 1, REVIEW_INTERVALS.length - 1);
-        } else {
-            // 答错：重置到较短间隔
-            intervalIndex = Math.max(0, (memoryStrength / 3) - 1);
-        }
-        
-        intervalIndex = Math.max(0, Math.min(intervalIndex, REVIEW_INTERVALS.length - 1));
-        this.nextReviewTime = System.currentTimeMillis() + REVIEW_INTERVALS[intervalIndex];
+        // 更新掌握状态
+        updateMasteryStatus();
     }
     
     /**
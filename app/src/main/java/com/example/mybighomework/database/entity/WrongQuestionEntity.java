@@ -1,20 +1,35 @@
 package com.example.mybighomework.database.entity;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import androidx.room.TypeConverters;
 
 import com.example.mybighomework.database.converter.DateConverter;
 import com.example.mybighomework.database.converter.StringArrayConverter;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 
-@Entity(tableName = "wrong_questions")
+/**
+ * 错题
+ * 同一来源的同一道题只有一行，以 questionKey（来源 + 题目内容的哈希）唯一标识，
+ * 再次答错时累加 wrongCount，见 WrongQuestionDao.upsertAll
+ */
+@Entity(tableName = "wrong_questions",
+        indices = {
+            @Index(value = "questionKey", unique = true),
+            @Index(value = {"category", "wrongTime"}),
+            @Index(value = "wrongTime")
+        })
 @TypeConverters({DateConverter.class, StringArrayConverter.class})
 public class WrongQuestionEntity {
     @PrimaryKey(autoGenerate = true)
     private int id;
 
+    private String questionKey;     // 自然键：来源 + 题目内容的哈希
     private String questionText;    // 题目内容
     private String[] options;       // 选项
     private int correctAnswerIndex; // 正确答案索引
@@ -26,6 +41,23 @@ public class WrongQuestionEntity {
     private int wrongCount;         // 答错次数
     private boolean mastered;       // 是否已掌握
 
+    /**
+     * 错题的自然键：来源和题目内容的 SHA-256
+     */
+    public static String naturalKey(String source, String questionText) {
+        String raw = (source != null ? source : "") + '\n' + (questionText != null ? questionText : "");
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(raw.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(raw.hashCode()) + "_" + raw.length();
+        }
+    }
+
     // Getters and Setters
     public int getId() {
         return id;
@@ -35,6 +67,14 @@ public class WrongQuestionEntity {
         this.id = id;
     }
 
+    public String getQuestionKey() {
+        return questionKey;
+    }
+
+    public void setQuestionKey(String questionKey) {
+        this.questionKey = questionKey;
+    }
+
     public String getQuestionText() {
         return questionText;
     }
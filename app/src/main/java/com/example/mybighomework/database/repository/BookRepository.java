@@ -1,6 +1,7 @@
 package com.example.mybighomework.database.repository;
 
 import android.content.Context;
+import android.util.LruCache;
 
 import androidx.lifecycle.LiveData;
 
@@ -8,13 +9,18 @@ import com.example.mybighomework.database.AppDatabase;
 import com.example.mybighomework.database.dao.BookDao;
 import com.example.mybighomework.database.dao.BookWordRelationDao;
 import com.example.mybighomework.database.dao.DictionaryWordDao;
-import com.example.mybighomework.database.dao.WordLearningProgressDao;
+import com.example.mybighomework.database.dao.StudyStatsDao;
+import com.example.mybighomework.database.entity.BookMasteryStatsEntity;
 import com.example.mybighomework.database.entity.BookEntity;
 import com.example.mybighomework.database.entity.DictionaryWordEntity;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
+import com.example.mybighomework.utils.DistractorIndexYSJ;
+import com.example.mybighomework.utils.ReviewEngineYSJ;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * 词书数据仓库
@@ -22,10 +28,16 @@ import java.util.concurrent.Executors;
  */
 public class BookRepository {
     
+    // 最近使用词书的单词ID列表缓存，所有实例共享
+    private static final LruCache<String, List<String>> WORD_IDS_CACHE = new LruCache<>(4);
+    // 最近使用词书的干扰项索引，持有整本词书的单词，只保留两本
+    private static final LruCache<String, DistractorIndexYSJ> DISTRACTOR_INDEX_CACHE = new LruCache<>(2);
+    
     private final BookDao bookDao;
     private final DictionaryWordDao wordDao;
     private final BookWordRelationDao relationDao;
-    private final WordLearningProgressDao progressDao;
+    private final StudyStatsDao studyStatsDao;
+    private final ReviewEngineYSJ reviewEngine;
     private final ExecutorService executor;
     
     public BookRepository(Context context) {
@@ -36,8 +48,9 @@ public class BookRepository {
         bookDao = database.bookDao();
         wordDao = database.dictionaryWordDao();
         relationDao = database.bookWordRelationDao();
-        progressDao = database.wordLearningProgressDao();
-        executor = Executors.newSingleThreadExecutor();
+        studyStatsDao = database.studyStatsDao();
+        reviewEngine = ReviewEngineYSJ.getInstance(database);
+        executor = AppExecutorsYSJ.getInstance().diskIO();
     }
     
     /**
@@ -178,6 +191,44 @@ public class BookRepository {
         return wordDao.getWordsByBookIdSync(bookId);
     }
     
+    /**
+     * 获取词书中的单词ID列表（同步，带缓存）
+     * 只查询ID列，用于抽样后再通过 DictionaryWordRepository 批量加载，返回的列表不可修改
+     */
+    public List<String> getWordIdsForBookSync(String bookId) {
+        List<String> cached = WORD_IDS_CACHE.get(bookId);
+        if (cached != null) {
+            return cached;
+        }
+        List<String> ids = relationDao.getWordIdsByBookId(bookId);
+        List<String> result = Collections.unmodifiableList(ids != null ? ids : new ArrayList<>());
+        WORD_IDS_CACHE.put(bookId, result);
+        return result;
+    }
+    
+    /**
+     * 获取词书的干扰项索引（同步，带缓存）
+     * 每本词书只加载一次全部单词并构建索引，之后每轮练习直接复用
+     */
+    public DistractorIndexYSJ getDistractorIndexSync(String bookId) {
+        DistractorIndexYSJ cached = DISTRACTOR_INDEX_CACHE.get(bookId);
+        if (cached != null) {
+            return cached;
+        }
+        List<DictionaryWordEntity> words = wordDao.getWordsByBookIdSync(bookId);
+        DistractorIndexYSJ index = new DistractorIndexYSJ(words != null ? words : new ArrayList<>());
+        DISTRACTOR_INDEX_CACHE.put(bookId, index);
+        return index;
+    }
+    
+    /**
+     * 清空词书单词ID和干扰项索引缓存（词典数据重新导入后调用）
+     */
+    public static void invalidateCache() {
+        WORD_IDS_CACHE.evictAll();
+        DISTRACTOR_INDEX_CACHE.evictAll();
+    }
+    
     /**
      * 获取词书中的单词数量
      */
@@ -194,9 +245,12 @@ public class BookRepository {
         executor.execute(() -> {
             try {
                 int totalWords = relationDao.getWordCountByBookId(bookId);
-                int learnedWords = progressDao.getLearnedCountByBook(userId, bookId);
-                int masteredWords = progressDao.getMasteredCountByBook(userId, bookId);
-                int reviewWords = progressDao.getTodayReviewCountByBook(userId, bookId, System.currentTimeMillis());
+                // 已学/已掌握数读取汇总表
+                BookMasteryStatsEntity mastery = studyStatsDao.getBookStats(userId, bookId);
+                int learnedWords = mastery != null ? mastery.getLearnedCount() : 0;
+                int masteredWords = mastery != null ? mastery.getMasteredCount() : 0;
+                // 待复习数读取内存中的复习队列
+                int reviewWords = reviewEngine.countDue(userId, bookId);
                 
                 BookProgress progress = new BookProgress();
                 progress.bookId = bookId;
@@ -1,16 +1,22 @@
 package com.example.mybighomework.database.repository;
 
 import android.content.Context;
+import android.util.LruCache;
 
 import androidx.lifecycle.LiveData;
 
 import com.example.mybighomework.database.AppDatabase;
 import com.example.mybighomework.database.dao.DictionaryWordDao;
 import com.example.mybighomework.database.entity.DictionaryWordEntity;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * 词典单词数据仓库
@@ -18,13 +24,25 @@ import java.util.concurrent.Executors;
  */
 public class DictionaryWordRepository {
     
+    // 最近使用的单词缓存，所有实例共享（词典数据只在导入时变化）
+    private static final int WORD_CACHE_SIZE = 512;
+    private static final LruCache<String, DictionaryWordEntity> WORD_CACHE = new LruCache<>(WORD_CACHE_SIZE);
+    
+    // 单条 IN 查询的最大ID数，低于 SQLite 999 个变量的限制
+    private static final int MAX_IDS_PER_QUERY = 900;
+    
+    private final AppDatabase database;
     private final DictionaryWordDao wordDao;
     private final ExecutorService executor;
     
     public DictionaryWordRepository(Context context) {
-        AppDatabase database = AppDatabase.getInstance(context);
+        this(AppDatabase.getInstance(context));
+    }
+    
+    public DictionaryWordRepository(AppDatabase database) {
+        this.database = database;
         wordDao = database.dictionaryWordDao();
-        executor = Executors.newSingleThreadExecutor();
+        executor = AppExecutorsYSJ.getInstance().diskIO();
     }
     
     // ==================== 查询操作 ====================
@@ -47,6 +65,84 @@ public class DictionaryWordRepository {
         });
     }
     
+    /**
+     * 根据ID列表批量获取单词（同步）
+     * 先查缓存，未命中的ID合并为一次 IN 查询；返回顺序与传入顺序一致，不存在的ID被跳过
+     */
+    public List<DictionaryWordEntity> getWordsByIdsSync(List<String> wordIds) {
+        if (wordIds == null || wordIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        Map<String, DictionaryWordEntity> found = new HashMap<>(wordIds.size() * 2);
+        Set<String> missing = new LinkedHashSet<>();
+        for (String id : wordIds) {
+            DictionaryWordEntity cached = WORD_CACHE.get(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        
+        if (!missing.isEmpty()) {
+            List<String> missingIds = new ArrayList<>(missing);
+            for (int start = 0; start < missingIds.size(); start += MAX_IDS_PER_QUERY) {
+                int end = Math.min(start + MAX_IDS_PER_QUERY, missingIds.size());
+                for (DictionaryWordEntity word : wordDao.getWordsByIdsSync(missingIds.subList(start, end))) {
+                    found.put(word.getId(), word);
+                    WORD_CACHE.put(word.getId(), word);
+                }
+            }
+        }
+        
+        List<DictionaryWordEntity> result = new ArrayList<>(wordIds.size());
+        for (String id : wordIds) {
+            DictionaryWordEntity word = found.get(id);
+            if (word != null) {
+                result.add(word);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * 根据ID列表批量获取单词（异步）
+     */
+    public void getWordsByIds(List<String> wordIds, WordsCallback callback) {
+        executor.execute(() -> {
+            try {
+                List<DictionaryWordEntity> words = getWordsByIdsSync(wordIds);
+                if (callback != null) {
+                    callback.onSuccess(words);
+                }
+            } catch (Exception e) {
+                if (callback != null) {
+                    callback.onError(e.getMessage());
+                }
+            }
+        });
+    }
+    
+    /**
+     * 把已查询到的单词放入缓存（例如搜索结果，便于随后打开详情）
+     */
+    public static void cacheWords(List<DictionaryWordEntity> words) {
+        if (words == null) {
+            return;
+        }
+        for (DictionaryWordEntity word : words) {
+            WORD_CACHE.put(word.getId(), word);
+        }
+    }
+    
+    /**
+     * 清空单词缓存（词典数据重新导入后调用）
+     */
+    public static void invalidateCache() {
+        WORD_CACHE.evictAll();
+    }
+    
     /**
      * 根据单词文本获取单词
      */
@@ -113,7 +209,7 @@ public class DictionaryWordRepository {
     public void getRandomWords(int limit, WordsCallback callback) {
         executor.execute(() -> {
             try {
-                List<DictionaryWordEntity> words = wordDao.getRandomWords(limit);
+                List<DictionaryWordEntity> words = database.randomSampler().randomWords(limit);
                 if (callback != null) {
                     callback.onSuccess(words);
                 }
@@ -131,7 +227,7 @@ public class DictionaryWordRepository {
     public void getRandomWordsExcluding(String excludeWordId, int limit, WordsCallback callback) {
         executor.execute(() -> {
             try {
-                List<DictionaryWordEntity> words = wordDao.getRandomWordsExcluding(excludeWordId, limit);
+                List<DictionaryWordEntity> words = database.randomSampler().randomWordsExcluding(excludeWordId, limit);
                 if (callback != null) {
                     callback.onSuccess(words);
                 }
@@ -147,14 +243,14 @@ public class DictionaryWordRepository {
      * 获取随机单词（同步）
      */
     public List<DictionaryWordEntity> getRandomWordsSync(int limit) {
-        return wordDao.getRandomWords(limit);
+        return database.randomSampler().randomWords(limit);
     }
     
     /**
      * 获取随机单词（排除指定单词，同步）
      */
     public List<DictionaryWordEntity> getRandomWordsExcludingSync(String excludeWordId, int limit) {
-        return wordDao.getRandomWordsExcluding(excludeWordId, limit);
+        return database.randomSampler().randomWordsExcluding(excludeWordId, limit);
     }
     
     // ==================== 统计操作 ====================
@@ -5,10 +5,10 @@ import android.content.Context;
 import com.example.mybighomework.database.AppDatabase;
 import com.example.mybighomework.database.dao.ExamResultDao;
 import com.example.mybighomework.database.entity.ExamResultEntity;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * 考试成绩数据仓库
@@ -22,7 +22,7 @@ public class ExamResultRepository {
     public ExamResultRepository(Context context) {
         AppDatabase database = AppDatabase.getInstance(context);
         examResultDao = database.examResultDao();
-        executorService = Executors.newSingleThreadExecutor();
+        executorService = AppExecutorsYSJ.getInstance().diskIO();
     }
     
     /**
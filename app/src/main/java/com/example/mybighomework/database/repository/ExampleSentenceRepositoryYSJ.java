@@ -7,10 +7,10 @@ import androidx.lifecycle.LiveData;
 import com.example.mybighomework.database.AppDatabase;
 import com.example.mybighomework.database.dao.ExampleSentenceDao;
 import com.example.mybighomework.database.entity.ExampleSentenceEntity;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * 例句数据仓库
@@ -24,7 +24,7 @@ public class ExampleSentenceRepositoryYSJ {
     public ExampleSentenceRepositoryYSJ(Context context) {
         AppDatabase database = AppDatabase.getInstance(context);
         sentenceDao = database.exampleSentenceDao();
-        executor = Executors.newSingleThreadExecutor();
+        executor = AppExecutorsYSJ.getInstance().diskIO();
     }
     
     /**
@@ -6,12 +6,15 @@ import androidx.lifecycle.LiveData;
 
 import com.example.mybighomework.database.AppDatabase;
 import com.example.mybighomework.database.dao.BookWordRelationDao;
+import com.example.mybighomework.database.dao.StudyStatsDao;
 import com.example.mybighomework.database.dao.WordLearningProgressDao;
+import com.example.mybighomework.database.entity.BookMasteryStatsEntity;
 import com.example.mybighomework.database.entity.WordLearningProgressEntity;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
+import com.example.mybighomework.utils.ReviewEngineYSJ;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * 学习进度数据仓库
@@ -22,7 +25,9 @@ public class LearningProgressRepository {
     private static final String DEFAULT_USER_ID = "default";
     
     private final WordLearningProgressDao progressDao;
+    private final StudyStatsDao studyStatsDao;
     private final BookWordRelationDao relationDao;
+    private final ReviewEngineYSJ reviewEngine;
     private final ExecutorService executor;
     
     public LearningProgressRepository(Context context) {
@@ -31,8 +36,10 @@ public class LearningProgressRepository {
     
     public LearningProgressRepository(AppDatabase database) {
         progressDao = database.wordLearningProgressDao();
+        studyStatsDao = database.studyStatsDao();
         relationDao = database.bookWordRelationDao();
-        executor = Executors.newSingleThreadExecutor();
+        reviewEngine = ReviewEngineYSJ.getInstance(database);
+        executor = AppExecutorsYSJ.getInstance().diskIO();
     }
     
     /**
@@ -46,13 +53,14 @@ public class LearningProgressRepository {
                     progress = new WordLearningProgressEntity(userId, wordId, bookId);
                 }
                 
-                progress.recordAnswer(isCorrect);
+                progress.recordAnswer(isCorrect, reviewEngine.schedulerFor(userId), System.currentTimeMillis());
                 
                 if (progress.getId() == 0) {
                     progressDao.insert(progress);
                 } else {
                     progressDao.update(progress);
                 }
+                reviewEngine.onProgressChanged(progress);
             } catch (Exception e) {
                 e.printStackTrace();
             }
@@ -109,7 +117,7 @@ public class LearningProgressRepository {
                     progress = new WordLearningProgressEntity(userId, wordId, bookId);
                 }
                 
-                progress.recordAnswer(isCorrect);
+                progress.recordAnswer(isCorrect, reviewEngine.schedulerFor(userId), System.currentTimeMillis());
                 
                 if (progress.getId() == 0) {
                     long id = progressDao.insert(progress);
@@ -117,6 +125,7 @@ public class LearningProgressRepository {
                 } else {
                     progressDao.update(progress);
                 }
+                reviewEngine.onProgressChanged(progress);
                 
                 if (callback != null) {
                     callback.onSuccess(progress);
@@ -287,9 +296,11 @@ public class LearningProgressRepository {
                 BookLearningStats stats = new BookLearningStats();
                 stats.bookId = bookId;
                 stats.totalWords = relationDao.getWordCountByBookId(bookId);
-                stats.learnedWords = progressDao.getLearnedCountByBook(userId, bookId);
-                stats.masteredWords = progressDao.getMasteredCountByBook(userId, bookId);
-                stats.todayReview = progressDao.getTodayReviewCountByBook(userId, bookId, System.currentTimeMillis());
+                // 已学/已掌握数读取汇总表
+                BookMasteryStatsEntity mastery = studyStatsDao.getBookStats(userId, bookId);
+                stats.learnedWords = mastery != null ? mastery.getLearnedCount() : 0;
+                stats.masteredWords = mastery != null ? mastery.getMasteredCount() : 0;
+                stats.todayReview = reviewEngine.countDue(userId, bookId);
                 
                 if (callback != null) {
                     callback.onSuccess(stats);
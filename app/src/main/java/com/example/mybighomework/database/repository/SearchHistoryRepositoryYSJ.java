@@ -7,27 +7,44 @@ import androidx.lifecycle.LiveData;
 import com.example.mybighomework.database.AppDatabase;
 import com.example.mybighomework.database.dao.SearchHistoryDao;
 import com.example.mybighomework.database.entity.SearchHistoryEntity;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
+import com.example.mybighomework.utils.WordSuggestionServiceYSJ;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * 搜索历史数据仓库
  * 封装搜索历史相关的数据访问逻辑
+ *
+ * 每个用户最近的搜索词在内存中保留一份（preloadHistory 加载，增删时同步更新），
+ * 输入联想由这份历史和单词前缀树合成，不查询数据库
  */
 public class SearchHistoryRepositoryYSJ {
     
     private final SearchHistoryDao historyDao;
     private final ExecutorService executor;
+    private final WordSuggestionServiceYSJ suggestionService;
     
     private static final int DEFAULT_HISTORY_LIMIT = 10;
     private static final long HISTORY_EXPIRY_DAYS = 30;
+    // 内存中为每个用户保留的最近搜索词数量
+    private static final int CACHED_KEYWORD_LIMIT = 100;
+    
+    // 用户ID -> 最近的搜索词（不重复，最近的在前）
+    private static final Map<String, List<String>> RECENT_KEYWORDS = new HashMap<>();
     
     public SearchHistoryRepositoryYSJ(Context context) {
         AppDatabase database = AppDatabase.getInstance(context);
         historyDao = database.searchHistoryDao();
-        executor = Executors.newSingleThreadExecutor();
+        executor = AppExecutorsYSJ.getInstance().diskIO();
+        suggestionService = WordSuggestionServiceYSJ.getInstance(context);
     }
     
     /**
@@ -40,9 +57,27 @@ public class SearchHistoryRepositoryYSJ {
             entity.setUserId(userId);
             entity.setSearchTime(System.currentTimeMillis());
             historyDao.insert(entity);
+            // 与加载在同一线程中执行，内存中的历史不会漏掉这一条
+            synchronized (RECENT_KEYWORDS) {
+                List<String> keywords = RECENT_KEYWORDS.get(userId);
+                if (keywords != null) {
+                    keywords.remove(keyword);
+                    keywords.add(0, keyword);
+                    if (keywords.size() > CACHED_KEYWORD_LIMIT) {
+                        keywords.remove(keywords.size() - 1);
+                    }
+                }
+            }
         });
     }
     
+    /**
+     * 把用户最近的搜索词加载到内存，进入搜索页时调用；已加载时不做任何事
+     */
+    public void preloadHistory(String userId) {
+        executor.execute(() -> loadKeywords(userId));
+    }
+    
     /**
      * 获取最近搜索（LiveData）
      */
@@ -76,12 +111,63 @@ public class SearchHistoryRepositoryYSJ {
     }
     
     /**
-     * 搜索建议（根据关键词前缀）
+     * 输入联想：以关键词开头的搜索历史（最近的在前，最多占一半）和词典单词（按词频）
+     * 只读内存，可在主线程中随输入调用；历史或前缀树尚未加载时只返回已加载的部分
+     */
+    public List<String> suggest(String userId, String keyword, int limit) {
+        List<String> suggestions = new ArrayList<>();
+        String prefix = keyword == null ? "" : keyword.trim().toLowerCase(Locale.ROOT);
+        if (prefix.isEmpty() || limit <= 0) {
+            return suggestions;
+        }
+        
+        List<String> history = new ArrayList<>();
+        synchronized (RECENT_KEYWORDS) {
+            List<String> keywords = RECENT_KEYWORDS.get(userId);
+            if (keywords != null) {
+                for (String candidate : keywords) {
+                    if (candidate.toLowerCase(Locale.ROOT).startsWith(prefix)) {
+                        history.add(candidate);
+                    }
+                }
+            }
+        }
+        
+        Set<String> seen = new HashSet<>();
+        int historyQuota = (limit + 1) / 2;
+        for (int i = 0; i < history.size() && suggestions.size() < historyQuota; i++) {
+            addDistinct(suggestions, seen, history.get(i));
+        }
+        // 多取一些，跳过与历史重复的单词后仍能填满
+        for (String word : suggestionService.complete(prefix, limit + suggestions.size())) {
+            if (suggestions.size() >= limit) {
+                break;
+            }
+            addDistinct(suggestions, seen, word);
+        }
+        for (int i = 0; i < history.size() && suggestions.size() < limit; i++) {
+            addDistinct(suggestions, seen, history.get(i));
+        }
+        return suggestions;
+    }
+    
+    private static void addDistinct(List<String> suggestions, Set<String> seen, String candidate) {
+        if (seen.add(candidate.toLowerCase(Locale.ROOT))) {
+            suggestions.add(candidate);
+        }
+    }
+    
+    /**
+     * 搜索建议（根据关键词前缀），在后台加载历史和前缀树后回调
      */
     public void getSearchSuggestions(String userId, String keyword, int limit, SuggestionsCallback callback) {
         executor.execute(() -> {
             try {
-                List<String> suggestions = historyDao.searchKeywords(userId, keyword, limit);
+                loadKeywords(userId);
+                if (!suggestionService.isReady()) {
+                    suggestionService.warmUp();
+                }
+                List<String> suggestions = suggest(userId, keyword, limit);
                 if (callback != null) {
                     callback.onSuccess(suggestions);
                 }
@@ -100,6 +186,9 @@ public class SearchHistoryRepositoryYSJ {
         executor.execute(() -> {
             try {
                 historyDao.deleteAllByUser(userId);
+                synchronized (RECENT_KEYWORDS) {
+                    RECENT_KEYWORDS.put(userId, new ArrayList<>());
+                }
                 if (callback != null) {
                     callback.onComplete();
                 }
@@ -118,9 +207,25 @@ public class SearchHistoryRepositoryYSJ {
         executor.execute(() -> {
             long expiryTime = System.currentTimeMillis() - (HISTORY_EXPIRY_DAYS * 24 * 60 * 60 * 1000);
             historyDao.deleteOldHistory(expiryTime);
+            // 下次进入搜索页时重新加载
+            synchronized (RECENT_KEYWORDS) {
+                RECENT_KEYWORDS.clear();
+            }
         });
     }
     
+    private void loadKeywords(String userId) {
+        synchronized (RECENT_KEYWORDS) {
+            if (RECENT_KEYWORDS.containsKey(userId)) {
+                return;
+            }
+        }
+        List<String> keywords = historyDao.getRecentKeywords(userId, CACHED_KEYWORD_LIMIT);
+        synchronized (RECENT_KEYWORDS) {
+            RECENT_KEYWORDS.put(userId, new ArrayList<>(keywords));
+        }
+    }
+    
     // ==================== 回调接口 ====================
     
     public interface HistoryCallback {
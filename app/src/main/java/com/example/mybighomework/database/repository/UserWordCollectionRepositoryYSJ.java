@@ -7,10 +7,10 @@ import androidx.lifecycle.LiveData;
 import com.example.mybighomework.database.AppDatabase;
 import com.example.mybighomework.database.dao.UserWordCollectionDao;
 import com.example.mybighomework.database.entity.UserWordCollectionEntity;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * 用户单词收藏（生词本）数据仓库
@@ -24,7 +24,7 @@ public class UserWordCollectionRepositoryYSJ {
     public UserWordCollectionRepositoryYSJ(Context context) {
         AppDatabase database = AppDatabase.getInstance(context);
         collectionDao = database.userWordCollectionDao();
-        executor = Executors.newSingleThreadExecutor();
+        executor = AppExecutorsYSJ.getInstance().diskIO();
     }
     
     /**
@@ -0,0 +1,583 @@
+package com.example.mybighomework.exam;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.example.mybighomework.database.AppDatabase;
+import com.example.mybighomework.database.dao.ExamProgressDao;
+import com.example.mybighomework.database.entity.ExamProgressEntity;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * 考试答题日志（自动保存）
+ *
+ * 每场考试一个只追加的日志文件 files/exam_journal/<考试>.journal。作答时只更新内存，
+ * 同一题的多次作答合并，满足以下任一条件时把这一批作答作为一帧追加到文件末尾并 sync：
+ * 1. 第一条未写入的作答已等待 COMMIT_DELAY_MILLIS
+ * 2. 未写入的作答达到 MAX_PENDING_ANSWERS
+ * 3. 页面调用 flush() / checkpoint()（onPause 时）
+ *
+ * 帧格式：int 数据长度, int CRC32, 数据。数据是一串记录，选择题 3 个字节左右：
+ * 记录类型 1 = 选项 {varint 题号, byte 选项下标}，2 = 文本 {varint 题号, varint 字节数, UTF-8}，
+ * 3 = 位置 {varint 当前题号, varint 剩余毫秒}，同一题以后写的为准。
+ * 进程被杀或断电时最后一帧可能不完整，恢复时校验失败的帧及其后的内容被截掉，之前的作答都在。
+ *
+ * 追加的内容超过 COMPACT_THRESHOLD_BYTES 或调用 checkpoint() 时压缩：全部作答编码为一份快照写入
+ * exam_progress.answerSnapshot，再把日志重写为只含这份快照的一帧。恢复时只需读取日志文件，
+ * 日志丢失时才从 exam_progress 读取快照
+ *
+ * 使用方式：
+ * ExamAnswerJournalYSJ journal = ExamAnswerJournalYSJ.open(context, packId);
+ * ExamAnswerJournalYSJ.State state = journal.recover();
+ * // 日志为空时可读取 exam_progress 中的快照，采用后调用 journal.acceptRecovered(snapshot)
+ * journal.recordAnswer(questionIndex, "B");
+ * // onPause
+ * journal.checkpoint();
+ * // 成绩保存后
+ * journal.discard();
+ */
+public class ExamAnswerJournalYSJ {
+
+    private static final String TAG = "ExamAnswerJournal";
+    private static final String JOURNAL_DIR = "exam_journal";
+    private static final String FILE_SUFFIX = ".journal";
+
+    private static final int MAGIC = 0x454A4E4C; // "EJNL"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 8;
+    private static final int FRAME_HEADER_BYTES = 8;
+
+    private static final int RECORD_CHOICE = 1;
+    private static final int RECORD_TEXT = 2;
+    private static final int RECORD_POSITION = 3;
+
+    // 第一条未写入的作答最多等待多久
+    public static final long COMMIT_DELAY_MILLIS = 2000;
+    // 累积多少道题的作答后立即写入
+    public static final int MAX_PENDING_ANSWERS = 16;
+    // 上次压缩后追加超过多少字节时压缩
+    public static final int COMPACT_THRESHOLD_BYTES = 16 * 1024;
+
+    /**
+     * 答题状态：各题答案、当前题号和剩余时间
+     */
+    public static class State {
+        private final Map<Integer, String> answers = new HashMap<>();
+        private int currentQuestionIndex;
+        private long timeLeftInMillis = -1;
+
+        public Map<Integer, String> getAnswers() {
+            return Collections.unmodifiableMap(answers);
+        }
+
+        public int getCurrentQuestionIndex() {
+            return currentQuestionIndex;
+        }
+
+        /**
+         * 剩余时间，没有记录时为 -1
+         */
+        public long getTimeLeftInMillis() {
+            return timeLeftInMillis;
+        }
+
+        public boolean isEmpty() {
+            return answers.isEmpty() && timeLeftInMillis < 0;
+        }
+
+        private State copy() {
+            State copy = new State();
+            copy.answers.putAll(answers);
+            copy.currentQuestionIndex = currentQuestionIndex;
+            copy.timeLeftInMillis = timeLeftInMillis;
+            return copy;
+        }
+    }
+
+    /**
+     * 从 exam_progress 恢复的回调，在写入线程调用，没有快照时 state 为 null。
+     * state 是独立的副本，采用时需调用 acceptRecovered()
+     */
+    public interface RecoveryCallback {
+        void onRecovered(@Nullable State state);
+    }
+
+    private final String examKey;
+    private final File file;
+    private final ExamProgressDao progressDao;
+    private final Executor writeExecutor;
+    private final ScheduledExecutorService scheduler;
+
+    private final Object lock = new Object();
+    private Map<Integer, String> pendingAnswers = new LinkedHashMap<>();
+    private int pendingQuestionIndex = -1;
+    private long pendingTimeLeft = -1;
+    private ScheduledFuture<?> scheduledCommit;
+
+    // 以下只在写入线程访问（recover() 在第一次写入之前调用）
+    private final State committed = new State();
+    private FileOutputStream output;
+    private long journalBytes;
+    private long compactedBytes;
+
+    public static ExamAnswerJournalYSJ open(Context context, String examKey) {
+        AppExecutorsYSJ executors = AppExecutorsYSJ.getInstance();
+        return new ExamAnswerJournalYSJ(new File(context.getApplicationContext().getFilesDir(), JOURNAL_DIR),
+                examKey, AppDatabase.getInstance(context).examProgressDao(),
+                executors.diskIO(), executors.scheduler());
+    }
+
+    ExamAnswerJournalYSJ(File dir, String examKey, ExamProgressDao progressDao,
+                         Executor writeExecutor, ScheduledExecutorService scheduler) {
+        this.examKey = examKey;
+        this.file = new File(dir, examKey.replaceAll("[^A-Za-z0-9_.-]", "_") + FILE_SUFFIX);
+        this.progressDao = progressDao;
+        this.writeExecutor = writeExecutor;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * 读取日志文件恢复答题状态，在记录作答之前调用一次。
+     * 文件只有上次压缩后的快照和之后的几帧，可以在主线程读取；没有日志时返回空状态
+     */
+    public State recover() {
+        byte[] bytes;
+        try {
+            bytes = readFile(file);
+        } catch (IOException e) {
+            Log.w(TAG, "读取答题日志失败: " + file, e);
+            return committed.copy();
+        }
+        if (bytes == null) {
+            return committed.copy();
+        }
+
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        if (bytes.length < HEADER_BYTES || in.getInt() != MAGIC || in.getInt() != FORMAT_VERSION) {
+            Log.w(TAG, "答题日志格式不对，丢弃: " + file);
+            file.delete();
+            return committed.copy();
+        }
+        int validEnd = HEADER_BYTES;
+        CRC32 crc = new CRC32();
+        while (in.remaining() >= FRAME_HEADER_BYTES) {
+            int length = in.getInt();
+            int checksum = in.getInt();
+            if (length < 0 || length > in.remaining()) {
+                break;
+            }
+            crc.reset();
+            crc.update(bytes, in.position(), length);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.wrap(bytes, in.position(), length).slice();
+            in.position(in.position() + length);
+            // 整帧解码成功后才合并，一帧要么全部生效要么全部丢弃
+            State frame = new State();
+            try {
+                decode(payload, frame);
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                break;
+            }
+            committed.answers.putAll(frame.answers);
+            if (frame.timeLeftInMillis >= 0) {
+                committed.currentQuestionIndex = frame.currentQuestionIndex;
+                committed.timeLeftInMillis = frame.timeLeftInMillis;
+            }
+            validEnd = in.position();
+        }
+        if (validEnd < bytes.length) {
+            // 最后一帧没写完整，截掉后继续追加
+            Log.w(TAG, "答题日志末尾 " + (bytes.length - validEnd) + " 字节不完整，已截断");
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(validEnd);
+            } catch (IOException e) {
+                Log.w(TAG, "截断答题日志失败", e);
+            }
+        }
+        journalBytes = validEnd;
+        return committed.copy();
+    }
+
+    /**
+     * 日志文件丢失时，在写入线程读取 exam_progress 中最近一次压缩的快照。
+     * 快照不会合并到日志，页面决定采用后调用 acceptRecovered()，不采用的下次压缩时被覆盖
+     */
+    public void recoverFromCheckpoint(RecoveryCallback callback) {
+        writeExecutor.execute(() -> {
+            State state = null;
+            try {
+                ExamProgressEntity progress = progressDao.getUncompletedProgressByKey(examKey);
+                if (progress != null && progress.getAnswerSnapshot() != null) {
+                    State snapshot = new State();
+                    decode(ByteBuffer.wrap(progress.getAnswerSnapshot()), snapshot);
+                    state = snapshot;
+                }
+            } catch (RuntimeException e) {
+                Log.e(TAG, "读取答题快照失败: " + examKey, e);
+            }
+            callback.onRecovered(state);
+        });
+    }
+
+    /**
+     * 页面采用了 recoverFromCheckpoint() 读出的快照（异步）：
+     * 快照中的作答作为底稿，之后已写入的作答仍以新的为准；题号和剩余时间以快照为准。
+     * 合并后重写日志，之后追加的帧都以完整的作答为基础
+     */
+    public void acceptRecovered(State state) {
+        State recovered = state.copy();
+        writeExecutor.execute(() -> {
+            Map<Integer, String> newer = new HashMap<>(committed.answers);
+            committed.answers.clear();
+            committed.answers.putAll(recovered.answers);
+            committed.answers.putAll(newer);
+            if (recovered.timeLeftInMillis >= 0) {
+                committed.currentQuestionIndex = recovered.currentQuestionIndex;
+                committed.timeLeftInMillis = recovered.timeLeftInMillis;
+            }
+            closeOutput();
+            rewriteJournal();
+        });
+    }
+
+    /**
+     * 记录一道题的作答，选择题为选项字母 "A"~"H"，主观题为作答文本
+     */
+    public void recordAnswer(int questionIndex, String answer) {
+        synchronized (lock) {
+            pendingAnswers.put(questionIndex, answer);
+            if (pendingAnswers.size() >= MAX_PENDING_ANSWERS) {
+                commitPendingLocked();
+            } else {
+                scheduleCommitLocked();
+            }
+        }
+    }
+
+    /**
+     * 记录当前题号和剩余时间，与作答一起写入，只保留最后一次
+     */
+    public void recordPosition(int currentQuestionIndex, long timeLeftInMillis) {
+        synchronized (lock) {
+            pendingQuestionIndex = currentQuestionIndex;
+            pendingTimeLeft = timeLeftInMillis;
+            scheduleCommitLocked();
+        }
+    }
+
+    /**
+     * 立即写入未写入的作答（异步）
+     */
+    public void flush() {
+        synchronized (lock) {
+            commitPendingLocked();
+        }
+    }
+
+    /**
+     * 写入未写入的作答并压缩到 exam_progress（异步）
+     */
+    public void checkpoint() {
+        synchronized (lock) {
+            commitPendingLocked();
+        }
+        writeExecutor.execute(this::compact);
+    }
+
+    /**
+     * 考试已提交：删除日志，exam_progress 中的记录标记为已完成（异步）
+     */
+    public void discard() {
+        synchronized (lock) {
+            cancelCommitLocked();
+            pendingAnswers = new LinkedHashMap<>();
+            pendingQuestionIndex = -1;
+        }
+        writeExecutor.execute(() -> {
+            closeOutput();
+            file.delete();
+            committed.answers.clear();
+            committed.timeLeftInMillis = -1;
+            journalBytes = 0;
+            compactedBytes = 0;
+            try {
+                ExamProgressEntity progress = progressDao.getUncompletedProgressByKey(examKey);
+                if (progress != null) {
+                    progressDao.markAsCompleted(progress.getId());
+                }
+            } catch (RuntimeException e) {
+                Log.e(TAG, "更新考试进度失败: " + examKey, e);
+            }
+        });
+    }
+
+    /**
+     * 写入未写入的作答并关闭文件（异步），页面销毁时调用
+     */
+    public void close() {
+        flush();
+        writeExecutor.execute(this::closeOutput);
+    }
+
+    private void scheduleCommitLocked() {
+        if (scheduledCommit == null) {
+            scheduledCommit = scheduler.schedule(this::flush, COMMIT_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void cancelCommitLocked() {
+        if (scheduledCommit != null) {
+            scheduledCommit.cancel(false);
+            scheduledCommit = null;
+        }
+    }
+
+    private void commitPendingLocked() {
+        cancelCommitLocked();
+        if (pendingAnswers.isEmpty() && pendingQuestionIndex < 0) {
+            return;
+        }
+        Map<Integer, String> answers = pendingAnswers;
+        int questionIndex = pendingQuestionIndex;
+        long timeLeft = pendingTimeLeft;
+        pendingAnswers = new LinkedHashMap<>();
+        pendingQuestionIndex = -1;
+        writeExecutor.execute(() -> commit(answers, questionIndex, timeLeft));
+    }
+
+    /**
+     * 把一批作答作为一帧追加到日志
+     */
+    private void commit(Map<Integer, String> answers, int questionIndex, long timeLeft) {
+        byte[] payload = encode(answers, questionIndex, timeLeft);
+        committed.answers.putAll(answers);
+        if (questionIndex >= 0) {
+            committed.currentQuestionIndex = questionIndex;
+            committed.timeLeftInMillis = timeLeft;
+        }
+        try {
+            if (output == null) {
+                openOutput();
+            }
+            byte[] frame = frame(payload);
+            output.write(frame);
+            output.getFD().sync();
+            journalBytes += frame.length;
+        } catch (IOException e) {
+            // 文件末尾可能留下半帧，之后追加的帧恢复时会被一起丢弃，改为重写整个日志
+            Log.e(TAG, "追加答题日志失败，重写日志", e);
+            closeOutput();
+            rewriteJournal();
+            return;
+        }
+        if (journalBytes - compactedBytes > COMPACT_THRESHOLD_BYTES) {
+            compact();
+        }
+    }
+
+    /**
+     * 把当前全部作答写入 exam_progress，再把日志重写为一份快照。
+     * 两步之间崩溃时旧日志仍然完整，重放结果相同
+     */
+    private void compact() {
+        if (committed.isEmpty()) {
+            return;
+        }
+        byte[] snapshot = encode(committed.answers, committed.currentQuestionIndex, committed.timeLeftInMillis);
+        try {
+            long now = System.currentTimeMillis();
+            ExamProgressEntity progress = progressDao.getUncompletedProgressByKey(examKey);
+            boolean isNew = progress == null;
+            if (isNew) {
+                progress = new ExamProgressEntity();
+                progress.setExamKey(examKey);
+                progress.setStartTime(now);
+            }
+            progress.setAnswerSnapshot(snapshot);
+            progress.setCurrentQuestionIndex(committed.currentQuestionIndex);
+            progress.setTimeLeftInMillis(Math.max(0, committed.timeLeftInMillis));
+            progress.setLastUpdateTime(now);
+            if (isNew) {
+                progressDao.insertProgress(progress);
+            } else {
+                progressDao.updateProgress(progress);
+            }
+        } catch (RuntimeException e) {
+            Log.e(TAG, "写入答题快照失败，保留日志", e);
+            return;
+        }
+        closeOutput();
+        rewriteJournal();
+    }
+
+    /**
+     * 写入临时文件后替换，日志只含一帧全部作答
+     */
+    private void rewriteJournal() {
+        byte[] snapshot = encode(committed.answers, committed.currentQuestionIndex, committed.timeLeftInMillis);
+        File temp = new File(file.getPath() + ".tmp");
+        try {
+            ensureDir();
+            try (FileOutputStream out = new FileOutputStream(temp)) {
+                out.write(header());
+                out.write(frame(snapshot));
+                out.getFD().sync();
+            }
+            if (!temp.renameTo(file)) {
+                throw new IOException("无法替换答题日志: " + file);
+            }
+            journalBytes = file.length();
+            compactedBytes = journalBytes;
+        } catch (IOException e) {
+            Log.e(TAG, "重写答题日志失败", e);
+            temp.delete();
+        }
+    }
+
+    private void openOutput() throws IOException {
+        ensureDir();
+        boolean isNew = !file.exists() || file.length() < HEADER_BYTES;
+        output = new FileOutputStream(file, !isNew);
+        if (isNew) {
+            output.write(header());
+            journalBytes = HEADER_BYTES;
+            compactedBytes = HEADER_BYTES;
+        }
+    }
+
+    private void closeOutput() {
+        if (output != null) {
+            try {
+                output.close();
+            } catch (IOException e) {
+                Log.w(TAG, "关闭答题日志失败", e);
+            }
+            output = null;
+        }
+    }
+
+    private void ensureDir() throws IOException {
+        File dir = file.getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("无法创建目录: " + dir);
+        }
+    }
+
+    private static byte[] header() {
+        return ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(FORMAT_VERSION).array();
+    }
+
+    private static byte[] frame(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return ByteBuffer.allocate(FRAME_HEADER_BYTES + payload.length)
+                .putInt(payload.length)
+                .putInt((int) crc.getValue())
+                .put(payload)
+                .array();
+    }
+
+    static byte[] encode(Map<Integer, String> answers, int questionIndex, long timeLeft) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(answers.size() * 3 + 12);
+        for (Map.Entry<Integer, String> entry : answers.entrySet()) {
+            String answer = entry.getValue();
+            if (answer.length() == 1 && answer.charAt(0) >= 'A' && answer.charAt(0) <= 'H') {
+                out.write(RECORD_CHOICE);
+                writeVarint(out, entry.getKey());
+                out.write(answer.charAt(0) - 'A');
+            } else {
+                byte[] text = answer.getBytes(StandardCharsets.UTF_8);
+                out.write(RECORD_TEXT);
+                writeVarint(out, entry.getKey());
+                writeVarint(out, text.length);
+                out.write(text, 0, text.length);
+            }
+        }
+        if (questionIndex >= 0) {
+            out.write(RECORD_POSITION);
+            writeVarint(out, questionIndex);
+            writeVarint(out, Math.max(0, timeLeft));
+        }
+        return out.toByteArray();
+    }
+
+    static void decode(ByteBuffer in, State state) {
+        while (in.hasRemaining()) {
+            int type = in.get();
+            switch (type) {
+                case RECORD_CHOICE: {
+                    int questionIndex = (int) readVarint(in);
+                    state.answers.put(questionIndex, String.valueOf((char) ('A' + in.get())));
+                    break;
+                }
+                case RECORD_TEXT: {
+                    int questionIndex = (int) readVarint(in);
+                    byte[] text = new byte[(int) readVarint(in)];
+                    in.get(text);
+                    state.answers.put(questionIndex, new String(text, StandardCharsets.UTF_8));
+                    break;
+                }
+                case RECORD_POSITION:
+                    state.currentQuestionIndex = (int) readVarint(in);
+                    state.timeLeftInMillis = readVarint(in);
+                    break;
+                default:
+                    throw new IllegalArgumentException("未知的记录类型: " + type);
+            }
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("varint 过长");
+    }
+
+    @Nullable
+    private static byte[] readFile(File file) throws IOException {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            byte[] bytes = new byte[(int) raf.length()];
+            raf.readFully(bytes);
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.mybighomework.exam;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.content.res.AssetManager;
+import android.util.Log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 试卷内容仓库
+ * 试卷包来自两处：APK 内的 assets/exam_packs（构建时生成），以及应用私有目录 files/exam_packs
+ * （下载或导入的试卷，放入即可使用，不需要重新编译）。同一 id 取内容版本高的一份，版本相同时取内置的。
+ *
+ * 试卷包以内存映射方式打开（assets 中的 .pack 不压缩，见 build.gradle.kts），打开后缓存，
+ * 只读取头部，可在主线程调用
+ *
+ * 使用方式：
+ * ExamContentRepositoryYSJ repository = ExamContentRepositoryYSJ.getInstance(context);
+ * ExamPackYSJ pack = repository.open("kaoyan_english2_2025");
+ * ExamPackQuestion first = pack.getQuestion(0);
+ */
+public class ExamContentRepositoryYSJ {
+
+    private static final String TAG = "ExamContentRepository";
+    private static final String PACK_DIR = "exam_packs";
+
+    private static volatile ExamContentRepositoryYSJ INSTANCE;
+
+    private final AssetManager assets;
+    private final File downloadDir;
+    private final Map<String, ExamPackYSJ> openPacks = new HashMap<>();
+
+    public static ExamContentRepositoryYSJ getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (ExamContentRepositoryYSJ.class) {
+                if (INSTANCE == null) {
+                    Context app = context.getApplicationContext();
+                    INSTANCE = new ExamContentRepositoryYSJ(app.getAssets(), new File(app.getFilesDir(), PACK_DIR));
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    ExamContentRepositoryYSJ(AssetManager assets, File downloadDir) {
+        this.assets = assets;
+        this.downloadDir = downloadDir;
+    }
+
+    /**
+     * 打开试卷包
+     * @throws IOException 没有该试卷或试卷包损坏
+     */
+    public synchronized ExamPackYSJ open(String packId) throws IOException {
+        ExamPackYSJ pack = openPacks.get(packId);
+        if (pack != null) {
+            return pack;
+        }
+
+        String fileName = packId + ExamPackYSJ.FILE_SUFFIX;
+        ExamPackYSJ bundled = null;
+        try {
+            bundled = new ExamPackYSJ(mapAsset(PACK_DIR + "/" + fileName));
+        } catch (FileNotFoundException e) {
+            // 不是内置试卷
+        }
+        ExamPackYSJ downloaded = null;
+        File file = new File(downloadDir, fileName);
+        if (file.exists()) {
+            try {
+                downloaded = new ExamPackYSJ(mapFile(file));
+            } catch (IOException e) {
+                Log.w(TAG, "下载的试卷包无法打开: " + file, e);
+            }
+        }
+
+        if (downloaded != null && (bundled == null || downloaded.getVersion() > bundled.getVersion())) {
+            pack = downloaded;
+        } else if (bundled != null) {
+            pack = bundled;
+        } else {
+            throw new FileNotFoundException("没有试卷: " + packId);
+        }
+        openPacks.put(packId, pack);
+        return pack;
+    }
+
+    /**
+     * 全部可用的试卷（内置和下载的），打开失败的跳过
+     */
+    public List<ExamPackYSJ> listPacks() {
+        Set<String> ids = new LinkedHashSet<>();
+        try {
+            String[] names = assets.list(PACK_DIR);
+            if (names != null) {
+                addPackIds(ids, names);
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "读取内置试卷列表失败", e);
+        }
+        String[] downloaded = downloadDir.list();
+        if (downloaded != null) {
+            addPackIds(ids, downloaded);
+        }
+
+        List<ExamPackYSJ> packs = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            try {
+                packs.add(open(id));
+            } catch (IOException e) {
+                Log.w(TAG, "试卷包无法打开: " + id, e);
+            }
+        }
+        return packs;
+    }
+
+    private static void addPackIds(Set<String> ids, String[] fileNames) {
+        for (String name : fileNames) {
+            if (name.endsWith(ExamPackYSJ.FILE_SUFFIX)) {
+                ids.add(name.substring(0, name.length() - ExamPackYSJ.FILE_SUFFIX.length()));
+            }
+        }
+    }
+
+    /**
+     * 映射 APK 中未压缩的 asset；被压缩时只能整体读入内存
+     */
+    private ByteBuffer mapAsset(String path) throws IOException {
+        try (AssetFileDescriptor descriptor = assets.openFd(path);
+             FileInputStream input = descriptor.createInputStream();
+             FileChannel channel = input.getChannel()) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, descriptor.getStartOffset(), descriptor.getLength());
+        } catch (FileNotFoundException e) {
+            // openFd 对压缩的 asset 同样抛出 FileNotFoundException，用 open 区分是否存在
+            try (InputStream input = assets.open(path)) {
+                Log.w(TAG, "试卷包被压缩，整体读入内存: " + path);
+                ByteArrayOutputStream output = new ByteArrayOutputStream();
+                byte[] chunk = new byte[8192];
+                int read;
+                while ((read = input.read(chunk)) != -1) {
+                    output.write(chunk, 0, read);
+                }
+                return ByteBuffer.wrap(output.toByteArray());
+            }
+        }
+    }
+
+    private static ByteBuffer mapFile(File file) throws IOException {
+        try (RandomAccessFile input = new RandomAccessFile(file, "r");
+             FileChannel channel = input.getChannel()) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.mybighomework.exam;
+
+/**
+ * 试卷包中的一道题
+ * 文章不随题目解码，getPassage() 时从试卷包的文章缓存中取，同一节的题目共用一份
+ */
+public class ExamPackQuestion {
+
+    private final ExamPackYSJ pack;
+    private final int index;
+    private final String type;
+    private final String sectionName;
+    private final String title;
+    private final int passageIndex;
+    private final String question;
+    private final String[] options;
+    private final int answer;
+    private final String explanation;
+    private final String reference;
+    private final String writingType;
+
+    ExamPackQuestion(ExamPackYSJ pack, int index, String type, String sectionName, String title,
+                     int passageIndex, String question, String[] options, int answer,
+                     String explanation, String reference, String writingType) {
+        this.pack = pack;
+        this.index = index;
+        this.type = type;
+        this.sectionName = sectionName;
+        this.title = title;
+        this.passageIndex = passageIndex;
+        this.question = question;
+        this.options = options;
+        this.answer = answer;
+        this.explanation = explanation;
+        this.reference = reference;
+        this.writingType = writingType;
+    }
+
+    /**
+     * 在整张试卷中的序号（从 0 开始）
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * 题型，即所在节的类型，如 CLOZE_TEST、READING_COMPREHENSION、TRANSLATION、WRITING
+     */
+    public String getType() {
+        return type;
+    }
+
+    public String getSectionName() {
+        return sectionName;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * 题目所属的文章，没有时返回 null
+     */
+    public String getPassage() {
+        return passageIndex >= 0 ? pack.getPassage(passageIndex) : null;
+    }
+
+    public String getQuestion() {
+        return question;
+    }
+
+    /**
+     * 选项，翻译和写作题为 null
+     */
+    public String[] getOptions() {
+        return options;
+    }
+
+    /**
+     * 正确选项的下标，主观题为 -1
+     */
+    public int getAnswer() {
+        return answer;
+    }
+
+    public String getExplanation() {
+        return explanation;
+    }
+
+    /**
+     * 参考答案（翻译题的标准译文）
+     */
+    public String getReference() {
+        return reference;
+    }
+
+    /**
+     * 写作类型（"PART_A" 或 "PART_B"）
+     */
+    public String getWritingType() {
+        return writingType;
+    }
+}
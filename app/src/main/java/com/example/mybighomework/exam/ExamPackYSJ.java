@@ -0,0 +1,292 @@
+package com.example.mybighomework.exam;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 试卷包
+ * 由构建任务 buildExamPacks 把 src/main/exam_packs 下的 JSON 试卷转换而来，打开时只读取头部和节信息，
+ * 题目按节解码、文章按需解码，各自只在内存中保留最近用过的几份，
+ * 打开试卷的耗时和占用的内存与试卷长短无关
+ *
+ * 格式（大端，str 为 int 字节数 + UTF-8，字节数 -1 表示 null）：
+ * int 魔数, int 格式版本, int 内容版本, str id, str 标题, str 年份, str 考试类型, int 时长（分钟）,
+ * int 节数, 每节 {str 名称, str 题型, int 首题序号, int 题数},
+ * int 文章数, 每篇 {int 偏移, int 字节数}, int 题数, 每题 {int 偏移, int 字节数}, 之后为数据区。
+ * 文章为 UTF-8 文本；题目为 {str 标题, int 文章序号, str 题目, int 选项数, str[] 选项, int 答案,
+ * str 解析, str 参考答案, str 写作类型}。偏移相对数据区起点
+ */
+public class ExamPackYSJ {
+
+    public static final String FILE_SUFFIX = ".pack";
+
+    private static final int MAGIC = 0x4558504B; // "EXPK"
+    private static final int FORMAT_VERSION = 1;
+    // 内存中保留的已解码节数和文章数
+    private static final int SECTION_CACHE_SIZE = 3;
+    private static final int PASSAGE_CACHE_SIZE = 4;
+
+    /**
+     * 试卷中的一节（如完形填空、阅读理解 Text 1），题目在试卷中连续编号
+     */
+    public static class Section {
+        private final String name;
+        private final String type;
+        private final int firstQuestion;
+        private final int questionCount;
+
+        Section(String name, String type, int firstQuestion, int questionCount) {
+            this.name = name;
+            this.type = type;
+            this.firstQuestion = firstQuestion;
+            this.questionCount = questionCount;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public int getFirstQuestion() {
+            return firstQuestion;
+        }
+
+        public int getQuestionCount() {
+            return questionCount;
+        }
+    }
+
+    private final ByteBuffer buffer;
+    private final int version;
+    private final String id;
+    private final String title;
+    private final String year;
+    private final String examType;
+    private final int durationMinutes;
+    private final List<Section> sections;
+    private final int passageCount;
+    private final int passageIndexAt;
+    private final int questionCount;
+    private final int questionIndexAt;
+    private final int dataAt;
+
+    // accessOrder=true：迭代顺序即最近最少使用顺序
+    private final LinkedHashMap<Integer, List<ExamPackQuestion>> sectionCache =
+            new LinkedHashMap<Integer, List<ExamPackQuestion>>(8, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, List<ExamPackQuestion>> eldest) {
+                    return size() > SECTION_CACHE_SIZE;
+                }
+            };
+    private final LinkedHashMap<Integer, String> passageCache =
+            new LinkedHashMap<Integer, String>(8, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+                    return size() > PASSAGE_CACHE_SIZE;
+                }
+            };
+    // 已解码的题目数，供测试使用
+    private int decodedQuestions;
+
+    /**
+     * @param buffer 整个试卷包，通常是内存映射的文件
+     * @throws IOException 格式不对或数据不完整
+     */
+    public ExamPackYSJ(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer.duplicate();
+        ByteBuffer in = buffer.duplicate();
+        in.clear();
+        try {
+            if (in.getInt() != MAGIC || in.getInt() != FORMAT_VERSION) {
+                throw new IOException("不是有效的试卷包");
+            }
+            version = in.getInt();
+            id = readString(in);
+            title = readString(in);
+            year = readString(in);
+            examType = readString(in);
+            durationMinutes = in.getInt();
+
+            int sectionCount = in.getInt();
+            List<Section> list = new ArrayList<>(sectionCount);
+            for (int i = 0; i < sectionCount; i++) {
+                list.add(new Section(readString(in), readString(in), in.getInt(), in.getInt()));
+            }
+            sections = Collections.unmodifiableList(list);
+
+            // 文章和题目的索引留在 buffer 中，用到时按位置读取
+            passageCount = in.getInt();
+            passageIndexAt = in.position();
+            in.position(passageIndexAt + passageCount * 8);
+            questionCount = in.getInt();
+            questionIndexAt = in.position();
+            in.position(questionIndexAt + questionCount * 8);
+            dataAt = in.position();
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("试卷包不完整", e);
+        }
+        if (id == null || questionCount < 0 || passageCount < 0) {
+            throw new IOException("试卷包不完整");
+        }
+        for (Section section : sections) {
+            if (section.firstQuestion < 0 || section.firstQuestion + section.questionCount > questionCount) {
+                throw new IOException("试卷包的节信息有误: " + section.name);
+            }
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * 内容版本，下载的试卷包版本更高时覆盖内置的同名试卷
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getYear() {
+        return year;
+    }
+
+    public String getExamType() {
+        return examType;
+    }
+
+    public int getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public List<Section> getSections() {
+        return sections;
+    }
+
+    public int getQuestionCount() {
+        return questionCount;
+    }
+
+    /**
+     * 第 index 道题（从 0 开始），第一次访问某一节时解码整节
+     */
+    public synchronized ExamPackQuestion getQuestion(int index) {
+        if (index < 0 || index >= questionCount) {
+            throw new IndexOutOfBoundsException("题号越界: " + index + "/" + questionCount);
+        }
+        int sectionIndex = sectionOf(index);
+        if (sectionIndex < 0) {
+            // 不属于任何一节的题目单独解码
+            return decodeQuestion(index, null);
+        }
+        List<ExamPackQuestion> decoded = sectionCache.get(sectionIndex);
+        Section section = sections.get(sectionIndex);
+        if (decoded == null) {
+            decoded = new ArrayList<>(section.questionCount);
+            for (int i = 0; i < section.questionCount; i++) {
+                decoded.add(decodeQuestion(section.firstQuestion + i, section));
+            }
+            sectionCache.put(sectionIndex, decoded);
+        }
+        return decoded.get(index - section.firstQuestion);
+    }
+
+    /**
+     * 第 index 篇文章，最近用过的几篇保留在内存中
+     */
+    public synchronized String getPassage(int index) {
+        String passage = passageCache.get(index);
+        if (passage == null) {
+            int offset = buffer.getInt(passageIndexAt + index * 8);
+            int length = buffer.getInt(passageIndexAt + index * 8 + 4);
+            passage = decodeUtf8(dataAt + offset, length);
+            passageCache.put(index, passage);
+        }
+        return passage;
+    }
+
+    /**
+     * 至今解码过的题目数，供测试使用
+     */
+    synchronized int decodedQuestionCount() {
+        return decodedQuestions;
+    }
+
+    /**
+     * 内存中保留的已解码节数，供测试使用
+     */
+    synchronized int cachedSectionCount() {
+        return sectionCache.size();
+    }
+
+    /**
+     * 题目所在的节，不属于任何一节时返回 -1
+     */
+    public int sectionOf(int questionIndex) {
+        for (int i = 0; i < sections.size(); i++) {
+            Section section = sections.get(i);
+            if (questionIndex >= section.firstQuestion
+                    && questionIndex < section.firstQuestion + section.questionCount) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private ExamPackQuestion decodeQuestion(int index, Section section) {
+        decodedQuestions++;
+        ByteBuffer in = buffer.duplicate();
+        in.clear();
+        in.position(dataAt + buffer.getInt(questionIndexAt + index * 8));
+        String questionTitle = readString(in);
+        int passage = in.getInt();
+        String question = readString(in);
+        int optionCount = in.getInt();
+        String[] options = null;
+        if (optionCount >= 0) {
+            options = new String[optionCount];
+            for (int i = 0; i < optionCount; i++) {
+                options[i] = readString(in);
+            }
+        }
+        int answer = in.getInt();
+        String explanation = readString(in);
+        String reference = readString(in);
+        String writingType = readString(in);
+        return new ExamPackQuestion(this, index,
+                section != null ? section.type : null, section != null ? section.name : null,
+                questionTitle, passage, question, options, answer, explanation, reference, writingType);
+    }
+
+    private String decodeUtf8(int position, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer in = buffer.duplicate();
+        in.clear();
+        in.position(position);
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -30,12 +30,12 @@ import com.example.mybighomework.database.AppDatabase;
 import com.example.mybighomework.database.entity.TranslationHistoryEntity;
 import com.example.mybighomework.dialog.HistoryDetailDialog;
 import com.example.mybighomework.repository.TranslationHistoryRepository;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 import com.google.android.material.bottomsheet.BottomSheetBehavior;
 import com.google.android.material.bottomsheet.BottomSheetDialogFragment;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * 历史记录底部弹出面板Fragment
@@ -92,7 +92,7 @@ public class HistoryBottomSheetFragment extends BottomSheetDialogFragment {
     @Override
     public void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
-        executor = Executors.newSingleThreadExecutor();
+        executor = AppExecutorsYSJ.getInstance().diskIO();
         mainHandler = new Handler(Looper.getMainLooper());
     }
     
@@ -428,13 +428,4 @@ public class HistoryBottomSheetFragment extends BottomSheetDialogFragment {
             mainHandler.removeCallbacks(searchRunnable);
         }
     }
-    
-    @Override
-    public void onDestroy() {
-        super.onDestroy();
-        // 关闭线程池
-        if (executor != null && !executor.isShutdown()) {
-            executor.shutdown();
-        }
-    }
 }
@@ -11,6 +11,7 @@ public class ChatMessage {
     
     private int type;           // 消息类型
     private String content;     // 消息内容
+    private StringBuilder streamingContent; // 流式输出中的内容，结束前由它保存全文
     private long timestamp;     // 时间戳
     private boolean showGeneratePlanButton; // 是否显示生成学习计划按钮
     
@@ -33,11 +34,55 @@ public class ChatMessage {
     }
     
     public String getContent() {
+        if (content == null && streamingContent != null) {
+            // 只在需要完整文本时生成一次字符串，之后追加会使其失效
+            content = streamingContent.toString();
+        }
         return content;
     }
     
     public void setContent(String content) {
         this.content = content;
+        this.streamingContent = null;
+    }
+    
+    /**
+     * 追加流式输出的内容，只复制新增的部分
+     */
+    public void appendContent(CharSequence delta) {
+        if (streamingContent == null) {
+            streamingContent = new StringBuilder(content != null ? content : "");
+        }
+        streamingContent.append(delta);
+        content = null;
+    }
+    
+    /**
+     * 流式输出结束，生成完整文本并释放缓冲区
+     */
+    public void finishStreaming() {
+        content = getContent();
+        streamingContent = null;
+    }
+    
+    /**
+     * 当前内容长度，流式输出中不生成完整字符串
+     */
+    public int getContentLength() {
+        if (streamingContent != null) {
+            return streamingContent.length();
+        }
+        return content != null ? content.length() : 0;
+    }
+    
+    /**
+     * 取出从指定位置开始的内容，用于界面只追加新增部分
+     */
+    public CharSequence getContentFrom(int start) {
+        if (streamingContent != null) {
+            return streamingContent.substring(start);
+        }
+        return content != null ? content.substring(start) : "";
     }
     
     public long getTimestamp() {
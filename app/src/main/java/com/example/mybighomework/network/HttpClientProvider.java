@@ -0,0 +1,163 @@
+package com.example.mybighomework.network;
+
+import androidx.annotation.VisibleForTesting;
+
+import com.example.mybighomework.BuildConfig;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * 全局共享的 HTTP 客户端
+ *
+ * 所有网络调用共用一个 OkHttpClient 的连接池和调度器，各端点通过 newBuilder() 派生出
+ * 只有超时不同的客户端，同一主机的 TLS 连接在不同端点之间复用。
+ * 响应的 gzip 压缩由 OkHttp 透明处理（请求未手动设置 Accept-Encoding 时）。
+ */
+public final class HttpClientProvider {
+
+    // 空闲连接保持数量和时长
+    private static final int MAX_IDLE_CONNECTIONS = 5;
+    private static final long KEEP_ALIVE_MINUTES = 5;
+
+    /**
+     * 网络端点：默认地址和超时（秒）
+     */
+    public enum Endpoint {
+        // 智谱AI文本对话（批改可能需要较长时间）
+        ZHIPU("https://open.bigmodel.cn/api/paas/v4/", 15, 60, 30),
+        // 智谱AI多模态（请求体带截图）
+        AUTOGLM("https://open.bigmodel.cn/api/paas/v4/", 15, 90, 60),
+        // 有道图片翻译
+        YOUDAO("https://openapi.youdao.com/", 10, 15, 15),
+        // 有道词典发音
+        YOUDAO_AUDIO("https://dict.youdao.com/", 5, 5, 5),
+        // 金山词霸每日一句
+        ICIBA("http://open.iciba.com/", 10, 15, 15);
+
+        final String defaultBaseUrl;
+        final int connectTimeoutSeconds;
+        final int readTimeoutSeconds;
+        final int writeTimeoutSeconds;
+
+        Endpoint(String defaultBaseUrl, int connectTimeoutSeconds, int readTimeoutSeconds, int writeTimeoutSeconds) {
+            this.defaultBaseUrl = defaultBaseUrl;
+            this.connectTimeoutSeconds = connectTimeoutSeconds;
+            this.readTimeoutSeconds = readTimeoutSeconds;
+            this.writeTimeoutSeconds = writeTimeoutSeconds;
+        }
+    }
+
+    /**
+     * 请求标签：不记录请求体和响应体（流式响应、图片、音频）
+     */
+    public static final class SkipBodyLogging {
+        static final SkipBodyLogging INSTANCE = new SkipBodyLogging();
+
+        private SkipBodyLogging() {
+        }
+    }
+
+    private static OkHttpClient sharedClient;
+    private static final Map<Endpoint, OkHttpClient> endpointClients = new EnumMap<>(Endpoint.class);
+    private static final Map<Endpoint, HttpUrl> baseUrlOverrides = new EnumMap<>(Endpoint.class);
+
+    private HttpClientProvider() {
+    }
+
+    /**
+     * 获取共享的基础客户端
+     */
+    public static synchronized OkHttpClient getSharedClient() {
+        if (sharedClient == null) {
+            sharedClient = new OkHttpClient.Builder()
+                    .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                    .dispatcher(new Dispatcher())
+                    .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                    .retryOnConnectionFailure(true)
+                    .addInterceptor(new SelectiveLoggingInterceptor(BuildConfig.DEBUG))
+                    .build();
+        }
+        return sharedClient;
+    }
+
+    /**
+     * 获取指定端点的客户端，与基础客户端共享连接池、调度器和拦截器
+     */
+    public static synchronized OkHttpClient getClient(Endpoint endpoint) {
+        OkHttpClient client = endpointClients.get(endpoint);
+        if (client == null) {
+            client = getSharedClient().newBuilder()
+                    .connectTimeout(endpoint.connectTimeoutSeconds, TimeUnit.SECONDS)
+                    .readTimeout(endpoint.readTimeoutSeconds, TimeUnit.SECONDS)
+                    .writeTimeout(endpoint.writeTimeoutSeconds, TimeUnit.SECONDS)
+                    .build();
+            endpointClients.put(endpoint, client);
+        }
+        return client;
+    }
+
+    /**
+     * 获取端点的基础地址（测试中可被替换为本地服务器）
+     */
+    public static synchronized HttpUrl getBaseUrl(Endpoint endpoint) {
+        HttpUrl override = baseUrlOverrides.get(endpoint);
+        return override != null ? override : HttpUrl.get(endpoint.defaultBaseUrl);
+    }
+
+    /**
+     * 拼接端点地址和相对路径
+     */
+    public static HttpUrl resolve(Endpoint endpoint, String path) {
+        return getBaseUrl(endpoint).resolve(path);
+    }
+
+    /**
+     * 基于端点客户端创建 Retrofit
+     */
+    public static Retrofit createRetrofit(Endpoint endpoint) {
+        return new Retrofit.Builder()
+                .baseUrl(getBaseUrl(endpoint))
+                .client(getClient(endpoint))
+                .addConverterFactory(GsonConverterFactory.create())
+                .build();
+    }
+
+    /**
+     * 标记请求不记录请求体和响应体
+     */
+    public static Request.Builder skipBodyLogging(Request.Builder builder) {
+        return builder.tag(SkipBodyLogging.class, SkipBodyLogging.INSTANCE);
+    }
+
+    /**
+     * 替换端点的基础地址，传入 null 恢复默认
+     */
+    @VisibleForTesting
+    public static synchronized void overrideBaseUrl(Endpoint endpoint, HttpUrl baseUrl) {
+        if (baseUrl == null) {
+            baseUrlOverrides.remove(endpoint);
+        } else {
+            baseUrlOverrides.put(endpoint, baseUrl);
+        }
+    }
+
+    /**
+     * 清除所有替换的地址
+     */
+    @VisibleForTesting
+    public static synchronized void resetBaseUrls() {
+        baseUrlOverrides.clear();
+    }
+}
@@ -2,12 +2,7 @@ package com.example.mybighomework.network;
 
 import com.example.mybighomework.api.DailySentenceApiService;
 
-import java.util.concurrent.TimeUnit;
-
-import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 
 /**
  * Retrofit网络客户端管理类
@@ -15,9 +10,6 @@ import retrofit2.converter.gson.GsonConverterFactory;
  */
 public class RetrofitClient {
     
-    // 金山词霸API基础URL
-    private static final String ICIBA_BASE_URL = "http://open.iciba.com/";
-    
     // 单例实例
     private static volatile RetrofitClient instance;
     
@@ -31,25 +23,8 @@ public class RetrofitClient {
      * 私有构造函数
      */
     private RetrofitClient() {
-        // 创建日志拦截器
-        HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor();
-        loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
-        
-        // 创建OkHttpClient
-        OkHttpClient okHttpClient = new OkHttpClient.Builder()
-                .addInterceptor(loggingInterceptor)
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
-                .writeTimeout(30, TimeUnit.SECONDS)
-                .retryOnConnectionFailure(true)
-                .build();
-        
-        // 创建Retrofit实例
-        retrofit = new Retrofit.Builder()
-                .baseUrl(ICIBA_BASE_URL)
-                .client(okHttpClient)
-                .addConverterFactory(GsonConverterFactory.create())
-                .build();
+        // 创建Retrofit实例（金山词霸端点，共享全局连接池）
+        retrofit = HttpClientProvider.createRetrofit(HttpClientProvider.Endpoint.ICIBA);
         
         // 创建API服务
         dailySentenceApiService = retrofit.create(DailySentenceApiService.class);
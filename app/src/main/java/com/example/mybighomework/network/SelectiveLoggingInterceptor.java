@@ -0,0 +1,89 @@
+package com.example.mybighomework.network;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.logging.HttpLoggingInterceptor;
+
+/**
+ * 按请求选择日志级别的拦截器
+ *
+ * BODY 级别会把整个响应读入内存后再交给调用方，流式响应因此失去增量效果，
+ * 图片和音频则白白占用内存。只有小体积的文本请求记录请求体和响应体，
+ * 其余请求只记录请求行、状态码和耗时。
+ * 请求体和响应体里有用户的作文、翻译和对话内容，只在 debug 构建中记录，
+ * release 构建全部使用 BASIC 级别
+ */
+class SelectiveLoggingInterceptor implements Interceptor {
+
+    private static final String TAG = "HttpClient";
+
+    // 请求体超过该大小时不记录
+    private static final long MAX_LOGGED_BODY_BYTES = 16 * 1024;
+
+    private final boolean logBodies;
+    private final HttpLoggingInterceptor bodyLogger;
+    private final HttpLoggingInterceptor basicLogger;
+
+    /**
+     * @param logBodies 是否允许记录请求体和响应体，传入 BuildConfig.DEBUG
+     */
+    SelectiveLoggingInterceptor(boolean logBodies) {
+        this.logBodies = logBodies;
+        HttpLoggingInterceptor.Logger logger = message -> Log.d(TAG, message);
+        if (logBodies) {
+            bodyLogger = new HttpLoggingInterceptor(logger);
+            bodyLogger.setLevel(HttpLoggingInterceptor.Level.BODY);
+            bodyLogger.redactHeader("Authorization");
+        } else {
+            bodyLogger = null;
+        }
+        basicLogger = new HttpLoggingInterceptor(logger);
+        basicLogger.setLevel(HttpLoggingInterceptor.Level.BASIC);
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        return logsBody(chain.request())
+                ? bodyLogger.intercept(chain)
+                : basicLogger.intercept(chain);
+    }
+
+    boolean logsBody(Request request) {
+        return logBodies && shouldLogBody(request);
+    }
+
+    static boolean shouldLogBody(Request request) {
+        if (request.tag(HttpClientProvider.SkipBodyLogging.class) != null) {
+            return false;
+        }
+        String accept = request.header("Accept");
+        if (accept != null && accept.contains("text/event-stream")) {
+            return false;
+        }
+        RequestBody body = request.body();
+        if (body == null) {
+            return true;
+        }
+        try {
+            long length = body.contentLength();
+            if (length < 0 || length > MAX_LOGGED_BODY_BYTES) {
+                return false;
+            }
+        } catch (IOException e) {
+            return false;
+        }
+        MediaType type = body.contentType();
+        return type == null || "text".equals(type.type()) || "json".equals(type.subtype())
+                || "x-www-form-urlencoded".equals(type.subtype());
+    }
+}
@@ -0,0 +1,378 @@
+package com.example.mybighomework.network;
+
+import android.util.Log;
+
+import java.io.IOException;
+
+import okio.BufferedSource;
+
+/**
+ * 对话接口 SSE 流读取器
+ *
+ * 按 SSE 规则逐行读取事件，用增量扫描器直接从 data 中取出
+ * choices[0].delta.content 和 finish_reason，其余字段只跳过不解析，
+ * 每个增量只分配内容本身一个字符串
+ */
+public final class SseChatStreamReader {
+
+    private static final String TAG = "SseChatStreamReader";
+    private static final String DONE = "[DONE]";
+
+    /**
+     * 增量内容回调
+     */
+    public interface DeltaHandler {
+        void onDelta(String content);
+    }
+
+    /**
+     * 流结束的原因
+     */
+    public enum EndReason {
+        DONE,           // 收到 [DONE]
+        FINISHED,       // finish_reason 不为空
+        END_OF_STREAM   // 连接关闭
+    }
+
+    /**
+     * 单个 data 中解析出的字段
+     */
+    static final class Delta {
+        String content;
+        String finishReason;
+        String errorMessage;
+        boolean done;
+    }
+
+    private SseChatStreamReader() {
+    }
+
+    /**
+     * 读取整个流，直到 [DONE]、finish_reason 或连接关闭
+     * @throws IOException 网络错误，或服务端在流中返回 error 对象
+     */
+    public static EndReason read(BufferedSource source, DeltaHandler handler) throws IOException {
+        StringBuilder data = null;
+        String line;
+        while ((line = source.readUtf8Line()) != null) {
+            if (line.isEmpty()) {
+                // 空行结束一个事件
+                if (data != null) {
+                    EndReason end = dispatch(data.toString(), parse(data), handler);
+                    if (end != null) {
+                        return end;
+                    }
+                    data = null;
+                }
+                continue;
+            }
+            if (!line.startsWith("data:")) {
+                // 注释、event、id、retry 等字段与对话内容无关
+                continue;
+            }
+            int start = line.length() > 5 && line.charAt(5) == ' ' ? 6 : 5;
+            if (data == null && looksComplete(line)) {
+                // 智谱每个事件只有一行 data，能完整解析时直接在行内扫描，不等空行也不复制
+                Delta delta = parse(line, start);
+                if (delta != null) {
+                    EndReason end = dispatch(null, delta, handler);
+                    if (end != null) {
+                        return end;
+                    }
+                    continue;
+                }
+            }
+            if (data == null) {
+                data = new StringBuilder(line.length() - start);
+            } else {
+                data.append('\n');
+            }
+            data.append(line, start, line.length());
+        }
+        if (data != null) {
+            EndReason end = dispatch(data.toString(), parse(data), handler);
+            if (end != null) {
+                return end;
+            }
+        }
+        return EndReason.END_OF_STREAM;
+    }
+
+    private static Delta parse(StringBuilder data) {
+        return parse(data.toString(), 0);
+    }
+
+    private static Delta parse(String text, int from) {
+        if (text.startsWith(DONE, from) && text.trim().endsWith(DONE)) {
+            Delta done = new Delta();
+            done.done = true;
+            return done;
+        }
+        return parseDelta(text, from);
+    }
+
+    /**
+     * @param raw 原始 data，仅在解析失败时用于日志，可为 null
+     * @param delta 解析结果，为 null 表示格式错误，跳过该事件
+     */
+    private static EndReason dispatch(String raw, Delta delta, DeltaHandler handler) throws IOException {
+        if (delta == null) {
+            Log.w(TAG, "无法解析的流数据: " + raw);
+            return null;
+        }
+        if (delta.done) {
+            return EndReason.DONE;
+        }
+        if (delta.errorMessage != null) {
+            throw new IOException(delta.errorMessage);
+        }
+        if (delta.content != null && !delta.content.isEmpty()) {
+            handler.onDelta(delta.content);
+        }
+        return delta.finishReason != null ? EndReason.FINISHED : null;
+    }
+
+    /**
+     * 是否以完整 JSON 对象（或 [DONE]）的结尾字符结束
+     */
+    private static boolean looksComplete(CharSequence data) {
+        int end = data.length() - 1;
+        while (end >= 0 && Character.isWhitespace(data.charAt(end))) {
+            end--;
+        }
+        return end >= 0 && (data.charAt(end) == '}' || data.charAt(end) == ']');
+    }
+
+    /**
+     * 扫描一个 data，只取需要的字段
+     * @return 解析结果，格式错误时返回 null
+     */
+    static Delta parseDelta(String json) {
+        return parseDelta(json, 0);
+    }
+
+    private static Delta parseDelta(String json, int from) {
+        Scanner scanner = new Scanner(json, from);
+        Delta delta = new Delta();
+        try {
+            scanner.skipWhitespace();
+            if (!scanner.consume('{')) {
+                return null;
+            }
+            scanner.scanObject(Scanner.PATH_ROOT, delta);
+            return delta;
+        } catch (IllegalStateException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 最小化的 JSON 扫描器
+     * 用整数表示当前所在路径，只有目标路径上的字符串会被解码
+     */
+    private static final class Scanner {
+
+        static final int PATH_ROOT = 0;
+        static final int PATH_CHOICES = 1;       // $.choices
+        static final int PATH_CHOICE = 2;        // $.choices[0]
+        static final int PATH_DELTA = 3;         // $.choices[0].delta
+        static final int PATH_ERROR = 4;         // $.error
+        static final int PATH_OTHER = 5;
+
+        private final String s;
+        private int pos;
+
+        Scanner(String s, int from) {
+            this.s = s;
+            this.pos = from;
+        }
+
+        /**
+         * 扫描对象成员，调用前已消费 '{'
+         */
+        void scanObject(int path, Delta delta) {
+            skipWhitespace();
+            if (consume('}')) {
+                return;
+            }
+            while (true) {
+                skipWhitespace();
+                int keyStart = pos + 1;
+                int keyEnd = skipString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                scanValue(childPath(path, keyStart, keyEnd), path, keyStart, keyEnd, delta);
+                skipWhitespace();
+                if (consume(',')) {
+                    continue;
+                }
+                expect('}');
+                return;
+            }
+        }
+
+        private void scanValue(int path, int parentPath, int keyStart, int keyEnd, Delta delta) {
+            char c = peek();
+            if (c == '{') {
+                pos++;
+                scanObject(path, delta);
+            } else if (c == '[') {
+                pos++;
+                scanArray(path, delta);
+            } else if (c == '"') {
+                if (parentPath == PATH_DELTA && keyEquals(keyStart, keyEnd, "content")) {
+                    delta.content = readString();
+                } else if (parentPath == PATH_CHOICE && keyEquals(keyStart, keyEnd, "finish_reason")) {
+                    delta.finishReason = readString();
+                } else if (parentPath == PATH_ERROR && keyEquals(keyStart, keyEnd, "message")) {
+                    delta.errorMessage = readString();
+                } else {
+                    skipString();
+                }
+            } else {
+                // 数字、true、false、null
+                while (pos < s.length() && ",}] \t\r\n".indexOf(s.charAt(pos)) < 0) {
+                    pos++;
+                }
+            }
+        }
+
+        private void scanArray(int path, Delta delta) {
+            skipWhitespace();
+            if (consume(']')) {
+                return;
+            }
+            int index = 0;
+            while (true) {
+                skipWhitespace();
+                int elementPath = path == PATH_CHOICES && index == 0 ? PATH_CHOICE : PATH_OTHER;
+                scanValue(elementPath, PATH_OTHER, -1, -1, delta);
+                skipWhitespace();
+                index++;
+                if (consume(',')) {
+                    continue;
+                }
+                expect(']');
+                return;
+            }
+        }
+
+        private int childPath(int path, int keyStart, int keyEnd) {
+            if (path == PATH_ROOT && keyEquals(keyStart, keyEnd, "choices")) {
+                return PATH_CHOICES;
+            }
+            if (path == PATH_ROOT && keyEquals(keyStart, keyEnd, "error")) {
+                return PATH_ERROR;
+            }
+            if (path == PATH_CHOICE && keyEquals(keyStart, keyEnd, "delta")) {
+                return PATH_DELTA;
+            }
+            return PATH_OTHER;
+        }
+
+        private boolean keyEquals(int start, int end, String key) {
+            return start >= 0 && end - start == key.length() && s.startsWith(key, start);
+        }
+
+        /**
+         * 跳过字符串
+         * @return 结束引号的位置
+         */
+        int skipString() {
+            expect('"');
+            while (pos < s.length()) {
+                char c = s.charAt(pos);
+                if (c == '\\') {
+                    pos += 2;
+                } else if (c == '"') {
+                    return pos++;
+                } else {
+                    pos++;
+                }
+            }
+            throw new IllegalStateException("unterminated string");
+        }
+
+        /**
+         * 解码字符串，无转义时直接截取子串
+         */
+        String readString() {
+            expect('"');
+            int start = pos;
+            while (pos < s.length()) {
+                char c = s.charAt(pos);
+                if (c == '"') {
+                    return s.substring(start, pos++);
+                }
+                if (c == '\\') {
+                    break;
+                }
+                pos++;
+            }
+            StringBuilder sb = new StringBuilder(pos - start + 16);
+            sb.append(s, start, pos);
+            while (pos < s.length()) {
+                char c = s.charAt(pos++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                if (pos >= s.length()) {
+                    break;
+                }
+                char escaped = s.charAt(pos++);
+                switch (escaped) {
+                    case 'n': sb.append('\n'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'u':
+                        if (pos + 4 > s.length()) {
+                            throw new IllegalStateException("bad unicode escape");
+                        }
+                        // 代理对由两个连续的 \\u 转义组成，逐个追加即可还原
+                        sb.append((char) Integer.parseInt(s.substring(pos, pos + 4), 16));
+                        pos += 4;
+                        break;
+                    default:
+                        // \" \\ \/
+                        sb.append(escaped);
+                        break;
+                }
+            }
+            throw new IllegalStateException("unterminated string");
+        }
+
+        void skipWhitespace() {
+            while (pos < s.length() && Character.isWhitespace(s.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        boolean consume(char c) {
+            if (pos < s.length() && s.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!consume(c)) {
+                throw new IllegalStateException("expected " + c + " at " + pos);
+            }
+        }
+
+        private char peek() {
+            if (pos >= s.length()) {
+                throw new IllegalStateException("unexpected end");
+            }
+            return s.charAt(pos);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.mybighomework.network;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * 智谱AI对话接口客户端
+ * 基于共享的 HTTP 客户端发送 chat/completions 请求，支持普通响应和 SSE 流式响应
+ */
+public class ZhipuChatClient {
+
+    private static final String CHAT_PATH = "chat/completions";
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    private final OkHttpClient httpClient;
+    private final HttpUrl chatUrl;
+    private volatile String apiKey;
+
+    public ZhipuChatClient(String apiKey) {
+        this(apiKey, HttpClientProvider.getClient(HttpClientProvider.Endpoint.ZHIPU),
+                HttpClientProvider.resolve(HttpClientProvider.Endpoint.ZHIPU, CHAT_PATH));
+    }
+
+    ZhipuChatClient(String apiKey, OkHttpClient httpClient, HttpUrl chatUrl) {
+        this.apiKey = apiKey;
+        this.httpClient = httpClient;
+        this.chatUrl = chatUrl;
+    }
+
+    public void setApiKey(String apiKey) {
+        this.apiKey = apiKey;
+    }
+
+    /**
+     * 发送请求并返回完整响应体
+     * @throws IOException 网络错误或非 2xx 响应（消息为 "HTTP 状态码: 错误内容"）
+     */
+    public String complete(String requestJson) throws IOException {
+        return complete(requestJson, 0);
+    }
+
+    /**
+     * 发送请求并返回完整响应体
+     * @param timeoutMillis 整个调用（连接、写入、读取）的超时，0 表示只使用端点的超时配置
+     * @throws IOException 网络错误、超时或非 2xx 响应
+     */
+    public String complete(String requestJson, long timeoutMillis) throws IOException {
+        Request request = newRequest(requestJson).build();
+        Call call = httpClient.newCall(request);
+        if (timeoutMillis > 0) {
+            call.timeout().timeout(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        try (Response response = call.execute()) {
+            ResponseBody body = response.body();
+            String content = body != null ? body.string() : "";
+            if (!response.isSuccessful()) {
+                throw new IOException("HTTP " + response.code() + ": " + content);
+            }
+            return content;
+        }
+    }
+
+    /**
+     * 发送流式请求，返回未读取的响应，调用方按行读取 body().source() 后负责关闭
+     * @throws IOException 网络错误或非 2xx 响应
+     */
+    public Response openStream(String requestJson) throws IOException {
+        Request.Builder builder = newRequest(requestJson).header("Accept", "text/event-stream");
+        Request request = HttpClientProvider.skipBodyLogging(builder).build();
+        Response response = httpClient.newCall(request).execute();
+        if (!response.isSuccessful()) {
+            try {
+                ResponseBody body = response.body();
+                throw new IOException("HTTP " + response.code() + ": " + (body != null ? body.string() : ""));
+            } finally {
+                response.close();
+            }
+        }
+        return response;
+    }
+
+    private Request.Builder newRequest(String requestJson) {
+        return new Request.Builder()
+                .url(chatUrl)
+                .header("Authorization", "Bearer " + apiKey)
+                .post(RequestBody.create(requestJson, JSON));
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.mybighomework.repository;
+
+import com.example.mybighomework.api.ZhipuAIService;
+import com.example.mybighomework.database.dao.ChatSessionDao;
+import com.example.mybighomework.database.entity.ChatMessageEntity;
+import com.example.mybighomework.database.entity.ChatSessionEntity;
+import com.example.mybighomework.service.ChatContextBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * AI对话会话仓库类
+ * 负责会话和消息的持久化、按ID游标分页加载和摘要折叠，所有方法需在后台线程调用
+ */
+public class ChatSessionRepository {
+
+    /**
+     * 每页加载的消息数
+     */
+    public static final int PAGE_SIZE = 30;
+
+    /**
+     * 会话标题的最大长度
+     */
+    private static final int MAX_TITLE_LENGTH = 30;
+
+    /**
+     * 摘要生成接口（阻塞调用）
+     */
+    public interface Summarizer {
+        String summarize(List<ZhipuAIService.ChatMessage> request) throws Exception;
+    }
+
+    private final ChatSessionDao chatSessionDao;
+
+    public ChatSessionRepository(ChatSessionDao chatSessionDao) {
+        this.chatSessionDao = chatSessionDao;
+    }
+
+    /**
+     * 最近使用的会话
+     * @return 会话，没有时返回 null
+     */
+    public ChatSessionEntity getLatestSession() {
+        return chatSessionDao.getLatestSession();
+    }
+
+    public ChatSessionEntity getSession(long sessionId) {
+        return chatSessionDao.getSession(sessionId);
+    }
+
+    /**
+     * 新建会话，以第一条提问作为标题
+     * @return 会话ID
+     */
+    public long createSession(String firstQuestion) {
+        long now = System.currentTimeMillis();
+        ChatSessionEntity session = new ChatSessionEntity();
+        String title = firstQuestion == null ? "" : firstQuestion.trim();
+        session.setTitle(title.length() > MAX_TITLE_LENGTH ? title.substring(0, MAX_TITLE_LENGTH) : title);
+        session.setCreatedTime(now);
+        session.setUpdatedTime(now);
+        return chatSessionDao.insertSession(session);
+    }
+
+    /**
+     * 保存一条消息
+     * @return 消息ID
+     */
+    public long addMessage(long sessionId, String role, String content, long timestamp) {
+        long id = chatSessionDao.insertMessage(new ChatMessageEntity(sessionId, role, content, timestamp));
+        chatSessionDao.touchSession(sessionId, timestamp);
+        return id;
+    }
+
+    /**
+     * 最新的一页消息
+     * @return 按时间正序排列的消息
+     */
+    public List<ChatMessageEntity> loadLatestPage(long sessionId) {
+        return ascending(chatSessionDao.getLatestMessages(sessionId, PAGE_SIZE));
+    }
+
+    /**
+     * 指定消息之前的一页消息，用于向上翻页
+     * @param beforeId 当前已加载的最早一条消息的ID
+     * @return 按时间正序排列的消息，没有更早的消息时返回空列表
+     */
+    public List<ChatMessageEntity> loadPageBefore(long sessionId, long beforeId) {
+        return ascending(chatSessionDao.getMessagesBefore(sessionId, beforeId, PAGE_SIZE));
+    }
+
+    /**
+     * 构建本次请求的上下文：系统提示 + 摘要 + 摘要之后的最新消息
+     * 只查询有限条消息，与会话总长度无关
+     */
+    public List<ZhipuAIService.ChatMessage> buildContext(long sessionId, String systemPrompt) {
+        ChatSessionEntity session = chatSessionDao.getSession(sessionId);
+        if (session == null) {
+            return ChatContextBuilder.build(systemPrompt, null, Collections.emptyList());
+        }
+        List<ChatMessageEntity> recent = ascending(chatSessionDao.getLatestMessagesAfter(
+                sessionId, session.getSummaryUpToMessageId(), ChatContextBuilder.MAX_CONTEXT_MESSAGES));
+        return ChatContextBuilder.build(systemPrompt, session.getSummary(), recent);
+    }
+
+    /**
+     * 窗口滑过一整批消息时，把滑出窗口的消息并入摘要
+     * 摘要生成失败时保持原状，下次再试；上下文仍然有上限
+     * @return 是否更新了摘要
+     */
+    public boolean foldIfNeeded(long sessionId, Summarizer summarizer) throws Exception {
+        ChatSessionEntity session = chatSessionDao.getSession(sessionId);
+        if (session == null) {
+            return false;
+        }
+        long upTo = session.getSummaryUpToMessageId();
+        int unsummarized = chatSessionDao.countMessagesAfter(sessionId, upTo);
+        if (!ChatContextBuilder.shouldFold(unsummarized)) {
+            return false;
+        }
+        // 保留最近的消息原样发送，其余并入摘要
+        List<ChatMessageEntity> toFold = chatSessionDao.getMessagesAfter(sessionId, upTo,
+                unsummarized - ChatContextBuilder.RECENT_MESSAGES);
+        if (toFold.isEmpty()) {
+            return false;
+        }
+        String summary = summarizer.summarize(
+                ChatContextBuilder.buildSummaryRequest(session.getSummary(), toFold));
+        String normalized = ChatContextBuilder.normalizeSummary(summary);
+        if (normalized.isEmpty()) {
+            return false;
+        }
+        chatSessionDao.updateSummary(sessionId, normalized, toFold.get(toFold.size() - 1).getId());
+        return true;
+    }
+
+    private static List<ChatMessageEntity> ascending(List<ChatMessageEntity> descending) {
+        List<ChatMessageEntity> result = new ArrayList<>(descending);
+        Collections.reverse(result);
+        return result;
+    }
+}
@@ -9,6 +9,7 @@ import com.example.mybighomework.database.dao.DailySentenceDao;
 import com.example.mybighomework.database.entity.DailySentenceEntity;
 import com.example.mybighomework.model.IcibaResponse;
 import com.example.mybighomework.network.RetrofitClient;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -16,7 +17,6 @@ import java.util.Calendar;
 import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -37,7 +37,7 @@ public class DailySentenceRepository {
     public DailySentenceRepository(Context context) {
         AppDatabase database = AppDatabase.getInstance(context);
         this.dailySentenceDao = database.dailySentenceDao();
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.executorService = AppExecutorsYSJ.getInstance().diskIO();
         this.apiService = RetrofitClient.getInstance().getDailySentenceApiService();
     }
     
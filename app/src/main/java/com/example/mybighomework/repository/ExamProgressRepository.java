@@ -2,6 +2,8 @@ package com.example.mybighomework.repository;
 
 import com.example.mybighomework.database.dao.ExamProgressDao;
 import com.example.mybighomework.database.entity.ExamProgressEntity;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
+
 import java.util.List;
 
 /**
@@ -19,9 +21,9 @@ public class ExamProgressRepository {
      * 保存考试进度
      */
     public void saveProgress(ExamProgressEntity progress) {
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
             examProgressDao.insertProgress(progress);
-        }).start();
+        });
     }
     
     /**
@@ -35,21 +37,21 @@ public class ExamProgressRepository {
      * 更新考试进度
      */
     public void updateProgress(ExamProgressEntity progress) {
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
             examProgressDao.updateProgress(progress);
-        }).start();
+        });
     }
     
     /**
      * 获取未完成的考试进度
      */
     public void getUncompletedProgress(String examType, ProgressCallback callback) {
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
             ExamProgressEntity progress = examProgressDao.getUncompletedProgress(examType);
             if (callback != null) {
                 callback.onResult(progress);
             }
-        }).start();
+        });
     }
     
     /**
@@ -63,39 +65,39 @@ public class ExamProgressRepository {
      * 获取所有进度
      */
     public void getAllProgress(AllProgressCallback callback) {
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
             List<ExamProgressEntity> progressList = examProgressDao.getAllProgress();
             if (callback != null) {
                 callback.onResult(progressList);
             }
-        }).start();
+        });
     }
     
     /**
      * 删除进度
      */
     public void deleteProgress(int id) {
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
             examProgressDao.deleteProgress(id);
-        }).start();
+        });
     }
     
     /**
      * 标记为已完成
      */
     public void markAsCompleted(int id) {
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
             examProgressDao.markAsCompleted(id);
-        }).start();
+        });
     }
     
     /**
      * 删除所有已完成的进度
      */
     public void deleteCompletedProgress() {
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
             examProgressDao.deleteCompletedProgress();
-        }).start();
+        });
     }
     
     /**
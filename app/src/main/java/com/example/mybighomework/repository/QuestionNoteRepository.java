@@ -5,11 +5,11 @@ import android.os.Looper;
 
 import com.example.mybighomework.database.dao.QuestionNoteDao;
 import com.example.mybighomework.database.entity.QuestionNoteEntity;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * 题目笔记仓库
@@ -23,7 +23,7 @@ public class QuestionNoteRepository {
 
     public QuestionNoteRepository(QuestionNoteDao noteDao) {
         this.noteDao = noteDao;
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.executorService = AppExecutorsYSJ.getInstance().diskIO();
         this.mainHandler = new Handler(Looper.getMainLooper());
     }
 
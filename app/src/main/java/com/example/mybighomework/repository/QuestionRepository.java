@@ -6,9 +6,9 @@ import androidx.lifecycle.MutableLiveData;
 import com.example.mybighomework.database.AppDatabase;
 import com.example.mybighomework.database.dao.QuestionDao;
 import com.example.mybighomework.database.entity.QuestionEntity;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * 题目数据仓库
@@ -16,13 +16,14 @@ import java.util.concurrent.Executors;
  */
 public class QuestionRepository {
     
+    private final AppDatabase database;
     private final QuestionDao questionDao;
     private final ExecutorService executorService;
     
     public QuestionRepository(Application application) {
-        AppDatabase database = AppDatabase.getInstance(application);
+        database = AppDatabase.getInstance(application);
         questionDao = database.questionDao();
-        executorService = Executors.newSingleThreadExecutor();
+        executorService = AppExecutorsYSJ.getInstance().diskIO();
     }
     
     // ==================== 插入操作 ====================
@@ -206,7 +207,7 @@ public class QuestionRepository {
                                    OnDataLoadListener<List<QuestionEntity>> listener) {
         executorService.execute(() -> {
             try {
-                List<QuestionEntity> questions = questionDao.getRandomQuestionsByCategoryAndType(
+                List<QuestionEntity> questions = database.randomSampler().randomQuestionsByCategoryAndType(
                     category, examType, limit);
                 if (listener != null) {
                     listener.onDataLoaded(questions);
@@ -226,7 +227,7 @@ public class QuestionRepository {
                                             OnDataLoadListener<List<QuestionEntity>> listener) {
         executorService.execute(() -> {
             try {
-                List<QuestionEntity> questions = questionDao.getRandomQuestionsByExamType(examType, limit);
+                List<QuestionEntity> questions = database.randomSampler().randomQuestionsByExamType(examType, limit);
                 if (listener != null) {
                     listener.onDataLoaded(questions);
                 }
@@ -14,12 +14,12 @@ import com.example.mybighomework.database.entity.DailyTaskEntity;
 import com.example.mybighomework.database.entity.StudyPhaseEntity;
 import com.example.mybighomework.database.entity.StudyPlanEntity;
 import com.example.mybighomework.StudyPlan;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 // import com.example.mybighomework.utils.PlanStatusManager; // 暂时注释
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * 学习计划仓库
@@ -169,7 +169,7 @@ public class StudyPlanRepository {
         this.studyPhaseDao = studyPhaseDao;
         this.dailyTaskDao = dailyTaskDao;
         // this.planStatusManager = new PlanStatusManager(studyPlanDao, studyPhaseDao, dailyTaskDao); // 暂时注释
-        this.executorService = Executors.newFixedThreadPool(4);
+        this.executorService = AppExecutorsYSJ.getInstance().diskIO();
         this.mainHandler = new Handler(Looper.getMainLooper());
     }
     
@@ -951,9 +951,7 @@ public class StudyPlanRepository {
      * 关闭资源
      */
     public void shutdown() {
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
-        }
+        // 使用应用级共享线程池，不在这里关闭
     }
     
 }
@@ -14,11 +14,11 @@ import com.example.mybighomework.database.entity.DailyTaskEntity;
 import com.example.mybighomework.database.entity.StudyPhaseEntity;
 import com.example.mybighomework.database.entity.StudyPlanEntity;
 import com.example.mybighomework.StudyPlan;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * 学习计划仓库 - 修复版本
@@ -158,7 +158,7 @@ public class StudyPlanRepositoryNewYSJ {
         this.studyPlanDao = studyPlanDao;
         this.studyPhaseDao = studyPhaseDao;
         this.dailyTaskDao = dailyTaskDao;
-        this.executorService = Executors.newFixedThreadPool(4);
+        this.executorService = AppExecutorsYSJ.getInstance().diskIO();
         this.mainHandler = new Handler(Looper.getMainLooper());
     }
     
@@ -499,9 +499,7 @@ public class StudyPlanRepositoryNewYSJ {
      * 关闭资源
      */
     public void shutdown() {
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
-        }
+        // 使用应用级共享线程池，不在这里关闭
     }
     
     // ==================== 私有辅助方法 ====================
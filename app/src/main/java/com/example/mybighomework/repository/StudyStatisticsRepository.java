@@ -0,0 +1,129 @@
+package com.example.mybighomework.repository;
+
+import com.example.mybighomework.database.dao.StudyRecordDao;
+import com.example.mybighomework.database.dao.StudyStatsDao;
+import com.example.mybighomework.database.entity.BookMasteryStatsEntity;
+import com.example.mybighomework.database.entity.DailyStudyStatsEntity;
+import com.example.mybighomework.database.entity.StudySummaryEntity;
+
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 学习统计仓库类
+ * 报告、个人中心等页面的统计数据统一从汇总表读取（由触发器随答题写入增量维护），
+ * 每个方法只读一行或按天读少量行，与历史记录数量无关。所有方法需在后台线程调用
+ */
+public class StudyStatisticsRepository {
+
+    private final StudyStatsDao studyStatsDao;
+
+    public StudyStatisticsRepository(StudyStatsDao studyStatsDao) {
+        this.studyStatsDao = studyStatsDao;
+    }
+
+    /**
+     * 总体统计，汇总行不存在时返回全 0
+     */
+    public StudySummaryEntity getSummary() {
+        StudySummaryEntity summary = studyStatsDao.getSummary();
+        return summary != null ? summary : new StudySummaryEntity();
+    }
+
+    public int getTotalStudyDays() {
+        return getSummary().getStudyDays();
+    }
+
+    /**
+     * 当前连续学习天数，最后学习日早于昨天时连续已中断，返回 0
+     */
+    public int getCurrentStreak() {
+        StudySummaryEntity summary = getSummary();
+        String lastDay = summary.getLastStudyDay();
+        if (lastDay == null || lastDay.compareTo(dayOffset(-1)) < 0) {
+            return 0;
+        }
+        return summary.getCurrentStreak();
+    }
+
+    public int getLongestStreak() {
+        return getSummary().getLongestStreak();
+    }
+
+    public int getTotalVocabularyCount() {
+        return getSummary().getVocabularyCount();
+    }
+
+    public int getMasteredVocabularyCount() {
+        return getSummary().getMasteredVocabularyCount();
+    }
+
+    public int getTotalExamCount() {
+        return getSummary().getExamCount();
+    }
+
+    public double getAverageExamScore() {
+        StudySummaryEntity summary = getSummary();
+        return summary.getExamCount() > 0
+                ? (double) summary.getExamScoreSum() / summary.getExamCount() : 0.0;
+    }
+
+    /**
+     * 总体正确率（百分比）
+     */
+    public double getOverallAccuracy() {
+        StudySummaryEntity summary = getSummary();
+        return summary.getTotalAnswers() > 0
+                ? (double) summary.getCorrectAnswers() / summary.getTotalAnswers() * 100 : 0.0;
+    }
+
+    /**
+     * 今日答题总用时（毫秒）
+     */
+    public long getTodayStudyTime() {
+        return studyStatsDao.getStudyTimeOfDay(dayOffset(0));
+    }
+
+    /**
+     * 最近几天每天的答题用时，与 StudyRecordRepository.getDailyStudyTime 的返回格式相同
+     */
+    public List<StudyRecordDao.DailyStudyTime> getDailyStudyTime(int days) {
+        return studyStatsDao.getDailyStudyTime(dayOffset(-days));
+    }
+
+    /**
+     * 最近几天的分模块统计
+     */
+    public List<DailyStudyStatsEntity> getDailyStats(int days) {
+        return studyStatsDao.getDailyStatsSince(dayOffset(-days));
+    }
+
+    /**
+     * 最近几天（含今天）中有学习记录的天数
+     */
+    public int getStudyDayCount(int days) {
+        return studyStatsDao.getStudyDayCountSince(dayOffset(1 - days));
+    }
+
+    /**
+     * 词书的已学/已掌握单词数，没有学习记录时返回 null
+     */
+    public BookMasteryStatsEntity getBookMastery(String userId, String bookId) {
+        return studyStatsDao.getBookStats(userId, bookId);
+    }
+
+    public List<BookMasteryStatsEntity> getBookMasteryForUser(String userId) {
+        return studyStatsDao.getBookStatsForUser(userId);
+    }
+
+    /**
+     * 相对今天的日期字符串，格式与汇总表中的 day 一致（本地时区 yyyy-MM-dd）
+     */
+    static String dayOffset(int offsetDays) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.DAY_OF_YEAR, offsetDays);
+        return new SimpleDateFormat("yyyy-MM-dd", Locale.US).format(calendar.getTime());
+    }
+}
@@ -6,10 +6,10 @@ import androidx.lifecycle.LiveData;
 import com.example.mybighomework.database.AppDatabase;
 import com.example.mybighomework.database.dao.VocabularyDao;
 import com.example.mybighomework.database.entity.VocabularyRecordEntity;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public class VocabularyRecordRepository {
     private VocabularyDao vocabularyDao;
@@ -17,14 +17,14 @@ public class VocabularyRecordRepository {
     
     public VocabularyRecordRepository(VocabularyDao vocabularyDao) {
         this.vocabularyDao = vocabularyDao;
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.executorService = AppExecutorsYSJ.getInstance().diskIO();
     }
     
     // 新增构造函数，支持Application参数
     public VocabularyRecordRepository(Application application) {
         AppDatabase database = AppDatabase.getInstance(application);
         this.vocabularyDao = database.vocabularyDao();
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.executorService = AppExecutorsYSJ.getInstance().diskIO();
     }
     
     // 获取掌握的词汇数量
@@ -230,9 +230,7 @@ public class VocabularyRecordRepository {
     
     // 关闭线程池
     public void shutdown() {
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
-        }
+        // 使用应用级共享线程池，不在这里关闭
     }
     
     // 回调接口
@@ -2,9 +2,10 @@ package com.example.mybighomework.repository;
 
 import com.example.mybighomework.database.dao.WrongQuestionDao;
 import com.example.mybighomework.database.entity.WrongQuestionEntity;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public class WrongQuestionRepository {
     private WrongQuestionDao wrongQuestionDao;
@@ -12,48 +13,40 @@ public class WrongQuestionRepository {
 
     public WrongQuestionRepository(WrongQuestionDao wrongQuestionDao) {
         this.wrongQuestionDao = wrongQuestionDao;
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.executorService = AppExecutorsYSJ.getInstance().diskIO();
     }
 
     public void addWrongQuestion(WrongQuestionEntity wrongQuestion) {
+        executorService.execute(() -> wrongQuestionDao.upsertAll(Collections.singletonList(wrongQuestion)));
+    }
+
+    /**
+     * 同步添加错题（用于已经在后台线程中的场景）
+     */
+    public void addWrongQuestionSync(WrongQuestionEntity wrongQuestion) {
+        wrongQuestionDao.upsertAll(Collections.singletonList(wrongQuestion));
+    }
+
+    /**
+     * 批量添加错题，在一个事务中写入；已在错题本中的题目累加答错次数，不会重复
+     * @param callback 回调去重后的错题数，在后台线程调用
+     */
+    public void addWrongQuestions(List<WrongQuestionEntity> wrongQuestions,
+                                  RepositoryCallback<Integer> callback) {
         executorService.execute(() -> {
-            WrongQuestionEntity existing = wrongQuestionDao.findByQuestionAndCategory(
-                wrongQuestion.getQuestionText(), wrongQuestion.getCategory());
-            if (existing != null) {
-                existing.setWrongCount(existing.getWrongCount() + 1);
-                existing.setWrongTime(wrongQuestion.getWrongTime());
-                existing.setUserAnswerIndex(wrongQuestion.getUserAnswerIndex());
-                existing.setMastered(false); // Reset mastered status on new mistake
-                existing.setExplanation(wrongQuestion.getExplanation());
-                existing.setOptions(wrongQuestion.getOptions());
-                existing.setSource(wrongQuestion.getSource());
-                wrongQuestionDao.update(existing);
-            } else {
-                wrongQuestion.setWrongCount(1);
-                wrongQuestionDao.insert(wrongQuestion);
+            int count = wrongQuestionDao.upsertAll(wrongQuestions);
+            if (callback != null) {
+                callback.onComplete(count);
             }
         });
     }
 
     /**
-     * 同步添加错题（用于已经在后台线程中的场景）
+     * 同步批量添加错题（用于已经在后台线程中的场景）
+     * @return 去重后的错题数
      */
-    public void addWrongQuestionSync(WrongQuestionEntity wrongQuestion) {
-        WrongQuestionEntity existing = wrongQuestionDao.findByQuestionAndCategory(
-            wrongQuestion.getQuestionText(), wrongQuestion.getCategory());
-        if (existing != null) {
-            existing.setWrongCount(existing.getWrongCount() + 1);
-            existing.setWrongTime(wrongQuestion.getWrongTime());
-            existing.setUserAnswerIndex(wrongQuestion.getUserAnswerIndex());
-            existing.setMastered(false); // Reset mastered status on new mistake
-            existing.setExplanation(wrongQuestion.getExplanation());
-            existing.setOptions(wrongQuestion.getOptions());
-            existing.setSource(wrongQuestion.getSource());
-            wrongQuestionDao.update(existing);
-        } else {
-            wrongQuestion.setWrongCount(1);
-            wrongQuestionDao.insert(wrongQuestion);
-        }
+    public int addWrongQuestionsSync(List<WrongQuestionEntity> wrongQuestions) {
+        return wrongQuestionDao.upsertAll(wrongQuestions);
     }
 
     public void updateWrongQuestion(WrongQuestionEntity wrongQuestion) {
@@ -0,0 +1,97 @@
+package com.example.mybighomework.service;
+
+import com.example.mybighomework.api.ZhipuAIService;
+import com.example.mybighomework.database.entity.ChatMessageEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * AI对话滚动上下文
+ *
+ * 最近的消息原样发送，更早的消息折叠进会话摘要。未折叠的较早消息
+ * 攒够一批（窗口滑过 SUMMARY_BATCH 条）才重新生成一次摘要，
+ * 因此每次请求最多包含：系统提示 + 摘要 + (RECENT_MESSAGES + SUMMARY_BATCH) 条消息
+ */
+public final class ChatContextBuilder {
+
+    // 原样发送的最近消息数
+    public static final int RECENT_MESSAGES = 10;
+    // 窗口外未折叠的消息达到该数量时重新生成摘要
+    public static final int SUMMARY_BATCH = 10;
+    // 单次请求最多携带的消息数
+    public static final int MAX_CONTEXT_MESSAGES = RECENT_MESSAGES + SUMMARY_BATCH;
+    // 摘要和单条消息的长度上限
+    public static final int MAX_SUMMARY_CHARS = 600;
+    public static final int MAX_MESSAGE_CHARS = 2000;
+
+    private ChatContextBuilder() {
+    }
+
+    /**
+     * 构建请求消息
+     * @param systemPrompt 系统提示
+     * @param summary 会话摘要，可为 null
+     * @param recentMessages 摘要之后的最新消息（按时间正序），超出上限时只取最后 MAX_CONTEXT_MESSAGES 条
+     */
+    public static List<ZhipuAIService.ChatMessage> build(String systemPrompt, String summary,
+                                                         List<ChatMessageEntity> recentMessages) {
+        List<ZhipuAIService.ChatMessage> messages = new ArrayList<>();
+        messages.add(new ZhipuAIService.ChatMessage("system", systemPrompt));
+        if (summary != null && !summary.isEmpty()) {
+            messages.add(new ZhipuAIService.ChatMessage("system",
+                    "以下是与该用户较早对话的摘要，回答时可参考：\n" + summary));
+        }
+        int start = Math.max(0, recentMessages.size() - MAX_CONTEXT_MESSAGES);
+        for (int i = start; i < recentMessages.size(); i++) {
+            ChatMessageEntity message = recentMessages.get(i);
+            messages.add(new ZhipuAIService.ChatMessage(message.getRole(),
+                    truncate(message.getContent(), MAX_MESSAGE_CHARS)));
+        }
+        return messages;
+    }
+
+    /**
+     * 摘要之后的消息数是否已超出窗口一整批
+     */
+    public static boolean shouldFold(int unsummarizedCount) {
+        return unsummarizedCount >= MAX_CONTEXT_MESSAGES;
+    }
+
+    /**
+     * 构建摘要生成请求：在旧摘要的基础上并入新滑出窗口的消息
+     */
+    public static List<ZhipuAIService.ChatMessage> buildSummaryRequest(String previousSummary,
+                                                                       List<ChatMessageEntity> toFold) {
+        StringBuilder prompt = new StringBuilder();
+        prompt.append("请把下面的英语学习对话整理成一段简洁的中文摘要，保留用户的学习目标、水平、")
+              .append("已讨论过的问题和结论，以及用户的偏好，不超过")
+              .append(MAX_SUMMARY_CHARS / 2).append("字。只输出摘要本身。\n\n");
+        if (previousSummary != null && !previousSummary.isEmpty()) {
+            prompt.append("【已有摘要】\n").append(previousSummary).append("\n\n");
+        }
+        prompt.append("【新增对话】\n");
+        for (ChatMessageEntity message : toFold) {
+            prompt.append(ChatMessageEntity.ROLE_USER.equals(message.getRole()) ? "用户: " : "AI助手: ")
+                  .append(truncate(message.getContent(), MAX_MESSAGE_CHARS))
+                  .append("\n");
+        }
+        List<ZhipuAIService.ChatMessage> messages = new ArrayList<>();
+        messages.add(new ZhipuAIService.ChatMessage("user", prompt.toString()));
+        return messages;
+    }
+
+    /**
+     * 规整模型返回的摘要，超长时截断
+     */
+    public static String normalizeSummary(String summary) {
+        return truncate(summary == null ? "" : summary.trim(), MAX_SUMMARY_CHARS);
+    }
+
+    private static String truncate(String text, int maxChars) {
+        if (text == null) {
+            return "";
+        }
+        return text.length() <= maxChars ? text : text.substring(0, maxChars) + "…";
+    }
+}
@@ -2,12 +2,15 @@ package com.example.mybighomework.service;
 
 import android.content.Context;
 import com.example.mybighomework.database.AppDatabase;
+import com.example.mybighomework.database.RandomSamplerYSJ;
 import com.example.mybighomework.database.dao.QuestionDao;
 import com.example.mybighomework.database.dao.StudyRecordDao;
 import com.example.mybighomework.database.dao.VocabularyDao;
 import com.example.mybighomework.database.entity.QuestionEntity;
 import com.example.mybighomework.database.entity.StudyRecordEntity;
+import com.example.mybighomework.database.entity.StudySummaryEntity;
 import com.example.mybighomework.database.entity.VocabularyRecordEntity;
+import com.example.mybighomework.repository.StudyStatisticsRepository;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
@@ -18,19 +21,25 @@ import java.util.UUID;
  */
 public class DataLinkageService {
     
+    private final AppDatabase database;
     private final QuestionDao questionDao;
     private final StudyRecordDao studyRecordDao;
     private final VocabularyDao vocabularyDao;
+    private final StudyWriteJournal studyJournal;
+    private final StudyStatisticsRepository statisticsRepository;
     
     public DataLinkageService(Context context) {
-        AppDatabase database = AppDatabase.getInstance(context);
+        this.database = AppDatabase.getInstance(context);
         this.questionDao = database.questionDao();
         this.studyRecordDao = database.studyRecordDao();
         this.vocabularyDao = database.vocabularyDao();
+        this.studyJournal = StudyWriteJournal.getInstance(context);
+        this.statisticsRepository = new StudyStatisticsRepository(database.studyStatsDao());
     }
     
     /**
      * 记录学习行为并更新相关数据
+     * 学习记录、词汇进度和题目统计交给 StudyWriteJournal 合并后批量写入
      */
     public void recordStudyActivity(long questionId, String userAnswer, String correctAnswer, 
                                   long responseTime, String studyType) {
@@ -55,65 +64,20 @@ public class DataLinkageService {
         studyRecord.setCategory(question.getCategory());
         studyRecord.setDifficulty(question.getDifficulty());
         
-        // 如果是词汇相关题目，关联词汇记录
+        // 判断是否需要复习（写入前设置）
+        studyRecord.setNeedsReview(!isCorrect || shouldScheduleReview(questionId));
+        
+        // 如果是词汇相关题目，关联词汇记录并更新词汇学习进度
         if (question.getRelatedVocabularyId() != null) {
             studyRecord.setVocabularyId(question.getRelatedVocabularyId());
-            updateVocabularyProgress(question.getRelatedVocabularyId(), isCorrect);
+            studyJournal.recordVocabularyReview(question.getRelatedVocabularyId(), isCorrect);
         }
         
         // 更新题目统计信息
-        updateQuestionStatistics(questionId, isCorrect);
+        studyJournal.recordQuestionAttempt((int) questionId, isCorrect);
         
         // 保存学习记录
-        studyRecordDao.insertStudyRecord(studyRecord);
-        
-        // 判断是否需要复习
-        studyRecord.setNeedsReview(!isCorrect || shouldScheduleReview(questionId));
-    }
-    
-    /**
-     * 更新词汇学习进度
-     */
-    private void updateVocabularyProgress(long vocabularyId, boolean isCorrect) {
-        VocabularyRecordEntity vocabulary = vocabularyDao.getVocabularyById((int)vocabularyId);
-        if (vocabulary == null) return;
-        
-        if (isCorrect) {
-            vocabulary.setCorrectCount(vocabulary.getCorrectCount() + 1);
-        } else {
-            vocabulary.setWrongCount(vocabulary.getWrongCount() + 1);
-        }
-        
-        // 更新记忆强度
-        vocabulary.updateMemoryStrength(isCorrect);
-        
-        // 增加复习次数
-        vocabulary.incrementReviewCount();
-        
-        // 更新最后学习时间
-        vocabulary.setLastStudyTime(System.currentTimeMillis());
-        
-        // 判断是否掌握
-        int totalAttempts = vocabulary.getCorrectCount() + vocabulary.getWrongCount();
-        if (totalAttempts >= 3 && vocabulary.getMasteryPercentage() >= 80) {
-            vocabulary.setMastered(true);
-        }
-        
-        // 安排下次复习时间
-        vocabulary.scheduleNextReview();
-        
-        vocabularyDao.update(vocabulary);
-    }
-    
-    /**
-     * 更新题目统计信息
-     */
-    private void updateQuestionStatistics(long questionId, boolean isCorrect) {
-        QuestionEntity question = questionDao.getQuestionById((int) questionId);
-        if (question == null) return;
-        
-        question.recordAttempt(isCorrect);
-        questionDao.updateQuestion(question);
+        studyJournal.addStudyRecord(studyRecord);
     }
     
     /**
@@ -136,7 +100,7 @@ public class DataLinkageService {
      */
     public List<QuestionEntity> getQuestionsNeedingReview() {
         // 基于学习记录和正确率判断需要复习的题目
-        return questionDao.getQuestionsByAccuracyRange(0, 60, 1, 50);
+        return database.randomSampler().questionsByAccuracyRange(0, 60, 1, 50);
     }
     
     /**
@@ -144,15 +108,16 @@ public class DataLinkageService {
      */
     public StudyStatistics getStudyStatistics() {
         StudyStatistics stats = new StudyStatistics();
+        StudySummaryEntity summary = statisticsRepository.getSummary();
         
         // 总体统计
-        stats.totalStudyRecords = studyRecordDao.getTotalStudyRecordCount();
-        stats.correctAnswers = studyRecordDao.getCorrectAnswerCount();
-        stats.wrongAnswers = studyRecordDao.getWrongAnswerCount();
+        stats.totalStudyRecords = summary.getTotalAnswers();
+        stats.correctAnswers = summary.getCorrectAnswers();
+        stats.wrongAnswers = summary.getTotalAnswers() - summary.getCorrectAnswers();
         
         // 词汇统计
-        stats.totalVocabularies = vocabularyDao.getTotalVocabularyCount();
-        stats.masteredVocabularies = vocabularyDao.getMasteredVocabularyCount();
+        stats.totalVocabularies = summary.getVocabularyCount();
+        stats.masteredVocabularies = summary.getMasteredVocabularyCount();
         
         // 题目统计
         stats.totalQuestions = questionDao.getTotalQuestionCount();
@@ -172,20 +137,20 @@ public class DataLinkageService {
     public List<QuestionEntity> getRecommendedQuestions(int limit) {
         // 基于学习历史推荐题目
         // 1. 优先推荐错误率高的题目
-        List<QuestionEntity> lowAccuracyQuestions = questionDao.getQuestionsByAccuracyRange(0, 50, 1, limit);
+        RandomSamplerYSJ sampler = database.randomSampler();
+        List<QuestionEntity> lowAccuracyQuestions = sampler.questionsByAccuracyRange(0, 50, 1, limit);
+        if (!lowAccuracyQuestions.isEmpty()) {
+            return lowAccuracyQuestions;
+        }
         
         // 2. 推荐未练习的题目
-        List<QuestionEntity> unpracticedQuestions = questionDao.getUnpracticedQuestions(limit);
-        
-        // 合并并限制数量（这里简化处理）
-        if (!lowAccuracyQuestions.isEmpty()) {
-            return lowAccuracyQuestions.subList(0, Math.min(limit, lowAccuracyQuestions.size()));
-        } else if (!unpracticedQuestions.isEmpty()) {
-            return unpracticedQuestions.subList(0, Math.min(limit, unpracticedQuestions.size()));
-        } else {
-            // 如果没有低准确率或未练习的题目，返回随机题目
-            return questionDao.getRandomQuestionsByExamType("四级", limit);
+        List<QuestionEntity> unpracticedQuestions = sampler.unpracticedQuestions(limit);
+        if (!unpracticedQuestions.isEmpty()) {
+            return unpracticedQuestions;
         }
+        
+        // 如果没有低准确率或未练习的题目，返回随机题目
+        return sampler.randomQuestionsByExamType("四级", limit);
     }
     
     /**
@@ -0,0 +1,488 @@
+package com.example.mybighomework.service;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.example.mybighomework.api.ZhipuAIService;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
+
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 试卷主观题批改调度器
+ *
+ * 1. 翻译题和写作题在共享的网络线程池中并行批改，整卷耗时接近最慢的一道题
+ * 2. 每道题单独设置超时和重试次数，重试由定时线程延迟提交，不占用网络线程等待；全部失败后给予默认分数
+ * 3. 每批改完一道题立即回调进度，并把成功的结果写入检查点；
+ *    Activity 重建或进程被杀后重新提交相同的答案，已批改的题目直接从检查点恢复
+ *
+ * 使用方式：
+ * ExamGradingOrchestrator.getInstance(context).grade(sessionKey, items, grader, listener);
+ * 汇总结果每个会话只回调一次；成绩保存后调用 finishSession(sessionKey) 清除检查点，
+ * 之后用相同的 sessionKey 提交会重新开始批改
+ */
+public class ExamGradingOrchestrator {
+
+    private static final String TAG = "ExamGradingOrchestrator";
+
+    private static volatile ExamGradingOrchestrator INSTANCE;
+
+    /**
+     * 调度配置
+     */
+    public static class Config {
+        // 单次批改请求的超时
+        public long itemTimeoutMillis = 45_000;
+        // 失败后的重试次数
+        public int maxRetries = 2;
+        // 重试前的等待时间，按重试次数线性递增
+        public long retryDelayMillis = 1_000;
+
+        public static Config defaults() {
+            return new Config();
+        }
+    }
+
+    /**
+     * 题目类型
+     */
+    public enum ItemType {
+        TRANSLATION,
+        WRITING_PART_A,
+        WRITING_PART_B
+    }
+
+    /**
+     * 一道待批改的主观题
+     */
+    public static class GradingItem {
+        public final ItemType type;
+        public final int questionNumber;
+        public final String answer;
+        // 翻译题为英文原文，写作题为作文题目
+        public final String prompt;
+        // 翻译参考译文，写作题为空
+        public final String reference;
+        public final float maxScore;
+        // AI 批改全部失败时给予的分数
+        public final float fallbackScore;
+
+        GradingItem(ItemType type, int questionNumber, String answer, String prompt,
+                    String reference, float maxScore, float fallbackScore) {
+            this.type = type;
+            this.questionNumber = questionNumber;
+            this.answer = answer != null ? answer : "";
+            this.prompt = prompt != null ? prompt : "";
+            this.reference = reference != null ? reference : "";
+            this.maxScore = maxScore;
+            this.fallbackScore = fallbackScore;
+        }
+
+        public static GradingItem translation(int questionNumber, String answer, String originalText, String reference) {
+            return new GradingItem(ItemType.TRANSLATION, questionNumber, answer, originalText, reference, 3f, 2f);
+        }
+
+        public static GradingItem writingPartA(int questionNumber, String essay, String topic) {
+            return new GradingItem(ItemType.WRITING_PART_A, questionNumber, essay, topic, null, 10f, 6f);
+        }
+
+        public static GradingItem writingPartB(int questionNumber, String essay, String topic) {
+            return new GradingItem(ItemType.WRITING_PART_B, questionNumber, essay, topic, null, 15f, 10f);
+        }
+
+        boolean isAnswered() {
+            return !answer.trim().isEmpty();
+        }
+
+        /**
+         * 检查点键：答案改变后不会命中旧的批改结果
+         */
+        String checkpointKey() {
+            return type + "_" + questionNumber + "_" + Integer.toHexString(answer.hashCode()) + "_" + answer.length();
+        }
+    }
+
+    /**
+     * 单题批改结果
+     */
+    public static class ItemResult {
+        public enum Status {
+            GRADED,       // AI 批改完成
+            UNANSWERED,   // 未作答，0分
+            FALLBACK      // 批改失败，默认分数
+        }
+
+        public final GradingItem item;
+        public final Status status;
+        public final float score;
+        public final String comment;
+        // 是否从检查点恢复（未重新请求）
+        public final boolean restored;
+
+        ItemResult(GradingItem item, Status status, float score, String comment, boolean restored) {
+            this.item = item;
+            this.status = status;
+            this.score = score;
+            this.comment = comment;
+            this.restored = restored;
+        }
+    }
+
+    /**
+     * 单题批改，在调度器的工作线程中同步执行
+     */
+    public interface Grader {
+        ZhipuAIService.GradeResult grade(GradingItem item, long timeoutMillis) throws Exception;
+    }
+
+    /**
+     * 进度回调，在主线程执行
+     */
+    public interface Listener {
+        void onItemGraded(ItemResult result, int completed, int total);
+
+        /**
+         * @param results 与提交顺序一致的全部结果
+         */
+        void onAllGraded(List<ItemResult> results);
+    }
+
+    /**
+     * 已完成批改的检查点
+     */
+    public interface CheckpointStore {
+        ZhipuAIService.GradeResult load(String sessionKey, String itemKey);
+
+        void save(String sessionKey, String itemKey, ZhipuAIService.GradeResult grade);
+
+        void clear(String sessionKey);
+    }
+
+    /**
+     * 一次提交的批改状态
+     */
+    private static class Session {
+        final String key;
+        final List<GradingItem> items;
+        final ItemResult[] results;
+        int completed;
+        // 汇总结果已回调，重新绑定的监听器不再收到，避免成绩重复保存
+        boolean allGradedDelivered;
+        // 已调用 finishSession，不再写入检查点
+        boolean closed;
+        volatile Listener listener;
+
+        Session(String key, List<GradingItem> items, Listener listener) {
+            this.key = key;
+            this.items = new ArrayList<>(items);
+            this.results = new ItemResult[items.size()];
+            this.listener = listener;
+        }
+
+        boolean isFinished() {
+            return completed == results.length;
+        }
+
+        boolean hasSameItems(List<GradingItem> other) {
+            if (other.size() != items.size()) {
+                return false;
+            }
+            for (int i = 0; i < items.size(); i++) {
+                if (!items.get(i).checkpointKey().equals(other.get(i).checkpointKey())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private final Config config;
+    private final CheckpointStore checkpointStore;
+    private final Executor gradingExecutor;
+    private final ScheduledExecutorService retryScheduler;
+    private final Executor mainExecutor;
+    private final Map<String, Session> sessions = new HashMap<>();
+
+    public static ExamGradingOrchestrator getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (ExamGradingOrchestrator.class) {
+                if (INSTANCE == null) {
+                    Config config = Config.defaults();
+                    INSTANCE = new ExamGradingOrchestrator(config,
+                            new PreferencesCheckpointStore(context.getApplicationContext()),
+                            AppExecutorsYSJ.getInstance().networkIO(),
+                            AppExecutorsYSJ.getInstance().scheduler(),
+                            AppExecutorsYSJ.getInstance().mainThread());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    ExamGradingOrchestrator(Config config, CheckpointStore checkpointStore,
+                            Executor gradingExecutor, ScheduledExecutorService retryScheduler,
+                            Executor mainExecutor) {
+        this.config = config;
+        this.checkpointStore = checkpointStore;
+        this.gradingExecutor = gradingExecutor;
+        this.retryScheduler = retryScheduler;
+        this.mainExecutor = mainExecutor;
+    }
+
+    /**
+     * 提交一份试卷的主观题
+     * 同一 sessionKey 的相同答案已在批改时只替换监听器并补发已完成的进度，不重复请求；
+     * 汇总结果已回调过的会话不再补发
+     */
+    public void grade(String sessionKey, List<GradingItem> items, Grader grader, Listener listener) {
+        Session session;
+        synchronized (sessions) {
+            Session existing = sessions.get(sessionKey);
+            if (existing != null && existing.hasSameItems(items)) {
+                existing.listener = listener;
+                replay(existing);
+                return;
+            }
+            if (existing != null) {
+                // 答案已变化，旧的批改结果仍会写入检查点，但不再回调
+                existing.listener = null;
+            }
+            session = new Session(sessionKey, items, listener);
+            sessions.put(sessionKey, session);
+        }
+
+        Log.d(TAG, "Grading " + items.size() + " items for " + sessionKey);
+        if (items.isEmpty()) {
+            postAllGraded(session);
+            return;
+        }
+        for (int i = 0; i < session.items.size(); i++) {
+            GradingItem item = session.items.get(i);
+            int index = i;
+            if (!item.isAnswered()) {
+                complete(session, index, new ItemResult(item, ItemResult.Status.UNANSWERED, 0f, "未作答", false));
+                continue;
+            }
+            ZhipuAIService.GradeResult saved = checkpointStore.load(sessionKey, item.checkpointKey());
+            if (saved != null) {
+                complete(session, index, new ItemResult(item, ItemResult.Status.GRADED,
+                        saved.getScore(), saved.getComment(), true));
+                continue;
+            }
+            gradingExecutor.execute(() -> gradeOnce(session, index, item, grader, 0));
+        }
+    }
+
+    /**
+     * 解除监听（Activity 销毁时调用），批改继续在后台进行
+     */
+    public void detach(String sessionKey, Listener listener) {
+        synchronized (sessions) {
+            Session session = sessions.get(sessionKey);
+            if (session != null && session.listener == listener) {
+                session.listener = null;
+            }
+        }
+    }
+
+    /**
+     * 成绩已保存，清除会话和检查点
+     */
+    public void finishSession(String sessionKey) {
+        Session session;
+        synchronized (sessions) {
+            session = sessions.remove(sessionKey);
+        }
+        if (session != null) {
+            synchronized (session) {
+                session.closed = true;
+                session.listener = null;
+            }
+        }
+        checkpointStore.clear(sessionKey);
+    }
+
+    /**
+     * 批改一道题的第 attempt 次尝试，在批改线程中执行
+     * 失败后按重试次数线性递增的延迟交给定时线程重新提交
+     */
+    private void gradeOnce(Session session, int index, GradingItem item, Grader grader, int attempt) {
+        ZhipuAIService.GradeResult grade = null;
+        boolean interrupted = false;
+        try {
+            grade = grader.grade(item, config.itemTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            interrupted = true;
+        } catch (Exception e) {
+            Log.e(TAG, item.type + " " + item.questionNumber + " 批改失败 (尝试 "
+                    + (attempt + 1) + "/" + (config.maxRetries + 1) + ")", e);
+        }
+
+        if (grade != null) {
+            complete(session, index, new ItemResult(item, ItemResult.Status.GRADED,
+                    grade.getScore(), grade.getComment(), false));
+        } else if (!interrupted && attempt < config.maxRetries) {
+            retryScheduler.schedule(
+                    () -> gradingExecutor.execute(() -> gradeOnce(session, index, item, grader, attempt + 1)),
+                    config.retryDelayMillis * (attempt + 1), TimeUnit.MILLISECONDS);
+        } else {
+            complete(session, index, new ItemResult(item, ItemResult.Status.FALLBACK, item.fallbackScore,
+                    "AI批改失败，给予默认分数", false));
+        }
+    }
+
+    private void complete(Session session, int index, ItemResult result) {
+        // 在锁内投递回调，保证进度按完成数递增，汇总回调在最后一道题之后
+        synchronized (session) {
+            if (result.status == ItemResult.Status.GRADED && !result.restored && !session.closed) {
+                checkpointStore.save(session.key, result.item.checkpointKey(),
+                        new ZhipuAIService.GradeResult(result.score, result.comment));
+            }
+            session.results[index] = result;
+            int completed = ++session.completed;
+            int total = session.results.length;
+            mainExecutor.execute(() -> {
+                Listener listener = session.listener;
+                if (listener != null) {
+                    listener.onItemGraded(result, completed, total);
+                }
+            });
+            if (completed == total) {
+                postAllGraded(session);
+            }
+        }
+    }
+
+    private void replay(Session session) {
+        List<ItemResult> done = new ArrayList<>();
+        boolean finished;
+        synchronized (session) {
+            for (ItemResult result : session.results) {
+                if (result != null) {
+                    done.add(result);
+                }
+            }
+            finished = session.isFinished();
+        }
+        int total = session.results.length;
+        mainExecutor.execute(() -> {
+            Listener listener = session.listener;
+            if (listener == null) {
+                return;
+            }
+            for (int i = 0; i < done.size(); i++) {
+                listener.onItemGraded(done.get(i), i + 1, total);
+            }
+        });
+        if (finished) {
+            postAllGraded(session);
+        }
+    }
+
+    /**
+     * 投递汇总结果；批改完成和监听器重新绑定都可能投递，在主线程标记已回调，只有先执行的一次生效
+     */
+    private void postAllGraded(Session session) {
+        List<ItemResult> results;
+        synchronized (session) {
+            results = Arrays.asList(session.results.clone());
+        }
+        mainExecutor.execute(() -> {
+            Listener listener;
+            synchronized (session) {
+                listener = session.listener;
+                if (listener == null || session.allGradedDelivered) {
+                    return;
+                }
+                session.allGradedDelivered = true;
+            }
+            listener.onAllGraded(results);
+        });
+    }
+
+    /**
+     * 默认的批改实现：调用智谱AI的同步批改接口
+     */
+    public static class ZhipuGrader implements Grader {
+        private final ZhipuAIService service;
+
+        public ZhipuGrader(ZhipuAIService service) {
+            this.service = service;
+        }
+
+        @Override
+        public ZhipuAIService.GradeResult grade(GradingItem item, long timeoutMillis) throws Exception {
+            switch (item.type) {
+                case TRANSLATION:
+                    return service.gradeTranslationBlocking(item.answer, item.reference, item.prompt,
+                            item.maxScore, timeoutMillis);
+                case WRITING_PART_A:
+                    return service.gradeWritingPartABlocking(item.answer, item.prompt, timeoutMillis);
+                default:
+                    return service.gradeWritingPartBBlocking(item.answer, item.prompt, timeoutMillis);
+            }
+        }
+    }
+
+    /**
+     * 基于 SharedPreferences 的检查点，键为 会话|题目
+     */
+    static class PreferencesCheckpointStore implements CheckpointStore {
+        private static final String PREFS_NAME = "exam_grading_checkpoint";
+        private final SharedPreferences prefs;
+
+        PreferencesCheckpointStore(Context context) {
+            this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        }
+
+        @Override
+        public ZhipuAIService.GradeResult load(String sessionKey, String itemKey) {
+            String json = prefs.getString(sessionKey + "|" + itemKey, null);
+            if (json == null) {
+                return null;
+            }
+            try {
+                JSONObject object = new JSONObject(json);
+                return new ZhipuAIService.GradeResult((float) object.getDouble("score"), object.optString("comment"));
+            } catch (Exception e) {
+                Log.w(TAG, "检查点解析失败: " + itemKey, e);
+                return null;
+            }
+        }
+
+        @Override
+        public void save(String sessionKey, String itemKey, ZhipuAIService.GradeResult grade) {
+            try {
+                JSONObject object = new JSONObject();
+                object.put("score", grade.getScore());
+                object.put("comment", grade.getComment());
+                // commit 同步落盘，进程随时可能被杀
+                prefs.edit().putString(sessionKey + "|" + itemKey, object.toString()).commit();
+            } catch (Exception e) {
+                Log.w(TAG, "检查点保存失败: " + itemKey, e);
+            }
+        }
+
+        @Override
+        public void clear(String sessionKey) {
+            SharedPreferences.Editor editor = prefs.edit();
+            for (String key : prefs.getAll().keySet()) {
+                if (key.startsWith(sessionKey + "|")) {
+                    editor.remove(key);
+                }
+            }
+            editor.apply();
+        }
+    }
+}
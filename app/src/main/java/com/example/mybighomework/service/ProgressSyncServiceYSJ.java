@@ -12,12 +12,12 @@ import com.example.mybighomework.database.dao.StudyPlanDao;
 import com.example.mybighomework.database.entity.DailyTaskEntity;
 import com.example.mybighomework.database.entity.StudyPhaseEntity;
 import com.example.mybighomework.database.entity.StudyPlanEntity;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 import com.example.mybighomework.utils.PlanStatusManager;
 import com.example.mybighomework.utils.ProgressCalculator;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * 进度同步服务
@@ -68,7 +68,7 @@ public class ProgressSyncServiceYSJ {
         this.dailyTaskDao = database.dailyTaskDao();
         this.planStatusManager = new PlanStatusManager(studyPlanDao, studyPhaseDao, dailyTaskDao);
         this.taskGenerationService = new TaskGenerationService(context);
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.executorService = AppExecutorsYSJ.getInstance().diskIO();
         this.mainHandler = new Handler(Looper.getMainLooper());
     }
     
@@ -298,8 +298,6 @@ public class ProgressSyncServiceYSJ {
      * 释放资源
      */
     public void shutdown() {
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
-        }
+        // 使用应用级共享线程池，不在这里关闭
     }
 }
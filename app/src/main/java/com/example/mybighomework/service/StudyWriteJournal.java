@@ -0,0 +1,490 @@
+package com.example.mybighomework.service;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.example.mybighomework.database.AppDatabase;
+import com.example.mybighomework.database.dao.QuestionDao;
+import com.example.mybighomework.database.dao.VocabularyDao;
+import com.example.mybighomework.database.dao.WordLearningProgressDao;
+import com.example.mybighomework.database.entity.QuestionEntity;
+import com.example.mybighomework.database.entity.StudyRecordEntity;
+import com.example.mybighomework.database.entity.VocabularyRecordEntity;
+import com.example.mybighomework.database.entity.WordLearningProgressEntity;
+import com.example.mybighomework.database.entity.WrongQuestionEntity;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
+import com.example.mybighomework.utils.ReviewEngineYSJ;
+import com.example.mybighomework.utils.ReviewSchedulerYSJ;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 答题记录的延迟批量写入
+ *
+ * 答题时只在内存中累积，不访问数据库；同一个单词、同一道题的多次作答合并为一条更新。
+ * 满足以下任一条件时在一个事务中写入：
+ * 1. 累积的答题数达到 MAX_PENDING_ANSWERS
+ * 2. 第一条未写入的记录已等待 FLUSH_DELAY_MILLIS
+ * 3. 页面调用 flush()（onPause 时）
+ *
+ * 写入走磁盘线程的 IMMEDIATE 队列，先于之后提交的页面查询执行，其他页面读到的总是最新数据。
+ * 事务失败（磁盘已满、数据库忙等）时整批放回未写入的记录之前，RETRY_DELAY_MILLIS 后重试一次
+ *
+ * 使用方式：
+ * StudyWriteJournal journal = StudyWriteJournal.getInstance(context);
+ * journal.recordWordProgress(userId, wordId, bookId, isCorrect);
+ * // onPause
+ * journal.flush();
+ */
+public class StudyWriteJournal {
+
+    private static final String TAG = "StudyWriteJournal";
+
+    // 累积多少次作答后立即写入
+    public static final int MAX_PENDING_ANSWERS = 20;
+    // 第一条未写入的记录最多等待多久
+    public static final long FLUSH_DELAY_MILLIS = 10_000;
+    // 写入失败后多久重试
+    static final long RETRY_DELAY_MILLIS = 2_000;
+
+    private static volatile StudyWriteJournal INSTANCE;
+
+    private final AppDatabase database;
+    private final WordLearningProgressDao progressDao;
+    private final VocabularyDao vocabularyDao;
+    private final QuestionDao questionDao;
+    private final ReviewEngineYSJ reviewEngine;
+    private final Executor writeExecutor;
+    private final ScheduledExecutorService scheduler;
+
+    private final Object lock = new Object();
+    private Batch pending = new Batch();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public static StudyWriteJournal getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (StudyWriteJournal.class) {
+                if (INSTANCE == null) {
+                    AppExecutorsYSJ executors = AppExecutorsYSJ.getInstance();
+                    AppDatabase database = AppDatabase.getInstance(context);
+                    INSTANCE = new StudyWriteJournal(database, ReviewEngineYSJ.getInstance(database),
+                            executors.diskIO(AppExecutorsYSJ.Priority.IMMEDIATE), executors.scheduler());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    StudyWriteJournal(AppDatabase database, Executor writeExecutor, ScheduledExecutorService scheduler) {
+        this(database, new ReviewEngineYSJ(database), writeExecutor, scheduler);
+    }
+
+    StudyWriteJournal(AppDatabase database, ReviewEngineYSJ reviewEngine,
+                      Executor writeExecutor, ScheduledExecutorService scheduler) {
+        this.database = database;
+        this.reviewEngine = reviewEngine;
+        this.progressDao = database.wordLearningProgressDao();
+        this.vocabularyDao = database.vocabularyDao();
+        this.questionDao = database.questionDao();
+        this.writeExecutor = writeExecutor;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * 记录词书单词的作答（word_learning_progress）
+     */
+    public void recordWordProgress(String userId, String wordId, String bookId, boolean isCorrect) {
+        long now = System.currentTimeMillis();
+        synchronized (lock) {
+            String key = userId + '\n' + wordId;
+            WordAnswers answers = pending.wordProgress.get(key);
+            if (answers == null) {
+                answers = new WordAnswers(userId, wordId, bookId);
+                pending.wordProgress.put(key, answers);
+            }
+            answers.add(isCorrect, now);
+            onRecordedLocked();
+        }
+    }
+
+    /**
+     * 记录词汇训练的作答（vocabulary_records，按单词查找，不存在时新建）
+     */
+    public void recordVocabularyAnswer(String word, String pronunciation, String meaning, boolean isCorrect) {
+        long now = System.currentTimeMillis();
+        synchronized (lock) {
+            VocabularyAnswers answers = pending.vocabularyByWord.get(word);
+            if (answers == null) {
+                answers = new VocabularyAnswers(word, pronunciation, meaning);
+                pending.vocabularyByWord.put(word, answers);
+            }
+            if (isCorrect) {
+                answers.correct++;
+            } else {
+                answers.wrong++;
+            }
+            answers.lastTime = now;
+            onRecordedLocked();
+        }
+    }
+
+    /**
+     * 记录已有词汇的复习结果（更新记忆强度和下次复习时间）
+     */
+    public void recordVocabularyReview(int vocabularyId, boolean isCorrect) {
+        synchronized (lock) {
+            appendLocked(pending.vocabularyReviews, vocabularyId, isCorrect);
+            onRecordedLocked();
+        }
+    }
+
+    /**
+     * 记录题目作答统计
+     */
+    public void recordQuestionAttempt(int questionId, boolean isCorrect) {
+        synchronized (lock) {
+            appendLocked(pending.questionAttempts, questionId, isCorrect);
+            onRecordedLocked();
+        }
+    }
+
+    /**
+     * 追加一条学习记录
+     */
+    public void addStudyRecord(StudyRecordEntity record) {
+        synchronized (lock) {
+            pending.studyRecords.add(record);
+            onRecordedLocked();
+        }
+    }
+
+    /**
+     * 记录一道错题，写入时与同一批的其他错题一起按来源 + 题目去重加入错题本
+     */
+    public void recordWrongQuestion(WrongQuestionEntity wrongQuestion) {
+        synchronized (lock) {
+            pending.wrongQuestions.add(wrongQuestion);
+            onRecordedLocked();
+        }
+    }
+
+    /**
+     * 立即写入所有未写入的记录（异步）
+     */
+    public void flush() {
+        Batch batch;
+        synchronized (lock) {
+            batch = takeLocked();
+        }
+        if (batch != null) {
+            writeExecutor.execute(() -> write(batch));
+        }
+    }
+
+    /**
+     * 尚未写入的作答次数
+     */
+    public int getPendingCount() {
+        synchronized (lock) {
+            return pending.answerCount;
+        }
+    }
+
+    private static void appendLocked(Map<Integer, List<Boolean>> map, int id, boolean isCorrect) {
+        List<Boolean> answers = map.get(id);
+        if (answers == null) {
+            answers = new ArrayList<>(2);
+            map.put(id, answers);
+        }
+        answers.add(isCorrect);
+    }
+
+    private void onRecordedLocked() {
+        pending.answerCount++;
+        // 等待重试期间不提前写入，由已安排的重试一起写入
+        if (pending.answerCount >= MAX_PENDING_ANSWERS && !pending.retried) {
+            Batch batch = takeLocked();
+            writeExecutor.execute(() -> write(batch));
+        } else if (scheduledFlush == null) {
+            scheduledFlush = scheduler.schedule(this::flush, FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Nullable
+    private Batch takeLocked() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        if (pending.answerCount == 0) {
+            return null;
+        }
+        Batch batch = pending;
+        pending = new Batch();
+        return batch;
+    }
+
+    /**
+     * 在一个事务中写入一批记录
+     */
+    private void write(Batch batch) {
+        List<WordLearningProgressEntity> writtenProgress = new ArrayList<>();
+        try {
+            database.runInTransaction(() -> {
+                writeWordProgress(batch.wordProgress, writtenProgress);
+                writeVocabularyAnswers(batch.vocabularyByWord);
+                writeVocabularyReviews(batch.vocabularyReviews);
+                writeQuestionAttempts(batch.questionAttempts);
+                if (!batch.studyRecords.isEmpty()) {
+                    database.studyRecordDao().insertStudyRecords(batch.studyRecords);
+                }
+                if (!batch.wrongQuestions.isEmpty()) {
+                    database.wrongQuestionDao().upsertAll(batch.wrongQuestions);
+                }
+            });
+            // 事务提交后再更新内存中的复习队列
+            for (WordLearningProgressEntity progress : writtenProgress) {
+                reviewEngine.onProgressChanged(progress);
+            }
+            Log.d(TAG, "写入 " + batch.answerCount + " 次作答");
+        } catch (Exception e) {
+            if (batch.retried) {
+                Log.e(TAG, "批量写入重试失败，丢弃 " + batch.answerCount + " 次作答", e);
+                return;
+            }
+            Log.w(TAG, "批量写入失败，" + RETRY_DELAY_MILLIS + "ms 后重试 " + batch.answerCount + " 次作答", e);
+            requeue(batch);
+        }
+    }
+
+    /**
+     * 把写入失败的一批放回未写入的记录之前，到时间后与之后的作答一起重试
+     */
+    private void requeue(Batch failed) {
+        synchronized (lock) {
+            failed.retried = true;
+            failed.append(pending);
+            pending = failed;
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+            }
+            scheduledFlush = scheduler.schedule(this::flush, RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void writeWordProgress(Map<String, WordAnswers> wordProgress, List<WordLearningProgressEntity> written) {
+        if (wordProgress.isEmpty()) {
+            return;
+        }
+        // 按用户分组一次查出已有进度
+        Map<String, List<String>> wordIdsByUser = new HashMap<>();
+        for (WordAnswers answers : wordProgress.values()) {
+            List<String> wordIds = wordIdsByUser.get(answers.userId);
+            if (wordIds == null) {
+                wordIds = new ArrayList<>();
+                wordIdsByUser.put(answers.userId, wordIds);
+            }
+            wordIds.add(answers.wordId);
+        }
+        Map<String, WordLearningProgressEntity> existing = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : wordIdsByUser.entrySet()) {
+            for (WordLearningProgressEntity progress : progressDao.getProgressForWords(entry.getKey(), entry.getValue())) {
+                existing.put(progress.getUserId() + '\n' + progress.getWordId(), progress);
+            }
+        }
+
+        List<WordLearningProgressEntity> inserts = new ArrayList<>();
+        List<WordLearningProgressEntity> updates = new ArrayList<>();
+        for (Map.Entry<String, WordAnswers> entry : wordProgress.entrySet()) {
+            WordAnswers answers = entry.getValue();
+            WordLearningProgressEntity progress = existing.get(entry.getKey());
+            boolean isNew = progress == null;
+            if (isNew) {
+                progress = new WordLearningProgressEntity(answers.userId, answers.wordId, answers.bookId);
+            }
+            // 按作答顺序和作答时间重放，记忆状态和复习时间与逐条写入一致
+            ReviewSchedulerYSJ scheduler = reviewEngine.schedulerFor(answers.userId);
+            for (int i = 0; i < answers.answers.size(); i++) {
+                progress.recordAnswer(answers.answers.get(i), scheduler, answers.times.get(i));
+            }
+            (isNew ? inserts : updates).add(progress);
+        }
+        if (!inserts.isEmpty()) {
+            progressDao.insertAll(inserts);
+        }
+        if (!updates.isEmpty()) {
+            progressDao.updateAll(updates);
+        }
+        written.addAll(inserts);
+        written.addAll(updates);
+    }
+
+    private void writeVocabularyAnswers(Map<String, VocabularyAnswers> vocabularyByWord) {
+        for (VocabularyAnswers answers : vocabularyByWord.values()) {
+            VocabularyRecordEntity record = vocabularyDao.getVocabularyByWord(answers.word);
+            boolean isNew = record == null;
+            if (isNew) {
+                record = new VocabularyRecordEntity();
+                record.setWord(answers.word);
+                record.setPronunciation(answers.pronunciation);
+                record.setMeaning(answers.meaning);
+                record.setMastered(false);
+                record.setCreatedTime(answers.lastTime);
+            }
+            record.setCorrectCount(record.getCorrectCount() + answers.correct);
+            record.setWrongCount(record.getWrongCount() + answers.wrong);
+            record.setLastStudyTime(answers.lastTime);
+
+            // 判断是否掌握（正确率超过80%）
+            int totalAttempts = record.getCorrectCount() + record.getWrongCount();
+            if (totalAttempts >= 3) {
+                record.setMastered((double) record.getCorrectCount() / totalAttempts >= 0.8);
+            }
+
+            if (isNew) {
+                vocabularyDao.insert(record);
+            } else {
+                vocabularyDao.update(record);
+            }
+        }
+    }
+
+    private void writeVocabularyReviews(Map<Integer, List<Boolean>> vocabularyReviews) {
+        for (Map.Entry<Integer, List<Boolean>> entry : vocabularyReviews.entrySet()) {
+            VocabularyRecordEntity vocabulary = vocabularyDao.getVocabularyById(entry.getKey());
+            if (vocabulary == null) {
+                continue;
+            }
+            for (boolean isCorrect : entry.getValue()) {
+                if (isCorrect) {
+                    vocabulary.setCorrectCount(vocabulary.getCorrectCount() + 1);
+                } else {
+                    vocabulary.setWrongCount(vocabulary.getWrongCount() + 1);
+                }
+                vocabulary.updateMemoryStrength(isCorrect);
+                vocabulary.incrementReviewCount();
+            }
+            vocabulary.setLastStudyTime(System.currentTimeMillis());
+
+            int totalAttempts = vocabulary.getCorrectCount() + vocabulary.getWrongCount();
+            if (totalAttempts >= 3 && vocabulary.getMasteryPercentage() >= 80) {
+                vocabulary.setMastered(true);
+            }
+            vocabulary.scheduleNextReview();
+            vocabularyDao.update(vocabulary);
+        }
+    }
+
+    private void writeQuestionAttempts(Map<Integer, List<Boolean>> questionAttempts) {
+        for (Map.Entry<Integer, List<Boolean>> entry : questionAttempts.entrySet()) {
+            QuestionEntity question = questionDao.getQuestionById(entry.getKey());
+            if (question == null) {
+                continue;
+            }
+            for (boolean isCorrect : entry.getValue()) {
+                question.recordAttempt(isCorrect);
+            }
+            questionDao.updateQuestion(question);
+        }
+    }
+
+    /**
+     * 一批未写入的记录，按写入目标合并
+     */
+    private static class Batch {
+        final Map<String, WordAnswers> wordProgress = new LinkedHashMap<>();
+        final Map<String, VocabularyAnswers> vocabularyByWord = new LinkedHashMap<>();
+        final Map<Integer, List<Boolean>> vocabularyReviews = new LinkedHashMap<>();
+        final Map<Integer, List<Boolean>> questionAttempts = new LinkedHashMap<>();
+        final List<StudyRecordEntity> studyRecords = new ArrayList<>();
+        final List<WrongQuestionEntity> wrongQuestions = new ArrayList<>();
+        int answerCount;
+        // 已经写入失败过一次
+        boolean retried;
+
+        /**
+         * 把之后记录的一批追加到这一批之后，同一单词的作答按先后顺序重放
+         */
+        void append(Batch newer) {
+            for (Map.Entry<String, WordAnswers> entry : newer.wordProgress.entrySet()) {
+                WordAnswers answers = wordProgress.get(entry.getKey());
+                if (answers == null) {
+                    wordProgress.put(entry.getKey(), entry.getValue());
+                } else {
+                    answers.answers.addAll(entry.getValue().answers);
+                    answers.times.addAll(entry.getValue().times);
+                }
+            }
+            for (Map.Entry<String, VocabularyAnswers> entry : newer.vocabularyByWord.entrySet()) {
+                VocabularyAnswers answers = vocabularyByWord.get(entry.getKey());
+                if (answers == null) {
+                    vocabularyByWord.put(entry.getKey(), entry.getValue());
+                } else {
+                    answers.correct += entry.getValue().correct;
+                    answers.wrong += entry.getValue().wrong;
+                    answers.lastTime = entry.getValue().lastTime;
+                }
+            }
+            appendAll(vocabularyReviews, newer.vocabularyReviews);
+            appendAll(questionAttempts, newer.questionAttempts);
+            studyRecords.addAll(newer.studyRecords);
+            wrongQuestions.addAll(newer.wrongQuestions);
+            answerCount += newer.answerCount;
+        }
+
+        private static void appendAll(Map<Integer, List<Boolean>> target, Map<Integer, List<Boolean>> newer) {
+            for (Map.Entry<Integer, List<Boolean>> entry : newer.entrySet()) {
+                List<Boolean> answers = target.get(entry.getKey());
+                if (answers == null) {
+                    target.put(entry.getKey(), entry.getValue());
+                } else {
+                    answers.addAll(entry.getValue());
+                }
+            }
+        }
+    }
+
+    private static class WordAnswers {
+        final String userId;
+        final String wordId;
+        final String bookId;
+        final List<Boolean> answers = new ArrayList<>(2);
+        final List<Long> times = new ArrayList<>(2);
+
+        WordAnswers(String userId, String wordId, String bookId) {
+            this.userId = userId;
+            this.wordId = wordId;
+            this.bookId = bookId;
+        }
+
+        void add(boolean isCorrect, long time) {
+            answers.add(isCorrect);
+            times.add(time);
+        }
+    }
+
+    private static class VocabularyAnswers {
+        final String word;
+        final String pronunciation;
+        final String meaning;
+        int correct;
+        int wrong;
+        long lastTime;
+
+        VocabularyAnswers(String word, String pronunciation, String meaning) {
+            this.word = word;
+            this.pronunciation = pronunciation;
+            this.meaning = meaning;
+        }
+    }
+}
@@ -12,6 +12,7 @@ import com.example.mybighomework.database.dao.StudyPlanDao;
 import com.example.mybighomework.database.entity.DailyTaskEntity;
 import com.example.mybighomework.database.entity.StudyPhaseEntity;
 import com.example.mybighomework.database.entity.StudyPlanEntity;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 import com.example.mybighomework.utils.TaskGenerator;
 import com.example.mybighomework.utils.PhaseDateManager;
 
@@ -21,7 +22,6 @@ import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * 任务自动生成服务
@@ -93,7 +93,7 @@ public class TaskGenerationService {
         this.studyPhaseDao = database.studyPhaseDao();
         this.dailyTaskDao = database.dailyTaskDao();
         this.taskGenerator = new TaskGenerator();
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.executorService = AppExecutorsYSJ.getInstance().diskIO();
         this.mainHandler = new Handler(Looper.getMainLooper());
         this.phaseDateManager = new PhaseDateManager(studyPhaseDao);
     }
@@ -108,7 +108,7 @@ public class TaskGenerationService {
         this.studyPhaseDao = studyPhaseDao;
         this.dailyTaskDao = dailyTaskDao;
         this.taskGenerator = new TaskGenerator();
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.executorService = AppExecutorsYSJ.getInstance().diskIO();
         this.mainHandler = new Handler(Looper.getMainLooper());
         this.phaseDateManager = new PhaseDateManager(studyPhaseDao);
     }
@@ -820,8 +820,6 @@ public class TaskGenerationService {
      * 关闭服务，释放资源
      */
     public void shutdown() {
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
-        }
+        // 使用应用级共享线程池，不在这里关闭
     }
 }
@@ -10,6 +10,9 @@ import java.util.Map;
  */
 public class TerminologyManager {
 
+    // 术语表版本，修改术语表时递增，使按旧术语缓存的翻译结果失效
+    public static final int TERMINOLOGY_VERSION = 1;
+
     // 英译中术语表
     private static final Map<String, String> EN_TO_ZH_TERMS;
     
@@ -70,6 +73,14 @@ public class TerminologyManager {
     public static final String LANGUAGE_ENGLISH = "en";
     public static final String LANGUAGE_CHINESE = "zh";
 
+    /**
+     * 获取术语表版本
+     * @return 术语表版本号
+     */
+    public int getVersion() {
+        return TERMINOLOGY_VERSION;
+    }
+
     /**
      * 获取英译中术语表
      * @return 英译中术语映射
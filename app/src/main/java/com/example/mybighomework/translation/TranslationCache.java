@@ -0,0 +1,334 @@
+package com.example.mybighomework.translation;
+
+import android.content.Context;
+import android.util.Log;
+import android.util.LruCache;
+
+import androidx.annotation.VisibleForTesting;
+import androidx.annotation.WorkerThread;
+
+import com.example.mybighomework.database.AppDatabase;
+import com.example.mybighomework.database.dao.TranslationCacheDao;
+import com.example.mybighomework.database.entity.TranslationCacheEntity;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 翻译结果缓存
+ *
+ * 两级缓存：内存 LRU 按字符数限制大小，命中时不访问磁盘；
+ * Room 表持久化翻译结果，按写入时间过期、按最近命中时间淘汰。
+ * 键是规范化原文（或图片内容）、语言方向和术语表版本的哈希，
+ * 术语表更新后旧的结果自然失效
+ */
+public class TranslationCache {
+
+    private static final String TAG = "TranslationCache";
+
+    private static final String PAYLOAD_DIR = "translation_cache";
+    private static final String PAYLOAD_SUFFIX = ".b64";
+
+    // 内存缓存上限（字符数，约 4MB）
+    private static final int MEMORY_MAX_CHARS = 2 * 1024 * 1024;
+    // 磁盘缓存上限和有效期
+    private static final long DISK_MAX_BYTES = 32L * 1024 * 1024;
+    private static final long TTL_MILLIS = TimeUnit.DAYS.toMillis(30);
+    // 每次淘汰读取的记录数
+    private static final int EVICT_BATCH = 32;
+
+    private static volatile TranslationCache INSTANCE;
+
+    /**
+     * 缓存的翻译结果
+     */
+    public static class Entry {
+        public final String originalText;
+        public final String translatedText;
+        public final String renderedImage;   // 图片翻译的渲染图（Base64），文本翻译为 null
+
+        public Entry(String originalText, String translatedText, String renderedImage) {
+            this.originalText = originalText;
+            this.translatedText = translatedText;
+            this.renderedImage = renderedImage;
+        }
+
+        int sizeInChars() {
+            return length(originalText) + length(translatedText) + length(renderedImage);
+        }
+
+        private static int length(String s) {
+            return s != null ? s.length() : 0;
+        }
+    }
+
+    private final TranslationCacheDao dao;
+    private final File payloadDir;
+    private final Executor diskExecutor;
+    private final long maxDiskBytes;
+    private final long ttlMillis;
+    private final LruCache<String, Entry> memory;
+
+    public static TranslationCache getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (TranslationCache.class) {
+                if (INSTANCE == null) {
+                    Context app = context.getApplicationContext();
+                    INSTANCE = new TranslationCache(
+                            AppDatabase.getInstance(app).translationCacheDao(),
+                            new File(app.getCacheDir(), PAYLOAD_DIR),
+                            AppExecutorsYSJ.getInstance().diskIO(),
+                            MEMORY_MAX_CHARS, DISK_MAX_BYTES, TTL_MILLIS);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    @VisibleForTesting
+    TranslationCache(TranslationCacheDao dao, File payloadDir, Executor diskExecutor,
+                     int memoryMaxChars, long maxDiskBytes, long ttlMillis) {
+        this.dao = dao;
+        this.payloadDir = payloadDir;
+        this.diskExecutor = diskExecutor;
+        this.maxDiskBytes = maxDiskBytes;
+        this.ttlMillis = ttlMillis;
+        this.memory = new LruCache<String, Entry>(memoryMaxChars) {
+            @Override
+            protected int sizeOf(String key, Entry value) {
+                return Math.max(1, value.sizeInChars());
+            }
+        };
+    }
+
+    /**
+     * 文本翻译的缓存键
+     * 原文去掉首尾空白、统一换行符并合并行内连续空白，排版差异不影响命中；
+     * 换行会影响译文分段，保留不合并
+     */
+    public static String textKey(String text, String sourceLang, String targetLang, int terminologyVersion) {
+        String normalized = text == null ? "" : text.trim()
+                .replace("\r\n", "\n")
+                .replaceAll("[ \\t\\x0B\\f\\u3000]+", " ")
+                .replaceAll(" ?\n ?", "\n");
+        return "t_" + sha256(sourceLang + "|" + targetLang + "|" + terminologyVersion + "|" + normalized);
+    }
+
+    /**
+     * 图片翻译的缓存键，以压缩后的图片内容为准
+     */
+    public static String imageKey(String imageBase64, String from, String to) {
+        return "i_" + sha256(from + "|" + to + "|" + imageBase64);
+    }
+
+    /**
+     * 只查内存，可在主线程调用
+     */
+    public Entry getFromMemory(String key) {
+        return memory.get(key);
+    }
+
+    /**
+     * 先查内存再查磁盘，磁盘命中后回填内存
+     * @return 缓存结果，未命中或已过期时返回 null
+     */
+    @WorkerThread
+    public Entry get(String key) {
+        Entry entry = memory.get(key);
+        if (entry != null) {
+            return entry;
+        }
+        try {
+            TranslationCacheEntity row = dao.get(key);
+            if (row == null) {
+                return null;
+            }
+            long now = System.currentTimeMillis();
+            if (now - row.getCreatedTime() > ttlMillis) {
+                delete(row);
+                return null;
+            }
+            String renderedImage = null;
+            if (row.getPayloadPath() != null) {
+                renderedImage = readPayload(new File(row.getPayloadPath()));
+                if (renderedImage == null) {
+                    // 渲染图文件被系统清理，整条记录作废
+                    delete(row);
+                    return null;
+                }
+            }
+            dao.touch(key, now);
+            entry = new Entry(row.getOriginalText(), row.getTranslatedText(), renderedImage);
+            memory.put(key, entry);
+            return entry;
+        } catch (Exception e) {
+            Log.w(TAG, "读取翻译缓存失败", e);
+            return null;
+        }
+    }
+
+    /**
+     * 写入缓存，内存立即生效，磁盘写入和淘汰在后台线程进行
+     */
+    public void put(String key, Entry entry) {
+        if (entry == null || entry.translatedText == null || entry.translatedText.isEmpty()) {
+            return;
+        }
+        memory.put(key, entry);
+        diskExecutor.execute(() -> {
+            try {
+                writeToDisk(key, entry);
+                evict();
+            } catch (Exception e) {
+                Log.w(TAG, "写入翻译缓存失败", e);
+            }
+        });
+    }
+
+    /**
+     * 清空两级缓存
+     */
+    public void clear() {
+        memory.evictAll();
+        diskExecutor.execute(() -> {
+            try {
+                dao.deleteAll();
+                File[] files = payloadDir.listFiles();
+                if (files != null) {
+                    for (File file : files) {
+                        file.delete();
+                    }
+                }
+            } catch (Exception e) {
+                Log.w(TAG, "清空翻译缓存失败", e);
+            }
+        });
+    }
+
+    private void writeToDisk(String key, Entry entry) throws IOException {
+        long now = System.currentTimeMillis();
+        TranslationCacheEntity row = new TranslationCacheEntity();
+        row.setCacheKey(key);
+        row.setOriginalText(entry.originalText);
+        row.setTranslatedText(entry.translatedText);
+        row.setCreatedTime(now);
+        row.setLastAccessTime(now);
+        long size = 2L * (Entry.length(entry.originalText) + Entry.length(entry.translatedText));
+        if (entry.renderedImage != null && !entry.renderedImage.isEmpty()) {
+            // 渲染图通常有几百 KB，放在文件里，避免撑大数据库游标窗口
+            File file = writePayload(key, entry.renderedImage);
+            row.setPayloadPath(file.getAbsolutePath());
+            size += file.length();
+        }
+        row.setSizeBytes(size);
+        dao.upsert(row);
+    }
+
+    /**
+     * 先删过期记录，再按最近命中时间淘汰到容量以内
+     */
+    private void evict() {
+        List<TranslationCacheEntity> expired = dao.getCreatedBefore(System.currentTimeMillis() - ttlMillis);
+        if (!expired.isEmpty()) {
+            deleteAll(expired);
+        }
+        long total = dao.getTotalSize();
+        while (total > maxDiskBytes) {
+            List<TranslationCacheEntity> oldest = dao.getLeastRecentlyUsed(EVICT_BATCH);
+            if (oldest.isEmpty()) {
+                break;
+            }
+            List<TranslationCacheEntity> victims = new ArrayList<>();
+            for (TranslationCacheEntity row : oldest) {
+                if (total <= maxDiskBytes) {
+                    break;
+                }
+                victims.add(row);
+                total -= row.getSizeBytes();
+            }
+            deleteAll(victims);
+        }
+    }
+
+    private void delete(TranslationCacheEntity row) {
+        List<TranslationCacheEntity> rows = new ArrayList<>(1);
+        rows.add(row);
+        deleteAll(rows);
+    }
+
+    private void deleteAll(List<TranslationCacheEntity> rows) {
+        List<String> keys = new ArrayList<>(rows.size());
+        for (TranslationCacheEntity row : rows) {
+            keys.add(row.getCacheKey());
+            memory.remove(row.getCacheKey());
+            if (row.getPayloadPath() != null) {
+                new File(row.getPayloadPath()).delete();
+            }
+        }
+        dao.deleteByKeys(keys);
+    }
+
+    /**
+     * 先写临时文件再重命名，避免读到写了一半的文件
+     */
+    private File writePayload(String key, String payload) throws IOException {
+        if (!payloadDir.exists() && !payloadDir.mkdirs()) {
+            throw new IOException("创建缓存目录失败: " + payloadDir);
+        }
+        File target = new File(payloadDir, key + PAYLOAD_SUFFIX);
+        File temp = new File(payloadDir, key + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            out.write(payload.getBytes(StandardCharsets.US_ASCII));
+        }
+        if (!temp.renameTo(target)) {
+            temp.delete();
+            throw new IOException("写入翻译缓存失败: " + target);
+        }
+        return target;
+    }
+
+    private static String readPayload(File file) {
+        if (!file.exists()) {
+            return null;
+        }
+        try (FileInputStream in = new FileInputStream(file)) {
+            byte[] data = new byte[(int) file.length()];
+            int offset = 0;
+            while (offset < data.length) {
+                int read = in.read(data, offset, data.length - offset);
+                if (read < 0) {
+                    return null;
+                }
+                offset += read;
+            }
+            return new String(data, StandardCharsets.US_ASCII);
+        } catch (IOException e) {
+            Log.w(TAG, "读取渲染图缓存失败: " + file, e);
+            return null;
+        }
+    }
+
+    private static String sha256(String raw) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(raw.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(raw.hashCode()) + "_" + raw.length();
+        }
+    }
+}
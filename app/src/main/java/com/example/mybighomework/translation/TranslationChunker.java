@@ -0,0 +1,204 @@
+package com.example.mybighomework.translation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 长文本分块器
+ * 按段落和句子边界把文本切成不超过 token 预算的块，块内保留原文排版，
+ * 翻译后按原顺序拼回。同一段落内的分块只取决于该段落的文字，
+ * 修改某一段后其余段落的块不变，可以直接命中缓存
+ */
+public final class TranslationChunker {
+
+    // 默认每块的 token 预算
+    public static final int DEFAULT_MAX_TOKENS = 400;
+
+    private static final String PARAGRAPH_SEPARATOR = "\n\n";
+
+    private TranslationChunker() {
+    }
+
+    /**
+     * 文本块
+     */
+    public static class Chunk {
+        public final String text;
+        public final boolean endsParagraph;   // 块后是段落分隔
+
+        Chunk(String text, boolean endsParagraph) {
+            this.text = text;
+            this.endsParagraph = endsParagraph;
+        }
+    }
+
+    /**
+     * 分块
+     * @param text 原文
+     * @param maxTokens 每块的 token 预算，单句超出预算时在逗号或空格处再切开
+     * @return 按原文顺序排列的块，空文本返回空列表
+     */
+    public static List<Chunk> split(String text, int maxTokens) {
+        List<Chunk> chunks = new ArrayList<>();
+        if (text == null) {
+            return chunks;
+        }
+        String[] paragraphs = text.replace("\r\n", "\n").split("\n\\s*\n");
+        for (String paragraph : paragraphs) {
+            int before = chunks.size();
+            StringBuilder window = new StringBuilder();
+            int windowTokens = 0;
+            for (String sentence : splitSentences(paragraph)) {
+                for (String piece : splitOversized(sentence, maxTokens)) {
+                    int tokens = estimateTokens(piece);
+                    if (window.length() > 0 && windowTokens + tokens > maxTokens) {
+                        chunks.add(new Chunk(window.toString().trim(), false));
+                        window.setLength(0);
+                        windowTokens = 0;
+                    }
+                    window.append(piece);
+                    windowTokens += tokens;
+                }
+            }
+            if (window.toString().trim().length() > 0) {
+                chunks.add(new Chunk(window.toString().trim(), false));
+            }
+            if (chunks.size() > before) {
+                Chunk last = chunks.get(chunks.size() - 1);
+                chunks.set(chunks.size() - 1, new Chunk(last.text, true));
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * 按原顺序拼接译文
+     * 段落之间空一行，段内的块中文直接相连，其余语言以空格分隔
+     * @param translations 前若干块的译文，可以少于块数
+     */
+    public static String join(List<Chunk> chunks, List<String> translations, String targetLang) {
+        String sentenceSeparator = TerminologyManager.LANGUAGE_CHINESE.equals(targetLang) ? "" : " ";
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < translations.size(); i++) {
+            String translated = translations.get(i);
+            if (translated == null) {
+                continue;
+            }
+            if (i > 0) {
+                sb.append(chunks.get(i - 1).endsParagraph ? PARAGRAPH_SEPARATOR : sentenceSeparator);
+            }
+            sb.append(translated.trim());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 估算 token 数：中日韩字符约 1 个 token，其余字符约 4 个一个 token
+     */
+    static int estimateTokens(CharSequence text) {
+        int cjk = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isCjk(c)) {
+                cjk++;
+            } else {
+                other++;
+            }
+        }
+        return cjk + (other + 3) / 4;
+    }
+
+    /**
+     * 在句末标点后切分，英文标点要求后面是空白，避免切开小数和缩写中的点。
+     * 每句保留原有的尾随空白，拼回即为原文
+     */
+    static List<String> splitSentences(String paragraph) {
+        List<String> sentences = new ArrayList<>();
+        int start = 0;
+        int length = paragraph.length();
+        int i = 0;
+        while (i < length) {
+            char c = paragraph.charAt(i);
+            boolean end = isCjkTerminator(c)
+                    || (isLatinTerminator(c) && (i + 1 == length || Character.isWhitespace(paragraph.charAt(i + 1))));
+            i++;
+            if (end) {
+                // 句末的引号、括号归入本句
+                while (i < length && isClosing(paragraph.charAt(i))) {
+                    i++;
+                }
+                while (i < length && Character.isWhitespace(paragraph.charAt(i))) {
+                    i++;
+                }
+                sentences.add(paragraph.substring(start, i));
+                start = i;
+            }
+        }
+        if (start < length) {
+            sentences.add(paragraph.substring(start));
+        }
+        return sentences;
+    }
+
+    /**
+     * 超出预算的单句在逗号或空格处切开，找不到时按长度硬切
+     */
+    private static List<String> splitOversized(String sentence, int maxTokens) {
+        List<String> pieces = new ArrayList<>();
+        String rest = sentence;
+        while (estimateTokens(rest) > maxTokens) {
+            int limit = charsWithinBudget(rest, maxTokens);
+            int cut = -1;
+            for (int i = limit; i > limit / 2; i--) {
+                char c = rest.charAt(i - 1);
+                if (c == ',' || c == '，' || c == '、' || c == ';' || Character.isWhitespace(c)) {
+                    cut = i;
+                    break;
+                }
+            }
+            if (cut < 0) {
+                cut = limit;
+            }
+            pieces.add(rest.substring(0, cut));
+            rest = rest.substring(cut);
+        }
+        if (!rest.isEmpty()) {
+            pieces.add(rest);
+        }
+        return pieces;
+    }
+
+    private static int charsWithinBudget(String text, int maxTokens) {
+        int cjk = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (isCjk(text.charAt(i))) {
+                cjk++;
+            } else {
+                other++;
+            }
+            if (cjk + (other + 3) / 4 > maxTokens) {
+                return Math.max(1, i);
+            }
+        }
+        return text.length();
+    }
+
+    private static boolean isCjk(char c) {
+        return (c >= '\u4e00' && c <= '\u9fff') || (c >= '\u3000' && c <= '\u303f')
+                || (c >= '\uff00' && c <= '\uffef');
+    }
+
+    private static boolean isCjkTerminator(char c) {
+        return c == '。' || c == '！' || c == '？' || c == '；';
+    }
+
+    private static boolean isLatinTerminator(char c) {
+        return c == '.' || c == '!' || c == '?' || c == ';';
+    }
+
+    private static boolean isClosing(char c) {
+        return c == '"' || c == '\'' || c == ')' || c == '”' || c == '’' || c == '」' || c == '）';
+    }
+}
@@ -1,10 +1,13 @@
 package com.example.mybighomework.translation;
 
 import android.content.Context;
+import android.util.Log;
 
 import com.example.mybighomework.api.ZhipuAIService;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -15,9 +18,15 @@ public class ZhipuTranslationService {
 
     private static final String TAG = "ZhipuTranslationService";
 
+    // 分块翻译时同时进行的请求数
+    private static final int MAX_PARALLEL_CHUNKS = 3;
+    // 分块翻译失败后的重试次数
+    private static final int CHUNK_MAX_RETRIES = 1;
+
     private final ZhipuAIService aiService;
     private final TerminologyManager terminologyManager;
     private final TranslationPromptBuilder promptBuilder;
+    private final TranslationCache cache;   // 可为 null，表示不缓存
 
     /**
      * 翻译回调接口
@@ -36,14 +45,48 @@ public class ZhipuTranslationService {
         void onError(String error);
     }
 
+    /**
+     * 分块翻译回调接口
+     * 回调在后台线程执行，更新界面需切回主线程
+     */
+    public interface ChunkedTranslationCallback {
+        /**
+         * 有新的块翻译完成
+         * @param partialText 从开头起连续完成的译文，按原文顺序拼接
+         * @param completed 已完成的块数
+         * @param total 总块数
+         */
+        void onProgress(String partialText, int completed, int total);
+
+        /**
+         * 全部块处理完毕
+         * @param translatedText 完整译文，翻译失败的块保留原文
+         * @param failedChunks 翻译失败的块数，为 0 表示全部成功
+         */
+        void onComplete(String translatedText, int failedChunks);
+
+        /**
+         * 无法翻译：参数错误、服务未初始化或所有块都失败
+         * @param error 错误信息
+         */
+        void onError(String error);
+    }
+
     /**
      * 构造函数
      * @param aiService 智谱AI服务实例
      */
     public ZhipuTranslationService(ZhipuAIService aiService) {
-        this.aiService = aiService;
-        this.terminologyManager = new TerminologyManager();
-        this.promptBuilder = new TranslationPromptBuilder();
+        this(aiService, (TranslationCache) null);
+    }
+
+    /**
+     * 构造函数（带结果缓存）
+     * @param aiService 智谱AI服务实例
+     * @param cache 翻译结果缓存，为 null 时每次都请求AI
+     */
+    public ZhipuTranslationService(ZhipuAIService aiService, TranslationCache cache) {
+        this(aiService, new TerminologyManager(), new TranslationPromptBuilder(), cache);
     }
 
     /**
@@ -55,9 +98,20 @@ public class ZhipuTranslationService {
     public ZhipuTranslationService(ZhipuAIService aiService, 
                                    TerminologyManager terminologyManager,
                                    TranslationPromptBuilder promptBuilder) {
+        this(aiService, terminologyManager, promptBuilder, null);
+    }
+
+    /**
+     * 构造函数（完整依赖注入，带结果缓存）
+     */
+    public ZhipuTranslationService(ZhipuAIService aiService,
+                                   TerminologyManager terminologyManager,
+                                   TranslationPromptBuilder promptBuilder,
+                                   TranslationCache cache) {
         this.aiService = aiService;
         this.terminologyManager = terminologyManager;
         this.promptBuilder = promptBuilder;
+        this.cache = cache;
     }
 
     /**
@@ -84,6 +138,236 @@ public class ZhipuTranslationService {
             return;
         }
 
+        if (cache == null) {
+            requestTranslation(text, sourceLang, targetLang, null, callback);
+            return;
+        }
+
+        // 先查内存缓存，未命中再到磁盘线程查持久化缓存
+        String cacheKey = TranslationCache.textKey(text, sourceLang, targetLang,
+                terminologyManager.getVersion());
+        TranslationCache.Entry cached = cache.getFromMemory(cacheKey);
+        if (cached != null) {
+            if (callback != null) {
+                callback.onSuccess(cached.translatedText);
+            }
+            return;
+        }
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
+            TranslationCache.Entry stored = cache.get(cacheKey);
+            if (stored != null) {
+                if (callback != null) {
+                    callback.onSuccess(stored.translatedText);
+                }
+            } else {
+                requestTranslation(text, sourceLang, targetLang, cacheKey, callback);
+            }
+        });
+    }
+
+    /**
+     * 分块翻译长文本
+     * 按段落和句子切成不超过 token 预算的块，有限并发地翻译，每完成一块就回调
+     * 从开头起连续完成的部分；单块失败只影响该块，不会丢失整篇结果。
+     * 每块单独缓存，修改原文后重新翻译时未改动的块直接命中缓存
+     * @param text 待翻译文本
+     * @param sourceLang 源语言代码 (en/zh)
+     * @param targetLang 目标语言代码 (en/zh)
+     * @param callback 分块翻译回调
+     */
+    public void translateChunked(String text, String sourceLang, String targetLang,
+                                 ChunkedTranslationCallback callback) {
+        if (text == null || text.trim().isEmpty()) {
+            callback.onError("请输入要翻译的内容");
+            return;
+        }
+        if (aiService == null) {
+            callback.onError("翻译服务未初始化");
+            return;
+        }
+
+        List<TranslationChunker.Chunk> chunks =
+                TranslationChunker.split(text.trim(), TranslationChunker.DEFAULT_MAX_TOKENS);
+        ChunkedJob job = new ChunkedJob(chunks, sourceLang, targetLang, callback);
+        if (cache == null) {
+            job.start();
+            return;
+        }
+        // 缓存查询涉及数据库，放到磁盘线程
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
+            for (int i = 0; i < chunks.size(); i++) {
+                TranslationCache.Entry cached = cache.get(job.cacheKeys[i]);
+                if (cached != null) {
+                    job.results[i] = cached.translatedText;
+                }
+            }
+            job.start();
+        });
+    }
+
+    /**
+     * 一次分块翻译的状态
+     * 同时最多 MAX_PARALLEL_CHUNKS 个请求，一个请求结束后再发出下一个
+     */
+    private class ChunkedJob {
+        final List<TranslationChunker.Chunk> chunks;
+        final String sourceLang;
+        final String targetLang;
+        final ChunkedTranslationCallback callback;
+        final String[] cacheKeys;
+        final String[] results;
+        final int[] attempts;
+        int nextIndex;
+        int completed;
+        int failedCount;
+        String lastError;
+        int contiguous;   // 从开头起连续完成的块数
+
+        ChunkedJob(List<TranslationChunker.Chunk> chunks, String sourceLang, String targetLang,
+                   ChunkedTranslationCallback callback) {
+            this.chunks = chunks;
+            this.sourceLang = sourceLang;
+            this.targetLang = targetLang;
+            this.callback = callback;
+            this.cacheKeys = new String[chunks.size()];
+            this.results = new String[chunks.size()];
+            this.attempts = new int[chunks.size()];
+            for (int i = 0; i < chunks.size(); i++) {
+                cacheKeys[i] = TranslationCache.textKey(chunks.get(i).text, sourceLang, targetLang,
+                        terminologyManager.getVersion());
+            }
+        }
+
+        void start() {
+            List<Integer> toSend = new ArrayList<>();
+            synchronized (this) {
+                for (String result : results) {
+                    if (result != null) {
+                        completed++;
+                    }
+                }
+                if (completed > 0) {
+                    publishProgress();
+                }
+                if (completed == chunks.size()) {
+                    finish();
+                    return;
+                }
+                while (toSend.size() < MAX_PARALLEL_CHUNKS) {
+                    int index = nextPending();
+                    if (index < 0) {
+                        break;
+                    }
+                    toSend.add(index);
+                }
+            }
+            for (int index : toSend) {
+                send(index);
+            }
+        }
+
+        private int nextPending() {
+            while (nextIndex < results.length && results[nextIndex] != null) {
+                nextIndex++;
+            }
+            return nextIndex < results.length ? nextIndex++ : -1;
+        }
+
+        private void send(int index) {
+            String chunkText = chunks.get(index).text;
+            String terminologyText = terminologyManager.formatTermsForPrompt(sourceLang, targetLang);
+            String prompt = promptBuilder.buildPrompt(chunkText, sourceLang, targetLang, terminologyText);
+            List<ZhipuAIService.ChatMessage> messages = new ArrayList<>();
+            messages.add(new ZhipuAIService.ChatMessage("user", prompt));
+            attempts[index]++;
+
+            aiService.chat(messages, new ZhipuAIService.ChatCallback() {
+                @Override
+                public void onSuccess(String response) {
+                    String translatedText = promptBuilder.parseTranslationResponse(response);
+                    if (translatedText == null || translatedText.isEmpty()) {
+                        onChunkFailed(index, "翻译结果为空");
+                        return;
+                    }
+                    if (cache != null) {
+                        cache.put(cacheKeys[index], new TranslationCache.Entry(chunkText, translatedText, null));
+                    }
+                    onChunkDone(index, translatedText, false);
+                }
+
+                @Override
+                public void onError(String error) {
+                    onChunkFailed(index, error);
+                }
+            });
+        }
+
+        private void onChunkFailed(int index, String error) {
+            Log.w(TAG, "第" + (index + 1) + "块翻译失败: " + error);
+            boolean retry;
+            synchronized (this) {
+                lastError = error;
+                retry = attempts[index] <= CHUNK_MAX_RETRIES;
+            }
+            if (retry) {
+                send(index);
+            } else {
+                // 失败的块保留原文，其余块照常完成
+                onChunkDone(index, chunks.get(index).text, true);
+            }
+        }
+
+        private void onChunkDone(int index, String translatedText, boolean chunkFailed) {
+            int next;
+            synchronized (this) {
+                results[index] = translatedText;
+                completed++;
+                if (chunkFailed) {
+                    failedCount++;
+                }
+                publishProgress();
+                if (completed == chunks.size()) {
+                    finish();
+                    return;
+                }
+                next = nextPending();
+            }
+            if (next >= 0) {
+                send(next);
+            }
+        }
+
+        /**
+         * 只在连续完成的前缀变长时回调，界面上的译文只增不跳
+         */
+        private void publishProgress() {
+            int before = contiguous;
+            while (contiguous < results.length && results[contiguous] != null) {
+                contiguous++;
+            }
+            if (contiguous > before || completed == chunks.size()) {
+                List<String> prefix = Arrays.asList(results).subList(0, contiguous);
+                callback.onProgress(TranslationChunker.join(chunks, prefix, targetLang),
+                        completed, chunks.size());
+            }
+        }
+
+        private void finish() {
+            if (failedCount == chunks.size()) {
+                callback.onError(convertToUserFriendlyError(lastError));
+                return;
+            }
+            callback.onComplete(TranslationChunker.join(chunks, Arrays.asList(results), targetLang),
+                    failedCount);
+        }
+    }
+
+    /**
+     * 请求AI翻译，成功后写入缓存
+     * @param cacheKey 缓存键，为 null 时不写缓存
+     */
+    private void requestTranslation(String text, String sourceLang, String targetLang,
+                                    String cacheKey, TranslationCallback callback) {
         // 获取术语表文本
         String terminologyText = terminologyManager.formatTermsForPrompt(sourceLang, targetLang);
 
@@ -101,6 +385,10 @@ public class ZhipuTranslationService {
                 // 解析响应，提取翻译结果
                 String translatedText = promptBuilder.parseTranslationResponse(response);
                 
+                if (cacheKey != null && translatedText != null && !translatedText.isEmpty()) {
+                    cache.put(cacheKey, new TranslationCache.Entry(text.trim(), translatedText, null));
+                }
+
                 if (callback != null) {
                     if (translatedText != null && !translatedText.isEmpty()) {
                         callback.onSuccess(translatedText);
@@ -2,79 +2,102 @@ package com.example.mybighomework.utils;
 
 import android.os.Handler;
 import android.os.Looper;
+import android.util.Log;
 
 import androidx.annotation.NonNull;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 /**
  * 应用级线程池管理类
- * 统一管理所有后台任务的执行，避免创建过多线程
- * 
+ * 统一管理所有后台任务的执行，避免创建过多线程。应用内不再单独创建线程或线程池
+ *
+ * 线程池（线程数固定上限，空闲线程超时回收）：
+ * - diskIO：数据库和文件读写，单线程保证顺序
+ * - networkIO：网络请求
+ * - computation：计算密集型任务
+ * - media：图片、音频处理
+ * 每个池都有优先级队列，IMMEDIATE 用于用户正在等待的任务，BACKGROUND 用于预加载、同步等
+ *
  * 使用方式：
  * AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
  *     // 数据库操作
  * });
- * 
+ *
+ * AppExecutorsYSJ.getInstance().diskIO(Priority.BACKGROUND).execute(() -> {
+ *     // 不紧急的数据库操作
+ * });
+ *
  * AppExecutorsYSJ.getInstance().mainThread().execute(() -> {
  *     // UI更新
  * });
+ *
+ * 界面相关的任务使用 TaskScopeYSJ，界面销毁时自动取消
  */
 public class AppExecutorsYSJ {
+
+    private static final String TAG = "AppExecutorsYSJ";
+    
+    /**
+     * 任务优先级，同一线程池中高优先级的任务先出队
+     */
+    public enum Priority {
+        IMMEDIATE,   // 用户正在等待结果（页面首屏数据、点击后的查询）
+        NORMAL,      // 默认
+        BACKGROUND   // 预加载、同步、统计等
+    }
     
     private static volatile AppExecutorsYSJ INSTANCE;
     
     // 磁盘IO线程池（单线程，保证数据库操作顺序）
-    private final ExecutorService diskIO;
+    private final MonitoredThreadPoolYSJ diskIO;
     
     // 网络IO线程池（多线程，支持并发请求）
-    private final ExecutorService networkIO;
+    private final MonitoredThreadPoolYSJ networkIO;
     
     // 主线程执行器
     private final Executor mainThread;
     
     // 定时任务线程池
-    private final ScheduledExecutorService scheduler;
+    private final ScheduledThreadPoolExecutor scheduler;
     
     // 计算密集型任务线程池
-    private final ExecutorService computation;
+    private final MonitoredThreadPoolYSJ computation;
+    
+    // 图片、音频处理线程池
+    private final MonitoredThreadPoolYSJ media;
     
     private AppExecutorsYSJ() {
         // 单线程用于数据库操作，保证顺序执行
-        this.diskIO = Executors.newSingleThreadExecutor(r -> {
-            Thread t = new Thread(r, "DiskIO-Thread");
-            t.setPriority(Thread.NORM_PRIORITY - 1);
-            return t;
-        });
+        this.diskIO = new MonitoredThreadPoolYSJ("DiskIO", 1, Thread.NORM_PRIORITY - 1);
         
-        // 固定大小线程池用于网络请求
-        this.networkIO = Executors.newFixedThreadPool(3, r -> {
-            Thread t = new Thread(r, "NetworkIO-Thread");
-            t.setPriority(Thread.NORM_PRIORITY);
-            return t;
-        });
+        // 网络请求主要在等待，线程数可多于CPU核心数；一套试卷的主观题批改可基本并行
+        this.networkIO = new MonitoredThreadPoolYSJ("NetworkIO", 6, Thread.NORM_PRIORITY);
         
         // 主线程执行器
         this.mainThread = new MainThreadExecutor();
         
-        // 定时任务调度器
-        this.scheduler = Executors.newScheduledThreadPool(2, r -> {
-            Thread t = new Thread(r, "Scheduler-Thread");
+        // 定时任务调度器，只负责定时，耗时工作应转交其他线程池
+        this.scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "Scheduler");
             t.setDaemon(true);
             return t;
         });
+        this.scheduler.setRemoveOnCancelPolicy(true);
         
-        // CPU核心数决定计算线程池大小
+        // 计算线程数留出一个核心给主线程，低端设备上最少1个、最多4个
         int cpuCount = Runtime.getRuntime().availableProcessors();
-        this.computation = Executors.newFixedThreadPool(cpuCount, r -> {
-            Thread t = new Thread(r, "Computation-Thread");
-            t.setPriority(Thread.NORM_PRIORITY + 1);
-            return t;
-        });
+        this.computation = new MonitoredThreadPoolYSJ("Computation",
+                Math.max(1, Math.min(cpuCount - 1, 4)), Thread.NORM_PRIORITY);
+        
+        // 图片解码、压缩和音频处理占用内存大，限制并发
+        this.media = new MonitoredThreadPoolYSJ("Media", 2, Thread.NORM_PRIORITY);
     }
     
     public static AppExecutorsYSJ getInstance() {
@@ -95,6 +118,13 @@ public class AppExecutorsYSJ {
         return diskIO;
     }
     
+    /**
+     * 指定优先级的磁盘IO操作
+     */
+    public Executor diskIO(@NonNull Priority priority) {
+        return diskIO.lane(priority);
+    }
+    
     /**
      * 网络IO操作
      */
@@ -102,6 +132,13 @@ public class AppExecutorsYSJ {
         return networkIO;
     }
     
+    /**
+     * 指定优先级的网络IO操作
+     */
+    public Executor networkIO(@NonNull Priority priority) {
+        return networkIO.lane(priority);
+    }
+    
     /**
      * 主线程操作（UI更新）
      */
@@ -123,6 +160,29 @@ public class AppExecutorsYSJ {
         return computation;
     }
     
+    /**
+     * 图片、音频处理
+     */
+    public ExecutorService media() {
+        return media;
+    }
+    
+    MonitoredThreadPoolYSJ diskIOPool() {
+        return diskIO;
+    }
+    
+    MonitoredThreadPoolYSJ networkIOPool() {
+        return networkIO;
+    }
+    
+    MonitoredThreadPoolYSJ computationPool() {
+        return computation;
+    }
+    
+    MonitoredThreadPoolYSJ mediaPool() {
+        return media;
+    }
+    
     /**
      * 延迟执行任务
      */
@@ -147,6 +207,27 @@ public class AppExecutorsYSJ {
         });
     }
     
+    /**
+     * 各线程池的统计快照（队列深度、排队时间、执行时间）
+     */
+    public List<MonitoredThreadPoolYSJ.Stats> getStats() {
+        List<MonitoredThreadPoolYSJ.Stats> stats = new ArrayList<>(4);
+        stats.add(diskIO.snapshot());
+        stats.add(networkIO.snapshot());
+        stats.add(computation.snapshot());
+        stats.add(media.snapshot());
+        return stats;
+    }
+    
+    /**
+     * 输出线程池统计到日志
+     */
+    public void logStats() {
+        for (MonitoredThreadPoolYSJ.Stats stats : getStats()) {
+            Log.d(TAG, stats.toString());
+        }
+    }
+    
     /**
      * 关闭所有线程池（在Application销毁时调用）
      */
@@ -155,6 +236,7 @@ public class AppExecutorsYSJ {
         networkIO.shutdown();
         scheduler.shutdown();
         computation.shutdown();
+        media.shutdown();
     }
     
     /**
@@ -5,6 +5,8 @@ import android.media.MediaPlayer;
 import android.util.Log;
 
 import java.io.IOException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 音频播放管理器
@@ -18,6 +20,7 @@ public class AudioPlayerManager {
     private String currentUrl;
     private PlaybackStateListener stateListener;
     private boolean isPreparing = false;
+    private ScheduledFuture<?> progressTask;
     
     /**
      * 播放状态监听器
@@ -153,6 +156,7 @@ public class AudioPlayerManager {
      * 停止播放
      */
     public void stop() {
+        stopProgressUpdate();
         if (mediaPlayer != null) {
             try {
                 if (mediaPlayer.isPlaying()) {
@@ -232,19 +236,30 @@ public class AudioPlayerManager {
     /**
      * 开始进度更新
      */
-    private void startProgressUpdate() {
-        new Thread(() -> {
-            while (mediaPlayer != null && mediaPlayer.isPlaying()) {
-                try {
-                    int currentPosition = getCurrentPosition();
-                    int duration = getDuration();
-                    notifyProgress(currentPosition, duration);
-                    Thread.sleep(500); // 每500ms更新一次
-                } catch (Exception e) {
-                    break;
+    private synchronized void startProgressUpdate() {
+        stopProgressUpdate();
+        // 由共享调度器每500ms更新一次，不再占用一个休眠线程
+        progressTask = AppExecutorsYSJ.getInstance().scheduler().scheduleAtFixedRate(() -> {
+            try {
+                if (mediaPlayer != null && mediaPlayer.isPlaying()) {
+                    notifyProgress(getCurrentPosition(), getDuration());
+                } else {
+                    stopProgressUpdate();
                 }
+            } catch (Exception e) {
+                stopProgressUpdate();
             }
-        }).start();
+        }, 0, 500, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * 停止进度更新
+     */
+    private synchronized void stopProgressUpdate() {
+        if (progressTask != null) {
+            progressTask.cancel(false);
+            progressTask = null;
+        }
     }
     
     // 通知方法
@@ -0,0 +1,390 @@
+package com.example.mybighomework.utils;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * CSV 流水线导入引擎
+ *
+ * 三个阶段：
+ * 1. 读取线程：按行读取，每 batchSize 行打包成一个块
+ * 2. 解析线程（多个）：复用 {@link CsvParser.FieldBuffer} 把块解析为实体批次
+ * 3. 写入阶段（调用线程，串行）：按块序号顺序把每个批次放进一个事务写入，然后保存检查点
+ *
+ * 阶段之间使用有界队列，写入跟不上时读取和解析会被阻塞（背压）。
+ * 检查点记录已提交的最后一行，导入中断后从该行之后继续；
+ * 检查点与数据库提交不是原子的，因此写入器必须是幂等的（REPLACE / IGNORE / UPDATE）。
+ */
+public class CsvIngestionPipeline<T> {
+    private static final String TAG = "CsvIngestionPipeline";
+
+    // 检查点取该值表示文件已全部导入
+    public static final int CHECKPOINT_DONE = Integer.MAX_VALUE;
+
+    /**
+     * 打开输入流（每次运行重新打开）
+     */
+    public interface SourceOpener {
+        InputStream open() throws IOException;
+    }
+
+    /**
+     * 行映射器，在解析线程中调用，返回 null 表示跳过该行
+     */
+    public interface RowMapper<T> {
+        @Nullable
+        T map(CsvParser.FieldBuffer fields, int lineNumber);
+    }
+
+    /**
+     * 批次写入器，在写入阶段串行调用，调用方负责把它包在一个事务里
+     */
+    public interface BatchWriter<T> {
+        void write(List<T> batch);
+    }
+
+    /**
+     * 事务执行器，通常为 RoomDatabase::runInTransaction
+     */
+    public interface TransactionRunner {
+        void runInTransaction(Runnable body);
+    }
+
+    /**
+     * 检查点存储
+     */
+    public interface CheckpointStore {
+        /** @return 已提交的最后一行行号，没有检查点时返回 0 */
+        int load(String key);
+        void save(String key, int lineNumber);
+    }
+
+    /**
+     * 进度回调（在写入阶段调用）
+     */
+    public interface ProgressListener {
+        void onBatchCommitted(int committedLine, int totalWritten);
+    }
+
+    private final SourceOpener source;
+    private final String delimiter;
+    private final RowMapper<T> mapper;
+    private final BatchWriter<T> writer;
+    private final TransactionRunner transactionRunner;
+    private final CheckpointStore checkpointStore;
+    private final String checkpointKey;
+    private final ProgressListener progressListener;
+    private final int batchSize;
+    private final int parserCount;
+    private final int queueCapacity;
+
+    private CsvIngestionPipeline(Builder<T> builder) {
+        this.source = builder.source;
+        this.delimiter = builder.delimiter;
+        this.mapper = builder.mapper;
+        this.writer = builder.writer;
+        this.transactionRunner = builder.transactionRunner;
+        this.checkpointStore = builder.checkpointStore;
+        this.checkpointKey = builder.checkpointKey;
+        this.progressListener = builder.progressListener;
+        this.batchSize = builder.batchSize;
+        this.parserCount = builder.parserCount;
+        this.queueCapacity = builder.queueCapacity;
+    }
+
+    /**
+     * 行块（读取阶段 -> 解析阶段）
+     */
+    private static final class LineChunk {
+        static final LineChunk END = new LineChunk(-1, new String[0], new int[0], 0);
+
+        final long sequence;
+        final String[] lines;
+        final int[] lineNumbers;
+        final int count;
+
+        LineChunk(long sequence, String[] lines, int[] lineNumbers, int count) {
+            this.sequence = sequence;
+            this.lines = lines;
+            this.lineNumbers = lineNumbers;
+            this.count = count;
+        }
+    }
+
+    /**
+     * 解析后的批次（解析阶段 -> 写入阶段）
+     */
+    private static final class ParsedBatch<T> {
+        final long sequence;
+        final int lastLine;
+        final List<T> items;
+
+        ParsedBatch(long sequence, int lastLine, List<T> items) {
+            this.sequence = sequence;
+            this.lastLine = lastLine;
+            this.items = items;
+        }
+    }
+
+    /**
+     * 执行导入，阻塞直到完成
+     * @return 本次写入的记录数（不含检查点之前已导入的部分）
+     */
+    public int run() throws Exception {
+        int checkpoint = checkpointStore.load(checkpointKey);
+        if (checkpoint == CHECKPOINT_DONE) {
+            Log.d(TAG, checkpointKey + " 已导入，跳过");
+            return 0;
+        }
+        if (checkpoint > 0) {
+            Log.d(TAG, checkpointKey + " 从第 " + checkpoint + " 行之后继续导入");
+        }
+
+        BlockingQueue<LineChunk> lineQueue = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<ParsedBatch<T>> parsedQueue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicInteger threadIndex = new AtomicInteger();
+
+        // 读取和解析阶段通过有界队列互相等待，必须同时运行，不能放进共享线程池排队，
+        // 否则线程不足时会互相阻塞；这里使用本次导入专用的线程，导入结束即释放
+        ExecutorService stages = Executors.newFixedThreadPool(parserCount + 1, r -> {
+            Thread t = new Thread(r, "CsvIngest-" + checkpointKey + "-" + threadIndex.getAndIncrement());
+            t.setPriority(Thread.NORM_PRIORITY - 1);
+            return t;
+        });
+
+        try {
+            stages.execute(() -> readStage(checkpoint, lineQueue, failure));
+            for (int i = 0; i < parserCount; i++) {
+                stages.execute(() -> parseStage(lineQueue, parsedQueue, failure));
+            }
+            int written = writeStage(parsedQueue, failure);
+            checkpointStore.save(checkpointKey, CHECKPOINT_DONE);
+            return written;
+        } finally {
+            stages.shutdownNow();
+            stages.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private void readStage(int checkpoint, BlockingQueue<LineChunk> lineQueue,
+                           AtomicReference<Throwable> failure) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(source.open(), StandardCharsets.UTF_8), 64 * 1024)) {
+            long sequence = 0;
+            String[] lines = new String[batchSize];
+            int[] lineNumbers = new int[batchSize];
+            int count = 0;
+            int lineNumber = 0;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber <= checkpoint || line.isEmpty()) {
+                    continue;
+                }
+                lines[count] = line;
+                lineNumbers[count] = lineNumber;
+                count++;
+                if (count == batchSize) {
+                    lineQueue.put(new LineChunk(sequence++, lines, lineNumbers, count));
+                    lines = new String[batchSize];
+                    lineNumbers = new int[batchSize];
+                    count = 0;
+                }
+            }
+            if (count > 0) {
+                lineQueue.put(new LineChunk(sequence, lines, lineNumbers, count));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable t) {
+            failure.compareAndSet(null, t);
+        } finally {
+            for (int i = 0; i < parserCount; i++) {
+                putQuietly(lineQueue, LineChunk.END);
+            }
+        }
+    }
+
+    private void parseStage(BlockingQueue<LineChunk> lineQueue, BlockingQueue<ParsedBatch<T>> parsedQueue,
+                            AtomicReference<Throwable> failure) {
+        CsvParser.FieldBuffer buffer = new CsvParser.FieldBuffer();
+        try {
+            while (true) {
+                LineChunk chunk = lineQueue.take();
+                if (chunk == LineChunk.END) {
+                    break;
+                }
+                List<T> items = new ArrayList<>(chunk.count);
+                for (int i = 0; i < chunk.count; i++) {
+                    try {
+                        CsvParser.splitLine(chunk.lines[i], delimiter, buffer);
+                        T item = mapper.map(buffer, chunk.lineNumbers[i]);
+                        if (item != null) {
+                            items.add(item);
+                        }
+                    } catch (Exception e) {
+                        Log.w(TAG, "解析第 " + chunk.lineNumbers[i] + " 行失败: " + e.getMessage());
+                    }
+                }
+                parsedQueue.put(new ParsedBatch<>(chunk.sequence, chunk.lineNumbers[chunk.count - 1], items));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable t) {
+            failure.compareAndSet(null, t);
+        } finally {
+            putQuietly(parsedQueue, new ParsedBatch<>(-1, 0, null));
+        }
+    }
+
+    /**
+     * 写入阶段：解析线程可能乱序完成，这里按序号重排后再提交，保证检查点之前的行都已写入
+     */
+    private int writeStage(BlockingQueue<ParsedBatch<T>> parsedQueue,
+                           AtomicReference<Throwable> failure) throws Exception {
+        Map<Long, ParsedBatch<T>> pending = new HashMap<>();
+        long nextSequence = 0;
+        int finishedParsers = 0;
+        int written = 0;
+
+        while (finishedParsers < parserCount) {
+            ParsedBatch<T> batch = parsedQueue.take();
+            if (batch.items == null) {
+                finishedParsers++;
+                continue;
+            }
+            pending.put(batch.sequence, batch);
+
+            ParsedBatch<T> ready;
+            while ((ready = pending.remove(nextSequence)) != null) {
+                written += commit(ready);
+                nextSequence++;
+            }
+        }
+
+        Throwable error = failure.get();
+        if (error != null) {
+            throw error instanceof Exception ? (Exception) error : new RuntimeException(error);
+        }
+        if (!pending.isEmpty()) {
+            throw new IllegalStateException(checkpointKey + " 存在未按序提交的批次: " + pending.size());
+        }
+        return written;
+    }
+
+    private int commit(ParsedBatch<T> batch) {
+        if (!batch.items.isEmpty()) {
+            transactionRunner.runInTransaction(() -> writer.write(batch.items));
+        }
+        checkpointStore.save(checkpointKey, batch.lastLine);
+        if (progressListener != null) {
+            progressListener.onBatchCommitted(batch.lastLine, batch.items.size());
+        }
+        return batch.items.size();
+    }
+
+    private static <E> void putQuietly(BlockingQueue<E> queue, E element) {
+        try {
+            queue.put(element);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 构建器
+     */
+    public static class Builder<T> {
+        private SourceOpener source;
+        private String delimiter = ",";
+        private RowMapper<T> mapper;
+        private BatchWriter<T> writer;
+        private TransactionRunner transactionRunner;
+        private CheckpointStore checkpointStore;
+        private String checkpointKey;
+        private ProgressListener progressListener;
+        private int batchSize = 1000;
+        private int parserCount = Math.max(1, Math.min(3, Runtime.getRuntime().availableProcessors() - 1));
+        private int queueCapacity = 4;
+
+        public Builder<T> source(@NonNull SourceOpener source) {
+            this.source = source;
+            return this;
+        }
+
+        public Builder<T> delimiter(@NonNull String delimiter) {
+            this.delimiter = delimiter;
+            return this;
+        }
+
+        public Builder<T> mapper(@NonNull RowMapper<T> mapper) {
+            this.mapper = mapper;
+            return this;
+        }
+
+        public Builder<T> writer(@NonNull BatchWriter<T> writer) {
+            this.writer = writer;
+            return this;
+        }
+
+        public Builder<T> transactionRunner(@NonNull TransactionRunner transactionRunner) {
+            this.transactionRunner = transactionRunner;
+            return this;
+        }
+
+        public Builder<T> checkpoint(@NonNull CheckpointStore store, @NonNull String key) {
+            this.checkpointStore = store;
+            this.checkpointKey = key;
+            return this;
+        }
+
+        public Builder<T> progressListener(ProgressListener progressListener) {
+            this.progressListener = progressListener;
+            return this;
+        }
+
+        public Builder<T> batchSize(int batchSize) {
+            this.batchSize = Math.max(1, batchSize);
+            return this;
+        }
+
+        public Builder<T> parserCount(int parserCount) {
+            this.parserCount = Math.max(1, parserCount);
+            return this;
+        }
+
+        public Builder<T> queueCapacity(int queueCapacity) {
+            this.queueCapacity = Math.max(1, queueCapacity);
+            return this;
+        }
+
+        public CsvIngestionPipeline<T> build() {
+            if (source == null || mapper == null || writer == null
+                    || transactionRunner == null || checkpointStore == null) {
+                throw new IllegalStateException("source/mapper/writer/transactionRunner/checkpoint 不能为空");
+            }
+            return new CsvIngestionPipeline<>(this);
+        }
+    }
+}
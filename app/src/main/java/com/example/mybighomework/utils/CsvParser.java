@@ -232,6 +232,109 @@ public class CsvParser {
         return fields.toArray(new String[0]);
     }
     
+    /**
+     * 分割CSV行到可复用的字段缓冲区
+     * 与 {@link #splitLine(String, String)} 规则相同，但不为每行分配数组和 StringBuilder
+     * @return 字段数量
+     */
+    public static int splitLine(String line, String delimiter, FieldBuffer buffer) {
+        buffer.clear();
+        if (line == null || line.isEmpty()) {
+            return 0;
+        }
+        
+        StringBuilder currentField = buffer.builder;
+        boolean inQuotes = false;
+        
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            
+            if (c == '"') {
+                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    currentField.append('"');
+                    i++;
+                } else {
+                    inQuotes = !inQuotes;
+                }
+            } else if (!inQuotes && line.startsWith(delimiter, i)) {
+                buffer.add(currentField.toString().trim());
+                currentField.setLength(0);
+                i += delimiter.length() - 1;
+            } else {
+                currentField.append(c);
+            }
+        }
+        
+        buffer.add(currentField.toString().trim());
+        return buffer.size();
+    }
+    
+    /**
+     * 可复用的字段缓冲区
+     * 每个解析线程持有一个实例，非线程安全
+     */
+    public static final class FieldBuffer {
+        private String[] fields = new String[16];
+        private int size;
+        private final StringBuilder builder = new StringBuilder(128);
+        
+        void clear() {
+            for (int i = 0; i < size; i++) {
+                fields[i] = null;
+            }
+            size = 0;
+            builder.setLength(0);
+        }
+        
+        void add(String field) {
+            if (size == fields.length) {
+                String[] grown = new String[size * 2];
+                System.arraycopy(fields, 0, grown, 0, size);
+                fields = grown;
+            }
+            fields[size++] = field;
+        }
+        
+        public int size() {
+            return size;
+        }
+        
+        /**
+         * 安全获取字段值，语义与 {@link CsvParser#getField} 相同
+         */
+        public String get(int index, String defaultValue) {
+            if (index < 0 || index >= size) {
+                return defaultValue;
+            }
+            String value = fields[index];
+            return (value == null || value.isEmpty()) ? defaultValue : value;
+        }
+        
+        public int getInt(int index, int defaultValue) {
+            String value = get(index, null);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        
+        public float getFloat(int index, float defaultValue) {
+            String value = get(index, null);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                return Float.parseFloat(value);
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+    }
+    
     /**
      * 检查是否匹配分隔符
      */
@@ -11,18 +11,24 @@ import com.example.mybighomework.database.dao.DictionaryWordDao;
 import com.example.mybighomework.database.entity.BookEntity;
 import com.example.mybighomework.database.entity.BookWordRelationEntity;
 import com.example.mybighomework.database.entity.DictionaryWordEntity;
+import com.example.mybighomework.database.repository.BookRepository;
+import com.example.mybighomework.database.repository.DictionaryWordRepository;
 
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Set;
 
 /**
  * 词典数据导入器
  * 负责从 assets 目录导入 DictionaryData 数据集到 Room 数据库
+ * 
+ * 优先使用构建时生成的预置数据库（见 PrebuiltDictionaryInstaller），
+ * CSV 导入仅作为回退路径，由 CsvIngestionPipeline 并行解析、串行写入，
+ * 每个文件保存检查点，中断后从断点继续
  */
 public class DictionaryDataImporter {
     private static final String TAG = "DictionaryDataImporter";
@@ -31,7 +37,8 @@ public class DictionaryDataImporter {
     private static final String PREF_NAME = "dictionary_data_prefs";
     private static final String PREF_DATA_IMPORTED = "dictionary_data_imported";
     private static final String PREF_IMPORT_VERSION = "dictionary_data_version";
-    private static final int CURRENT_DATA_VERSION = 1;
+    // 与构建任务写入预置数据库的 user_version 保持一致
+    public static final int CURRENT_DATA_VERSION = 1;
     
     // 批量插入大小 - 关联数据使用更小的批次以减少内存压力
     private static final int BATCH_SIZE = 1000;
@@ -47,9 +54,13 @@ public class DictionaryDataImporter {
     private static final String DELIMITER_ARROW = ">";
     private static final String DELIMITER_COMMA = ",";
     
+    // 导入要跑几分钟，用单独的单线程池，不占用数据库线程和计算线程池；空闲时线程自动回收
+    private static final MonitoredThreadPoolYSJ IMPORT_POOL =
+            new MonitoredThreadPoolYSJ("DictionaryImport", 1, Thread.NORM_PRIORITY - 1);
+    
     private final Context context;
     private final AppDatabase database;
-    private final ExecutorService executor;
+    private final PrefsCheckpointStore checkpointStore;
     
     /**
      * 导入进度监听器
@@ -62,7 +73,8 @@ public class DictionaryDataImporter {
     public DictionaryDataImporter(Context context) {
         this.context = context.getApplicationContext();
         this.database = AppDatabase.getInstance(context);
-        this.executor = Executors.newSingleThreadExecutor();
+        this.checkpointStore = new PrefsCheckpointStore(
+                context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE));
     }
     
     /**
@@ -84,13 +96,30 @@ public class DictionaryDataImporter {
             .putBoolean(PREF_DATA_IMPORTED, true)
             .putInt(PREF_IMPORT_VERSION, CURRENT_DATA_VERSION)
             .apply();
+        
+        // 导入期间可能缓存了不完整的数据
+        invalidateQueryCaches(database);
+        DictionarySearchEngineYSJ.getInstance(context).invalidate();
+        // 联想前缀树在后台重建，不推迟导入完成的回调
+        AppExecutorsYSJ.getInstance().computation().execute(
+                WordSuggestionServiceYSJ.getInstance(context)::rebuild);
+    }
+    
+    /**
+     * 清除导入期间缓存的查询结果
+     * 预置数据库在独立连接上写入，Room 收不到表变更通知，随机抽样的 id 缓存需要显式清除
+     */
+    static void invalidateQueryCaches(AppDatabase database) {
+        DictionaryWordRepository.invalidateCache();
+        BookRepository.invalidateCache();
+        database.randomSampler().invalidate("dictionary_words");
     }
     
     /**
      * 异步导入数据
      */
     public void importDataAsync(ImportProgressListener listener) {
-        executor.execute(() -> {
+        IMPORT_POOL.execute(() -> {
             try {
                 importDataInternal(listener);
             } catch (Exception e) {
@@ -104,34 +133,41 @@ public class DictionaryDataImporter {
     
     /**
      * 内部导入逻辑
+     * 优先安装 APK 内的预置数据库，失败或缺失时回退到 CSV 导入
      */
     private void importDataInternal(ImportProgressListener listener) {
+        if (installPrebuiltDatabase(listener)) {
+            return;
+        }
+        
         Log.d(TAG, "开始导入词典数据...");
         long startTime = System.currentTimeMillis();
         
         try {
             // 1. 导入单词数据
             notifyProgress(listener, 0, 100, "正在导入单词数据...");
-            Map<String, String> translations = parseTranslations();
-            int wordCount = importWords(translations, listener);
-            Log.d(TAG, "单词导入完成: " + wordCount + " 条");
+            importWords(listener);
+            
+            // 2. 合并翻译数据
+            notifyProgress(listener, 30, 100, "正在合并翻译数据...");
+            importTranslations(listener);
             
-            // 2. 导入词书数据
+            // 3. 导入词书数据
             notifyProgress(listener, 40, 100, "正在导入词书数据...");
-            int bookCount = importBooks(listener);
-            Log.d(TAG, "词书导入完成: " + bookCount + " 条");
+            importBooks();
             
-            // 3. 导入关联数据
+            // 4. 导入关联数据
             notifyProgress(listener, 60, 100, "正在导入词书-单词关联...");
-            int relationCount = importRelations(listener);
-            Log.d(TAG, "关联导入完成: " + relationCount + " 条");
+            importRelations(listener);
             
-            // 标记导入完成
+            // 标记导入完成，清除检查点
             markDataImported();
+            checkpointStore.clearAll();
             
+            ImportStats stats = getImportStats();
             long duration = System.currentTimeMillis() - startTime;
             String message = String.format("导入完成！单词: %d, 词书: %d, 关联: %d (耗时: %.1f秒)",
-                    wordCount, bookCount, relationCount, duration / 1000.0);
+                    stats.wordCount, stats.bookCount, stats.relationCount, duration / 1000.0);
             Log.d(TAG, message);
             
             notifyProgress(listener, 100, 100, message);
@@ -140,6 +176,7 @@ public class DictionaryDataImporter {
             }
             
         } catch (Exception e) {
+            // 检查点保留，下次启动从中断处继续
             Log.e(TAG, "导入过程中发生错误", e);
             if (listener != null) {
                 listener.onComplete(false, "导入失败: " + e.getMessage());
@@ -148,301 +185,286 @@ public class DictionaryDataImporter {
     }
     
     /**
-     * 解析翻译文件，返回 word -> translation 映射
+     * 安装预置数据库
+     * @return 是否安装成功（成功时已标记导入完成并回调）
      */
-    private Map<String, String> parseTranslations() {
-        Map<String, String> translations = new HashMap<>();
+    private boolean installPrebuiltDatabase(ImportProgressListener listener) {
+        PrebuiltDictionaryInstaller installer = new PrebuiltDictionaryInstaller(context, database);
+        if (!installer.isAvailable()) {
+            Log.d(TAG, "未找到预置词典数据库，使用CSV导入");
+            return false;
+        }
         
         try {
-            InputStream is = context.getAssets().open(TRANSLATION_CSV);
-            List<String[]> rows = CsvParser.parse(is, DELIMITER_COMMA, false, 
-                (fields, lineNumber) -> fields);
-            
-            for (String[] fields : rows) {
-                if (fields.length >= 2) {
-                    String word = CsvParser.getField(fields, 0, "").toLowerCase();
-                    String translation = CsvParser.getField(fields, 1, "");
-                    if (!word.isEmpty() && !translation.isEmpty()) {
-                        translations.put(word, translation);
-                    }
-                }
+            notifyProgress(listener, 0, 100, "正在安装预置词典数据...");
+            PrebuiltDictionaryInstaller.InstallResult result = installer.install();
+            if (result.wordCount == 0) {
+                Log.w(TAG, "预置词典数据库为空，使用CSV导入");
+                return false;
             }
             
-            Log.d(TAG, "翻译数据解析完成: " + translations.size() + " 条");
+            markDataImported();
+            
+            String message = String.format("预置词典安装完成！单词: %d, 词书: %d, 关联: %d (耗时: %.1f秒)",
+                    result.wordCount, result.bookCount, result.relationCount, result.durationMs / 1000.0);
+            Log.d(TAG, message);
+            
+            notifyProgress(listener, 100, 100, message);
+            if (listener != null) {
+                listener.onComplete(true, message);
+            }
+            return true;
         } catch (Exception e) {
-            Log.e(TAG, "解析翻译文件失败", e);
+            Log.e(TAG, "预置词典安装失败，回退到CSV导入", e);
+            return false;
         }
-        
-        return translations;
     }
     
     /**
-     * 导入单词数据 - 使用流式解析减少内存压力
+     * 导入单词数据（翻译在下一步合并，不再把整个翻译文件加载进内存）
      */
-    private int importWords(Map<String, String> translations, ImportProgressListener listener) {
+    private void importWords(ImportProgressListener listener) throws Exception {
         DictionaryWordDao wordDao = database.dictionaryWordDao();
-        final List<DictionaryWordEntity> batch = new ArrayList<>(BATCH_SIZE);
-        final int[] totalCount = {0};
         
-        try {
-            InputStream is = context.getAssets().open(WORD_CSV);
-            
-            CsvParser.parseStreaming(is, DELIMITER_ARROW, false,
-                // 解析回调
-                (fields, lineNumber) -> {
-                    // word.csv 格式: id>word>phonetic_uk>phonetic_us>frequency>difficulty>acknowledge_rate
-                    if (fields.length < 7) return null;
-                    
-                    String id = CsvParser.getField(fields, 0, "");
-                    String word = CsvParser.getField(fields, 1, "");
-                    
-                    if (id.isEmpty() || word.isEmpty()) return null;
-                    
-                    DictionaryWordEntity entity = new DictionaryWordEntity();
-                    entity.setId(id);
-                    entity.setWord(word);
-                    entity.setPhoneticUk(CsvParser.getField(fields, 2, ""));
-                    entity.setPhoneticUs(CsvParser.getField(fields, 3, ""));
-                    entity.setFrequency(CsvParser.getFloatField(fields, 4, 0f));
-                    entity.setDifficulty(CsvParser.getIntField(fields, 5, 5));
-                    entity.setAcknowledgeRate(CsvParser.getFloatField(fields, 6, 0f));
-                    
-                    // 合并翻译
-                    String translation = translations.get(word.toLowerCase());
-                    entity.setTranslation(translation != null ? translation : "");
-                    
-                    return entity;
-                },
-                // 流式处理回调
-                new CsvParser.StreamingCallback<DictionaryWordEntity>() {
-                    @Override
-                    public void onItem(DictionaryWordEntity item, int lineNumber) {
-                        batch.add(item);
-                        
-                        if (batch.size() >= BATCH_SIZE) {
-                            try {
-                                wordDao.insertAll(new ArrayList<>(batch));
-                                totalCount[0] += batch.size();
-                                batch.clear();
-                                
-                                notifyProgress(listener, 10 + Math.min(30, totalCount[0] / 2500), 100, 
-                                        "正在导入单词: " + totalCount[0]);
-                            } catch (Exception e) {
-                                Log.e(TAG, "批量插入单词失败", e);
-                            }
-                        }
-                    }
-                    
-                    @Override
-                    public void onComplete(int totalProcessed) {
-                        if (!batch.isEmpty()) {
-                            try {
-                                wordDao.insertAll(new ArrayList<>(batch));
-                                totalCount[0] += batch.size();
-                                batch.clear();
-                            } catch (Exception e) {
-                                Log.e(TAG, "插入剩余单词失败", e);
-                            }
-                        }
-                    }
-                },
-                null);
-            
-        } catch (Exception e) {
-            Log.e(TAG, "导入单词失败", e);
-        }
+        int written = this.<DictionaryWordEntity>newPipeline(WORD_CSV, DELIMITER_ARROW, BATCH_SIZE)
+            .mapper((fields, lineNumber) -> {
+                // word.csv 格式: id>word>phonetic_uk>phonetic_us>frequency>difficulty>acknowledge_rate
+                if (fields.size() < 7) return null;
+                
+                String id = fields.get(0, "");
+                String word = fields.get(1, "");
+                if (id.isEmpty() || word.isEmpty()) return null;
+                
+                return new DictionaryWordEntity(id, word,
+                        fields.get(2, ""),
+                        fields.get(3, ""),
+                        fields.getFloat(4, 0f),
+                        fields.getInt(5, 5),
+                        fields.getFloat(6, 0f),
+                        "");
+            })
+            .writer(wordDao::insertAll)
+            .progressListener((line, count) -> notifyProgress(listener,
+                    Math.min(30, line / 5000), 100, "正在导入单词: 第" + line + "行"))
+            .build()
+            .run();
         
-        // 释放翻译映射内存
-        translations.clear();
+        Log.d(TAG, "单词导入完成: " + written + " 条");
+    }
+    
+    /**
+     * 合并翻译数据：翻译文件中的单词按小写匹配词典单词，每批在一个事务中按主键更新
+     */
+    private void importTranslations(ImportProgressListener listener) throws Exception {
+        TranslationWriter translationWriter = new TranslationWriter(database.dictionaryWordDao());
+        
+        int written = this.<String[]>newPipeline(TRANSLATION_CSV, DELIMITER_COMMA, BATCH_SIZE)
+            .mapper((fields, lineNumber) -> {
+                // word_translation.csv 格式: word,translation
+                String word = fields.get(0, "");
+                String translation = fields.get(1, "");
+                if (word.isEmpty() || translation.isEmpty()) return null;
+                return new String[]{word, translation};
+            })
+            .writer(translationWriter::write)
+            .progressListener((line, count) -> notifyProgress(listener,
+                    30 + Math.min(10, line / 10000), 100, "正在合并翻译: 第" + line + "行"))
+            .build()
+            .run();
         
-        return totalCount[0];
+        Log.d(TAG, "翻译合并完成: " + written + " 条");
     }
     
     /**
-     * 导入词书数据 - 使用流式解析
+     * 翻译写入器
+     * 与原先的小写映射一致：翻译文件中的单词和词典单词都转成小写后匹配，
+     * "Apple" 和 "apple" 都取 "apple" 的翻译；同一单词出现多次时以后出现的为准
      */
-    private int importBooks(ImportProgressListener listener) {
-        BookDao bookDao = database.bookDao();
-        final List<BookEntity> batch = new ArrayList<>(BATCH_SIZE);
-        final int[] totalCount = {0};
+    static class TranslationWriter {
+        private final DictionaryWordDao wordDao;
+        // 小写单词 → 单词ID；大小写不同的同一单词（很少见）其余ID放在 extraIds
+        private final Map<String, String> idByLowercase = new HashMap<>();
+        private final Map<String, List<String>> extraIds = new HashMap<>();
         
-        try {
-            InputStream is = context.getAssets().open(BOOK_CSV);
-            
-            CsvParser.parseStreaming(is, DELIMITER_ARROW, false,
-                // 解析回调
-                (fields, lineNumber) -> {
-                    // book.csv 格式: id>parent_id>level>order>name>item_num>direct_item_num>author>full_name>comment>organization>publisher>version>flag
-                    if (fields.length < 6) return null;
-                    
-                    String id = CsvParser.getField(fields, 0, "");
-                    if (id.isEmpty()) return null;
-                    
-                    BookEntity entity = new BookEntity();
-                    entity.setId(id);
-                    entity.setParentId(CsvParser.getField(fields, 1, "0"));
-                    entity.setLevel(CsvParser.getIntField(fields, 2, 1));
-                    entity.setBookOrder(CsvParser.getFloatField(fields, 3, 0f));
-                    entity.setName(CsvParser.getField(fields, 4, ""));
-                    entity.setItemNum(CsvParser.getIntField(fields, 5, 0));
-                    entity.setDirectItemNum(CsvParser.getIntField(fields, 6, 0));
-                    entity.setAuthor(CsvParser.getField(fields, 7, ""));
-                    entity.setFullName(CsvParser.getField(fields, 8, ""));
-                    entity.setComment(CsvParser.getField(fields, 9, ""));
-                    entity.setOrganization(CsvParser.getField(fields, 10, ""));
-                    entity.setPublisher(CsvParser.getField(fields, 11, ""));
-                    entity.setVersion(CsvParser.getField(fields, 12, ""));
-                    entity.setFlag(CsvParser.getField(fields, 13, ""));
-                    
-                    return entity;
-                },
-                // 流式处理回调
-                new CsvParser.StreamingCallback<BookEntity>() {
-                    @Override
-                    public void onItem(BookEntity item, int lineNumber) {
-                        batch.add(item);
-                        
-                        if (batch.size() >= BATCH_SIZE) {
-                            try {
-                                bookDao.insertAll(new ArrayList<>(batch));
-                                totalCount[0] += batch.size();
-                                batch.clear();
-                            } catch (Exception e) {
-                                Log.e(TAG, "批量插入词书失败", e);
-                            }
-                        }
+        TranslationWriter(DictionaryWordDao wordDao) {
+            this.wordDao = wordDao;
+            for (DictionaryWordDao.WordFrequency row : wordDao.getAllWordFrequencies()) {
+                String key = lowercase(row.word);
+                if (idByLowercase.putIfAbsent(key, row.id) != null) {
+                    List<String> ids = extraIds.get(key);
+                    if (ids == null) {
+                        ids = new ArrayList<>(1);
+                        extraIds.put(key, ids);
                     }
-                    
-                    @Override
-                    public void onComplete(int totalProcessed) {
-                        if (!batch.isEmpty()) {
-                            try {
-                                bookDao.insertAll(new ArrayList<>(batch));
-                                totalCount[0] += batch.size();
-                                batch.clear();
-                            } catch (Exception e) {
-                                Log.e(TAG, "插入剩余词书失败", e);
-                            }
-                        }
+                    ids.add(row.id);
+                }
+            }
+        }
+        
+        /**
+         * 写入一批 {单词, 翻译}，由调用方放在同一个事务中
+         */
+        void write(List<String[]> batch) {
+            for (String[] pair : batch) {
+                String key = lowercase(pair[0]);
+                String id = idByLowercase.get(key);
+                if (id == null) {
+                    continue;
+                }
+                wordDao.updateTranslationById(id, pair[1]);
+                List<String> ids = extraIds.get(key);
+                if (ids != null) {
+                    for (String extraId : ids) {
+                        wordDao.updateTranslationById(extraId, pair[1]);
                     }
-                },
-                null);
-            
-        } catch (Exception e) {
-            Log.e(TAG, "导入词书失败", e);
+                }
+            }
         }
         
-        return totalCount[0];
+        private static String lowercase(String word) {
+            return word.toLowerCase(Locale.ROOT);
+        }
     }
     
     /**
-     * 导入词书-单词关联数据 - 使用流式解析避免内存溢出
+     * 导入词书数据
      */
-    private int importRelations(ImportProgressListener listener) {
-        BookWordRelationDao relationDao = database.bookWordRelationDao();
+    private void importBooks() throws Exception {
         BookDao bookDao = database.bookDao();
-        DictionaryWordDao wordDao = database.dictionaryWordDao();
         
-        final List<BookWordRelationEntity> batch = new ArrayList<>(RELATION_BATCH_SIZE);
-        final int[] totalCount = {0};
+        int written = this.<BookEntity>newPipeline(BOOK_CSV, DELIMITER_ARROW, BATCH_SIZE)
+            .mapper((fields, lineNumber) -> {
+                // book.csv 格式: id>parent_id>level>order>name>item_num>direct_item_num>author>full_name>comment>organization>publisher>version>flag
+                if (fields.size() < 6) return null;
+                
+                String id = fields.get(0, "");
+                if (id.isEmpty()) return null;
+                
+                BookEntity entity = new BookEntity();
+                entity.setId(id);
+                entity.setParentId(fields.get(1, "0"));
+                entity.setLevel(fields.getInt(2, 1));
+                entity.setBookOrder(fields.getFloat(3, 0f));
+                entity.setName(fields.get(4, ""));
+                entity.setItemNum(fields.getInt(5, 0));
+                entity.setDirectItemNum(fields.getInt(6, 0));
+                entity.setAuthor(fields.get(7, ""));
+                entity.setFullName(fields.get(8, ""));
+                entity.setComment(fields.get(9, ""));
+                entity.setOrganization(fields.get(10, ""));
+                entity.setPublisher(fields.get(11, ""));
+                entity.setVersion(fields.get(12, ""));
+                entity.setFlag(fields.get(13, ""));
+                return entity;
+            })
+            .writer(bookDao::insertAll)
+            .build()
+            .run();
+        
+        Log.d(TAG, "词书导入完成: " + written + " 条");
+    }
+    
+    /**
+     * 导入词书-单词关联数据
+     * 外键校验按批次进行：词书ID一次性加载，单词ID每批一次 IN 查询
+     */
+    private void importRelations(ImportProgressListener listener) throws Exception {
+        BookWordRelationDao relationDao = database.bookWordRelationDao();
+        DictionaryWordDao wordDao = database.dictionaryWordDao();
+        Set<String> bookIds = new HashSet<>(database.bookDao().getAllBookIds());
         final int[] skippedCount = {0};
-        final int[] batchInsertCount = {0};
         
-        try {
-            InputStream is = context.getAssets().open(RELATION_CSV);
-            
-            // 使用流式解析,边读边插入,避免内存溢出
-            CsvParser.parseStreaming(is, DELIMITER_ARROW, false,
-                // 解析回调
-                (fields, lineNumber) -> {
-                    // relation_book_word.csv 格式: id>book_id>word_id>flag>tag>order
-                    if (fields.length < 3) return null;
-                    
-                    String id = CsvParser.getField(fields, 0, "");
-                    String bookId = CsvParser.getField(fields, 1, "");
-                    String wordId = CsvParser.getField(fields, 2, "");
-                    
-                    if (id.isEmpty() || bookId.isEmpty() || wordId.isEmpty()) return null;
-                    
-                    BookWordRelationEntity entity = new BookWordRelationEntity();
-                    entity.setId(id);
-                    entity.setBookId(bookId);
-                    entity.setWordId(wordId);
-                    entity.setFlag(CsvParser.getField(fields, 3, ""));
-                    entity.setTag(CsvParser.getField(fields, 4, ""));
-                    entity.setWordOrder(CsvParser.getIntField(fields, 5, 0));
-                    
-                    return entity;
-                },
-                // 流式处理回调
-                new CsvParser.StreamingCallback<BookWordRelationEntity>() {
-                    @Override
-                    public void onItem(BookWordRelationEntity item, int lineNumber) {
-                        // 验证外键是否存在
-                        boolean bookExists = bookDao.getBookByIdSync(item.getBookId()) != null;
-                        boolean wordExists = wordDao.getWordByIdSync(item.getWordId()) != null;
-                        
-                        if (!bookExists || !wordExists) {
-                            skippedCount[0]++;
-                            if (skippedCount[0] <= 10) {
-                                Log.w(TAG, "跳过无效关联记录 (行" + lineNumber + "): bookId=" + item.getBookId() + 
-                                          ", wordId=" + item.getWordId() + 
-                                          ", bookExists=" + bookExists + ", wordExists=" + wordExists);
-                            }
-                            return;
-                        }
-                        
-                        batch.add(item);
-                        
-                        // 达到批次大小时插入数据库
-                        if (batch.size() >= RELATION_BATCH_SIZE) {
-                            try {
-                                relationDao.insertAll(new ArrayList<>(batch));
-                                totalCount[0] += batch.size();
-                                batchInsertCount[0]++;
-                                batch.clear();
-                                
-                                // 每10个批次通知一次进度,减少UI更新频率
-                                if (batchInsertCount[0] % 10 == 0) {
-                                    notifyProgress(listener, 60 + Math.min(35, totalCount[0] / 25000), 100,
-                                            "正在导入关联数据: " + totalCount[0]);
-                                }
-                            } catch (Exception e) {
-                                Log.e(TAG, "批量插入关联数据失败", e);
-                                batch.clear();
-                            }
-                        }
-                    }
-                    
-                    @Override
-                    public void onComplete(int totalProcessed) {
-                        // 插入剩余数据
-                        if (!batch.isEmpty()) {
-                            try {
-                                relationDao.insertAll(new ArrayList<>(batch));
-                                totalCount[0] += batch.size();
-                                batch.clear();
-                            } catch (Exception e) {
-                                Log.e(TAG, "插入剩余关联数据失败", e);
-                            }
-                        }
-                        if (skippedCount[0] > 0) {
-                            Log.w(TAG, "跳过了 " + skippedCount[0] + " 条无效关联记录（外键不存在）");
-                        }
-                        Log.d(TAG, "关联数据流式导入完成: " + totalCount[0] + " 条有效记录");
+        int written = this.<BookWordRelationEntity>newPipeline(RELATION_CSV, DELIMITER_ARROW, RELATION_BATCH_SIZE)
+            .mapper((fields, lineNumber) -> {
+                // relation_book_word.csv 格式: id>book_id>word_id>flag>tag>order
+                if (fields.size() < 3) return null;
+                
+                String id = fields.get(0, "");
+                String bookId = fields.get(1, "");
+                String wordId = fields.get(2, "");
+                if (id.isEmpty() || bookId.isEmpty() || wordId.isEmpty()) return null;
+                
+                BookWordRelationEntity entity = new BookWordRelationEntity();
+                entity.setId(id);
+                entity.setBookId(bookId);
+                entity.setWordId(wordId);
+                entity.setFlag(fields.get(3, ""));
+                entity.setTag(fields.get(4, ""));
+                entity.setWordOrder(fields.getInt(5, 0));
+                return entity;
+            })
+            .writer(batch -> {
+                List<String> wordIds = new ArrayList<>(batch.size());
+                for (BookWordRelationEntity item : batch) {
+                    wordIds.add(item.getWordId());
+                }
+                Set<String> existingWordIds = new HashSet<>(wordDao.getExistingIds(wordIds));
+                
+                List<BookWordRelationEntity> valid = new ArrayList<>(batch.size());
+                for (BookWordRelationEntity item : batch) {
+                    if (bookIds.contains(item.getBookId()) && existingWordIds.contains(item.getWordId())) {
+                        valid.add(item);
+                    } else if (++skippedCount[0] <= 10) {
+                        Log.w(TAG, "跳过无效关联记录: bookId=" + item.getBookId() + ", wordId=" + item.getWordId());
                     }
-                },
-                // 进度回调
-                (current, total) -> {
-                    notifyProgress(listener, 60 + Math.min(35, current / 25000), 100,
-                            "正在解析关联数据: " + current);
-                });
-            
-        } catch (Exception e) {
-            Log.e(TAG, "导入关联数据失败", e);
+                }
+                if (!valid.isEmpty()) {
+                    relationDao.insertAll(valid);
+                }
+            })
+            .progressListener((line, count) -> notifyProgress(listener,
+                    60 + Math.min(35, line / 25000), 100, "正在导入关联数据: 第" + line + "行"))
+            .build()
+            .run();
+        
+        if (skippedCount[0] > 0) {
+            Log.w(TAG, "跳过了 " + skippedCount[0] + " 条无效关联记录（外键不存在）");
         }
+        Log.d(TAG, "关联导入完成: " + written + " 条已解析");
+    }
+    
+    /**
+     * 创建带公共配置的流水线构建器
+     */
+    private <T> CsvIngestionPipeline.Builder<T> newPipeline(String assetPath, String delimiter, int batchSize) {
+        return new CsvIngestionPipeline.Builder<T>()
+            .source(() -> context.getAssets().open(assetPath))
+            .delimiter(delimiter)
+            .batchSize(batchSize)
+            .transactionRunner(database::runInTransaction)
+            .checkpoint(checkpointStore, assetPath);
+    }
+    
+    /**
+     * 基于 SharedPreferences 的检查点存储，每个 CSV 文件一个键
+     */
+    private static class PrefsCheckpointStore implements CsvIngestionPipeline.CheckpointStore {
+        private static final String KEY_PREFIX = "checkpoint_";
+        private final SharedPreferences prefs;
         
-        return totalCount[0];
+        PrefsCheckpointStore(SharedPreferences prefs) {
+            this.prefs = prefs;
+        }
+        
+        @Override
+        public int load(String key) {
+            return prefs.getInt(KEY_PREFIX + key, 0);
+        }
+        
+        @Override
+        public void save(String key, int lineNumber) {
+            prefs.edit().putInt(KEY_PREFIX + key, lineNumber).apply();
+        }
+        
+        void clearAll() {
+            SharedPreferences.Editor editor = prefs.edit();
+            for (String key : prefs.getAll().keySet()) {
+                if (key.startsWith(KEY_PREFIX)) {
+                    editor.remove(key);
+                }
+            }
+            editor.apply();
+        }
     }
     
     /**
@@ -463,6 +485,7 @@ public class DictionaryDataImporter {
             .putBoolean(PREF_DATA_IMPORTED, false)
             .putInt(PREF_IMPORT_VERSION, 0)
             .apply();
+        checkpointStore.clearAll();
     }
     
     /**
@@ -0,0 +1,224 @@
+package com.example.mybighomework.utils;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.mybighomework.database.AppDatabase;
+import com.example.mybighomework.database.dao.DictionaryWordDao;
+import com.example.mybighomework.database.entity.DictionaryWordEntity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 词典搜索
+ *
+ * 1. 全文索引（dictionary_words_fts）：英文关键词按单词前缀匹配，中文关键词按释义中的词前缀匹配，
+ *    完全匹配的单词置顶，其余按词频排序
+ * 2. 中文关键词在全文索引中查不到时（如只输入词中间的字），回退为释义 LIKE 匹配
+ * 3. 英文关键词结果过少时，用内存中的 BK 树（FuzzyWordIndexYSJ）补充拼写相近的单词，
+ *    “recieve” 可以查到 “receive”
+ *
+ * 所有方法需在后台线程调用。纠错索引在第一次需要时从数据库构建，可在进入搜索页时调用 warmUp() 提前构建
+ *
+ * 使用方式：
+ * DictionarySearchEngineYSJ engine = DictionarySearchEngineYSJ.getInstance(context);
+ * List<DictionaryWordEntity> results = engine.search("appl", 50, null);
+ */
+public class DictionarySearchEngineYSJ {
+
+    private static final String TAG = "DictionarySearch";
+
+    // 全文检索结果少于这个数时补充拼写纠错结果
+    private static final int FUZZY_THRESHOLD = 3;
+    // 最多补充的纠错结果数
+    private static final int MAX_SUGGESTIONS = 10;
+    // 关键词至少多长才做拼写纠错（太短时编辑距离 1 的单词过多）
+    private static final int MIN_FUZZY_LENGTH = 3;
+
+    private static volatile DictionarySearchEngineYSJ INSTANCE;
+
+    private final DictionaryWordDao wordDao;
+    private final Object indexLock = new Object();
+    private volatile FuzzyWordIndexYSJ fuzzyIndex;
+
+    public static DictionarySearchEngineYSJ getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (DictionarySearchEngineYSJ.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new DictionarySearchEngineYSJ(AppDatabase.getInstance(context));
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * 独立实例，测试中直接传入内存数据库
+     */
+    public DictionarySearchEngineYSJ(AppDatabase database) {
+        this.wordDao = database.dictionaryWordDao();
+    }
+
+    /**
+     * 搜索单词
+     * @param keyword 用户输入的关键词
+     * @param limit 最多返回的结果数
+     * @param cancelled 返回 true 时放弃本次搜索（结果已无人需要），可为 null
+     * @return 搜索结果，取消时返回已得到的部分结果
+     */
+    public List<DictionaryWordEntity> search(String keyword, int limit, BooleanSupplier cancelled) {
+        String normalized = keyword == null ? "" : keyword.trim().toLowerCase(Locale.ROOT);
+        List<String> tokens = tokenize(normalized);
+        if (tokens.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        boolean chinese = containsHan(normalized);
+        List<DictionaryWordEntity> results =
+                wordDao.searchFts(buildMatchQuery(tokens, chinese), normalized, limit);
+        if (isCancelled(cancelled)) {
+            return results;
+        }
+
+        if (chinese) {
+            if (results.isEmpty()) {
+                results = wordDao.searchTranslationContaining(String.join("", tokens), limit);
+            }
+        } else if (results.size() < FUZZY_THRESHOLD && tokens.size() == 1
+                && normalized.length() >= MIN_FUZZY_LENGTH) {
+            appendSuggestions(results, normalized, Math.min(MAX_SUGGESTIONS, limit - results.size()), cancelled);
+        }
+        return results;
+    }
+
+    /**
+     * 提前构建拼写纠错索引
+     */
+    public void warmUp() {
+        getFuzzyIndex();
+    }
+
+    /**
+     * 词典数据变化后丢弃纠错索引，下次需要时重建
+     */
+    public void invalidate() {
+        fuzzyIndex = null;
+    }
+
+    private void appendSuggestions(List<DictionaryWordEntity> results, String keyword, int count,
+                                   BooleanSupplier cancelled) {
+        if (count <= 0) {
+            return;
+        }
+        int maxDistance = keyword.length() <= 4 ? 1 : 2;
+        Set<String> existing = new HashSet<>();
+        for (DictionaryWordEntity word : results) {
+            existing.add(word.getId());
+        }
+
+        List<String> ids = new ArrayList<>(count);
+        for (FuzzyWordIndexYSJ.Match match :
+                getFuzzyIndex().search(keyword, maxDistance, count + existing.size(), cancelled)) {
+            if (ids.size() < count && !existing.contains(match.id)) {
+                ids.add(match.id);
+            }
+        }
+        if (ids.isEmpty() || isCancelled(cancelled)) {
+            return;
+        }
+
+        // 按纠错结果的顺序（距离、词频）排列
+        Map<String, DictionaryWordEntity> byId = new HashMap<>();
+        for (DictionaryWordEntity word : wordDao.getWordsByIdsSync(ids)) {
+            byId.put(word.getId(), word);
+        }
+        for (String id : ids) {
+            DictionaryWordEntity word = byId.get(id);
+            if (word != null) {
+                results.add(word);
+            }
+        }
+    }
+
+    private FuzzyWordIndexYSJ getFuzzyIndex() {
+        FuzzyWordIndexYSJ index = fuzzyIndex;
+        if (index != null) {
+            return index;
+        }
+        synchronized (indexLock) {
+            if (fuzzyIndex == null) {
+                long start = System.currentTimeMillis();
+                List<DictionaryWordDao.WordFrequency> rows = wordDao.getAllWordFrequencies();
+                String[] ids = new String[rows.size()];
+                String[] words = new String[rows.size()];
+                float[] frequencies = new float[rows.size()];
+                for (int i = 0; i < ids.length; i++) {
+                    DictionaryWordDao.WordFrequency row = rows.get(i);
+                    ids[i] = row.id;
+                    words[i] = row.word;
+                    frequencies[i] = row.frequency;
+                }
+                fuzzyIndex = new FuzzyWordIndexYSJ(ids, words, frequencies);
+                Log.d(TAG, "纠错索引构建完成: " + fuzzyIndex.size() + " 词, "
+                        + (System.currentTimeMillis() - start) + "ms");
+            }
+            return fuzzyIndex;
+        }
+    }
+
+    private static boolean isCancelled(BooleanSupplier cancelled) {
+        return cancelled != null && cancelled.getAsBoolean();
+    }
+
+    /**
+     * 按非字母数字字符切分，与 unicode61 分词一致；FTS 语法字符（引号、星号等）随之去掉
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean tokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                tokens.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 生成 MATCH 表达式：每个词都限定列，最后一个词按前缀匹配，如 word:take word:of*
+     * （FTS4 的列限定只作用于单个词，不能用于带引号的短语）
+     */
+    static String buildMatchQuery(List<String> tokens, boolean chinese) {
+        String column = chinese ? "translation:" : "word:";
+        StringBuilder match = new StringBuilder();
+        for (int i = 0; i < tokens.size(); i++) {
+            if (i > 0) {
+                match.append(' ');
+            }
+            match.append(column).append(tokens.get(i));
+        }
+        return match.append('*').toString();
+    }
+
+    private static boolean containsHan(String text) {
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            if (Character.UnicodeScript.of(codePoint) == Character.UnicodeScript.HAN) {
+                return true;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return false;
+    }
+}
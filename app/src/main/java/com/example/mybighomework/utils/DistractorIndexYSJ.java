@@ -0,0 +1,200 @@
+package com.example.mybighomework.utils;
+
+import com.example.mybighomework.database.entity.DictionaryWordEntity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 干扰项抽样索引
+ * 对一本词书只构建一次（由 BookRepository 按词书缓存），之后每道题抽样 k 个干扰项的开销与词书大小无关
+ *
+ * 随机模式：在单词数组上用 Floyd 算法直接抽取 k 个不同下标，跳过目标单词，不复制列表
+ * 易混模式：按 (难度, 词频) 排序，在目标单词附近的窗口内抽样，得到难度和词频相近的干扰项
+ */
+public class DistractorIndexYSJ {
+
+    /**
+     * 抽样模式
+     */
+    public enum Mode {
+        RANDOM,
+        CONFUSABLE
+    }
+
+    // 易混模式下每个干扰项对应的候选窗口大小
+    private static final int CONFUSABLE_WINDOW_FACTOR = 4;
+
+    // 抽到无效释义时的补抽次数上限
+    private static final int MAX_EXTRA_ATTEMPTS = 32;
+
+    private final DictionaryWordEntity[] words;
+    private final Map<String, Integer> positionById;
+    // 按 (难度, 词频) 排序后的下标，懒加载
+    private int[] confusableOrder;
+    private int[] confusableRank;
+
+    public DistractorIndexYSJ(List<DictionaryWordEntity> words) {
+        this.words = words.toArray(new DictionaryWordEntity[0]);
+        this.positionById = new HashMap<>(this.words.length * 2);
+        for (int i = 0; i < this.words.length; i++) {
+            positionById.put(this.words[i].getId(), i);
+        }
+    }
+
+    public int size() {
+        return words.length;
+    }
+
+    /**
+     * 为目标单词抽取 k 个干扰释义
+     * @return 不重复且不等于目标释义的释义列表，候选不足时可能少于 k
+     */
+    public List<String> sample(DictionaryWordEntity target, int k, Mode mode, Random random) {
+        if (mode == Mode.CONFUSABLE) {
+            return sampleConfusable(target, k, random);
+        }
+        return sampleRandom(target, k, random);
+    }
+
+    /**
+     * 随机抽样：在 [0, n) 中排除目标下标后用 Floyd 算法抽取
+     */
+    private List<String> sampleRandom(DictionaryWordEntity target, int k, Random random) {
+        Integer targetPos = positionById.get(target.getId());
+        int excluded = targetPos != null ? targetPos : -1;
+        return collect(target, k, 0, words.length, excluded, null, random);
+    }
+
+    /**
+     * 易混抽样：在排序数组中以目标为中心取窗口，在窗口内抽样
+     */
+    private List<String> sampleConfusable(DictionaryWordEntity target, int k, Random random) {
+        ensureConfusableOrder();
+
+        Integer targetPos = positionById.get(target.getId());
+        int center;
+        int excluded = -1;
+        if (targetPos != null) {
+            center = confusableRank[targetPos];
+            excluded = center;
+        } else {
+            center = insertionPoint(target);
+        }
+
+        int window = Math.min(words.length, Math.max(k + 1, k * CONFUSABLE_WINDOW_FACTOR));
+        int from = Math.max(0, Math.min(center - window / 2, words.length - window));
+        int to = from + window;
+        return collect(target, k, from, to, excluded, confusableOrder, random);
+    }
+
+    /**
+     * 在 [from, to) 范围内（排除 excluded）抽取 k 个有效释义
+     * @param order 不为空时，范围内的下标需经 order 映射到单词数组
+     */
+    private List<String> collect(DictionaryWordEntity target, int k, int from, int to, int excluded,
+                                 int[] order, Random random) {
+        List<String> result = new ArrayList<>(k);
+        int range = to - from - (excluded >= from && excluded < to ? 1 : 0);
+        if (k <= 0 || range <= 0) {
+            return result;
+        }
+
+        Set<String> usedTranslations = new HashSet<>();
+        usedTranslations.add(target.getTranslation());
+        List<Integer> first = floyd(range, Math.min(k, range), random);
+        Set<Integer> picked = new HashSet<>(first);
+        for (int offset : first) {
+            addIfValid(wordAt(from, offset, excluded, order), usedTranslations, result);
+        }
+
+        // 部分单词释义为空或与其他选项重复时，在同一范围内补抽
+        int attempts = 0;
+        while (result.size() < k && picked.size() < range && attempts < MAX_EXTRA_ATTEMPTS) {
+            int offset = random.nextInt(range);
+            if (picked.add(offset)) {
+                addIfValid(wordAt(from, offset, excluded, order), usedTranslations, result);
+            }
+            attempts++;
+        }
+        return result;
+    }
+
+    /**
+     * Floyd 算法：从 [0, n) 中等概率抽取 k 个不同整数，O(k) 时间与空间
+     * @return 按抽取顺序排列的列表（不按 HashSet 的哈希顺序，否则小下标总是排在前面）
+     */
+    static List<Integer> floyd(int n, int k, Random random) {
+        Set<Integer> seen = new HashSet<>(k * 2);
+        List<Integer> selected = new ArrayList<>(k);
+        for (int j = n - k; j < n; j++) {
+            int t = random.nextInt(j + 1);
+            if (!seen.add(t)) {
+                t = j;
+                seen.add(j);
+            }
+            selected.add(t);
+        }
+        return selected;
+    }
+
+    private DictionaryWordEntity wordAt(int from, int offset, int excluded, int[] order) {
+        int slot = from + offset;
+        if (excluded >= from && slot >= excluded) {
+            slot++;
+        }
+        return words[order != null ? order[slot] : slot];
+    }
+
+    private void addIfValid(DictionaryWordEntity word, Set<String> usedTranslations, List<String> result) {
+        String translation = word.getTranslation();
+        if (translation != null && !translation.isEmpty() && usedTranslations.add(translation)) {
+            result.add(translation);
+        }
+    }
+
+    private synchronized void ensureConfusableOrder() {
+        if (confusableOrder != null) {
+            return;
+        }
+        Integer[] boxed = new Integer[words.length];
+        for (int i = 0; i < boxed.length; i++) {
+            boxed[i] = i;
+        }
+        Arrays.sort(boxed, (a, b) -> compare(words[a], words[b]));
+
+        int[] order = new int[words.length];
+        int[] rank = new int[words.length];
+        for (int i = 0; i < boxed.length; i++) {
+            order[i] = boxed[i];
+            rank[boxed[i]] = i;
+        }
+        confusableRank = rank;
+        confusableOrder = order;
+    }
+
+    private int insertionPoint(DictionaryWordEntity target) {
+        int low = 0;
+        int high = confusableOrder.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(words[confusableOrder[mid]], target) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return Math.min(low, Math.max(0, confusableOrder.length - 1));
+    }
+
+    private static int compare(DictionaryWordEntity a, DictionaryWordEntity b) {
+        int byDifficulty = Integer.compare(a.getDifficulty(), b.getDifficulty());
+        return byDifficulty != 0 ? byDifficulty : Float.compare(a.getFrequency(), b.getFrequency());
+    }
+}
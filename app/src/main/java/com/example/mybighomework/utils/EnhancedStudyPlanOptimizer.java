@@ -6,9 +6,10 @@ import android.util.Log;
 
 import com.example.mybighomework.StudyPlan;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -27,6 +28,8 @@ public class EnhancedStudyPlanOptimizer {
     private SmartReminderManager reminderManager;
     private SharedPreferences preferences;
     private ScheduledExecutorService scheduledExecutor;
+    // 本实例注册的定时任务，关闭时取消（调度器为应用共享，不关闭）
+    private final List<ScheduledFuture<?>> scheduledTasks = new ArrayList<>();
     
     // 优化器配置
     private boolean autoCleanupEnabled = true;
@@ -36,7 +39,7 @@ public class EnhancedStudyPlanOptimizer {
     public EnhancedStudyPlanOptimizer(Context context) {
         this.context = context;
         this.preferences = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
-        this.scheduledExecutor = Executors.newScheduledThreadPool(2);
+        this.scheduledExecutor = AppExecutorsYSJ.getInstance().scheduler();
         
         initializeComponents();
         setupAutomaticTasks();
@@ -64,18 +67,18 @@ public class EnhancedStudyPlanOptimizer {
     private void setupAutomaticTasks() {
         if (autoCleanupEnabled) {
             // 每小时清理过期缓存
-            scheduledExecutor.scheduleAtFixedRate(() -> {
+            scheduledTasks.add(scheduledExecutor.scheduleAtFixedRate(() -> {
                 if (recommendationEngine != null) {
                     recommendationEngine.cleanupExpiredCache();
                 }
-            }, 1, 1, TimeUnit.HOURS);
+            }, 1, 1, TimeUnit.HOURS));
         }
         
         if (performanceMonitoringEnabled) {
             // 每30分钟记录性能统计
-            scheduledExecutor.scheduleAtFixedRate(() -> {
+            scheduledTasks.add(scheduledExecutor.scheduleAtFixedRate(() -> {
                 logPerformanceStats();
-            }, 30, 30, TimeUnit.MINUTES);
+            }, 30, 30, TimeUnit.MINUTES));
         }
     }
     
@@ -376,7 +379,7 @@ public class EnhancedStudyPlanOptimizer {
     public void forceRefreshAll(OnRefreshCompleteListener listener) {
         Log.d(TAG, "开始强制刷新所有数据");
         
-        scheduledExecutor.execute(() -> {
+        AppExecutorsYSJ.getInstance().diskIO(AppExecutorsYSJ.Priority.BACKGROUND).execute(() -> {
             try {
                 // 清除所有缓存
                 if (recommendationEngine != null) {
@@ -425,9 +428,10 @@ public class EnhancedStudyPlanOptimizer {
     public void shutdown() {
         try {
             // 关闭定时任务
-            if (scheduledExecutor != null && !scheduledExecutor.isShutdown()) {
-                scheduledExecutor.shutdown();
+            for (ScheduledFuture<?> task : scheduledTasks) {
+                task.cancel(false);
             }
+            scheduledTasks.clear();
             
             // 关闭各个组件
             if (recommendationEngine != null) {
@@ -0,0 +1,136 @@
+package com.example.mybighomework.utils;
+
+import com.example.mybighomework.database.entity.WordLearningProgressEntity;
+
+/**
+ * FSRS（Free Spaced Repetition Scheduler，v4.5 公式）复习调度
+ *
+ * 每个单词记录稳定性 S（回忆概率降到 90% 所需的天数）和难度 D（1-10）：
+ * - 回忆概率 R = (1 + FACTOR * t / S) ^ DECAY，t 为距上次学习的天数
+ * - 答对：S 按 D、S 和当时的 R 增长，越难回忆时答对增长越多
+ * - 答错：S 下降，并在 relearnMinutes 分钟后重新复习
+ * - 下次复习间隔取 R 降到目标保持率时的天数
+ * 答题只有对错两种结果，分别对应 FSRS 的 Good(3) 和 Again(1)
+ */
+public class FsrsSchedulerYSJ implements ReviewSchedulerYSJ {
+
+    // FSRS-4.5 默认权重
+    static final double[] DEFAULT_WEIGHTS = {
+        0.4872, 1.4003, 3.7145, 13.8206, 5.1618, 1.2298, 0.8975, 0.031, 1.6474,
+        0.1367, 1.0461, 2.1072, 0.0793, 0.3246, 1.587, 0.2272, 2.8755
+    };
+
+    private static final double DECAY = -0.5;
+    private static final double FACTOR = 19.0 / 81;
+    private static final double MIN_STABILITY = 0.1;
+
+    private static final int GRADE_AGAIN = 1;
+    private static final int GRADE_GOOD = 3;
+    private static final int GRADE_EASY = 4;
+
+    private final double[] w;
+    private final double requestRetention;
+    private final int maximumIntervalDays;
+    private final long relearnMillis;
+
+    public FsrsSchedulerYSJ(double[] weights, double requestRetention, int maximumIntervalDays, int relearnMinutes) {
+        this.w = weights;
+        this.requestRetention = Math.max(0.7, Math.min(0.97, requestRetention));
+        this.maximumIntervalDays = Math.max(1, maximumIntervalDays);
+        this.relearnMillis = Math.max(1, relearnMinutes) * MINUTE_MILLIS;
+    }
+
+    @Override
+    public void schedule(WordLearningProgressEntity progress, boolean isCorrect, long now) {
+        int grade = isCorrect ? GRADE_GOOD : GRADE_AGAIN;
+        double stability = progress.getStability();
+        double difficulty = progress.getDifficulty();
+
+        if (stability <= 0 && progress.getReviewCount() > 0) {
+            // 调度器上线前学习的单词：用旧的复习间隔作为初始稳定性
+            long interval = progress.getNextReviewTime() - progress.getLastStudyTime();
+            stability = Math.max(MIN_STABILITY, (double) interval / DAY_MILLIS);
+            difficulty = initDifficulty(GRADE_GOOD);
+        }
+
+        if (stability <= 0) {
+            // 第一次学习
+            stability = w[grade - 1];
+            difficulty = initDifficulty(grade);
+        } else {
+            double elapsedDays = Math.max(0, (double) (now - progress.getLastStudyTime()) / DAY_MILLIS);
+            double retrievability = retrievability(elapsedDays, stability);
+            double nextStability = isCorrect
+                    ? recallStability(difficulty, stability, retrievability)
+                    : forgetStability(difficulty, stability, retrievability);
+            difficulty = nextDifficulty(difficulty, grade);
+            stability = Math.max(MIN_STABILITY, nextStability);
+        }
+
+        progress.setStability(stability);
+        progress.setDifficulty(difficulty);
+        progress.setNextReviewTime(isCorrect ? now + nextIntervalDays(stability) * DAY_MILLIS : now + relearnMillis);
+    }
+
+    /**
+     * 经过 elapsedDays 天后的回忆概率
+     */
+    static double retrievability(double elapsedDays, double stability) {
+        return Math.pow(1 + FACTOR * elapsedDays / stability, DECAY);
+    }
+
+    /**
+     * 回忆概率降到目标保持率所需的天数
+     */
+    int nextIntervalDays(double stability) {
+        double interval = stability / FACTOR * (Math.pow(requestRetention, 1 / DECAY) - 1);
+        return (int) Math.max(1, Math.min(maximumIntervalDays, Math.round(interval)));
+    }
+
+    private double initDifficulty(int grade) {
+        return clampDifficulty(w[4] - (grade - 3) * w[5]);
+    }
+
+    private double nextDifficulty(double difficulty, int grade) {
+        double next = difficulty - w[6] * (grade - 3);
+        // 向“简单”评分的初始难度回归，避免难度一直累积
+        return clampDifficulty(w[7] * initDifficulty(GRADE_EASY) + (1 - w[7]) * next);
+    }
+
+    private double recallStability(double difficulty, double stability, double retrievability) {
+        return stability * (1 + Math.exp(w[8]) * (11 - difficulty) * Math.pow(stability, -w[9])
+                * (Math.exp(w[10] * (1 - retrievability)) - 1));
+    }
+
+    private double forgetStability(double difficulty, double stability, double retrievability) {
+        double next = w[11] * Math.pow(difficulty, -w[12]) * (Math.pow(stability + 1, w[13]) - 1)
+                * Math.exp(w[14] * (1 - retrievability));
+        return Math.min(next, stability);
+    }
+
+    private static double clampDifficulty(double difficulty) {
+        return Math.max(1, Math.min(10, difficulty));
+    }
+
+    /**
+     * 解析逗号分隔的权重，格式不对时使用默认权重
+     */
+    static double[] parseWeights(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return DEFAULT_WEIGHTS;
+        }
+        String[] parts = text.split(",");
+        if (parts.length != DEFAULT_WEIGHTS.length) {
+            return DEFAULT_WEIGHTS;
+        }
+        double[] weights = new double[parts.length];
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                weights[i] = Double.parseDouble(parts[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            return DEFAULT_WEIGHTS;
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.mybighomework.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 拼写纠错索引（BK 树）
+ * 按编辑距离（Levenshtein）组织单词：子节点按与父节点的距离分支，查询距离不超过 d 的单词时，
+ * 由三角不等式只需进入距离在 [dist - d, dist + d] 之间的分支，不必与全部单词比较。
+ *
+ * 节点存放在并行数组中（首个子节点 / 下一个兄弟节点 / 与父节点的距离），不为每个节点创建对象，
+ * 十万级单词只占几 MB。构建后只读，可在多个线程同时查询
+ */
+public class FuzzyWordIndexYSJ {
+
+    /**
+     * 一条纠错结果
+     */
+    public static class Match {
+        public final String id;
+        public final String word;
+        public final int distance;
+        public final float frequency;
+
+        Match(String id, String word, int distance, float frequency) {
+            this.id = id;
+            this.word = word;
+            this.distance = distance;
+            this.frequency = frequency;
+        }
+    }
+
+    private static final int NONE = -1;
+    // 每检查这么多个节点看一次是否已取消
+    private static final int CANCEL_CHECK_INTERVAL = 256;
+
+    private final String[] ids;
+    private final String[] words;       // 小写
+    private final float[] frequencies;
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    private final int[] edgeDistance;
+    private int size;
+
+    /**
+     * @param ids 单词ID
+     * @param words 单词，与 ids 一一对应；为空的跳过
+     * @param frequencies 词频，距离相同时高频词优先
+     */
+    public FuzzyWordIndexYSJ(String[] ids, String[] words, float[] frequencies) {
+        int capacity = ids.length;
+        this.ids = new String[capacity];
+        this.words = new String[capacity];
+        this.frequencies = new float[capacity];
+        this.firstChild = new int[capacity];
+        this.nextSibling = new int[capacity];
+        this.edgeDistance = new int[capacity];
+
+        LevenshteinBuffer buffer = new LevenshteinBuffer();
+        for (int i = 0; i < capacity; i++) {
+            if (words[i] == null || words[i].isEmpty()) {
+                continue;
+            }
+            add(ids[i], words[i].toLowerCase(Locale.ROOT), frequencies[i], buffer);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 查找编辑距离不超过 maxDistance 的单词，按距离升序、词频降序排列
+     * @param cancelled 返回 true 时提前结束并返回已找到的结果，可为 null
+     */
+    public List<Match> search(String query, int maxDistance, int limit, BooleanSupplier cancelled) {
+        List<Match> matches = new ArrayList<>();
+        if (size == 0 || query == null || query.isEmpty() || limit <= 0) {
+            return matches;
+        }
+        String target = query.toLowerCase(Locale.ROOT);
+        LevenshteinBuffer buffer = new LevenshteinBuffer();
+
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = 0;
+        int visited = 0;
+        while (top > 0) {
+            if (cancelled != null && ++visited % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+                break;
+            }
+            int node = stack[--top];
+            int distance = buffer.distance(target, words[node]);
+            if (distance <= maxDistance) {
+                matches.add(new Match(ids[node], words[node], distance, frequencies[node]));
+            }
+            int low = distance - maxDistance;
+            int high = distance + maxDistance;
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                int edge = edgeDistance[child];
+                if (edge >= low && edge <= high) {
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+                    }
+                    stack[top++] = child;
+                }
+            }
+        }
+
+        matches.sort((a, b) -> a.distance != b.distance
+                ? Integer.compare(a.distance, b.distance)
+                : Float.compare(b.frequency, a.frequency));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    private void add(String id, String word, float frequency, LevenshteinBuffer buffer) {
+        int index = size++;
+        ids[index] = id;
+        words[index] = word;
+        frequencies[index] = frequency;
+        firstChild[index] = NONE;
+        nextSibling[index] = NONE;
+        if (index == 0) {
+            return;
+        }
+
+        int node = 0;
+        while (true) {
+            int distance = buffer.distance(word, words[node]);
+            int child = firstChild[node];
+            while (child != NONE && edgeDistance[child] != distance) {
+                child = nextSibling[child];
+            }
+            if (child == NONE) {
+                // 新分支插在兄弟链表头部
+                edgeDistance[index] = distance;
+                nextSibling[index] = firstChild[node];
+                firstChild[node] = index;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * 编辑距离计算的行缓冲，避免每次比较分配数组；每个线程使用自己的实例
+     */
+    private static class LevenshteinBuffer {
+        private int[] previous = new int[32];
+        private int[] current = new int[32];
+
+        int distance(String a, String b) {
+            int n = a.length();
+            int m = b.length();
+            if (n == 0) {
+                return m;
+            }
+            if (m == 0) {
+                return n;
+            }
+            if (previous.length <= m) {
+                previous = new int[m + 1];
+                current = new int[m + 1];
+            }
+            for (int j = 0; j <= m; j++) {
+                previous[j] = j;
+            }
+            for (int i = 1; i <= n; i++) {
+                char ca = a.charAt(i - 1);
+                current[0] = i;
+                for (int j = 1; j <= m; j++) {
+                    int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                    current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                }
+                int[] swap = previous;
+                previous = current;
+                current = swap;
+            }
+            return previous[m];
+        }
+    }
+}
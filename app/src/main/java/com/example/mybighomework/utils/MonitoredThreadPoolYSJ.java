@@ -0,0 +1,279 @@
+package com.example.mybighomework.utils;
+
+import androidx.annotation.NonNull;
+
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 带优先级队列和运行统计的固定大小线程池
+ *
+ * 队列按（优先级，提交顺序）排序：同一优先级内先进先出，因此单线程池
+ * 对同一优先级的任务仍保证顺序执行。空闲线程超时后回收，不常用的池不占线程
+ */
+public class MonitoredThreadPoolYSJ extends ThreadPoolExecutor {
+
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private static final Comparator<Runnable> TASK_ORDER = (a, b) -> {
+        Ordered x = (Ordered) a;
+        Ordered y = (Ordered) b;
+        if (x.priority() != y.priority()) {
+            return Integer.compare(x.priority(), y.priority());
+        }
+        return Long.compare(x.sequence(), y.sequence());
+    };
+
+    private final String name;
+    private final AtomicLong sequence = new AtomicLong();
+
+    // 统计数据
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong totalRunNanos = new AtomicLong();
+    private final AtomicLong maxRunNanos = new AtomicLong();
+    private final ThreadLocal<Long> runStartNanos = new ThreadLocal<>();
+
+    /**
+     * @param name 线程池名称，用于线程名和统计
+     * @param threads 最大线程数
+     * @param threadPriority 线程优先级（Thread.MIN_PRIORITY ~ Thread.MAX_PRIORITY）
+     */
+    public MonitoredThreadPoolYSJ(String name, int threads, int threadPriority) {
+        super(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<>(16, TASK_ORDER),
+                new NamedThreadFactory(name, threadPriority));
+        this.name = name;
+        allowCoreThreadTimeOut(true);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void execute(@NonNull Runnable command) {
+        if (!(command instanceof Ordered)) {
+            command = new OrderedRunnable(command, AppExecutorsYSJ.Priority.NORMAL, sequence.incrementAndGet());
+        }
+        submittedCount.incrementAndGet();
+        super.execute(command);
+    }
+
+    /**
+     * 按指定优先级执行
+     */
+    public void execute(@NonNull Runnable command, @NonNull AppExecutorsYSJ.Priority priority) {
+        execute(new OrderedRunnable(command, priority, sequence.incrementAndGet()));
+    }
+
+    /**
+     * 按指定优先级提交，返回的 Future 可用于取消
+     */
+    public Future<?> submit(@NonNull Runnable task, @NonNull AppExecutorsYSJ.Priority priority) {
+        RunnableFuture<Void> future = new OrderedFuture<>(
+                Executors.callable(task, null), priority, sequence.incrementAndGet());
+        execute(future);
+        return future;
+    }
+
+    /**
+     * 返回指定优先级的执行器
+     */
+    public Executor lane(@NonNull AppExecutorsYSJ.Priority priority) {
+        return command -> execute(command, priority);
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+        return new OrderedFuture<>(Executors.callable(runnable, value),
+                AppExecutorsYSJ.Priority.NORMAL, sequence.incrementAndGet());
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+        return new OrderedFuture<>(callable, AppExecutorsYSJ.Priority.NORMAL, sequence.incrementAndGet());
+    }
+
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        super.beforeExecute(t, r);
+        long now = System.nanoTime();
+        long wait = now - ((Ordered) r).enqueuedNanos();
+        totalWaitNanos.addAndGet(wait);
+        maxWaitNanos.accumulateAndGet(wait, Math::max);
+        runStartNanos.set(now);
+    }
+
+    @Override
+    protected void afterExecute(Runnable r, Throwable t) {
+        super.afterExecute(r, t);
+        Long start = runStartNanos.get();
+        if (start != null) {
+            long run = System.nanoTime() - start;
+            totalRunNanos.addAndGet(run);
+            maxRunNanos.accumulateAndGet(run, Math::max);
+            runStartNanos.remove();
+        }
+        completedCount.incrementAndGet();
+    }
+
+    /**
+     * 当前统计快照
+     */
+    public Stats snapshot() {
+        long completed = completedCount.get();
+        return new Stats(name, getMaximumPoolSize(), getPoolSize(), getActiveCount(), getQueue().size(),
+                submittedCount.get(), completed,
+                completed == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get() / completed),
+                TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()),
+                completed == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalRunNanos.get() / completed),
+                TimeUnit.NANOSECONDS.toMillis(maxRunNanos.get()));
+    }
+
+    /**
+     * 线程池统计快照
+     */
+    public static final class Stats {
+        public final String name;
+        public final int maxThreads;       // 线程上限
+        public final int liveThreads;      // 当前存活线程数
+        public final int activeThreads;    // 正在执行任务的线程数
+        public final int queueDepth;       // 排队中的任务数
+        public final long submitted;
+        public final long completed;
+        public final long avgWaitMillis;   // 平均排队时间
+        public final long maxWaitMillis;
+        public final long avgRunMillis;    // 平均执行时间
+        public final long maxRunMillis;
+
+        Stats(String name, int maxThreads, int liveThreads, int activeThreads, int queueDepth,
+              long submitted, long completed, long avgWaitMillis, long maxWaitMillis,
+              long avgRunMillis, long maxRunMillis) {
+            this.name = name;
+            this.maxThreads = maxThreads;
+            this.liveThreads = liveThreads;
+            this.activeThreads = activeThreads;
+            this.queueDepth = queueDepth;
+            this.submitted = submitted;
+            this.completed = completed;
+            this.avgWaitMillis = avgWaitMillis;
+            this.maxWaitMillis = maxWaitMillis;
+            this.avgRunMillis = avgRunMillis;
+            this.maxRunMillis = maxRunMillis;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.US,
+                    "%s: threads %d/%d active %d queued %d done %d/%d wait avg %dms max %dms run avg %dms max %dms",
+                    name, liveThreads, maxThreads, activeThreads, queueDepth, completed, submitted,
+                    avgWaitMillis, maxWaitMillis, avgRunMillis, maxRunMillis);
+        }
+    }
+
+    /**
+     * 队列中的任务：带优先级、提交序号和入队时间
+     */
+    private interface Ordered {
+        int priority();
+        long sequence();
+        long enqueuedNanos();
+    }
+
+    private static final class OrderedRunnable implements Runnable, Ordered {
+        private final Runnable delegate;
+        private final int priority;
+        private final long sequence;
+        private final long enqueuedNanos = System.nanoTime();
+
+        OrderedRunnable(Runnable delegate, AppExecutorsYSJ.Priority priority, long sequence) {
+            this.delegate = delegate;
+            this.priority = priority.ordinal();
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void run() {
+            delegate.run();
+        }
+
+        @Override
+        public int priority() {
+            return priority;
+        }
+
+        @Override
+        public long sequence() {
+            return sequence;
+        }
+
+        @Override
+        public long enqueuedNanos() {
+            return enqueuedNanos;
+        }
+    }
+
+    private static final class OrderedFuture<T> extends FutureTask<T> implements Ordered {
+        private final int priority;
+        private final long sequence;
+        private final long enqueuedNanos = System.nanoTime();
+
+        OrderedFuture(Callable<T> callable, AppExecutorsYSJ.Priority priority, long sequence) {
+            super(callable);
+            this.priority = priority.ordinal();
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int priority() {
+            return priority;
+        }
+
+        @Override
+        public long sequence() {
+            return sequence;
+        }
+
+        @Override
+        public long enqueuedNanos() {
+            return enqueuedNanos;
+        }
+    }
+
+    /**
+     * 按池名编号的线程工厂
+     */
+    private static final class NamedThreadFactory implements ThreadFactory {
+        private final String name;
+        private final int priority;
+        private final AtomicInteger count = new AtomicInteger();
+
+        NamedThreadFactory(String name, int priority) {
+            this.name = name;
+            this.priority = priority;
+        }
+
+        @Override
+        public Thread newThread(@NonNull Runnable r) {
+            Thread t = new Thread(r, name + "-" + count.incrementAndGet());
+            t.setPriority(priority);
+            return t;
+        }
+    }
+}
@@ -15,7 +15,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.Arrays;
@@ -181,7 +180,7 @@ public class PersonalizedRecommendationEngine {
     public PersonalizedRecommendationEngine(Context context) {
         this.context = context;
         this.database = AppDatabase.getInstance(context);
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.executorService = AppExecutorsYSJ.getInstance().diskIO();
         
         // 初始化ML模型
         initializeMLModel();
@@ -1290,9 +1289,7 @@ public class PersonalizedRecommendationEngine {
      * 释放资源
      */
     public void shutdown() {
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
-        }
+        // 使用应用级共享线程池，不在这里关闭
         
         // 清理缓存
         clearCache();
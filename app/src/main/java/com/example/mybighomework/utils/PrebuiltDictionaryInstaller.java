@@ -0,0 +1,192 @@
+package com.example.mybighomework.utils;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.mybighomework.database.AppDatabase;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * 预置词典数据库安装器
+ *
+ * 构建时由 Gradle 任务 buildPrebuiltDictionary 把 dictionary_data 下的 CSV
+ * 转换为 SQLite 文件（assets/dictionary_data/dictionary.db），表结构与
+ * DictionaryWordEntity / BookEntity / BookWordRelationEntity 一致。
+ *
+ * 首次启动时把该文件复制到本地，在独立连接上 ATTACH 主数据库，
+ * 用 INSERT ... SELECT 在 SQLite 内部整表拷贝，不再逐行解析 CSV。
+ * 不在 Room 的连接上 ATTACH，是因为框架会因此永久关闭该连接池的 WAL。
+ */
+public class PrebuiltDictionaryInstaller {
+    private static final String TAG = "PrebuiltDictInstaller";
+
+    // 预置数据库在 assets 中的路径（由构建任务生成）
+    public static final String ASSET_PATH = "dictionary_data/dictionary.db";
+
+    // 复制到本地的临时文件名
+    private static final String LOCAL_FILE_NAME = "prebuilt_dictionary.db";
+
+    // 每个事务拷贝的行数，避免长时间持有主库写锁阻塞 Room 写入
+    private static final int COPY_CHUNK_SIZE = 50000;
+
+    private static final String ATTACH_ALIAS = "app";
+
+    // 拷贝顺序：先父表后子表
+    private static final String[][] TABLES = {
+        {"dictionary_words",
+            "id, word, phoneticUk, phoneticUs, frequency, difficulty, acknowledgeRate, translation"},
+        {"books",
+            "id, parentId, level, bookOrder, name, itemNum, directItemNum, author, fullName, " +
+            "comment, organization, publisher, version, flag"},
+        {"book_word_relations",
+            "id, bookId, wordId, flag, tag, wordOrder"}
+    };
+
+    private final Context context;
+    private final AppDatabase database;
+
+    /**
+     * 安装结果
+     */
+    public static class InstallResult {
+        public int wordCount;
+        public int bookCount;
+        public int relationCount;
+        public long durationMs;
+
+        @Override
+        public String toString() {
+            return "InstallResult{" +
+                    "wordCount=" + wordCount +
+                    ", bookCount=" + bookCount +
+                    ", relationCount=" + relationCount +
+                    ", durationMs=" + durationMs +
+                    '}';
+        }
+    }
+
+    public PrebuiltDictionaryInstaller(Context context, AppDatabase database) {
+        this.context = context.getApplicationContext();
+        this.database = database;
+    }
+
+    /**
+     * APK 中是否带有预置数据库
+     */
+    public boolean isAvailable() {
+        try (InputStream ignored = context.getAssets().open(ASSET_PATH)) {
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 从 assets 安装预置数据库
+     */
+    public InstallResult install() throws IOException {
+        File localFile = new File(context.getNoBackupFilesDir(), LOCAL_FILE_NAME);
+        try {
+            copyAsset(localFile);
+            return installFrom(localFile);
+        } finally {
+            deleteQuietly(localFile);
+        }
+    }
+
+    /**
+     * 从指定的预置数据库文件安装
+     * 文件会以读写方式打开（ATTACH 的写入需要读写连接），调用方应传入副本
+     */
+    public InstallResult installFrom(@NonNull File prebuiltFile) {
+        long startTime = System.currentTimeMillis();
+
+        // 确保主库已由 Room 创建并完成迁移
+        String mainDbPath = database.getOpenHelper().getWritableDatabase().getPath();
+
+        InstallResult result = new InstallResult();
+        SQLiteDatabase prebuilt = SQLiteDatabase.openDatabase(
+                prebuiltFile.getPath(), null, SQLiteDatabase.OPEN_READWRITE);
+        try {
+            int version = prebuilt.getVersion();
+            if (version < DictionaryDataImporter.CURRENT_DATA_VERSION) {
+                throw new IllegalStateException("预置词典版本过旧: " + version);
+            }
+
+            prebuilt.execSQL("ATTACH DATABASE ? AS " + ATTACH_ALIAS, new Object[]{mainDbPath});
+            try {
+                result.wordCount = copyTable(prebuilt, TABLES[0][0], TABLES[0][1]);
+                result.bookCount = copyTable(prebuilt, TABLES[1][0], TABLES[1][1]);
+                result.relationCount = copyTable(prebuilt, TABLES[2][0], TABLES[2][1]);
+            } finally {
+                prebuilt.execSQL("DETACH DATABASE " + ATTACH_ALIAS);
+            }
+        } finally {
+            prebuilt.close();
+        }
+
+        result.durationMs = System.currentTimeMillis() - startTime;
+        Log.d(TAG, "预置词典安装完成: " + result);
+        return result;
+    }
+
+    /**
+     * 按 rowid 分段把预置表拷贝到主库，每段一个事务
+     */
+    private int copyTable(SQLiteDatabase prebuilt, String table, String columns) {
+        long maxRowId = queryLong(prebuilt, "SELECT IFNULL(MAX(rowid), 0) FROM main." + table);
+        String sql = "INSERT OR IGNORE INTO " + ATTACH_ALIAS + "." + table + " (" + columns + ") " +
+                "SELECT " + columns + " FROM main." + table + " WHERE rowid > ? AND rowid <= ?";
+
+        for (long from = 0; from < maxRowId; from += COPY_CHUNK_SIZE) {
+            prebuilt.beginTransaction();
+            try {
+                prebuilt.execSQL(sql, new Object[]{from, from + COPY_CHUNK_SIZE});
+                prebuilt.setTransactionSuccessful();
+            } finally {
+                prebuilt.endTransaction();
+            }
+        }
+
+        int count = (int) queryLong(prebuilt, "SELECT COUNT(*) FROM " + ATTACH_ALIAS + "." + table);
+        Log.d(TAG, table + " 拷贝完成: " + count + " 条");
+        return count;
+    }
+
+    private long queryLong(SQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.rawQuery(sql, null)) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0;
+        }
+    }
+
+    private void copyAsset(File target) throws IOException {
+        try (InputStream in = context.getAssets().open(ASSET_PATH);
+             OutputStream out = new FileOutputStream(target)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private void deleteQuietly(File file) {
+        if (file.exists() && !file.delete()) {
+            Log.w(TAG, "删除临时文件失败: " + file);
+        }
+        // SQLite 可能留下日志文件
+        File journal = new File(file.getPath() + "-journal");
+        if (journal.exists()) {
+            journal.delete();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.mybighomework.utils;
+
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 发音音频磁盘缓存
+ * 以 (单词, 口音) 为键，按总字节数限制大小，超出时淘汰最久未使用的文件
+ * 创建时不访问磁盘，第一次使用时才扫描目录恢复索引，所有方法需在后台线程调用
+ */
+public class PronunciationDiskCache {
+
+    private static final String TAG = "PronunciationDiskCache";
+    private static final String FILE_SUFFIX = ".mp3";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final File directory;
+    private final long maxBytes;
+    // accessOrder=true：迭代顺序即最近最少使用顺序
+    private final LinkedHashMap<String, File> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+    private boolean indexLoaded;
+
+    public PronunciationDiskCache(File directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 提前扫描缓存目录，之后的第一次查询不再等待
+     */
+    public synchronized void preload() {
+        ensureIndexLoaded();
+    }
+
+    /**
+     * 获取缓存的音频文件
+     * @return 缓存文件，未命中时返回 null
+     */
+    public synchronized File get(String word, int accent) {
+        ensureIndexLoaded();
+        String key = keyOf(word, accent);
+        File file = entries.get(key);
+        if (file == null) {
+            return null;
+        }
+        if (!file.exists()) {
+            entries.remove(key);
+            return null;
+        }
+        // 更新修改时间，重启后仍能恢复 LRU 顺序
+        file.setLastModified(System.currentTimeMillis());
+        return file;
+    }
+
+    /**
+     * 写入音频数据，先写临时文件再重命名，避免读到写了一半的文件
+     */
+    public File put(String word, int accent, byte[] data) throws IOException {
+        String key = keyOf(word, accent);
+        synchronized (this) {
+            // 索引加载时会创建缓存目录
+            ensureIndexLoaded();
+        }
+        File target = new File(directory, key + FILE_SUFFIX);
+        File temp = new File(directory, key + TEMP_SUFFIX + Thread.currentThread().getId());
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            out.write(data);
+        }
+
+        synchronized (this) {
+            File old = entries.remove(key);
+            if (old != null) {
+                totalBytes -= old.length();
+            }
+            if (!temp.renameTo(target)) {
+                temp.delete();
+                throw new IOException("写入发音缓存失败: " + target);
+            }
+            entries.put(key, target);
+            totalBytes += target.length();
+            trimToSize();
+        }
+        return target;
+    }
+
+    public synchronized boolean contains(String word, int accent) {
+        ensureIndexLoaded();
+        return entries.containsKey(keyOf(word, accent));
+    }
+
+    public synchronized long size() {
+        ensureIndexLoaded();
+        return totalBytes;
+    }
+
+    public synchronized int count() {
+        ensureIndexLoaded();
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        ensureIndexLoaded();
+        for (File file : entries.values()) {
+            file.delete();
+        }
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    private void trimToSize() {
+        Iterator<Map.Entry<String, File>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            File eldest = iterator.next().getValue();
+            totalBytes -= eldest.length();
+            eldest.delete();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * 第一次使用时按修改时间恢复已有缓存，清理残留的临时文件（调用方持有锁）
+     */
+    private void ensureIndexLoaded() {
+        if (indexLoaded) {
+            return;
+        }
+        indexLoaded = true;
+        if (!directory.exists() && !directory.mkdirs()) {
+            Log.w(TAG, "创建缓存目录失败: " + directory);
+            return;
+        }
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (File file : files) {
+            String name = file.getName();
+            if (name.endsWith(FILE_SUFFIX)) {
+                entries.put(name.substring(0, name.length() - FILE_SUFFIX.length()), file);
+                totalBytes += file.length();
+            } else {
+                file.delete();
+            }
+        }
+        trimToSize();
+    }
+
+    /**
+     * 单词可能含空格和特殊字符，用哈希作为文件名
+     */
+    static String keyOf(String word, int accent) {
+        String raw = word.trim().toLowerCase() + "#" + accent;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            byte[] hash = digest.digest(raw.getBytes("UTF-8"));
+            StringBuilder sb = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException | IOException e) {
+            return Integer.toHexString(raw.hashCode()) + "_" + accent;
+        }
+    }
+}
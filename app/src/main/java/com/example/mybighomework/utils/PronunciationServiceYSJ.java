@@ -0,0 +1,344 @@
+package com.example.mybighomework.utils;
+
+import android.content.Context;
+import android.media.AudioAttributes;
+import android.media.MediaPlayer;
+import android.util.Log;
+
+import com.example.mybighomework.network.HttpClientProvider;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * 单词发音服务
+ *
+ * 1. 发音音频缓存在磁盘（PronunciationDiskCache），重复复习不再重复下载
+ * 2. 学习过程中预取后续几个单词的发音，首次点击即可从本地播放
+ * 3. 全局复用一个 MediaPlayer，新的点击直接打断当前播放
+ * 4. 网络请求通过 AudioFetcher 完成，测试时可替换为本地实现
+ *
+ * 使用方式：
+ * PronunciationServiceYSJ service = PronunciationServiceYSJ.getInstance(context);
+ * service.play("apple", PronunciationServiceYSJ.ACCENT_US, callback);
+ * service.prefetch(nextWords, PronunciationServiceYSJ.ACCENT_US);
+ */
+public class PronunciationServiceYSJ {
+
+    private static final String TAG = "PronunciationService";
+
+    // 有道发音接口 type 参数：1=美式，2=英式
+    public static final int ACCENT_US = 1;
+    public static final int ACCENT_UK = 2;
+
+    // 缓存目录与大小上限（单个发音约 5~15KB）
+    private static final String CACHE_DIR_NAME = "pronunciation";
+    private static final long MAX_CACHE_BYTES = 20L * 1024 * 1024;
+
+    private static volatile PronunciationServiceYSJ INSTANCE;
+
+    /**
+     * 发音音频获取接口
+     */
+    public interface AudioFetcher {
+        byte[] fetch(String word, int accent) throws IOException;
+    }
+
+    private final PronunciationDiskCache cache;
+    private final Executor diskExecutor;
+    private final Executor fetchExecutor;
+    private final Executor mainExecutor;
+    private volatile AudioFetcher fetcher;
+
+    // 正在下载的发音，播放和预取共用同一次下载
+    private final ConcurrentHashMap<String, FutureTask<File>> inFlight = new ConcurrentHashMap<>();
+
+    // 以下字段只在主线程访问
+    private MediaPlayer mediaPlayer;
+    private AudioPlayerYSJ.AudioCallback currentCallback;
+    private int playToken;
+
+    PronunciationServiceYSJ(PronunciationDiskCache cache, AudioFetcher fetcher, Executor diskExecutor,
+                            Executor fetchExecutor, Executor mainExecutor) {
+        this.cache = cache;
+        this.fetcher = fetcher;
+        this.diskExecutor = diskExecutor;
+        this.fetchExecutor = fetchExecutor;
+        this.mainExecutor = mainExecutor;
+        // 缓存目录在磁盘线程扫描，getInstance 常在 Activity.onCreate 中调用
+        diskExecutor.execute(cache::preload);
+    }
+
+    public static PronunciationServiceYSJ getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (PronunciationServiceYSJ.class) {
+                if (INSTANCE == null) {
+                    File dir = new File(context.getApplicationContext().getCacheDir(), CACHE_DIR_NAME);
+                    AppExecutorsYSJ executors = AppExecutorsYSJ.getInstance();
+                    INSTANCE = new PronunciationServiceYSJ(
+                            new PronunciationDiskCache(dir, MAX_CACHE_BYTES),
+                            new YoudaoAudioFetcher(),
+                            executors.diskIO(),
+                            executors.networkIO(),
+                            executors.mainThread());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * 替换网络获取实现
+     */
+    public void setFetcher(AudioFetcher fetcher) {
+        this.fetcher = fetcher;
+    }
+
+    /**
+     * 播放单词发音（主线程调用）
+     * 正在播放时会直接打断，播放新的单词
+     */
+    public void play(String word, int accent, AudioPlayerYSJ.AudioCallback callback) {
+        if (word == null || word.trim().isEmpty()) {
+            if (callback != null) {
+                callback.onError("没有可播放的单词");
+            }
+            return;
+        }
+
+        stop();
+        int token = ++playToken;
+        currentCallback = callback;
+
+        // 缓存查询在磁盘线程，未命中时再交给网络线程下载
+        diskExecutor.execute(() -> {
+            File cached = cache.get(word, accent);
+            if (cached != null) {
+                mainExecutor.execute(() -> {
+                    if (token == playToken) {
+                        playFile(cached, token);
+                    }
+                });
+                return;
+            }
+            fetchExecutor.execute(() -> {
+                try {
+                    File file = load(word, accent);
+                    mainExecutor.execute(() -> {
+                        if (token == playToken) {
+                            playFile(file, token);
+                        }
+                    });
+                } catch (IOException e) {
+                    Log.w(TAG, "发音下载失败: " + word + ", " + e.getMessage());
+                    mainExecutor.execute(() -> {
+                        if (token == playToken) {
+                            notifyError("发音加载失败，请检查网络连接");
+                        }
+                    });
+                }
+            });
+        });
+    }
+
+    /**
+     * 后台预取单词发音，已缓存或正在下载的单词会被跳过
+     */
+    public void prefetch(List<String> words, int accent) {
+        if (words == null) {
+            return;
+        }
+        for (String word : words) {
+            if (word == null || word.trim().isEmpty()
+                    || inFlight.containsKey(PronunciationDiskCache.keyOf(word, accent))) {
+                continue;
+            }
+            // 已缓存的单词在 load() 中直接返回，不在主线程查询缓存
+            fetchExecutor.execute(() -> {
+                try {
+                    load(word, accent);
+                } catch (IOException e) {
+                    // 离线时预取失败不影响学习，点击时会再尝试
+                    Log.d(TAG, "预取发音失败: " + word + ", " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * 停止当前播放（主线程调用），播放器保留以便复用
+     */
+    public void stop() {
+        playToken++;
+        if (mediaPlayer != null) {
+            try {
+                mediaPlayer.reset();
+            } catch (IllegalStateException e) {
+                releasePlayer();
+            }
+        }
+        AudioPlayerYSJ.AudioCallback callback = currentCallback;
+        currentCallback = null;
+        if (callback != null) {
+            callback.onComplete();
+        }
+    }
+
+    /**
+     * 释放播放器，下次播放会重新创建
+     * 播放器由所有页面共用，只在应用级调用（见 {@link #releaseIfCreated()}），页面离开时调用 stop()
+     */
+    void release() {
+        stop();
+        releasePlayer();
+    }
+
+    /**
+     * 界面全部隐藏时由 MyApplication 调用（主线程），服务还没创建时什么也不做
+     */
+    public static void releaseIfCreated() {
+        PronunciationServiceYSJ service = INSTANCE;
+        if (service != null) {
+            service.release();
+        }
+    }
+
+    public PronunciationDiskCache getCache() {
+        return cache;
+    }
+
+    /**
+     * 获取发音文件：命中缓存直接返回，否则下载并写入缓存
+     * 同一单词的并发请求只下载一次
+     */
+    File load(String word, int accent) throws IOException {
+        File cached = cache.get(word, accent);
+        if (cached != null) {
+            return cached;
+        }
+
+        String key = PronunciationDiskCache.keyOf(word, accent);
+        FutureTask<File> task = new FutureTask<>(() -> cache.put(word, accent, fetcher.fetch(word, accent)));
+        FutureTask<File> existing = inFlight.putIfAbsent(key, task);
+        if (existing == null) {
+            try {
+                task.run();
+            } finally {
+                inFlight.remove(key, task);
+            }
+        } else {
+            task = existing;
+        }
+
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("发音下载被中断", e);
+        }
+    }
+
+    private void playFile(File file, int token) {
+        try {
+            if (mediaPlayer == null) {
+                mediaPlayer = new MediaPlayer();
+                mediaPlayer.setAudioAttributes(new AudioAttributes.Builder()
+                        .setContentType(AudioAttributes.CONTENT_TYPE_SPEECH)
+                        .setUsage(AudioAttributes.USAGE_MEDIA)
+                        .build());
+            } else {
+                mediaPlayer.reset();
+            }
+
+            mediaPlayer.setOnCompletionListener(mp -> {
+                if (token == playToken) {
+                    AudioPlayerYSJ.AudioCallback callback = currentCallback;
+                    currentCallback = null;
+                    if (callback != null) {
+                        callback.onComplete();
+                    }
+                }
+            });
+            mediaPlayer.setOnErrorListener((mp, what, extra) -> {
+                Log.e(TAG, "播放失败: what=" + what + ", extra=" + extra);
+                if (token == playToken) {
+                    notifyError("播放失败");
+                }
+                releasePlayer();
+                return true;
+            });
+
+            mediaPlayer.setDataSource(file.getPath());
+            // 本地文件准备很快，直接同步准备
+            mediaPlayer.prepare();
+            mediaPlayer.start();
+            if (currentCallback != null) {
+                currentCallback.onStart();
+            }
+        } catch (IOException | IllegalStateException e) {
+            Log.e(TAG, "播放异常", e);
+            releasePlayer();
+            notifyError("播放失败: " + e.getMessage());
+        }
+    }
+
+    private void notifyError(String message) {
+        AudioPlayerYSJ.AudioCallback callback = currentCallback;
+        currentCallback = null;
+        if (callback != null) {
+            callback.onError(message);
+        }
+    }
+
+    private void releasePlayer() {
+        if (mediaPlayer != null) {
+            try {
+                mediaPlayer.release();
+            } catch (Exception e) {
+                Log.e(TAG, "释放MediaPlayer异常", e);
+            }
+            mediaPlayer = null;
+        }
+    }
+
+    /**
+     * 有道词典发音接口
+     */
+    static class YoudaoAudioFetcher implements AudioFetcher {
+
+        @Override
+        public byte[] fetch(String word, int accent) throws IOException {
+            HttpUrl url = HttpClientProvider.resolve(HttpClientProvider.Endpoint.YOUDAO_AUDIO, "dictvoice")
+                    .newBuilder()
+                    .addQueryParameter("audio", word.trim())
+                    .addQueryParameter("type", String.valueOf(accent))
+                    .build();
+            Request request = HttpClientProvider.skipBodyLogging(new Request.Builder().url(url)).build();
+            try (Response response = HttpClientProvider.getClient(HttpClientProvider.Endpoint.YOUDAO_AUDIO)
+                    .newCall(request).execute()) {
+                if (!response.isSuccessful()) {
+                    throw new IOException("HTTP " + response.code());
+                }
+                ResponseBody body = response.body();
+                byte[] data = body != null ? body.bytes() : new byte[0];
+                if (data.length == 0) {
+                    throw new IOException("发音数据为空");
+                }
+                return data;
+            }
+        }
+    }
+}
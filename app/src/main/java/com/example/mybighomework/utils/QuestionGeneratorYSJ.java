@@ -14,11 +14,20 @@ import java.util.Random;
 public class QuestionGeneratorYSJ {
     
     private Random random;
+    private DistractorIndexYSJ.Mode distractorMode = DistractorIndexYSJ.Mode.RANDOM;
     
     public QuestionGeneratorYSJ() {
         this.random = new Random();
     }
     
+    /**
+     * 设置干扰项抽样模式
+     * @param mode RANDOM 随机抽取；CONFUSABLE 优先选择难度和词频相近的单词
+     */
+    public void setDistractorMode(DistractorIndexYSJ.Mode mode) {
+        this.distractorMode = mode;
+    }
+    
     /**
      * 生成单个选择题
      * @param targetWord 目标单词
@@ -26,11 +35,21 @@ public class QuestionGeneratorYSJ {
      * @return 题目数据
      */
     public VocabularyQuestion generateQuestion(DictionaryWordEntity targetWord, List<DictionaryWordEntity> allWords) {
+        return generateQuestion(targetWord, new DistractorIndexYSJ(allWords));
+    }
+    
+    /**
+     * 使用已构建的干扰项索引生成单个选择题
+     * @param targetWord 目标单词
+     * @param index 干扰项索引(同一批题目共用)
+     * @return 题目数据
+     */
+    public VocabularyQuestion generateQuestion(DictionaryWordEntity targetWord, DistractorIndexYSJ index) {
         // 正确答案
         String correctAnswer = targetWord.getTranslation();
         
         // 生成3个干扰项
-        List<String> distractors = generateDistractors(targetWord, allWords, 3);
+        List<String> distractors = generateDistractors(targetWord, index, 3);
         
         // 组合选项并打乱
         List<String> options = new ArrayList<>();
@@ -53,27 +72,13 @@ public class QuestionGeneratorYSJ {
     /**
      * 生成干扰项
      * @param targetWord 目标单词
-     * @param allWords 所有单词列表
+     * @param index 干扰项索引
      * @param count 需要的干扰项数量
      * @return 干扰项列表
      */
-    private List<String> generateDistractors(DictionaryWordEntity targetWord, List<DictionaryWordEntity> allWords, int count) {
-        List<String> distractors = new ArrayList<>();
-        List<DictionaryWordEntity> candidates = new ArrayList<>(allWords);
-        
-        // 移除目标单词
-        candidates.removeIf(word -> word.getId().equals(targetWord.getId()));
-        
-        // 打乱候选列表
-        Collections.shuffle(candidates);
-        
-        // 选择前N个作为干扰项
-        for (int i = 0; i < Math.min(count, candidates.size()); i++) {
-            String translation = candidates.get(i).getTranslation();
-            if (translation != null && !translation.isEmpty()) {
-                distractors.add(translation);
-            }
-        }
+    private List<String> generateDistractors(DictionaryWordEntity targetWord, DistractorIndexYSJ index, int count) {
+        // 按下标直接抽样，不再复制和打乱整个单词列表
+        List<String> distractors = index.sample(targetWord, count, distractorMode, random);
         
         // 如果干扰项不够,补充默认选项
         while (distractors.size() < count) {
@@ -90,10 +95,20 @@ public class QuestionGeneratorYSJ {
      * @return 题目列表
      */
     public List<VocabularyQuestion> generateQuestions(List<DictionaryWordEntity> targetWords, List<DictionaryWordEntity> allWords) {
+        // 整批题目只构建一次索引
+        return generateQuestions(targetWords, new DistractorIndexYSJ(allWords));
+    }
+    
+    /**
+     * 使用已构建的干扰项索引批量生成题目
+     * @param targetWords 目标单词列表
+     * @param index 干扰项索引(通常按词书缓存，见 BookRepository.getDistractorIndexSync)
+     * @return 题目列表
+     */
+    public List<VocabularyQuestion> generateQuestions(List<DictionaryWordEntity> targetWords, DistractorIndexYSJ index) {
         List<VocabularyQuestion> questions = new ArrayList<>();
-        
         for (DictionaryWordEntity word : targetWords) {
-            VocabularyQuestion question = generateQuestion(word, allWords);
+            VocabularyQuestion question = generateQuestion(word, index);
             questions.add(question);
         }
         
@@ -0,0 +1,271 @@
+package com.example.mybighomework.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * 单本词书的待复习队列
+ * 以 nextReviewTime 为键的索引最小堆：时间存放在 long[] 中，避免装箱；wordId → 堆下标的映射支持按单词更新。
+ * - 是否有到期单词、最早到期时间：O(1)
+ * - 更新/删除一个单词：O(log n)
+ * - 取 k 个最早到期的单词：O(k log k)，只访问到期的部分
+ * - 未来 N 天的到期数量预测：一次线性扫描，无需查询数据库
+ * 所有方法已同步，可在任意线程调用
+ */
+public class ReviewDueQueueYSJ {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] dueTimes = new long[INITIAL_CAPACITY];
+    private String[] wordIds = new String[INITIAL_CAPACITY];
+    private final HashMap<String, Integer> positions = new HashMap<>();
+    private int size;
+
+    /**
+     * 用已有数据整体建堆，O(n)
+     */
+    public synchronized void build(String[] ids, long[] times, int count) {
+        int capacity = Math.max(INITIAL_CAPACITY, count);
+        dueTimes = new long[capacity];
+        wordIds = new String[capacity];
+        positions.clear();
+        size = 0;
+        for (int i = 0; i < count; i++) {
+            Integer existing = positions.get(ids[i]);
+            if (existing != null) {
+                dueTimes[existing] = times[i];
+                continue;
+            }
+            dueTimes[size] = times[i];
+            wordIds[size] = ids[i];
+            positions.put(ids[i], size);
+            size++;
+        }
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    /**
+     * 加入或更新单词的下次复习时间
+     */
+    public synchronized void update(String wordId, long dueTime) {
+        Integer index = positions.get(wordId);
+        if (index == null) {
+            ensureCapacity(size + 1);
+            dueTimes[size] = dueTime;
+            wordIds[size] = wordId;
+            positions.put(wordId, size);
+            siftUp(size++);
+            return;
+        }
+        long old = dueTimes[index];
+        dueTimes[index] = dueTime;
+        if (dueTime < old) {
+            siftUp(index);
+        } else if (dueTime > old) {
+            siftDown(index);
+        }
+    }
+
+    /**
+     * 移出队列（如单词已掌握）
+     */
+    public synchronized void remove(String wordId) {
+        Integer index = positions.remove(wordId);
+        if (index == null) {
+            return;
+        }
+        int last = --size;
+        if (index != last) {
+            move(last, index);
+            siftDown(index);
+            siftUp(index);
+        }
+        wordIds[last] = null;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * 最早的复习时间，队列为空时返回 Long.MAX_VALUE
+     */
+    public synchronized long peekDueTime() {
+        return size > 0 ? dueTimes[0] : Long.MAX_VALUE;
+    }
+
+    public synchronized boolean hasDue(long now) {
+        return size > 0 && dueTimes[0] <= now;
+    }
+
+    /**
+     * 按到期先后返回最多 limit 个已到期的单词，不修改队列
+     * 从堆顶开始按时间顺序展开子节点，只访问结果附近的 O(limit) 个节点
+     */
+    public synchronized List<String> peekDue(long now, int limit) {
+        List<String> result = new ArrayList<>(Math.min(Math.max(limit, 0), size));
+        if (limit <= 0 || size == 0 || dueTimes[0] > now) {
+            return result;
+        }
+        // 候选节点的堆下标，以 dueTimes 为键的小顶堆
+        int[] frontier = new int[(int) Math.min(size, 2L * limit + 1)];
+        int frontierSize = 0;
+        frontier[frontierSize++] = 0;
+        while (frontierSize > 0 && result.size() < limit) {
+            int node = frontier[0];
+            frontier[0] = frontier[--frontierSize];
+            siftDownIndex(frontier, frontierSize, 0);
+            result.add(wordIds[node]);
+            for (int child = 2 * node + 1; child <= 2 * node + 2 && child < size; child++) {
+                if (dueTimes[child] <= now) {
+                    frontier[frontierSize] = child;
+                    siftUpIndex(frontier, frontierSize++);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 已到期的单词数，只遍历到期的子树
+     */
+    public synchronized int countDue(long now) {
+        if (size == 0 || dueTimes[0] > now) {
+            return 0;
+        }
+        int[] stack = new int[32];
+        int top = 0;
+        int count = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            count++;
+            for (int child = 2 * node + 1; child <= 2 * node + 2 && child < size; child++) {
+                if (dueTimes[child] <= now) {
+                    if (top == stack.length) {
+                        int[] grown = new int[stack.length * 2];
+                        System.arraycopy(stack, 0, grown, 0, top);
+                        stack = grown;
+                    }
+                    stack[top++] = child;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 未来 days 天每天到期的单词数，下标 0 为今天（含已过期的）
+     */
+    public synchronized int[] forecast(long now, int days) {
+        int[] buckets = new int[Math.max(days, 0)];
+        if (buckets.length == 0) {
+            return buckets;
+        }
+        for (int i = 0; i < size; i++) {
+            long delta = dueTimes[i] - now;
+            long day = delta <= 0 ? 0 : delta / ReviewSchedulerYSJ.DAY_MILLIS;
+            if (day < buckets.length) {
+                buckets[(int) day]++;
+            }
+        }
+        return buckets;
+    }
+
+    // ==================== 堆操作 ====================
+
+    private void siftUp(int index) {
+        long time = dueTimes[index];
+        String id = wordIds[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (dueTimes[parent] <= time) {
+                break;
+            }
+            move(parent, index);
+            index = parent;
+        }
+        place(index, time, id);
+    }
+
+    private void siftDown(int index) {
+        long time = dueTimes[index];
+        String id = wordIds[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && dueTimes[right] < dueTimes[child]) {
+                child = right;
+            }
+            if (time <= dueTimes[child]) {
+                break;
+            }
+            move(child, index);
+            index = child;
+        }
+        place(index, time, id);
+    }
+
+    private void move(int from, int to) {
+        dueTimes[to] = dueTimes[from];
+        wordIds[to] = wordIds[from];
+        positions.put(wordIds[to], to);
+    }
+
+    private void place(int index, long time, String id) {
+        dueTimes[index] = time;
+        wordIds[index] = id;
+        positions.put(id, index);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= dueTimes.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, dueTimes.length + (dueTimes.length >>> 1));
+        long[] times = new long[newCapacity];
+        String[] ids = new String[newCapacity];
+        System.arraycopy(dueTimes, 0, times, 0, size);
+        System.arraycopy(wordIds, 0, ids, 0, size);
+        dueTimes = times;
+        wordIds = ids;
+    }
+
+    private void siftUpIndex(int[] heap, int index) {
+        int node = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (dueTimes[heap[parent]] <= dueTimes[node]) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = node;
+    }
+
+    private void siftDownIndex(int[] heap, int heapSize, int index) {
+        if (heapSize == 0) {
+            return;
+        }
+        int node = heap[index];
+        int half = heapSize >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < heapSize && dueTimes[heap[right]] < dueTimes[heap[child]]) {
+                child = right;
+            }
+            if (dueTimes[node] <= dueTimes[heap[child]]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = node;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.mybighomework.utils;
+
+import android.content.Context;
+
+import com.example.mybighomework.database.AppDatabase;
+import com.example.mybighomework.database.dao.ReviewParamsDao;
+import com.example.mybighomework.database.dao.WordLearningProgressDao;
+import com.example.mybighomework.database.entity.ReviewParamsEntity;
+import com.example.mybighomework.database.entity.WordLearningProgressEntity;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 复习调度入口
+ * - 按用户读取复习参数（review_params），缓存对应的调度器
+ * - 按（用户, 词书）在内存中维护待复习队列：第一次访问时从数据库建堆，之后随答题写入增量更新，
+ *   “现在该复习哪些词”和未来 30 天的复习量预测都不再扫描 word_learning_progress
+ * 首次访问某本词书会查询数据库，需在后台线程调用
+ *
+ * 使用方式：
+ * ReviewEngineYSJ engine = ReviewEngineYSJ.getInstance(context);
+ * List<String> due = engine.selectDue(userId, bookId, 20);
+ * int[] next30Days = engine.forecast(userId, bookId, 30);
+ */
+public class ReviewEngineYSJ {
+
+    private static volatile ReviewEngineYSJ INSTANCE;
+
+    private final WordLearningProgressDao progressDao;
+    private final ReviewParamsDao paramsDao;
+
+    private final Map<String, ReviewSchedulerYSJ> schedulers = new HashMap<>();
+    private final Map<String, ReviewDueQueueYSJ> queues = new HashMap<>();
+
+    public static ReviewEngineYSJ getInstance(Context context) {
+        return getInstance(AppDatabase.getInstance(context));
+    }
+
+    public static ReviewEngineYSJ getInstance(AppDatabase database) {
+        if (INSTANCE == null) {
+            synchronized (ReviewEngineYSJ.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new ReviewEngineYSJ(database);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * 独立实例，测试中直接传入内存数据库
+     */
+    public ReviewEngineYSJ(AppDatabase database) {
+        this.progressDao = database.wordLearningProgressDao();
+        this.paramsDao = database.reviewParamsDao();
+    }
+
+    // ==================== 调度参数 ====================
+
+    /**
+     * 用户的调度器，没有保存过参数时使用默认参数
+     */
+    public ReviewSchedulerYSJ schedulerFor(String userId) {
+        synchronized (schedulers) {
+            ReviewSchedulerYSJ scheduler = schedulers.get(userId);
+            if (scheduler == null) {
+                ReviewParamsEntity params = paramsDao.getParams(userId);
+                scheduler = params != null ? ReviewSchedulerYSJ.create(params) : ReviewSchedulerYSJ.DEFAULT;
+                schedulers.put(userId, scheduler);
+            }
+            return scheduler;
+        }
+    }
+
+    /**
+     * 保存用户的复习参数，之后的答题按新参数调度（已排好的复习时间不变）
+     */
+    public void setParams(ReviewParamsEntity params) {
+        paramsDao.saveParams(params);
+        synchronized (schedulers) {
+            schedulers.put(params.getUserId(), ReviewSchedulerYSJ.create(params));
+        }
+    }
+
+    // ==================== 待复习队列 ====================
+
+    /**
+     * 已到期的单词，按到期先后排序
+     */
+    public List<String> selectDue(String userId, String bookId, int limit) {
+        return getQueue(userId, bookId).peekDue(System.currentTimeMillis(), limit);
+    }
+
+    public int countDue(String userId, String bookId) {
+        return getQueue(userId, bookId).countDue(System.currentTimeMillis());
+    }
+
+    /**
+     * 未来 days 天每天需要复习的单词数，下标 0 为今天（含已过期的）
+     */
+    public int[] forecast(String userId, String bookId, int days) {
+        return getQueue(userId, bookId).forecast(System.currentTimeMillis(), days);
+    }
+
+    /**
+     * 进度写入数据库后调用。只更新已加载的队列，未加载的词书下次访问时从数据库重建
+     */
+    public void onProgressChanged(WordLearningProgressEntity progress) {
+        ReviewDueQueueYSJ queue;
+        synchronized (queues) {
+            queue = queues.get(key(progress.getUserId(), progress.getBookId()));
+        }
+        if (queue == null) {
+            return;
+        }
+        if (progress.isMastered()) {
+            queue.remove(progress.getWordId());
+        } else {
+            queue.update(progress.getWordId(), progress.getNextReviewTime());
+        }
+    }
+
+    /**
+     * 丢弃词书的队列（如批量导入或重置进度后），下次访问时重建
+     */
+    public void invalidate(String userId, String bookId) {
+        synchronized (queues) {
+            queues.remove(key(userId, bookId));
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (queues) {
+            queues.clear();
+        }
+    }
+
+    ReviewDueQueueYSJ getQueue(String userId, String bookId) {
+        String key = key(userId, bookId);
+        synchronized (queues) {
+            ReviewDueQueueYSJ queue = queues.get(key);
+            if (queue == null) {
+                // 在锁内建堆，避免与同一时刻写入的增量更新交错
+                queue = new ReviewDueQueueYSJ();
+                List<WordLearningProgressDao.ReviewDueTime> rows = progressDao.getReviewSchedule(userId, bookId);
+                String[] wordIds = new String[rows.size()];
+                long[] dueTimes = new long[rows.size()];
+                for (int i = 0; i < wordIds.length; i++) {
+                    WordLearningProgressDao.ReviewDueTime row = rows.get(i);
+                    wordIds[i] = row.wordId;
+                    dueTimes[i] = row.nextReviewTime;
+                }
+                queue.build(wordIds, dueTimes, wordIds.length);
+                queues.put(key, queue);
+            }
+            return queue;
+        }
+    }
+
+    private static String key(String userId, String bookId) {
+        return userId + '\n' + bookId;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.mybighomework.utils;
+
+import com.example.mybighomework.database.entity.ReviewParamsEntity;
+import com.example.mybighomework.database.entity.WordLearningProgressEntity;
+
+/**
+ * 复习调度器
+ * 根据本次作答更新单词的记忆状态（stability / difficulty）并计算 nextReviewTime。
+ * 实现需无状态、线程安全，同一用户的所有单词共用一个实例
+ */
+public interface ReviewSchedulerYSJ {
+
+    long MINUTE_MILLIS = 60L * 1000;
+    long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    /**
+     * 默认参数的调度器（FSRS，目标保持率 90%）
+     */
+    ReviewSchedulerYSJ DEFAULT = create(new ReviewParamsEntity());
+
+    /**
+     * @param progress 单词进度，lastStudyTime 仍为上一次学习时间
+     * @param isCorrect 本次是否答对
+     * @param now 本次作答时间
+     */
+    void schedule(WordLearningProgressEntity progress, boolean isCorrect, long now);
+
+    /**
+     * 按用户参数创建调度器
+     */
+    static ReviewSchedulerYSJ create(ReviewParamsEntity params) {
+        if (ReviewParamsEntity.ALGORITHM_SM2.equals(params.getAlgorithm())) {
+            return new Sm2SchedulerYSJ(params.getMaximumIntervalDays(), params.getRelearnMinutes());
+        }
+        return new FsrsSchedulerYSJ(FsrsSchedulerYSJ.parseWeights(params.getFsrsWeights()),
+                params.getRequestRetention(), params.getMaximumIntervalDays(), params.getRelearnMinutes());
+    }
+}
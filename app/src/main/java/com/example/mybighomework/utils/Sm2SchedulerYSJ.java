@@ -0,0 +1,57 @@
+package com.example.mybighomework.utils;
+
+import com.example.mybighomework.database.entity.WordLearningProgressEntity;
+
+/**
+ * SM-2（SuperMemo 2）复习调度
+ * 间隔依次为 1 天、6 天，之后每次乘以易度因子 EF；答错时间隔归零，relearnMinutes 分钟后重新复习。
+ * 答对按质量 4、答错按质量 1 更新 EF（下限 1.3）。
+ * stability 字段保存当前间隔（天），difficulty 字段保存 EF
+ */
+public class Sm2SchedulerYSJ implements ReviewSchedulerYSJ {
+
+    private static final double INITIAL_EASE = 2.5;
+    private static final double MIN_EASE = 1.3;
+    // 从 FSRS 切换过来时 difficulty 是 1-10 的难度，超出范围的按初始值处理
+    private static final double MAX_EASE = 3.5;
+
+    private static final int QUALITY_CORRECT = 4;
+    private static final int QUALITY_WRONG = 1;
+
+    private final int maximumIntervalDays;
+    private final long relearnMillis;
+
+    public Sm2SchedulerYSJ(int maximumIntervalDays, int relearnMinutes) {
+        this.maximumIntervalDays = Math.max(1, maximumIntervalDays);
+        this.relearnMillis = Math.max(1, relearnMinutes) * MINUTE_MILLIS;
+    }
+
+    @Override
+    public void schedule(WordLearningProgressEntity progress, boolean isCorrect, long now) {
+        double ease = progress.getDifficulty();
+        if (ease < MIN_EASE || ease > MAX_EASE) {
+            ease = INITIAL_EASE;
+        }
+        double interval = progress.getStability();
+
+        int quality = isCorrect ? QUALITY_CORRECT : QUALITY_WRONG;
+        ease = Math.max(MIN_EASE, ease + 0.1 - (5 - quality) * (0.08 + (5 - quality) * 0.02));
+
+        if (isCorrect) {
+            if (interval < 1) {
+                interval = 1;
+            } else if (interval < 6) {
+                interval = 6;
+            } else {
+                interval = Math.min(maximumIntervalDays, Math.round(interval * ease));
+            }
+            progress.setNextReviewTime(now + (long) interval * DAY_MILLIS);
+        } else {
+            interval = 0;
+            progress.setNextReviewTime(now + relearnMillis);
+        }
+
+        progress.setStability(interval);
+        progress.setDifficulty(ease);
+    }
+}
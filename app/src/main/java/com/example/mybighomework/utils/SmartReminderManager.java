@@ -19,11 +19,11 @@ import com.example.mybighomework.StudyPlan;
 import com.example.mybighomework.database.AppDatabase;
 import com.example.mybighomework.database.entity.StudyPlanEntity;
 import com.example.mybighomework.database.entity.StudyRecordEntity;
+import com.example.mybighomework.repository.StudyStatisticsRepository;
 
 import java.util.Calendar;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * 智能提醒管理器
@@ -53,7 +53,7 @@ public class SmartReminderManager {
         this.context = context.getApplicationContext();
         this.preferences = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
         this.database = AppDatabase.getInstance(context);
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.executorService = AppExecutorsYSJ.getInstance().diskIO();
         this.notificationManager = (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
         this.alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
         
@@ -178,11 +178,11 @@ public class SmartReminderManager {
                     // 计算平均学习时长
                     habits.averageStudyDuration = calculateAverageStudyDuration(recentRecords);
                     
-                    // 计算连续学习天数
-                    habits.continuousStudyDays = calculateContinuousStudyDays(recentRecords);
-                    
-                    // 计算学习一致性
-                    habits.studyConsistency = calculateStudyConsistency(recentRecords);
+                    // 连续学习天数和学习一致性（最近30天中有学习的天数占比）读取统计汇总表
+                    StudyStatisticsRepository statisticsRepository =
+                        new StudyStatisticsRepository(database.studyStatsDao());
+                    habits.continuousStudyDays = statisticsRepository.getCurrentStreak();
+                    habits.studyConsistency = statisticsRepository.getStudyDayCount(30) / 30.0;
                     
                     // 获取最后学习时间
                     habits.lastStudyTime = getLastStudyTime(recentRecords);
@@ -391,21 +391,6 @@ public class SmartReminderManager {
         return (int) (totalMinutes / records.size());
     }
     
-    private int calculateContinuousStudyDays(List<StudyRecordEntity> records) {
-        // 简化实现：基于记录数量估算
-        return Math.min(records.size() / 5, 30); // 假设每天5条记录
-    }
-    
-    private double calculateStudyConsistency(List<StudyRecordEntity> records) {
-        if (records.size() < 7) return 0.5; // 数据不足
-        
-        // 简化实现：基于学习频率计算一致性
-        long daySpan = (System.currentTimeMillis() - records.get(0).getCreatedTime()) / (24 * 60 * 60 * 1000);
-        double studyDays = records.size() / 5.0; // 假设每天平均5条记录
-        
-        return Math.min(1.0, studyDays / Math.max(1, daySpan));
-    }
-    
     private long getLastStudyTime(List<StudyRecordEntity> records) {
         if (records.isEmpty()) return 0;
         
@@ -483,8 +468,6 @@ public class SmartReminderManager {
      * 释放资源
      */
     public void shutdown() {
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
-        }
+        // 使用应用级共享线程池，不在这里关闭
     }
 }
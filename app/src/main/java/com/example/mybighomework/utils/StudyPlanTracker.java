@@ -14,7 +14,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * 学习计划进度跟踪器
@@ -31,7 +30,7 @@ public class StudyPlanTracker {
     public StudyPlanTracker(Context context) {
         this.context = context;
         this.database = AppDatabase.getInstance(context);
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.executorService = AppExecutorsYSJ.getInstance().diskIO();
     }
     
     /**
@@ -369,8 +368,6 @@ public class StudyPlanTracker {
      * 释放资源
      */
     public void shutdown() {
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
-        }
+        // 使用应用级共享线程池，不在这里关闭
     }
 }
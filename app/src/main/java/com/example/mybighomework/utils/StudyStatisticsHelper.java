@@ -1,26 +1,22 @@
 package com.example.mybighomework.utils;
 
 import com.example.mybighomework.database.entity.UserSettingsEntity;
-import com.example.mybighomework.repository.ExamRecordRepository;
+import com.example.mybighomework.repository.StudyStatisticsRepository;
 import com.example.mybighomework.repository.UserSettingsRepository;
-import com.example.mybighomework.repository.VocabularyRecordRepository;
 
 /**
  * 学习统计数据计算辅助类
- * 提供各种学习数据的计算和汇总方法
+ * 提供各种学习数据的计算和汇总方法，词汇和考试计数读取统计汇总表
  */
 public class StudyStatisticsHelper {
     
     private UserSettingsRepository userSettingsRepository;
-    private ExamRecordRepository examRecordRepository;
-    private VocabularyRecordRepository vocabularyRecordRepository;
+    private StudyStatisticsRepository statisticsRepository;
     
     public StudyStatisticsHelper(UserSettingsRepository userSettingsRepository,
-                                ExamRecordRepository examRecordRepository,
-                                VocabularyRecordRepository vocabularyRecordRepository) {
+                                StudyStatisticsRepository statisticsRepository) {
         this.userSettingsRepository = userSettingsRepository;
-        this.examRecordRepository = examRecordRepository;
-        this.vocabularyRecordRepository = vocabularyRecordRepository;
+        this.statisticsRepository = statisticsRepository;
     }
     
     /**
@@ -41,7 +37,7 @@ public class StudyStatisticsHelper {
      */
     public int getMasteredVocabularyCount() {
         try {
-            return vocabularyRecordRepository.getMasteredVocabularyCount();
+            return statisticsRepository.getMasteredVocabularyCount();
         } catch (Exception e) {
             e.printStackTrace();
             return 0;
@@ -53,7 +49,7 @@ public class StudyStatisticsHelper {
      */
     public int getTotalVocabularyCount() {
         try {
-            return vocabularyRecordRepository.getTotalVocabularyCount();
+            return statisticsRepository.getTotalVocabularyCount();
         } catch (Exception e) {
             e.printStackTrace();
             return 0;
@@ -65,7 +61,7 @@ public class StudyStatisticsHelper {
      */
     public double getAverageExamScore() {
         try {
-            return examRecordRepository.getAverageScore();
+            return statisticsRepository.getAverageExamScore();
         } catch (Exception e) {
             e.printStackTrace();
             return 0.0;
@@ -77,7 +73,7 @@ public class StudyStatisticsHelper {
      */
     public int getTotalExamCount() {
         try {
-            return examRecordRepository.getTotalExamCount();
+            return statisticsRepository.getTotalExamCount();
         } catch (Exception e) {
             e.printStackTrace();
             return 0;
@@ -31,7 +31,7 @@ public class TaskCompletionHelper {
             return;
         }
         
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
             try {
                 String today = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault())
                     .format(new Date());
@@ -56,7 +56,7 @@ public class TaskCompletionHelper {
             } catch (Exception e) {
                 Log.e(TAG, "标记任务失败", e);
             }
-        }).start();
+        });
     }
     
     public static void markTaskAsCompletedWithDuration(Context context, String actionType, int actualMinutes) {
@@ -64,7 +64,7 @@ public class TaskCompletionHelper {
             return;
         }
         
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
             try {
                 String today = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault())
                     .format(new Date());
@@ -90,6 +90,6 @@ public class TaskCompletionHelper {
             } catch (Exception e) {
                 Log.e(TAG, "标记任务失败", e);
             }
-        }).start();
+        });
     }
 }
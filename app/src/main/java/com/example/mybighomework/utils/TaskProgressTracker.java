@@ -55,7 +55,7 @@ public class TaskProgressTracker {
         Log.d(TAG, "========== 智能任务完成系统 ==========");
         Log.d(TAG, "recordProgress called: actionType=" + actionType + ", increment=" + increment);
         
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
             try {
                 String today = getTodayDate();
                 Log.d(TAG, "查询条件: actionType=" + actionType + ", date=" + today);
@@ -107,7 +107,7 @@ public class TaskProgressTracker {
             } catch (Exception e) {
                 Log.e(TAG, "Error recording progress for " + actionType, e);
             }
-        }).start();
+        });
     }
     
     /**
@@ -122,7 +122,7 @@ public class TaskProgressTracker {
         
         Log.d(TAG, "markSimpleTaskCompleted called: actionType=" + actionType);
         
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
             try {
                 String today = getTodayDate();
                 Log.d(TAG, "Querying simple tasks for actionType=" + actionType + ", date=" + today);
@@ -155,7 +155,7 @@ public class TaskProgressTracker {
             } catch (Exception e) {
                 Log.e(TAG, "Error marking simple task completed for " + actionType, e);
             }
-        }).start();
+        });
     }
 
     
@@ -169,7 +169,7 @@ public class TaskProgressTracker {
             return;
         }
         
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
             try {
                 String today = getTodayDate();
                 List<DailyTaskEntity> tasks = taskDao.getTasksByActionType(actionType, today);
@@ -190,7 +190,7 @@ public class TaskProgressTracker {
                 Log.e(TAG, "Error getting progress for " + actionType, e);
                 callback.onResult(0, 0);
             }
-        }).start();
+        });
     }
     
     /**
@@ -203,7 +203,7 @@ public class TaskProgressTracker {
             return;
         }
         
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
             try {
                 String today = getTodayDate();
                 List<DailyTaskEntity> tasks = taskDao.getUncompletedTasksByActionType(actionType, today);
@@ -212,7 +212,7 @@ public class TaskProgressTracker {
                 Log.e(TAG, "Error checking uncompleted tasks for " + actionType, e);
                 callback.onResult(false);
             }
-        }).start();
+        });
     }
     
     /**
@@ -0,0 +1,151 @@
+package com.example.mybighomework.utils;
+
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+/**
+ * 与界面生命周期绑定的任务作用域
+ *
+ * 通过作用域提交的后台任务会被记录，cancel() 时尚未开始的任务不再执行，
+ * 已在执行的任务不打断（避免中断数据库事务），但之后通过 mainThread() 投递的回调会被丢弃。
+ *
+ * 使用方式：
+ * Activity/Fragment：TaskScopeYSJ tasks = TaskScopeYSJ.bind(this);  // onDestroy 时自动取消
+ * ViewModel：private final TaskScopeYSJ tasks = new TaskScopeYSJ();  // 在 onCleared() 中调用 tasks.cancel()
+ */
+public final class TaskScopeYSJ implements DefaultLifecycleObserver {
+
+    private static final String TAG = "TaskScopeYSJ";
+
+    private final AppExecutorsYSJ executors;
+    private final Set<Future<?>> pending = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private volatile boolean cancelled;
+
+    public TaskScopeYSJ() {
+        this(AppExecutorsYSJ.getInstance());
+    }
+
+    TaskScopeYSJ(AppExecutorsYSJ executors) {
+        this.executors = executors;
+    }
+
+    /**
+     * 创建与 owner 生命周期绑定的作用域，owner 销毁时自动取消
+     */
+    @MainThread
+    public static TaskScopeYSJ bind(@NonNull LifecycleOwner owner) {
+        TaskScopeYSJ scope = new TaskScopeYSJ();
+        owner.getLifecycle().addObserver(scope);
+        return scope;
+    }
+
+    public Executor diskIO() {
+        return diskIO(AppExecutorsYSJ.Priority.NORMAL);
+    }
+
+    public Executor diskIO(@NonNull AppExecutorsYSJ.Priority priority) {
+        return command -> submit(executors.diskIOPool(), priority, command);
+    }
+
+    public Executor networkIO() {
+        return networkIO(AppExecutorsYSJ.Priority.NORMAL);
+    }
+
+    public Executor networkIO(@NonNull AppExecutorsYSJ.Priority priority) {
+        return command -> submit(executors.networkIOPool(), priority, command);
+    }
+
+    public Executor computation() {
+        return command -> submit(executors.computationPool(), AppExecutorsYSJ.Priority.NORMAL, command);
+    }
+
+    public Executor media() {
+        return command -> submit(executors.mediaPool(), AppExecutorsYSJ.Priority.NORMAL, command);
+    }
+
+    /**
+     * 主线程执行器，作用域取消后投递的任务直接丢弃
+     */
+    public Executor mainThread() {
+        return command -> executors.mainThread().execute(() -> {
+            if (!cancelled) {
+                command.run();
+            }
+        });
+    }
+
+    /**
+     * 提交任务
+     * @return 可用于单独取消的 Future；作用域已取消时返回 null 且任务不会执行
+     */
+    public Future<?> submit(@NonNull MonitoredThreadPoolYSJ pool, @NonNull AppExecutorsYSJ.Priority priority,
+                            @NonNull Runnable task) {
+        if (cancelled) {
+            return null;
+        }
+        Future<?>[] self = new Future<?>[1];
+        Future<?> future = pool.submit(() -> {
+            try {
+                if (!cancelled) {
+                    task.run();
+                }
+            } catch (RuntimeException | Error e) {
+                // submit() 会把异常存进 Future，而调用方通常不会 get()；
+                // 转交线程的未捕获异常处理器，与直接 execute() 时一样暴露出来
+                Log.e(TAG, "任务执行失败", e);
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            } finally {
+                Future<?> f = self[0];
+                if (f != null) {
+                    pending.remove(f);
+                }
+            }
+        }, priority);
+        self[0] = future;
+        pending.add(future);
+        if (future.isDone()) {
+            // 任务在登记前已结束
+            pending.remove(future);
+        }
+        return future;
+    }
+
+    /**
+     * 取消作用域内所有未开始的任务，之后提交的任务不再执行
+     */
+    public void cancel() {
+        cancelled = true;
+        for (Future<?> future : pending) {
+            future.cancel(false);
+        }
+        pending.clear();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 作用域内尚未结束的任务数
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @Override
+    public void onDestroy(@NonNull LifecycleOwner owner) {
+        owner.getLifecycle().removeObserver(this);
+        cancel();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.mybighomework.utils;
+
+import java.util.Random;
+
+/**
+ * 按权重随机抽样器
+ * 用树状数组（Fenwick 树）维护权重前缀和：
+ * - 整体建树：O(n)
+ * - 修改单个权重：O(log n)
+ * - 按权重抽取一个下标：O(log n)，在树上二分下降，不需要对全体排序或扫描
+ * 权重为 0 的下标不会被抽中，可用来临时移出候选
+ * 非线程安全，由调用方保证在同一线程使用
+ */
+public class WeightedSamplerYSJ {
+
+    private final int size;
+    private final double[] weights;
+    private final double[] tree;    // 下标从 1 开始
+    private final int topStep;      // 不超过 size 的最大 2 的幂
+
+    public WeightedSamplerYSJ(double[] initialWeights) {
+        size = initialWeights.length;
+        weights = new double[size];
+        tree = new double[size + 1];
+        for (int i = 0; i < size; i++) {
+            double weight = sanitize(initialWeights[i]);
+            weights[i] = weight;
+            tree[i + 1] += weight;
+            int parent = (i + 1) + ((i + 1) & -(i + 1));
+            if (parent <= size) {
+                tree[parent] += tree[i + 1];
+            }
+        }
+        topStep = size == 0 ? 0 : Integer.highestOneBit(size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double get(int index) {
+        return weights[index];
+    }
+
+    /**
+     * 修改一个下标的权重
+     */
+    public void set(int index, double weight) {
+        weight = sanitize(weight);
+        double delta = weight - weights[index];
+        if (delta == 0) {
+            return;
+        }
+        weights[index] = weight;
+        for (int i = index + 1; i <= size; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * 全部权重之和
+     */
+    public double total() {
+        double sum = 0;
+        for (int i = size; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return Math.max(0, sum);
+    }
+
+    /**
+     * 按权重抽取一个下标，全部权重为 0 时返回 -1
+     */
+    public int sample(Random random) {
+        double total = total();
+        if (total <= 0) {
+            return -1;
+        }
+        int index = find(random.nextDouble() * total);
+        if (weights[index] > 0) {
+            return index;
+        }
+        // 反复修改权重后前缀和会有极小的浮点误差，落到了权重为 0 的位置时取相邻的有效下标
+        for (int offset = 1; offset < size; offset++) {
+            if (index + offset < size && weights[index + offset] > 0) {
+                return index + offset;
+            }
+            if (index - offset >= 0 && weights[index - offset] > 0) {
+                return index - offset;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 找到前缀和首次超过 target 的下标
+     */
+    private int find(double target) {
+        int position = 0;
+        for (int step = topStep; step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= size && tree[next] <= target) {
+                position = next;
+                target -= tree[next];
+            }
+        }
+        return Math.min(position, size - 1);
+    }
+
+    private static double sanitize(double weight) {
+        return weight > 0 && !Double.isInfinite(weight) ? weight : 0;
+    }
+}
@@ -6,6 +6,7 @@ import com.example.mybighomework.database.dao.WordLearningProgressDao;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 /**
  * 单词选择器
@@ -15,10 +16,17 @@ public class WordSelectorYSJ {
     
     private WordLearningProgressDao progressDao;
     private BookWordRelationDao relationDao;
+    private ReviewEngineYSJ reviewEngine;   // 为空时复习词直接查询数据库
     
     public WordSelectorYSJ(WordLearningProgressDao progressDao, BookWordRelationDao relationDao) {
+        this(progressDao, relationDao, null);
+    }
+    
+    public WordSelectorYSJ(WordLearningProgressDao progressDao, BookWordRelationDao relationDao,
+                           ReviewEngineYSJ reviewEngine) {
         this.progressDao = progressDao;
         this.relationDao = relationDao;
+        this.reviewEngine = reviewEngine;
     }
     
     /**
@@ -44,13 +52,16 @@ public class WordSelectorYSJ {
     }
     
     /**
-     * 选择复习词
+     * 选择复习词（已到期的，最早到期的优先）
      * @param bookId 词书ID
      * @param userId 用户ID
      * @param count 需要的单词数量
      * @return 单词ID列表
      */
     public List<String> selectReviewWords(String bookId, String userId, int count) {
+        if (reviewEngine != null) {
+            return reviewEngine.selectDue(userId, bookId, count);
+        }
         long currentTime = System.currentTimeMillis();
         List<String> reviewIds = progressDao.getReviewWordIds(bookId, userId, currentTime, count);
         
@@ -105,4 +116,22 @@ public class WordSelectorYSJ {
                 return selectNewWords(bookId, userId, count);
         }
     }
+    
+    /**
+     * 从词书单词ID中随机抽取不重复的ID（不复制整个列表）
+     * @param bookWordIds 词书全部单词ID
+     * @param count 需要的数量
+     * @return 不重复的单词ID列表，词书较小时可能少于 count
+     */
+    public List<String> sampleWordIds(List<String> bookWordIds, int count) {
+        List<String> result = new ArrayList<>();
+        if (bookWordIds == null || bookWordIds.isEmpty() || count <= 0) {
+            return result;
+        }
+        
+        for (int index : DistractorIndexYSJ.floyd(bookWordIds.size(), Math.min(bookWordIds.size(), count), new Random())) {
+            result.add(bookWordIds.get(index));
+        }
+        return result;
+    }
 }
@@ -0,0 +1,127 @@
+package com.example.mybighomework.utils;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.mybighomework.database.AppDatabase;
+import com.example.mybighomework.database.dao.DictionaryWordDao;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 输入联想服务
+ * 全部单词的前缀树（WordTrieYSJ）保存在应用私有目录的单个文件中：第一次使用时从数据库构建并保存，
+ * 之后启动直接内存映射该文件；词典导入完成后在后台重建。
+ * 补全只读内存，不访问数据库，可以在主线程中随输入调用
+ *
+ * 使用方式：
+ * WordSuggestionServiceYSJ service = WordSuggestionServiceYSJ.getInstance(context);
+ * service.warmUp();                                   // 后台线程
+ * List<String> words = service.complete("app", 5);    // 任意线程，前缀树未加载时返回空列表
+ */
+public class WordSuggestionServiceYSJ {
+
+    private static final String TAG = "WordSuggestion";
+    private static final String TRIE_FILE_NAME = "word_trie.bin";
+
+    private static volatile WordSuggestionServiceYSJ INSTANCE;
+
+    private final DictionaryWordDao wordDao;
+    private final File trieFile;
+    private final Object loadLock = new Object();
+    private volatile WordTrieYSJ trie;
+
+    public static WordSuggestionServiceYSJ getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (WordSuggestionServiceYSJ.class) {
+                if (INSTANCE == null) {
+                    Context app = context.getApplicationContext();
+                    INSTANCE = new WordSuggestionServiceYSJ(AppDatabase.getInstance(app),
+                            new File(app.getFilesDir(), TRIE_FILE_NAME));
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * 独立实例，测试中直接传入内存数据库和临时文件
+     */
+    public WordSuggestionServiceYSJ(AppDatabase database, File trieFile) {
+        this.wordDao = database.dictionaryWordDao();
+        this.trieFile = trieFile;
+    }
+
+    /**
+     * 加载前缀树：文件有效时内存映射打开，否则从数据库构建。需在后台线程调用
+     */
+    public void warmUp() {
+        synchronized (loadLock) {
+            if (trie != null) {
+                return;
+            }
+            if (trieFile.exists()) {
+                try {
+                    WordTrieYSJ loaded = WordTrieYSJ.open(trieFile);
+                    if (loaded.getDataVersion() == DictionaryDataImporter.CURRENT_DATA_VERSION) {
+                        trie = loaded;
+                        return;
+                    }
+                } catch (IOException e) {
+                    Log.w(TAG, "前缀树文件无效，重新构建", e);
+                }
+            }
+            rebuildLocked();
+        }
+    }
+
+    /**
+     * 从数据库重新构建并保存，词典数据变化后调用。需在后台线程调用
+     */
+    public void rebuild() {
+        synchronized (loadLock) {
+            rebuildLocked();
+        }
+    }
+
+    /**
+     * 前缀树是否已加载
+     */
+    public boolean isReady() {
+        return trie != null;
+    }
+
+    /**
+     * 以 prefix 开头的单词，按词频降序
+     * @return 前缀树尚未加载时返回空列表
+     */
+    public List<String> complete(String prefix, int limit) {
+        WordTrieYSJ current = trie;
+        return current != null ? current.complete(prefix, limit) : new ArrayList<>();
+    }
+
+    private void rebuildLocked() {
+        long start = System.currentTimeMillis();
+        List<DictionaryWordDao.WordFrequency> rows = wordDao.getAllWordFrequencies();
+        String[] words = new String[rows.size()];
+        float[] frequencies = new float[rows.size()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = rows.get(i).word;
+            frequencies[i] = rows.get(i).frequency;
+        }
+        WordTrieYSJ built = WordTrieYSJ.build(words, frequencies, DictionaryDataImporter.CURRENT_DATA_VERSION);
+        // 词典尚未导入时不保存，导入完成后会重建
+        if (built.size() > 0) {
+            try {
+                built.writeTo(trieFile);
+            } catch (IOException e) {
+                Log.w(TAG, "保存前缀树失败，下次启动重新构建", e);
+            }
+        }
+        trie = built;
+        Log.d(TAG, "前缀树构建完成: " + built.size() + " 词, " + (System.currentTimeMillis() - start) + "ms");
+    }
+}
@@ -0,0 +1,402 @@
+package com.example.mybighomework.utils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 单词补全前缀树
+ * 按小写单词建树，每个节点记录子树中的最高词频，补全时从前缀节点出发按最高词频优先展开，
+ * 只访问与结果有关的少数节点，不必遍历整棵子树。
+ *
+ * 全部数据放在一块 ByteBuffer 中（各字段分段存放的数组，子节点连续且按字符排序），
+ * 写入文件后可直接内存映射打开，不需要解析或创建对象，十万词的树几毫秒即可加载。
+ * 构建或打开后只读，可在多个线程同时查询
+ *
+ * 文件格式：头部 6 个 int（魔数、格式版本、数据版本、节点数、单词数、字符数），之后依次为
+ * 节点的 firstChild / termStart (int)、maxFrequency (float)、label / childCount / termCount (char)，
+ * 单词的词频 (float)、在字符区的起始位置 (int, 单词数 + 1 个)，最后是全部单词的字符
+ */
+public class WordTrieYSJ {
+
+    private static final int MAGIC = 0x57545249; // "WTRI"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 6 * 4;
+
+    private final ByteBuffer buffer;
+    private final int dataVersion;
+    private final int nodeCount;
+    private final int wordCount;
+
+    // 各段在 buffer 中的起始字节位置
+    private final int firstChildAt;
+    private final int termStartAt;
+    private final int maxFrequencyAt;
+    private final int labelAt;
+    private final int childCountAt;
+    private final int termCountAt;
+    private final int wordFrequencyAt;
+    private final int wordOffsetAt;
+    private final int charsAt;
+
+    private WordTrieYSJ(ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("不是有效的前缀树文件");
+        }
+        this.buffer = buffer;
+        this.dataVersion = buffer.getInt(8);
+        this.nodeCount = buffer.getInt(12);
+        this.wordCount = buffer.getInt(16);
+        int charCount = buffer.getInt(20);
+
+        firstChildAt = HEADER_BYTES;
+        termStartAt = firstChildAt + nodeCount * 4;
+        maxFrequencyAt = termStartAt + nodeCount * 4;
+        labelAt = maxFrequencyAt + nodeCount * 4;
+        childCountAt = labelAt + nodeCount * 2;
+        termCountAt = childCountAt + nodeCount * 2;
+        // 三段 char 之后对齐到 4 字节
+        wordFrequencyAt = align4(termCountAt + nodeCount * 2);
+        wordOffsetAt = wordFrequencyAt + wordCount * 4;
+        charsAt = wordOffsetAt + (wordCount + 1) * 4;
+        if (nodeCount < 1 || buffer.capacity() < charsAt + charCount * 2) {
+            throw new IOException("前缀树文件不完整");
+        }
+    }
+
+    /**
+     * 由单词表构建
+     * @param words 单词，为空的跳过；只是大小写不同的单词共用一个节点，都会出现在补全结果中
+     * @param frequencies 词频，与 words 一一对应
+     * @param dataVersion 词典数据版本，写入文件头，打开时用于判断文件是否过期
+     */
+    public static WordTrieYSJ build(String[] words, float[] frequencies, int dataVersion) {
+        int count = 0;
+        for (String word : words) {
+            if (word != null && !word.isEmpty()) {
+                count++;
+            }
+        }
+        String[] keys = new String[count];
+        Integer[] order = new Integer[count];
+        String[] source = new String[count];
+        float[] sourceFrequencies = new float[count];
+        int charCount = 0;
+        for (int i = 0, j = 0; i < words.length; i++) {
+            if (words[i] == null || words[i].isEmpty()) {
+                continue;
+            }
+            source[j] = words[i];
+            sourceFrequencies[j] = frequencies[i];
+            keys[j] = words[i].toLowerCase(Locale.ROOT);
+            order[j] = j;
+            charCount += words[i].length();
+            j++;
+        }
+        // 按小写单词排序后，同一节点下的单词、同一前缀下的子树都是连续的区间
+        Arrays.sort(order, (a, b) -> {
+            int compare = keys[a].compareTo(keys[b]);
+            return compare != 0 ? compare : Float.compare(sourceFrequencies[b], sourceFrequencies[a]);
+        });
+
+        // 节点数不超过全部单词的字符数 + 1（根节点）
+        int maxNodes = 1;
+        for (String key : keys) {
+            maxNodes += key.length();
+        }
+        int[] rangeStart = new int[maxNodes];
+        int[] rangeEnd = new int[maxNodes];
+        int[] depth = new int[maxNodes];
+        int[] firstChild = new int[maxNodes];
+        int[] termStart = new int[maxNodes];
+        char[] label = new char[maxNodes];
+        char[] childCount = new char[maxNodes];
+        char[] termCount = new char[maxNodes];
+
+        // 按层序编号：一个节点的子节点在处理该节点时一起创建，编号连续
+        int nodes = 1;
+        rangeEnd[0] = count;
+        for (int node = 0; node < nodes; node++) {
+            int d = depth[node];
+            int start = rangeStart[node];
+            int end = rangeEnd[node];
+            int split = start;
+            while (split < end && keys[order[split]].length() == d) {
+                split++;
+            }
+            termStart[node] = start;
+            termCount[node] = (char) (split - start);
+            firstChild[node] = nodes;
+            int groupStart = split;
+            while (groupStart < end) {
+                char c = keys[order[groupStart]].charAt(d);
+                int groupEnd = groupStart + 1;
+                while (groupEnd < end && keys[order[groupEnd]].charAt(d) == c) {
+                    groupEnd++;
+                }
+                label[nodes] = c;
+                depth[nodes] = d + 1;
+                rangeStart[nodes] = groupStart;
+                rangeEnd[nodes] = groupEnd;
+                nodes++;
+                groupStart = groupEnd;
+            }
+            childCount[node] = (char) (nodes - firstChild[node]);
+        }
+
+        // 子节点编号总比父节点大，倒序遍历即可自底向上汇总子树最高词频
+        float[] maxFrequency = new float[nodes];
+        for (int node = nodes - 1; node >= 0; node--) {
+            float max = Float.NEGATIVE_INFINITY;
+            for (int i = 0; i < termCount[node]; i++) {
+                max = Math.max(max, sourceFrequencies[order[termStart[node] + i]]);
+            }
+            for (int i = 0; i < childCount[node]; i++) {
+                max = Math.max(max, maxFrequency[firstChild[node] + i]);
+            }
+            maxFrequency[node] = max;
+        }
+
+        int size = align4(HEADER_BYTES + nodes * (4 + 4 + 4 + 2 + 2 + 2)) + count * 4 + (count + 1) * 4 + charCount * 2;
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(dataVersion)
+                .putInt(nodes).putInt(count).putInt(charCount);
+        for (int i = 0; i < nodes; i++) {
+            buffer.putInt(firstChild[i]);
+        }
+        for (int i = 0; i < nodes; i++) {
+            buffer.putInt(termStart[i]);
+        }
+        for (int i = 0; i < nodes; i++) {
+            buffer.putFloat(maxFrequency[i]);
+        }
+        for (int i = 0; i < nodes; i++) {
+            buffer.putChar(label[i]);
+        }
+        for (int i = 0; i < nodes; i++) {
+            buffer.putChar(childCount[i]);
+        }
+        for (int i = 0; i < nodes; i++) {
+            buffer.putChar(termCount[i]);
+        }
+        buffer.position(align4(buffer.position()));
+        for (int i = 0; i < count; i++) {
+            buffer.putFloat(sourceFrequencies[order[i]]);
+        }
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            buffer.putInt(offset);
+            offset += source[order[i]].length();
+        }
+        buffer.putInt(offset);
+        for (int i = 0; i < count; i++) {
+            String word = source[order[i]];
+            for (int c = 0; c < word.length(); c++) {
+                buffer.putChar(word.charAt(c));
+            }
+        }
+        buffer.clear();
+        try {
+            return new WordTrieYSJ(buffer);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 内存映射打开已保存的前缀树
+     * @throws IOException 文件不存在、格式不对或不完整
+     */
+    public static WordTrieYSJ open(File file) throws IOException {
+        try (RandomAccessFile input = new RandomAccessFile(file, "r");
+             FileChannel channel = input.getChannel()) {
+            // 映射在通道关闭后仍然有效
+            return new WordTrieYSJ(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * 保存到文件，先写临时文件再重命名，避免读到写了一半的文件
+     */
+    public void writeTo(File file) throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream output = new FileOutputStream(temp);
+             FileChannel channel = output.getChannel()) {
+            ByteBuffer data = buffer.duplicate();
+            data.clear();
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            throw new IOException("写入前缀树文件失败: " + file);
+        }
+    }
+
+    public int getDataVersion() {
+        return dataVersion;
+    }
+
+    /**
+     * 单词数
+     */
+    public int size() {
+        return wordCount;
+    }
+
+    /**
+     * 以 prefix 开头（不区分大小写）的单词，按词频降序，最多 limit 个
+     */
+    public List<String> complete(String prefix, int limit) {
+        List<String> results = new ArrayList<>();
+        if (prefix == null || prefix.isEmpty() || limit <= 0) {
+            return results;
+        }
+        String key = prefix.toLowerCase(Locale.ROOT);
+        int node = 0;
+        for (int i = 0; i < key.length() && node >= 0; i++) {
+            node = findChild(node, key.charAt(i));
+        }
+        if (node < 0) {
+            return results;
+        }
+
+        // 候选堆：非负数为节点（按子树最高词频），负数 -(w + 1) 为单词（按词频）
+        CandidateHeap heap = new CandidateHeap();
+        heap.push(node, maxFrequency(node));
+        while (results.size() < limit && !heap.isEmpty()) {
+            int item = heap.pop();
+            if (item < 0) {
+                results.add(word(-item - 1));
+                continue;
+            }
+            int termStart = buffer.getInt(termStartAt + item * 4);
+            int termCount = buffer.getChar(termCountAt + item * 2);
+            for (int i = 0; i < termCount; i++) {
+                heap.push(-(termStart + i) - 1, wordFrequency(termStart + i));
+            }
+            int firstChild = buffer.getInt(firstChildAt + item * 4);
+            int childCount = buffer.getChar(childCountAt + item * 2);
+            for (int i = 0; i < childCount; i++) {
+                heap.push(firstChild + i, maxFrequency(firstChild + i));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 子节点按字符有序，二分查找
+     * @return 子节点编号，没有时返回 -1
+     */
+    private int findChild(int node, char c) {
+        int low = buffer.getInt(firstChildAt + node * 4);
+        int high = low + buffer.getChar(childCountAt + node * 2) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char label = buffer.getChar(labelAt + mid * 2);
+            if (label < c) {
+                low = mid + 1;
+            } else if (label > c) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private float maxFrequency(int node) {
+        return buffer.getFloat(maxFrequencyAt + node * 4);
+    }
+
+    private float wordFrequency(int word) {
+        return buffer.getFloat(wordFrequencyAt + word * 4);
+    }
+
+    private String word(int word) {
+        int start = buffer.getInt(wordOffsetAt + word * 4);
+        int end = buffer.getInt(wordOffsetAt + (word + 1) * 4);
+        char[] chars = new char[end - start];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = buffer.getChar(charsAt + (start + i) * 2);
+        }
+        return new String(chars);
+    }
+
+    private static int align4(int position) {
+        return (position + 3) & ~3;
+    }
+
+    /**
+     * 按分数取最大的二叉堆，分数相同时单词优先于节点，先得到的结果先返回
+     */
+    private static class CandidateHeap {
+        private int[] items = new int[32];
+        private float[] scores = new float[32];
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void push(int item, float score) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!higher(item, score, items[parent], scores[parent])) {
+                    break;
+                }
+                items[i] = items[parent];
+                scores[i] = scores[parent];
+                i = parent;
+            }
+            items[i] = item;
+            scores[i] = score;
+        }
+
+        int pop() {
+            int top = items[0];
+            int item = items[--size];
+            float score = scores[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && higher(items[child + 1], scores[child + 1], items[child], scores[child])) {
+                    child++;
+                }
+                if (!higher(items[child], scores[child], item, score)) {
+                    break;
+                }
+                items[i] = items[child];
+                scores[i] = scores[child];
+                i = child;
+            }
+            items[i] = item;
+            scores[i] = score;
+            return top;
+        }
+
+        private static boolean higher(int item, float score, int otherItem, float otherScore) {
+            if (score != otherScore) {
+                return score > otherScore;
+            }
+            // 单词为负数：同分时单词先出，同为单词时按字母序（编号小）先出
+            return item < 0 && otherItem < 0 ? item > otherItem : item < otherItem;
+        }
+    }
+}
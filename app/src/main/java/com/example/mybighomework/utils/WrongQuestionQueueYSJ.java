@@ -0,0 +1,207 @@
+package com.example.mybighomework.utils;
+
+import com.example.mybighomework.database.entity.WrongQuestionEntity;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 错题自适应练习队列
+ * 按权重从错题中抽题，重点练习用户真正容易错的题：
+ * - 题目权重 = 错误次数 × 最近程度 ×（已掌握时再降权），错得越多、越近的题越容易被抽到
+ * - 分类权重 = 该分类的薄弱程度，由已有错题和本次练习的对错实时估计
+ * 先按「分类权重 × 分类内题目权重之和」选分类，再在分类内按题目权重抽题。
+ * 每个分类一棵 {@link WeightedSamplerYSJ}，所以作答后更新分类薄弱程度是 O(1)，
+ * 更新单题权重是 O(log n)，抽一道题是 O(C + log n)（C 为分类数），
+ * 组一套 k 道题的练习是 O(k log n)，不需要 ORDER BY RANDOM() 式的全表随机排序。
+ * 非线程安全，在主线程使用
+ */
+public class WrongQuestionQueueYSJ {
+
+    static final double RECENCY_HALF_LIFE_DAYS = 14;
+    static final double MIN_RECENCY = 0.25;          // 很久以前的错题仍保留的最低权重比例
+    static final double MASTERED_FACTOR = 0.2;       // 已掌握的题偶尔复现
+    static final int RETRY_GAP = 3;                  // 答错的题至少间隔几题后才可能再次出现
+    static final double PRIOR_ANSWERS = 5;           // 已有错题折算成的先验作答次数，避免压过本次练习的表现
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    private final List<WrongQuestionEntity> questions;
+    private final Map<String, Category> categories = new LinkedHashMap<>();
+    private final IdentityHashMap<WrongQuestionEntity, Integer> positions = new IdentityHashMap<>();
+    private final Category[] categoryOf;
+    private final int[] slotOf;
+    private final ArrayDeque<int[]> retries = new ArrayDeque<>();   // {题目下标, 可再次出现时的抽题序号}
+    private final Random random;
+    private final long now;
+    private int drawCount;
+
+    /**
+     * 分类：分类内的题目抽样器和薄弱程度统计
+     */
+    private static class Category {
+        final List<Integer> members = new ArrayList<>();
+        WeightedSamplerYSJ sampler;
+        int masteredCount;
+        double wrong;
+        double correct;
+
+        /**
+         * 平滑后的错误率，映射到 [0.5, 1.5]
+         */
+        double weakness() {
+            return 0.5 + (wrong + 1.0) / (wrong + correct + 2.0);
+        }
+    }
+
+    public WrongQuestionQueueYSJ(List<WrongQuestionEntity> questions) {
+        this(questions, System.currentTimeMillis(), new Random());
+    }
+
+    WrongQuestionQueueYSJ(List<WrongQuestionEntity> questions, long now, Random random) {
+        this.questions = new ArrayList<>(questions);
+        this.now = now;
+        this.random = random;
+        categoryOf = new Category[this.questions.size()];
+        slotOf = new int[this.questions.size()];
+
+        for (int i = 0; i < this.questions.size(); i++) {
+            WrongQuestionEntity question = this.questions.get(i);
+            String name = question.getCategory() != null ? question.getCategory() : "";
+            Category category = categories.get(name);
+            if (category == null) {
+                category = new Category();
+                categories.put(name, category);
+            }
+            if (question.isMastered()) {
+                category.masteredCount++;
+            }
+            categoryOf[i] = category;
+            slotOf[i] = category.members.size();
+            category.members.add(i);
+            positions.put(question, i);
+        }
+        for (Category category : categories.values()) {
+            // 已有错题作为先验：按未掌握/已掌握的比例折算成 PRIOR_ANSWERS 次错/对
+            category.correct = PRIOR_ANSWERS * category.masteredCount / category.members.size();
+            category.wrong = PRIOR_ANSWERS - category.correct;
+            double[] weights = new double[category.members.size()];
+            for (int slot = 0; slot < weights.length; slot++) {
+                weights[slot] = weightOf(this.questions.get(category.members.get(slot)));
+            }
+            category.sampler = new WeightedSamplerYSJ(weights);
+        }
+    }
+
+    public int size() {
+        return questions.size();
+    }
+
+    /**
+     * 抽下一道题，抽到的题在本次练习中移出候选；没有可抽的题时返回 null
+     */
+    public WrongQuestionEntity next() {
+        drawCount++;
+        while (!retries.isEmpty() && retries.peekFirst()[1] <= drawCount) {
+            int index = retries.pollFirst()[0];
+            setWeight(index, weightOf(questions.get(index)));
+        }
+
+        double total = 0;
+        for (Category category : categories.values()) {
+            total += category.weakness() * category.sampler.total();
+        }
+        if (total <= 0) {
+            return null;
+        }
+        double target = random.nextDouble() * total;
+        Category chosen = null;
+        for (Category category : categories.values()) {
+            double weight = category.weakness() * category.sampler.total();
+            if (weight <= 0) {
+                continue;
+            }
+            chosen = category;
+            if (target < weight) {
+                break;
+            }
+            target -= weight;
+        }
+
+        int slot = chosen.sampler.sample(random);
+        if (slot < 0) {
+            return null;
+        }
+        chosen.sampler.set(slot, 0);
+        return questions.get(chosen.members.get(slot));
+    }
+
+    /**
+     * 组一套最多 count 道、互不重复的练习题
+     */
+    public List<WrongQuestionEntity> nextBatch(int count) {
+        List<WrongQuestionEntity> batch = new ArrayList<>(Math.min(count, questions.size()));
+        for (int i = 0; i < count; i++) {
+            WrongQuestionEntity question = next();
+            if (question == null) {
+                break;
+            }
+            batch.add(question);
+        }
+        return batch;
+    }
+
+    /**
+     * 记录作答结果（应在实体的 wrongCount/mastered 更新之后调用）
+     * 更新所属分类的薄弱程度；答错的题按新的错误次数重新加入候选，间隔几题后可能再次出现
+     */
+    public void onAnswered(WrongQuestionEntity question, boolean correct) {
+        Integer index = positions.get(question);
+        if (index == null) {
+            return;
+        }
+        Category category = categoryOf[index];
+        if (correct) {
+            category.correct++;
+        } else {
+            category.wrong++;
+            if (category.sampler.get(slotOf[index]) == 0) {
+                retries.addLast(new int[] {index, drawCount + RETRY_GAP});
+            }
+        }
+    }
+
+    /**
+     * 题目权重
+     */
+    double weightOf(WrongQuestionEntity question) {
+        double weight = 1 + Math.log(1 + Math.max(0, question.getWrongCount()));
+        double recency = MIN_RECENCY;
+        if (question.getWrongTime() != null) {
+            double ageDays = Math.max(0, now - question.getWrongTime().getTime()) / (double) MILLIS_PER_DAY;
+            recency += (1 - MIN_RECENCY) * Math.pow(0.5, ageDays / RECENCY_HALF_LIFE_DAYS);
+        }
+        weight *= recency;
+        if (question.isMastered()) {
+            weight *= MASTERED_FACTOR;
+        }
+        return weight;
+    }
+
+    /**
+     * 分类当前的薄弱程度，供测试使用
+     */
+    double weaknessOf(String category) {
+        Category stats = categories.get(category);
+        return stats != null ? stats.weakness() : 0;
+    }
+
+    private void setWeight(int index, double weight) {
+        categoryOf[index].sampler.set(slotOf[index], weight);
+    }
+}
@@ -10,10 +10,10 @@ import androidx.lifecycle.MutableLiveData;
 import com.example.mybighomework.database.AppDatabase;
 import com.example.mybighomework.database.entity.BookEntity;
 import com.example.mybighomework.database.repository.BookRepository;
+import com.example.mybighomework.utils.TaskScopeYSJ;
 
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 
 /**
  * 词书ViewModel
@@ -22,7 +22,9 @@ import java.util.concurrent.Executors;
 public class BookViewModel extends AndroidViewModel {
 
     private BookRepository repository;
-    private ExecutorService executor;
+    // 查询任务，ViewModel 清理时取消未开始的任务
+    private final TaskScopeYSJ tasks = new TaskScopeYSJ();
+    private final Executor executor = tasks.diskIO();
 
     private MutableLiveData<List<BookEntity>> books = new MutableLiveData<>();
     private MutableLiveData<List<BookEntity>> searchResults = new MutableLiveData<>();
@@ -33,7 +35,6 @@ public class BookViewModel extends AndroidViewModel {
         super(application);
         AppDatabase database = AppDatabase.getInstance(application);
         repository = new BookRepository(database);
-        executor = Executors.newSingleThreadExecutor();
     }
 
     public LiveData<List<BookEntity>> getBooks() {
@@ -117,8 +118,6 @@ public class BookViewModel extends AndroidViewModel {
     @Override
     protected void onCleared() {
         super.onCleared();
-        if (executor != null && !executor.isShutdown()) {
-            executor.shutdown();
-        }
+        tasks.cancel();
     }
 }
@@ -10,10 +10,11 @@ import androidx.lifecycle.MutableLiveData;
 import com.example.mybighomework.database.AppDatabase;
 import com.example.mybighomework.database.dao.DailySentenceDao;
 import com.example.mybighomework.database.entity.DailySentenceEntity;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
+import com.example.mybighomework.utils.TaskScopeYSJ;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * 每日一句页面的ViewModel
@@ -23,6 +24,8 @@ public class DailySentenceViewModelYSJ extends AndroidViewModel {
     
     private final DailySentenceDao dailySentenceDao;
     private final ExecutorService executorService;
+    // 查询任务，ViewModel 清理时取消未开始的任务；写入仍走共享线程池，保证完成
+    private final TaskScopeYSJ tasks = new TaskScopeYSJ();
     
     // LiveData
     private final MutableLiveData<DailySentenceEntity> todaySentence = new MutableLiveData<>();
@@ -35,7 +38,7 @@ public class DailySentenceViewModelYSJ extends AndroidViewModel {
         super(application);
         AppDatabase db = AppDatabase.getInstance(application);
         dailySentenceDao = db.dailySentenceDao();
-        executorService = Executors.newSingleThreadExecutor();
+        executorService = AppExecutorsYSJ.getInstance().diskIO();
         
         loadTodaySentence();
     }
@@ -45,7 +48,7 @@ public class DailySentenceViewModelYSJ extends AndroidViewModel {
      */
     public void loadTodaySentence() {
         isLoading.setValue(true);
-        executorService.execute(() -> {
+        tasks.diskIO().execute(() -> {
             try {
                 // 获取最新的句子
                 List<DailySentenceEntity> recent = dailySentenceDao.getRecent(1);
@@ -66,7 +69,7 @@ public class DailySentenceViewModelYSJ extends AndroidViewModel {
      * 加载历史句子
      */
     public void loadHistory() {
-        executorService.execute(() -> {
+        tasks.diskIO().execute(() -> {
             try {
                 List<DailySentenceEntity> history = dailySentenceDao.getAll();
                 sentenceHistory.postValue(history);
@@ -127,8 +130,6 @@ public class DailySentenceViewModelYSJ extends AndroidViewModel {
     @Override
     protected void onCleared() {
         super.onCleared();
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
-        }
+        tasks.cancel();
     }
 }
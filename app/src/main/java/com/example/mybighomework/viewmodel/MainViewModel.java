@@ -10,6 +10,7 @@ import com.example.mybighomework.database.AppDatabase;
 import com.example.mybighomework.repository.ExamRecordRepository;
 import com.example.mybighomework.repository.VocabularyRecordRepository;
 import com.example.mybighomework.database.entity.ExamRecordEntity;
+import com.example.mybighomework.utils.TaskScopeYSJ;
 
 import java.util.List;
 
@@ -22,6 +23,9 @@ public class MainViewModel extends AndroidViewModel {
     private final VocabularyRecordRepository vocabularyRepository;
     private final ExamRecordRepository examRepository;
     
+    // 后台查询任务，ViewModel 清理时取消未开始的任务
+    private final TaskScopeYSJ tasks = new TaskScopeYSJ();
+    
     // LiveData 数据源（自动在后台线程查询，UI线程更新）
     private final LiveData<Integer> vocabularyCount;
     private final LiveData<Integer> masteredVocabularyCount;
@@ -70,7 +74,7 @@ public class MainViewModel extends AndroidViewModel {
      * 这个方法在后台线程执行，不会阻塞UI
      */
     public void calculateStudyDays(OnResultListener<Integer> listener) {
-        new Thread(() -> {
+        tasks.diskIO().execute(() -> {
             try {
                 // TODO: 实现实际的学习天数计算逻辑
                 int studyDays = 0; // 示例值
@@ -78,14 +82,14 @@ public class MainViewModel extends AndroidViewModel {
             } catch (Exception e) {
                 listener.onError(e);
             }
-        }).start();
+        });
     }
     
     /**
      * 获取平均考试分数
      */
     public void getAverageExamScore(OnResultListener<Double> listener) {
-        new Thread(() -> {
+        tasks.diskIO().execute(() -> {
             try {
                 List<ExamRecordEntity> records = examRepository.getAllExamRecords();
                 if (records.isEmpty()) {
@@ -102,7 +106,7 @@ public class MainViewModel extends AndroidViewModel {
             } catch (Exception e) {
                 listener.onError(e);
             }
-        }).start();
+        });
     }
     
     // ==================== 回调接口 ====================
@@ -115,7 +119,8 @@ public class MainViewModel extends AndroidViewModel {
     @Override
     protected void onCleared() {
         super.onCleared();
-        // ViewModel 被销毁时，关闭Repository中的线程池
+        // ViewModel 被销毁时，取消尚未执行的查询
+        tasks.cancel();
         vocabularyRepository.shutdown();
     }
 }
@@ -9,26 +9,25 @@ import androidx.lifecycle.MutableLiveData;
 
 import com.example.mybighomework.database.AppDatabase;
 import com.example.mybighomework.database.dao.StudyRecordDao;
-import com.example.mybighomework.database.dao.VocabularyDao;
 import com.example.mybighomework.database.dao.ExamDao;
-import com.example.mybighomework.database.entity.StudyRecordEntity;
 import com.example.mybighomework.database.entity.ExamRecordEntity;
+import com.example.mybighomework.repository.StudyStatisticsRepository;
+import com.example.mybighomework.utils.TaskScopeYSJ;
 
-import java.util.Calendar;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 
 /**
  * 学习报告页面的ViewModel
- * 负责获取和处理学习数据统计
+ * 负责获取和处理学习数据统计，统计数字来自汇总表，加载耗时与历史记录数量无关
  */
 public class ReportViewModelYSJ extends AndroidViewModel {
     
-    private final StudyRecordDao studyRecordDao;
-    private final VocabularyDao vocabularyDao;
+    private final StudyStatisticsRepository statisticsRepository;
     private final ExamDao examDao;
-    private final ExecutorService executorService;
+    // 查询任务，ViewModel 清理时取消未开始的任务
+    private final TaskScopeYSJ tasks = new TaskScopeYSJ();
+    private final Executor executorService = tasks.diskIO();
     
     // LiveData - 学习统计数据
     private final MutableLiveData<Integer> totalStudyDays = new MutableLiveData<>();
@@ -45,10 +44,8 @@ public class ReportViewModelYSJ extends AndroidViewModel {
     public ReportViewModelYSJ(@NonNull Application application) {
         super(application);
         AppDatabase db = AppDatabase.getInstance(application);
-        studyRecordDao = db.studyRecordDao();
-        vocabularyDao = db.vocabularyDao();
+        statisticsRepository = new StudyStatisticsRepository(db.studyStatsDao());
         examDao = db.examDao();
-        executorService = Executors.newSingleThreadExecutor();
         
         // 初始加载数据
         loadAllData();
@@ -62,41 +59,23 @@ public class ReportViewModelYSJ extends AndroidViewModel {
         executorService.execute(() -> {
             try {
                 // 获取学习天数
-                List<String> studyDays = studyRecordDao.getDistinctStudyDays();
-                totalStudyDays.postValue(studyDays != null ? studyDays.size() : 0);
+                totalStudyDays.postValue(statisticsRepository.getTotalStudyDays());
                 
                 // 获取已掌握词汇数
-                int mastered = vocabularyDao.getMasteredVocabularyCount();
-                masteredVocabularyCount.postValue(mastered);
+                masteredVocabularyCount.postValue(statisticsRepository.getMasteredVocabularyCount());
                 
-                // 获取平均考试成绩
-                List<ExamRecordEntity> exams = examDao.getAllExamRecords();
+                // 获取平均考试成绩和最近考试
+                averageExamScore.postValue(statisticsRepository.getAverageExamScore());
+                List<ExamRecordEntity> exams = examDao.getRecentExamRecords(5);
                 if (exams != null && !exams.isEmpty()) {
-                    double totalScore = 0;
-                    for (ExamRecordEntity exam : exams) {
-                        totalScore += exam.getScore();
-                    }
-                    averageExamScore.postValue(totalScore / exams.size());
-                    recentExams.postValue(exams.subList(0, Math.min(5, exams.size())));
-                } else {
-                    averageExamScore.postValue(0.0);
+                    recentExams.postValue(exams);
                 }
                 
                 // 获取今日学习时长
-                long todayStart = getTodayStartTime();
-                List<StudyRecordEntity> todayRecords = studyRecordDao.getStudyRecordsSince(todayStart);
-                long totalTime = 0;
-                if (todayRecords != null) {
-                    for (StudyRecordEntity record : todayRecords) {
-                        totalTime += record.getResponseTime();
-                    }
-                }
-                todayStudyTime.postValue(totalTime);
+                todayStudyTime.postValue(statisticsRepository.getTodayStudyTime());
                 
                 // 获取一周学习数据
-                long weekStart = getWeekStartTime();
-                List<StudyRecordDao.DailyStudyTime> weekData = studyRecordDao.getDailyStudyTime(weekStart);
-                weeklyStudyData.postValue(weekData);
+                weeklyStudyData.postValue(statisticsRepository.getDailyStudyTime(7));
                 
                 isLoading.postValue(false);
             } catch (Exception e) {
@@ -113,25 +92,6 @@ public class ReportViewModelYSJ extends AndroidViewModel {
         loadAllData();
     }
     
-    private long getTodayStartTime() {
-        Calendar calendar = Calendar.getInstance();
-        calendar.set(Calendar.HOUR_OF_DAY, 0);
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
-        return calendar.getTimeInMillis();
-    }
-    
-    private long getWeekStartTime() {
-        Calendar calendar = Calendar.getInstance();
-        calendar.add(Calendar.DAY_OF_YEAR, -7);
-        calendar.set(Calendar.HOUR_OF_DAY, 0);
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
-        return calendar.getTimeInMillis();
-    }
-    
     // Getters for LiveData
     public LiveData<Integer> getTotalStudyDays() { return totalStudyDays; }
     public LiveData<Integer> getMasteredVocabularyCount() { return masteredVocabularyCount; }
@@ -145,8 +105,6 @@ public class ReportViewModelYSJ extends AndroidViewModel {
     @Override
     protected void onCleared() {
         super.onCleared();
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
-        }
+        tasks.cancel();
     }
 }
@@ -14,6 +14,8 @@ import com.example.mybighomework.database.entity.DailyTaskEntity;
 import com.example.mybighomework.database.entity.StudyPhaseEntity;
 import com.example.mybighomework.database.entity.StudyPlanEntity;
 import com.example.mybighomework.repository.StudyPlanRepository;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
+import com.example.mybighomework.utils.TaskScopeYSJ;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -21,7 +23,6 @@ import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * StudyPlanActivity 的 ViewModel
@@ -31,6 +32,8 @@ public class StudyPlanViewModel extends AndroidViewModel {
     
     private final StudyPlanRepository studyPlanRepository;
     private final ExecutorService executorService;
+    // 查询任务，ViewModel 清理时取消未开始的任务；写入仍走共享线程池，保证完成
+    private final TaskScopeYSJ tasks = new TaskScopeYSJ();
     
     // LiveData 数据源（为Entity）
     private final LiveData<List<StudyPlanEntity>> allStudyPlans;
@@ -72,7 +75,7 @@ public class StudyPlanViewModel extends AndroidViewModel {
             database.studyPhaseDao(),
             database.dailyTaskDao()
         );
-        executorService = Executors.newSingleThreadExecutor();
+        executorService = AppExecutorsYSJ.getInstance().diskIO();
         
         // 初始化 LiveData
         allStudyPlans = studyPlanRepository.getAllStudyPlansLive();
@@ -159,7 +162,7 @@ public class StudyPlanViewModel extends AndroidViewModel {
      */
     public void loadAllPlans() {
         android.util.Log.d("StudyPlanViewModel", "loadAllPlans 开始执行");
-        executorService.execute(() -> {
+        tasks.diskIO().execute(() -> {
             try {
                 android.util.Log.d("StudyPlanViewModel", "后台线程开始加载计划");
                 List<StudyPlan> plans = studyPlanRepository.getAllStudyPlans();
@@ -177,7 +180,7 @@ public class StudyPlanViewModel extends AndroidViewModel {
      * 加载统计数据
      */
     public void loadStatistics() {
-        executorService.execute(() -> {
+        tasks.diskIO().execute(() -> {
             try {
                 int total = studyPlanRepository.getAllStudyPlans().size();
                 int completed = studyPlanRepository.getPlansByStatus("已完成").size();
@@ -313,7 +316,7 @@ public class StudyPlanViewModel extends AndroidViewModel {
      * 根据状态过滤计划
      */
     public void filterPlansByStatus(String status) {
-        executorService.execute(() -> {
+        tasks.diskIO().execute(() -> {
             try {
                 List<StudyPlan> filteredPlans;
                 // 修复：正确处理"全部计划"和"全部"
@@ -331,6 +334,12 @@ public class StudyPlanViewModel extends AndroidViewModel {
         });
     }
     
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        tasks.cancel();
+    }
+    
     // ==================== 转换方法 ====================
     
     /**
@@ -12,6 +12,8 @@ import com.example.mybighomework.database.entity.StudyRecordEntity;
 import com.example.mybighomework.database.entity.VocabularyRecordEntity;
 import com.example.mybighomework.repository.StudyRecordRepository;
 import com.example.mybighomework.repository.VocabularyRecordRepository;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
+import com.example.mybighomework.utils.TaskScopeYSJ;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -26,6 +28,9 @@ public class VocabularyViewModel extends AndroidViewModel {
     private final VocabularyRecordRepository vocabularyRepository;
     private final StudyRecordRepository studyRecordRepository;
     
+    // 加载任务，ViewModel 清理时取消未开始的任务；学习记录的保存仍走共享线程池，保证完成
+    private final TaskScopeYSJ tasks = new TaskScopeYSJ();
+    
     // 训练数据
     private final MutableLiveData<List<VocabularyItem>> vocabularyList = new MutableLiveData<>();
     private final MutableLiveData<Integer> currentQuestionIndex = new MutableLiveData<>(0);
@@ -119,7 +124,7 @@ public class VocabularyViewModel extends AndroidViewModel {
     public void initVocabularyData() {
         isLoading.setValue(true);
         
-        new Thread(() -> {
+        tasks.diskIO().execute(() -> {
             try {
                 List<VocabularyItem> items = generateVocabularyData();
                 vocabularyList.postValue(items);
@@ -129,7 +134,7 @@ public class VocabularyViewModel extends AndroidViewModel {
                 errorMessage.postValue("加载词汇数据失败: " + e.getMessage());
                 isLoading.postValue(false);
             }
-        }).start();
+        });
     }
     
     /**
@@ -239,7 +244,7 @@ public class VocabularyViewModel extends AndroidViewModel {
      * 保存词汇学习记录
      */
     private void saveVocabularyRecord(VocabularyItem item, boolean isCorrect) {
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
             try {
                 // 检查词汇是否已存在
                 VocabularyRecordEntity existingRecord = 
@@ -287,14 +292,14 @@ public class VocabularyViewModel extends AndroidViewModel {
                 e.printStackTrace();
                 errorMessage.postValue("保存词汇记录时出错");
             }
-        }).start();
+        });
     }
     
     /**
      * 保存训练记录
      */
     public void saveTrainingRecord(OnSaveCompleteListener listener) {
-        new Thread(() -> {
+        AppExecutorsYSJ.getInstance().diskIO().execute(() -> {
             try {
                 long trainingEndTime = System.currentTimeMillis();
                 long duration = trainingEndTime - trainingStartTime;
@@ -326,7 +331,7 @@ public class VocabularyViewModel extends AndroidViewModel {
                     listener.onError(e);
                 }
             }
-        }).start();
+        });
     }
     
     /**
@@ -341,6 +346,7 @@ public class VocabularyViewModel extends AndroidViewModel {
     protected void onCleared() {
         super.onCleared();
         // ViewModel 被销毁时，清理资源
+        tasks.cancel();
         vocabularyRepository.shutdown();
     }
 }
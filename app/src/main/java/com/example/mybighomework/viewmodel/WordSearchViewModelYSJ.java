@@ -15,11 +15,18 @@ import com.example.mybighomework.database.repository.DictionaryWordRepository;
 import com.example.mybighomework.database.repository.ExampleSentenceRepositoryYSJ;
 import com.example.mybighomework.database.repository.SearchHistoryRepositoryYSJ;
 import com.example.mybighomework.database.repository.UserWordCollectionRepositoryYSJ;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
+import com.example.mybighomework.utils.DictionarySearchEngineYSJ;
+import com.example.mybighomework.utils.TaskScopeYSJ;
+import com.example.mybighomework.utils.WordSuggestionServiceYSJ;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 单词搜索功能ViewModel
@@ -27,11 +34,22 @@ import java.util.concurrent.Executors;
  */
 public class WordSearchViewModelYSJ extends AndroidViewModel {
     
+    // 输入停顿多久后才搜索
+    static final long SEARCH_DEBOUNCE_MILLIS = 250;
+    private static final int SEARCH_LIMIT = 50;
+    private static final int SUGGESTION_LIMIT = 5;
+    
     private final DictionaryWordRepository wordRepository;
+    private final DictionarySearchEngineYSJ searchEngine;
     private final ExampleSentenceRepositoryYSJ sentenceRepository;
     private final UserWordCollectionRepositoryYSJ collectionRepository;
     private final SearchHistoryRepositoryYSJ historyRepository;
-    private final ExecutorService executor;
+    // 搜索任务，用户正在等待结果；ViewModel 清理时取消未开始的任务
+    private final TaskScopeYSJ tasks = new TaskScopeYSJ();
+    private final Executor executor = tasks.diskIO(AppExecutorsYSJ.Priority.IMMEDIATE);
+    // 每次输入变化加一，旧的搜索发现编号过期后放弃，结果不再投递
+    private final AtomicLong searchGeneration = new AtomicLong();
+    private ScheduledFuture<?> pendingSearch;
     
     // 搜索结果
     private final MutableLiveData<List<DictionaryWordEntity>> searchResults = new MutableLiveData<>();
@@ -57,10 +75,15 @@ public class WordSearchViewModelYSJ extends AndroidViewModel {
     public WordSearchViewModelYSJ(@NonNull Application application) {
         super(application);
         wordRepository = new DictionaryWordRepository(application);
+        searchEngine = DictionarySearchEngineYSJ.getInstance(application);
         sentenceRepository = new ExampleSentenceRepositoryYSJ(application);
         collectionRepository = new UserWordCollectionRepositoryYSJ(application);
         historyRepository = new SearchHistoryRepositoryYSJ(application);
-        executor = Executors.newSingleThreadExecutor();
+        // 提前构建拼写纠错索引，第一次输错时不必等待
+        tasks.computation().execute(searchEngine::warmUp);
+        // 加载联想前缀树和搜索历史，之后的联想只读内存
+        tasks.computation().execute(WordSuggestionServiceYSJ.getInstance(application)::warmUp);
+        historyRepository.preloadHistory(currentUserId);
     }
     
     /**
@@ -68,31 +91,72 @@ public class WordSearchViewModelYSJ extends AndroidViewModel {
      */
     public void setCurrentUserId(String userId) {
         this.currentUserId = userId;
+        historyRepository.preloadHistory(userId);
     }
     
     /**
-     * 搜索单词
+     * 输入变化时搜索（防抖）：停顿 SEARCH_DEBOUNCE_MILLIS 后才查询，之前未完成的搜索作废
      */
     public void searchWords(String keyword) {
+        long generation = restartSearch();
         if (keyword == null || keyword.trim().isEmpty()) {
             searchResults.setValue(new ArrayList<>());
+            isLoading.setValue(false);
             return;
         }
         
-        isLoading.setValue(true);
+        String trimmed = keyword.trim();
+        pendingSearch = AppExecutorsYSJ.getInstance().scheduler().schedule(
+                () -> executor.execute(() -> runSearch(trimmed, generation)),
+                SEARCH_DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * 提交搜索（点击软键盘搜索）：立即查询并记入搜索历史
+     */
+    public void searchNow(String keyword) {
+        long generation = restartSearch();
+        if (keyword == null || keyword.trim().isEmpty()) {
+            searchResults.setValue(new ArrayList<>());
+            return;
+        }
         
-        // 在后台线程执行数据库操作
+        String trimmed = keyword.trim();
+        isLoading.setValue(true);
         executor.execute(() -> {
-            // 添加搜索历史
-            historyRepository.addSearchHistory(keyword.trim(), currentUserId);
-            
-            // 执行搜索
-            List<DictionaryWordEntity> results = wordRepository.searchWordsSync(keyword.trim() + "%");
-            searchResults.postValue(results != null ? results : new ArrayList<>());
-            isLoading.postValue(false);
+            historyRepository.addSearchHistory(trimmed, currentUserId);
+            runSearch(trimmed, generation);
         });
     }
     
+    /**
+     * 作废之前的搜索
+     * @return 新搜索的编号
+     */
+    private long restartSearch() {
+        if (pendingSearch != null) {
+            pendingSearch.cancel(false);
+            pendingSearch = null;
+        }
+        return searchGeneration.incrementAndGet();
+    }
+    
+    private void runSearch(String keyword, long generation) {
+        if (generation != searchGeneration.get()) {
+            return;
+        }
+        isLoading.postValue(true);
+        List<DictionaryWordEntity> results =
+                searchEngine.search(keyword, SEARCH_LIMIT, () -> generation != searchGeneration.get());
+        if (generation != searchGeneration.get()) {
+            return;
+        }
+        // 预热单词缓存，点击结果进入详情时无需再次查询
+        DictionaryWordRepository.cacheWords(results);
+        searchResults.postValue(results);
+        isLoading.postValue(false);
+    }
+    
     /**
      * 获取搜索结果LiveData
      */
@@ -120,8 +184,11 @@ public class WordSearchViewModelYSJ extends AndroidViewModel {
      */
     public void getWordDetail(String wordText) {
         isLoading.setValue(true);
-        
-        wordRepository.getWordByWord(wordText, new DictionaryWordRepository.WordCallback() {
+        wordRepository.getWordByWord(wordText, newWordDetailCallback());
+    }
+    
+    private DictionaryWordRepository.WordCallback newWordDetailCallback() {
+        return new DictionaryWordRepository.WordCallback() {
             @Override
             public void onSuccess(DictionaryWordEntity word) {
                 selectedWord.postValue(word);
@@ -132,6 +199,36 @@ public class WordSearchViewModelYSJ extends AndroidViewModel {
                 isLoading.postValue(false);
             }
             
+            @Override
+            public void onError(String error) {
+                errorMessage.postValue(error);
+                isLoading.postValue(false);
+            }
+        };
+    }
+    
+    /**
+     * 根据单词ID获取单词详情（优先命中单词缓存），ID为空时按单词文本查询
+     */
+    public void getWordDetail(String wordId, String wordText) {
+        if (wordId == null || wordId.isEmpty()) {
+            getWordDetail(wordText);
+            return;
+        }
+        
+        isLoading.setValue(true);
+        
+        wordRepository.getWordsByIds(Collections.singletonList(wordId), new DictionaryWordRepository.WordsCallback() {
+            @Override
+            public void onSuccess(List<DictionaryWordEntity> words) {
+                if (words.isEmpty()) {
+                    // ID 失效时回退到按单词文本查询
+                    wordRepository.getWordByWord(wordText, newWordDetailCallback());
+                    return;
+                }
+                newWordDetailCallback().onSuccess(words.get(0));
+            }
+            
             @Override
             public void onError(String error) {
                 errorMessage.postValue(error);
@@ -239,11 +336,18 @@ public class WordSearchViewModelYSJ extends AndroidViewModel {
         return historyRepository.getRecentSearches(currentUserId, 10);
     }
     
+    /**
+     * 获取搜索建议（只读内存，可随输入在主线程调用）
+     */
+    public List<String> getSearchSuggestions(String keyword) {
+        return historyRepository.suggest(currentUserId, keyword, SUGGESTION_LIMIT);
+    }
+    
     /**
      * 获取搜索建议
      */
     public void getSearchSuggestions(String keyword, SearchHistoryRepositoryYSJ.SuggestionsCallback callback) {
-        historyRepository.getSearchSuggestions(currentUserId, keyword, 5, callback);
+        historyRepository.getSearchSuggestions(currentUserId, keyword, SUGGESTION_LIMIT, callback);
     }
     
     /**
@@ -290,4 +394,11 @@ public class WordSearchViewModelYSJ extends AndroidViewModel {
     public void clearError() {
         errorMessage.setValue(null);
     }
+    
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        restartSearch();
+        tasks.cancel();
+    }
 }
@@ -10,11 +10,12 @@ import androidx.lifecycle.MutableLiveData;
 import com.example.mybighomework.database.AppDatabase;
 import com.example.mybighomework.database.dao.WrongQuestionDao;
 import com.example.mybighomework.database.entity.WrongQuestionEntity;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
+import com.example.mybighomework.utils.TaskScopeYSJ;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * 错题本页面的ViewModel
@@ -24,6 +25,8 @@ public class WrongQuestionViewModelYSJ extends AndroidViewModel {
     
     private final WrongQuestionDao wrongQuestionDao;
     private final ExecutorService executorService;
+    // 查询任务，ViewModel 清理时取消未开始的任务；写入仍走共享线程池，保证完成
+    private final TaskScopeYSJ tasks = new TaskScopeYSJ();
     
     // LiveData
     private final MutableLiveData<List<WrongQuestionEntity>> allWrongQuestions = new MutableLiveData<>();
@@ -37,7 +40,7 @@ public class WrongQuestionViewModelYSJ extends AndroidViewModel {
         super(application);
         AppDatabase db = AppDatabase.getInstance(application);
         wrongQuestionDao = db.wrongQuestionDao();
-        executorService = Executors.newSingleThreadExecutor();
+        executorService = AppExecutorsYSJ.getInstance().diskIO();
         
         loadAllWrongQuestions();
     }
@@ -47,7 +50,7 @@ public class WrongQuestionViewModelYSJ extends AndroidViewModel {
      */
     public void loadAllWrongQuestions() {
         isLoading.setValue(true);
-        executorService.execute(() -> {
+        tasks.diskIO().execute(() -> {
             try {
                 List<WrongQuestionEntity> questions = wrongQuestionDao.getAllWrongQuestions();
                 allWrongQuestions.postValue(questions);
@@ -132,8 +135,6 @@ public class WrongQuestionViewModelYSJ extends AndroidViewModel {
     @Override
     protected void onCleared() {
         super.onCleared();
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
-        }
+        tasks.cancel();
     }
 }
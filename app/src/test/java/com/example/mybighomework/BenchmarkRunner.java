@@ -0,0 +1,73 @@
+package com.example.mybighomework;
+
+import org.junit.Assume;
+
+import java.util.Arrays;
+
+/**
+ * 基准测试工具
+ * 耗时对比不参与普通构建，只在 ./gradlew testDebugUnitTest -Pbenchmark 时运行，
+ * 结果通过 report 输出；单元测试只做行为断言，不断言耗时
+ */
+public final class BenchmarkRunner {
+
+    public static final String ENABLED_PROPERTY = "benchmark";
+
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * 测量的操作
+     */
+    public interface Operation {
+        void run() throws Exception;
+    }
+
+    /**
+     * 未开启基准测试时跳过当前测试，应在基准测试方法的第一行调用
+     */
+    public static void assumeEnabled() {
+        Assume.assumeTrue("基准测试需要 -P" + ENABLED_PROPERTY + " 开启", Boolean.getBoolean(ENABLED_PROPERTY));
+    }
+
+    /**
+     * 按 JMH 的方式先预热再计时
+     * @return 每次操作的平均耗时（纳秒）
+     */
+    public static long measure(Operation operation, int warmup, int iterations) throws Exception {
+        for (int i = 0; i < warmup; i++) {
+            operation.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        return (System.nanoTime() - start) / iterations;
+    }
+
+    /**
+     * 单次操作的耗时（纳秒）
+     */
+    public static long time(Operation operation) throws Exception {
+        long start = System.nanoTime();
+        operation.run();
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * 一组耗时（纳秒）的百分位数，单位微秒
+     */
+    public static long percentileMicros(long[] nanos, int percentile) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * percentile / 100.0) - 1);
+        return sorted[Math.max(0, index)] / 1000;
+    }
+
+    /**
+     * 输出一行基准测试结果
+     */
+    public static void report(String name, String result) {
+        System.out.println("[benchmark] " + name + ": " + result);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.mybighomework.autoglm.network;
+
+import static org.junit.Assert.*;
+
+import com.example.mybighomework.autoglm.network.MultimodalModelClient.ContentItem;
+import com.example.mybighomework.autoglm.network.MultimodalModelClient.ImageUrl;
+import com.example.mybighomework.autoglm.network.MultimodalModelClient.Message;
+import com.google.gson.Gson;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 对话历史管理测试
+ * 模拟长任务：每步一条带截图的用户消息和一条助手响应
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, manifest = Config.NONE)
+public class ConversationHistoryManagerTest {
+
+    private final ScreenshotEncoder encoder = new ScreenshotEncoder();
+    private int imageSequence;
+
+    @Test
+    public void keepsImagesOnlyForRecentTurns() {
+        ConversationHistoryManager history = newHistory(2, Integer.MAX_VALUE);
+        List<ScreenshotEncoder.EncodedImage> images = new ArrayList<>();
+        for (int step = 0; step < 10; step++) {
+            history.add(userMessageWithImage("请继续执行任务", images));
+            history.enforceBudget();
+            history.add(new Message("assistant", "<answer>do(action=\"Back\")</answer>"));
+        }
+
+        Map<String, ScreenshotEncoder.EncodedImage> pending = new HashMap<>();
+        String json = history.toJsonElements(pending);
+        assertEquals(2, pending.size());
+        assertTrue(json.contains("此前的屏幕截图已省略"));
+
+        // 被裁剪的截图已归还缓冲区，最近两张仍可用
+        for (int i = 0; i < images.size() - 2; i++) {
+            assertEquals(0, images.get(i).getEncodedLength());
+        }
+        assertTrue(images.get(images.size() - 1).getEncodedLength() > 0);
+    }
+
+    @Test
+    public void dropsOldestTurnsWhenOverBudget() {
+        ConversationHistoryManager history = newHistory(2, 2000);
+        history.add(new Message("user", "打开词汇训练并完成一组练习"));
+        for (int step = 0; step < 100; step++) {
+            history.add(new Message("assistant", "<think>第" + step + "步的推理</think><answer>do(action=\"Tap\", element=[500,500])</answer>"));
+            history.add(new Message("user", "请继续执行任务"));
+            history.enforceBudget();
+        }
+
+        String json = history.toJsonElements(new HashMap<>());
+        assertTrue(json.length() <= 2000 + 200);
+        assertTrue(history.getDroppedTurns() > 0);
+        // 第一条任务指令始终保留
+        assertEquals("打开词汇训练并完成一组练习", history.snapshot().get(0).getTextContent());
+        assertTrue(json.contains("第99步"));
+        assertFalse(json.contains("第0步"));
+    }
+
+    @Test
+    public void reusesSerializedFragmentsOfUnchangedMessages() {
+        ConversationHistoryManager history = newHistory(1, Integer.MAX_VALUE);
+        Message command = new Message("user", "任务");
+        Message response = new Message("assistant", "响应1");
+        history.add(command);
+        history.add(response);
+        String commandJson = history.fragmentOf(command);
+
+        history.add(userMessageWithImage("请继续执行任务", new ArrayList<>()));
+        history.enforceBudget();
+        history.toJsonElements(new HashMap<>());
+        // 未变化的消息复用同一个片段
+        assertSame(commandJson, history.fragmentOf(command));
+
+        // 外部传入同一批消息对象时仍复用
+        history.replaceAll(history.snapshot());
+        assertSame(commandJson, history.fragmentOf(command));
+
+        // 截图被裁剪后片段重新生成
+        Message withImage = history.snapshot().get(2);
+        String imageJson = history.fragmentOf(withImage);
+        history.add(new Message("assistant", "响应2"));
+        history.add(userMessageWithImage("请继续执行任务", new ArrayList<>()));
+        history.enforceBudget();
+        assertNotSame(imageJson, history.fragmentOf(withImage));
+        assertFalse(history.fragmentOf(withImage).contains("__screenshot_"));
+    }
+
+    private ConversationHistoryManager newHistory(int maxImageTurns, int maxChars) {
+        ConversationHistoryManager.Budget budget = new ConversationHistoryManager.Budget();
+        budget.maxImageTurns = maxImageTurns;
+        budget.maxHistoryChars = maxChars;
+        return new ConversationHistoryManager(new Gson(), budget);
+    }
+
+    private Message userMessageWithImage(String text, List<ScreenshotEncoder.EncodedImage> created) {
+        ScreenshotEncoder.PooledBuffer buffer = new ScreenshotEncoder.PooledBuffer(1024);
+        buffer.write(new byte[1024], 0, 1024);
+        ScreenshotEncoder.EncodedImage image =
+                new ScreenshotEncoder.EncodedImage(encoder, buffer, "image/webp", 540, 1200);
+        created.add(image);
+
+        List<ContentItem> items = new ArrayList<>();
+        ContentItem textItem = new ContentItem();
+        textItem.type = "text";
+        textItem.text = text;
+        items.add(textItem);
+        ContentItem imageItem = new ContentItem();
+        imageItem.type = "image_url";
+        imageItem.imageUrl = new ImageUrl("__screenshot_" + (++imageSequence) + "__", image);
+        items.add(imageItem);
+        return new Message("user", items);
+    }
+}
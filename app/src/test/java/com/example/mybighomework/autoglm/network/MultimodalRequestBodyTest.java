@@ -0,0 +1,58 @@
+package com.example.mybighomework.autoglm.network;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import okio.Buffer;
+
+/**
+ * 流式请求体测试
+ * 写出的内容应与把 data URL 直接拼进 JSON 的结果完全一致
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, manifest = Config.NONE)
+public class MultimodalRequestBodyTest {
+
+    @Test
+    public void streamedBodyMatchesInlineJson() throws IOException {
+        ScreenshotEncoder encoder = new ScreenshotEncoder();
+        ScreenshotEncoder.EncodedImage first = newImage(encoder, 1000);
+        ScreenshotEncoder.EncodedImage second = newImage(encoder, 7);
+
+        String json = "{\"messages\":[{\"url\":\"__screenshot_1__\"},{\"text\":\"继续\"},{\"url\":\"__screenshot_2__\"}]}";
+        Map<String, ScreenshotEncoder.EncodedImage> images = new HashMap<>();
+        images.put("__screenshot_1__", first);
+        images.put("__screenshot_2__", second);
+
+        MultimodalRequestBody body = new MultimodalRequestBody(json, images);
+        Buffer sink = new Buffer();
+        body.writeTo(sink);
+
+        String expected = json.replace("__screenshot_1__", first.toDataUrl())
+                .replace("__screenshot_2__", second.toDataUrl());
+        assertEquals(expected, sink.readUtf8());
+        assertEquals(expected.getBytes(StandardCharsets.UTF_8).length, body.contentLength());
+
+        // 请求体可重复写出（重试时 OkHttp 会再次调用 writeTo）
+        Buffer again = new Buffer();
+        body.writeTo(again);
+        assertEquals(expected, again.readUtf8());
+    }
+
+    private ScreenshotEncoder.EncodedImage newImage(ScreenshotEncoder encoder, int size) {
+        ScreenshotEncoder.PooledBuffer buffer = new ScreenshotEncoder.PooledBuffer(size);
+        for (int i = 0; i < size; i++) {
+            buffer.write(i * 31);
+        }
+        return new ScreenshotEncoder.EncodedImage(encoder, buffer, "image/webp", 10, 10);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.mybighomework.autoglm.util;
+
+import static org.junit.Assert.*;
+
+import android.graphics.Bitmap;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Arrays;
+
+/**
+ * 屏幕变化检测测试
+ * 使用合成截图：纯色背景上绘制不同大小的色块
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, manifest = Config.NONE)
+public class ScreenChangeDetectorTest {
+
+    private static final int WIDTH = 540;
+    private static final int HEIGHT = 1200;
+    private static final int BACKGROUND = 0xFFF5F5F5;
+
+    @Test
+    public void identicalScreensAreUnchanged() {
+        ScreenChangeDetector detector = new ScreenChangeDetector();
+        int[] screen = newScreen();
+        fillRect(screen, 40, 200, 500, 300, 0xFF2196F3);
+
+        ScreenChangeDetector.Signature a = detector.compute(toBitmap(screen));
+        ScreenChangeDetector.Signature b = detector.compute(toBitmap(screen.clone()));
+        ScreenChangeDetector.Diff diff = detector.compare(a, b);
+
+        assertFalse(diff.changed);
+        assertEquals(0, diff.changedTiles);
+    }
+
+    @Test
+    public void statusBarChangesAreIgnored() {
+        ScreenChangeDetector detector = new ScreenChangeDetector();
+        int[] before = newScreen();
+        int[] after = newScreen();
+        // 状态栏时间变化
+        fillRect(after, 400, 0, 540, 40, 0xFF000000);
+
+        assertFalse(detector.isChanged(detector.compute(toBitmap(before)), detector.compute(toBitmap(after))));
+    }
+
+    @Test
+    public void smallSpinnerIsBelowDefaultThreshold() {
+        ScreenChangeDetector detector = new ScreenChangeDetector();
+        int[] before = newScreen();
+        int[] after = newScreen();
+        // 加载动画只影响一个网格
+        fillRect(after, 2, 596, 30, 620, 0xFF000000);
+
+        ScreenChangeDetector.Diff diff = detector.compare(
+                detector.compute(toBitmap(before)), detector.compute(toBitmap(after)));
+        assertEquals(1, diff.changedTiles);
+        assertFalse(diff.changed);
+
+        // 阈值可配置：要求任意网格变化都视为屏幕变化
+        ScreenChangeDetector.Config strict = ScreenChangeDetector.Config.defaults();
+        strict.minChangedTiles = 1;
+        ScreenChangeDetector strictDetector = new ScreenChangeDetector(strict);
+        assertTrue(strictDetector.isChanged(
+                strictDetector.compute(toBitmap(before)), strictDetector.compute(toBitmap(after))));
+    }
+
+    @Test
+    public void newDialogIsChanged() {
+        ScreenChangeDetector detector = new ScreenChangeDetector();
+        int[] before = newScreen();
+        int[] after = newScreen();
+        fillRect(after, 60, 400, 480, 800, 0xFF303030);
+
+        ScreenChangeDetector.Diff diff = detector.compare(
+                detector.compute(toBitmap(before)), detector.compute(toBitmap(after)));
+        assertTrue(diff.changed);
+        assertTrue(diff.changedTiles > 50);
+    }
+
+    @Test
+    public void pixelArrayAndBitmapProduceSameSignature() {
+        ScreenChangeDetector detector = new ScreenChangeDetector();
+        int[] screen = newScreen();
+        fillRect(screen, 100, 100, 300, 900, 0xFF4CAF50);
+
+        ScreenChangeDetector.Signature fromPixels = detector.compute(screen, WIDTH, HEIGHT);
+        ScreenChangeDetector.Signature fromBitmap = detector.compute(toBitmap(screen));
+        assertFalse(detector.isChanged(fromPixels, fromBitmap));
+        assertEquals(0, detector.compare(fromPixels, fromBitmap).maxDelta);
+    }
+
+    @Test
+    public void missingPreviousSignatureCountsAsChanged() {
+        ScreenChangeDetector detector = new ScreenChangeDetector();
+        assertTrue(detector.isChanged(null, detector.compute(newScreen(), WIDTH, HEIGHT)));
+    }
+
+    private int[] newScreen() {
+        int[] pixels = new int[WIDTH * HEIGHT];
+        Arrays.fill(pixels, BACKGROUND);
+        return pixels;
+    }
+
+    private void fillRect(int[] pixels, int left, int top, int right, int bottom, int color) {
+        for (int y = top; y < bottom; y++) {
+            Arrays.fill(pixels, y * WIDTH + left, y * WIDTH + right, color);
+        }
+    }
+
+    private Bitmap toBitmap(int[] pixels) {
+        return Bitmap.createBitmap(pixels, WIDTH, HEIGHT, Bitmap.Config.ARGB_8888);
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.mybighomework.database;
+
+import static org.junit.Assert.*;
+
+import android.database.Cursor;
+
+import androidx.room.Room;
+
+import com.example.mybighomework.BenchmarkRunner;
+import com.example.mybighomework.database.entity.DictionaryWordEntity;
+import com.example.mybighomework.database.entity.QuestionEntity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 随机抽样基准测试
+ * 验证抽样结果符合过滤条件、写入后缓存失效；开启基准测试时在 10k / 100k 行的题库和词典上，
+ * 比较旧的 ORDER BY RANDOM() LIMIT 20 与 RandomSamplerYSJ（首次加载 id 列表 + 之后每次抽样）的耗时
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, manifest = Config.NONE)
+public class RandomSamplerBenchmarkTest {
+
+    private static final int[] ROW_COUNTS = {10_000, 100_000};
+    private static final int LIMIT = 20;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURE_ITERATIONS = 30;
+    private static final String[] CATEGORIES = {"词汇", "语法", "阅读", "听力"};
+    private static final String[] EXAM_TYPES = {"四级", "六级", "考研"};
+
+    private AppDatabase db;
+    private RandomSamplerYSJ sampler;
+
+    @Before
+    public void setUp() {
+        // 查询线程池换成直接执行，写入后的失效通知同步送达，便于断言
+        db = Room.inMemoryDatabaseBuilder(RuntimeEnvironment.getApplication(), AppDatabase.class)
+                .allowMainThreadQueries()
+                .setQueryExecutor(Runnable::run)
+                .build();
+        sampler = new RandomSamplerYSJ(db, new Random(7));
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void compareSamplingCost() throws Exception {
+        BenchmarkRunner.assumeEnabled();
+        int inserted = 0;
+        for (int rows : ROW_COUNTS) {
+            insertQuestions(inserted, rows);
+            insertWords(inserted, rows);
+            inserted = rows;
+
+            long questionCold = BenchmarkRunner.time(() ->
+                    sampler.randomQuestionsByCategoryAndType("阅读", "六级", LIMIT));
+            long questionLegacy = measure(() -> legacyQuery(
+                    "SELECT * FROM questions WHERE category = ? AND examType = ? AND isActive = 1 "
+                            + "ORDER BY RANDOM() LIMIT " + LIMIT, "阅读", "六级"));
+            long questionSampler = measure(() -> sampler.randomQuestionsByCategoryAndType("阅读", "六级", LIMIT).size());
+
+            long wordCold = BenchmarkRunner.time(() -> sampler.randomWordsExcluding("w0", LIMIT));
+            long wordLegacy = measure(() -> legacyQuery(
+                    "SELECT * FROM dictionary_words WHERE id != ? ORDER BY RANDOM() LIMIT " + LIMIT, "w0"));
+            long wordSampler = measure(() -> sampler.randomWordsExcluding("w0", LIMIT).size());
+
+            BenchmarkRunner.report(rows + " 行", "题目 ORDER BY RANDOM() " + questionLegacy / 1000 + "us, 抽样服务 "
+                    + questionSampler / 1000 + "us (首次加载 " + questionCold / 1000 + "us); 单词 ORDER BY RANDOM() "
+                    + wordLegacy / 1000 + "us, 抽样服务 " + wordSampler / 1000 + "us (首次加载 "
+                    + wordCold / 1000 + "us)");
+        }
+    }
+
+    @Test
+    public void samplesAreDistinctAndMatchFilter() {
+        insertQuestions(0, 400);
+        insertWords(0, 50);
+
+        List<QuestionEntity> questions = sampler.randomQuestionsByCategoryAndType("语法", "四级", LIMIT);
+        assertEquals(LIMIT, questions.size());
+        Set<Integer> ids = new HashSet<>();
+        for (QuestionEntity question : questions) {
+            assertEquals("语法", question.getCategory());
+            assertEquals("四级", question.getExamType());
+            assertTrue(ids.add(question.getId()));
+        }
+
+        // 候选不足时返回全部候选
+        assertEquals(134, sampler.randomQuestionsByExamType("四级", 1000).size());
+        assertTrue(sampler.randomQuestionsByExamType("专八", LIMIT).isEmpty());
+        assertTrue(sampler.randomQuestionsByCategoryAndType(null, "四级", LIMIT).isEmpty());
+
+        for (int i = 0; i < 20; i++) {
+            List<DictionaryWordEntity> words = sampler.randomWordsExcluding("w3", 49);
+            assertEquals(49, words.size());
+            for (DictionaryWordEntity word : words) {
+                assertNotEquals("w3", word.getId());
+            }
+        }
+        assertEquals(50, sampler.randomWords(100).size());
+    }
+
+    @Test
+    public void writesInvalidateCachedIds() {
+        insertQuestions(0, 30);
+        assertEquals(10, sampler.randomQuestionsByExamType("四级", LIMIT).size());
+        assertEquals(1, sampler.cachedPoolCount("questions"));
+
+        // 经 Room 写入后收到失效通知，丢弃缓存
+        db.questionDao().insertQuestion(question(1000, "听力", "四级"));
+        assertEquals(0, sampler.cachedPoolCount("questions"));
+        assertEquals(11, sampler.randomQuestionsByExamType("四级", LIMIT).size());
+    }
+
+    @Test
+    public void staleIdsAreRecheckedBeforeReturning() {
+        insertQuestions(0, 30);
+        assertEquals(10, sampler.randomQuestionsByExamType("四级", LIMIT).size());
+
+        // 绕过 Room 直接写库，相当于失效通知还没送达：取到的行不再符合条件时丢弃缓存重新抽样
+        db.getOpenHelper().getWritableDatabase().execSQL("UPDATE questions SET isActive = 0 WHERE category = '词汇'");
+        assertEquals(1, sampler.cachedPoolCount("questions"));
+        List<QuestionEntity> questions = sampler.randomQuestionsByExamType("四级", LIMIT);
+        assertEquals(7, questions.size());
+        for (QuestionEntity question : questions) {
+            assertNotEquals("词汇", question.getCategory());
+        }
+    }
+
+    private long legacyQuery(String sql, Object... args) {
+        long rows = 0;
+        try (Cursor cursor = db.query(sql, args)) {
+            int column = cursor.getColumnIndexOrThrow("id");
+            while (cursor.moveToNext()) {
+                cursor.getString(column);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static long measure(BenchmarkRunner.Operation operation) throws Exception {
+        return BenchmarkRunner.measure(operation, WARMUP_ITERATIONS, MEASURE_ITERATIONS);
+    }
+
+    private void insertQuestions(int from, int to) {
+        List<QuestionEntity> questions = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            questions.add(question(i, CATEGORIES[i % CATEGORIES.length], EXAM_TYPES[i % EXAM_TYPES.length]));
+        }
+        db.runInTransaction(() -> {
+            db.questionDao().insertQuestions(questions);
+        });
+    }
+
+    private void insertWords(int from, int to) {
+        List<DictionaryWordEntity> words = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            words.add(new DictionaryWordEntity("w" + i, "word" + i, "", "", 1f / (1 + i), 5, 0.5f, "n. 释义" + i));
+        }
+        db.runInTransaction(() -> db.dictionaryWordDao().insertAll(words));
+    }
+
+    private static QuestionEntity question(int index, String category, String examType) {
+        QuestionEntity question = new QuestionEntity("Question " + index, new String[] {"A", "B", "C", "D"},
+                index % 4, "解析", category, examType);
+        question.setDifficulty(index % 2 == 0 ? "easy" : "hard");
+        return question;
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.mybighomework.exam;
+
+import static org.junit.Assert.*;
+
+import androidx.room.Room;
+
+import com.example.mybighomework.database.AppDatabase;
+import com.example.mybighomework.database.entity.ExamProgressEntity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * 考试答题日志测试
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, manifest = Config.NONE)
+public class ExamAnswerJournalTest {
+
+    private static final String EXAM_KEY = "kaoyan_english2_2025";
+
+    private AppDatabase db;
+    private ScheduledExecutorService scheduler;
+    private File dir;
+    private File journalFile;
+
+    @Before
+    public void setUp() {
+        db = Room.inMemoryDatabaseBuilder(RuntimeEnvironment.getApplication(), AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        dir = new File(RuntimeEnvironment.getApplication().getCacheDir(), "exam_journal_test");
+        journalFile = new File(dir, EXAM_KEY + ".journal");
+        journalFile.delete();
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+        db.close();
+        journalFile.delete();
+    }
+
+    /**
+     * 写入在调用线程同步执行，便于断言
+     */
+    private ExamAnswerJournalYSJ newJournal() {
+        return new ExamAnswerJournalYSJ(dir, EXAM_KEY, db.examProgressDao(), Runnable::run, scheduler);
+    }
+
+    @Test
+    public void answersAreWrittenAsOneSmallFramePerCommit() {
+        ExamAnswerJournalYSJ journal = newJournal();
+        assertTrue(journal.recover().isEmpty());
+
+        for (int i = 0; i < 10; i++) {
+            journal.recordAnswer(i, "A");
+        }
+        journal.recordAnswer(3, "C");
+        journal.recordPosition(9, 5_000_000L);
+        assertFalse("提交之前不写文件", journalFile.exists());
+
+        journal.flush();
+        long afterFirstCommit = journalFile.length();
+        // 文件头 8 字节 + 帧头 8 字节 + 10 道选择题各 3 字节 + 位置记录
+        assertTrue(afterFirstCommit < 8 + 8 + 10 * 3 + 8);
+
+        journal.recordAnswer(45, "翻译：这是一段译文");
+        journal.flush();
+        journal.close();
+
+        ExamAnswerJournalYSJ.State state = newJournal().recover();
+        assertEquals(11, state.getAnswers().size());
+        assertEquals("C", state.getAnswers().get(3));
+        assertEquals("翻译：这是一段译文", state.getAnswers().get(45));
+        assertEquals(9, state.getCurrentQuestionIndex());
+        assertEquals(5_000_000L, state.getTimeLeftInMillis());
+    }
+
+    @Test
+    public void tornLastFrameIsDroppedAndJournalStaysAppendable() throws IOException {
+        ExamAnswerJournalYSJ journal = newJournal();
+        journal.recover();
+        journal.recordAnswer(0, "B");
+        journal.flush();
+        journal.recordAnswer(1, "D");
+        journal.flush();
+        journal.close();
+
+        // 模拟写最后一帧时进程被杀
+        try (RandomAccessFile raf = new RandomAccessFile(journalFile, "rw")) {
+            raf.setLength(raf.length() - 2);
+        }
+
+        ExamAnswerJournalYSJ resumed = newJournal();
+        Map<Integer, String> answers = resumed.recover().getAnswers();
+        assertEquals(1, answers.size());
+        assertEquals("B", answers.get(0));
+
+        resumed.recordAnswer(2, "A");
+        resumed.flush();
+        resumed.close();
+        answers = newJournal().recover().getAnswers();
+        assertEquals(2, answers.size());
+        assertEquals("A", answers.get(2));
+    }
+
+    @Test
+    public void corruptedHeaderStartsEmpty() throws IOException {
+        dir.mkdirs();
+        try (FileOutputStream out = new FileOutputStream(journalFile)) {
+            out.write(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9});
+        }
+        assertTrue(newJournal().recover().isEmpty());
+        assertFalse(journalFile.exists());
+    }
+
+    @Test
+    public void checkpointCompactsIntoProgressRowAndJournal() {
+        ExamAnswerJournalYSJ journal = newJournal();
+        journal.recover();
+        String essay = "作文：" + repeat("I study English every day. ", 40);
+        // 反复修改作文，日志不断增长
+        for (int i = 0; i < 20; i++) {
+            journal.recordAnswer(51, essay + i);
+            journal.flush();
+        }
+        journal.recordAnswer(0, "A");
+        journal.recordPosition(51, 1_000L);
+        journal.checkpoint();
+        journal.close();
+
+        // 压缩后日志只有一份快照
+        assertTrue(journalFile.length() < essay.length() * 2);
+        ExamProgressEntity progress = db.examProgressDao().getUncompletedProgressByKey(EXAM_KEY);
+        assertNotNull(progress);
+        assertNotNull(progress.getAnswerSnapshot());
+        assertEquals(51, progress.getCurrentQuestionIndex());
+
+        // 日志丢失时从 exam_progress 恢复
+        assertTrue(journalFile.delete());
+        ExamAnswerJournalYSJ resumed = newJournal();
+        assertTrue(resumed.recover().isEmpty());
+        Map<String, ExamAnswerJournalYSJ.State> recovered = new HashMap<>();
+        resumed.recoverFromCheckpoint(state -> recovered.put("state", state));
+        ExamAnswerJournalYSJ.State state = recovered.get("state");
+        assertNotNull(state);
+        assertEquals(essay + 19, state.getAnswers().get(51));
+        assertEquals("A", state.getAnswers().get(0));
+        assertEquals(1_000L, state.getTimeLeftInMillis());
+    }
+
+    @Test
+    public void recoveredSnapshotIsOnlyKeptAfterAccepted() {
+        ExamAnswerJournalYSJ journal = newJournal();
+        journal.recover();
+        journal.recordAnswer(0, "A");
+        journal.recordAnswer(1, "B");
+        journal.recordPosition(1, 60_000L);
+        journal.checkpoint();
+        journal.close();
+        assertTrue(journalFile.delete());
+
+        // 页面没有采用快照（快照读出之前已经开始作答），下次压缩只写入当前作答
+        ExamAnswerJournalYSJ rejected = newJournal();
+        rejected.recover();
+        Map<String, ExamAnswerJournalYSJ.State> recovered = new HashMap<>();
+        rejected.recoverFromCheckpoint(state -> recovered.put("state", state));
+        assertEquals(2, recovered.get("state").getAnswers().size());
+        rejected.recordAnswer(5, "C");
+        rejected.checkpoint();
+        rejected.close();
+
+        ExamAnswerJournalYSJ.State snapshot = new ExamAnswerJournalYSJ.State();
+        ExamAnswerJournalYSJ.decode(ByteBuffer.wrap(
+                db.examProgressDao().getUncompletedProgressByKey(EXAM_KEY).getAnswerSnapshot()), snapshot);
+        assertEquals(1, snapshot.getAnswers().size());
+        assertEquals("C", snapshot.getAnswers().get(5));
+        assertEquals(1, newJournal().recover().getAnswers().size());
+
+        // 采用快照后，快照中的作答写回日志，之后的作答在其基础上追加
+        assertTrue(journalFile.delete());
+        ExamAnswerJournalYSJ accepted = newJournal();
+        accepted.recover();
+        accepted.recoverFromCheckpoint(state -> recovered.put("state", state));
+        accepted.acceptRecovered(recovered.get("state"));
+        accepted.recordAnswer(6, "D");
+        accepted.flush();
+        accepted.close();
+
+        ExamAnswerJournalYSJ.State state = newJournal().recover();
+        assertEquals(2, state.getAnswers().size());
+        assertEquals("C", state.getAnswers().get(5));
+        assertEquals("D", state.getAnswers().get(6));
+    }
+
+    @Test
+    public void discardRemovesJournalAndCompletesProgress() {
+        ExamAnswerJournalYSJ journal = newJournal();
+        journal.recover();
+        journal.recordAnswer(0, "A");
+        journal.checkpoint();
+        assertTrue(journalFile.exists());
+
+        journal.discard();
+        journal.close();
+
+        assertFalse(journalFile.exists());
+        assertNull(db.examProgressDao().getUncompletedProgressByKey(EXAM_KEY));
+        assertTrue(newJournal().recover().isEmpty());
+    }
+
+    private static String repeat(String text, int times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(text);
+        }
+        return builder.toString();
+    }
+}
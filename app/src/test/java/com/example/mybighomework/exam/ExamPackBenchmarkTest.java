@@ -0,0 +1,228 @@
+package com.example.mybighomework.exam;
+
+import static org.junit.Assert.*;
+
+import com.example.mybighomework.BenchmarkRunner;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 试卷包基准测试
+ * 验证打开试卷包时不解码题目、显示第一题只解码第一节；
+ * 开启基准测试时比较 52 题与 5200 题的试卷包打开和显示第一题的耗时（应与试卷长短无关），
+ * 以及一次性解码全部题目（相当于原来在 Activity 中构造整张试卷）的耗时
+ */
+public class ExamPackBenchmarkTest {
+
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURE_ITERATIONS = 1000;
+
+    @Test
+    public void openDecodesOnlyTheSectionInUse() throws IOException {
+        ExamPackYSJ pack = new ExamPackYSJ(ByteBuffer.wrap(buildPaper(5200)));
+        assertEquals(5200, pack.getQuestionCount());
+        assertEquals(0, pack.decodedQuestionCount());
+        assertEquals(0, pack.cachedSectionCount());
+
+        // 显示第一题只解码第一节（20 道完形填空），与试卷长短无关
+        pack.getQuestion(0).getPassage();
+        assertEquals(20, pack.decodedQuestionCount());
+        assertEquals(1, pack.cachedSectionCount());
+        pack.getQuestion(19);
+        assertEquals(20, pack.decodedQuestionCount());
+    }
+
+    @Test
+    public void compareOpenCost() throws Exception {
+        BenchmarkRunner.assumeEnabled();
+        ByteBuffer small = ByteBuffer.wrap(buildPaper(52));
+        ByteBuffer large = ByteBuffer.wrap(buildPaper(5200));
+
+        long smallOpen = measure(() -> new ExamPackYSJ(small).getQuestion(0).getPassage());
+        long largeOpen = measure(() -> new ExamPackYSJ(large).getQuestion(0).getPassage());
+        long largeEager = measure(() -> {
+            ExamPackYSJ pack = new ExamPackYSJ(large);
+            for (int i = 0; i < pack.getQuestionCount(); i++) {
+                pack.getQuestion(i).getPassage();
+            }
+        });
+
+        BenchmarkRunner.report("打开并显示第一题", "52 题 " + smallOpen / 1000 + "us, 5200 题 " + largeOpen / 1000
+                + "us; 5200 题全部解码 " + largeEager / 1000 + "us");
+    }
+
+    @Test
+    public void decodesSectionsLazilyAndSharesPassages() throws IOException {
+        ExamPackYSJ pack = new ExamPackYSJ(ByteBuffer.wrap(buildPaper(52)));
+
+        assertEquals("paper_52", pack.getId());
+        assertEquals(180, pack.getDurationMinutes());
+        assertEquals(Arrays.asList("完形填空", "阅读理解 Text 1", "翻译"), sectionNames(pack));
+
+        ExamPackQuestion first = pack.getQuestion(0);
+        ExamPackQuestion second = pack.getQuestion(1);
+        assertEquals("CLOZE_TEST", first.getType());
+        assertEquals("完形填空", first.getSectionName());
+        assertEquals(3, first.getAnswer());
+        assertEquals(4, first.getOptions().length);
+        // 同一节的题目共用同一份解码后的文章
+        assertTrue(first.getPassage() == second.getPassage());
+
+        ExamPackQuestion translation = pack.getQuestion(51);
+        assertEquals("TRANSLATION", translation.getType());
+        assertNull(translation.getOptions());
+        assertEquals(-1, translation.getAnswer());
+        assertEquals("参考译文 51", translation.getReference());
+        assertEquals("Sentence 51", translation.getPassage());
+    }
+
+    @Test
+    public void rejectsTruncatedPack() {
+        byte[] bytes = buildPaper(52);
+        try {
+            new ExamPackYSJ(ByteBuffer.wrap(Arrays.copyOf(bytes, 40)));
+            fail("截断的试卷包应当无法打开");
+        } catch (IOException expected) {
+            // 期望的异常
+        }
+    }
+
+    private static long measure(BenchmarkRunner.Operation operation) throws Exception {
+        return BenchmarkRunner.measure(operation, WARMUP_ITERATIONS, MEASURE_ITERATIONS);
+    }
+
+    private static List<String> sectionNames(ExamPackYSJ pack) {
+        List<String> names = new ArrayList<>();
+        for (ExamPackYSJ.Section section : pack.getSections()) {
+            names.add(section.getName());
+        }
+        return names;
+    }
+
+    /**
+     * 与构建任务 buildExamPacks 相同的编码：前 20 题为完形填空，之后每 5 题一篇阅读，最后 5 题为翻译
+     */
+    private static byte[] buildPaper(int questionCount) {
+        try {
+            int cloze = 20;
+            int translation = 5;
+            int reading = questionCount - cloze - translation;
+
+            List<byte[]> passages = new ArrayList<>();
+            List<byte[]> questions = new ArrayList<>();
+            passages.add(longText("Cloze passage", 400));
+            for (int i = 0; i < cloze; i++) {
+                questions.add(question("完形填空 - 第" + (i + 1) + "题", 0,
+                        new String[] {"A. one", "B. two", "C. three", "D. four"}, 3, null));
+            }
+            for (int i = 0; i < reading; i++) {
+                if (i % 5 == 0) {
+                    passages.add(longText("Reading passage " + i, 600));
+                }
+                questions.add(question("阅读理解 - 第" + (cloze + i + 1) + "题", passages.size() - 1,
+                        new String[] {"first", "second", "third", "fourth"}, i % 4, null));
+            }
+            for (int i = 0; i < translation; i++) {
+                int number = cloze + reading + i;
+                passages.add(("Sentence " + number).getBytes(StandardCharsets.UTF_8));
+                questions.add(question("翻译 - 第" + (number + 1) + "题", passages.size() - 1, null, -1,
+                        "参考译文 " + number));
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0x4558504B);
+            out.writeInt(1);
+            out.writeInt(1);
+            writeString(out, "paper_" + questionCount);
+            writeString(out, "测试试卷");
+            writeString(out, "2025");
+            writeString(out, "考研英语二");
+            out.writeInt(180);
+            out.writeInt(3);
+            writeSection(out, "完形填空", "CLOZE_TEST", 0, cloze);
+            // 测试数据中所有阅读放在同一节
+            writeSection(out, "阅读理解 Text 1", "READING_COMPREHENSION", cloze, reading);
+            writeSection(out, "翻译", "TRANSLATION", cloze + reading, translation);
+            int offset = 0;
+            out.writeInt(passages.size());
+            for (byte[] passage : passages) {
+                out.writeInt(offset);
+                out.writeInt(passage.length);
+                offset += passage.length;
+            }
+            out.writeInt(questions.size());
+            for (byte[] question : questions) {
+                out.writeInt(offset);
+                out.writeInt(question.length);
+                offset += question.length;
+            }
+            for (byte[] passage : passages) {
+                out.write(passage);
+            }
+            for (byte[] question : questions) {
+                out.write(question);
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static byte[] question(String title, int passage, String[] options, int answer, String reference)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeString(out, title);
+        out.writeInt(passage);
+        writeString(out, title + " 的题干");
+        out.writeInt(options != null ? options.length : -1);
+        if (options != null) {
+            for (String option : options) {
+                writeString(out, option);
+            }
+        }
+        out.writeInt(answer);
+        writeString(out, "解析");
+        writeString(out, reference);
+        writeString(out, null);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeSection(DataOutputStream out, String name, String type, int first, int count)
+            throws IOException {
+        writeString(out, name);
+        writeString(out, type);
+        out.writeInt(first);
+        out.writeInt(count);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] longText(String seed, int words) {
+        StringBuilder text = new StringBuilder(seed);
+        for (int i = 0; i < words; i++) {
+            text.append(" word").append(i);
+        }
+        return text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
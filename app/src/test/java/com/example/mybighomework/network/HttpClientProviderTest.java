@@ -0,0 +1,192 @@
+package com.example.mybighomework.network;
+
+import static org.junit.Assert.*;
+
+import com.example.mybighomework.api.DailySentenceApiService;
+import com.example.mybighomework.api.ZhipuAIService;
+import com.example.mybighomework.model.IcibaResponse;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+
+/**
+ * 共享 HTTP 客户端测试
+ * 使用 MockWebServer 代替智谱、有道和金山词霸的服务器
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, manifest = Config.NONE)
+public class HttpClientProviderTest {
+
+    private MockWebServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        for (HttpClientProvider.Endpoint endpoint : HttpClientProvider.Endpoint.values()) {
+            HttpClientProvider.overrideBaseUrl(endpoint, server.url("/"));
+        }
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        HttpClientProvider.resetBaseUrls();
+        server.shutdown();
+    }
+
+    @Test
+    public void endpointsShareOneConnection() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"choices\":[]}"));
+        server.enqueue(new MockResponse().setBody("{\"content\":\"Hello\",\"note\":\"你好\"}"));
+
+        new ZhipuChatClient("test-key").complete("{\"model\":\"glm-4-flash\"}");
+        DailySentenceApiService iciba = HttpClientProvider
+                .createRetrofit(HttpClientProvider.Endpoint.ICIBA)
+                .create(DailySentenceApiService.class);
+        IcibaResponse daily = iciba.getDailySentence().execute().body();
+
+        assertNotNull(daily);
+        RecordedRequest chat = server.takeRequest();
+        RecordedRequest sentence = server.takeRequest();
+        assertEquals("/chat/completions", chat.getPath());
+        assertEquals("Bearer test-key", chat.getHeader("Authorization"));
+        assertEquals("/dsapi/", sentence.getPath());
+        // 第二个请求复用了第一个请求的连接
+        assertEquals(0, chat.getSequenceNumber());
+        assertEquals(1, sentence.getSequenceNumber());
+        assertSame(HttpClientProvider.getClient(HttpClientProvider.Endpoint.ZHIPU).connectionPool(),
+                HttpClientProvider.getClient(HttpClientProvider.Endpoint.ICIBA).connectionPool());
+    }
+
+    @Test
+    public void endpointsUseTheirOwnTimeouts() {
+        assertEquals(60_000, HttpClientProvider.getClient(HttpClientProvider.Endpoint.ZHIPU).readTimeoutMillis());
+        assertEquals(5_000, HttpClientProvider.getClient(HttpClientProvider.Endpoint.YOUDAO_AUDIO).readTimeoutMillis());
+        assertSame(HttpClientProvider.getClient(HttpClientProvider.Endpoint.YOUDAO),
+                HttpClientProvider.getClient(HttpClientProvider.Endpoint.YOUDAO));
+    }
+
+    @Test
+    public void gzipResponsesAreDecodedTransparently() throws Exception {
+        Buffer gzipped = new Buffer();
+        try (BufferedSink sink = Okio.buffer(new GzipSink(gzipped))) {
+            sink.writeUtf8("{\"choices\":[{\"message\":{\"content\":\"ok\"}}]}");
+        }
+        server.enqueue(new MockResponse().setHeader("Content-Encoding", "gzip").setBody(gzipped));
+
+        String body = new ZhipuChatClient("test-key").complete("{}");
+
+        assertEquals("{\"choices\":[{\"message\":{\"content\":\"ok\"}}]}", body);
+        assertEquals("gzip", server.takeRequest().getHeader("Accept-Encoding"));
+    }
+
+    @Test
+    public void errorResponseIsReportedWithStatusCode() {
+        server.enqueue(new MockResponse().setResponseCode(401).setBody("invalid api key"));
+        try {
+            new ZhipuChatClient("bad-key").complete("{}");
+            fail();
+        } catch (IOException e) {
+            assertEquals("HTTP 401: invalid api key", e.getMessage());
+        }
+    }
+
+    @Test
+    public void streamingChatDeliversChunks() throws Exception {
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "text/event-stream")
+                .setChunkedBody(
+                        "data: {\"choices\":[{\"delta\":{\"content\":\"Hel\"}}]}\n\n" +
+                        "data: {\"choices\":[{\"delta\":{\"content\":\"lo\"}}]}\n\n" +
+                        "data: [DONE]\n\n", 16));
+
+        ZhipuAIService service = new ZhipuAIService(new ZhipuChatClient("test-key"));
+        List<String> chunks = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(1);
+        service.chatStream(Collections.singletonList(new ZhipuAIService.ChatMessage("user", "hi")),
+                new ZhipuAIService.StreamCallback() {
+                    @Override
+                    public void onChunk(String chunk) {
+                        chunks.add(chunk);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        done.countDown();
+                    }
+
+                    @Override
+                    public void onError(String error) {
+                        fail(error);
+                    }
+                });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("Hel", "lo"), chunks);
+        RecordedRequest request = server.takeRequest();
+        assertEquals("text/event-stream", request.getHeader("Accept"));
+        assertTrue(request.getBody().readUtf8().contains("\"stream\":true"));
+        service.shutdown();
+    }
+
+    @Test
+    public void bodyLoggingOnlyForSmallTextRequests() {
+        MediaType json = MediaType.get("application/json");
+        Request small = new Request.Builder().url(server.url("/"))
+                .post(RequestBody.create("{}", json)).build();
+        Request stream = new Request.Builder().url(server.url("/"))
+                .header("Accept", "text/event-stream")
+                .post(RequestBody.create("{}", json)).build();
+        Request tagged = HttpClientProvider.skipBodyLogging(new Request.Builder().url(server.url("/"))).build();
+        Request image = new Request.Builder().url(server.url("/"))
+                .post(RequestBody.create(new byte[128], MediaType.get("image/jpeg"))).build();
+        Request large = new Request.Builder().url(server.url("/"))
+                .post(RequestBody.create(new String(new char[64 * 1024]).replace('\0', 'a'), json)).build();
+
+        assertTrue(SelectiveLoggingInterceptor.shouldLogBody(small));
+        assertFalse(SelectiveLoggingInterceptor.shouldLogBody(stream));
+        assertFalse(SelectiveLoggingInterceptor.shouldLogBody(tagged));
+        assertFalse(SelectiveLoggingInterceptor.shouldLogBody(image));
+        assertFalse(SelectiveLoggingInterceptor.shouldLogBody(large));
+
+        // release 构建不记录任何请求体和响应体
+        assertTrue(new SelectiveLoggingInterceptor(true).logsBody(small));
+        assertFalse(new SelectiveLoggingInterceptor(false).logsBody(small));
+    }
+
+    @Test
+    public void skippedBodyIsStillReadableByCaller() throws Exception {
+        server.enqueue(new MockResponse().setBody("data: first\n"));
+        Request request = HttpClientProvider.skipBodyLogging(new Request.Builder()
+                .url(HttpClientProvider.resolve(HttpClientProvider.Endpoint.YOUDAO_AUDIO, "dictvoice"))).build();
+
+        try (Response response = HttpClientProvider.getClient(HttpClientProvider.Endpoint.YOUDAO_AUDIO)
+                .newCall(request).execute()) {
+            assertEquals("data: first", response.body().source().readUtf8Line());
+        }
+    }
+}
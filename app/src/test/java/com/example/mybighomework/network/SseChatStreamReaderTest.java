@@ -0,0 +1,82 @@
+package com.example.mybighomework.network;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import okio.Buffer;
+
+/**
+ * SSE 流读取测试
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, manifest = Config.NONE)
+public class SseChatStreamReaderTest {
+
+    @Test
+    public void extractsDeltaContentAndStopsAtFinishReason() throws IOException {
+        List<String> chunks = new ArrayList<>();
+        SseChatStreamReader.EndReason end = SseChatStreamReader.read(source(
+                ": keep-alive\n" +
+                "data: {\"id\":\"1\",\"choices\":[{\"index\":0,\"delta\":{\"role\":\"assistant\",\"content\":\"Hel\"}}]}\n\n" +
+                // 其他字段里的 content 不应被取出
+                "data:{\"choices\":[{\"delta\":{\"content\":\"lo\"},\"finish_reason\":null}],\"usage\":{\"content\":\"x\"}}\n\n" +
+                "data: {\"choices\":[{\"delta\":{\"content\":\"!\"},\"finish_reason\":\"stop\"}]}\n\n" +
+                "data: {\"choices\":[{\"delta\":{\"content\":\"ignored\"}}]}\n\n"), chunks::add);
+
+        assertEquals(SseChatStreamReader.EndReason.FINISHED, end);
+        assertEquals(Arrays.asList("Hel", "lo", "!"), chunks);
+    }
+
+    @Test
+    public void decodesEscapes() {
+        SseChatStreamReader.Delta delta = SseChatStreamReader.parseDelta(
+                "{\"choices\":[{\"delta\":{\"content\":\"a\\\"b\\n\\u4f60\\u597d\\ud83d\\ude00\\\\\"}}]}");
+        assertEquals("a\"b\n你好😀\\", delta.content);
+        // 只有第一个 choice 的 delta 生效
+        assertNull(SseChatStreamReader.parseDelta(
+                "{\"choices\":[{\"index\":0},{\"delta\":{\"content\":\"second\"}}]}").content);
+    }
+
+    @Test
+    public void multiLineDataAndDoneMarker() throws IOException {
+        List<String> chunks = new ArrayList<>();
+        SseChatStreamReader.EndReason end = SseChatStreamReader.read(source(
+                "data: {\"choices\":[{\"delta\":\n" +
+                "data: {\"content\":\"joined\"}}]}\n\n" +
+                "data: [DONE]\n\n"), chunks::add);
+
+        assertEquals(SseChatStreamReader.EndReason.DONE, end);
+        assertEquals(Arrays.asList("joined"), chunks);
+    }
+
+    @Test
+    public void malformedEventIsSkippedAndErrorObjectThrows() throws IOException {
+        List<String> chunks = new ArrayList<>();
+        SseChatStreamReader.EndReason end = SseChatStreamReader.read(source(
+                "data: {\"choices\":[{\"delta\":{\"content\":\"ok\"}}]}\n\n" +
+                "data: {not json}\n\n"), chunks::add);
+        assertEquals(SseChatStreamReader.EndReason.END_OF_STREAM, end);
+        assertEquals(Arrays.asList("ok"), chunks);
+
+        try {
+            SseChatStreamReader.read(source("data: {\"error\":{\"code\":\"1301\",\"message\":\"内容不安全\"}}\n\n"),
+                    chunks::add);
+            fail();
+        } catch (IOException e) {
+            assertEquals("内容不安全", e.getMessage());
+        }
+    }
+
+    private static Buffer source(String text) {
+        return new Buffer().writeUtf8(text);
+    }
+}
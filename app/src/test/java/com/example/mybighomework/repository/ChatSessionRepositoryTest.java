@@ -0,0 +1,123 @@
+package com.example.mybighomework.repository;
+
+import static org.junit.Assert.*;
+
+import androidx.room.Room;
+
+import com.example.mybighomework.api.ZhipuAIService;
+import com.example.mybighomework.database.AppDatabase;
+import com.example.mybighomework.database.entity.ChatMessageEntity;
+import com.example.mybighomework.service.ChatContextBuilder;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * AI对话会话仓库测试：游标分页和滚动摘要
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, manifest = Config.NONE)
+public class ChatSessionRepositoryTest {
+
+    private AppDatabase db;
+    private ChatSessionRepository repository;
+
+    @Before
+    public void setUp() {
+        db = Room.inMemoryDatabaseBuilder(RuntimeEnvironment.getApplication(), AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        repository = new ChatSessionRepository(db.chatSessionDao());
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void pagesWalkBackwardsWithoutGapsOrOverlap() {
+        long sessionId = repository.createSession("如何背单词");
+        addExchanges(sessionId, 40);
+
+        List<ChatMessageEntity> latest = repository.loadLatestPage(sessionId);
+        assertEquals(ChatSessionRepository.PAGE_SIZE, latest.size());
+        assertEquals("a39", latest.get(latest.size() - 1).getContent());
+
+        List<ChatMessageEntity> older = repository.loadPageBefore(sessionId, latest.get(0).getId());
+        assertEquals(ChatSessionRepository.PAGE_SIZE, older.size());
+        assertEquals(latest.get(0).getId() - 1, older.get(older.size() - 1).getId());
+
+        List<ChatMessageEntity> oldest = repository.loadPageBefore(sessionId, older.get(0).getId());
+        assertEquals(80 - 2 * ChatSessionRepository.PAGE_SIZE, oldest.size());
+        assertEquals("q0", oldest.get(0).getContent());
+        assertTrue(repository.loadPageBefore(sessionId, oldest.get(0).getId()).isEmpty());
+    }
+
+    @Test
+    public void contextStaysBoundedAsSummaryFoldsOlderMessages() throws Exception {
+        long sessionId = repository.createSession("长对话");
+        List<List<ZhipuAIService.ChatMessage>> summaryRequests = new ArrayList<>();
+
+        for (int i = 0; i < 50; i++) {
+            addExchanges(sessionId, 1, i);
+            repository.foldIfNeeded(sessionId, request -> {
+                summaryRequests.add(request);
+                return "摘要" + summaryRequests.size();
+            });
+            List<ZhipuAIService.ChatMessage> context = repository.buildContext(sessionId, "system");
+            // 系统提示 + 摘要 + 有上限的最近消息
+            assertTrue(context.size() <= 2 + ChatContextBuilder.MAX_CONTEXT_MESSAGES);
+            assertEquals("a" + i, context.get(context.size() - 1).getContent());
+        }
+
+        // 每滑过一批才重新生成一次摘要，并带上旧摘要
+        assertEquals((100 - ChatContextBuilder.MAX_CONTEXT_MESSAGES) / ChatContextBuilder.SUMMARY_BATCH + 1,
+                summaryRequests.size());
+        String lastPrompt = summaryRequests.get(summaryRequests.size() - 1).get(0).getContent();
+        assertTrue(lastPrompt.contains("摘要" + (summaryRequests.size() - 1)));
+
+        List<ZhipuAIService.ChatMessage> context = repository.buildContext(sessionId, "system");
+        assertEquals("摘要" + summaryRequests.size(),
+                context.get(1).getContent().substring(context.get(1).getContent().indexOf('\n') + 1));
+    }
+
+    @Test
+    public void failedSummaryKeepsPreviousState() throws Exception {
+        long sessionId = repository.createSession("失败");
+        addExchanges(sessionId, ChatContextBuilder.MAX_CONTEXT_MESSAGES / 2);
+        try {
+            repository.foldIfNeeded(sessionId, request -> {
+                throw new java.io.IOException("timeout");
+            });
+            fail();
+        } catch (java.io.IOException expected) {
+            // 摘要失败
+        }
+        assertNull(repository.getSession(sessionId).getSummary());
+        assertEquals(1 + ChatContextBuilder.MAX_CONTEXT_MESSAGES,
+                repository.buildContext(sessionId, "system").size());
+    }
+
+    private void addExchanges(long sessionId, int count) {
+        for (int i = 0; i < count; i++) {
+            addExchanges(sessionId, 1, i);
+        }
+    }
+
+    private void addExchanges(long sessionId, int count, int index) {
+        for (int i = 0; i < count; i++) {
+            long now = System.currentTimeMillis();
+            repository.addMessage(sessionId, ChatMessageEntity.ROLE_USER, "q" + (index + i), now);
+            repository.addMessage(sessionId, ChatMessageEntity.ROLE_ASSISTANT, "a" + (index + i), now);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.mybighomework.repository;
+
+import static org.junit.Assert.*;
+
+import androidx.room.Room;
+
+import com.example.mybighomework.database.AppDatabase;
+import com.example.mybighomework.database.dao.StudyRecordDao;
+import com.example.mybighomework.database.entity.BookMasteryStatsEntity;
+import com.example.mybighomework.database.entity.ExamRecordEntity;
+import com.example.mybighomework.database.entity.StudyRecordEntity;
+import com.example.mybighomework.database.entity.VocabularyRecordEntity;
+import com.example.mybighomework.database.entity.WordLearningProgressEntity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 学习统计汇总表测试：触发器随写入增量更新，结果与全表统计一致
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, manifest = Config.NONE)
+public class StudyStatisticsRepositoryTest {
+
+    private AppDatabase db;
+    private StudyStatisticsRepository repository;
+
+    @Before
+    public void setUp() {
+        db = Room.inMemoryDatabaseBuilder(RuntimeEnvironment.getApplication(), AppDatabase.class)
+                .allowMainThreadQueries()
+                .addCallback(AppDatabase.STUDY_STATS_CALLBACK)
+                .build();
+        repository = new StudyStatisticsRepository(db.studyStatsDao());
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void answerRecordsUpdateDailyTotalsAndStreak() {
+        addRecord("vocabulary", true, 2000, -3);
+        addRecord("vocabulary", true, 1000, -1);
+        addRecord("exam_practice", false, 3000, -1);
+        addRecord("vocabulary", false, 4000, 0);
+
+        assertEquals(3, repository.getTotalStudyDays());
+        assertEquals(2, repository.getCurrentStreak());
+        assertEquals(2, repository.getLongestStreak());
+        assertEquals(4000, repository.getTodayStudyTime());
+        assertEquals(50.0, repository.getOverallAccuracy(), 0.001);
+        assertEquals(db.studyRecordDao().getDistinctStudyDays().size(), repository.getTotalStudyDays());
+
+        List<StudyRecordDao.DailyStudyTime> week = repository.getDailyStudyTime(7);
+        assertEquals(3, week.size());
+        assertEquals(4.0, week.get(1).totalSeconds, 0.001);
+
+        // 删除记录同步扣减，学习天数保留
+        db.studyRecordDao().deleteStudyRecordsBefore(System.currentTimeMillis() - 2 * 24 * 3600 * 1000L);
+        assertEquals(3, repository.getSummary().getTotalAnswers());
+        assertEquals(3, repository.getTotalStudyDays());
+    }
+
+    @Test
+    public void vocabularyAndExamCountersFollowInsertsAndUpdates() {
+        VocabularyRecordEntity apple = new VocabularyRecordEntity("apple", "苹果", "", "");
+        long appleId = db.vocabularyDao().insert(apple);
+        db.vocabularyDao().insert(new VocabularyRecordEntity("pear", "梨", "", ""));
+        db.vocabularyDao().updateMasteryStatus((int) appleId, true, System.currentTimeMillis());
+
+        ExamRecordEntity first = new ExamRecordEntity("四级", "练习模式", 10);
+        first.setScore(60);
+        db.examDao().insert(first);
+        ExamRecordEntity second = new ExamRecordEntity("四级", "练习模式", 10);
+        second.setScore(90);
+        db.examDao().insert(second);
+
+        assertEquals(2, repository.getTotalVocabularyCount());
+        assertEquals(1, repository.getMasteredVocabularyCount());
+        assertEquals(db.vocabularyDao().getMasteredVocabularyCount(), repository.getMasteredVocabularyCount());
+        assertEquals(2, repository.getTotalExamCount());
+        assertEquals(75.0, repository.getAverageExamScore(), 0.001);
+    }
+
+    @Test
+    public void bookMasteryCountsReplacedProgressOnce() {
+        WordLearningProgressEntity w1 = new WordLearningProgressEntity("u", "w1", "cet4");
+        w1.setMastered(true);
+        db.wordLearningProgressDao().insert(w1);
+        db.wordLearningProgressDao().insert(new WordLearningProgressEntity("u", "w2", "cet4"));
+
+        // REPLACE 覆盖已有进度，不重复计数
+        WordLearningProgressEntity w2 = new WordLearningProgressEntity("u", "w2", "cet4");
+        w2.setMastered(true);
+        db.wordLearningProgressDao().insert(w2);
+
+        BookMasteryStatsEntity stats = repository.getBookMastery("u", "cet4");
+        assertEquals(2, stats.getLearnedCount());
+        assertEquals(2, stats.getMasteredCount());
+        assertEquals(db.wordLearningProgressDao().getMasteredCountByBook("u", "cet4"), stats.getMasteredCount());
+
+        WordLearningProgressEntity stored = db.wordLearningProgressDao().getProgress("u", "w1");
+        stored.setMastered(false);
+        db.wordLearningProgressDao().update(stored);
+        assertEquals(1, repository.getBookMastery("u", "cet4").getMasteredCount());
+    }
+
+    private void addRecord(String type, boolean correct, long responseTime, int dayOffset) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.DAY_OF_YEAR, dayOffset);
+        StudyRecordEntity record = new StudyRecordEntity();
+        record.setStudyType(type);
+        record.setCorrect(correct);
+        record.setResponseTime(responseTime);
+        record.setStudyDate(new Date(calendar.getTimeInMillis()));
+        db.studyRecordDao().insertStudyRecord(record);
+    }
+}
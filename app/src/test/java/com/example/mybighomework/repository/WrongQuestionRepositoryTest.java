@@ -0,0 +1,108 @@
+package com.example.mybighomework.repository;
+
+import static org.junit.Assert.*;
+
+import androidx.room.Room;
+
+import com.example.mybighomework.database.AppDatabase;
+import com.example.mybighomework.database.dao.WrongQuestionDao;
+import com.example.mybighomework.database.entity.WrongQuestionEntity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 错题批量加入测试
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, manifest = Config.NONE)
+public class WrongQuestionRepositoryTest {
+
+    private AppDatabase db;
+    private WrongQuestionDao dao;
+    private WrongQuestionRepository repository;
+
+    @Before
+    public void setUp() {
+        db = Room.inMemoryDatabaseBuilder(RuntimeEnvironment.getApplication(), AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        dao = db.wrongQuestionDao();
+        repository = new WrongQuestionRepository(dao);
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void batchWithDuplicatesCreatesOneRowPerQuestion() {
+        List<WrongQuestionEntity> batch = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            // 10 道题，每道答错 3 次
+            batch.add(wrongQuestion("第" + (i % 10 + 1) + "题 - 完形填空", "考研英语二", i));
+        }
+
+        assertEquals(10, repository.addWrongQuestionsSync(batch));
+
+        assertEquals(10, dao.getWrongQuestionCount());
+        WrongQuestionEntity first = dao.findByQuestionAndCategory("第1题 - 完形填空", "真题练习");
+        assertEquals(3, first.getWrongCount());
+        // 以最后一次作答为准
+        assertEquals(20 % 4, first.getUserAnswerIndex());
+    }
+
+    @Test
+    public void reAddingIncrementsWrongCountAndResetsMastered() {
+        repository.addWrongQuestionSync(wrongQuestion("abandon", "VocabularyActivity", 1));
+        WrongQuestionEntity stored = dao.getAllWrongQuestions().get(0);
+        stored.setMastered(true);
+        dao.update(stored);
+
+        List<WrongQuestionEntity> batch = new ArrayList<>();
+        batch.add(wrongQuestion("abandon", "VocabularyActivity", 2));
+        batch.add(wrongQuestion("ability", "VocabularyActivity", 3));
+        assertEquals(2, repository.addWrongQuestionsSync(batch));
+
+        assertEquals(2, dao.getWrongQuestionCount());
+        WrongQuestionEntity updated = dao.findByQuestionText("abandon");
+        assertEquals(stored.getId(), updated.getId());
+        assertEquals(2, updated.getWrongCount());
+        assertFalse(updated.isMastered());
+        assertEquals(2, updated.getUserAnswerIndex());
+    }
+
+    @Test
+    public void sameTextFromDifferentSourcesStaysSeparate() {
+        List<WrongQuestionEntity> batch = new ArrayList<>();
+        batch.add(wrongQuestion("第1题 - 完形填空", "2024考研英语二", 0));
+        batch.add(wrongQuestion("第1题 - 完形填空", "2025考研英语二", 1));
+
+        assertEquals(2, repository.addWrongQuestionsSync(batch));
+        assertEquals(2, dao.getWrongQuestionCount());
+        assertEquals(0, repository.addWrongQuestionsSync(new ArrayList<>()));
+    }
+
+    private static WrongQuestionEntity wrongQuestion(String text, String source, int userAnswer) {
+        WrongQuestionEntity question = new WrongQuestionEntity();
+        question.setQuestionText(text);
+        question.setOptions(new String[] {"A", "B", "C", "D"});
+        question.setCorrectAnswerIndex(0);
+        question.setUserAnswerIndex(userAnswer % 4);
+        question.setExplanation("解析");
+        question.setCategory(source.contains("Activity") ? "词汇训练" : "真题练习");
+        question.setSource(source);
+        question.setWrongTime(new Date(1_700_000_000_000L + userAnswer));
+        return question;
+    }
+}
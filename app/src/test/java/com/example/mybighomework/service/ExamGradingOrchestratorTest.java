@@ -0,0 +1,260 @@
+package com.example.mybighomework.service;
+
+import static org.junit.Assert.*;
+
+import com.example.mybighomework.api.ZhipuAIService;
+import com.example.mybighomework.utils.AppExecutorsYSJ;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 试卷批改调度测试
+ * 用固定延迟的假批改器模拟 AI 调用
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, manifest = Config.NONE)
+public class ExamGradingOrchestratorTest {
+
+    // 同时在批改的题目数，不超过网络线程池的线程数
+    private static final int CONCURRENT_CALLS = 5;
+
+    private static final String SESSION_KEY = "exam|2024|英语一";
+
+    private final InMemoryCheckpointStore checkpoints = new InMemoryCheckpointStore();
+
+    @Test
+    public void itemsAreGradedConcurrently() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peakInFlight = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(CONCURRENT_CALLS);
+        ExamGradingOrchestrator orchestrator = newOrchestrator(0);
+
+        RecordingListener listener = gradeAndWait(orchestrator, paper(), (item, timeout) -> {
+            calls.incrementAndGet();
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            // 顺序批改时第一道题会一直等到超时
+            started.countDown();
+            started.await(5, TimeUnit.SECONDS);
+            inFlight.decrementAndGet();
+            return new ZhipuAIService.GradeResult(item.maxScore - 1, "ok");
+        });
+
+        assertEquals(7, calls.get());
+        assertEquals(7, listener.progress.size());
+        assertTrue("peak " + peakInFlight.get(), peakInFlight.get() >= CONCURRENT_CALLS);
+        // 进度逐题递增，最终结果保持提交顺序
+        for (int i = 0; i < 7; i++) {
+            assertEquals(i + 1, (int) listener.progress.get(i));
+        }
+        assertEquals(46, listener.results.get(0).item.questionNumber);
+        assertEquals(ExamGradingOrchestrator.ItemType.WRITING_PART_B, listener.results.get(6).item.type);
+    }
+
+    @Test
+    public void completedGradesAreNotRegraded() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        ExamGradingOrchestrator.Grader grader = (item, timeout) -> {
+            calls.incrementAndGet();
+            return new ZhipuAIService.GradeResult(2.5f, "第" + item.questionNumber + "题");
+        };
+        gradeAndWait(newOrchestrator(0), paper(), grader);
+        assertEquals(7, calls.get());
+
+        // 模拟 Activity 被杀后重新提交：新的调度器实例，同样的答案
+        RecordingListener second = gradeAndWait(newOrchestrator(0), paper(), grader);
+        assertEquals(7, calls.get());
+        assertTrue(second.results.get(0).restored);
+        assertEquals("第46题", second.results.get(0).comment);
+
+        // 修改一道题的答案只重新批改这一道
+        List<ExamGradingOrchestrator.GradingItem> edited = paper();
+        edited.set(1, ExamGradingOrchestrator.GradingItem.translation(47, "修改后的译文", "text", "ref"));
+        gradeAndWait(newOrchestrator(0), edited, grader);
+        assertEquals(8, calls.get());
+    }
+
+    @Test
+    public void failedCallsAreRetriedThenFallBack() throws Exception {
+        AtomicInteger translationAttempts = new AtomicInteger();
+        List<ExamGradingOrchestrator.GradingItem> items = new ArrayList<>();
+        items.add(ExamGradingOrchestrator.GradingItem.translation(46, "译文", "text", "ref"));
+        items.add(ExamGradingOrchestrator.GradingItem.writingPartA(51, "Dear Sir", "letter"));
+
+        RecordingListener listener = gradeAndWait(newOrchestrator(2), items, (item, timeout) -> {
+            if (item.type == ExamGradingOrchestrator.ItemType.WRITING_PART_A) {
+                throw new IOException("timeout");
+            }
+            if (translationAttempts.incrementAndGet() == 1) {
+                throw new IOException("HTTP 429");
+            }
+            return new ZhipuAIService.GradeResult(3f, "good");
+        });
+
+        ExamGradingOrchestrator.ItemResult translation = listener.results.get(0);
+        ExamGradingOrchestrator.ItemResult writing = listener.results.get(1);
+        assertEquals(ExamGradingOrchestrator.ItemResult.Status.GRADED, translation.status);
+        assertEquals(2, translationAttempts.get());
+        assertEquals(ExamGradingOrchestrator.ItemResult.Status.FALLBACK, writing.status);
+        assertEquals(6f, writing.score, 0.001f);
+        // 默认分数不写入检查点，下次提交会重新批改
+        assertEquals(1, checkpoints.values.size());
+    }
+
+    @Test
+    public void unansweredItemsSkipTheGrader() throws Exception {
+        List<ExamGradingOrchestrator.GradingItem> items = new ArrayList<>();
+        items.add(ExamGradingOrchestrator.GradingItem.translation(46, "  ", "text", "ref"));
+        RecordingListener listener = gradeAndWait(newOrchestrator(0), items, (item, timeout) -> {
+            throw new AssertionError("should not be called");
+        });
+        assertEquals(ExamGradingOrchestrator.ItemResult.Status.UNANSWERED, listener.results.get(0).status);
+        assertEquals(0f, listener.results.get(0).score, 0f);
+    }
+
+    @Test
+    public void allGradedIsDeliveredOnceWhenListenerReattaches() throws Exception {
+        QueuedExecutor main = new QueuedExecutor();
+        ExamGradingOrchestrator orchestrator = newOrchestrator(0, Runnable::run, main);
+        ExamGradingOrchestrator.Grader grader = (item, timeout) -> new ZhipuAIService.GradeResult(2f, "ok");
+
+        // 批改已完成、回调还在主线程队列中时 Activity 重建并重新绑定
+        RecordingListener first = new RecordingListener();
+        orchestrator.grade(SESSION_KEY, paper(), grader, first);
+        RecordingListener second = new RecordingListener();
+        orchestrator.grade(SESSION_KEY, paper(), grader, second);
+        main.drain();
+
+        assertEquals(0, first.allGradedCount);
+        assertEquals(1, second.allGradedCount);
+
+        // 成绩保存前再次提交相同答案：不再回调汇总结果，避免重复保存
+        RecordingListener third = new RecordingListener();
+        orchestrator.grade(SESSION_KEY, paper(), grader, third);
+        main.drain();
+        assertEquals(0, third.allGradedCount);
+        assertEquals(7, third.progress.size());
+    }
+
+    @Test
+    public void finishedSessionStartsFreshOnResubmit() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        ExamGradingOrchestrator orchestrator = newOrchestrator(0, Runnable::run, Runnable::run);
+        ExamGradingOrchestrator.Grader grader = (item, timeout) -> {
+            calls.incrementAndGet();
+            return new ZhipuAIService.GradeResult(2f, "ok");
+        };
+
+        RecordingListener first = new RecordingListener();
+        orchestrator.grade(SESSION_KEY, paper(), grader, first);
+        assertEquals(1, first.allGradedCount);
+        orchestrator.finishSession(SESSION_KEY);
+        assertTrue(checkpoints.values.isEmpty());
+
+        RecordingListener second = new RecordingListener();
+        orchestrator.grade(SESSION_KEY, paper(), grader, second);
+        assertEquals(14, calls.get());
+        assertEquals(1, second.allGradedCount);
+        assertFalse(second.results.get(0).restored);
+    }
+
+    private ExamGradingOrchestrator newOrchestrator(int maxRetries) {
+        return newOrchestrator(maxRetries, AppExecutorsYSJ.getInstance().networkIO(), Runnable::run);
+    }
+
+    private ExamGradingOrchestrator newOrchestrator(int maxRetries, Executor gradingExecutor, Executor mainExecutor) {
+        ExamGradingOrchestrator.Config config = ExamGradingOrchestrator.Config.defaults();
+        config.maxRetries = maxRetries;
+        config.retryDelayMillis = 10;
+        return new ExamGradingOrchestrator(config, checkpoints, gradingExecutor,
+                AppExecutorsYSJ.getInstance().scheduler(), mainExecutor);
+    }
+
+    private RecordingListener gradeAndWait(ExamGradingOrchestrator orchestrator,
+                                           List<ExamGradingOrchestrator.GradingItem> items,
+                                           ExamGradingOrchestrator.Grader grader) throws InterruptedException {
+        RecordingListener listener = new RecordingListener();
+        orchestrator.grade(SESSION_KEY, items, grader, listener);
+        assertTrue(listener.done.await(5, TimeUnit.SECONDS));
+        return listener;
+    }
+
+    private List<ExamGradingOrchestrator.GradingItem> paper() {
+        List<ExamGradingOrchestrator.GradingItem> items = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            items.add(ExamGradingOrchestrator.GradingItem.translation(46 + i, "译文" + i, "text " + i, "参考" + i));
+        }
+        items.add(ExamGradingOrchestrator.GradingItem.writingPartA(51, "Dear Sir or Madam, ...", "letter"));
+        items.add(ExamGradingOrchestrator.GradingItem.writingPartB(52, "As is shown in the chart, ...", "chart"));
+        return items;
+    }
+
+    private static class RecordingListener implements ExamGradingOrchestrator.Listener {
+        final List<Integer> progress = new ArrayList<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        List<ExamGradingOrchestrator.ItemResult> results;
+        int allGradedCount;
+
+        @Override
+        public synchronized void onItemGraded(ExamGradingOrchestrator.ItemResult result, int completed, int total) {
+            progress.add(completed);
+        }
+
+        @Override
+        public void onAllGraded(List<ExamGradingOrchestrator.ItemResult> results) {
+            this.results = results;
+            allGradedCount++;
+            done.countDown();
+        }
+    }
+
+    /**
+     * 模拟主线程消息队列，drain() 时才执行投递的回调
+     */
+    private static class QueuedExecutor implements Executor {
+        private final List<Runnable> queue = new ArrayList<>();
+
+        @Override
+        public synchronized void execute(Runnable command) {
+            queue.add(command);
+        }
+
+        synchronized void drain() {
+            while (!queue.isEmpty()) {
+                queue.remove(0).run();
+            }
+        }
+    }
+
+    private static class InMemoryCheckpointStore implements ExamGradingOrchestrator.CheckpointStore {
+        final Map<String, ZhipuAIService.GradeResult> values = new HashMap<>();
+
+        @Override
+        public synchronized ZhipuAIService.GradeResult load(String sessionKey, String itemKey) {
+            return values.get(sessionKey + "|" + itemKey);
+        }
+
+        @Override
+        public synchronized void save(String sessionKey, String itemKey, ZhipuAIService.GradeResult grade) {
+            values.put(sessionKey + "|" + itemKey, grade);
+        }
+
+        @Override
+        public synchronized void clear(String sessionKey) {
+            values.keySet().removeIf(key -> key.startsWith(sessionKey + "|"));
+        }
+    }
+}
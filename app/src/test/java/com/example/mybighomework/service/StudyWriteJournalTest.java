@@ -0,0 +1,137 @@
+package com.example.mybighomework.service;
+
+import static org.junit.Assert.*;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.example.mybighomework.database.AppDatabase;
+import com.example.mybighomework.database.entity.VocabularyRecordEntity;
+import com.example.mybighomework.database.entity.WordLearningProgressEntity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * 答题记录延迟批量写入测试
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, manifest = Config.NONE)
+public class StudyWriteJournalTest {
+
+    private AppDatabase db;
+    private ScheduledExecutorService scheduler;
+    private StudyWriteJournal journal;
+
+    @Before
+    public void setUp() {
+        db = Room.inMemoryDatabaseBuilder(RuntimeEnvironment.getApplication(), AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        // 写入在调用线程同步执行，便于断言
+        journal = new StudyWriteJournal(db, Runnable::run, scheduler);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+        db.close();
+    }
+
+    @Test
+    public void repeatedAnswersMergeIntoOneRowWrittenOnFlush() {
+        journal.recordWordProgress("u", "w1", "b", true);
+        journal.recordWordProgress("u", "w1", "b", false);
+        journal.recordWordProgress("u", "w1", "b", true);
+        journal.recordWordProgress("u", "w2", "b", false);
+
+        assertEquals(4, journal.getPendingCount());
+        assertNull(db.wordLearningProgressDao().getProgress("u", "w1"));
+
+        journal.flush();
+
+        assertEquals(0, journal.getPendingCount());
+        WordLearningProgressEntity w1 = db.wordLearningProgressDao().getProgress("u", "w1");
+        assertEquals(2, w1.getCorrectCount());
+        assertEquals(1, w1.getWrongCount());
+        assertEquals(3, w1.getReviewCount());
+        assertEquals(1, db.wordLearningProgressDao().getProgress("u", "w2").getWrongCount());
+
+        // 已有进度在下一批中继续累加
+        journal.recordWordProgress("u", "w1", "b", true);
+        journal.flush();
+        assertEquals(3, db.wordLearningProgressDao().getProgress("u", "w1").getCorrectCount());
+    }
+
+    @Test
+    public void reachingSizeThresholdWritesWithoutFlush() {
+        for (int i = 0; i < StudyWriteJournal.MAX_PENDING_ANSWERS - 1; i++) {
+            journal.recordWordProgress("u", "w" + (i % 5), "b", true);
+        }
+        assertNull(db.wordLearningProgressDao().getProgress("u", "w0"));
+
+        journal.recordWordProgress("u", "w0", "b", true);
+
+        assertEquals(0, journal.getPendingCount());
+        assertEquals(5, db.wordLearningProgressDao().getProgress("u", "w0").getCorrectCount());
+    }
+
+    @Test
+    public void failedBatchIsRetriedInsteadOfDropped() throws InterruptedException {
+        // 第一次写入时模拟磁盘错误，事务整体回滚
+        SupportSQLiteDatabase sqlite = db.getOpenHelper().getWritableDatabase();
+        sqlite.execSQL("CREATE TEMP TRIGGER fail_progress BEFORE INSERT ON word_learning_progress "
+                + "BEGIN SELECT RAISE(ABORT, 'disk I/O error'); END");
+        journal.recordWordProgress("u", "w1", "b", true);
+        journal.recordWordProgress("u", "w2", "b", false);
+        journal.flush();
+
+        assertNull(db.wordLearningProgressDao().getProgress("u", "w1"));
+        assertEquals(2, journal.getPendingCount());
+
+        // 等待重试期间的作答排在失败的作答之后
+        journal.recordWordProgress("u", "w1", "b", false);
+        sqlite.execSQL("DROP TRIGGER fail_progress");
+
+        long deadline = System.currentTimeMillis() + StudyWriteJournal.RETRY_DELAY_MILLIS + 5_000;
+        while (db.wordLearningProgressDao().getProgress("u", "w1") == null
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        WordLearningProgressEntity w1 = db.wordLearningProgressDao().getProgress("u", "w1");
+        assertNotNull("重试后应写入", w1);
+        assertEquals(1, w1.getCorrectCount());
+        assertEquals(1, w1.getWrongCount());
+        assertEquals(1, db.wordLearningProgressDao().getProgress("u", "w2").getWrongCount());
+        assertEquals(0, journal.getPendingCount());
+    }
+
+    @Test
+    public void vocabularyAnswersCreateRecordAndUpdateMastery() {
+        journal.recordVocabularyAnswer("apple", "/ˈæpl/", "苹果", true);
+        journal.recordVocabularyAnswer("apple", "/ˈæpl/", "苹果", true);
+        journal.recordVocabularyAnswer("apple", "/ˈæpl/", "苹果", true);
+        journal.flush();
+
+        VocabularyRecordEntity apple = db.vocabularyDao().getVocabularyByWord("apple");
+        assertEquals(3, apple.getCorrectCount());
+        assertEquals("苹果", apple.getMeaning());
+        assertTrue(apple.isMastered());
+
+        journal.recordVocabularyAnswer("apple", "/ˈæpl/", "苹果", false);
+        journal.flush();
+
+        apple = db.vocabularyDao().getVocabularyByWord("apple");
+        assertEquals(1, apple.getWrongCount());
+        assertFalse(apple.isMastered());
+    }
+}
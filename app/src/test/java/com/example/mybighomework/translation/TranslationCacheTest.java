@@ -0,0 +1,117 @@
+package com.example.mybighomework.translation;
+
+import static org.junit.Assert.*;
+
+import android.content.Context;
+
+import androidx.room.Room;
+
+import com.example.mybighomework.database.AppDatabase;
+import com.example.mybighomework.database.dao.TranslationCacheDao;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 翻译结果缓存测试
+ * 使用内存数据库，磁盘写入在调用线程同步执行
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, manifest = Config.NONE)
+public class TranslationCacheTest {
+
+    private AppDatabase db;
+    private TranslationCacheDao dao;
+    private File payloadDir;
+
+    @Before
+    public void setUp() {
+        Context context = RuntimeEnvironment.getApplication();
+        db = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        dao = db.translationCacheDao();
+        payloadDir = new File(context.getCacheDir(), "translation_cache_test");
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+        File[] files = payloadDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+    }
+
+    @Test
+    public void keyIgnoresWhitespaceButNotLanguageOrTerminology() {
+        String key = TranslationCache.textKey("  machine   learning\r\nis fun ", "en", "zh", 1);
+        assertEquals(key, TranslationCache.textKey("machine learning\nis fun", "en", "zh", 1));
+        assertNotEquals(key, TranslationCache.textKey("machine learning is fun", "en", "zh", 1));
+        assertNotEquals(key, TranslationCache.textKey("machine learning\nis fun", "zh", "en", 1));
+        assertNotEquals(key, TranslationCache.textKey("machine learning\nis fun", "en", "zh", 2));
+    }
+
+    @Test
+    public void diskTierSurvivesNewInstanceAndRestoresRenderedImage() {
+        String textKey = TranslationCache.textKey("hello", "en", "zh", 1);
+        String imageKey = TranslationCache.imageKey("/9j/4AAQSkZJRg==", "en", "zh-CHS");
+        TranslationCache cache = newCache(1024 * 1024, TimeUnit.DAYS.toMillis(30));
+        cache.put(textKey, new TranslationCache.Entry("hello", "你好", null));
+        cache.put(imageKey, new TranslationCache.Entry("Exit", "出口", "aGVsbG8="));
+
+        // 模拟进程重启：内存为空，只能从数据库和渲染图文件读取
+        TranslationCache restarted = newCache(1024 * 1024, TimeUnit.DAYS.toMillis(30));
+        assertNull(restarted.getFromMemory(textKey));
+        assertEquals("你好", restarted.get(textKey).translatedText);
+        TranslationCache.Entry image = restarted.get(imageKey);
+        assertEquals("出口", image.translatedText);
+        assertEquals("aGVsbG8=", image.renderedImage);
+        // 磁盘命中后回填内存
+        assertNotNull(restarted.getFromMemory(imageKey));
+    }
+
+    @Test
+    public void expiredEntriesAreDropped() {
+        String key = TranslationCache.textKey("hello", "en", "zh", 1);
+        newCache(1024 * 1024, TimeUnit.DAYS.toMillis(30))
+                .put(key, new TranslationCache.Entry("hello", "你好", null));
+
+        TranslationCache noTtl = newCache(1024 * 1024, -1);
+        assertNull(noTtl.get(key));
+        assertEquals(0, dao.getCount());
+    }
+
+    @Test
+    public void leastRecentlyUsedEntriesAreEvictedBeyondMaxSize() throws InterruptedException {
+        // 每条记录 (5 + 2) 个字符 × 2 字节 = 14 字节，上限容纳 3 条
+        TranslationCache cache = newCache(45, TimeUnit.DAYS.toMillis(30));
+        for (int i = 0; i < 3; i++) {
+            cache.put("k" + i, new TranslationCache.Entry("hello", "你好", null));
+            Thread.sleep(2);
+        }
+        // 访问最早的一条，使 k1 成为最久未使用
+        newCache(45, TimeUnit.DAYS.toMillis(30)).get("k0");
+        Thread.sleep(2);
+        cache.put("k3", new TranslationCache.Entry("hello", "你好", null));
+
+        assertEquals(3, dao.getCount());
+        assertNotNull(dao.get("k0"));
+        assertNull(dao.get("k1"));
+        assertTrue(dao.getTotalSize() <= 45);
+    }
+
+    private TranslationCache newCache(long maxDiskBytes, long ttlMillis) {
+        return new TranslationCache(dao, payloadDir, Runnable::run, 1024 * 1024, maxDiskBytes, ttlMillis);
+    }
+}
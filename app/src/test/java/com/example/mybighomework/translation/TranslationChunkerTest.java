@@ -0,0 +1,75 @@
+package com.example.mybighomework.translation;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 长文本分块测试
+ */
+public class TranslationChunkerTest {
+
+    @Test
+    public void sentencesSplitOnTerminatorsButNotDecimals() {
+        List<String> sentences = TranslationChunker.splitSentences("他说：“你好。”然后走了！Pi is 3.14. Really?");
+        assertEquals(Arrays.asList("他说：“你好。”", "然后走了！", "Pi is 3.14. ", "Really?"), sentences);
+    }
+
+    @Test
+    public void chunksStayWithinBudgetAndKeepParagraphs() {
+        List<String> paragraphs = new ArrayList<>();
+        for (int p = 0; p < 2; p++) {
+            List<String> sentences = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                sentences.add("This is sentence " + i + " of paragraph " + p + ".");
+            }
+            paragraphs.add(String.join(" ", sentences));
+        }
+        String text = String.join("\n\n", paragraphs);
+
+        List<TranslationChunker.Chunk> chunks = TranslationChunker.split(text, 100);
+
+        assertTrue(chunks.size() > 2);
+        StringBuilder rebuilt = new StringBuilder();
+        for (TranslationChunker.Chunk chunk : chunks) {
+            assertTrue(TranslationChunker.estimateTokens(chunk.text) <= 100);
+            assertTrue(chunk.text.endsWith("."));
+            rebuilt.append(chunk.text).append(chunk.endsParagraph ? "\n\n" : " ");
+        }
+        // 分块不丢字，拼回即原文
+        assertEquals(text, rebuilt.toString().trim());
+        assertTrue(chunks.get(chunks.size() - 1).endsParagraph);
+    }
+
+    @Test
+    public void editingOneParagraphKeepsOtherChunks() {
+        String first = "Machine learning is a field of study. It gives computers the ability to learn.";
+        String second = "Deep learning uses neural networks. They have many layers.";
+        List<TranslationChunker.Chunk> before = TranslationChunker.split(first + "\n\n" + second, 10);
+        List<TranslationChunker.Chunk> after = TranslationChunker.split(first + "\n\n" + second + " Edited.", 10);
+
+        List<String> beforeTexts = texts(before);
+        List<String> afterTexts = texts(after);
+        assertEquals(beforeTexts.subList(0, 2), afterTexts.subList(0, 2));
+    }
+
+    @Test
+    public void joinUsesTargetLanguageSeparators() {
+        List<TranslationChunker.Chunk> chunks = TranslationChunker.split("One. Two.\n\nThree.", 2);
+        assertEquals("一。二。\n\n三。", TranslationChunker.join(chunks, Arrays.asList("一。", "二。", "三。"), "zh"));
+        // 只传入前缀时拼出已完成的部分
+        assertEquals("一。", TranslationChunker.join(chunks, Arrays.asList("一。"), "zh"));
+    }
+
+    private static List<String> texts(List<TranslationChunker.Chunk> chunks) {
+        List<String> texts = new ArrayList<>();
+        for (TranslationChunker.Chunk chunk : chunks) {
+            texts.add(chunk.text);
+        }
+        return texts;
+    }
+}
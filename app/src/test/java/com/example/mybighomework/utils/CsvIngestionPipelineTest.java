@@ -0,0 +1,100 @@
+package com.example.mybighomework.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CsvIngestionPipeline 单元测试
+ * 验证多线程解析后按行序提交，以及中断后从检查点继续
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, manifest = Config.NONE)
+public class CsvIngestionPipelineTest {
+
+    private static final int LINE_COUNT = 10000;
+
+    private final Map<String, Integer> checkpoints = new HashMap<>();
+    private final CsvIngestionPipeline.CheckpointStore store = new CsvIngestionPipeline.CheckpointStore() {
+        @Override
+        public int load(String key) {
+            Integer value = checkpoints.get(key);
+            return value != null ? value : 0;
+        }
+
+        @Override
+        public void save(String key, int lineNumber) {
+            checkpoints.put(key, lineNumber);
+        }
+    };
+
+    @Test
+    public void commitsBatchesInLineOrder() throws Exception {
+        List<Integer> written = new ArrayList<>();
+        int count = newPipeline(written, -1).run();
+
+        assertEquals(LINE_COUNT, count);
+        for (int i = 0; i < LINE_COUNT; i++) {
+            assertEquals(Integer.valueOf(i + 1), written.get(i));
+        }
+        assertEquals(CsvIngestionPipeline.CHECKPOINT_DONE, store.load("test"));
+    }
+
+    @Test
+    public void resumesFromCheckpointAfterFailure() throws Exception {
+        List<Integer> firstRun = new ArrayList<>();
+        try {
+            newPipeline(firstRun, 4500).run();
+            fail("写入失败应当抛出异常");
+        } catch (IllegalStateException expected) {
+            // 模拟导入中途被终止
+        }
+        int checkpoint = store.load("test");
+        assertEquals(4000, checkpoint);
+        assertEquals(4000, firstRun.size());
+
+        List<Integer> secondRun = new ArrayList<>();
+        int count = newPipeline(secondRun, -1).run();
+
+        assertEquals(LINE_COUNT - checkpoint, count);
+        assertEquals(Integer.valueOf(checkpoint + 1), secondRun.get(0));
+        assertEquals(Integer.valueOf(LINE_COUNT), secondRun.get(secondRun.size() - 1));
+    }
+
+    private CsvIngestionPipeline<Integer> newPipeline(List<Integer> sink, int failAtValue) {
+        return new CsvIngestionPipeline.Builder<Integer>()
+                .source(() -> new ByteArrayInputStream(buildCsv().getBytes(StandardCharsets.UTF_8)))
+                .delimiter(">")
+                .batchSize(500)
+                .parserCount(3)
+                .queueCapacity(2)
+                .mapper((fields, lineNumber) -> fields.getInt(0, -1))
+                .writer(batch -> {
+                    if (failAtValue > 0 && batch.contains(failAtValue)) {
+                        throw new IllegalStateException("模拟写入失败");
+                    }
+                    sink.addAll(batch);
+                })
+                .transactionRunner(Runnable::run)
+                .checkpoint(store, "test")
+                .build();
+    }
+
+    private String buildCsv() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 1; i <= LINE_COUNT; i++) {
+            sb.append(i).append(">word").append(i).append('\n');
+        }
+        return sb.toString();
+    }
+}
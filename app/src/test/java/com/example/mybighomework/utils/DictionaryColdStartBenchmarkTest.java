@@ -0,0 +1,251 @@
+package com.example.mybighomework.utils;
+
+import static org.junit.Assert.*;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.room.Room;
+
+import com.example.mybighomework.BenchmarkRunner;
+import com.example.mybighomework.database.AppDatabase;
+import com.example.mybighomework.database.RandomSamplerYSJ;
+import com.example.mybighomework.database.entity.BookEntity;
+import com.example.mybighomework.database.entity.BookWordRelationEntity;
+import com.example.mybighomework.database.entity.DictionaryWordEntity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 词典冷启动基准测试
+ * 比较两条路径从"开始初始化"到"可搜索"的耗时：
+ * 1. CSV 逐行解析 + 分批插入（DictionaryDataImporter 的回退路径）
+ * 2. 预置数据库 ATTACH 拷贝（PrebuiltDictionaryInstaller）
+ * 耗时对比只在开启基准测试时运行，平时只验证两条路径导入的数据一致、安装后随机抽样能取到新单词
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, manifest = Config.NONE)
+public class DictionaryColdStartBenchmarkTest {
+
+    private static final int WORD_COUNT = 20000;
+    private static final int BOOK_COUNT = 20;
+    private static final int WORDS_PER_BOOK = 2000;
+
+    private Context context;
+    private File workDir;
+    private final List<AppDatabase> openedDatabases = new ArrayList<>();
+
+    @Before
+    public void setUp() throws IOException {
+        context = RuntimeEnvironment.getApplication();
+        workDir = new File(context.getCacheDir(), "dict_bench");
+        workDir.mkdirs();
+        writeSyntheticCsv();
+    }
+
+    @After
+    public void tearDown() {
+        for (AppDatabase db : openedDatabases) {
+            db.close();
+        }
+    }
+
+    @Test
+    public void prebuiltInstallMatchesCsvImport() {
+        AppDatabase csvDb = openDatabase("bench_csv.db");
+        importFromCsv(csvDb);
+        List<DictionaryWordEntity> csvResult = csvDb.dictionaryWordDao().searchWordsSync("word1");
+
+        AppDatabase prebuiltDb = openDatabase("bench_prebuilt.db");
+        PrebuiltDictionaryInstaller.InstallResult result =
+                new PrebuiltDictionaryInstaller(context, prebuiltDb).installFrom(buildPrebuiltDatabase());
+        List<DictionaryWordEntity> prebuiltResult = prebuiltDb.dictionaryWordDao().searchWordsSync("word1");
+
+        assertEquals(WORD_COUNT, result.wordCount);
+        assertEquals(BOOK_COUNT, result.bookCount);
+        assertEquals(BOOK_COUNT * WORDS_PER_BOOK, result.relationCount);
+        assertEquals(csvDb.bookWordRelationDao().getRelationCount(), result.relationCount);
+        assertEquals(csvResult.size(), prebuiltResult.size());
+        assertFalse(prebuiltResult.isEmpty());
+    }
+
+    @Test
+    public void samplerSeesWordsInstalledOutsideRoom() {
+        AppDatabase db = openDatabase("bench_sampler.db");
+        RandomSamplerYSJ sampler = db.randomSampler();
+        // 导入完成前抽样，缓存了空的 id 列表
+        assertTrue(sampler.randomWords(5).isEmpty());
+
+        // 预置数据库经 ATTACH 写入，Room 收不到失效通知
+        new PrebuiltDictionaryInstaller(context, db).installFrom(buildPrebuiltDatabase());
+        DictionaryDataImporter.invalidateQueryCaches(db);
+        assertEquals(5, sampler.randomWords(5).size());
+        assertEquals(5, sampler.randomWordsExcluding("w0", 5).size());
+    }
+
+    @Test
+    public void compareColdStartToSearchable() throws Exception {
+        BenchmarkRunner.assumeEnabled();
+        AppDatabase csvDb = openDatabase("bench_csv.db");
+        long csvNs = BenchmarkRunner.time(() -> {
+            importFromCsv(csvDb);
+            csvDb.dictionaryWordDao().searchWordsSync("word1");
+        });
+
+        // 预置数据库在构建时生成，不计入启动耗时
+        File prebuilt = buildPrebuiltDatabase();
+        AppDatabase prebuiltDb = openDatabase("bench_prebuilt.db");
+        long prebuiltNs = BenchmarkRunner.time(() -> {
+            new PrebuiltDictionaryInstaller(context, prebuiltDb).installFrom(prebuilt);
+            prebuiltDb.dictionaryWordDao().searchWordsSync("word1");
+        });
+
+        BenchmarkRunner.report("冷启动到可搜索", "CSV导入 " + csvNs / 1_000_000 + "ms, 预置数据库 "
+                + prebuiltNs / 1_000_000 + "ms");
+    }
+
+    private AppDatabase openDatabase(String name) {
+        context.deleteDatabase(name);
+        AppDatabase db = Room.databaseBuilder(context, AppDatabase.class, name)
+                .allowMainThreadQueries()
+                .build();
+        openedDatabases.add(db);
+        return db;
+    }
+
+    /**
+     * 原 CSV 导入方式：单线程流式解析、分批插入、关联逐条校验外键
+     */
+    private void importFromCsv(AppDatabase db) {
+        try {
+            List<DictionaryWordEntity> words = new ArrayList<>();
+            CsvParser.parseStreaming(new FileInputStream(new File(workDir, "word.csv")), ">", false,
+                (fields, line) -> new DictionaryWordEntity(fields[0], fields[1], fields[2], fields[3],
+                        CsvParser.getFloatField(fields, 4, 0f), CsvParser.getIntField(fields, 5, 5),
+                        CsvParser.getFloatField(fields, 6, 0f), "释义" + fields[1]),
+                batchingCallback(words, 1000, () -> db.dictionaryWordDao().insertAll(words)), null);
+
+            List<BookEntity> books = new ArrayList<>();
+            CsvParser.parseStreaming(new FileInputStream(new File(workDir, "book.csv")), ">", false,
+                (fields, line) -> {
+                    BookEntity book = new BookEntity();
+                    book.setId(fields[0]);
+                    book.setName(fields[4]);
+                    return book;
+                },
+                batchingCallback(books, 1000, () -> db.bookDao().insertAll(books)), null);
+
+            List<BookWordRelationEntity> relations = new ArrayList<>();
+            CsvParser.parseStreaming(new FileInputStream(new File(workDir, "relation_book_word.csv")), ">", false,
+                (fields, line) -> {
+                    if (db.bookDao().getBookByIdSync(fields[1]) == null
+                            || db.dictionaryWordDao().getWordByIdSync(fields[2]) == null) {
+                        return null;
+                    }
+                    BookWordRelationEntity relation = new BookWordRelationEntity();
+                    relation.setId(fields[0]);
+                    relation.setBookId(fields[1]);
+                    relation.setWordId(fields[2]);
+                    relation.setWordOrder(CsvParser.getIntField(fields, 5, 0));
+                    return relation;
+                },
+                batchingCallback(relations, 500, () -> db.bookWordRelationDao().insertAll(relations)), null);
+        } catch (IOException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    private <T> CsvParser.StreamingCallback<T> batchingCallback(List<T> batch, int size, Runnable flush) {
+        return new CsvParser.StreamingCallback<T>() {
+            @Override
+            public void onItem(T item, int lineNumber) {
+                batch.add(item);
+                if (batch.size() >= size) {
+                    flush.run();
+                    batch.clear();
+                }
+            }
+
+            @Override
+            public void onComplete(int totalProcessed) {
+                if (!batch.isEmpty()) {
+                    flush.run();
+                    batch.clear();
+                }
+            }
+        };
+    }
+
+    /**
+     * 模拟 buildPrebuiltDictionary 构建任务的输出
+     */
+    private File buildPrebuiltDatabase() {
+        File file = new File(workDir, "dictionary.db");
+        file.delete();
+        SQLiteDatabase db = SQLiteDatabase.openOrCreateDatabase(file, null);
+        db.execSQL("CREATE TABLE dictionary_words (id TEXT NOT NULL PRIMARY KEY, word TEXT, phoneticUk TEXT, " +
+                "phoneticUs TEXT, frequency REAL NOT NULL DEFAULT 0, difficulty INTEGER NOT NULL DEFAULT 0, " +
+                "acknowledgeRate REAL NOT NULL DEFAULT 0, translation TEXT)");
+        db.execSQL("CREATE TABLE books (id TEXT NOT NULL PRIMARY KEY, parentId TEXT, level INTEGER NOT NULL DEFAULT 0, " +
+                "bookOrder REAL NOT NULL DEFAULT 0, name TEXT, itemNum INTEGER NOT NULL DEFAULT 0, " +
+                "directItemNum INTEGER NOT NULL DEFAULT 0, author TEXT, fullName TEXT, comment TEXT, " +
+                "organization TEXT, publisher TEXT, version TEXT, flag TEXT)");
+        db.execSQL("CREATE TABLE book_word_relations (id TEXT NOT NULL PRIMARY KEY, bookId TEXT NOT NULL, " +
+                "wordId TEXT NOT NULL, flag TEXT, tag TEXT, wordOrder INTEGER NOT NULL DEFAULT 0)");
+        db.beginTransaction();
+        try {
+            for (int i = 0; i < WORD_COUNT; i++) {
+                db.execSQL("INSERT INTO dictionary_words VALUES (?, ?, '', '', 0.5, 5, 0.5, ?)",
+                        new Object[]{"w" + i, "word" + i, "释义word" + i});
+            }
+            for (int b = 0; b < BOOK_COUNT; b++) {
+                db.execSQL("INSERT INTO books (id, name) VALUES (?, ?)", new Object[]{"b" + b, "Book " + b});
+                for (int j = 0; j < WORDS_PER_BOOK; j++) {
+                    int wordIndex = (b * 997 + j) % WORD_COUNT;
+                    db.execSQL("INSERT INTO book_word_relations (id, bookId, wordId, wordOrder) VALUES (?, ?, ?, ?)",
+                            new Object[]{"r" + b + "_" + j, "b" + b, "w" + wordIndex, j});
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        db.setVersion(DictionaryDataImporter.CURRENT_DATA_VERSION);
+        db.close();
+        return file;
+    }
+
+    private void writeSyntheticCsv() throws IOException {
+        try (PrintWriter out = new PrintWriter(new File(workDir, "word.csv"), "UTF-8")) {
+            for (int i = 0; i < WORD_COUNT; i++) {
+                out.println("w" + i + ">word" + i + ">>>0.5>5>0.5");
+            }
+        }
+        try (PrintWriter out = new PrintWriter(new File(workDir, "book.csv"), "UTF-8")) {
+            for (int b = 0; b < BOOK_COUNT; b++) {
+                out.println("b" + b + ">0>2>" + b + ">Book " + b + ">" + WORDS_PER_BOOK);
+            }
+        }
+        try (PrintWriter out = new PrintWriter(new File(workDir, "relation_book_word.csv"), "UTF-8")) {
+            for (int b = 0; b < BOOK_COUNT; b++) {
+                for (int j = 0; j < WORDS_PER_BOOK; j++) {
+                    int wordIndex = (b * 997 + j) % WORD_COUNT;
+                    out.println("r" + b + "_" + j + ">b" + b + ">w" + wordIndex + ">>>" + j);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.mybighomework.utils;
+
+import static org.junit.Assert.*;
+
+import androidx.room.Room;
+
+import com.example.mybighomework.database.AppDatabase;
+import com.example.mybighomework.database.dao.DictionaryWordDao;
+import com.example.mybighomework.database.entity.DictionaryWordEntity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * DictionaryDataImporter 翻译合并测试
+ * 翻译文件和词典中的单词大小写不一致时也要合并上翻译
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, manifest = Config.NONE)
+public class DictionaryDataImporterTest {
+
+    private AppDatabase db;
+    private DictionaryWordDao wordDao;
+
+    @Before
+    public void setUp() {
+        db = Room.inMemoryDatabaseBuilder(RuntimeEnvironment.getApplication(), AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        wordDao = db.dictionaryWordDao();
+        List<DictionaryWordEntity> words = new ArrayList<>();
+        words.add(word("w1", "Apple"));
+        words.add(word("w2", "apple"));
+        words.add(word("w3", "book"));
+        words.add(word("w4", "China"));
+        words.add(word("w5", "river"));
+        wordDao.insertAll(words);
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void translationsMatchHeadwordsIgnoringCase() {
+        DictionaryDataImporter.TranslationWriter writer = new DictionaryDataImporter.TranslationWriter(wordDao);
+        db.runInTransaction(() -> writer.write(Arrays.asList(
+                new String[] {"apple", "n. 苹果"},
+                new String[] {"BOOK", "n. 书"},
+                new String[] {"china", "n. 中国"},
+                new String[] {"unknown", "未知"})));
+
+        assertEquals("n. 苹果", wordDao.getWordByWord("Apple").getTranslation());
+        assertEquals("n. 苹果", wordDao.getWordByWord("apple").getTranslation());
+        assertEquals("n. 书", wordDao.getWordByWord("book").getTranslation());
+        assertEquals("n. 中国", wordDao.getWordByWord("China").getTranslation());
+        assertNull(wordDao.getWordByWord("river").getTranslation());
+    }
+
+    @Test
+    public void laterRowsOverrideEarlierOnes() {
+        DictionaryDataImporter.TranslationWriter writer = new DictionaryDataImporter.TranslationWriter(wordDao);
+        writer.write(Arrays.asList(new String[][] {{"River", "n. 河"}}));
+        writer.write(Arrays.asList(new String[][] {{"river", "n. 河流"}}));
+
+        assertEquals("n. 河流", wordDao.getWordByWord("river").getTranslation());
+    }
+
+    private static DictionaryWordEntity word(String id, String word) {
+        return new DictionaryWordEntity(id, word, "", "", 0.5f, 5, 0.5f, null);
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.mybighomework.utils;
+
+import static org.junit.Assert.*;
+
+import androidx.room.Room;
+
+import com.example.mybighomework.BenchmarkRunner;
+import com.example.mybighomework.database.AppDatabase;
+import com.example.mybighomework.database.entity.DictionaryWordEntity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * 词典搜索基准测试
+ * 在与完整词典同规模（约 10 万词）的数据上，比较旧的 LIKE 前缀搜索与 DictionarySearchEngineYSJ
+ * 在英文前缀、中文释义、拼写错误三类关键词下的 p50 / p95 延迟，耗时对比只在开启基准测试时运行
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, manifest = Config.NONE)
+public class DictionarySearchBenchmarkTest {
+
+    private static final int WORD_COUNT = 100_000;
+    private static final int WARMUP_QUERIES = 50;
+    private static final int MEASURE_QUERIES = 300;
+    private static final int LIMIT = 50;
+
+    private static final String[] SYLLABLES = {
+        "ab", "ac", "al", "an", "ar", "be", "ca", "co", "de", "di", "en", "er", "ex", "fa", "ge", "in",
+        "ka", "la", "li", "ma", "mo", "ne", "no", "or", "pa", "pe", "pro", "qu", "ra", "re", "sa", "se",
+        "st", "ta", "te", "th", "ti", "tr", "un", "ve", "vi", "wa", "ze"
+    };
+    private static final String[] MEANINGS = {
+        "苹果", "应用", "申请", "学习", "考试", "飞机", "起飞", "城市", "河流", "音乐", "历史", "科学",
+        "语言", "文化", "经济", "政治", "天气", "季节", "医院", "学校", "老师", "学生", "朋友", "家庭"
+    };
+
+    private AppDatabase db;
+    private DictionarySearchEngineYSJ engine;
+    private List<DictionaryWordEntity> words;
+
+    @Before
+    public void setUp() {
+        db = Room.inMemoryDatabaseBuilder(RuntimeEnvironment.getApplication(), AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        engine = new DictionarySearchEngineYSJ(db);
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void compareQueryLatency() throws Exception {
+        BenchmarkRunner.assumeEnabled();
+        insertDictionary(WORD_COUNT);
+        long buildNs = BenchmarkRunner.time(engine::warmUp);
+
+        Random random = new Random(11);
+        report("英文前缀", random, this::randomPrefix);
+        report("中文释义", random, r -> MEANINGS[r.nextInt(MEANINGS.length)].substring(0, 1 + r.nextInt(2)));
+        report("拼写错误", random, this::randomTypo);
+        BenchmarkRunner.report("纠错索引构建", buildNs / 1_000_000 + "ms");
+    }
+
+    @Test
+    public void findsByTranslationAndRanksExactMatchThenFrequency() {
+        db.dictionaryWordDao().insertAll(Arrays.asList(
+                word("1", "apple", 0.9f, "n. 苹果；苹果树"),
+                word("2", "application", 0.95f, "n. 应用；申请"),
+                word("3", "apply", 0.7f, "v. 申请"),
+                word("4", "appl", 0.1f, "缩写")));
+
+        List<DictionaryWordEntity> results = engine.search("Appl", LIMIT, null);
+        assertEquals(Arrays.asList("appl", "application", "apple", "apply"), wordsOf(results));
+
+        assertEquals(Arrays.asList("application", "apply"), wordsOf(engine.search("申请", LIMIT, null)));
+        assertEquals(Arrays.asList("apple"), wordsOf(engine.search("苹果树", LIMIT, null)));
+        // 词中间的字由 LIKE 回退查到
+        assertEquals(Arrays.asList("apple"), wordsOf(engine.search("果", LIMIT, null)));
+    }
+
+    @Test
+    public void typoFallsBackToSpellingSuggestions() {
+        db.dictionaryWordDao().insertAll(Arrays.asList(
+                word("1", "receive", 0.8f, "v. 收到"),
+                word("2", "recipe", 0.5f, "n. 食谱"),
+                word("3", "deceive", 0.3f, "v. 欺骗")));
+
+        List<DictionaryWordEntity> results = engine.search("recieve", LIMIT, null);
+        assertFalse(results.isEmpty());
+        assertEquals("receive", results.get(0).getWord());
+    }
+
+    @Test
+    public void overwrittenWordsLeaveNoStaleIndexEntries() {
+        db.dictionaryWordDao().insert(word("1", "river", 0.5f, "n. 河流"));
+        db.dictionaryWordDao().insert(word("1", "river", 0.6f, "n. 江河"));
+        db.dictionaryWordDao().updateTranslation("river", "n. 河；江");
+
+        assertEquals(1, engine.search("river", LIMIT, null).size());
+        assertEquals(1, engine.search("江", LIMIT, null).size());
+        assertTrue(engine.search("河流", LIMIT, null).isEmpty());
+    }
+
+    @Test
+    public void cancelledSearchSkipsSuggestions() {
+        db.dictionaryWordDao().insert(word("1", "receive", 0.8f, "v. 收到"));
+
+        assertTrue(engine.search("recieve", LIMIT, () -> true).isEmpty());
+    }
+
+    private void report(String label, Random random, Function<Random, String> queries) {
+        for (int i = 0; i < WARMUP_QUERIES; i++) {
+            String query = queries.apply(random);
+            engine.search(query, LIMIT, null);
+            db.dictionaryWordDao().searchWordsSync(query);
+        }
+        long[] legacy = new long[MEASURE_QUERIES];
+        long[] current = new long[MEASURE_QUERIES];
+        int hits = 0;
+        for (int i = 0; i < MEASURE_QUERIES; i++) {
+            String query = queries.apply(random);
+            long start = System.nanoTime();
+            db.dictionaryWordDao().searchWordsSync(query);
+            legacy[i] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            if (!engine.search(query, LIMIT, null).isEmpty()) {
+                hits++;
+            }
+            current[i] = System.nanoTime() - start;
+        }
+        BenchmarkRunner.report(label, "旧 LIKE 前缀 p50 " + BenchmarkRunner.percentileMicros(legacy, 50)
+                + "us / p95 " + BenchmarkRunner.percentileMicros(legacy, 95) + "us, 新搜索 p50 "
+                + BenchmarkRunner.percentileMicros(current, 50) + "us / p95 "
+                + BenchmarkRunner.percentileMicros(current, 95) + "us, 有结果 " + hits + "/" + MEASURE_QUERIES);
+    }
+
+    private String randomPrefix(Random random) {
+        String word = words.get(random.nextInt(words.size())).getWord();
+        return word.substring(0, Math.min(word.length(), 2 + random.nextInt(3)));
+    }
+
+    /**
+     * 随机单词做一次替换、删除或相邻交换
+     */
+    private String randomTypo(Random random) {
+        String word;
+        do {
+            word = words.get(random.nextInt(words.size())).getWord();
+        } while (word.length() < 5);
+        int position = 1 + random.nextInt(word.length() - 2);
+        switch (random.nextInt(3)) {
+            case 0:
+                return word.substring(0, position) + (char) ('a' + random.nextInt(26)) + word.substring(position + 1);
+            case 1:
+                return word.substring(0, position) + word.substring(position + 1);
+            default:
+                return word.substring(0, position) + word.charAt(position + 1) + word.charAt(position)
+                        + word.substring(position + 2);
+        }
+    }
+
+    /**
+     * 由音节拼成的英文单词（拼出重复单词时后者被忽略），词频按排名递减（近似 Zipf 分布），释义从常用词中组合
+     */
+    private void insertDictionary(int count) {
+        Random random = new Random(42);
+        words = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder text = new StringBuilder();
+            int syllables = 2 + random.nextInt(3);
+            for (int s = 0; s < syllables; s++) {
+                text.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            String meaning = MEANINGS[random.nextInt(MEANINGS.length)] + MEANINGS[random.nextInt(MEANINGS.length)];
+            words.add(word("w" + i, text.toString(), 1f / (1 + i), "n. " + meaning + "；" + MEANINGS[i % MEANINGS.length]));
+        }
+        db.runInTransaction(() -> db.dictionaryWordDao().insertAll(words));
+    }
+
+    private static DictionaryWordEntity word(String id, String text, float frequency, String translation) {
+        return new DictionaryWordEntity(id, text, "", "", frequency, 5, 0.5f, translation);
+    }
+
+    private static List<String> wordsOf(List<DictionaryWordEntity> results) {
+        List<String> list = new ArrayList<>();
+        for (DictionaryWordEntity word : results) {
+            list.add(word.getWord());
+        }
+        return list;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.mybighomework.utils;
+
+import static org.junit.Assert.*;
+
+import com.example.mybighomework.BenchmarkRunner;
+import com.example.mybighomework.database.entity.DictionaryWordEntity;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 干扰项抽样微基准测试
+ * 按 JMH 的方式先预热再计时，比较 1k/10k/50k 单词词书下
+ * 旧实现（复制 + removeIf + 整表打乱）与 DistractorIndexYSJ 每题的平均耗时，只在开启基准测试时运行
+ */
+public class DistractorSamplingBenchmarkTest {
+
+    private static final int[] BOOK_SIZES = {1000, 10000, 50000};
+    private static final int DISTRACTOR_COUNT = 3;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURE_ITERATIONS = 1000;
+
+    @Test
+    public void compareSamplingCostPerQuestion() throws Exception {
+        BenchmarkRunner.assumeEnabled();
+        for (int size : BOOK_SIZES) {
+            List<DictionaryWordEntity> book = createBook(size);
+            Random random = new Random(size);
+            DistractorIndexYSJ index = new DistractorIndexYSJ(book);
+
+            long legacyNs = measure(() -> legacyDistractors(pick(book, random), book, random));
+            long randomNs = measure(() ->
+                    index.sample(pick(book, random), DISTRACTOR_COUNT, DistractorIndexYSJ.Mode.RANDOM, random));
+            long confusableNs = measure(() ->
+                    index.sample(pick(book, random), DISTRACTOR_COUNT, DistractorIndexYSJ.Mode.CONFUSABLE, random));
+
+            BenchmarkRunner.report("词书 " + size + " 词", "每题平均耗时: 复制打乱 " + legacyNs + "ns, 索引随机 "
+                    + randomNs + "ns, 索引易混 " + confusableNs + "ns");
+        }
+    }
+
+    @Test
+    public void sampleReturnsDistinctNonTargetTranslations() {
+        List<DictionaryWordEntity> book = createBook(50);
+        DistractorIndexYSJ index = new DistractorIndexYSJ(book);
+        Random random = new Random(1);
+
+        for (DictionaryWordEntity target : book) {
+            for (DistractorIndexYSJ.Mode mode : DistractorIndexYSJ.Mode.values()) {
+                List<String> distractors = index.sample(target, DISTRACTOR_COUNT, mode, random);
+                assertEquals(DISTRACTOR_COUNT, distractors.size());
+                assertEquals(DISTRACTOR_COUNT, new HashSet<>(distractors).size());
+                assertFalse(distractors.contains(target.getTranslation()));
+            }
+        }
+    }
+
+    @Test
+    public void confusableModeStaysNearTargetDifficulty() {
+        List<DictionaryWordEntity> book = createBook(10000);
+        DistractorIndexYSJ index = new DistractorIndexYSJ(book);
+        DictionaryWordEntity target = book.get(0);
+
+        Set<String> nearTranslations = new HashSet<>();
+        for (DictionaryWordEntity word : book) {
+            if (Math.abs(word.getDifficulty() - target.getDifficulty()) <= 1) {
+                nearTranslations.add(word.getTranslation());
+            }
+        }
+        List<String> distractors =
+                index.sample(target, DISTRACTOR_COUNT, DistractorIndexYSJ.Mode.CONFUSABLE, new Random(7));
+        assertTrue(nearTranslations.containsAll(distractors));
+    }
+
+    @Test
+    public void smallPoolReturnsWhatIsAvailable() {
+        List<DictionaryWordEntity> book = createBook(3);
+        DistractorIndexYSJ index = new DistractorIndexYSJ(book);
+
+        List<String> distractors =
+                index.sample(book.get(0), DISTRACTOR_COUNT, DistractorIndexYSJ.Mode.RANDOM, new Random());
+        assertEquals(2, distractors.size());
+    }
+
+    @Test
+    public void floydReturnsPicksInDrawOrder() {
+        Random random = new Random(3);
+        int sorted = 0;
+        for (int trial = 0; trial < 200; trial++) {
+            // 与易混模式的窗口大小相同：3 个干扰项，12 个候选
+            List<Integer> picks = DistractorIndexYSJ.floyd(12, 3, random);
+            assertEquals(3, picks.size());
+            assertEquals(3, new HashSet<>(picks).size());
+            for (int pick : picks) {
+                assertTrue(pick >= 0 && pick < 12);
+            }
+            List<Integer> ascending = new ArrayList<>(picks);
+            Collections.sort(ascending);
+            if (ascending.equals(picks)) {
+                sorted++;
+            }
+        }
+        // 按 HashSet 的哈希顺序返回时小整数总是升序排列
+        assertTrue("sorted " + sorted, sorted < 100);
+    }
+
+    private static long measure(BenchmarkRunner.Operation operation) throws Exception {
+        return BenchmarkRunner.measure(operation, WARMUP_ITERATIONS, MEASURE_ITERATIONS);
+    }
+
+    private DictionaryWordEntity pick(List<DictionaryWordEntity> book, Random random) {
+        return book.get(random.nextInt(book.size()));
+    }
+
+    /**
+     * 旧版 QuestionGeneratorYSJ.generateDistractors 的实现
+     */
+    private List<String> legacyDistractors(DictionaryWordEntity target, List<DictionaryWordEntity> allWords,
+                                           Random random) {
+        List<DictionaryWordEntity> candidates = new ArrayList<>(allWords);
+        candidates.removeIf(word -> word.getId().equals(target.getId()));
+        Collections.shuffle(candidates, random);
+        List<String> distractors = new ArrayList<>();
+        for (int i = 0; i < Math.min(DISTRACTOR_COUNT, candidates.size()); i++) {
+            distractors.add(candidates.get(i).getTranslation());
+        }
+        return distractors;
+    }
+
+    private List<DictionaryWordEntity> createBook(int size) {
+        Random random = new Random(42);
+        List<DictionaryWordEntity> words = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            words.add(new DictionaryWordEntity("w" + i, "word" + i, "", "",
+                    random.nextFloat(), 1 + random.nextInt(10), 0.5f, "释义" + i));
+        }
+        return words;
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.mybighomework.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 线程池测试：优先级出队顺序、统计数据、作用域取消和任务异常
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, manifest = Config.NONE)
+public class MonitoredThreadPoolYSJTest {
+
+    private MonitoredThreadPoolYSJ pool;
+
+    @Before
+    public void setUp() {
+        pool = new MonitoredThreadPoolYSJ("Test", 1, Thread.NORM_PRIORITY);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void higherPriorityRunsFirstAndSamePriorityKeepsOrder() throws Exception {
+        CountDownLatch gate = blockPool(pool);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(6);
+
+        for (int i = 0; i < 2; i++) {
+            String name = "B" + i;
+            pool.execute(() -> { order.add(name); done.countDown(); }, AppExecutorsYSJ.Priority.BACKGROUND);
+        }
+        for (int i = 0; i < 2; i++) {
+            String name = "N" + i;
+            pool.execute(() -> { order.add(name); done.countDown(); });
+        }
+        for (int i = 0; i < 2; i++) {
+            String name = "I" + i;
+            pool.lane(AppExecutorsYSJ.Priority.IMMEDIATE).execute(() -> { order.add(name); done.countDown(); });
+        }
+
+        gate.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("I0", "I1", "N0", "N1", "B0", "B1"), order);
+    }
+
+    @Test
+    public void snapshotReportsQueueDepthAndCompletedTasks() throws Exception {
+        CountDownLatch gate = blockPool(pool);
+        for (int i = 0; i < 3; i++) {
+            pool.execute(() -> { });
+        }
+        assertEquals(3, pool.snapshot().queueDepth);
+
+        gate.countDown();
+        pool.submit(() -> { }, AppExecutorsYSJ.Priority.BACKGROUND).get(5, TimeUnit.SECONDS);
+        MonitoredThreadPoolYSJ.Stats stats = pool.snapshot();
+        assertEquals(5, stats.submitted);
+        assertEquals(0, stats.queueDepth);
+        assertTrue(stats.maxWaitMillis >= stats.avgWaitMillis);
+    }
+
+    @Test
+    public void cancelledScopeSkipsQueuedTasks() throws Exception {
+        AppExecutorsYSJ executors = AppExecutorsYSJ.getInstance();
+        CountDownLatch gate = new CountDownLatch(1);
+        executors.diskIO().execute(() -> awaitQuietly(gate));
+
+        TaskScopeYSJ scope = new TaskScopeYSJ();
+        AtomicInteger ran = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            scope.diskIO().execute(ran::incrementAndGet);
+        }
+        assertEquals(5, scope.getPendingCount());
+
+        scope.cancel();
+        gate.countDown();
+        executors.diskIO().submit(() -> { }).get(5, TimeUnit.SECONDS);
+        scope.diskIO().execute(ran::incrementAndGet);
+
+        assertEquals(0, ran.get());
+        assertEquals(0, scope.getPendingCount());
+    }
+
+    @Test
+    public void scopeTaskFailureReachesUncaughtHandler() throws Exception {
+        Thread.UncaughtExceptionHandler previous = Thread.getDefaultUncaughtExceptionHandler();
+        List<Throwable> uncaught = Collections.synchronizedList(new ArrayList<>());
+        Thread.setDefaultUncaughtExceptionHandler((thread, e) -> uncaught.add(e));
+        try {
+            TaskScopeYSJ scope = new TaskScopeYSJ();
+            IllegalStateException failure = new IllegalStateException("boom");
+            scope.submit(pool, AppExecutorsYSJ.Priority.NORMAL, () -> {
+                throw failure;
+            }).get(5, TimeUnit.SECONDS);
+
+            assertEquals(Collections.singletonList(failure), uncaught);
+            assertEquals(0, scope.getPendingCount());
+        } finally {
+            Thread.setDefaultUncaughtExceptionHandler(previous);
+        }
+    }
+
+    /**
+     * 占住线程池唯一的线程，使后续任务都进入队列
+     */
+    private static CountDownLatch blockPool(MonitoredThreadPoolYSJ pool) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        pool.execute(() -> {
+            started.countDown();
+            awaitQuietly(gate);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return gate;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
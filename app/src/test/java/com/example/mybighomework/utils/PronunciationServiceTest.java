@@ -0,0 +1,132 @@
+package com.example.mybighomework.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 发音服务测试
+ * 使用本地 AudioFetcher 代替有道接口，验证磁盘缓存、预取去重和离线回退
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, manifest = Config.NONE)
+public class PronunciationServiceTest {
+
+    private static final Executor DIRECT = Runnable::run;
+
+    private File cacheDir;
+    private final AtomicInteger fetchCount = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        cacheDir = new File(RuntimeEnvironment.getApplication().getCacheDir(), "pronunciation_test");
+        deleteRecursively(cacheDir);
+        fetchCount.set(0);
+    }
+
+    @Test
+    public void prefetchDownloadsEachWordOnce() throws IOException {
+        PronunciationServiceYSJ service = newService(1024 * 1024, (word, accent) -> {
+            fetchCount.incrementAndGet();
+            return ("audio:" + word + ":" + accent).getBytes("UTF-8");
+        });
+
+        service.prefetch(Arrays.asList("apple", "banana", "cherry"), PronunciationServiceYSJ.ACCENT_US);
+        service.prefetch(Arrays.asList("apple", "banana", "cherry"), PronunciationServiceYSJ.ACCENT_US);
+        assertEquals(3, fetchCount.get());
+
+        // 口音不同视为不同条目
+        service.prefetch(Arrays.asList("apple"), PronunciationServiceYSJ.ACCENT_UK);
+        assertEquals(4, fetchCount.get());
+
+        // 重新打开缓存目录（模拟重启）后仍然命中
+        PronunciationServiceYSJ reopened = newService(1024 * 1024, (word, accent) -> {
+            fetchCount.incrementAndGet();
+            return new byte[]{1};
+        });
+        File file = reopened.load("apple", PronunciationServiceYSJ.ACCENT_US);
+        assertEquals(4, fetchCount.get());
+        assertEquals("audio:apple:1".length(), file.length());
+    }
+
+    @Test
+    public void cacheEvictsLeastRecentlyUsed() throws IOException {
+        PronunciationDiskCache cache = new PronunciationDiskCache(cacheDir, 250);
+        cache.put("one", 1, new byte[100]);
+        cache.put("two", 1, new byte[100]);
+        assertNotNull(cache.get("one", 1));
+        cache.put("three", 1, new byte[100]);
+
+        assertTrue(cache.contains("one", 1));
+        assertFalse(cache.contains("two", 1));
+        assertTrue(cache.contains("three", 1));
+        assertEquals(200, cache.size());
+    }
+
+    @Test
+    public void cacheIndexIsLoadedOnFirstUse() throws IOException {
+        PronunciationDiskCache cache = new PronunciationDiskCache(cacheDir, 1024);
+        assertFalse("创建时不应扫描或创建缓存目录", cacheDir.exists());
+        cache.put("apple", 1, new byte[10]);
+
+        PronunciationDiskCache reopened = new PronunciationDiskCache(cacheDir, 1024);
+        assertEquals(1, reopened.count());
+        assertTrue(reopened.contains("apple", 1));
+    }
+
+    @Test
+    public void playReportsErrorWhenOffline() {
+        PronunciationServiceYSJ service = newService(1024 * 1024, (word, accent) -> {
+            throw new IOException("offline");
+        });
+
+        AtomicReference<String> error = new AtomicReference<>();
+        service.play("apple", PronunciationServiceYSJ.ACCENT_US, new AudioPlayerYSJ.AudioCallback() {
+            @Override
+            public void onStart() {
+                fail("离线且无缓存时不应开始播放");
+            }
+
+            @Override
+            public void onComplete() {
+            }
+
+            @Override
+            public void onError(String message) {
+                error.set(message);
+            }
+        });
+        assertNotNull(error.get());
+
+        // 预取失败不抛出异常
+        service.prefetch(Arrays.asList("apple", "banana"), PronunciationServiceYSJ.ACCENT_US);
+        assertEquals(0, service.getCache().count());
+    }
+
+    private PronunciationServiceYSJ newService(long maxBytes, PronunciationServiceYSJ.AudioFetcher fetcher) {
+        return new PronunciationServiceYSJ(new PronunciationDiskCache(cacheDir, maxBytes), fetcher,
+                DIRECT, DIRECT, DIRECT);
+    }
+
+    private void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.mybighomework.utils;
+
+import static org.junit.Assert.*;
+
+import com.example.mybighomework.BenchmarkRunner;
+import com.example.mybighomework.database.entity.ReviewParamsEntity;
+import com.example.mybighomework.database.entity.WordLearningProgressEntity;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 待复习队列微基准测试
+ * 按 JMH 的方式先预热再计时，比较 100k 条学习进度下
+ * 旧方式（全表过滤到期 + 按复习时间排序）与 ReviewDueQueueYSJ 取到期单词、预测 30 天复习量、答题后更新的耗时，
+ * 耗时对比只在开启基准测试时运行
+ */
+public class ReviewDueQueueBenchmarkTest {
+
+    private static final int ROW_COUNT = 100_000;
+    private static final int SELECT_LIMIT = 20;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURE_ITERATIONS = 1000;
+    private static final long DAY = ReviewSchedulerYSJ.DAY_MILLIS;
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    public void compareDueSelectionCost() throws Exception {
+        BenchmarkRunner.assumeEnabled();
+        String[] ids = new String[ROW_COUNT];
+        long[] times = new long[ROW_COUNT];
+        fillRows(ids, times, new Random(42));
+
+        ReviewDueQueueYSJ queue = new ReviewDueQueueYSJ();
+        long buildNs = BenchmarkRunner.time(() -> queue.build(ids, times, ROW_COUNT));
+
+        Random random = new Random(7);
+        long scanNs = BenchmarkRunner.measure(() -> legacyDue(ids, times, NOW, SELECT_LIMIT),
+                WARMUP_ITERATIONS / 10, MEASURE_ITERATIONS / 10);
+        long peekNs = BenchmarkRunner.measure(() -> queue.peekDue(NOW, SELECT_LIMIT),
+                WARMUP_ITERATIONS, MEASURE_ITERATIONS);
+        long forecastNs = BenchmarkRunner.measure(() -> queue.forecast(NOW, 30), WARMUP_ITERATIONS, MEASURE_ITERATIONS);
+        long updateNs = BenchmarkRunner.measure(() -> queue.update(ids[random.nextInt(ROW_COUNT)],
+                NOW + random.nextInt(60) * DAY), WARMUP_ITERATIONS, MEASURE_ITERATIONS);
+
+        BenchmarkRunner.report(ROW_COUNT + " 条进度", "建堆 " + buildNs / 1000 + "us, 全表过滤排序 " + scanNs
+                + "ns, 堆取到期 " + peekNs + "ns, 30天预测 " + forecastNs + "ns, 答题更新 " + updateNs + "ns");
+    }
+
+    @Test
+    public void peekDueMatchesSortedScanAfterUpdates() {
+        int count = 2000;
+        String[] ids = new String[count];
+        long[] times = new long[count];
+        Random random = new Random(3);
+        fillRows(ids, times, random);
+
+        ReviewDueQueueYSJ queue = new ReviewDueQueueYSJ();
+        queue.build(ids, times, count);
+        for (int i = 0; i < 500; i++) {
+            int row = random.nextInt(count);
+            times[row] = NOW + (random.nextInt(20) - 10) * DAY + count + i;
+            queue.update(ids[row], times[row]);
+        }
+        // 已掌握的单词移出队列
+        for (int row = 0; row < 100; row++) {
+            queue.remove(ids[row]);
+            times[row] = Long.MAX_VALUE;
+        }
+
+        List<String> expected = legacyDue(ids, times, NOW, SELECT_LIMIT);
+        assertEquals(expected, queue.peekDue(NOW, SELECT_LIMIT));
+        assertEquals(legacyDue(ids, times, NOW, count).size(), queue.countDue(NOW));
+        assertEquals(count - 100, queue.size());
+    }
+
+    @Test
+    public void forecastBucketsByDayWithOverdueInToday() {
+        ReviewDueQueueYSJ queue = new ReviewDueQueueYSJ();
+        queue.update("overdue", NOW - 3 * DAY);
+        queue.update("today", NOW + 1000);
+        queue.update("tomorrow", NOW + DAY + 1000);
+        queue.update("later", NOW + 40 * DAY);
+
+        int[] forecast = queue.forecast(NOW, 30);
+        assertEquals(2, forecast[0]);
+        assertEquals(1, forecast[1]);
+        assertEquals(3, Arrays.stream(forecast).sum());
+        assertEquals(NOW - 3 * DAY, queue.peekDueTime());
+    }
+
+    @Test
+    public void fsrsGrowsIntervalOnRecallAndRelearnsOnLapse() {
+        WordLearningProgressEntity progress = new WordLearningProgressEntity("u", "w", "b");
+        long now = NOW;
+        long lastInterval = 0;
+        for (int i = 0; i < 4; i++) {
+            progress.recordAnswer(true, ReviewSchedulerYSJ.DEFAULT, now);
+            long interval = progress.getNextReviewTime() - now;
+            assertTrue(interval > lastInterval);
+            lastInterval = interval;
+            now = progress.getNextReviewTime();
+        }
+
+        double stability = progress.getStability();
+        progress.recordAnswer(false, ReviewSchedulerYSJ.DEFAULT, now);
+        assertEquals(now + 10 * ReviewSchedulerYSJ.MINUTE_MILLIS, progress.getNextReviewTime());
+        assertTrue(progress.getStability() < stability);
+    }
+
+    @Test
+    public void sm2FollowsOneSixThenEaseIntervals() {
+        ReviewParamsEntity params = new ReviewParamsEntity();
+        params.setAlgorithm(ReviewParamsEntity.ALGORITHM_SM2);
+        ReviewSchedulerYSJ sm2 = ReviewSchedulerYSJ.create(params);
+
+        WordLearningProgressEntity progress = new WordLearningProgressEntity("u", "w", "b");
+        long[] expectedDays = {1, 6, 15};
+        long now = NOW;
+        for (long days : expectedDays) {
+            progress.recordAnswer(true, sm2, now);
+            assertEquals(now + days * DAY, progress.getNextReviewTime());
+            now = progress.getNextReviewTime();
+        }
+        // 答对（质量 4）时易度因子不变
+        assertEquals(2.5, progress.getDifficulty(), 1e-9);
+    }
+
+    /**
+     * 旧方式：扫描全部进度，过滤到期的再按复习时间排序（相当于 getReviewWordIds 在无索引时的执行计划）
+     */
+    private List<String> legacyDue(String[] ids, long[] times, long now, int limit) {
+        List<Integer> due = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (times[i] <= now) {
+                due.add(i);
+            }
+        }
+        due.sort((a, b) -> Long.compare(times[a], times[b]));
+        List<String> result = new ArrayList<>(Math.min(limit, due.size()));
+        for (int i = 0; i < Math.min(limit, due.size()); i++) {
+            result.add(ids[due.get(i)]);
+        }
+        return result;
+    }
+
+    /**
+     * 复习时间分布在过去 10 天到未来 60 天，保证互不相同，排序结果唯一
+     */
+    private void fillRows(String[] ids, long[] times, Random random) {
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = "w" + i;
+            times[i] = NOW + (random.nextInt(70) - 10) * DAY + i;
+        }
+    }
+}
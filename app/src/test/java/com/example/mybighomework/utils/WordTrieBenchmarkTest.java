@@ -0,0 +1,165 @@
+package com.example.mybighomework.utils;
+
+import static org.junit.Assert.*;
+
+import com.example.mybighomework.BenchmarkRunner;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * 联想前缀树微基准测试
+ * 10 万个单词下，比较逐个比较前缀（相当于 LIKE 'xx%' 全表扫描）与 WordTrieYSJ 的补全延迟 p50 / p95，
+ * 以及前缀树文件的内存映射加载耗时，耗时对比只在开启基准测试时运行
+ */
+public class WordTrieBenchmarkTest {
+
+    private static final int WORD_COUNT = 100_000;
+    private static final int WARMUP_QUERIES = 2000;
+    private static final int MEASURE_QUERIES = 5000;
+    private static final int LIMIT = 5;
+
+    private static final String[] SYLLABLES = {
+        "ab", "ac", "al", "an", "ar", "be", "ca", "co", "de", "di", "en", "er", "ex", "fa", "ge", "in",
+        "ka", "la", "li", "ma", "mo", "ne", "no", "or", "pa", "pe", "pro", "qu", "ra", "re", "sa", "se",
+        "st", "ta", "te", "th", "ti", "tr", "un", "ve", "vi", "wa", "ze"
+    };
+
+    @Test
+    public void compareCompletionLatency() throws Exception {
+        BenchmarkRunner.assumeEnabled();
+        String[] words = new String[WORD_COUNT];
+        float[] frequencies = new float[WORD_COUNT];
+        fillWords(words, frequencies, new Random(42));
+
+        long buildStart = System.nanoTime();
+        WordTrieYSJ built = WordTrieYSJ.build(words, frequencies, 1);
+        long buildNs = System.nanoTime() - buildStart;
+
+        File file = File.createTempFile("word_trie", ".bin");
+        file.deleteOnExit();
+        built.writeTo(file);
+        long openStart = System.nanoTime();
+        WordTrieYSJ trie = WordTrieYSJ.open(file);
+        long openNs = System.nanoTime() - openStart;
+
+        Random random = new Random(7);
+        for (int i = 0; i < WARMUP_QUERIES; i++) {
+            String prefix = randomPrefix(words, random);
+            trie.complete(prefix, LIMIT);
+            scanComplete(words, frequencies, prefix, LIMIT);
+        }
+        long[] scan = new long[MEASURE_QUERIES];
+        long[] lookup = new long[MEASURE_QUERIES];
+        for (int i = 0; i < MEASURE_QUERIES; i++) {
+            String prefix = randomPrefix(words, random);
+            long start = System.nanoTime();
+            scanComplete(words, frequencies, prefix, LIMIT);
+            scan[i] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            trie.complete(prefix, LIMIT);
+            lookup[i] = System.nanoTime() - start;
+        }
+
+        BenchmarkRunner.report(WORD_COUNT + " 词", "构建 " + buildNs / 1_000_000 + "ms, 文件 "
+                + file.length() / 1024 + "KB, 映射打开 " + openNs / 1000 + "us; 全表前缀比较 p50 "
+                + BenchmarkRunner.percentileMicros(scan, 50) + "us / p95 "
+                + BenchmarkRunner.percentileMicros(scan, 95) + "us, 前缀树 p50 " + BenchmarkRunner.percentileMicros(lookup, 50) + "us / p95 "
+                + BenchmarkRunner.percentileMicros(lookup, 95) + "us");
+    }
+
+    @Test
+    public void completionsMatchFrequencyOrderedScan() throws IOException {
+        int count = 5000;
+        String[] words = new String[count];
+        float[] frequencies = new float[count];
+        fillWords(words, frequencies, new Random(3));
+
+        File file = File.createTempFile("word_trie", ".bin");
+        file.deleteOnExit();
+        WordTrieYSJ.build(words, frequencies, 1).writeTo(file);
+        WordTrieYSJ trie = WordTrieYSJ.open(file);
+
+        Random random = new Random(5);
+        for (int i = 0; i < 500; i++) {
+            String prefix = randomPrefix(words, random);
+            assertEquals(prefix, scanComplete(words, frequencies, prefix, 8), trie.complete(prefix, 8));
+        }
+        assertTrue(trie.complete("zzzz", 8).isEmpty());
+    }
+
+    @Test
+    public void matchesIgnoringCaseAndKeepsOriginalSpelling() {
+        WordTrieYSJ trie = WordTrieYSJ.build(
+                new String[] {"may", "May", "maybe", "Mary", null, ""},
+                new float[] {0.9f, 0.5f, 0.7f, 0.1f, 1f, 1f}, 3);
+
+        assertEquals(Arrays.asList("may", "maybe", "May", "Mary"), trie.complete("MA", 10));
+        assertEquals(Arrays.asList("may", "maybe"), trie.complete("may", 2));
+        assertEquals(4, trie.size());
+        assertEquals(3, trie.getDataVersion());
+    }
+
+    @Test
+    public void rejectsTruncatedFile() throws IOException {
+        File file = File.createTempFile("word_trie", ".bin");
+        file.deleteOnExit();
+        WordTrieYSJ.build(new String[] {"apple"}, new float[] {1f}, 1).writeTo(file);
+        try (java.io.RandomAccessFile raf = new java.io.RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 4);
+        }
+        try {
+            WordTrieYSJ.open(file);
+            fail("截断的文件应当无法打开");
+        } catch (IOException expected) {
+            // 期望的异常
+        }
+    }
+
+    /**
+     * 旧方式：逐个比较前缀，再按词频取前 limit 个
+     */
+    private static List<String> scanComplete(String[] words, float[] frequencies, String prefix, int limit) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+        List<Integer> matches = new ArrayList<>();
+        for (int i = 0; i < words.length; i++) {
+            if (words[i].toLowerCase(Locale.ROOT).startsWith(key)) {
+                matches.add(i);
+            }
+        }
+        matches.sort((a, b) -> Float.compare(frequencies[b], frequencies[a]));
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < Math.min(limit, matches.size()); i++) {
+            result.add(words[matches.get(i)]);
+        }
+        return result;
+    }
+
+    private static String randomPrefix(String[] words, Random random) {
+        String word = words[random.nextInt(words.length)];
+        return word.substring(0, Math.min(word.length(), 1 + random.nextInt(4)));
+    }
+
+    /**
+     * 由音节拼成的单词，词频各不相同，补全结果的顺序唯一
+     */
+    private static void fillWords(String[] words, float[] frequencies, Random random) {
+        for (int i = 0; i < words.length; i++) {
+            StringBuilder text = new StringBuilder();
+            int syllables = 2 + random.nextInt(3);
+            for (int s = 0; s < syllables; s++) {
+                text.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            words[i] = text.toString();
+            frequencies[i] = 1f / (1 + i);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.mybighomework.utils;
+
+import static org.junit.Assert.*;
+
+import com.example.mybighomework.BenchmarkRunner;
+import com.example.mybighomework.database.entity.WrongQuestionEntity;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 错题自适应练习队列测试
+ * 最后一项为基准测试，只在开启时运行：比较 100k 道错题下组一套 20 题的耗时与全量随机打乱的耗时
+ */
+public class WrongQuestionQueueTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+    private static final long DAY = 24L * 60 * 60 * 1000;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURE_ITERATIONS = 1000;
+
+    @Test
+    public void batchHasNoDuplicates() {
+        List<WrongQuestionEntity> questions = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            questions.add(question(i, i % 2 == 0 ? "词汇训练" : "真题练习", i % 5 + 1, i));
+        }
+        WrongQuestionQueueYSJ queue = new WrongQuestionQueueYSJ(questions, NOW, new Random(1));
+
+        List<WrongQuestionEntity> batch = queue.nextBatch(20);
+        assertEquals(20, batch.size());
+        assertEquals(20, distinct(batch));
+
+        // 剩下 10 道题抽完后返回 null
+        assertEquals(10, queue.nextBatch(20).size());
+        assertNull(queue.next());
+    }
+
+    @Test
+    public void frequentAndRecentMistakesAreDrawnMoreOften() {
+        WrongQuestionEntity frequent = question(1, "真题练习", 8, 0);
+        WrongQuestionEntity stale = question(2, "真题练习", 1, 90);
+        WrongQuestionEntity mastered = question(3, "真题练习", 8, 0);
+        mastered.setMastered(true);
+        List<WrongQuestionEntity> questions = new ArrayList<>();
+        questions.add(frequent);
+        questions.add(stale);
+        questions.add(mastered);
+
+        Random random = new Random(3);
+        int frequentHits = 0;
+        int staleHits = 0;
+        int masteredHits = 0;
+        for (int i = 0; i < 3000; i++) {
+            WrongQuestionEntity first = new WrongQuestionQueueYSJ(questions, NOW, random).next();
+            if (first == frequent) {
+                frequentHits++;
+            } else if (first == stale) {
+                staleHits++;
+            } else {
+                masteredHits++;
+            }
+        }
+        assertTrue("错得多且最近的题应更常出现", frequentHits > staleHits * 3);
+        assertTrue("已掌握的题应被降权", frequentHits > masteredHits * 3);
+    }
+
+    @Test
+    public void wrongAnswersShiftMixTowardWeakCategory() {
+        List<WrongQuestionEntity> questions = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            questions.add(question(i, i < 50 ? "词汇训练" : "真题练习", 2, 1));
+        }
+        WrongQuestionQueueYSJ queue = new WrongQuestionQueueYSJ(questions, NOW, new Random(5));
+        double before = queue.weaknessOf("词汇训练");
+        assertEquals(before, queue.weaknessOf("真题练习"), 1e-9);
+
+        for (int i = 0; i < 10; i++) {
+            WrongQuestionEntity answered = queue.next();
+            answered.setWrongCount(answered.getWrongCount() + 1);
+            queue.onAnswered(answered, !"词汇训练".equals(answered.getCategory()));
+        }
+        assertTrue(queue.weaknessOf("词汇训练") >= before);
+        assertTrue(queue.weaknessOf("真题练习") <= before);
+
+        // 词汇连续答错 40 次、真题连续答对 40 次后，后续的题目应偏向词汇
+        for (int i = 0; i < 40; i++) {
+            queue.onAnswered(questions.get(i), false);
+            queue.onAnswered(questions.get(50 + i), true);
+        }
+        int vocabulary = 0;
+        for (WrongQuestionEntity question : queue.nextBatch(20)) {
+            if ("词汇训练".equals(question.getCategory())) {
+                vocabulary++;
+            }
+        }
+        assertTrue("薄弱分类应占多数: " + vocabulary, vocabulary > 10);
+    }
+
+    @Test
+    public void wrongAnswerComesBackAfterGap() {
+        List<WrongQuestionEntity> questions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            questions.add(question(i, "真题练习", 1, 0));
+        }
+        WrongQuestionQueueYSJ queue = new WrongQuestionQueueYSJ(questions, NOW, new Random(9));
+
+        WrongQuestionEntity missed = queue.next();
+        missed.setWrongCount(missed.getWrongCount() + 1);
+        queue.onAnswered(missed, false);
+        for (int i = 1; i < WrongQuestionQueueYSJ.RETRY_GAP; i++) {
+            assertNotSame(missed, queue.next());
+        }
+
+        List<WrongQuestionEntity> rest = new ArrayList<>();
+        WrongQuestionEntity next;
+        while ((next = queue.next()) != null) {
+            rest.add(next);
+        }
+        // 剩余 2 道新题 + 答错后重新加入的 1 道
+        assertEquals(3, rest.size());
+        assertTrue(rest.contains(missed));
+    }
+
+    @Test
+    public void compareSetBuildingCost() throws Exception {
+        BenchmarkRunner.assumeEnabled();
+        int rowCount = 100_000;
+        Random seed = new Random(42);
+        List<WrongQuestionEntity> questions = new ArrayList<>(rowCount);
+        String[] categories = {"词汇训练", "真题练习", "模拟考试", "每日一句"};
+        for (int i = 0; i < rowCount; i++) {
+            questions.add(question(i, categories[i % categories.length], 1 + seed.nextInt(6), seed.nextInt(120)));
+        }
+
+        long buildStart = System.nanoTime();
+        WrongQuestionQueueYSJ queue = new WrongQuestionQueueYSJ(questions, NOW, new Random(7));
+        long buildNs = System.nanoTime() - buildStart;
+
+        Random random = new Random(11);
+        long batchNs = measure(() -> queue.nextBatch(20).size());
+        long shuffleNs = measure(() -> {
+            // 旧方式：全部错题随机打乱后取前 20 题，相当于 ORDER BY RANDOM() LIMIT 20
+            List<WrongQuestionEntity> copy = new ArrayList<>(questions);
+            Collections.shuffle(copy, random);
+            copy.subList(0, 20).size();
+        });
+
+        BenchmarkRunner.report("100k 道错题", "建队列 " + buildNs / 1000 + "us, 组一套 20 题 " + batchNs / 1000
+                + "us, 全量打乱取 20 题 " + shuffleNs / 1000 + "us");
+    }
+
+    private static long measure(BenchmarkRunner.Operation operation) throws Exception {
+        return BenchmarkRunner.measure(operation, WARMUP_ITERATIONS, MEASURE_ITERATIONS);
+    }
+
+    private static int distinct(List<WrongQuestionEntity> questions) {
+        IdentityHashMap<WrongQuestionEntity, Boolean> seen = new IdentityHashMap<>();
+        for (WrongQuestionEntity question : questions) {
+            seen.put(question, Boolean.TRUE);
+        }
+        return seen.size();
+    }
+
+    private static WrongQuestionEntity question(int id, String category, int wrongCount, int daysAgo) {
+        WrongQuestionEntity question = new WrongQuestionEntity();
+        question.setId(id + 1);
+        question.setQuestionText("第" + (id + 1) + "题");
+        question.setOptions(new String[] {"A", "B", "C", "D"});
+        question.setCategory(category);
+        question.setWrongCount(wrongCount);
+        question.setWrongTime(new Date(NOW - daysAgo * DAY));
+        return question;
+    }
+}